@@ -434,6 +434,18 @@ public class AMClient {
   public Response postAlerts(List<PostableAlert> postableAlerts, Project project)
       throws AlertManagerClientCreateException, AlertManagerResponseException, AlertManagerUnreachableException,
       AlertManagerAccessControlException {
+    checkProjectAlerts(postableAlerts, project);
+    return postAlerts(postableAlerts);
+  }
+
+  /**
+   * Check that the alerts can be created by the project, setting the project and type labels if they are missing
+   * @param postableAlerts
+   * @param project
+   * @throws AlertManagerAccessControlException
+   */
+  public void checkProjectAlerts(List<PostableAlert> postableAlerts, Project project)
+      throws AlertManagerAccessControlException {
     for (PostableAlert postableAlert : postableAlerts) {
       if (postableAlert.getLabels() == null) {
         throw new IllegalArgumentException("Labels can not be empty.");
@@ -461,7 +473,6 @@ public class AMClient {
         postableAlert.getLabels().put(Constants.ALERT_TYPE_LABEL, AlertType.PROJECT_ALERT.getValue());
       }
     }
-    return postAlerts(postableAlerts);
   }
 
   @Asynchronous
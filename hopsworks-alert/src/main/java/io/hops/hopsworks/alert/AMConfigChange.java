@@ -0,0 +1,160 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.alert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
+import io.hops.hopsworks.alerting.config.dto.AlertManagerConfig;
+import io.hops.hopsworks.alerting.config.dto.Receiver;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerConfigReadException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerConfigUpdateException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerException;
+import org.json.JSONObject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A change to the Alertmanager configuration which is written together with the other changes staged within the
+ * same write delay. The mutation is replayed on the latest configuration if another node changed it after the change
+ * was staged.
+ */
+public class AMConfigChange {
+
+  @FunctionalInterface
+  public interface Mutation {
+    /**
+     * @param alertManagerConfig
+     * @return false if the configuration was left unchanged
+     */
+    boolean apply(AlertManagerConfig alertManagerConfig) throws AlertManagerException;
+  }
+
+  private final String description;
+  private final Mutation mutation;
+  private final boolean updatesReceiver;
+  private final String receiverName;
+  private final Receiver receiver;
+  private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+  private boolean changed;
+
+  private AMConfigChange(String description, Mutation mutation, boolean updatesReceiver, String receiverName,
+      Receiver receiver) {
+    this.description = description;
+    this.mutation = mutation;
+    this.updatesReceiver = updatesReceiver;
+    this.receiverName = receiverName;
+    this.receiver = receiver;
+  }
+
+  public static AMConfigChange of(String description, Mutation mutation) {
+    return new AMConfigChange(description, mutation, false, null, null);
+  }
+
+  /**
+   * A change which also saves the receiver named receiverName to the database, or removes it if receiver is null
+   */
+  public static AMConfigChange ofReceiver(String description, Mutation mutation, String receiverName,
+      Receiver receiver) {
+    return new AMConfigChange(description, mutation, true, receiverName, receiver);
+  }
+
+  /**
+   * Apply the change, recording whether it modified the configuration
+   *
+   * @param alertManagerConfig
+   * @return false if the configuration was left unchanged
+   */
+  public boolean apply(AlertManagerConfig alertManagerConfig) throws AlertManagerException {
+    changed = mutation.apply(alertManagerConfig);
+    return changed;
+  }
+
+  /**
+   * Record the outcome of applying the change to the staged configuration
+   *
+   * @param changed
+   */
+  void staged(boolean changed) {
+    this.changed = changed;
+  }
+
+  public boolean isChanged() {
+    return changed;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  void saveReceiver(AlertReceiverFacade alertReceiverFacade) throws AlertManagerConfigUpdateException {
+    if (!updatesReceiver || !changed) {
+      return;
+    }
+    if (receiver == null) {
+      alertReceiverFacade.removeReceiverFromDatabase(receiverName);
+      return;
+    }
+    try {
+      JSONObject receiverJson = new JSONObject(new ObjectMapper().writeValueAsString(receiver));
+      alertReceiverFacade.saveReceiverToDatabase(receiverName, receiver.getName(), receiverJson);
+    } catch (JsonProcessingException e) {
+      throw new AlertManagerConfigUpdateException(
+        "Can not save receiver to database. Failed to parse receiver to json. " + e.getMessage(), e);
+    }
+  }
+
+  public boolean isDone() {
+    return result.isDone();
+  }
+
+  void complete() {
+    result.complete(changed);
+  }
+
+  void fail(Exception e) {
+    result.completeExceptionally(e);
+  }
+
+  /**
+   * Wait for the change to be written to Alertmanager and the database
+   *
+   * @param timeoutMs
+   * @return false if the change left the configuration unchanged
+   */
+  public boolean await(long timeoutMs) throws AlertManagerConfigUpdateException, AlertManagerConfigReadException {
+    try {
+      return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AlertManagerConfigUpdateException("Interrupted while waiting for " + description, e);
+    } catch (TimeoutException e) {
+      throw new AlertManagerConfigUpdateException("Timed out waiting for " + description, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof AlertManagerConfigUpdateException) {
+        throw (AlertManagerConfigUpdateException) cause;
+      } else if (cause instanceof AlertManagerConfigReadException) {
+        throw (AlertManagerConfigReadException) cause;
+      }
+      throw new AlertManagerConfigUpdateException("Failed " + description + ". " + cause.getMessage(), cause);
+    }
+  }
+}
@@ -23,6 +23,7 @@ import io.hops.hopsworks.alert.dao.AlertManagerConfigFacade;
 import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
 import io.hops.hopsworks.alert.util.ConfigUtil;
 import io.hops.hopsworks.alert.util.Constants;
+import io.hops.hopsworks.alert.util.JsonObjectHelper;
 import io.hops.hopsworks.alerting.api.AlertManagerClient;
 import io.hops.hopsworks.alerting.config.AlertManagerConfigController;
 import io.hops.hopsworks.alerting.config.ConfigUpdater;
@@ -34,6 +35,7 @@ import io.hops.hopsworks.alerting.config.dto.Route;
 import io.hops.hopsworks.alerting.exceptions.AlertManagerConfigReadException;
 import io.hops.hopsworks.alerting.exceptions.AlertManagerConfigUpdateException;
 import io.hops.hopsworks.alerting.exceptions.AlertManagerDuplicateEntryException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerException;
 import io.hops.hopsworks.alerting.exceptions.AlertManagerNoSuchElementException;
 import io.hops.hopsworks.alerting.exceptions.AlertManagerServerException;
 import io.hops.hopsworks.persistence.entity.alertmanager.AlertManagerConfigEntity;
@@ -165,6 +167,58 @@ public class AMConfigUpdater implements Serializable {
     }
   }
 
+  /**
+   * Write a batch of changes with a single write and reload. The changes were staged on base and are already applied
+   * to staged, which is written as is if the database still holds base. If another node changed the configuration
+   * in the meantime the changes are replayed on the latest configuration, and changes which no longer apply fail.
+   *
+   * @param staged configuration with all changes applied, null to replay the changes on the latest configuration
+   * @param base configuration the changes were staged on, null if the database held no configuration
+   * @param changes
+   * @return the configuration written, null if none of the changes modified the configuration
+   */
+  public AlertManagerConfig writeAndReload(AlertManagerConfigController alertManagerConfigController,
+      AlertManagerClient client, AlertManagerConfig staged, JSONObject base, List<AMConfigChange> changes,
+      AlertManagerConfigFacade alertManagerConfigFacade, AlertReceiverFacade alertReceiverFacade)
+      throws AlertManagerConfigUpdateException, AlertManagerConfigReadException {
+    AlertManagerConfig alertManagerConfig = staged;
+    JSONObject latest = alertManagerConfigFacade.getLatest().map(AlertManagerConfigEntity::getContent).orElse(null);
+    boolean modified = latest == null ? base != null : base == null || !JsonObjectHelper.similar(latest, base);
+    if (staged == null || modified) {
+      alertManagerConfig = read(alertManagerConfigController, alertManagerConfigFacade);
+      for (AMConfigChange change : changes) {
+        if (change.isDone()) {
+          continue;
+        }
+        try {
+          change.apply(alertManagerConfig);
+        } catch (AlertManagerException | IllegalArgumentException e) {
+          change.fail(e);
+        }
+      }
+    }
+    List<AMConfigChange> applied = new ArrayList<>();
+    for (AMConfigChange change : changes) {
+      if (!change.isDone() && change.isChanged()) {
+        applied.add(change);
+      }
+    }
+    if (applied.isEmpty()) {
+      return null;
+    }
+    updateAlertManagerConfig(alertManagerConfigController, client, alertManagerConfig);
+    try {
+      saveToDatabase(alertManagerConfig, alertManagerConfigFacade);
+      for (AMConfigChange change : applied) {
+        change.saveReceiver(alertReceiverFacade);
+      }
+    } catch (Exception e) {
+      restoreFromDb(alertManagerConfigController, client, alertManagerConfigFacade);
+      throw e;
+    }
+    return alertManagerConfig;
+  }
+
   private AlertManagerConfig read(AlertManagerConfigController alertManagerConfigController,
       AlertManagerConfigFacade alertManagerConfigFacade) throws AlertManagerConfigReadException {
     //First read from database
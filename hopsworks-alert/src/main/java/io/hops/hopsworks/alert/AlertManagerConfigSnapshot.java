@@ -0,0 +1,177 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hops.hopsworks.alerting.config.dto.AlertManagerConfig;
+import io.hops.hopsworks.alerting.config.dto.Global;
+import io.hops.hopsworks.alerting.config.dto.InhibitRule;
+import io.hops.hopsworks.alerting.config.dto.Receiver;
+import io.hops.hopsworks.alerting.config.dto.Route;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerConfigReadException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the Alertmanager configuration last saved to the database, indexed by receiver name and route
+ * match. A snapshot is never modified once published, changes are staged on a copy and a new snapshot is created
+ * after they have been written. The getters return copies, so callers can not modify the shared configuration.
+ */
+final class AlertManagerConfigSnapshot {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final AlertManagerConfig config;
+  private final JSONObject json;
+  private final Map<String, Receiver> receivers;
+  private final Map<Route, Route> routes;
+  private final long version;
+  private final long loaded;
+
+  private AlertManagerConfigSnapshot(AlertManagerConfig config, JSONObject json, long version, long loaded) {
+    this.config = config;
+    this.json = json;
+    this.version = version;
+    this.loaded = loaded;
+    Map<String, Receiver> receiverIndex = new HashMap<>();
+    Map<Route, Route> routeIndex = new HashMap<>();
+    if (config != null) {
+      if (config.getReceivers() != null) {
+        for (Receiver receiver : config.getReceivers()) {
+          receiverIndex.put(receiver.getName(), receiver);
+        }
+      }
+      if (config.getRoute() != null && config.getRoute().getRoutes() != null) {
+        for (Route route : config.getRoute().getRoutes()) {
+          routeIndex.putIfAbsent(route, route);
+        }
+      }
+    }
+    this.receivers = Collections.unmodifiableMap(receiverIndex);
+    this.routes = Collections.unmodifiableMap(routeIndex);
+  }
+
+  /**
+   * @param json configuration as saved in the database, null if the database holds no configuration
+   * @param version monotonically increasing number of the load which produced this snapshot
+   * @param loaded time the configuration was read
+   */
+  static AlertManagerConfigSnapshot of(JSONObject json, long version, long loaded)
+      throws AlertManagerConfigReadException {
+    if (json == null) {
+      return new AlertManagerConfigSnapshot(null, null, version, loaded);
+    }
+    return new AlertManagerConfigSnapshot(parse(json), json, version, loaded);
+  }
+
+  private static AlertManagerConfig parse(JSONObject json) throws AlertManagerConfigReadException {
+    try {
+      return OBJECT_MAPPER.readValue(json.toString(), AlertManagerConfig.class);
+    } catch (IOException e) {
+      throw new AlertManagerConfigReadException("Failed to read alert manger config from database. " + e.getMessage(),
+        e);
+    }
+  }
+
+  /**
+   * The shared configuration, callers must not modify it. Use {@link #copy()} to get a modifiable configuration.
+   */
+  Optional<AlertManagerConfig> get() {
+    return Optional.ofNullable(config);
+  }
+
+  /**
+   * @return a deep copy of the configuration, empty if the database holds no configuration
+   */
+  Optional<AlertManagerConfig> copy() throws AlertManagerConfigReadException {
+    return json == null ? Optional.empty() : Optional.of(parse(json));
+  }
+
+  /**
+   * @return the configuration as saved in the database, null if the database holds no configuration
+   */
+  JSONObject getJson() {
+    return json;
+  }
+
+  Optional<Receiver> getReceiver(String name) throws AlertManagerConfigReadException {
+    return Optional.ofNullable(copy(receivers.get(name), Receiver.class));
+  }
+
+  Optional<Route> getRoute(Route route) throws AlertManagerConfigReadException {
+    return Optional.ofNullable(copy(routes.get(route), Route.class));
+  }
+
+  /**
+   * @return the routes, null if the configuration has no routes
+   */
+  List<Route> getRoutes() throws AlertManagerConfigReadException {
+    return config == null || config.getRoute() == null ? null : copy(config.getRoute().getRoutes(), Route.class);
+  }
+
+  Global getGlobal() throws AlertManagerConfigReadException {
+    return config == null ? null : copy(config.getGlobal(), Global.class);
+  }
+
+  List<String> getTemplates() {
+    return config == null || config.getTemplates() == null ? null : new ArrayList<>(config.getTemplates());
+  }
+
+  Route getGlobalRoute() throws AlertManagerConfigReadException {
+    return config == null ? null : copy(config.getRoute(), Route.class);
+  }
+
+  List<InhibitRule> getInhibitRules() throws AlertManagerConfigReadException {
+    return config == null ? null : copy(config.getInhibitRules(), InhibitRule.class);
+  }
+
+  private static <T> T copy(T value, Class<T> type) throws AlertManagerConfigReadException {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.treeToValue(OBJECT_MAPPER.valueToTree(value), type);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new AlertManagerConfigReadException("Failed to copy alert manager config. " + e.getMessage(), e);
+    }
+  }
+
+  private static <T> List<T> copy(List<T> values, Class<T> type) throws AlertManagerConfigReadException {
+    if (values == null) {
+      return null;
+    }
+    List<T> copies = new ArrayList<>(values.size());
+    for (T value : values) {
+      copies.add(copy(value, type));
+    }
+    return copies;
+  }
+
+  boolean isExpired(long now, long ttl) {
+    return now - loaded > ttl;
+  }
+
+  long getVersion() {
+    return version;
+  }
+}
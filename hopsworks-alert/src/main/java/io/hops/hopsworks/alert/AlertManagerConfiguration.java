@@ -56,13 +56,24 @@ import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Serves the Alertmanager configuration from an indexed snapshot of the database backup, which is reloaded after
+ * every write and when another node notifies an update.
+ *
+ * Receiver and route changes are staged on a copy of the configuration. Writes are serialized, a change staged while
+ * no other change is waiting is written right away, changes staged while a write is in progress are written together
+ * with a single write and reload. Validation errors are reported to the caller when the change is staged, the caller
+ * then waits for the write of the batch.
+ */
 @Singleton
 @AccessTimeout(value = 60, unit = TimeUnit.SECONDS)
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
@@ -72,6 +83,16 @@ public class AlertManagerConfiguration {
   private AlertManagerConfigController alertManagerConfigController;
   private Exception initException;
   private ITopic<String> configUpdatedTopic;
+  private long writeDelayMs = Constants.AM_CONFIG_WRITE_DELAY_MS;
+
+  // Incremented whenever the configuration in the database might have changed
+  private final AtomicLong configVersion = new AtomicLong();
+  private volatile AlertManagerConfigSnapshot snapshot;
+  private final Object stagingLock = new Object();
+  // Changes waiting for the next write, guarded by stagingLock
+  private StagedChanges staged;
+  // Held while a batch is written
+  private final Object writeLock = new Object();
 
   @Inject
   private HazelcastInstance hazelcastInstance;
@@ -106,6 +127,12 @@ public class AlertManagerConfiguration {
     if (hazelcastInstance != null) {
       configUpdatedTopic = hazelcastInstance.getTopic(Constants.AM_CONFIG_UPDATED_TOPIC_NAME);
     }
+    try {
+      writeDelayMs = variablesFacade.getVariableValue(VariablesFacade.ALERT_MANAGER_CONFIG_WRITE_DELAY_VARIABLE)
+        .map(Long::parseLong).orElse(Constants.AM_CONFIG_WRITE_DELAY_MS);
+    } catch (NumberFormatException e) {
+      LOGGER.log(Level.WARNING, "Invalid Alertmanager config write delay. " + e.getMessage());
+    }
   }
 
   private void tryBuildAlertManagerConfigCtrl() {
@@ -132,11 +159,33 @@ public class AlertManagerConfiguration {
   }
 
 
+  /**
+   * @return a copy of the configuration which the caller can modify
+   */
   @Lock(LockType.READ)
   public Optional<AlertManagerConfig> read() throws AlertManagerConfigReadException {
-    //First read from database
-    ObjectMapper objectMapper = new ObjectMapper();
-    return alertManagerConfigFacade.read(objectMapper);
+    return snapshot().copy();
+  }
+
+  private AlertManagerConfigSnapshot snapshot() throws AlertManagerConfigReadException {
+    AlertManagerConfigSnapshot current = snapshot;
+    long version = configVersion.get();
+    long now = System.currentTimeMillis();
+    if (current != null && current.getVersion() == version &&
+      !current.isExpired(now, Constants.AM_CONFIG_CACHE_TTL_MS)) {
+      return current;
+    }
+    JSONObject json = alertManagerConfigFacade.getLatest().map(AlertManagerConfigEntity::getContent).orElse(null);
+    AlertManagerConfigSnapshot loaded = AlertManagerConfigSnapshot.of(json, version, now);
+    // Do not publish a snapshot which might have been read before a concurrent update
+    if (configVersion.get() == version) {
+      snapshot = loaded;
+    }
+    return loaded;
+  }
+
+  private void invalidate() {
+    configVersion.incrementAndGet();
   }
 
   private void broadcast(String message) {
@@ -154,12 +203,16 @@ public class AlertManagerConfiguration {
         alertManagerConfigController.writeAndReload(alertManagerConfig, amClient.getClient());
       } catch (AlertManagerServerException e) {
         throw new AlertManagerConfigUpdateException("AlertManager server unreachable.", e);
+      } finally {
+        invalidate();
       }
     }
   }
 
   @Lock(LockType.READ)
   public void restoreFromDb() throws AlertManagerConfigUpdateException {
+    // Another node changed the database
+    invalidate();
     Optional<AlertManagerConfigEntity> optionalAlertManagerConfigEntity = alertManagerConfigFacade.getLatest();
     if (optionalAlertManagerConfigEntity.isPresent()) {
       ObjectMapper objectMapper = new ObjectMapper();
@@ -178,8 +231,12 @@ public class AlertManagerConfiguration {
   public void writeAndReload(AlertManagerConfig alertManagerConfig) throws AlertManagerConfigUpdateException,
       AlertManagerConfigReadException {
     if (alertManagerConfig != null) {
-      amConfigUpdater.writeAndReload(alertManagerConfigController, amClient.getClient(), alertManagerConfig,
-        alertManagerConfigFacade);
+      try {
+        amConfigUpdater.writeAndReload(alertManagerConfigController, amClient.getClient(), alertManagerConfig,
+          alertManagerConfigFacade);
+      } finally {
+        invalidate();
+      }
       // broadcast to all nodes
       broadcast("Alert Manager Config updated");
     }
@@ -208,65 +265,79 @@ public class AlertManagerConfiguration {
       }
     } else if (jsonAlertManagerConfig != null) {
       alertManagerConfigFacade.saveToDatabase(jsonAlertManagerConfig);
+      invalidate();
       LOGGER.log(Level.INFO, "Alert manager config backup saved.");
     }
   }
 
   @Lock(LockType.READ)
   public Global getGlobal() throws AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    return alertManagerConfig.map(AlertManagerConfig::getGlobal).orElse(null);
+    return snapshot().getGlobal();
   }
 
   public void updateGlobal(Global global) throws AlertManagerConfigCtrlCreateException,
       AlertManagerConfigReadException, AlertManagerConfigUpdateException {
     doSanityCheck();
-    amConfigUpdater.updateGlobal(alertManagerConfigController, amClient.getClient(), global, alertManagerConfigFacade);
+    try {
+      amConfigUpdater.updateGlobal(alertManagerConfigController, amClient.getClient(), global,
+        alertManagerConfigFacade);
+    } finally {
+      invalidate();
+    }
     // broadcast to all nodes
     broadcast("Alert Manager Config global updated");
   }
 
   @Lock(LockType.READ)
   public List<String> getTemplates() throws AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    return alertManagerConfig.map(AlertManagerConfig::getTemplates).orElse(null);
+    return snapshot().getTemplates();
   }
 
   public void updateTemplates(List<String> templates) throws AlertManagerConfigCtrlCreateException,
       AlertManagerConfigReadException, AlertManagerConfigUpdateException {
     doSanityCheck();
-    amConfigUpdater.updateTemplates(alertManagerConfigController, amClient.getClient(), templates,
-      alertManagerConfigFacade);
+    try {
+      amConfigUpdater.updateTemplates(alertManagerConfigController, amClient.getClient(), templates,
+        alertManagerConfigFacade);
+    } finally {
+      invalidate();
+    }
     // broadcast to all nodes
     broadcast("Alert Manager Config templates updated");
   }
 
   @Lock(LockType.READ)
   public Route getGlobalRoute() throws AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    return alertManagerConfig.map(AlertManagerConfig::getRoute).orElse(null);
+    return snapshot().getGlobalRoute();
   }
 
   public void updateRoute(Route route) throws AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException,
       AlertManagerConfigUpdateException {
     doSanityCheck();
-    amConfigUpdater.updateGlobalRoute(alertManagerConfigController, amClient.getClient(), route,
-      alertManagerConfigFacade);
+    try {
+      amConfigUpdater.updateGlobalRoute(alertManagerConfigController, amClient.getClient(), route,
+        alertManagerConfigFacade);
+    } finally {
+      invalidate();
+    }
     // broadcast to all nodes
     broadcast("Alert Manager Config route updated");
   }
 
   @Lock(LockType.READ)
   public List<InhibitRule> getInhibitRules() throws AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    return alertManagerConfig.map(AlertManagerConfig::getInhibitRules).orElse(null);
+    return snapshot().getInhibitRules();
   }
 
   public void updateInhibitRules(List<InhibitRule> inhibitRules) throws AlertManagerConfigCtrlCreateException,
       AlertManagerConfigReadException, AlertManagerConfigUpdateException {
     doSanityCheck();
-    amConfigUpdater.updateInhibitRules(alertManagerConfigController, amClient.getClient(), inhibitRules,
-      alertManagerConfigFacade);
+    try {
+      amConfigUpdater.updateInhibitRules(alertManagerConfigController, amClient.getClient(), inhibitRules,
+        alertManagerConfigFacade);
+    } finally {
+      invalidate();
+    }
     // broadcast to all nodes
     broadcast("Alert Manager Config inhibitRules updated");
   }
@@ -280,27 +351,36 @@ public class AlertManagerConfiguration {
 
   @Lock(LockType.READ)
   public Receiver getReceiver(String name) throws AlertManagerNoSuchElementException, AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    if (alertManagerConfig.isPresent()) {
-      int index = ConfigUpdater.getIndexOfReceiver(alertManagerConfig.get(), name);
-      return alertManagerConfig.get().getReceivers().get(index);
+    AlertManagerConfigSnapshot current = snapshot();
+    if (!current.get().isPresent()) {
+      return null;
     }
-    return null;
+    return current.getReceiver(name).orElseThrow(() ->
+      new AlertManagerNoSuchElementException("A receiver with the given name was not found. Name=" + name));
   }
 
+  @Lock(LockType.READ)
   public void addReceiver(Receiver receiver, Project project) throws AlertManagerDuplicateEntryException,
       AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException {
     ConfigUtil.fixReceiverName(receiver, project);
     addReceiver(receiver);
   }
 
+  @Lock(LockType.READ)
   public void addReceiver(Receiver receiver) throws AlertManagerDuplicateEntryException,
       AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException {
     doSanityCheck();
-    amConfigUpdater.addReceiver(alertManagerConfigController, amClient.getClient(), receiver,
-      alertManagerConfigFacade, alertReceiverFacade);
-    // broadcast to all nodes
-    broadcast("Alert Manager Config receiver added");
+    AMConfigChange change = AMConfigChange.ofReceiver("receiver added", config -> {
+      ConfigUpdater.addReceiver(config, receiver);
+      return true;
+    }, receiver.getName(), receiver);
+    AlertManagerConfigSnapshot base = snapshot();
+    StagedChanges batch;
+    synchronized (stagingLock) {
+      ConfigUpdater.addReceiver(staging(base), receiver);
+      batch = stage(change, true);
+    }
+    commit(batch, change);
   }
 
   private void checkPermission(String name, Project project, boolean includeGlobal)
@@ -313,6 +393,7 @@ public class AlertManagerConfiguration {
     }
   }
 
+  @Lock(LockType.READ)
   public void updateReceiver(String name, Receiver receiver, Project project) throws AlertManagerNoSuchElementException,
       AlertManagerDuplicateEntryException, AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException,
       AlertManagerAccessControlException, AlertManagerConfigReadException {
@@ -321,31 +402,43 @@ public class AlertManagerConfiguration {
     updateReceiver(name, receiver);
   }
 
+  @Lock(LockType.READ)
   public void updateReceiver(String name, Receiver receiver) throws AlertManagerNoSuchElementException,
       AlertManagerDuplicateEntryException, AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException,
       AlertManagerConfigReadException {
     doSanityCheck();
-    amConfigUpdater.updateReceiver(alertManagerConfigController, amClient.getClient(), name, receiver,
-      alertManagerConfigFacade, alertReceiverFacade);
-    // broadcast to all nodes
-    broadcast("Alert Manager Config receiver updated");
+    AMConfigChange change = AMConfigChange.ofReceiver("receiver updated", config -> {
+      ConfigUpdater.updateReceiver(config, name, receiver);
+      return true;
+    }, name, receiver);
+    AlertManagerConfigSnapshot base = snapshot();
+    StagedChanges batch;
+    synchronized (stagingLock) {
+      ConfigUpdater.updateReceiver(staging(base), name, receiver);
+      batch = stage(change, true);
+    }
+    commit(batch, change);
   }
 
+  @Lock(LockType.READ)
   public void removeReceiver(String name, Project project, boolean cascade) throws AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerAccessControlException, AlertManagerConfigReadException {
     checkPermission(name, project, false);
     removeReceiver(name, cascade);
   }
 
+  @Lock(LockType.READ)
   public void removeReceiver(String name, boolean cascade) throws AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException {
     doSanityCheck();
-    boolean remover = amConfigUpdater.removeReceiver(alertManagerConfigController, amClient.getClient(), name,
-      cascade, alertManagerConfigFacade, alertReceiverFacade);
-    if (remover) {
-      // broadcast to all nodes
-      broadcast("Alert Manager Config receiver removed");
+    AMConfigChange change = AMConfigChange.ofReceiver("receiver removed",
+      config -> ConfigUpdater.removeReceiver(config, name, cascade) != null, name, null);
+    AlertManagerConfigSnapshot base = snapshot();
+    StagedChanges batch;
+    synchronized (stagingLock) {
+      batch = stage(change, ConfigUpdater.removeReceiver(staging(base), name, cascade) != null);
     }
+    commit(batch, change);
   }
 
   @Lock(LockType.READ)
@@ -362,8 +455,7 @@ public class AlertManagerConfiguration {
 
   @Lock(LockType.READ)
   public List<Route> getRoutes() throws AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    return alertManagerConfig.map(AlertManagerConfig::getRoute).orElse(new Route()).getRoutes();
+    return snapshot().getRoutes();
   }
 
   @Lock(LockType.READ)
@@ -382,13 +474,10 @@ public class AlertManagerConfiguration {
       AlertManagerConfigReadException {
     doSanityCheck();
     Route route = new Route(receiver).withMatch(match).withMatchRe(matchRe);
-    List<Route> routes = getRoutes(project);
-    int index = routes.indexOf(route);
-    if (index < 0) {
-      throw new AlertManagerNoSuchElementException(
-          "A route with the given receiver name was not found. Receiver Name=" + route.getReceiver());
-    }
-    return routes.get(index);
+    return snapshot().getRoute(route)
+      .filter(r -> ConfigUtil.isRouteGlobal(r) || ConfigUtil.isRouteInProject(r, project))
+      .orElseThrow(() -> new AlertManagerNoSuchElementException(
+        "A route with the given receiver name was not found. Receiver Name=" + route.getReceiver()));
   }
 
   @Lock(LockType.READ)
@@ -400,14 +489,15 @@ public class AlertManagerConfiguration {
 
   @Lock(LockType.READ)
   public Route getRoute(Route route) throws AlertManagerNoSuchElementException, AlertManagerConfigReadException {
-    Optional<AlertManagerConfig> alertManagerConfig = read();
-    if (alertManagerConfig.isPresent()) {
-      int index = ConfigUpdater.getIndexOfRoute(alertManagerConfig.get(), route);
-      return alertManagerConfig.get().getRoute().getRoutes().get(index);
+    AlertManagerConfigSnapshot current = snapshot();
+    if (!current.get().isPresent()) {
+      return null;
     }
-    return null;
+    return current.getRoute(route).orElseThrow(() -> new AlertManagerNoSuchElementException(
+      "A route with the given receiver name was not found. Receiver Name=" + route.getReceiver()));
   }
 
+  @Lock(LockType.READ)
   public void addRoute(Route route, Project project) throws AlertManagerDuplicateEntryException,
       AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerAccessControlException,
       AlertManagerConfigReadException, AlertManagerNoSuchElementException {
@@ -420,13 +510,22 @@ public class AlertManagerConfiguration {
     addRoute(route);
   }
 
+  @Lock(LockType.READ)
   public void addRoute(Route route)
       throws AlertManagerDuplicateEntryException, AlertManagerConfigUpdateException, AlertManagerConfigReadException,
       AlertManagerConfigCtrlCreateException, AlertManagerNoSuchElementException {
     doSanityCheck();
-    amConfigUpdater.addRoute(alertManagerConfigController, amClient.getClient(), route, alertManagerConfigFacade);
-    // broadcast to all nodes
-    broadcast("Alert Manager Config route added");
+    AMConfigChange change = AMConfigChange.of("route added", config -> {
+      ConfigUpdater.addRoute(config, route);
+      return true;
+    });
+    AlertManagerConfigSnapshot base = snapshot();
+    StagedChanges batch;
+    synchronized (stagingLock) {
+      ConfigUpdater.addRoute(staging(base), route);
+      batch = stage(change, true);
+    }
+    commit(batch, change);
   }
 
   private void checkPermission(Route route, Project project) throws AlertManagerAccessControlException {
@@ -435,6 +534,7 @@ public class AlertManagerConfiguration {
     }
   }
 
+  @Lock(LockType.READ)
   public void updateRoute(Route routeToUpdate, Route route, Project project)
       throws AlertManagerNoSuchElementException, AlertManagerDuplicateEntryException,
       AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerAccessControlException,
@@ -448,16 +548,25 @@ public class AlertManagerConfiguration {
     updateRoute(routeToUpdate, route);
   }
 
+  @Lock(LockType.READ)
   public void updateRoute(Route routeToUpdate, Route route)
       throws AlertManagerNoSuchElementException, AlertManagerDuplicateEntryException, AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException {
     doSanityCheck();
-    amConfigUpdater.updateRoute(alertManagerConfigController, amClient.getClient(), routeToUpdate, route,
-      alertManagerConfigFacade);
-    // broadcast to all nodes
-    broadcast("Alert Manager Config route updated");
+    AMConfigChange change = AMConfigChange.of("route updated", config -> {
+      ConfigUpdater.updateRoute(config, routeToUpdate, route);
+      return true;
+    });
+    AlertManagerConfigSnapshot base = snapshot();
+    StagedChanges batch;
+    synchronized (stagingLock) {
+      ConfigUpdater.updateRoute(staging(base), routeToUpdate, route);
+      batch = stage(change, true);
+    }
+    commit(batch, change);
   }
 
+  @Lock(LockType.READ)
   public void removeRoute(Route route, Project project) throws AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException {
     List<Route> routes = getRoutes(project);
@@ -466,24 +575,145 @@ public class AlertManagerConfiguration {
     }
   }
 
+  @Lock(LockType.READ)
   public void removeRoute(Route route) throws AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException,
       AlertManagerConfigReadException {
     doSanityCheck();
-    boolean remover = amConfigUpdater.removeRoute(alertManagerConfigController, amClient.getClient(), route,
-      alertManagerConfigFacade);
-    if (remover) {
-      // broadcast to all nodes
-      broadcast("Alert Manager Config route removed");
+    AMConfigChange change = AMConfigChange.of("route removed",
+      config -> ConfigUpdater.removeRoute(config, route) != null);
+    AlertManagerConfigSnapshot base = snapshot();
+    StagedChanges batch;
+    synchronized (stagingLock) {
+      batch = stage(change, ConfigUpdater.removeRoute(staging(base), route) != null);
     }
+    commit(batch, change);
   }
 
   public void cleanProject(Project project) throws AlertManagerConfigReadException, AlertManagerConfigUpdateException {
-    boolean cleaned = amConfigUpdater.cleanProject(alertManagerConfigController, amClient.getClient(), project,
-      alertManagerConfigFacade, alertReceiverFacade);
+    boolean cleaned;
+    try {
+      cleaned = amConfigUpdater.cleanProject(alertManagerConfigController, amClient.getClient(), project,
+        alertManagerConfigFacade, alertReceiverFacade);
+    } finally {
+      invalidate();
+    }
     if (cleaned) {
       // broadcast to all nodes
       broadcast("Alert Manager Config project cleanup for: " + project.getName());
     }
   }
 
+  /**
+   * The configuration the next write applies changes to, guarded by stagingLock
+   *
+   * @param base snapshot a new batch is staged on, read before taking stagingLock
+   */
+  private AlertManagerConfig staging(AlertManagerConfigSnapshot base) throws AlertManagerConfigReadException {
+    if (staged == null) {
+      Optional<AlertManagerConfig> copy = base.copy();
+      //if database is empty use the config
+      staged = new StagedChanges(copy.isPresent() ? copy.get() : alertManagerConfigController.read(),
+        base.getJson());
+    }
+    return staged.config;
+  }
+
+  /**
+   * Add a change which was applied to the staged configuration, guarded by stagingLock
+   *
+   * @return the batch if the caller is the first to stage a change and has to write the batch, null otherwise
+   */
+  private StagedChanges stage(AMConfigChange change, boolean changed) {
+    change.staged(changed);
+    staged.changes.add(change);
+    return staged.changes.size() == 1 ? staged : null;
+  }
+
+  private void commit(StagedChanges batch, AMConfigChange change) throws AlertManagerConfigUpdateException,
+      AlertManagerConfigReadException {
+    if (batch != null) {
+      // Changes staged while the previous batch is written join this batch
+      synchronized (writeLock) {
+        int size;
+        synchronized (stagingLock) {
+          size = batch.changes.size();
+        }
+        if (size > 1) {
+          try {
+            // Concurrent requests are staging changes, let more of them join the batch
+            Thread.sleep(writeDelayMs);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        synchronized (stagingLock) {
+          if (staged == batch) {
+            staged = null;
+          }
+        }
+        flush(batch.config, batch.base, batch.changes);
+      }
+    }
+    change.await(Constants.AM_CONFIG_WRITE_TIMEOUT_MS);
+  }
+
+  private void flush(AlertManagerConfig config, JSONObject base, List<AMConfigChange> changes) {
+    try {
+      write(config, base, changes);
+    } catch (AlertManagerConfigUpdateException | AlertManagerConfigReadException | RuntimeException e) {
+      if (changes.size() == 1) {
+        changes.get(0).fail(e);
+        return;
+      }
+      // A single invalid change should not fail the whole batch
+      LOGGER.log(Level.WARNING, "Failed to write {0} Alertmanager config changes, writing them one by one. {1}",
+        new Object[]{changes.size(), e.getMessage()});
+      for (AMConfigChange change : changes) {
+        if (change.isDone()) {
+          continue;
+        }
+        try {
+          write(null, null, Collections.singletonList(change));
+        } catch (AlertManagerConfigUpdateException | AlertManagerConfigReadException | RuntimeException ex) {
+          change.fail(ex);
+        }
+      }
+    }
+  }
+
+  private void write(AlertManagerConfig config, JSONObject base, List<AMConfigChange> changes)
+      throws AlertManagerConfigUpdateException, AlertManagerConfigReadException {
+    AlertManagerConfig written;
+    try {
+      written = amConfigUpdater.writeAndReload(alertManagerConfigController, amClient.getClient(), config, base,
+        changes, alertManagerConfigFacade, alertReceiverFacade);
+    } finally {
+      invalidate();
+    }
+    List<String> descriptions = new ArrayList<>();
+    for (AMConfigChange change : changes) {
+      if (!change.isDone()) {
+        if (change.isChanged()) {
+          descriptions.add(change.getDescription());
+        }
+        change.complete();
+      }
+    }
+    if (written != null) {
+      // broadcast to all nodes
+      broadcast("Alert Manager Config " + String.join(", ", descriptions));
+    }
+  }
+
+  private static final class StagedChanges {
+    private final AlertManagerConfig config;
+    private final JSONObject base;
+    private final List<AMConfigChange> changes = new ArrayList<>();
+
+    private StagedChanges(AlertManagerConfig config, JSONObject base) {
+      this.config = config;
+      this.base = base;
+    }
+  }
+
 }
@@ -101,6 +101,11 @@ public class Constants {
   public static final String NO_PAYLOAD = "No payload.";
   
   public static final String AM_CONFIG_UPDATED_TOPIC_NAME = "alertmanager_config_updated";
+  // Changes staged within this window are written to Alertmanager with a single write and reload
+  public static final long AM_CONFIG_WRITE_DELAY_MS = 200;
+  public static final long AM_CONFIG_WRITE_TIMEOUT_MS = 60000;
+  // Upper bound on how long a cached configuration is served if an update notification from another node is lost
+  public static final long AM_CONFIG_CACHE_TTL_MS = 60000;
 
   public enum TimerType {
     CLIENT,
@@ -29,6 +29,7 @@ public class VariablesFacade {
 
   public static final String SERVICE_DISCOVERY_DOMAIN_VARIABLE = "service_discovery_domain";
   public static final String ALERT_MANAGER_CONFIG_FILE_PATH_VARIABLE = "alert_manager_config";
+  public static final String ALERT_MANAGER_CONFIG_WRITE_DELAY_VARIABLE = "alert_manager_config_write_delay_ms";
 
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager em;
@@ -0,0 +1,268 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hops.hopsworks.alert.dao.AlertManagerConfigFacade;
+import io.hops.hopsworks.alerting.api.AlertManagerClient;
+import io.hops.hopsworks.alerting.config.AlertManagerConfigController;
+import io.hops.hopsworks.alerting.config.dto.AlertManagerConfig;
+import io.hops.hopsworks.alerting.config.dto.Receiver;
+import io.hops.hopsworks.alerting.config.dto.Route;
+import io.hops.hopsworks.alerting.config.dto.SlackConfig;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerConfigUpdateException;
+import io.hops.hopsworks.persistence.entity.alertmanager.AlertManagerConfigEntity;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestAlertManagerConfiguration {
+  private static final String RECEIVER = "project1__slack";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicReference<JSONObject> database = new AtomicReference<>();
+  // Configurations written to Alertmanager
+  private final List<AlertManagerConfig> written = Collections.synchronizedList(new ArrayList<>());
+  // Alertmanager rejects any configuration with this route
+  private volatile Route invalid;
+  private AlertManagerConfigController alertManagerConfigController;
+  private AlertManagerConfiguration alertManagerConfiguration;
+
+  @Before
+  public void setUp() throws Exception {
+    AlertManagerConfig alertManagerConfig = new AlertManagerConfig();
+    List<Receiver> receivers = new ArrayList<>();
+    receivers.add(new Receiver(RECEIVER).withSlackConfigs(Collections.singletonList(
+      new SlackConfig("https://hooks.slack.com/services/1234567/ASEDWRFDE/XXXXXXXXXXXXXX", "@test"))));
+    alertManagerConfig.setReceivers(receivers);
+    List<Route> routes = new ArrayList<>();
+    routes.add(route("job0"));
+    alertManagerConfig.setRoute(new Route(RECEIVER).withRoutes(routes));
+    database.set(toJson(alertManagerConfig));
+
+    AlertManagerConfigFacade alertManagerConfigFacade = Mockito.mock(AlertManagerConfigFacade.class);
+    Mockito.when(alertManagerConfigFacade.getLatest()).thenAnswer(invocation -> {
+      AlertManagerConfigEntity entity = new AlertManagerConfigEntity();
+      entity.setContent(database.get());
+      return Optional.of(entity);
+    });
+    Mockito.when(alertManagerConfigFacade.read(Mockito.any())).thenAnswer(invocation -> Optional.of(latest()));
+    Mockito.doAnswer(invocation -> {
+      database.set(invocation.getArgument(0));
+      return null;
+    }).when(alertManagerConfigFacade).saveToDatabase(Mockito.any());
+
+    alertManagerConfigController = Mockito.mock(AlertManagerConfigController.class);
+    Mockito.doAnswer(invocation -> write(invocation.getArgument(0)))
+      .when(alertManagerConfigController).writeAndReload(Mockito.any(), Mockito.any());
+
+    alertManagerConfiguration = new AlertManagerConfiguration(alertManagerConfigController, alertManagerConfigFacade,
+      new AMClient(Mockito.mock(AlertManagerClient.class)), new AMConfigUpdater());
+  }
+
+  @Test
+  public void testSingleChangeWrittenWithoutDelay() throws Exception {
+    setWriteDelay(60 * 1000L);
+    long start = System.currentTimeMillis();
+    alertManagerConfiguration.addRoute(route("job1"));
+
+    Assert.assertTrue(System.currentTimeMillis() - start < 30 * 1000L);
+    Assert.assertEquals(1, written.size());
+    Assert.assertTrue(latest().getRoute().getRoutes().contains(route("job1")));
+  }
+
+  @Test
+  public void testChangesStagedDuringWriteAreBatched() throws Exception {
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    blockFirstWrite(writing, release);
+
+    Change first = addRoute(route("job1"));
+    Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+    // The second change waits for the write of the first one, the third joins the batch of the second
+    Change second = addRoute(route("job2"));
+    awaitState(second.thread, Thread.State.BLOCKED);
+    Change third = addRoute(route("job3"));
+    awaitState(third.thread, Thread.State.TIMED_WAITING);
+    release.countDown();
+
+    first.join();
+    second.join();
+    third.join();
+    Assert.assertEquals(2, written.size());
+    List<Route> routes = latest().getRoute().getRoutes();
+    Assert.assertEquals(4, routes.size());
+    Assert.assertTrue(routes.contains(route("job2")));
+    Assert.assertTrue(routes.contains(route("job3")));
+  }
+
+  @Test
+  public void testReplayOnLatestConfiguration() throws Exception {
+    // Cache the snapshot the next change is staged on
+    alertManagerConfiguration.getRoutes();
+    // Another node adds a route
+    AlertManagerConfig other = latest();
+    other.getRoute().getRoutes().add(route("other"));
+    database.set(toJson(other));
+
+    alertManagerConfiguration.addRoute(route("job1"));
+
+    List<Route> routes = latest().getRoute().getRoutes();
+    Assert.assertEquals(3, routes.size());
+    Assert.assertTrue(routes.contains(route("other")));
+    Assert.assertTrue(routes.contains(route("job1")));
+  }
+
+  @Test
+  public void testReplayedChangeNoLongerApplies() throws Exception {
+    alertManagerConfiguration.getRoutes();
+    // Another node adds the same route
+    AlertManagerConfig other = latest();
+    other.getRoute().getRoutes().add(route("job1"));
+    database.set(toJson(other));
+
+    Assert.assertThrows(AlertManagerConfigUpdateException.class,
+      () -> alertManagerConfiguration.addRoute(route("job1")));
+    Assert.assertTrue(written.isEmpty());
+    Assert.assertEquals(2, latest().getRoute().getRoutes().size());
+  }
+
+  @Test
+  public void testFailedBatchRetriedOneByOne() throws Exception {
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    blockFirstWrite(writing, release);
+    invalid = route("invalid");
+
+    Change first = addRoute(route("job1"));
+    Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+    Change valid = addRoute(route("job2"));
+    awaitState(valid.thread, Thread.State.BLOCKED);
+    Change rejected = addRoute(invalid);
+    awaitState(rejected.thread, Thread.State.TIMED_WAITING);
+    release.countDown();
+
+    first.join();
+    valid.join();
+    Assert.assertThrows(AlertManagerConfigUpdateException.class, rejected::join);
+    List<Route> routes = latest().getRoute().getRoutes();
+    Assert.assertTrue(routes.contains(route("job2")));
+    Assert.assertFalse(routes.contains(invalid));
+  }
+
+  @Test
+  public void testGettersReturnCopies() throws Exception {
+    alertManagerConfiguration.getReceiver(RECEIVER).setName("changed");
+    alertManagerConfiguration.getRoute(route("job0")).setReceiver("changed");
+    alertManagerConfiguration.getRoutes().add(route("job1"));
+    alertManagerConfiguration.getGlobalRoute().setReceiver("changed");
+
+    Assert.assertEquals(RECEIVER, alertManagerConfiguration.getReceiver(RECEIVER).getName());
+    Assert.assertEquals(RECEIVER, alertManagerConfiguration.getRoute(route("job0")).getReceiver());
+    Assert.assertEquals(1, alertManagerConfiguration.getRoutes().size());
+    Assert.assertEquals(RECEIVER, alertManagerConfiguration.getGlobalRoute().getReceiver());
+  }
+
+  private void blockFirstWrite(CountDownLatch writing, CountDownLatch release) throws Exception {
+    Mockito.doAnswer(invocation -> {
+      writing.countDown();
+      Assert.assertTrue(release.await(10, TimeUnit.SECONDS));
+      return write(invocation.getArgument(0));
+    }).doAnswer(invocation -> write(invocation.getArgument(0)))
+      .when(alertManagerConfigController).writeAndReload(Mockito.any(), Mockito.any());
+  }
+
+  private Object write(AlertManagerConfig alertManagerConfig) throws AlertManagerConfigUpdateException {
+    if (invalid != null && alertManagerConfig.getRoute().getRoutes().contains(invalid)) {
+      throw new AlertManagerConfigUpdateException("Invalid route " + invalid);
+    }
+    written.add(alertManagerConfig);
+    return null;
+  }
+
+  private Change addRoute(Route route) {
+    Change change = new Change(() -> alertManagerConfiguration.addRoute(route));
+    change.thread.start();
+    return change;
+  }
+
+  private void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10 * 1000L;
+    while (thread.getState() != state) {
+      Assert.assertTrue("Thread did not reach " + state, System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private void setWriteDelay(long writeDelayMs) throws ReflectiveOperationException {
+    Field field = AlertManagerConfiguration.class.getDeclaredField("writeDelayMs");
+    field.setAccessible(true);
+    field.set(alertManagerConfiguration, writeDelayMs);
+  }
+
+  private AlertManagerConfig latest() throws Exception {
+    return objectMapper.readValue(database.get().toString(), AlertManagerConfig.class);
+  }
+
+  private JSONObject toJson(AlertManagerConfig alertManagerConfig) throws Exception {
+    return new JSONObject(objectMapper.writeValueAsString(alertManagerConfig));
+  }
+
+  private static Route route(String job) {
+    return new Route(RECEIVER).withMatch(Collections.singletonMap("job", job));
+  }
+
+  private interface Action {
+    void run() throws Exception;
+  }
+
+  /**
+   * A change made by a concurrent request
+   */
+  private static class Change {
+    private final Thread thread;
+    private final AtomicReference<Exception> error = new AtomicReference<>();
+
+    private Change(Action action) {
+      thread = new Thread(() -> {
+        try {
+          action.run();
+        } catch (Exception e) {
+          error.set(e);
+        }
+      });
+    }
+
+    private void join() throws Exception {
+      thread.join(30 * 1000L);
+      if (error.get() != null) {
+        throw error.get();
+      }
+    }
+  }
+}
@@ -40,6 +40,7 @@
 package io.hops.hopsworks.api.admin;
 
 import io.hops.hopsworks.api.jwt.JWTHelper;
+import io.hops.hopsworks.api.proxy.ContentRewriter;
 import io.hops.hopsworks.api.proxy.ProxyServlet;
 import io.hops.hopsworks.api.util.CustomSSLProtocolSocketFactory;
 import io.hops.hopsworks.common.dao.hdfs.HdfsLeDescriptorsFacade;
@@ -63,16 +64,13 @@ import javax.ejb.Stateless;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -235,22 +233,8 @@ public class HDFSUIProxyServlet extends ProxyServlet {
       OutputStream servletOutputStream = servletResponse.getOutputStream();
       if (servletResponse.getHeader("Content-Type") == null || servletResponse.getHeader("Content-Type").
           contains("html")) {
-        String inputLine;
-        BufferedReader br = new BufferedReader(new InputStreamReader(entity));
-
-        try {
-          int contentSize = 0;
-          while ((inputLine = br.readLine()) != null)  {
-            String outputLine = hopify(inputLine, targetUri) + "\n";
-            byte[] output = outputLine.getBytes(Charset.forName("UTF-8"));
-            servletOutputStream.write(output);
-            contentSize += output.length;
-          }
-          br.close();
-          servletResponse.setHeader("Content-Length", Integer.toString(contentSize));
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
+        // The length changes with the rewrite, the content is sent chunked
+        hopify(targetUri).copy(entity, servletOutputStream);
       } else {
         org.apache.hadoop.io.IOUtils.copyBytes(entity, servletOutputStream, 4096, doLog);
       }
@@ -278,31 +262,25 @@ public class HDFSUIProxyServlet extends ProxyServlet {
     }
   }
 
-  private String hopify(String ui, String source) {
-
-    ui = ui.replaceAll("<a href='http://hadoop.apache.org/core'>Hadoop</a>, 2018.", "");
-    ui = ui.replaceAll("(?<=(url=))(?=[a-zA-Z])", "/hopsworks-api/hdfsui/");
-    ui = ui.replaceAll("(?<=(href|src)=\")/(?=[a-zA-Z])",
-        "/hopsworks-api/hdfsui/" + source + "/");
-    ui = ui.replaceAll("(?<=(href|src)=\')/(?=[a-zA-Z])",
-        "/hopsworks-api/hdfsui/" + source + "/");
-    ui = ui.replaceAll("(?<=(href|src)=\")//", "/hopsworks-api/hdfsui/");
-    ui = ui.replaceAll("(?<=(href|src)=\')//", "/hopsworks-api/hdfsui/");
-    ui = ui.replaceAll("(?<=(href|src)=\")(?=(http|https))",
-        "/hopsworks-api/hdfsui/");
-    ui = ui.replaceAll("(?<=(href|src)=\')(?=(http|https))",
-        "/hopsworks-api/hdfsui/");
-    ui = ui.replaceAll("(?<=(href|src)=\")(?=[a-zA-Z])",
-        "/hopsworks-api/hdfsui/" + source + "/");
-    ui = ui.replaceAll("(?<=(href|src)=\')(?=[a-zA-Z])",
-        "/hopsworks-api/hdfsui/" + source + "/");
-    ui = ui.replaceAll("(?<=(href|src)=)/(?=[a-zA-Z])",
-        "/hopsworks-api/hdfsui/" + source + "/");
-    ui = ui.replaceAll("(?<=(action)=\")(?=[a-zA-Z/]*.jsp)", "/hopsworks-api/hdfsui/" + source + "/");
-    return ui;
-
+  private ContentRewriter hopify(String source) {
+    String proxyPath = "/hopsworks-api/hdfsui/";
+    ContentRewriter.Builder rewriter = ContentRewriter.builder()
+        .remove("<a href='http://hadoop.apache.org/core'>", "</a>, 2018.", true)
+        .replace("url=", "url=" + proxyPath, ContentRewriter.LETTER)
+        .replace("action=\"", "action=\"" + proxyPath + source + "/", ContentRewriter.LETTER);
+    for (String attribute : new String[]{"href=\"", "href='", "src=\"", "src='"}) {
+      rewriter.replace(attribute + "/", attribute + proxyPath + source + "/", ContentRewriter.LETTER)
+          .replace(attribute + "//", attribute + proxyPath)
+          .replace(attribute + "http", attribute + proxyPath + "http")
+          .replace(attribute, attribute + proxyPath + source + "/", ContentRewriter.LETTER);
+    }
+    for (String attribute : new String[]{"href=", "src="}) {
+      rewriter.replace(attribute + "/", attribute + proxyPath + source + "/", ContentRewriter.LETTER);
+    }
+    return rewriter.build();
   }
 
+
   protected String rewriteUrlFromRequest(HttpServletRequest servletRequest) {
     StringBuilder uri = new StringBuilder(500);
     if (servletRequest.getPathInfo() != null && servletRequest.getPathInfo().matches(
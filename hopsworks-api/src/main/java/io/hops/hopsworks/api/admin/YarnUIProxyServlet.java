@@ -40,6 +40,7 @@ package io.hops.hopsworks.api.admin;
 
 import com.logicalclocks.servicediscoverclient.service.Service;
 import io.hops.hopsworks.api.jwt.JWTHelper;
+import io.hops.hopsworks.api.proxy.ContentRewriter;
 import io.hops.hopsworks.api.proxy.ProxyServlet;
 import io.hops.hopsworks.api.util.CustomSSLProtocolSocketFactory;
 import io.hops.hopsworks.common.dao.jobhistory.YarnApplicationstateFacade;
@@ -48,8 +49,7 @@ import io.hops.hopsworks.common.dao.project.team.ProjectTeamFacade;
 import io.hops.hopsworks.common.dao.user.UserFacade;
 import io.hops.hopsworks.common.hdfs.HdfsUsersController;
 import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
-import io.hops.hopsworks.common.security.BaseHadoopClientsService;
-import io.hops.hopsworks.common.security.CertificateMaterializer;
+import io.hops.hopsworks.common.security.ProxySSLContextCache;
 import io.hops.hopsworks.common.user.UsersController;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.persistence.entity.jobs.history.YarnApplicationstate;
@@ -60,12 +60,15 @@ import io.hops.hopsworks.servicediscovery.tags.ResourceManagerTags;
 import org.apache.commons.httpclient.HostConfiguration;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
+import org.apache.commons.httpclient.HttpState;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
 import org.apache.commons.httpclient.cookie.CookiePolicy;
 import org.apache.commons.httpclient.methods.GetMethod;
 import org.apache.commons.httpclient.methods.InputStreamRequestEntity;
 import org.apache.commons.httpclient.methods.PutMethod;
 import org.apache.commons.httpclient.methods.RequestEntity;
 import org.apache.commons.httpclient.params.HttpClientParams;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.apache.commons.httpclient.protocol.Protocol;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.HttpHeaders;
@@ -75,20 +78,18 @@ import org.apache.http.client.utils.URIUtils;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
+import javax.net.ssl.SSLContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.Response;
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.nio.charset.Charset;
+import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -102,6 +103,8 @@ import java.util.regex.Pattern;
 public class YarnUIProxyServlet extends ProxyServlet {
   
   final static Logger LOGGER = Logger.getLogger(YarnUIProxyServlet.class.getName());
+  private static final int DEFAULT_HTTPS_PORT = 443;
+  private static final int MAX_REDIRECTS = 10;
 
   private static final HashSet<String> PASS_THROUGH_HEADERS = new HashSet<>(
       Arrays.asList("User-Agent", "user-agent", "Accept", "accept",
@@ -129,12 +132,39 @@ public class YarnUIProxyServlet extends ProxyServlet {
   @EJB
   private UsersController userController;
   @EJB
-  private BaseHadoopClientsService baseHadoopClientsService;
-  @EJB
-  private CertificateMaterializer certificateMaterializer;
+  private ProxySSLContextCache proxySSLContextCache;
 
-  private String isRemoving = null;
   private Service httpsResourceManager;
+  // Shared by all users. Connections are pooled per host and TLS context, see CustomSSLProtocolSocketFactory#equals
+  private MultiThreadedHttpConnectionManager connectionManager;
+  private HttpClient httpClient;
+  private InetAddress localAddress;
+
+  @Override
+  public void init() throws ServletException {
+    super.init();
+    HttpConnectionManagerParams connectionParams = new HttpConnectionManagerParams();
+    connectionParams.setMaxTotalConnections(settings.getYarnUIProxyMaxConnections());
+    connectionParams.setDefaultMaxConnectionsPerHost(settings.getYarnUIProxyMaxConnectionsPerRoute());
+    connectionManager = new MultiThreadedHttpConnectionManager();
+    connectionManager.setParams(connectionParams);
+    HttpClientParams params = new HttpClientParams();
+    params.setCookiePolicy(CookiePolicy.BROWSER_COMPATIBILITY);
+    httpClient = new HttpClient(params, connectionManager);
+    try {
+      localAddress = InetAddress.getLocalHost();
+    } catch (UnknownHostException e) {
+      throw new ServletException("Failed to resolve local address", e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (connectionManager != null) {
+      connectionManager.shutdown();
+    }
+    super.destroy();
+  }
 
   protected void initTarget() throws ServletException {
     try {
@@ -210,7 +240,6 @@ public class YarnUIProxyServlet extends ProxyServlet {
 
     Optional<Project> maybeProject = getApplicationProject(servletRequest);
     boolean isAdmin = false;
-    boolean materializedCertificates = false;
 
     if (!userController.isUserInRole(user, "HOPS_ADMIN")) {
       if (servletRequest.getRequestURI().contains("proxy/application")
@@ -233,8 +262,6 @@ public class YarnUIProxyServlet extends ProxyServlet {
               "You don't have the access right for this application");
           return;
         }
-        certificateMaterializer.materializeCertificatesLocal(user.getUsername(), project.getName());
-        materializedCertificates = true;
       } else {
         if (!servletRequest.getRequestURI().contains("/static/")) {
           servletResponse.sendError(Response.Status.BAD_REQUEST.getStatusCode(),
@@ -258,49 +285,30 @@ public class YarnUIProxyServlet extends ProxyServlet {
     // sure it would truly be compatible
     String proxyRequestUri = rewriteUrlFromRequest(servletRequest);
 
-    HttpMethod m = null;
+    ProxiedRequest proxied = null;
     try {
-      File keystore, truststore;
-      String keystorePassphrase, truststorePassphrase;
+      SSLContext sslContext;
       if (!isAdmin && maybeProject.isPresent()) {
-        Project project = maybeProject.get();
-        CertificateMaterializer.CryptoMaterial material = certificateMaterializer.getUserMaterial(user.getUsername(),
-            project.getName());
-        keystore = new File(certificateMaterializer.getUserTransientKeystorePath(project, user));
-        truststore = new File(certificateMaterializer.getUserTransientTruststorePath(project, user));
-        keystorePassphrase = new String(material.getPassword());
-        truststorePassphrase = new String(material.getPassword());
+        sslContext = proxySSLContextCache.getUserContext(user.getUsername(), maybeProject.get().getName());
       } else {
         // We end-up here if the user is Admin or if the page we are trying to get is served from /static/
         // Any other case would result in authentication error above so it is safe to use 'else' without
         // a condition
-        keystore = new File(baseHadoopClientsService.getSuperKeystorePath());
-        truststore = new File(baseHadoopClientsService.getSuperTrustStorePath());
-        keystorePassphrase = baseHadoopClientsService.getSuperKeystorePassword();
-        truststorePassphrase = baseHadoopClientsService.getSuperTrustStorePassword();
+        sslContext = proxySSLContextCache.getSuperUserContext();
       }
+      // The protocol is only set on the host configuration of this request, it is never registered globally
+      Protocol httpsProto = new Protocol("https", new CustomSSLProtocolSocketFactory(sslContext),
+        DEFAULT_HTTPS_PORT);
 
-      // Assume that KeyStore password and Key password are the same
-      Protocol httpsProto = new Protocol("https", new CustomSSLProtocolSocketFactory(keystore,
-          keystorePassphrase, keystorePassphrase, truststore, truststorePassphrase), targetUriObj.getPort());
-      Protocol.registerProtocol("https", httpsProto);
-      // Execute the request
-      HttpClientParams params = new HttpClientParams();
-      params.setCookiePolicy(CookiePolicy.BROWSER_COMPATIBILITY);
-      params.setBooleanParameter(HttpClientParams.ALLOW_CIRCULAR_REDIRECTS, true);
-      HttpClient client = new HttpClient(params);
-      HostConfiguration config = new HostConfiguration();
-      InetAddress localAddress = InetAddress.getLocalHost();
-      config.setLocalAddress(localAddress);
-
+      HttpMethod m;
       String method = servletRequest.getMethod();
       if (method.equalsIgnoreCase("PUT")) {
-        m = new PutMethod(proxyRequestUri);
+        m = new PutMethod();
         RequestEntity requestEntity = new InputStreamRequestEntity(servletRequest.getInputStream(), servletRequest.
           getContentType());
         ((PutMethod) m).setRequestEntity(requestEntity);
       } else {
-        m = new GetMethod(proxyRequestUri);
+        m = new GetMethod();
       }
       Enumeration<String> names = servletRequest.getHeaderNames();
       while (names.hasMoreElements()) {
@@ -319,7 +327,9 @@ public class YarnUIProxyServlet extends ProxyServlet {
         }
       }
       m.setRequestHeader("Cookie", "proxy-user" + "=" + URLEncoder.encode(user.getEmail(), "ASCII"));
-      client.executeMethod(config, m);
+      proxied = new ProxiedRequest(m, new org.apache.commons.httpclient.URI(proxyRequestUri, true));
+      execute(proxied, httpsProto);
+      m = proxied.method;
       
       // Process the response
       int statusCode = m.getStatusCode();
@@ -332,7 +342,7 @@ public class YarnUIProxyServlet extends ProxyServlet {
       copyResponseHeaders(m, servletRequest, servletResponse);
       
       // Send the content to the client
-      copyResponseEntity(m, servletResponse, servletRequest.isUserInRole("HOPS_ADMIN"));
+      copyResponseEntity(proxied, servletResponse, servletRequest.isUserInRole("HOPS_ADMIN"));
       
     } catch (Exception e) {
       if (e instanceof RuntimeException) {
@@ -348,47 +358,68 @@ public class YarnUIProxyServlet extends ProxyServlet {
       throw new RuntimeException(e);
       
     } finally {
-      if (m != null) {
-        m.releaseConnection();
+      if (proxied != null) {
+        proxied.method.releaseConnection();
+      }
+    }
+  }
+
+  /**
+   * Execute the request, following GET redirects. Redirects are followed here instead of by HttpClient because
+   * HttpClient would look up the https protocol of the redirect target in the global registry and lose the TLS
+   * context of the user.
+   */
+  private void execute(ProxiedRequest proxied, Protocol httpsProto) throws IOException {
+    for (int redirects = 0; ; redirects++) {
+      org.apache.commons.httpclient.URI uri = proxied.uri;
+      HttpMethod m = proxied.method;
+      HostConfiguration config = new HostConfiguration();
+      config.setLocalAddress(localAddress);
+      config.setHost(uri.getHost(), uri.getPort(),
+        "https".equalsIgnoreCase(uri.getScheme()) ? httpsProto : Protocol.getProtocol(uri.getScheme()));
+      m.setPath(uri.getEscapedPath() == null ? "/" : uri.getEscapedPath());
+      m.setQueryString(uri.getEscapedQuery());
+      m.setFollowRedirects(false);
+      // Cookies of one user must not leak to the next request of the shared client
+      httpClient.executeMethod(config, m, new HttpState());
+
+      int statusCode = m.getStatusCode();
+      org.apache.commons.httpclient.Header location = m.getResponseHeader(HttpHeaders.LOCATION);
+      if (!(m instanceof GetMethod) || location == null || redirects >= MAX_REDIRECTS
+        || statusCode < HttpServletResponse.SC_MULTIPLE_CHOICES
+        || statusCode >= HttpServletResponse.SC_BAD_REQUEST
+        || statusCode == HttpServletResponse.SC_NOT_MODIFIED) {
+        return;
       }
-      if (materializedCertificates) {
-        maybeProject.ifPresent(project -> certificateMaterializer.removeCertificatesLocal(user.getUsername(),
-            project.getName()));
+      GetMethod redirect = new GetMethod();
+      for (org.apache.commons.httpclient.Header header : m.getRequestHeaders()) {
+        if (!header.getName().equalsIgnoreCase(HttpHeaders.HOST)) {
+          redirect.setRequestHeader(header);
+        }
       }
-      // Do not use the same protocol with same certificate material for following requests
-      Protocol.unregisterProtocol("https");
+      org.apache.commons.httpclient.URI target =
+        new org.apache.commons.httpclient.URI(uri, new org.apache.commons.httpclient.URI(location.getValue(), true));
+      m.releaseConnection();
+      proxied.method = redirect;
+      proxied.uri = target;
     }
   }
   
-  protected void copyResponseEntity(HttpMethod method,
+  protected void copyResponseEntity(ProxiedRequest proxied,
     HttpServletResponse servletResponse, boolean isAdmin) throws IOException {
+    HttpMethod method = proxied.method;
     InputStream entity = method.getResponseBodyAsStream();
     if (entity != null) {
       OutputStream servletOutputStream = servletResponse.getOutputStream();
       if (servletResponse.getHeader("Content-Type") == null || servletResponse.getHeader("Content-Type").
         contains("html") || servletResponse.getHeader("Content-Type").contains("application/json")) {
-        String inputLine;
-        BufferedReader br = new BufferedReader(new InputStreamReader(entity));
-        
-        try {
-          int contentSize = 0;
-          String source = "http://" + method.getURI().getHost() + ":" + method.getURI().getPort();
-          // In some cases where the port is -1 replace the link with ResourceManager's (targetUri)
-          if (method.getURI().getPort() == -1) {
-            source = targetUri;
-          }
-          String path = method.getPath();
-          while ((inputLine = br.readLine()) != null) {
-            String outputLine = hopify(inputLine, source, isAdmin, path) + "\n";
-            byte[] output = outputLine.getBytes(Charset.forName("UTF-8"));
-            servletOutputStream.write(output);
-            contentSize += output.length;
-          }
-          br.close();
-          servletResponse.setHeader("Content-Length", Integer.toString(contentSize));
-        } catch (IOException e) {
-          e.printStackTrace();
+        String source = "http://" + proxied.uri.getHost() + ":" + proxied.uri.getPort();
+        // In some cases where the port is -1 replace the link with ResourceManager's (targetUri)
+        if (proxied.uri.getPort() == -1) {
+          source = targetUri;
         }
+        // The length changes with the rewrite, the content is sent chunked
+        hopify(source, isAdmin, method.getPath()).copy(entity, servletOutputStream);
       } else {
         org.apache.hadoop.io.IOUtils.copyBytes(entity, servletOutputStream, 4096, doLog);
       }
@@ -417,54 +448,29 @@ public class YarnUIProxyServlet extends ProxyServlet {
     }
   }
   
-  private String hopify(String ui, String source, boolean isAdmin, String path) {
+  private ContentRewriter hopify(String source, boolean isAdmin, String path) {
+    String proxyPath = "/hopsworks-api/yarnui/";
+    ContentRewriter.Builder rewriter = ContentRewriter.builder();
     if (!isAdmin) {
-      ui = removeUnusable(ui);
-    }
-    
-    ui = ui.replaceAll("(?<=(href|src)=\")/(?=[a-zA-Z])",
-      "/hopsworks-api/yarnui/" + source + "/");
-    ui = ui.replaceAll("(?<=(href|src)=\')/(?=[a-zA-Z])",
-      "/hopsworks-api/yarnui/" + source + "/");
-    ui = ui.replaceAll("(?<=(href|src)=\")//", "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("(?<=(href|src)=\')//", "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("(?<=(href|src)=\")(?=http)",
-      "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("(?<=(href|src)=\')(?=http)",
-      "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("(?<=(href|src)=\")(?=[a-zA-Z])",
-        "/hopsworks-api/yarnui/" + source + "/" + path + "/");
-    ui = ui.replaceAll("(?<=(href|src)=\')(?=[a-zA-Z])",
-        "/hopsworks-api/yarnui/" + source + "/" + path + "/");
-    ui = ui.replaceAll("(?<=(url: '))/(?=[a-zA-Z])", "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("(?<=(location\\.href = '))/(?=[a-zA-Z])", "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("(?<=\"(stdout\"|stderr\") : \")(?=[a-zA-Z])",
-      "/hopsworks-api/yarnui/");
-    ui = ui.replaceAll("for full log", "for latest " + settings.getSparkUILogsOffset()
-      + " bytes of logs");
-    ui = ui.replace("/?start=0", "/?start=-" + settings.getSparkUILogsOffset());
-    return ui;
-    
-  }
-  
-  private String removeUnusable(String ui) {
-
-    if (ui.contains("<div id=\"user\">") || ui.contains("<tfoot>") || ui.contains("<td id=\"navcell\">")) {
-      isRemoving = ui;
-      return "";
+      // Remove the user menu, the table footers and the navigation cell
+      rewriter.remove("<div id=\"user\">", "<div id=\"logo\">", false)
+        .remove("<tfoot>", "</tfoot>", true)
+        .remove("<td id=\"navcell\">", "</td>", true);
     }
-    if (isRemoving != null) {
-      if (isRemoving.contains("<div id=\"user\">") && ui.contains("<div id=\"logo\">")) {
-        isRemoving = null;
-        return ui;
-      } else if (isRemoving.contains("<tfoot>") && ui.contains("</tfoot>")) {
-        isRemoving = null;
-      } else if (isRemoving.contains("<td id=\"navcell\">") && ui.contains("</td>")) {
-        isRemoving = null;
-      }
-      return "";
+    for (String attribute : new String[]{"href=\"", "href='", "src=\"", "src='"}) {
+      rewriter.replace(attribute + "/", attribute + proxyPath + source + "/", ContentRewriter.LETTER)
+        .replace(attribute + "//", attribute + proxyPath)
+        .replace(attribute + "http", attribute + proxyPath + "http")
+        .replace(attribute, attribute + proxyPath + source + "/" + path + "/", ContentRewriter.LETTER);
     }
-    return ui;
+    return rewriter
+      .replace("url: '/", "url: '" + proxyPath, ContentRewriter.LETTER)
+      .replace("location.href = '/", "location.href = '" + proxyPath, ContentRewriter.LETTER)
+      .replace("\"stdout\" : \"", "\"stdout\" : \"" + proxyPath, ContentRewriter.LETTER)
+      .replace("\"stderr\" : \"", "\"stderr\" : \"" + proxyPath, ContentRewriter.LETTER)
+      .replace("for full log", "for latest " + settings.getSparkUILogsOffset() + " bytes of logs")
+      .replace("/?start=0", "/?start=-" + settings.getSparkUILogsOffset())
+      .build();
   }
   
   protected String rewriteUrlFromRequest(HttpServletRequest servletRequest) {
@@ -566,5 +572,15 @@ public class YarnUIProxyServlet extends ProxyServlet {
     appAttempt,
     container;
   }
+
+  private static final class ProxiedRequest {
+    private HttpMethod method;
+    private org.apache.commons.httpclient.URI uri;
+
+    private ProxiedRequest(HttpMethod method, org.apache.commons.httpclient.URI uri) {
+      this.method = method;
+      this.uri = uri;
+    }
+  }
   
 }
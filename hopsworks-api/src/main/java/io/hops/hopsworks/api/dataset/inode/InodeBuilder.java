@@ -15,6 +15,7 @@
  */
 package io.hops.hopsworks.api.dataset.inode;
 
+import com.google.common.collect.Lists;
 import io.hops.hopsworks.api.dataset.inode.attribute.InodeAttributeBuilder;
 import io.hops.hopsworks.api.dataset.inode.attribute.InodeAttributeDTO;
 import io.hops.hopsworks.api.dataset.tags.InodeTagUri;
@@ -29,6 +30,7 @@ import io.hops.hopsworks.common.dao.hdfs.inode.InodeFacade;
 import io.hops.hopsworks.common.dao.user.UserFacade;
 import io.hops.hopsworks.common.dataset.DatasetController;
 import io.hops.hopsworks.common.dataset.FilePreviewMode;
+import io.hops.hopsworks.common.tags.TagsDTO;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.DatasetException;
 import io.hops.hopsworks.exceptions.MetadataException;
@@ -45,8 +47,11 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -75,6 +80,22 @@ public class InodeBuilder {
   @EJB
   private HdfsCommandExecutionFacade hdfsCommandExecutionFacade;
   
+  public InodeBuilder() {
+  }
+  
+  // for testing
+  protected InodeBuilder(InodeFacade inodeFacade, UserFacade userFacade, InodeAttributeBuilder inodeAttributeBuilder,
+    DatasetHelper datasetHelper, Settings settings, TagBuilder tagsBuilder,
+    HdfsCommandExecutionFacade hdfsCommandExecutionFacade) {
+    this.inodeFacade = inodeFacade;
+    this.userFacade = userFacade;
+    this.inodeAttributeBuilder = inodeAttributeBuilder;
+    this.datasetHelper = datasetHelper;
+    this.settings = settings;
+    this.tagsBuilder = tagsBuilder;
+    this.hdfsCommandExecutionFacade = hdfsCommandExecutionFacade;
+  }
+  
   private InodeDTO uri(InodeDTO dto, UriInfo uriInfo) {
     dto.setHref(uriInfo.getAbsolutePathBuilder().build());
     return dto;
@@ -249,22 +270,79 @@ public class InodeBuilder {
     return dto;
   }
   
+  /**
+   * Build the items of a page of a directory listing. Owners and zip states are loaded for the whole page with one
+   * query each, and the tags, which are the ones of the listed directory, are built once for the page. Owners are
+   * only loaded if the items are expanded.
+   */
   private InodeDTO items(UriInfo uriInfo, InodeDTO dto, ResourceRequest resourceRequest, Users user,
                          DatasetPath datasetPath, List<Inode> inodes, Users dirOwner)
     throws DatasetException, FeatureStoreMetadataException, MetadataException {
     if (inodes != null && !inodes.isEmpty()) {
+      String parentPath = datasetPath.getFullPath().toString();
+      Map<String, Users> owners = null;
+      TagsDTO tags = null;
+      List<InodeDTO> expanded = new ArrayList<>(inodes.size());
       for(Inode inode : inodes) {
-        dto.addItem(buildStat(uriInfo, resourceRequest, user, datasetPath, inode, dirOwner));
+        InodeDTO item = new InodeDTO();
+        uri(item, uriInfo, inode);
+        expand(item, resourceRequest);
+        if (item.isExpand()) {
+          if (owners == null) {
+            owners = findOwners(inodes, dirOwner);
+          }
+          item.setAttributes(inodeAttributeBuilder.buildItem(new InodeAttributeDTO(), resourceRequest, inode,
+            parentPath, owners));
+          if (tags == null) {
+            tags = tagsBuilder.build(new InodeTagUri(uriInfo), resourceRequest, user, datasetPath);
+          }
+          item.setTags(tags);
+          expanded.add(item);
+        }
+        dto.addItem(item);
       }
+      setZipState(expanded);
     } else if (inodes != null && inodes.isEmpty()) {
       dto.setItems(new ArrayList<>());
     }
     return dto;
   }
   
+  private Map<String, Users> findOwners(List<Inode> inodes, Users dirOwner) {
+    Map<String, Users> owners = new HashMap<>();
+    if (dirOwner != null) {
+      owners.put(dirOwner.getUsername(), dirOwner);
+    }
+    //Most files in a dir will be owned by the dir owner, so this is usually empty
+    Set<String> usernames = inodes.stream()
+      .map(inode -> inode.getHdfsUser().getUsername())
+      .filter(username -> !owners.containsKey(username))
+      .collect(Collectors.toSet());
+    if (!usernames.isEmpty()) {
+      userFacade.findByUsernames(usernames).forEach(owner -> owners.put(owner.getUsername(), owner));
+    }
+    return owners;
+  }
+  
+  private void setZipState(List<InodeDTO> items) {
+    if (items.isEmpty()) {
+      return;
+    }
+    List<String> paths = items.stream().map(item -> item.getAttributes().getPath()).collect(Collectors.toList());
+    Map<String, HdfsCommandExecution> commands = new HashMap<>(paths.size());
+    for (List<String> partition : Lists.partition(paths, settings.getSQLMaxSelectIn())) {
+      hdfsCommandExecutionFacade.findBySrcPaths(partition).forEach(c -> commands.put(c.getSrcPath(), c));
+    }
+    for (InodeDTO item : items) {
+      setZipState(item, Optional.ofNullable(commands.get(item.getAttributes().getPath())));
+    }
+  }
+  
   private void setZipState(InodeDTO dto) {
-    Optional<HdfsCommandExecution> hdfsCommandExecution =
-      hdfsCommandExecutionFacade.findBySrcPath(dto.getAttributes().getPath());
+    setZipState(dto, hdfsCommandExecutionFacade.findBySrcPath(dto.getAttributes().getPath()));
+  }
+  
+  private void setZipState(InodeDTO dto, Optional<HdfsCommandExecution> hdfsCommandExecution) {
     ZipState zipState = ZipState.NONE;
     if (hdfsCommandExecution.isPresent()) {
       dto.setHdfsCommand(new HdfsCommandDTO(hdfsCommandExecution.get(), dto.getAttributes().getPath()));
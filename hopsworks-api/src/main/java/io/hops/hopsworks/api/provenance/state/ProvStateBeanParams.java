@@ -81,6 +81,11 @@ public class ProvStateBeanParams implements ProvStateParams {
   @DefaultValue("LIST")
   private ProvStateParams.ReturnType returnType;
   
+  @QueryParam("cursor")
+  @ApiParam(value = "cursor returned with the previous page, empty for the first page. Replaces the offset, deep " +
+    "pages cost as much as the first one.")
+  private String cursor;
+  
   public ProvStateBeanParams(
     @QueryParam("filter_by") Set<String> fileStateParams,
     @QueryParam("sort_by") List<String> fileStateSortBy,
@@ -90,7 +95,8 @@ public class ProvStateBeanParams implements ProvStateParams {
     @QueryParam("xattr_sort_by") List<String> xattrSortBy,
     @QueryParam("expand") Set<String> expansions,
     @QueryParam("exp_filter_by") Set<String> appStateParams,
-    @QueryParam("return_type") @DefaultValue("LIST") ProvStateParams.ReturnType returnType) {
+    @QueryParam("return_type") @DefaultValue("LIST") ProvStateParams.ReturnType returnType,
+    @QueryParam("cursor") String cursor) {
     this.fileStateParams = fileStateParams;
     this.fileStateSortBy = fileStateSortBy;
     this.exactXAttrParams = xAttrParams;
@@ -100,6 +106,7 @@ public class ProvStateBeanParams implements ProvStateParams {
     this.expansions = expansions;
     this.appStateParams = appStateParams;
     this.returnType = returnType;
+    this.cursor = cursor;
   }
   
   @Override
@@ -183,6 +190,15 @@ public class ProvStateBeanParams implements ProvStateParams {
     this.returnType = returnType;
   }
   
+  @Override
+  public String getCursor() {
+    return cursor;
+  }
+  
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+  
   @Override
   public String toString() {
     return "ProvFileStateBeanParam{"
@@ -195,6 +211,7 @@ public class ProvStateBeanParams implements ProvStateParams {
       + "expansions:" + expansions
       + "app state:" + appStateParams.toString()
       + "return type:" + returnType
+      + "cursor:" + cursor
       + '}';
   }
 }
@@ -0,0 +1,324 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.api.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Rewrites proxied content while it is streamed to the client. Rules match literal byte sequences, so content is
+ * never decoded or buffered by line and memory use is bounded by the longest rule, independent of the size of the
+ * page. Matching is done on the raw bytes, which works for any ASCII compatible encoding such as UTF-8.
+ *
+ * At every position the longest matching rule wins. The replacement is not matched again.
+ *
+ * A rewriter is immutable and can be shared, {@link #rewrite(OutputStream)} creates the per response state.
+ */
+public final class ContentRewriter {
+
+  public static final IntPredicate LETTER = b -> (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+
+  // Rules indexed by their first byte, longest first
+  private final Rule[][] rules;
+  private final int maxRuleLength;
+
+  private ContentRewriter(List<Rule> ruleList) {
+    rules = new Rule[256][];
+    int max = 0;
+    for (int i = 0; i < 256; i++) {
+      final int first = i;
+      Rule[] candidates = ruleList.stream()
+        .filter(rule -> (rule.match[0] & 0xff) == first)
+        .sorted(Comparator.comparingInt((Rule rule) -> rule.match.length).reversed())
+        .toArray(Rule[]::new);
+      rules[i] = candidates.length == 0 ? null : candidates;
+    }
+    for (Rule rule : ruleList) {
+      max = Math.max(max, Math.max(rule.match.length, rule.end == null ? 0 : rule.end.length));
+    }
+    maxRuleLength = max;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @param out stream receiving the rewritten content
+   * @return stream to write the original content to. {@link RewritingOutputStream#finish()} must be called after the
+   *     last write.
+   */
+  public RewritingOutputStream rewrite(OutputStream out) {
+    return new RewritingOutputStream(out);
+  }
+
+  /**
+   * Stream in through the rewriter to out. Neither stream is closed.
+   *
+   * @return number of bytes written to out
+   */
+  public long copy(InputStream in, OutputStream out) throws IOException {
+    RewritingOutputStream rewriting = rewrite(out);
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      rewriting.write(buffer, 0, read);
+    }
+    rewriting.finish();
+    return rewriting.getWritten();
+  }
+
+  public static final class Builder {
+    private final List<Rule> rules = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Replace every occurrence of match
+     */
+    public Builder replace(String match, String replacement) {
+      return replace(match, replacement, null);
+    }
+
+    /**
+     * Replace match if the byte following it satisfies next. The following byte is not replaced.
+     */
+    public Builder replace(String match, String replacement, IntPredicate next) {
+      rules.add(new Rule(bytes(match), next, bytes(replacement), null, false));
+      return this;
+    }
+
+    /**
+     * Drop everything from start up to end. end is dropped as well if dropEnd is set, otherwise it is kept and
+     * rewritten like any other content.
+     */
+    public Builder remove(String start, String end, boolean dropEnd) {
+      rules.add(new Rule(bytes(start), null, null, bytes(end), dropEnd));
+      return this;
+    }
+
+    public ContentRewriter build() {
+      return new ContentRewriter(rules);
+    }
+
+    private static byte[] bytes(String s) {
+      if (s == null) {
+        return null;
+      }
+      if (s.isEmpty()) {
+        throw new IllegalArgumentException("Rule must not be empty");
+      }
+      return s.getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  private static final class Rule {
+    private final byte[] match;
+    private final IntPredicate next;
+    private final byte[] replacement;
+    private final byte[] end;
+    private final boolean dropEnd;
+
+    private Rule(byte[] match, IntPredicate next, byte[] replacement, byte[] end, boolean dropEnd) {
+      this.match = match;
+      this.next = next;
+      this.replacement = replacement;
+      this.end = end;
+      this.dropEnd = dropEnd;
+    }
+  }
+
+  private enum Match {
+    FULL,
+    PARTIAL,
+    NONE
+  }
+
+  public final class RewritingOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final byte[] pending = new byte[maxRuleLength + 2];
+    private int pendingCount;
+    private final byte[] buffer = new byte[8192];
+    private int bufferCount;
+    private long written;
+    // Rule whose end marker is searched for while content is dropped
+    private Rule removing;
+    private boolean finished;
+
+    private RewritingOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      pending[pendingCount++] = (byte) b;
+      drain(false);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      for (int i = off; i < off + len; i++) {
+        int first = b[i] & 0xff;
+        if (pendingCount == 0 && removing == null && rules[first] == null) {
+          // Fast path, the byte cannot start a rule
+          emit(b[i]);
+        } else {
+          write(first);
+        }
+      }
+    }
+
+    /**
+     * Does not write pending bytes which may still be the start of a rule
+     */
+    @Override
+    public void flush() throws IOException {
+      flushBuffer();
+      out.flush();
+    }
+
+    /**
+     * Write the remaining content without closing the underlying stream
+     */
+    public void finish() throws IOException {
+      if (!finished) {
+        finished = true;
+        drain(true);
+        flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      finish();
+      out.close();
+    }
+
+    /**
+     * @return number of bytes written to the underlying stream
+     */
+    public long getWritten() {
+      return written;
+    }
+
+    private void drain(boolean eof) throws IOException {
+      int start = 0;
+      while (start < pendingCount) {
+        int consumed = removing == null ? rewriteAt(start, eof) : removeAt(start, eof);
+        if (consumed == 0) {
+          break;
+        }
+        start += consumed;
+      }
+      if (start > 0) {
+        System.arraycopy(pending, start, pending, 0, pendingCount - start);
+        pendingCount -= start;
+      }
+    }
+
+    /**
+     * @return number of pending bytes consumed, 0 if more content is needed to decide
+     */
+    private int rewriteAt(int pos, boolean eof) throws IOException {
+      Rule[] candidates = rules[pending[pos] & 0xff];
+      if (candidates != null) {
+        for (Rule rule : candidates) {
+          Match match = match(rule.match, rule.next, pos, eof);
+          if (match == Match.PARTIAL) {
+            return 0;
+          }
+          if (match == Match.FULL) {
+            if (rule.end != null) {
+              removing = rule;
+            } else {
+              emit(rule.replacement);
+            }
+            return rule.match.length;
+          }
+        }
+      }
+      emit(pending[pos]);
+      return 1;
+    }
+
+    private int removeAt(int pos, boolean eof) throws IOException {
+      Rule rule = removing;
+      Match match = match(rule.end, null, pos, eof);
+      if (match == Match.PARTIAL) {
+        return 0;
+      }
+      if (match == Match.FULL) {
+        removing = null;
+        // If the end marker is kept it is rewritten like regular content
+        return rule.dropEnd ? rule.end.length : rewriteAt(pos, eof);
+      }
+      return 1;
+    }
+
+    private Match match(byte[] bytes, IntPredicate next, int pos, boolean eof) {
+      int available = pendingCount - pos;
+      int n = Math.min(bytes.length, available);
+      for (int i = 0; i < n; i++) {
+        if (pending[pos + i] != bytes[i]) {
+          return Match.NONE;
+        }
+      }
+      if (available < bytes.length || (next != null && available == bytes.length)) {
+        return eof ? Match.NONE : Match.PARTIAL;
+      }
+      if (next != null && !next.test(pending[pos + bytes.length] & 0xff)) {
+        return Match.NONE;
+      }
+      return Match.FULL;
+    }
+
+    private void emit(byte b) throws IOException {
+      if (bufferCount == buffer.length) {
+        flushBuffer();
+      }
+      buffer[bufferCount++] = b;
+    }
+
+    private void emit(byte[] bytes) throws IOException {
+      if (bytes.length > buffer.length - bufferCount) {
+        flushBuffer();
+      }
+      if (bytes.length > buffer.length) {
+        out.write(bytes);
+        written += bytes.length;
+      } else {
+        System.arraycopy(bytes, 0, buffer, bufferCount, bytes.length);
+        bufferCount += bytes.length;
+      }
+    }
+
+    private void flushBuffer() throws IOException {
+      if (bufferCount > 0) {
+        out.write(buffer, 0, bufferCount);
+        written += bufferCount;
+        bufferCount = 0;
+      }
+    }
+  }
+}
@@ -26,6 +26,7 @@ import io.hops.hopsworks.api.project.ProjectSubResource;
 import io.hops.hopsworks.common.project.ProjectController;
 import io.hops.hopsworks.common.serving.inference.InferenceController;
 import io.hops.hopsworks.common.serving.inference.InferenceEndpoint;
+import io.hops.hopsworks.common.serving.inference.InferenceResult;
 import io.hops.hopsworks.common.serving.inference.InferenceVerb;
 import io.hops.hopsworks.exceptions.ApiKeyException;
 import io.hops.hopsworks.exceptions.InferenceException;
@@ -53,7 +54,9 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -95,16 +98,17 @@ public class InferenceResource extends ProjectSubResource {
       @ApiParam(value = "Type of query") @PathParam("verb") InferenceVerb verb,
       @Context HttpServletRequest req,
       @Context SecurityContext sc,
-      @Context HttpHeaders httpHeaders, String inferenceRequestJson)
+      @Context HttpHeaders httpHeaders, InputStream inferenceRequest)
       throws InferenceException, ApiKeyException, ProjectException {
     Integer version = null;
     if (!Strings.isNullOrEmpty(modelVersion)) {
       version = Integer.valueOf(modelVersion.split("/")[2]);
     }
     String authHeader = httpHeaders.getRequestHeader(HttpHeaders.AUTHORIZATION).get(0);
-    String inferenceResult = inferenceController.infer(getProject(), sc.getUserPrincipal().getName(), modelName,
-      version, verb, inferenceRequestJson, authHeader);
-    return Response.ok().entity(inferenceResult).build();
+    InferenceResult inferenceResult = inferenceController.inferStream(getProject(), sc.getUserPrincipal().getName(),
+      modelName, version, verb, inferenceRequest, req.getContentLengthLong(), authHeader);
+    StreamingOutput output = inferenceResult::writeTo;
+    return Response.ok().entity(output).build();
   }
   
   @GET
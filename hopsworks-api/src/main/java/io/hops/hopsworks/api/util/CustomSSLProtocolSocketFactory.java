@@ -76,6 +76,7 @@ public class CustomSSLProtocolSocketFactory implements SecureProtocolSocketFacto
   private final File trustStore;
   private final String trustStorePassword;
   private SSLContext sslContext;
+  private final boolean sharedContext;
   
   public CustomSSLProtocolSocketFactory(final File keyStore, final String keyStorePassword, final String keyPassword,
     final File trustStore, final String trustStorePassword) {
@@ -84,6 +85,38 @@ public class CustomSSLProtocolSocketFactory implements SecureProtocolSocketFacto
     this.keyPassword = keyPassword;
     this.trustStore = trustStore;
     this.trustStorePassword = trustStorePassword;
+    this.sharedContext = false;
+  }
+  
+  /**
+   * Socket factory of an initialized context. Factories of the same context are equal, so commons-httpclient
+   * connection managers reuse connections opened with that context for every factory created from it.
+   */
+  public CustomSSLProtocolSocketFactory(final SSLContext sslContext) {
+    this.keyStore = null;
+    this.keyStorePassword = null;
+    this.keyPassword = null;
+    this.trustStore = null;
+    this.trustStorePassword = null;
+    this.sslContext = sslContext;
+    this.sharedContext = true;
+  }
+  
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!sharedContext || !(o instanceof CustomSSLProtocolSocketFactory)) {
+      return false;
+    }
+    CustomSSLProtocolSocketFactory other = (CustomSSLProtocolSocketFactory) o;
+    return other.sharedContext && other.sslContext == sslContext;
+  }
+  
+  @Override
+  public int hashCode() {
+    return sharedContext ? System.identityHashCode(sslContext) : super.hashCode();
   }
   
   @Override
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.api.dataset.inode;
+
+import io.hops.hopsworks.api.dataset.inode.attribute.InodeAttributeBuilder;
+import io.hops.hopsworks.api.tags.TagBuilder;
+import io.hops.hopsworks.common.api.ResourceRequest;
+import io.hops.hopsworks.common.dao.AbstractFacade;
+import io.hops.hopsworks.common.dao.hdfs.command.HdfsCommandExecutionFacade;
+import io.hops.hopsworks.common.dao.hdfs.inode.InodeFacade;
+import io.hops.hopsworks.common.dao.user.UserFacade;
+import io.hops.hopsworks.common.dataset.util.DatasetHelper;
+import io.hops.hopsworks.common.dataset.util.DatasetPath;
+import io.hops.hopsworks.common.tags.TagsDTO;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.hdfs.command.Command;
+import io.hops.hopsworks.persistence.entity.hdfs.command.HdfsCommandExecution;
+import io.hops.hopsworks.persistence.entity.hdfs.inode.Inode;
+import io.hops.hopsworks.persistence.entity.hdfs.inode.InodePK;
+import io.hops.hopsworks.persistence.entity.hdfs.user.HdfsGroups;
+import io.hops.hopsworks.persistence.entity.hdfs.user.HdfsUsers;
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
+import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class TestInodeBuilder {
+
+  private static final String DIR = "/Projects/project/Resources/dir";
+  private static final int PAGE_SIZE = 250;
+
+  private InodeFacade inodeFacade;
+  private UserFacade userFacade;
+  private TagBuilder tagBuilder;
+  private HdfsCommandExecutionFacade hdfsCommandExecutionFacade;
+  private InodeBuilder inodeBuilder;
+  private UriInfo uriInfo;
+  private DatasetPath datasetPath;
+  private Users dirOwner;
+  private Users otherOwner;
+
+  @Before
+  public void setup() throws Exception {
+    inodeFacade = Mockito.mock(InodeFacade.class);
+    userFacade = Mockito.mock(UserFacade.class);
+    tagBuilder = Mockito.mock(TagBuilder.class);
+    hdfsCommandExecutionFacade = Mockito.mock(HdfsCommandExecutionFacade.class);
+    Settings settings = Mockito.mock(Settings.class);
+    Mockito.when(settings.getSQLMaxSelectIn()).thenReturn(100);
+    Mockito.when(tagBuilder.build(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+      .thenReturn(new TagsDTO());
+    inodeBuilder = new InodeBuilder(inodeFacade, userFacade, new InodeAttributeBuilder(),
+      Mockito.mock(DatasetHelper.class), settings, tagBuilder, hdfsCommandExecutionFacade);
+
+    uriInfo = Mockito.mock(UriInfo.class);
+    UriBuilder uriBuilder = Mockito.mock(UriBuilder.class);
+    Mockito.when(uriBuilder.path(Mockito.anyString())).thenReturn(uriBuilder);
+    Mockito.when(uriBuilder.build()).thenReturn(new URI(DIR));
+    Mockito.when(uriInfo.getAbsolutePathBuilder()).thenReturn(uriBuilder);
+
+    dirOwner = user("owner");
+    otherOwner = user("other");
+    Mockito.when(userFacade.findByUsername("owner")).thenReturn(dirOwner);
+    Mockito.when(userFacade.findByUsernames(Mockito.any())).thenReturn(Collections.singletonList(otherOwner));
+
+    Inode parent = inode(0, "dir", "owner");
+    parent.setDir(true);
+    parent.setChildrenNum(PAGE_SIZE);
+    datasetPath = new DatasetPath(Paths.get(DIR), Paths.get("/Projects/project/Resources"), Paths.get("dir"));
+    datasetPath.setInode(parent);
+
+    List<Inode> children = new ArrayList<>();
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      children.add(inode(i + 1, "file" + i, i % 10 == 0 ? "other" : "owner"));
+    }
+    Mockito.when(inodeFacade.findByParent(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+      Mockito.any())).thenReturn(new AbstractFacade.CollectionInfo((long) PAGE_SIZE, children));
+  }
+
+  private Users user(String username) {
+    Users user = new Users();
+    user.setUsername(username);
+    user.setFname(username);
+    user.setLname("lastname");
+    return user;
+  }
+
+  private Inode inode(long id, String name, String owner) {
+    Inode inode = new Inode(new InodePK(0L, name, 0L));
+    inode.setId(id);
+    inode.setAccessTime(BigInteger.ZERO);
+    inode.setModificationTime(BigInteger.ZERO);
+    inode.setHdfsUser(new HdfsUsers("project__" + owner));
+    inode.setHdfsGroup(new HdfsGroups("project__Resources"));
+    return inode;
+  }
+
+  @Test
+  public void testItemsQueriesPerPage() throws Exception {
+    Execution execution = new Execution();
+    execution.setState(JobState.RUNNING);
+    HdfsCommandExecution zipping = new HdfsCommandExecution(execution, Command.COMPRESS, DIR + "/file150");
+    Mockito.when(hdfsCommandExecutionFacade.findBySrcPaths(Mockito.any())).thenAnswer(invocation -> {
+      Collection<String> srcPaths = invocation.getArgument(0);
+      return srcPaths.contains(zipping.getSrcPath()) ? Collections.singletonList(zipping) : new ArrayList<>();
+    });
+
+    ResourceRequest resourceRequest = new ResourceRequest(ResourceRequest.Name.INODES);
+    InodeDTO dto = inodeBuilder.buildItems(uriInfo, resourceRequest, new Users(), datasetPath);
+
+    Assert.assertEquals(PAGE_SIZE, dto.getItems().size());
+    // The zip state of a page of 250 items is fetched in partitions of 100 paths
+    Mockito.verify(hdfsCommandExecutionFacade, Mockito.times(3)).findBySrcPaths(Mockito.any());
+    Mockito.verify(hdfsCommandExecutionFacade, Mockito.never()).findBySrcPath(Mockito.any());
+    Mockito.verify(userFacade, Mockito.times(1)).findByUsername(Mockito.any());
+    Mockito.verify(userFacade, Mockito.times(1)).findByUsernames(Collections.singleton("other"));
+    Mockito.verify(tagBuilder, Mockito.times(1)).build(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+    InodeDTO first = dto.getItems().get(0);
+    Assert.assertEquals(DIR + "/file0", first.getAttributes().getPath());
+    Assert.assertEquals("other lastname", first.getAttributes().getOwner());
+    Assert.assertEquals(String.valueOf(ZipState.NONE), first.getZipState());
+    InodeDTO second = dto.getItems().get(1);
+    Assert.assertEquals("owner lastname", second.getAttributes().getOwner());
+    InodeDTO zipped = dto.getItems().get(150);
+    Assert.assertEquals(String.valueOf(ZipState.ZIPPING), zipped.getZipState());
+    Assert.assertEquals(zipping.getSrcPath(), zipped.getHdfsCommand().getSrcPath());
+  }
+}
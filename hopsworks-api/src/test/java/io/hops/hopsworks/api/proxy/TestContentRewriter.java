@@ -0,0 +1,83 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.api.proxy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class TestContentRewriter {
+
+  private static final String PREFIX = "/hopsworks-api/yarnui/";
+
+  private final ContentRewriter rewriter = ContentRewriter.builder()
+    .replace("href=\"/", "href=\"" + PREFIX + "http://rm:8088/", ContentRewriter.LETTER)
+    .replace("href=\"//", "href=\"" + PREFIX)
+    .replace("href=\"http", "href=\"" + PREFIX + "http")
+    .replace("href=\"", "href=\"" + PREFIX + "http://rm:8088//cluster/", ContentRewriter.LETTER)
+    .replace("/?start=0", "/?start=-4096")
+    .remove("<tfoot>", "</tfoot>", true)
+    .remove("<div id=\"user\">", "<div id=\"logo\">", false)
+    .build();
+
+  @Test
+  public void testLongestRuleWins() throws IOException {
+    Assert.assertEquals("<a href=\"" + PREFIX + "http://rm:8088/static/x.js\">",
+      rewrite("<a href=\"/static/x.js\">", 1));
+    Assert.assertEquals("<a href=\"" + PREFIX + "host:8042/node\">", rewrite("<a href=\"//host:8042/node\">", 3));
+    Assert.assertEquals("<a href=\"" + PREFIX + "https://host/logs\">", rewrite("<a href=\"https://host/logs\">", 2));
+    Assert.assertEquals("<a href=\"" + PREFIX + "http://rm:8088//cluster/apps\">", rewrite("<a href=\"apps\">", 5));
+    Assert.assertEquals("<a href=\"#top\">", rewrite("<a href=\"#top\">", 1));
+  }
+
+  @Test
+  public void testRulesSpanningWrites() throws IOException {
+    String content = "logs/?start=0 and logs/?start=1 <a href=\"/app\">";
+    String expected = "logs/?start=-4096 and logs/?start=1 <a href=\"" + PREFIX + "http://rm:8088/app\">";
+    for (int chunk = 1; chunk <= content.length(); chunk++) {
+      Assert.assertEquals(expected, rewrite(content, chunk));
+    }
+  }
+
+  @Test
+  public void testRemove() throws IOException {
+    String content = "<table><tfoot><tr><td>x</td></tr></tfoot></table>" +
+      "<div id=\"user\">admin<a href=\"/logout\">x</a></div><div id=\"logo\"></div>";
+    Assert.assertEquals("<table></table><div id=\"logo\"></div>", rewrite(content, 4));
+  }
+
+  @Test
+  public void testPartialMatchAtEndIsWritten() throws IOException {
+    Assert.assertEquals("text href=\"", rewrite("text href=\"", 2));
+    Assert.assertEquals("open <tfoot", rewrite("open <tfoot", 2));
+  }
+
+  private String rewrite(String content, int chunkSize) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ContentRewriter.RewritingOutputStream rewriting = rewriter.rewrite(out);
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      rewriting.write(bytes, i, Math.min(chunkSize, bytes.length - i));
+    }
+    rewriting.finish();
+    Assert.assertEquals(out.size(), rewriting.getWritten());
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -75,6 +75,7 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import static io.hops.hopsworks.ca.controllers.CertificateType.HOST;
 
@@ -151,9 +152,7 @@ public class HostCertsResource {
         throw new CertificateNotFoundException("Could not find a VALID certificate with ID: " + certId + " Is " +
             "exact X509 Name: " + exact);
       }
-      for (X500Name n : subjectsToRevoke) {
-        pki.revokeCertificate(n, HOST);
-      }
+      pki.revokeCertificates(subjectsToRevoke, HOST);
       return Response.ok().build();
     } catch (InvalidNameException | GeneralSecurityException | CAInitializationException ex) {
       throw pkiUtils.certificateRevocationExceptionConvertToCAException(ex, HOST);
@@ -174,9 +173,7 @@ public class HostCertsResource {
     }
     List<String> subjectsToRevoke = pkiUtils.findAllHostCertificateSubjectsForHost(hostname);
     try {
-      for (String subject : subjectsToRevoke) {
-        pki.revokeCertificate(new X500Name(subject), HOST);
-      }
+      pki.revokeCertificates(subjectsToRevoke.stream().map(X500Name::new).collect(Collectors.toList()), HOST);
       return Response.ok().build();
     } catch (GeneralSecurityException | CAInitializationException ex) {
       throw pkiUtils.certificateRevocationExceptionConvertToCAException(ex, HOST);
@@ -30,6 +30,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.apache.commons.lang3.tuple.Pair;
+import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.operator.OperatorCreationException;
 
 import javax.ejb.EJB;
@@ -46,6 +47,8 @@ import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.hops.hopsworks.ca.controllers.CertificateType.PROJECT;
 
@@ -83,20 +86,29 @@ public class ProjectCertsResource {
     }
   }
 
-  @ApiOperation(value = "Revoke Project certificate")
+  @ApiOperation(value = "Revoke Project certificates")
   @DELETE
   @JWTRequired(acceptedTokens={Audience.SERVICES}, allowedUserRoles={"AGENT"})
   @ApiKeyRequired(acceptedScopes = {ApiScope.AUTH}, allowedUserRoles = {"AGENT"})
   public Response revokeCertificate(
-      @ApiParam(value = "Identifier of the Certificate to revoke", required = true) @QueryParam("certId") String certId)
+      @ApiParam(value = "Identifiers of the Certificates to revoke, the parameter can be repeated", required = true)
+      @QueryParam("certId") List<String> certIds)
     throws IOException, CAException {
 
-    if (Strings.isNullOrEmpty(certId)) {
+    if (certIds == null || certIds.isEmpty() || certIds.stream().anyMatch(Strings::isNullOrEmpty)) {
       throw new IllegalArgumentException("Empty certificate identifier");
     }
 
     try {
-      pki.revokeCertificate(certId, PROJECT);
+      if (certIds.size() == 1) {
+        pki.revokeCertificate(certIds.get(0), PROJECT);
+      } else {
+        List<X500Name> certificateNames = new ArrayList<>(certIds.size());
+        for (String certId : certIds) {
+          certificateNames.add(pkiUtils.parseCertificateSubjectName(certId, PROJECT));
+        }
+        pki.revokeCertificates(certificateNames, PROJECT);
+      }
       return Response.ok().build();
     } catch (InvalidNameException | GeneralSecurityException | CAInitializationException ex) {
       throw pkiUtils.certificateRevocationExceptionConvertToCAException(ex, PROJECT);
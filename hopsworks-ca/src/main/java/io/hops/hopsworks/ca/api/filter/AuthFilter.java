@@ -79,6 +79,11 @@ public class AuthFilter extends JWTFilter {
     return !jwtController.isTokenInvalidated(jwt);
   }
 
+  @Override
+  public DecodedJWT verifyToken(String token, DecodedJWT jwt, String issuer, int expLeeway) throws Exception {
+    return jwtController.verifySignature(token, issuer, expLeeway);
+  }
+
   @Override
   public boolean preJWTFilter(ContainerRequestContext requestContext) throws IOException {
     String authorizationHeader = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
@@ -81,11 +81,13 @@ import org.bouncycastle.asn1.x509.GeneralNames;
 import org.bouncycastle.asn1.x509.KeyUsage;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
 import org.bouncycastle.cert.CertIOException;
+import org.bouncycastle.cert.X509CRLEntryHolder;
 import org.bouncycastle.cert.X509CRLHolder;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cert.X509v2CRLBuilder;
 import org.bouncycastle.cert.X509v3CertificateBuilder;
 import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CRLHolder;
 import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
 import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
@@ -101,6 +103,7 @@ import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 import javax.annotation.PostConstruct;
 import javax.ejb.DependsOn;
 import javax.ejb.EJB;
+import javax.ejb.Schedule;
 import javax.ejb.Singleton;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -140,6 +143,8 @@ import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAmount;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -194,6 +199,10 @@ public class PKI {
   private CAsConfiguration conf;
   private static final Map<CAType, X500Name> CA_SUBJECT_NAME = new HashMap<>(3);
   private static final String CA_INIT_LOCK = "caInitLock";
+  private static final String CRL_UPDATE_LOCK = "caCrlUpdateLock";
+  // Serial numbers are reserved from the database in blocks instead of locking the counter for every certificate
+  private static final int SERIAL_NUMBER_BLOCK_SIZE = 100;
+  private final Map<CAType, SerialNumberBlock> serialNumberBlocks = new HashMap<>(3);
 
   static {
     X500NameBuilder rootNameBuilder = new X500NameBuilder(BCStrictStyle.INSTANCE);
@@ -240,14 +249,33 @@ public class PKI {
     }
   }
   
-  private FencedLock getLock() {
+  private FencedLock getLock(String name) {
     if (hazelcastInstance != null && hazelcastInstance.getCluster().getMembers().size() > 1) {
-      return hazelcastInstance.getCPSubsystem().getLock(CA_INIT_LOCK);
+      return hazelcastInstance.getCPSubsystem().getLock(name);
     } else {
       return null;
     }
   }
 
+  /**
+   * Serialize read-modify-write cycles of the CRL across the cluster
+   *
+   * @return the acquired lock, null if this is the only node
+   */
+  private FencedLock lockCRL() throws CRLException {
+    FencedLock lock = getLock(CRL_UPDATE_LOCK);
+    if (lock != null && !lock.tryLock(1, TimeUnit.MINUTES)) {
+      throw new CRLException("Timed out waiting for lock to update CRL");
+    }
+    return lock;
+  }
+
+  private void unlockCRL(FencedLock lock) {
+    if (lock != null) {
+      lock.unlock();
+    }
+  }
+
   public void configure() {
     conf = loadConfiguration();
     overrideCAX500Names(conf);
@@ -275,7 +303,7 @@ public class PKI {
 
   protected void maybeInitializeCA() throws GeneralSecurityException, IOException, OperatorCreationException {
     if (!CA_INITIALIZED.getAndSet(true)) {
-      FencedLock lock = getLock();
+      FencedLock lock = getLock(CA_INIT_LOCK);
       if(lock == null || lock.tryLock(3, TimeUnit.MINUTES)) {
         try {
           LOGGER.log(Level.INFO, "Initializing CAs");
@@ -1095,7 +1123,7 @@ public class PKI {
       }
     }
     LOGGER.log(Level.FINE, "CSR subject: " + csr.getSubject().toString());
-    Long serialNumber = serialNumberFacade.nextSerialNumber(caType);
+    Long serialNumber = nextSerialNumber(caType);
     Instant notBefore = Instant.now().minus(3, ChronoUnit.MINUTES);
     Instant notAfter = getCertificateNotAfter(certificateType, notBefore);
     JcaX509ExtensionUtils extUtils = new JcaX509ExtensionUtils();
@@ -1136,6 +1164,19 @@ public class PKI {
     return signedCertificate;
   }
 
+  /**
+   * Next serial number from the block reserved by this node, reserving a new block when it is exhausted
+   */
+  protected Long nextSerialNumber(CAType type) {
+    SerialNumberBlock block = serialNumberBlocks.get(type);
+    if (block == null || block.isExhausted()) {
+      Long first = serialNumberFacade.reserveSerialNumbers(type, SERIAL_NUMBER_BLOCK_SIZE);
+      block = new SerialNumberBlock(first, SERIAL_NUMBER_BLOCK_SIZE);
+      serialNumberBlocks.put(type, block);
+    }
+    return block.next();
+  }
+
   private Instant getCertificateNotAfter(CertificateType certificateType, Instant notBefore) {
     TemporalAmount validity = pkiUtils.getValidityPeriod(certificateType);
     return notBefore.plus(validity);
@@ -1222,19 +1263,17 @@ public class PKI {
           + " to revoke");
     }
     PKICertificate pkiCert = maybeCert.get();
-    LOGGER.log(Level.FINE, "Deleted certificate " + certificateName + " from database");
-    byte[] encoded = pkiCert.getCertificate();
-    X509Certificate certificate;
-    try {
-      certificate = converter.getCertificate(parseToX509CertificateHolder(encoded));
-    } catch (IOException ex) {
-      throw new CertificateException("Failed to decode certificate from CA database", ex);
-    }
+    X509Certificate certificate = decodeCertificate(pkiCert);
 
     if (!shouldCertificateTypeSkipCRL(certificateType)) {
       CAType caType = pkiUtils.getResponsibleCA(certificateType);
-      X509CRL newCRL = addRevocationToCRL(caType, certificate);
-      updateCRL(caType, newCRL);
+      FencedLock lock = lockCRL();
+      try {
+        X509CRL newCRL = addRevocationToCRL(caType, certificate);
+        updateCRL(caType, newCRL);
+      } finally {
+        unlockCRL(lock);
+      }
       LOGGER.log(Level.FINE, "Updated CRL");
     } else {
       if (certificate != null) {
@@ -1251,6 +1290,67 @@ public class PKI {
     }
   }
 
+  /**
+   * Revoke many certificates of the same type with a single update of the CRL. Certificates which do not exist are
+   * skipped and reported with a {@link CertificateNotFoundException} once all others have been revoked.
+   *
+   * @param certificateNames
+   * @param certificateType
+   */
+  public void revokeCertificates(Collection<X500Name> certificateNames, CertificateType certificateType)
+      throws CAInitializationException, CertificateException, KeyException, CRLException {
+    try {
+      maybeInitializeCA();
+    } catch (Exception ex) {
+      LOGGER.log(Level.SEVERE, "Failed to initialize CA", ex);
+      throw new CAInitializationException(ex);
+    }
+    LOGGER.log(Level.INFO, "Revoking " + certificateNames.size() + " certificates of type " + certificateType);
+    List<PKICertificate> pkiCerts = new ArrayList<>(certificateNames.size());
+    List<X509Certificate> certificates = new ArrayList<>(certificateNames.size());
+    List<String> notFound = new ArrayList<>();
+    for (X500Name certificateName : certificateNames) {
+      Optional<PKICertificate> maybeCert = pkiCertificateFacade.findById(
+          new PKICertificateId(PKICertificate.Status.VALID, certificateName.toString()));
+      if (!maybeCert.isPresent()) {
+        notFound.add(certificateName.toString());
+        continue;
+      }
+      pkiCerts.add(maybeCert.get());
+      certificates.add(decodeCertificate(maybeCert.get()));
+    }
+
+    if (!certificates.isEmpty() && !shouldCertificateTypeSkipCRL(certificateType)) {
+      CAType caType = pkiUtils.getResponsibleCA(certificateType);
+      FencedLock lock = lockCRL();
+      try {
+        X509CRL newCRL = addRevocationsToCRL(caType, certificates);
+        updateCRL(caType, newCRL);
+      } finally {
+        unlockCRL(lock);
+      }
+      LOGGER.log(Level.FINE, "Updated CRL with " + certificates.size() + " revocations");
+    }
+
+    for (PKICertificate pkiCert : pkiCerts) {
+      updateRevokedCertificate(pkiCert);
+    }
+    if (!pkiCerts.isEmpty()) {
+      LOGGER.log(Level.INFO, "Revoked " + pkiCerts.size() + " certificates of type " + certificateType);
+    }
+    if (!notFound.isEmpty()) {
+      throw new CertificateNotFoundException("Could not find certificates with Names " + notFound + " to revoke");
+    }
+  }
+
+  private X509Certificate decodeCertificate(PKICertificate pkiCert) throws CertificateException {
+    try {
+      return converter.getCertificate(parseToX509CertificateHolder(pkiCert.getCertificate()));
+    } catch (IOException ex) {
+      throw new CertificateException("Failed to decode certificate from CA database", ex);
+    }
+  }
+
   protected boolean shouldCertificateTypeSkipCRL(CertificateType certificateType) {
     return certificateType.equals(CertificateType.APP);
   }
@@ -1294,6 +1394,14 @@ public class PKI {
 
   protected X509CRL addRevocationToCRL(CAType caType, X509Certificate certificate)
       throws CRLException, KeyException {
+    return addRevocationsToCRL(caType, Collections.singletonList(certificate));
+  }
+
+  /**
+   * Add all certificates to the CRL of the CA and sign it once
+   */
+  protected X509CRL addRevocationsToCRL(CAType caType, Collection<X509Certificate> certificates)
+      throws CRLException, KeyException {
     try {
       X509CRL crl = loadCRL(caType);
       KeyPair keyPair = getCAKeyPair(caType);
@@ -1302,7 +1410,11 @@ public class PKI {
       ExtensionsGenerator extGen = new ExtensionsGenerator();
 
       extGen.addExtension(Extension.reasonCode, false, REVOCATION_REASON);
-      builder.addCRLEntry(certificate.getSerialNumber(), new Date(), extGen.generate());
+      Extensions entryExtensions = extGen.generate();
+      Date revocationDate = new Date();
+      for (X509Certificate certificate : certificates) {
+        builder.addCRLEntry(certificate.getSerialNumber(), revocationDate, entryExtensions);
+      }
 
       ContentSigner signer = new JcaContentSignerBuilder(SIGNATURE_ALGORITHM)
           .setProvider(new BouncyCastleProvider()).build(keyPair.getPrivate());
@@ -1312,6 +1424,72 @@ public class PKI {
     }
   }
 
+  /**
+   * Re-issue the CRLs every day, so they are renewed before their next update even if no certificate was revoked,
+   * and drop the entries of revoked certificates which have expired in the meantime.
+   */
+  @Schedule(persistent = false,
+      minute = "17",
+      hour = "3",
+      info = "CRL consolidation")
+  public void consolidateCRLs() {
+    try {
+      maybeInitializeCA();
+    } catch (Exception ex) {
+      LOGGER.log(Level.WARNING, "Failed to initialize CA, skip CRL consolidation", ex);
+      return;
+    }
+    for (CAType type : new ArrayList<>(caCertificates.keySet())) {
+      try {
+        FencedLock lock = lockCRL();
+        try {
+          List<Long> expired = pkiCertificateFacade.findSerialNumbersByStatusAndCAExpiredBefore(
+              PKICertificate.Status.REVOKED, type, new Date());
+          updateCRL(type, consolidateCRL(type, new HashSet<>(expired)));
+        } finally {
+          unlockCRL(lock);
+        }
+      } catch (Exception ex) {
+        LOGGER.log(Level.WARNING, "Failed to consolidate CRL of " + type, ex);
+      }
+    }
+  }
+
+  /**
+   * Build a freshly signed CRL with the entries of the current one, except those with the given serial numbers
+   *
+   * @param caType
+   * @param expired serial numbers of expired certificates
+   */
+  protected X509CRL consolidateCRL(CAType caType, Set<Long> expired) throws CRLException, KeyException {
+    try {
+      X509CRLHolder crl = new JcaX509CRLHolder(loadCRL(caType));
+      KeyPair keyPair = getCAKeyPair(caType);
+      X509Certificate certificate = getCACertificate(caType);
+      Instant now = Instant.now();
+      X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(certificate, Date.from(now));
+      builder.setNextUpdate(Date.from(now.plus(1, ChronoUnit.DAYS)));
+      builder.addExtension(Extension.authorityKeyIdentifier, false,
+          new JcaX509ExtensionUtils().createAuthorityKeyIdentifier(certificate));
+      int dropped = 0;
+      for (Object o : crl.getRevokedCertificates()) {
+        X509CRLEntryHolder entry = (X509CRLEntryHolder) o;
+        if (expired.contains(entry.getSerialNumber().longValue())) {
+          dropped++;
+          continue;
+        }
+        builder.addCRLEntry(entry.getSerialNumber(), entry.getRevocationDate(), entry.getExtensions());
+      }
+      ContentSigner signer = new JcaContentSignerBuilder(SIGNATURE_ALGORITHM)
+          .setProvider(new BouncyCastleProvider()).build(keyPair.getPrivate());
+      X509CRL consolidated = crlConverter.getCRL(builder.build(signer));
+      LOGGER.log(Level.INFO, "Consolidated CRL of " + caType + ", dropped " + dropped + " expired entries");
+      return consolidated;
+    } catch (OperatorCreationException | IOException | GeneralSecurityException ex) {
+      throw new CRLException(ex);
+    }
+  }
+
   public X509Certificate loadCertificate(String name, PKICertificate.Status status)
       throws CertificateNotFoundException, CertificateException {
     Optional<PKICertificate> maybeCertificate = pkiCertificateFacade.findBySubjectAndStatus(name, status);
@@ -1339,6 +1517,24 @@ public class PKI {
     }
   };
 
+  private static final class SerialNumberBlock {
+    private long next;
+    private final long end;
+
+    private SerialNumberBlock(long first, int size) {
+      this.next = first;
+      this.end = first + size;
+    }
+
+    private boolean isExhausted() {
+      return next >= end;
+    }
+
+    private long next() {
+      return next++;
+    }
+  }
+
   public static class CertificateValidityPeriod {
     private final Instant notBefore;
     private final Instant notAfter;
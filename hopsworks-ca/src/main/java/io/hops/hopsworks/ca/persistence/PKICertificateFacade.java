@@ -15,6 +15,7 @@
  */
 package io.hops.hopsworks.ca.persistence;
 
+import io.hops.hopsworks.persistence.entity.pki.CAType;
 import io.hops.hopsworks.persistence.entity.pki.PKICertificate;
 import io.hops.hopsworks.persistence.entity.pki.PKICertificateId;
 
@@ -22,6 +23,7 @@ import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,6 +57,18 @@ public class PKICertificateFacade {
         .getResultList();
   }
 
+  /**
+   * @return serial numbers of certificates issued by ca with status which expired before date
+   */
+  public List<Long> findSerialNumbersByStatusAndCAExpiredBefore(PKICertificate.Status status, CAType ca,
+      Date date) {
+    return em.createNamedQuery("PKICertificate.findSerialNumberByStatusAndCAExpiredBefore", Long.class)
+        .setParameter("status", status)
+        .setParameter("ca", ca)
+        .setParameter("date", date)
+        .getResultList();
+  }
+
   public void saveCertificate(PKICertificate certificate) {
     em.persist(certificate);
   }
@@ -22,6 +22,7 @@ import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
@@ -71,4 +72,23 @@ public class SerialNumberFacade {
     em.merge(sn);
     return current;
   }
+
+  /**
+   * Reserve a block of consecutive serial numbers with a single update of the counter
+   *
+   * @param type
+   * @param count number of serial numbers to reserve
+   * @return first serial number of the block
+   */
+  public Long reserveSerialNumbers(CAType type, int count) {
+    SerialNumber sn = em.createNamedQuery("SerialNumber.forCAType", SerialNumber.class)
+        .setParameter("type", type)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getSingleResult();
+    Long first = sn.getNumber();
+    sn.setNumber(first + count);
+    LOGGER.log(Level.FINE, "Reserved serial numbers " + first + " to " + (sn.getNumber() - 1) + " for CA " + type);
+    em.merge(sn);
+    return first;
+  }
 }
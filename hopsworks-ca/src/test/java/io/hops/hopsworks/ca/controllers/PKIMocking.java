@@ -69,6 +69,17 @@ public class PKIMocking {
             return current;
           }
         });
+    Mockito.when(serialNumberFacade.reserveSerialNumbers(Mockito.any(), Mockito.anyInt()))
+        .thenAnswer(new Answer<Long>() {
+          @Override
+          public Long answer(InvocationOnMock invocationOnMock) throws Throwable {
+            CAType caType = (CAType) invocationOnMock.getArgument(0);
+            int count = (Integer) invocationOnMock.getArgument(1);
+            Long current = CA_SERIAL_NUMBERS.get(caType);
+            CA_SERIAL_NUMBERS.put(caType, current + count);
+            return current + 1;
+          }
+        });
     Mockito.when(serialNumberFacade.isInitialized(Mockito.any())).thenReturn(true);
     pki.setSerialNumberFacade(serialNumberFacade);
 
@@ -40,6 +40,8 @@ import java.security.cert.X509Certificate;
 import java.sql.Date;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import static io.hops.hopsworks.ca.controllers.PKI.EMPTY_CONFIGURATION;
@@ -108,6 +110,81 @@ public class TestCertificateRevocation extends PKIMocking {
     Assert.assertEquals(CRLReason.PRIVILEGE_WITHDRAWN.toString(), crlEntry.getRevocationReason().toString());
   }
 
+  @Test
+  public void testAddRevocationsToCRL() throws Exception {
+    setupBasicPKI();
+    Mockito.doReturn(EMPTY_CONFIGURATION).when(pki).loadConfiguration();
+    pki.init();
+    pki.initializeCertificateAuthorities();
+    Mockito.doNothing().when(pki).maybeInitializeCA();
+    Mockito.verify(pki).initCRL(Mockito.eq(CAType.ROOT), crlCaptor.capture());
+    Mockito.doReturn(crlCaptor.getValue()).when(pki).loadCRL(Mockito.eq(CAType.ROOT));
+
+    X509Certificate intermediateCertificate = pki.getCaCertificates().get(CAType.INTERMEDIATE);
+    X509Certificate kubeCertificate = pki.getCaCertificates().get(CAType.KUBECA);
+    X509CRL updatedCRL = pki.addRevocationsToCRL(CAType.ROOT,
+        Arrays.asList(intermediateCertificate, kubeCertificate));
+
+    Assert.assertEquals(2, updatedCRL.getRevokedCertificates().size());
+    Assert.assertNotNull(updatedCRL.getRevokedCertificate(intermediateCertificate));
+    Assert.assertNotNull(updatedCRL.getRevokedCertificate(kubeCertificate));
+    updatedCRL.verify(pki.getCaCertificates().get(CAType.ROOT).getPublicKey());
+  }
+
+  @Test
+  public void testConsolidateCRL() throws Exception {
+    setupBasicPKI();
+    Mockito.doReturn(EMPTY_CONFIGURATION).when(pki).loadConfiguration();
+    pki.init();
+    pki.initializeCertificateAuthorities();
+    Mockito.doNothing().when(pki).maybeInitializeCA();
+    Mockito.verify(pki).initCRL(Mockito.eq(CAType.ROOT), crlCaptor.capture());
+    Mockito.doReturn(crlCaptor.getValue()).when(pki).loadCRL(Mockito.eq(CAType.ROOT));
+
+    X509Certificate intermediateCertificate = pki.getCaCertificates().get(CAType.INTERMEDIATE);
+    X509Certificate kubeCertificate = pki.getCaCertificates().get(CAType.KUBECA);
+    X509CRL crl = pki.addRevocationsToCRL(CAType.ROOT, Arrays.asList(intermediateCertificate, kubeCertificate));
+    Mockito.doReturn(crl).when(pki).loadCRL(Mockito.eq(CAType.ROOT));
+
+    X509CRL consolidated = pki.consolidateCRL(CAType.ROOT,
+        Collections.singleton(kubeCertificate.getSerialNumber().longValue()));
+    Assert.assertEquals(1, consolidated.getRevokedCertificates().size());
+    X509CRLEntry crlEntry = consolidated.getRevokedCertificate(intermediateCertificate);
+    Assert.assertNotNull(crlEntry);
+    Assert.assertEquals(CRLReason.PRIVILEGE_WITHDRAWN.toString(), crlEntry.getRevocationReason().toString());
+    Assert.assertNull(consolidated.getRevokedCertificate(kubeCertificate));
+    Assert.assertFalse(consolidated.getThisUpdate().before(crl.getThisUpdate()));
+    consolidated.verify(pki.getCaCertificates().get(CAType.ROOT).getPublicKey());
+  }
+
+  @Test
+  public void testRevokeCertificatesUpdatesCRLOnce() throws Exception {
+    setupBasicPKI();
+    Mockito.doReturn(EMPTY_CONFIGURATION).when(pki).loadConfiguration();
+    pki.init();
+    pki.initializeCertificateAuthorities();
+    Mockito.doNothing().when(pki).maybeInitializeCA();
+
+    X509Certificate intermediateCertificate = pki.getCaCertificates().get(CAType.INTERMEDIATE);
+    PKICertificate pkiCertificate = new PKICertificate(
+        new PKICertificateId(PKICertificate.Status.VALID, "CN=hello"),
+        CAType.INTERMEDIATE,
+        intermediateCertificate.getSerialNumber().longValue(),
+        intermediateCertificate.getEncoded(),
+        intermediateCertificate.getNotBefore(),
+        intermediateCertificate.getNotAfter());
+    Mockito.when(pkiCertificateFacade.findById(Mockito.any())).thenReturn(Optional.of(pkiCertificate));
+    Mockito.doReturn(null).when(pki).addRevocationsToCRL(Mockito.any(), Mockito.any());
+    Mockito.doNothing().when(pki).updateCRL(Mockito.any(), Mockito.any());
+    Mockito.doNothing().when(pki).updateRevokedCertificate(Mockito.any());
+
+    pki.revokeCertificates(Arrays.asList(new X500Name("CN=hello"), new X500Name("CN=world")),
+        CertificateType.PROJECT);
+    Mockito.verify(pki).addRevocationsToCRL(Mockito.any(), Mockito.any());
+    Mockito.verify(pki).updateCRL(Mockito.any(), Mockito.any());
+    Mockito.verify(pki, Mockito.times(2)).updateRevokedCertificate(Mockito.any());
+  }
+
   @Test
   public void testRevokeCertificateDoesNotExist() throws Exception {
     setupBasicPKI();
@@ -76,6 +76,8 @@ public class AlertController {
   private AlertManagerConfiguration alertManagerConfiguration;
   @EJB
   private AlertReceiverFacade alertReceiverFacade;
+  @EJB
+  private AlertDispatcher alertDispatcher;
 
   /**
    * Send job alert
@@ -167,7 +169,7 @@ public class AlertController {
 
   public void sendFgAlert(List<PostableAlert> postableAlerts, Project project, String name) {
     try {
-      sendAlert(postableAlerts, project);
+      alertDispatcher.dispatch(postableAlerts, project);
     } catch (Exception e) {
       LOGGER.log(java.util.logging.Level.WARNING, "Failed to send alert. Featuregroup={0}. Exception: {1}",
         new Object[] {name, e.getMessage()});
@@ -176,9 +178,7 @@ public class AlertController {
   
   public void sendFeatureMonitorAlert(List<PostableAlert> postableAlerts, Project project, String name) {
     try {
-      if (!postableAlerts.isEmpty()) {
-        sendAlert(postableAlerts, project);
-      }
+      alertDispatcher.dispatch(postableAlerts, project);
     } catch (Exception e) {
       LOGGER.log(java.util.logging.Level.WARNING, "Failed to send alert. Feature Monitoring Config={0}. Exception: {1}",
         new Object[]{name, e.getMessage()});
@@ -187,7 +187,7 @@ public class AlertController {
 
   private void sendJobAlert(List<PostableAlert> postableAlerts, Project project, String name, Integer id) {
     try {
-      sendAlert(postableAlerts, project);
+      alertDispatcher.dispatch(postableAlerts, project);
     } catch (Exception e) {
       LOGGER.log(Level.WARNING,
           "Failed to send alert. Job={0} executionId={1}. Exception: {2}", new Object[] {name, id, e.getMessage()});
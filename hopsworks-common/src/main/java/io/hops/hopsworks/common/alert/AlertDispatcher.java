@@ -0,0 +1,181 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.alert;
+
+import io.hops.hopsworks.alert.AMClient;
+import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
+import io.hops.hopsworks.alert.exception.AlertManagerUnreachableException;
+import io.hops.hopsworks.alerting.api.alert.dto.PostableAlert;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerClientCreateException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerResponseException;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.project.Project;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Posts feature store, feature monitoring and job alerts to Alertmanager in the background, so that the request or
+ * timer raising them does not wait for Alertmanager. Alerts are queued in memory, deduplicated by label set and posted
+ * in batches every second. While Alertmanager is unreachable alerts stay queued and posting is retried with an
+ * exponential backoff.
+ */
+@Singleton
+@Startup
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class AlertDispatcher {
+  private static final Logger LOGGER = Logger.getLogger(AlertDispatcher.class.getName());
+  private static final long TICK_INTERVAL_MS = 1000L;
+  private static final long INITIAL_BACKOFF_MS = 1000L;
+
+  @EJB
+  private AMClient alertManager;
+  @EJB
+  private Settings settings;
+  @Resource
+  private TimerService timerService;
+  private Timer timer;
+
+  private AlertQueue<PostableAlert> queue;
+  private int batchSize;
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  @PostConstruct
+  public void init() {
+    batchSize = settings.getAlertDispatchBatchSize();
+    queue = new AlertQueue<>(settings.getAlertDispatchQueueSize(), settings.getAlertDispatchDedupWindowMs(),
+      INITIAL_BACKOFF_MS, settings.getAlertDispatchMaxBackoffMs(), alert -> new HashMap<>(alert.getLabels()));
+    timer = timerService.createIntervalTimer(TICK_INTERVAL_MS, TICK_INTERVAL_MS,
+      new TimerConfig("Alert dispatcher", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (timer != null) {
+      timer.cancel();
+    }
+    if (queue != null && queue.size() > 0) {
+      LOGGER.log(Level.WARNING, "Discarding {0} alerts which have not been posted to Alertmanager", queue.size());
+    }
+  }
+
+  /**
+   * Queue alerts of a project to be posted to Alertmanager
+   *
+   * @param postableAlerts
+   * @param project
+   * @throws AlertManagerAccessControlException if the project is not allowed to create one of the alerts, in which
+   * case none of them is queued
+   */
+  public void dispatch(List<PostableAlert> postableAlerts, Project project) throws AlertManagerAccessControlException {
+    if (postableAlerts.isEmpty()) {
+      return;
+    }
+    alertManager.checkProjectAlerts(postableAlerts, project);
+    long now = System.currentTimeMillis();
+    for (PostableAlert postableAlert : postableAlerts) {
+      if (queue.offer(postableAlert, now) == AlertQueue.Offer.DROPPED) {
+        LOGGER.log(Level.WARNING, "Alert queue is full, dropping alert {0}", postableAlert.getLabels());
+      }
+    }
+  }
+
+  @Timeout
+  public void tick() {
+    // posting can take longer than a tick while Alertmanager is slow
+    if (!draining.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      drain();
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error posting alerts to Alertmanager", e);
+    } finally {
+      draining.set(false);
+    }
+  }
+
+  private void drain() {
+    List<PostableAlert> batch;
+    while (!(batch = queue.poll(batchSize, System.currentTimeMillis())).isEmpty()) {
+      try {
+        alertManager.postAlerts(batch);
+        queue.sent(batch, System.currentTimeMillis());
+      } catch (AlertManagerUnreachableException | AlertManagerClientCreateException e) {
+        queue.failed(batch, System.currentTimeMillis());
+        LOGGER.log(Level.WARNING, "Failed to post {0} alerts, retrying in {1} ms. Exception: {2}",
+          new Object[]{batch.size(), queue.getBackoffMs(), e.getMessage()});
+        return;
+      } catch (AlertManagerResponseException | RuntimeException e) {
+        queue.discard(batch);
+        LOGGER.log(Level.WARNING, "Alertmanager rejected " + batch.size() + " alerts", e);
+      }
+    }
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public long getQueued() {
+    return queue.getQueued();
+  }
+
+  public long getDuplicates() {
+    return queue.getDuplicates();
+  }
+
+  public long getDropped() {
+    return queue.getDropped();
+  }
+
+  public long getSent() {
+    return queue.getSent();
+  }
+
+  public long getFailedBatches() {
+    return queue.getFailedBatches();
+  }
+
+  public int getLastBatchSize() {
+    return queue.getLastBatchSize();
+  }
+
+  public int getMaxBatchSize() {
+    return queue.getMaxBatchSize();
+  }
+}
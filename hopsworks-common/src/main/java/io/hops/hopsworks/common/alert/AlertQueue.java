@@ -0,0 +1,208 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.alert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded queue of alerts waiting to be posted to Alertmanager.
+ *
+ * Alerts are identified by a key, their label set. An alert whose key is already queued replaces the queued alert in
+ * place, and an alert whose key has been posted within the deduplication window is dropped, Alertmanager would merge
+ * it into the alert it already holds anyway. Failed batches are put back in front of the queue and polling is paused
+ * with an exponential backoff until a batch is posted successfully.
+ *
+ * @param <T> alert type
+ */
+class AlertQueue<T> {
+
+  enum Offer {
+    QUEUED,
+    REPLACED,
+    DUPLICATE,
+    DROPPED
+  }
+
+  private final int capacity;
+  private final long dedupWindowMs;
+  private final long initialBackoffMs;
+  private final long maxBackoffMs;
+  private final Function<T, Object> key;
+
+  private final LinkedHashMap<Object, T> pending = new LinkedHashMap<>();
+  // Keys of posted alerts in the order they were posted
+  private final LinkedHashMap<Object, Long> posted = new LinkedHashMap<>();
+  private long backoffMs = 0;
+  private long nextAttempt = 0;
+
+  private long queued = 0;
+  private long duplicates = 0;
+  private long dropped = 0;
+  private long sent = 0;
+  private long failedBatches = 0;
+  private int lastBatchSize = 0;
+  private int maxBatchSize = 0;
+
+  AlertQueue(int capacity, long dedupWindowMs, long initialBackoffMs, long maxBackoffMs, Function<T, Object> key) {
+    this.capacity = capacity;
+    this.dedupWindowMs = dedupWindowMs;
+    this.initialBackoffMs = initialBackoffMs;
+    this.maxBackoffMs = Math.max(initialBackoffMs, maxBackoffMs);
+    this.key = key;
+  }
+
+  synchronized Offer offer(T alert, long now) {
+    Object alertKey = key.apply(alert);
+    if (pending.containsKey(alertKey)) {
+      // keep the position in the queue but send the most recent annotations
+      pending.put(alertKey, alert);
+      duplicates++;
+      return Offer.REPLACED;
+    }
+    expirePosted(now);
+    if (posted.containsKey(alertKey)) {
+      duplicates++;
+      return Offer.DUPLICATE;
+    }
+    if (pending.size() >= capacity) {
+      dropped++;
+      return Offer.DROPPED;
+    }
+    pending.put(alertKey, alert);
+    queued++;
+    return Offer.QUEUED;
+  }
+
+  /**
+   * Remove and return the oldest alerts
+   *
+   * @param maxBatch maximum number of alerts to return
+   * @param now
+   * @return up to maxBatch alerts, empty if the queue is empty or backing off after a failure
+   */
+  synchronized List<T> poll(int maxBatch, long now) {
+    if (pending.isEmpty() || now < nextAttempt) {
+      return Collections.emptyList();
+    }
+    List<T> batch = new ArrayList<>(Math.min(maxBatch, pending.size()));
+    Iterator<T> iterator = pending.values().iterator();
+    while (iterator.hasNext() && batch.size() < maxBatch) {
+      batch.add(iterator.next());
+      iterator.remove();
+    }
+    return batch;
+  }
+
+  /**
+   * The batch has been accepted by Alertmanager
+   */
+  synchronized void sent(List<T> batch, long now) {
+    backoffMs = 0;
+    nextAttempt = 0;
+    for (T alert : batch) {
+      Object alertKey = key.apply(alert);
+      // re-insert to move the key to the end of the posted order
+      posted.remove(alertKey);
+      posted.put(alertKey, now);
+    }
+    sent += batch.size();
+    lastBatchSize = batch.size();
+    maxBatchSize = Math.max(maxBatchSize, batch.size());
+  }
+
+  /**
+   * Alertmanager could not be reached, queue the batch again and back off
+   */
+  synchronized void failed(List<T> batch, long now) {
+    failedBatches++;
+    backoffMs = backoffMs == 0 ? initialBackoffMs : Math.min(backoffMs * 2, maxBackoffMs);
+    nextAttempt = now + backoffMs;
+    LinkedHashMap<Object, T> requeued = new LinkedHashMap<>();
+    for (T alert : batch) {
+      requeued.put(key.apply(alert), alert);
+    }
+    // alerts offered while the batch was in flight are more recent
+    requeued.putAll(pending);
+    pending.clear();
+    for (Map.Entry<Object, T> entry : requeued.entrySet()) {
+      if (pending.size() < capacity) {
+        pending.put(entry.getKey(), entry.getValue());
+      } else {
+        dropped++;
+      }
+    }
+  }
+
+  /**
+   * Alertmanager rejected the batch, retrying it would fail again
+   */
+  synchronized void discard(List<T> batch) {
+    dropped += batch.size();
+  }
+
+  private void expirePosted(long now) {
+    Iterator<Long> iterator = posted.values().iterator();
+    while (iterator.hasNext()) {
+      if (now - iterator.next() < dedupWindowMs) {
+        break;
+      }
+      iterator.remove();
+    }
+  }
+
+  synchronized int size() {
+    return pending.size();
+  }
+
+  synchronized long getBackoffMs() {
+    return backoffMs;
+  }
+
+  synchronized long getQueued() {
+    return queued;
+  }
+
+  synchronized long getDuplicates() {
+    return duplicates;
+  }
+
+  synchronized long getDropped() {
+    return dropped;
+  }
+
+  synchronized long getSent() {
+    return sent;
+  }
+
+  synchronized long getFailedBatches() {
+    return failedBatches;
+  }
+
+  synchronized int getLastBatchSize() {
+    return lastBatchSize;
+  }
+
+  synchronized int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+}
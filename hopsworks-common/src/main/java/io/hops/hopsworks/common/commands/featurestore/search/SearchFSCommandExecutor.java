@@ -33,6 +33,9 @@ import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommand;
 import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommandHistory;
 import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommandOp;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -49,7 +52,9 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.naming.InitialContext;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -297,32 +302,159 @@ public class SearchFSCommandExecutor {
   
   private Set<Long> processArtifacts(Set<Integer> excludeProjects, Set<Long> excludeDocs, int maxOngoing) {
     Set<Long> processing = new HashSet<>();
+    if (maxOngoing <= 0) {
+      return processing;
+    }
+    //oldest pending command per artifact
     List<SearchFSCommand> toProcess = commandFacade.findToProcess(excludeProjects, excludeDocs, maxOngoing);
-    for(SearchFSCommand command : toProcess) {
-      processArtifact(command, processFunction());
-      processing.add(getDocId(command));
+    if (toProcess.isEmpty()) {
+      return processing;
+    }
+    Map<Long, List<SearchFSCommand>> pending = commandFacade.findNewByDocs(
+      toProcess.stream().map(this::getDocId).collect(Collectors.toSet()))
+      .stream().collect(Collectors.groupingBy(this::getDocId, LinkedHashMap::new, Collectors.toList()));
+    List<CoalescedCommands> batch = new ArrayList<>();
+    for (SearchFSCommand command : toProcess) {
+      Long docId = getDocId(command);
+      batch.add(new CoalescedCommands(docId, coalescable(command, pending.get(docId))));
+      processing.add(docId);
       if (processing.size() >= maxOngoing) {
         break;
       }
     }
+    updateCommands(batch.stream().flatMap(b -> b.commands.stream()).collect(Collectors.toList()),
+      CommandStatus.ONGOING);
+    executorService.submit(() -> processBatch(batch));
     return processing;
   }
   
-  private void processArtifact(SearchFSCommand command, Function<SearchFSCommand, Try<Boolean>> execute) {
-    updateCommand(command, CommandStatus.ONGOING);
-    
-    executorService.submit(() -> {
-      Try<Boolean> result = execute.apply(command);
+  /**
+   * @param oldest oldest pending command of the document
+   * @param pending all pending commands of the document, oldest first
+   * @return the longest prefix of pending commands that can be applied as a single write request
+   */
+  private List<SearchFSCommand> coalescable(SearchFSCommand oldest, List<SearchFSCommand> pending) {
+    List<SearchFSCommand> commands = new ArrayList<>();
+    commands.add(oldest);
+    if (pending == null) {
+      return commands;
+    }
+    for (SearchFSCommand c : pending) {
+      if (c.getId().equals(oldest.getId())) {
+        continue;
+      }
+      if (c.getId() < oldest.getId() || !isUpdate(c)
+        || (c.getFeatureGroup() == null && c.getFeatureView() == null && c.getTrainingDataset() == null)) {
+        break;
+      }
+      commands.add(c);
+    }
+    return commands;
+  }
+  
+  private boolean isUpdate(SearchFSCommand c) {
+    return c.getOp() == SearchFSCommandOp.UPDATE_TAGS
+      || c.getOp() == SearchFSCommandOp.UPDATE_KEYWORDS
+      || c.getOp() == SearchFSCommandOp.UPDATE_METADATA;
+  }
+  
+  /**
+   * Build one write request per document and flush them to opensearch in bulk requests bounded by size and by the
+   * time spent building them. Results are applied per document and written to the database per bulk request.
+   */
+  private void processBatch(List<CoalescedCommands> batch) {
+    int bulkSize = settings.commandSearchFSBulkSize();
+    long maxDelay = settings.commandSearchFSBulkMaxDelay();
+    List<SearchFSCommand> succeeded = new ArrayList<>();
+    List<SearchFSCommand> failed = new ArrayList<>();
+    List<CoalescedCommands> inFlight = new ArrayList<>();
+    BulkRequest request = new BulkRequest();
+    long bulkStart = System.currentTimeMillis();
+    try {
+      for (CoalescedCommands docCommands : batch) {
+        SearchFSCommand first = docCommands.commands.get(0);
+        if (first.getProject() == null) {
+          LOGGER.log(Level.FINE, "project deleted - delaying command");
+          continue;
+        }
+        if (first.getFeatureGroup() == null && first.getFeatureView() == null && first.getTrainingDataset() == null) {
+          LOGGER.log(Level.FINE, "artifact deleted - delaying command");
+          continue;
+        }
+        try {
+          request.add(searchController.coalesce(docCommands.docId, docCommands.commands));
+          inFlight.add(docCommands);
+        } catch (Exception e) {
+          LOGGER.log(Level.INFO, "Doc:{0} failed with error:{1}", new Object[]{docCommands.docId, e.getMessage()});
+          docCommands.commands.forEach(c -> c.failWith(e.getMessage()));
+          failed.addAll(docCommands.commands);
+        }
+        if (request.numberOfActions() >= bulkSize || System.currentTimeMillis() - bulkStart >= maxDelay) {
+          flush(request, inFlight, succeeded, failed);
+          request = new BulkRequest();
+          inFlight.clear();
+          bulkStart = System.currentTimeMillis();
+        }
+      }
+      flush(request, inFlight, succeeded, failed);
+    } catch (Exception t) {
+      LOGGER.log(Level.INFO, "Command batch failed with error", t);
+      inFlight.forEach(docCommands -> docCommands.commands.forEach(c -> c.failWith(t.getMessage())));
+      inFlight.forEach(docCommands -> failed.addAll(docCommands.commands));
+      batchUpdate(succeeded, failed);
+    }
+  }
+  
+  private void flush(BulkRequest request, List<CoalescedCommands> inFlight, List<SearchFSCommand> succeeded,
+                     List<SearchFSCommand> failed) {
+    if (request.numberOfActions() > 0) {
       try {
-        if(result.checkedGet()) {
-          removeCommand(command, CommandStatus.SUCCESS);
+        BulkResponse response = searchController.bulk(request);
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < items.length; i++) {
+          List<SearchFSCommand> commands = inFlight.get(i).commands;
+          if (items[i].isFailed()) {
+            String msg = items[i].getFailureMessage();
+            LOGGER.log(Level.INFO, "Doc:{0} failed with error:{1}", new Object[]{inFlight.get(i).docId, msg});
+            commands.forEach(c -> c.failWith(msg));
+            failed.addAll(commands);
+          } else {
+            succeeded.addAll(commands);
+          }
         }
-      } catch (Throwable t) {
-        LOGGER.log(Level.INFO, "Command:{0} failed with error:{1}",
-          new Object[]{command, t.getStackTrace()});
-        failCommand(command, t.getMessage());
+      } catch (OpenSearchException e) {
+        String errMsg = "command failed due to opensearch error";
+        LOGGER.log(Level.INFO, errMsg, e);
+        inFlight.forEach(docCommands -> docCommands.commands.forEach(c -> c.failWith(errMsg)));
+        inFlight.forEach(docCommands -> failed.addAll(docCommands.commands));
       }
-    });
+    }
+    inFlight.clear();
+    batchUpdate(succeeded, failed);
+  }
+  
+  private void batchUpdate(List<SearchFSCommand> succeeded, List<SearchFSCommand> failed) {
+    if (!succeeded.isEmpty()) {
+      commandFacade.removeAllById(succeeded.stream().map(Command::getId).collect(Collectors.toList()));
+      succeeded.forEach(c -> c.setStatus(CommandStatus.SUCCESS));
+      saveHistory(succeeded);
+      succeeded.clear();
+    }
+    if (!failed.isEmpty()) {
+      commandFacade.updateAll(failed);
+      saveHistory(failed);
+      failed.clear();
+    }
+  }
+  
+  private static class CoalescedCommands {
+    private final Long docId;
+    private final List<SearchFSCommand> commands;
+    
+    CoalescedCommands(Long docId, List<SearchFSCommand> commands) {
+      this.docId = docId;
+      this.commands = commands;
+    }
   }
   
   private QueryParam queryByStatus(CommandStatus status) {
@@ -365,6 +497,12 @@ public class SearchFSCommandExecutor {
     saveHistory(command);
   }
   
+  private void updateCommands(List<SearchFSCommand> commands, CommandStatus status) {
+    commands.forEach(c -> c.setStatus(status));
+    commandFacade.updateAll(commands);
+    saveHistory(commands);
+  }
+  
   private void removeCommand(SearchFSCommand command, CommandStatus status) {
     commandFacade.removeById(command.getId());
     command.setStatus(status);
@@ -383,6 +521,13 @@ public class SearchFSCommandExecutor {
     }
   }
   
+  private void saveHistory(List<SearchFSCommand> commands) {
+    if(settings.commandSearchFSHistoryEnabled()) {
+      commandHistoryFacade.persistAllAndFlush(commands.stream().map(this::getHistoryStep)
+        .collect(Collectors.toList()));
+    }
+  }
+  
   private boolean shouldRetry(SearchFSCommand command) {
     if(settings.commandSearchFSHistoryEnabled()) {
       return commandHistoryFacade.countRetries(command.getId()) < settings.commandRetryPerCleanInterval();
@@ -41,12 +41,16 @@ import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.exceptions.OpenSearchException;
 import io.hops.hopsworks.exceptions.ServiceException;
 import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommand;
+import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommandOp;
 import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
 import io.hops.hopsworks.persistence.entity.featurestore.featureview.FeatureView;
 import io.hops.hopsworks.persistence.entity.featurestore.metadata.FeatureStoreTag;
 import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDatasetFeature;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.update.UpdateRequest;
@@ -63,6 +67,7 @@ import javax.inject.Inject;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -128,6 +133,87 @@ public class SearchFSOpenSearchController {
     opensearchClient.updateDoc(request);
   }
   
+  /**
+   * Coalesce pending commands of a single document into one write request. A CREATE replaces the whole document, so
+   * it is only accepted as the first command, following updates are folded into the indexed document. Updates read
+   * the current state of the artifact, so each update op is applied once regardless of how often it was requested.
+   *
+   * @param docId document id
+   * @param commands CREATE and UPDATE_* commands of the document, ordered by id
+   * @return an index request if the first command is a CREATE, a partial update request otherwise
+   */
+  public DocWriteRequest<?> coalesce(Long docId, List<SearchFSCommand> commands) throws CommandException {
+    if (commands.isEmpty()) {
+      throw new IllegalArgumentException("no commands to coalesce for doc:" + docId);
+    }
+    SearchDoc doc = null;
+    boolean create = false;
+    Map<SearchFSCommandOp, SearchFSCommand> updates = new EnumMap<>(SearchFSCommandOp.class);
+    for (int i = 0; i < commands.size(); i++) {
+      SearchFSCommand c = commands.get(i);
+      if (c.getOp() == SearchFSCommandOp.CREATE) {
+        if (i > 0) {
+          throw new IllegalArgumentException("create can only be coalesced as the first command of doc:" + docId);
+        }
+        doc = create(c);
+        create = true;
+      } else {
+        //keep the most recent command per op
+        updates.put(c.getOp(), c);
+      }
+    }
+    if (doc == null) {
+      doc = new SearchDoc();
+    }
+    for (Map.Entry<SearchFSCommandOp, SearchFSCommand> update : updates.entrySet()) {
+      SearchDoc updateDoc;
+      switch (update.getKey()) {
+        case UPDATE_TAGS:
+          updateDoc = updateTags(update.getValue());
+          break;
+        case UPDATE_KEYWORDS:
+          updateDoc = updateKeywords(update.getValue());
+          break;
+        case UPDATE_METADATA:
+          updateDoc = updateMetadata(update.getValue());
+          break;
+        default:
+          throw new CommandException(RESTCodes.CommandErrorCode.NOT_IMPLEMENTED, Level.WARNING,
+            "unhandled command op:" + update.getKey());
+      }
+      mergeXAttr(doc, updateDoc);
+    }
+    if (create) {
+      return new IndexRequest().index(Settings.FEATURESTORE_INDEX).id(String.valueOf(docId))
+        .source(docBuilder(doc));
+    } else {
+      return new UpdateRequest().index(Settings.FEATURESTORE_INDEX).id(String.valueOf(docId))
+        .doc(docBuilder(doc));
+    }
+  }
+  
+  public BulkResponse bulk(BulkRequest request) throws OpenSearchException {
+    return opensearchClient.bulkUpdateDoc(request);
+  }
+  
+  private void mergeXAttr(SearchDoc into, SearchDoc from) {
+    if (from.getXattr() == null) {
+      return;
+    }
+    if (into.getXattr() == null) {
+      into.setXattr(new SearchDoc.XAttr());
+    }
+    if (from.getXattr().getFeaturestore() != null) {
+      into.getXattr().setFeaturestore(from.getXattr().getFeaturestore());
+    }
+    if (from.getXattr().getTags() != null) {
+      into.getXattr().setTags(from.getXattr().getTags());
+    }
+    if (from.getXattr().getKeywords() != null) {
+      into.getXattr().setKeywords(from.getXattr().getKeywords());
+    }
+  }
+  
   private SearchDoc updateMetadata(SearchFSCommand c) throws CommandException {
     SearchDoc doc =  new SearchDoc();
     SearchDoc.XAttr xattr = new SearchDoc.XAttr();
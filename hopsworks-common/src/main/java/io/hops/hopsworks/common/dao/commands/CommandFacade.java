@@ -27,6 +27,7 @@ import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -88,6 +89,24 @@ public abstract class CommandFacade<C extends Command> extends AbstractFacade<C>
     remove(findById(commandId));
   }
   
+  /**
+   * Merge all commands in a single transaction
+   */
+  public void updateAll(Collection<C> commands) {
+    commands.forEach(em::merge);
+    em.flush();
+  }
+  
+  public int removeAllById(Collection<Long> commandIds) {
+    if (commandIds.isEmpty()) {
+      return 0;
+    }
+    String queryStr = "DELETE FROM " + getTableName() + " c WHERE c.id IN :ids";
+    Query query = em.createQuery(queryStr);
+    query.setParameter("ids", commandIds);
+    return query.executeUpdate();
+  }
+  
   public void persistAndFlush(C command) {
     em.persist(command);
     em.flush();
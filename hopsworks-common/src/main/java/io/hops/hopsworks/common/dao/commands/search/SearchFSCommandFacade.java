@@ -28,6 +28,8 @@ import io.hops.hopsworks.restutils.RESTCodes;
 import javax.ejb.Stateless;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.function.UnaryOperator;
@@ -77,6 +79,22 @@ public class SearchFSCommandFacade extends CommandFacade<SearchFSCommand> {
     return q.getResultList();
   }
   
+  /**
+   * @param docIds
+   * @return all NEW commands of the given documents, oldest first
+   */
+  public List<SearchFSCommand> findNewByDocs(Collection<Long> docIds) {
+    if (docIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String queryStr = "SELECT c FROM " + getTableName() + " c"
+      + " WHERE c.status = :status AND c." + DOC_ID_FIELD + " IN :docs ORDER BY c.id";
+    TypedQuery<SearchFSCommand> query = em.createQuery(queryStr, entityClass);
+    query.setParameter("status", CommandStatus.NEW);
+    query.setParameter("docs", docIds);
+    return query.getResultList();
+  }
+  
   public List<SearchFSCommand> findToProcess(Set<Integer> excludeProjects, Set<Long> excludeDocs, int limit) {
     UnaryOperator<String> filterFoLive = tableName -> {
       String filter = "(";
@@ -24,6 +24,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -54,6 +56,12 @@ public class HdfsCommandExecutionFacade extends AbstractFacade<HdfsCommandExecut
     }
   }
 
+  public List<HdfsCommandExecution> findBySrcPaths(Collection<String> srcPaths) {
+    return entityManager.createNamedQuery("HdfsCommandExecution.findBySrcPaths", HdfsCommandExecution.class)
+      .setParameter("srcPaths", srcPaths)
+      .getResultList();
+  }
+
   public Optional<HdfsCommandExecution> findByExecution(Execution execution) {
     TypedQuery<HdfsCommandExecution>
       query = entityManager.createNamedQuery("HdfsCommandExecution.findByExecution", HdfsCommandExecution.class)
@@ -56,6 +56,8 @@ import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -158,6 +160,22 @@ public class ExecutionFacade extends AbstractFacade<Execution> {
     return q.getResultList();
   }
 
+  /**
+   * Check with a single query which of the jobs have an execution that is not in a final state.
+   *
+   * @param jobs
+   * @return ids of the jobs with at least one running execution
+   */
+  public Set<Integer> findJobIdsNotFinished(Collection<Jobs> jobs) {
+    if (jobs.isEmpty()) {
+      return new HashSet<>();
+    }
+    TypedQuery<Integer> q = em.createNamedQuery("Execution.findJobIdsByJobsAndStates", Integer.class);
+    q.setParameter("jobs", jobs);
+    q.setParameter("states", JobState.getRunningStates());
+    return new HashSet<>(q.getResultList());
+  }
+
   /**
    * Get all executions that are not in a final state.
    *
@@ -399,6 +417,29 @@ public class ExecutionFacade extends AbstractFacade<Execution> {
     return exec;
   }
 
+  /**
+   * Update state, final status and progress of many executions in a single transaction. Executions which do not
+   * exist anymore, because their job has been deleted, are skipped.
+   *
+   * @param updates
+   * @return updated executions
+   */
+  public List<Execution> updateStatus(List<ExecutionStatusUpdate> updates) {
+    List<Execution> updated = new ArrayList<>(updates.size());
+    for (ExecutionStatusUpdate update : updates) {
+      Execution exec = em.find(Execution.class, update.getExecutionId());
+      if (exec == null) {
+        continue;
+      }
+      exec.setState(update.getState());
+      exec.setFinalStatus(update.getFinalStatus());
+      exec.setProgress(update.getProgress());
+      updated.add(exec);
+    }
+    em.flush();
+    return updated;
+  }
+
   public Execution updateExecutionStart(Execution exec, long executionStart) {
     exec = getExecution(exec);
     exec.setExecutionStart(executionStart);
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.dao.jobhistory;
+
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalStatus;
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
+import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
+
+/**
+ * New state, final status and progress of an execution, applied with
+ * {@link ExecutionFacade#updateStatus(java.util.List)}
+ */
+public final class ExecutionStatusUpdate {
+  private final int executionId;
+  private final JobState state;
+  private final JobFinalStatus finalStatus;
+  private final float progress;
+  private final boolean finalStatusChanged;
+
+  public ExecutionStatusUpdate(Execution execution, JobState state, JobFinalStatus finalStatus, float progress) {
+    this.executionId = execution.getId();
+    this.state = state;
+    this.finalStatus = finalStatus;
+    this.progress = progress;
+    this.finalStatusChanged = execution.getFinalStatus() != finalStatus;
+  }
+
+  public int getExecutionId() {
+    return executionId;
+  }
+
+  public JobState getState() {
+    return state;
+  }
+
+  public JobFinalStatus getFinalStatus() {
+    return finalStatus;
+  }
+
+  public float getProgress() {
+    return progress;
+  }
+
+  /**
+   * @return true if the final status differs from the one of the execution the update was created for
+   */
+  public boolean isFinalStatusChanged() {
+    return finalStatusChanged;
+  }
+}
@@ -25,6 +25,8 @@ import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -64,12 +66,33 @@ public class JobScheduleV2Facade extends AbstractFacade<JobScheduleV2> {
     return query.getResultList();
   }
 
-  public void removeByJobId(Integer jobId) {
+  public List<JobScheduleV2> getByIds(Collection<Integer> ids) {
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    TypedQuery<JobScheduleV2> query = em.createNamedQuery("JobSchedule.getByIds", JobScheduleV2.class);
+    query.setParameter("ids", ids);
+    return query.getResultList();
+  }
+
+  public List<JobScheduleV2> getActive() {
+    TypedQuery<JobScheduleV2> query = em.createNamedQuery("JobSchedule.getActive", JobScheduleV2.class);
+    return query.getResultList();
+  }
+
+  /**
+   * @param jobId
+   * @return ids of the removed schedules
+   */
+  public List<Integer> removeByJobId(Integer jobId) {
     TypedQuery<JobScheduleV2> query = em.createNamedQuery("JobSchedule.getByJobId", JobScheduleV2.class);
     query.setParameter("jobId", jobId);
+    List<Integer> removed = new ArrayList<>();
     for (JobScheduleV2 schedule : query.getResultList()) {
+      removed.add(schedule.getId());
       remove(schedule);
     }
+    return removed;
   }
 
   public List<JobScheduleV2> getActiveWithCurrentExecutionTime(Instant currentDateTime) {
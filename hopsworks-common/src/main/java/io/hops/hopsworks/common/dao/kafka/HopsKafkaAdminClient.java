@@ -22,6 +22,7 @@ import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
 import io.hops.hopsworks.common.hdfs.DistributedFsService;
 import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
 import io.hops.hopsworks.common.security.BaseHadoopClientsService;
+import io.hops.hopsworks.common.util.LeasePool;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.servicediscovery.HopsworksService;
 import io.hops.hopsworks.servicediscovery.tags.KafkaTags;
@@ -30,40 +31,57 @@ import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.DeleteTopicsResult;
-import org.apache.kafka.clients.admin.DescribeConfigsResult;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
 import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.SslConfigs;
 
+import javax.annotation.PreDestroy;
 import javax.ejb.ConcurrencyManagement;
 import javax.ejb.ConcurrencyManagementType;
 import javax.ejb.EJB;
-import javax.ejb.Stateless;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timer;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
-@Stateless
+/**
+ * Long-lived Kafka admin clients shared by all callers, one per set of connection properties. Creating a client
+ * costs a TLS handshake and a metadata bootstrap, so clients are kept until they have been idle for
+ * {@link #MAX_CLIENT_IDLE_MS}.
+ */
+@Singleton
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
-@ConcurrencyManagement(ConcurrencyManagementType.CONTAINER)
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
 public class HopsKafkaAdminClient {
 
   private static final Logger LOGGER = Logger.getLogger(HopsKafkaAdminClient.class.getName());
+  private static final int MAX_CLIENTS = 10;
+  private static final long MAX_CLIENT_IDLE_MS = TimeUnit.MINUTES.toMillis(10);
+  private static final Duration CLIENT_CLOSE_TIMEOUT = Duration.ofSeconds(30);
+  private static final long METADATA_TTL_MS = TimeUnit.SECONDS.toMillis(30);
 
   @EJB
   protected ServiceDiscoveryController serviceDiscoveryController;
@@ -72,6 +90,12 @@ public class HopsKafkaAdminClient {
   @EJB
   protected DistributedFsService dfs;
 
+  private final LeasePool<ClientKey, AdminClient> clients = new LeasePool<>("kafka-admin-clients", MAX_CLIENTS,
+      MAX_CLIENT_IDLE_MS, (key, client) -> client.close(CLIENT_CLOSE_TIMEOUT));
+  private final AtomicLong topicNamesVersion = new AtomicLong();
+  private volatile CachedValue<Set<String>> topicNames;
+  private volatile CachedValue<Set<String>> brokerEndpoints;
+
   //region Properties
   public Properties getHopsworksKafkaProperties() {
     try {
@@ -193,39 +217,103 @@ public class HopsKafkaAdminClient {
   //endregion
 
   //region AdminClient
-  public CreateTopicsResult createTopics(Collection<NewTopic> newTopics) {
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
-      return adminClient.createTopics(newTopics);
+  /**
+   * Run operation on the shared client of the given credentials. The lease is returned as soon as the request has
+   * been submitted, in-flight requests are allowed to complete when the client is closed.
+   */
+  private <R> R execute(Properties properties, Function<AdminClient, R> operation) {
+    ClientKey key = new ClientKey(properties);
+    AdminClient adminClient = clients.lease(key, k -> AdminClient.create(k.properties));
+    try {
+      return operation.apply(adminClient);
+    } finally {
+      clients.release(key, adminClient);
     }
   }
 
+  public CreateTopicsResult createTopics(Collection<NewTopic> newTopics) {
+    CreateTopicsResult result = execute(getHopsworksKafkaProperties(), c -> c.createTopics(newTopics));
+    invalidateTopicNames();
+    result.all().whenComplete((v, ex) -> invalidateTopicNames());
+    return result;
+  }
+
   public DeleteTopicsResult deleteTopics(Collection<String> topics)  {
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
-      return adminClient.deleteTopics(topics);
-    }
+    DeleteTopicsResult result = execute(getHopsworksKafkaProperties(), c -> c.deleteTopics(topics));
+    invalidateTopicNames();
+    result.all().whenComplete((v, ex) -> invalidateTopicNames());
+    return result;
   }
 
   public ListTopicsResult listTopics()  {
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
-      return adminClient.listTopics();
+    return execute(getHopsworksKafkaProperties(), AdminClient::listTopics);
+  }
+
+  /**
+   * Names of the topics in the Hopsworks Kafka cluster, served from a cache which is refreshed after
+   * {@link #METADATA_TTL_MS} or after a topic is created or deleted through this client. Use {@link #listTopics()}
+   * when an up-to-date listing is required.
+   *
+   * @return future with an unmodifiable set of topic names
+   */
+  public KafkaFuture<Set<String>> listTopicNames() {
+    CachedValue<Set<String>> cached = topicNames;
+    if (cached != null && !cached.isExpired()) {
+      return KafkaFuture.completedFuture(cached.value);
     }
+    long version = topicNamesVersion.get();
+    return listTopics().names().thenApply(names -> {
+      Set<String> snapshot = Collections.unmodifiableSet(new HashSet<>(names));
+      // Don't publish a listing which started before a topic was created or deleted
+      if (topicNamesVersion.get() == version) {
+        topicNames = new CachedValue<>(snapshot);
+      }
+      return snapshot;
+    });
+  }
+
+  private void invalidateTopicNames() {
+    topicNamesVersion.incrementAndGet();
+    topicNames = null;
   }
 
   public DescribeTopicsResult describeTopics(FeatureStoreKafkaConnectorDTO connector, Collection<String> topics) {
-    try (AdminClient adminClient = AdminClient.create(getProjectKafkaProperties(connector))) {
-      return adminClient.describeTopics(topics);
-    }
+    return execute(getProjectKafkaProperties(connector), c -> c.describeTopics(topics));
   }
 
+  /**
+   * Advertised listeners of the brokers, cached for {@link #METADATA_TTL_MS}
+   *
+   * @return broker endpoints, empty if the cluster could not be reached
+   */
   public Set<String> getBrokerEndpoints() {
+    CachedValue<Set<String>> cached = brokerEndpoints;
+    if (cached != null && !cached.isExpired()) {
+      return new HashSet<>(cached.value);
+    }
+    Set<String> kafkaBrokers;
+    try {
+      kafkaBrokers = execute(getHopsworksKafkaProperties(), this::describeBrokerEndpoints);
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.SEVERE, "Could not create Kafka admin client", e);
+      return new HashSet<>();
+    }
+    if (!kafkaBrokers.isEmpty()) {
+      brokerEndpoints = new CachedValue<>(Collections.unmodifiableSet(new HashSet<>(kafkaBrokers)));
+    }
+    return kafkaBrokers;
+  }
+
+  private Set<String> describeBrokerEndpoints(AdminClient adminClient) {
     Set<String> kafkaBrokers = new HashSet<>();
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
+    try {
       Collection<Node> clusterDetails = adminClient.describeCluster().nodes().get(5, TimeUnit.SECONDS);
-      for (Node node : clusterDetails) {
-        ConfigResource configResource = new ConfigResource(ConfigResource.Type.BROKER, node.idString());
-        DescribeConfigsResult describeConfigsResult = 
-            adminClient.describeConfigs(Collections.singleton(configResource));
-        Map<ConfigResource, Config> configMap = describeConfigsResult.all().get();
+      List<ConfigResource> configResources = clusterDetails.stream()
+          .map(node -> new ConfigResource(ConfigResource.Type.BROKER, node.idString()))
+          .collect(Collectors.toList());
+      // One request for the configuration of all brokers
+      Map<ConfigResource, Config> configMap = adminClient.describeConfigs(configResources).all().get();
+      for (ConfigResource configResource : configResources) {
         Config config = configMap.get(configResource);
         String advertisedListeners = config.get("advertised.listeners").value();
         kafkaBrokers.addAll(Arrays.asList(advertisedListeners.split(",")));
@@ -235,5 +323,71 @@ public class HopsKafkaAdminClient {
     }
     return kafkaBrokers;
   }
+
+  @Schedule(persistent = false,
+      minute = "*/5",
+      hour = "*",
+      info = "Kafka admin client eviction")
+  public void evictIdle(Timer timer) {
+    try {
+      int evicted = clients.evictIdle();
+      LOGGER.log(Level.FINE, "Evicted {0} idle Kafka admin clients, {1}", new Object[]{evicted, clients});
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error evicting idle Kafka admin clients", e);
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    clients.close();
+  }
   //endregion
-}
\ No newline at end of file
+
+  private static final class CachedValue<T> {
+    private final T value;
+    private final long expiresAt;
+
+    private CachedValue(T value) {
+      this.value = value;
+      this.expiresAt = System.currentTimeMillis() + METADATA_TTL_MS;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() > expiresAt;
+    }
+  }
+
+  /**
+   * Clients are shared by all callers with the same connection properties, e.g. the Hopsworks super user or the
+   * Kafka storage connector of a project
+   */
+  private static final class ClientKey {
+    private final Properties properties;
+
+    private ClientKey(Properties properties) {
+      this.properties = (Properties) properties.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      return properties.equals(((ClientKey) o).properties);
+    }
+
+    @Override
+    public int hashCode() {
+      return properties.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      // Don't leak passwords in log messages
+      return String.valueOf(properties.getProperty(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG));
+    }
+  }
+}
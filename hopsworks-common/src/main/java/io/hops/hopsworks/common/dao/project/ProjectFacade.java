@@ -38,6 +38,7 @@
  */
 package io.hops.hopsworks.common.dao.project;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -83,6 +84,12 @@ public class ProjectFacade extends AbstractFacade<Project> {
     return em.find(Project.class, id);
   }
 
+  public List<Project> findByIds(Collection<Integer> ids) {
+    return em.createNamedQuery("Project.findByIds", Project.class)
+        .setParameter("ids", ids)
+        .getResultList();
+  }
+
   /**
    * Find all the studies for which the given user is owner. This implies that
    * this user created all the returned studies.
@@ -16,12 +16,15 @@
 
 package io.hops.hopsworks.common.dao.serving;
 
+import io.hops.hopsworks.common.serving.ServingDescriptorCache;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.serving.Serving;
 import io.hops.hopsworks.restutils.RESTCodes;
 import io.hops.hopsworks.exceptions.ServingException;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -30,9 +33,17 @@ import javax.persistence.LockModeType;
 import javax.persistence.LockTimeoutException;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,6 +55,10 @@ public class ServingFacade {
 
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager em;
+  @EJB
+  private ServingDescriptorCache servingDescriptorCache;
+  @Resource
+  private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
 
   private String nodeIP = null;
 
@@ -97,6 +112,7 @@ public class ServingFacade {
     if (refetched != null) {
       em.remove(refetched);
     }
+    invalidateAfterCommit(Collections.singleton(serving.getId()));
   }
 
   @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
@@ -196,6 +212,7 @@ public class ServingFacade {
   public Serving merge(Serving serving) {
     serving = em.merge(serving);
     em.flush(); //To get the id.
+    invalidateAfterCommit(Collections.singleton(serving.getId()));
     return serving;
   }
 
@@ -279,6 +296,8 @@ public class ServingFacade {
         serving.setLockIP(null);
         serving.setLockTimestamp(null);
 
+        // The lifecycle operation holding the lock has committed its changes
+        invalidateAfterCommit(Collections.singleton(id));
         return em.merge(serving);
       } catch (LockTimeoutException e) {
         retries--;
@@ -293,4 +312,70 @@ public class ServingFacade {
     return em.createNamedQuery("Serving.findLocalhostRunning", Serving.class)
         .getResultList();
   }
+
+  /**
+   * Set the cid of a group of servings in a single transaction. A serving is only updated if its cid still matches
+   * the expected one and no lifecycle operation holds its lock, so that a serving which has been restarted or stopped
+   * in the meantime is left untouched.
+   *
+   * @param expectedCids cid observed by the caller, by serving id
+   * @param cid the new cid
+   * @return ids of the updated servings
+   */
+  @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+  public List<Integer> updateCidIfUnchanged(Map<Integer, String> expectedCids, String cid) {
+    List<Integer> updated = new ArrayList<>();
+    if (expectedCids.isEmpty()) {
+      return updated;
+    }
+    List<Serving> servings = em.createNamedQuery("Serving.findByIds", Serving.class)
+        .setParameter("ids", expectedCids.keySet())
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+    long lockedSince = System.currentTimeMillis() - LOCK_TIMEOUT;
+    for (Serving serving : servings) {
+      if (serving.getLockIP() != null && serving.getLockTimestamp() > lockedSince) {
+        // Another request is working on this entry, it will set the cid itself
+        continue;
+      }
+      if (!Objects.equals(serving.getCid(), expectedCids.get(serving.getId()))) {
+        continue;
+      }
+      serving.setCid(cid);
+      em.merge(serving);
+      updated.add(serving.getId());
+    }
+    em.flush();
+    invalidateAfterCommit(updated);
+    return updated;
+  }
+
+  /**
+   * Drop the cached servings once the current transaction has committed, so that a concurrent inference request
+   * can not cache the servings as they were before the commit. Invalidates right away outside of a transaction.
+   *
+   * @param servingIds
+   */
+  private void invalidateAfterCommit(Collection<Integer> servingIds) {
+    if (servingIds.isEmpty()) {
+      return;
+    }
+    if (transactionSynchronizationRegistry == null || transactionSynchronizationRegistry.getTransactionKey() == null) {
+      servingIds.forEach(servingDescriptorCache::invalidate);
+      return;
+    }
+    List<Integer> ids = new ArrayList<>(servingIds);
+    transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+      @Override
+      public void beforeCompletion() {
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (status == Status.STATUS_COMMITTED) {
+          ids.forEach(servingDescriptorCache::invalidate);
+        }
+      }
+    });
+  }
 }
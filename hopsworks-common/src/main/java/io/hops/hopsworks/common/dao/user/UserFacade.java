@@ -38,7 +38,9 @@
  */
 package io.hops.hopsworks.common.dao.user;
 
+import com.google.common.collect.Lists;
 import io.hops.hopsworks.common.dao.AbstractFacade;
+import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.persistence.InvalidQueryException;
 import io.hops.hopsworks.persistence.entity.user.BbcGroup;
 import io.hops.hopsworks.persistence.entity.user.Users;
@@ -55,6 +57,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -66,6 +69,8 @@ public class UserFacade extends AbstractFacade<Users> {
   private EntityManager em;
   @EJB
   private BbcGroupFacade groupFacade;
+  @EJB
+  private Settings settings;
 
   @Override
   protected EntityManager getEntityManager() {
@@ -335,6 +340,27 @@ public class UserFacade extends AbstractFacade<Users> {
     }
   }
 
+  public List<Users> findByUsernames(Collection<String> usernames) {
+    if (usernames.size() > settings.getSQLMaxSelectIn()) {
+      List<Users> result = new ArrayList<>();
+      for (List<String> partition : Lists.partition(new ArrayList<>(usernames), settings.getSQLMaxSelectIn())) {
+        result.addAll(em.createNamedQuery("Users.findByUsernames", Users.class)
+            .setParameter("usernames", partition)
+            .getResultList());
+      }
+      return result;
+    }
+    return em.createNamedQuery("Users.findByUsernames", Users.class)
+        .setParameter("usernames", usernames)
+        .getResultList();
+  }
+
+  public List<Users> findByUids(Collection<Integer> uids) {
+    return em.createNamedQuery("Users.findByUids", Users.class)
+        .setParameter("uids", uids)
+        .getResultList();
+  }
+
   public void persist(Users user) {
     em.persist(user);
   }
@@ -41,6 +41,7 @@ import io.hops.hopsworks.common.featurestore.featuregroup.stream.StreamFeatureGr
 import io.hops.hopsworks.common.featurestore.featuregroup.stream.StreamFeatureGroupDTO;
 import io.hops.hopsworks.common.featurestore.online.OnlineFeaturestoreController;
 import io.hops.hopsworks.common.featurestore.query.ConstructorController;
+import io.hops.hopsworks.common.featurestore.query.FsQueryCache;
 import io.hops.hopsworks.common.featurestore.query.Feature;
 import io.hops.hopsworks.common.featurestore.statistics.StatisticsController;
 import io.hops.hopsworks.common.featurestore.statistics.columns.StatisticColumnController;
@@ -152,6 +153,8 @@ public class FeaturegroupController {
   @EJB
   private ConstructorController constructorController;
   @EJB
+  private FsQueryCache fsQueryCache;
+  @EJB
   protected ArrowFlightController arrowFlightController;
 
   /**
@@ -519,6 +522,7 @@ public class FeaturegroupController {
 
     featuregroup = featuregroupFacade.updateFeaturegroupMetadata(featuregroup);
     searchCommandLogger.updateMetadata(featuregroup);
+    fsQueryCache.invalidateFeaturegroup(featuregroup.getId());
     return convertFeaturegrouptoDTO(featuregroup, project, user);
   }
 
@@ -552,6 +556,7 @@ public class FeaturegroupController {
     } else {
       cachedFeaturegroupController.enableFeaturegroupOnline(featurestore, featuregroup, project, user);
     }
+    fsQueryCache.invalidateFeaturegroup(featuregroup.getId());
 
     // Log activity
     fsActivityFacade.logMetadataActivity(user, featuregroup, FeaturestoreActivityMeta.ONLINE_ENABLED, null);
@@ -584,6 +589,7 @@ public class FeaturegroupController {
     featurestoreUtils.verifyUserProjectEqualsFsProjectAndDataOwner(user, project, featurestore,
         FeaturestoreUtils.ActionMessage.DISABLE_FEATURE_GROUP_ONLINE);
     cachedFeaturegroupController.disableFeaturegroupOnline(featuregroup, project, user);
+    fsQueryCache.invalidateFeaturegroup(featuregroup.getId());
 
     // Log activity
     fsActivityFacade.logMetadataActivity(user, featuregroup, FeaturestoreActivityMeta.ONLINE_DISABLED, null);
@@ -666,6 +672,7 @@ public class FeaturegroupController {
     featurestoreUtils.verifyUserProjectEqualsFsProjectAndDataOwner(user, project, featuregroup.getFeaturestore(),
         FeaturestoreUtils.ActionMessage.DELETE_FEATURE_GROUP);
     searchCommandLogger.delete(featuregroup);
+    fsQueryCache.invalidateFeaturegroup(featuregroup.getId());
     // In some cases, fg metadata was not deleted. https://hopsworks.atlassian.net/browse/FSTORE-377
     // This enables users to delete a corrupted fg using the hsfs client.
     if (featuregroup.getOnDemandFeaturegroup() == null
@@ -76,6 +76,24 @@ public class FeaturegroupFacade extends AbstractFacade<Featuregroup> {
       return Optional.empty();
     }
   }
+
+  public List<Featuregroup> findByIds(List<Integer> ids) {
+    if (ids.size() > settings.getSQLMaxSelectIn()) {
+      List<Featuregroup> result = new ArrayList<>();
+      for(List<Integer> partition : Lists.partition(ids, settings.getSQLMaxSelectIn())) {
+        TypedQuery<Featuregroup> query =
+          em.createNamedQuery("Featuregroup.findByIds", Featuregroup.class);
+        query.setParameter("ids", partition);
+        result.addAll(query.getResultList());
+      }
+      return result;
+    } else {
+      TypedQuery<Featuregroup> query =
+        em.createNamedQuery("Featuregroup.findByIds", Featuregroup.class);
+      query.setParameter("ids", ids);
+      return query.getResultList();
+    }
+  }
   
   /**
    * Retrieves a particular featuregroup given its Id and featurestore from the database
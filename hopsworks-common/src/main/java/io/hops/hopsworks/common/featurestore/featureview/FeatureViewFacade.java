@@ -16,17 +16,21 @@
 
 package io.hops.hopsworks.common.featurestore.featureview;
 
+import com.google.common.collect.Lists;
 import io.hops.hopsworks.common.dao.AbstractFacade;
 import io.hops.hopsworks.common.dao.QueryParam;
+import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
 import io.hops.hopsworks.persistence.entity.featurestore.featureview.FeatureView;
 
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +42,8 @@ public class FeatureViewFacade extends AbstractFacade<FeatureView> {
 
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager em;
+  @EJB
+  private Settings settings;
 
   public FeatureViewFacade() {
     super(FeatureView.class);
@@ -131,6 +137,24 @@ public class FeatureViewFacade extends AbstractFacade<FeatureView> {
       .setParameter("featureGroupId", featureGroupId).getResultList();
   }
 
+  public List<FeatureView> findByIds(List<Integer> ids) {
+    if (ids.size() > settings.getSQLMaxSelectIn()) {
+      List<FeatureView> result = new ArrayList<>();
+      for(List<Integer> partition : Lists.partition(ids, settings.getSQLMaxSelectIn())) {
+        TypedQuery<FeatureView> query =
+          em.createNamedQuery("FeatureView.findByIds", FeatureView.class);
+        query.setParameter("ids", partition);
+        result.addAll(query.getResultList());
+      }
+      return result;
+    } else {
+      TypedQuery<FeatureView> query =
+        em.createNamedQuery("FeatureView.findByIds", FeatureView.class);
+      query.setParameter("ids", ids);
+      return query.getResultList();
+    }
+  }
+
   private Query makeQuery(String queryStr, QueryParam queryParam, Map<String, Object> extraParam) {
     Query query = em.createQuery(queryStr, FeatureView.class);
     if (queryParam != null) {
@@ -0,0 +1,394 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.online;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keyed pool of JDBC connections.
+ *
+ * Unlike {@link io.hops.hopsworks.common.util.LeasePool} a connection is never shared, every borrow gets a connection
+ * of its own. The returned connection is a proxy, closing it gives the physical connection back to the pool. Idle
+ * connections are kept per key, most recently used first, and validated before they are handed out again if they
+ * have been idle for longer than the validation interval. Connections older than the max lifetime are not reused.
+ *
+ * @param <K> key type, must implement equals and hashCode
+ */
+public class KeyedConnectionPool<K> {
+  private static final Logger LOGGER = Logger.getLogger(KeyedConnectionPool.class.getName());
+  private static final int VALIDATION_TIMEOUT_SEC = 2;
+
+  /**
+   * Creates the physical connection of a key
+   *
+   * @param <K> key type
+   * @param <E> exception thrown when the connection cannot be created
+   */
+  public interface ConnectionFactory<K, E extends Exception> {
+    Connection create(K key) throws E;
+  }
+
+  /**
+   * Restores the session state of a connection before it goes back to the pool
+   *
+   * @param <K> key type
+   */
+  public interface ConnectionReset<K> {
+    void reset(K key, Connection connection) throws SQLException;
+  }
+
+  private final String name;
+  private final int maxIdle;
+  private final int maxIdlePerKey;
+  private final long maxIdleMs;
+  private final long maxLifetimeMs;
+  private final long validationIntervalMs;
+  private final ConnectionReset<K> connectionReset;
+  private final LongSupplier clock;
+
+  // Guarded by this
+  private final Map<K, Deque<PooledConnection<K>>> idle = new HashMap<>();
+  private final Set<PooledConnection<K>> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+  private int idleCount;
+  private boolean closed;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong discarded = new AtomicLong();
+
+  public KeyedConnectionPool(String name, int maxIdle, int maxIdlePerKey, long maxIdleMs, long maxLifetimeMs,
+    long validationIntervalMs, ConnectionReset<K> connectionReset) {
+    this(name, maxIdle, maxIdlePerKey, maxIdleMs, maxLifetimeMs, validationIntervalMs, connectionReset,
+      System::currentTimeMillis);
+  }
+
+  KeyedConnectionPool(String name, int maxIdle, int maxIdlePerKey, long maxIdleMs, long maxLifetimeMs,
+    long validationIntervalMs, ConnectionReset<K> connectionReset, LongSupplier clock) {
+    if (maxIdle < 0 || maxIdlePerKey < 0) {
+      throw new IllegalArgumentException("maxIdle and maxIdlePerKey must not be negative");
+    }
+    this.name = name;
+    this.maxIdle = maxIdle;
+    this.maxIdlePerKey = maxIdlePerKey;
+    this.maxIdleMs = maxIdleMs;
+    this.maxLifetimeMs = maxLifetimeMs;
+    this.validationIntervalMs = validationIntervalMs;
+    this.connectionReset = connectionReset;
+    this.clock = clock;
+  }
+
+  /**
+   * Borrow a connection of key, creating it with factory if the pool does not hold a usable idle connection.
+   * Closing the returned connection gives it back to the pool.
+   *
+   * @param key
+   * @param factory creates the physical connection
+   * @return pooled connection
+   * @throws E if factory fails
+   */
+  public <E extends Exception> Connection borrow(K key, ConnectionFactory<K, E> factory) throws E {
+    PooledConnection<K> pooled;
+    while ((pooled = pollIdle(key)) != null) {
+      long now = clock.getAsLong();
+      if (isExpired(pooled, now)) {
+        discard(pooled);
+        continue;
+      }
+      if (now - pooled.lastReleased > validationIntervalMs && !isValid(pooled)) {
+        discard(pooled);
+        continue;
+      }
+      hits.incrementAndGet();
+      return lease(pooled);
+    }
+    misses.incrementAndGet();
+    Connection connection = factory.create(key);
+    return lease(new PooledConnection<>(key, connection, clock.getAsLong()));
+  }
+
+  private synchronized PooledConnection<K> pollIdle(K key) {
+    Deque<PooledConnection<K>> connections = idle.get(key);
+    if (connections == null) {
+      return null;
+    }
+    PooledConnection<K> pooled = connections.pollFirst();
+    if (connections.isEmpty()) {
+      idle.remove(key);
+    }
+    if (pooled != null) {
+      idleCount--;
+    }
+    return pooled;
+  }
+
+  private synchronized Connection lease(PooledConnection<K> pooled) {
+    leased.add(pooled);
+    return (Connection) Proxy.newProxyInstance(KeyedConnectionPool.class.getClassLoader(),
+      new Class[]{Connection.class}, new Lease(pooled));
+  }
+
+  private void release(PooledConnection<K> pooled) {
+    boolean reusable = !pooled.retired && !isExpired(pooled, clock.getAsLong()) && reset(pooled);
+    synchronized (this) {
+      leased.remove(pooled);
+      if (reusable && !pooled.retired && !closed && idleCount < maxIdle) {
+        Deque<PooledConnection<K>> connections = idle.computeIfAbsent(pooled.key, k -> new ArrayDeque<>());
+        if (connections.size() < maxIdlePerKey) {
+          pooled.lastReleased = clock.getAsLong();
+          connections.addFirst(pooled);
+          idleCount++;
+          return;
+        }
+        if (connections.isEmpty()) {
+          idle.remove(pooled.key);
+        }
+      }
+    }
+    discard(pooled);
+  }
+
+  private boolean reset(PooledConnection<K> pooled) {
+    Connection connection = pooled.connection;
+    try {
+      if (connection.isClosed()) {
+        return false;
+      }
+      if (!connection.getAutoCommit()) {
+        connection.rollback();
+        connection.setAutoCommit(true);
+      }
+      connection.clearWarnings();
+      if (connectionReset != null) {
+        connectionReset.reset(pooled.key, connection);
+      }
+      return true;
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Failed to reset connection of pool " + name + ", key: " + pooled.key, e);
+      return false;
+    }
+  }
+
+  private boolean isExpired(PooledConnection<K> pooled, long now) {
+    return now - pooled.created > maxLifetimeMs;
+  }
+
+  private boolean isValid(PooledConnection<K> pooled) {
+    try {
+      return pooled.connection.isValid(VALIDATION_TIMEOUT_SEC);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private void discard(PooledConnection<K> pooled) {
+    discarded.incrementAndGet();
+    try {
+      pooled.connection.close();
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Failed to close connection of pool " + name + ", key: " + pooled.key, e);
+    }
+  }
+
+  /**
+   * Close every connection which has been idle for longer than the idle timeout or is older than the max lifetime
+   *
+   * @return number of closed connections
+   */
+  public int evictIdle() {
+    long now = clock.getAsLong();
+    List<PooledConnection<K>> evicted = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Deque<PooledConnection<K>>> keys = idle.values().iterator();
+      while (keys.hasNext()) {
+        Deque<PooledConnection<K>> connections = keys.next();
+        connections.removeIf(pooled -> {
+          if (now - pooled.lastReleased > maxIdleMs || isExpired(pooled, now)) {
+            evicted.add(pooled);
+            return true;
+          }
+          return false;
+        });
+        if (connections.isEmpty()) {
+          keys.remove();
+        }
+      }
+      idleCount -= evicted.size();
+    }
+    evicted.forEach(this::discard);
+    return evicted.size();
+  }
+
+  /**
+   * Close the idle connections of all keys which match the predicate. Borrowed connections of these keys are closed
+   * when they are given back.
+   *
+   * @param predicate
+   */
+  public void invalidate(Predicate<K> predicate) {
+    List<PooledConnection<K>> invalidated = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Map.Entry<K, Deque<PooledConnection<K>>>> entries = idle.entrySet().iterator();
+      while (entries.hasNext()) {
+        Map.Entry<K, Deque<PooledConnection<K>>> entry = entries.next();
+        if (predicate.test(entry.getKey())) {
+          invalidated.addAll(entry.getValue());
+          entries.remove();
+        }
+      }
+      idleCount -= invalidated.size();
+      for (PooledConnection<K> pooled : leased) {
+        if (predicate.test(pooled.key)) {
+          pooled.retired = true;
+        }
+      }
+    }
+    invalidated.forEach(this::discard);
+  }
+
+  /**
+   * Close all idle connections. Borrowed connections are closed when they are given back.
+   */
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    invalidate(key -> true);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized int getIdle() {
+    return idleCount;
+  }
+
+  public synchronized int getLeased() {
+    return leased.size();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getDiscarded() {
+    return discarded.get();
+  }
+
+  @Override
+  public String toString() {
+    return "KeyedConnectionPool{" +
+      "name='" + name + '\'' +
+      ", idle=" + getIdle() +
+      ", leased=" + getLeased() +
+      ", hits=" + hits.get() +
+      ", misses=" + misses.get() +
+      ", discarded=" + discarded.get() +
+      '}';
+  }
+
+  private static final class PooledConnection<K> {
+    private final K key;
+    private final Connection connection;
+    private final long created;
+    private long lastReleased;
+    private volatile boolean retired;
+
+    private PooledConnection(K key, Connection connection, long created) {
+      this.key = key;
+      this.connection = connection;
+      this.created = created;
+      this.lastReleased = created;
+    }
+  }
+
+  /**
+   * One borrow of a pooled connection, closing it more than once gives the connection back only once
+   */
+  private final class Lease implements InvocationHandler {
+    private final PooledConnection<K> pooled;
+    private boolean returned;
+
+    private Lease(PooledConnection<K> pooled) {
+      this.pooled = pooled;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          giveBack();
+          return null;
+        case "isClosed":
+          return isReturned() || pooled.connection.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled" + pooled.connection;
+        default:
+          if (isReturned()) {
+            throw new SQLException("Connection is closed");
+          }
+          try {
+            return method.invoke(pooled.connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+      }
+    }
+
+    private synchronized boolean isReturned() {
+      return returned;
+    }
+
+    private void giveBack() {
+      synchronized (this) {
+        if (returned) {
+          return;
+        }
+        returned = true;
+      }
+      release(pooled);
+    }
+  }
+}
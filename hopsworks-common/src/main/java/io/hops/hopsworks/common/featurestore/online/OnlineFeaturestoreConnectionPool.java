@@ -0,0 +1,241 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.online;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.common.util.Settings;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timer;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pools the JDBC connections to the online feature store, so that reads and writes on behalf of a user do not pay
+ * for the secret decryption, the service discovery and the connection handshake on every request.
+ *
+ * User connections are pooled per (database user, database), admin connections in a separate, smaller pool.
+ * Connections of a database user are closed when its privileges change or it is dropped, the other Hopsworks nodes
+ * are notified through Hazelcast.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class OnlineFeaturestoreConnectionPool {
+  private static final Logger LOGGER = Logger.getLogger(OnlineFeaturestoreConnectionPool.class.getName());
+  private static final String INVALIDATED_TOPIC_NAME = "onlinefs_connections_invalidated";
+  private static final String USER_PREFIX = "user:";
+  private static final String DATABASE_PREFIX = "database:";
+  private static final long VALIDATION_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
+
+  @EJB
+  private Settings settings;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+
+  private KeyedConnectionPool<ConnectionKey> userPool;
+  private KeyedConnectionPool<ConnectionKey> adminPool;
+  private ITopic<String> invalidatedTopic;
+  private UUID invalidatedListenerId;
+
+  @PostConstruct
+  public void init() {
+    long maxIdleMs = settings.getOnlineFsConnectionPoolMaxIdleMs();
+    long maxLifetimeMs = settings.getOnlineFsConnectionPoolMaxLifetimeMs();
+    userPool = new KeyedConnectionPool<>("onlinefs-user", settings.getOnlineFsConnectionPoolMaxSize(),
+      settings.getOnlineFsConnectionPoolMaxSizePerUser(), maxIdleMs, maxLifetimeMs, VALIDATION_INTERVAL_MS,
+      OnlineFeaturestoreConnectionPool::resetDatabase);
+    int adminPoolSize = settings.getOnlineFsAdminConnectionPoolMaxSize();
+    adminPool = new KeyedConnectionPool<>("onlinefs-admin", adminPoolSize, adminPoolSize, maxIdleMs, maxLifetimeMs,
+      VALIDATION_INTERVAL_MS, OnlineFeaturestoreConnectionPool::resetDatabase);
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getReliableTopic(INVALIDATED_TOPIC_NAME);
+      invalidatedListenerId = invalidatedTopic.addMessageListener(new InvalidatedListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (invalidatedTopic != null) {
+      //needed for redeploy to remove the listener
+      invalidatedTopic.removeMessageListener(invalidatedListenerId);
+    }
+    if (userPool != null) {
+      userPool.close();
+    }
+    if (adminPool != null) {
+      adminPool.close();
+    }
+  }
+
+  /**
+   * User sessions can change the default database, e.g. with a USE statement in a query
+   */
+  private static void resetDatabase(ConnectionKey key, Connection connection) throws SQLException {
+    if (!key.database.isEmpty() && !key.database.equals(connection.getCatalog())) {
+      connection.setCatalog(key.database);
+    }
+  }
+
+  /**
+   * @param dbUser online feature store database user
+   * @param database database of the connection
+   * @param factory creates the connection if the pool does not hold an idle one
+   * @return pooled connection, closing it gives it back to the pool
+   */
+  public <E extends Exception> Connection getUserConnection(String dbUser, String database,
+    KeyedConnectionPool.ConnectionFactory<ConnectionKey, E> factory) throws E {
+    return userPool.borrow(new ConnectionKey(dbUser, database), factory);
+  }
+
+  /**
+   * @param dbUser admin database user
+   * @param factory creates the connection if the pool does not hold an idle one
+   * @return pooled connection, closing it gives it back to the pool
+   */
+  public <E extends Exception> Connection getAdminConnection(String dbUser,
+    KeyedConnectionPool.ConnectionFactory<ConnectionKey, E> factory) throws E {
+    return adminPool.borrow(new ConnectionKey(dbUser, ""), factory);
+  }
+
+  /**
+   * Close the connections of a database user, on this and on all other nodes. Called when the privileges of the
+   * user change or the user is dropped.
+   *
+   * @param dbUser
+   */
+  public void invalidateUser(String dbUser) {
+    userPool.invalidate(key -> key.dbUser.equals(dbUser));
+    publish(USER_PREFIX + dbUser);
+  }
+
+  /**
+   * Close the connections to a database, on this and on all other nodes
+   *
+   * @param database
+   */
+  public void invalidateDatabase(String database) {
+    userPool.invalidate(key -> key.database.equals(database));
+    publish(DATABASE_PREFIX + database);
+  }
+
+  private void publish(String message) {
+    //Notify other nodes if invalidatedTopic is created ==> Hazelcast is enabled
+    if (invalidatedTopic != null) {
+      invalidatedTopic.publishAsync(message);
+    }
+  }
+
+  @Schedule(persistent = false,
+    minute = "*",
+    hour = "*",
+    info = "Online feature store connection pool eviction")
+  public void evictIdle(Timer timer) {
+    try {
+      int evicted = userPool.evictIdle() + adminPool.evictIdle();
+      LOGGER.log(Level.FINE, "Evicted {0} idle online feature store connections, {1}, {2}",
+        new Object[]{evicted, userPool, adminPool});
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error evicting idle online feature store connections", e);
+    }
+  }
+
+  public KeyedConnectionPool<ConnectionKey> getUserPool() {
+    return userPool;
+  }
+
+  public KeyedConnectionPool<ConnectionKey> getAdminPool() {
+    return adminPool;
+  }
+
+  private class InvalidatedListener implements MessageListener<String> {
+    @Override
+    public void onMessage(Message<String> message) {
+      if (message.getPublishingMember().localMember()) {
+        return;
+      }
+      String value = message.getMessageObject();
+      if (value.startsWith(USER_PREFIX)) {
+        String dbUser = value.substring(USER_PREFIX.length());
+        userPool.invalidate(key -> key.dbUser.equals(dbUser));
+      } else if (value.startsWith(DATABASE_PREFIX)) {
+        String database = value.substring(DATABASE_PREFIX.length());
+        userPool.invalidate(key -> key.database.equals(database));
+      }
+    }
+  }
+
+  public static final class ConnectionKey {
+    private final String dbUser;
+    private final String database;
+
+    private ConnectionKey(String dbUser, String database) {
+      this.dbUser = dbUser;
+      this.database = database == null ? "" : database;
+    }
+
+    public String getDbUser() {
+      return dbUser;
+    }
+
+    public String getDatabase() {
+      return database;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ConnectionKey that = (ConnectionKey) o;
+      return dbUser.equals(that.dbUser) && database.equals(that.database);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dbUser, database);
+    }
+
+    @Override
+    public String toString() {
+      return dbUser + "@" + database;
+    }
+  }
+}
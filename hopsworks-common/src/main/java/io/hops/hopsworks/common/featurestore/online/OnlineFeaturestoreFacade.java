@@ -74,6 +74,8 @@ public class OnlineFeaturestoreFacade {
   private SecretsController secretsController;
   @EJB
   private FeaturestoreUtils featurestoreUtils;
+  @EJB
+  private OnlineFeaturestoreConnectionPool connectionPool;
 
   @PostConstruct
   public void init() {
@@ -127,6 +129,8 @@ public class OnlineFeaturestoreFacade {
     } catch (SQLException se) {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ERROR_DELETING_ONLINE_FEATURESTORE_DB,
           Level.SEVERE, "Error running drop query", se.getMessage(), se);
+    } finally {
+      connectionPool.invalidateDatabase(db);
     }
   }
 
@@ -169,6 +173,9 @@ public class OnlineFeaturestoreFacade {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ERROR_DELETING_ONLINE_FEATURESTORE_USER,
           Level.SEVERE, "An error occurred when trying to delete the MySQL database user for an online feature store",
           se.getMessage(), se);
+    } finally {
+      // Open sessions survive DROP USER
+      connectionPool.invalidateUser(dbUser);
     }
   }
 
@@ -219,6 +226,8 @@ public class OnlineFeaturestoreFacade {
       if (resultSet.next() && resultSet.getInt(1) != 0) {
         revokeUserPrivileges(dbName, dbUser, conn);
         executeUpdate(grantQuery, conn);
+        // Database privileges of open sessions are not updated, the pooled connections of the user must be reopened
+        connectionPool.invalidateUser(dbUser);
       }
     } finally {
       if (resultSet != null) {
@@ -282,6 +291,7 @@ public class OnlineFeaturestoreFacade {
           //Prepared statements with parameters can only be done for
           //WHERE/HAVING Clauses, not names of tables or databases
           executeUpdate("REVOKE ALL PRIVILEGES ON " + dbName + ".* FROM " + dbUser + ";", connection);
+          connectionPool.invalidateUser(dbUser);
         }
       } finally {
         if (resultSet != null) {
@@ -334,7 +344,6 @@ public class OnlineFeaturestoreFacade {
    */
   public void executeUpdateJDBCQuery(String query, String databaseName, Project project, Users user)
       throws FeaturestoreException{
-    //Re-create the connection every time since the connection is database and user-specific
     //Run Query
     try (Connection conn = establishUserConnection(databaseName, project, user);
          Statement stmt = conn.createStatement()) {
@@ -361,7 +370,6 @@ public class OnlineFeaturestoreFacade {
       throws FeaturestoreException {
     try (Connection conn = establishUserConnection(databaseName, project, user);
          Statement stmt = conn.createStatement()) {
-      //Re-create the connection every time since the connection is database and user-specific
       ResultSet rs = stmt.executeQuery(query);
       return featurestoreUtils.parseResultset(rs);
     } catch (SQLException e) {
@@ -401,20 +409,30 @@ public class OnlineFeaturestoreFacade {
     }
   }
 
+  /**
+   * Gets a pooled JDBC connection to the online feature store as the admin user. Closing the connection gives it back
+   * to the pool.
+   *
+   * @return conn the JDBC connection
+   * @throws FeaturestoreException
+   */
   public Connection establishAdminConnection() throws FeaturestoreException {
-    try {
-      return DriverManager.getConnection(getJdbcURL(),
-          settings.getVariableFeaturestoreDbAdminUser(),
-          settings.getVariableFeaturestoreDbAdminPwd());
-    } catch (SQLException | ServiceDiscoveryException e) {
-      throw new FeaturestoreException(
-          RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_MYSQL_CONNECTION_TO_ONLINE_FEATURESTORE,
-          Level.SEVERE, e.getMessage(), e.getMessage(), e);
-    }
+    String adminUser = settings.getVariableFeaturestoreDbAdminUser();
+    return connectionPool.getAdminConnection(adminUser, key -> {
+      try {
+        return DriverManager.getConnection(getJdbcURL(), adminUser, settings.getVariableFeaturestoreDbAdminPwd());
+      } catch (SQLException | ServiceDiscoveryException e) {
+        throw new FeaturestoreException(
+            RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_MYSQL_CONNECTION_TO_ONLINE_FEATURESTORE,
+            Level.SEVERE, e.getMessage(), e.getMessage(), e);
+      }
+    });
   }
 
   /**
-   * Initializes a JDBC connection MySQL Server using an online featurestore user and password
+   * Gets a pooled JDBC connection to the MySQL Server using an online featurestore user and password. The password
+   * is only read from the secrets when a new connection has to be opened. Closing the connection gives it back to
+   * the pool.
    *
    * @param databaseName name of the MySQL database to open a connection to
    * @param project      the project of the user making the request
@@ -425,24 +443,26 @@ public class OnlineFeaturestoreFacade {
   private Connection establishUserConnection(String databaseName, Project project, Users user)
       throws FeaturestoreException {
     String dbUsername = onlineFeaturestoreController.onlineDbUsername(project, user);
-    String password;
-    try {
-      password = secretsController.get(user, dbUsername).getPlaintext();
-    } catch (UserException e) {
-      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATURESTORE_ONLINE_SECRETS_ERROR,
-          Level.SEVERE, "Problem getting secrets for the JDBC connection to the online FS");
-    }
+    return connectionPool.getUserConnection(dbUsername, databaseName, key -> {
+      String password;
+      try {
+        password = secretsController.get(user, dbUsername).getPlaintext();
+      } catch (UserException e) {
+        throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATURESTORE_ONLINE_SECRETS_ERROR,
+            Level.SEVERE, "Problem getting secrets for the JDBC connection to the online FS");
+      }
 
-    String jdbcString = "";
-    try {
-      jdbcString = getJdbcURL(databaseName);
-      return DriverManager.getConnection(jdbcString, dbUsername, password);
-    } catch (SQLException | ServiceDiscoveryException e) {
-      throw new FeaturestoreException(
-          RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_MYSQL_CONNECTION_TO_ONLINE_FEATURESTORE, Level.SEVERE,
-          "project: " + project.getName() + ", database: " + databaseName + ", db user:" + dbUsername +
-              ", jdbcString: " + jdbcString, e.getMessage(), e);
-    }
+      String jdbcString = "";
+      try {
+        jdbcString = getJdbcURL(databaseName);
+        return DriverManager.getConnection(jdbcString, dbUsername, password);
+      } catch (SQLException | ServiceDiscoveryException e) {
+        throw new FeaturestoreException(
+            RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_MYSQL_CONNECTION_TO_ONLINE_FEATURESTORE, Level.SEVERE,
+            "project: " + project.getName() + ", database: " + databaseName + ", db user:" + dbUsername +
+                ", jdbcString: " + jdbcString, e.getMessage(), e);
+      }
+    });
   }
 
   public String getJdbcURL() throws ServiceDiscoveryException {
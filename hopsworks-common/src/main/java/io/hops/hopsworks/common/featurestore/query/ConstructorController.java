@@ -85,6 +85,8 @@ public class ConstructorController {
   private PitJoinController pitJoinController;
   @EJB
   private FeaturestoreController featurestoreController;
+  @EJB
+  private FsQueryCache fsQueryCache;
 
   public ConstructorController() {
   }
@@ -115,20 +117,37 @@ public class ConstructorController {
       return fsQueryDTO;
     }
 
-    fsQueryDTO.setQuery(makeOfflineQuery(query));
+    // The fingerprint has to be computed before generating the statements, as generation modifies the query
+    QueryFingerprint fingerprint = QueryFingerprint.of(query, pitEnabled, isTrainingDataset);
+    FsQueryCache.Statements statements =
+      fsQueryCache.get(fingerprint, () -> generateStatements(query, pitEnabled, isTrainingDataset));
+
+    fsQueryDTO.setQuery(statements.getOfflineQuery());
+    // Aliases are resolved on every call, storage connectors are materialized for the requesting user
     fsQueryDTO.setHudiCachedFeatureGroups(getHudiAliases(query));
     fsQueryDTO.setOnDemandFeatureGroups(getOnDemandAliases(user, project, query));
-    fsQueryDTO.setQueryOnline(
-      generateSQL(query, true).toSqlString(new SparkSqlDialect(SqlDialect.EMPTY_CONTEXT)).getSql());
+    fsQueryDTO.setQueryOnline(statements.getOnlineQuery());
 
     if (pitEnabled) {
-      fsQueryDTO.setPitQuery(makePitQuery(query, isTrainingDataset));
-      fsQueryDTO.setPitQueryAsof(makePitQueryAsof(query, isTrainingDataset));
+      fsQueryDTO.setPitQuery(statements.getPitQuery());
+      fsQueryDTO.setPitQueryAsof(statements.getPitQueryAsof());
     }
 
     return fsQueryDTO;
   }
 
+  FsQueryCache.Statements generateStatements(Query query, boolean pitEnabled, boolean isTrainingDataset) {
+    String offlineQuery = makeOfflineQuery(query);
+    String onlineQuery = generateSQL(query, true).toSqlString(new SparkSqlDialect(SqlDialect.EMPTY_CONTEXT)).getSql();
+    String pitQuery = null;
+    String pitQueryAsof = null;
+    if (pitEnabled) {
+      pitQuery = makePitQuery(query, isTrainingDataset);
+      pitQueryAsof = makePitQueryAsof(query, isTrainingDataset);
+    }
+    return new FsQueryCache.Statements(offlineQuery, onlineQuery, pitQuery, pitQueryAsof);
+  }
+
   String makeOfflineQuery(Query query) {
     SqlDialect offlineSqlDialect = query.getHiveEngine() ? new HiveSqlDialect(SqlDialect.EMPTY_CONTEXT) :
         new SparkSqlDialect(SqlDialect.EMPTY_CONTEXT);
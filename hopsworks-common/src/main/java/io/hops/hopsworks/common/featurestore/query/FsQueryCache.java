@@ -0,0 +1,212 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.common.util.Settings;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches the SQL statements generated for a {@link Query}, keyed by its {@link QueryFingerprint}. Clients fetch the
+ * batch query and the serving statements of the same feature view or training dataset repeatedly, building and
+ * unparsing the Calcite trees for every request is wasted work.
+ *
+ * Statements are invalidated when the schema of any feature group they reference changes, the other Hopsworks
+ * nodes are notified through Hazelcast.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class FsQueryCache {
+  private static final Logger LOGGER = Logger.getLogger(FsQueryCache.class.getName());
+  private static final String INVALIDATED_TOPIC_NAME = "fs_query_cache_invalidated";
+
+  @EJB
+  private Settings settings;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+
+  private Cache<QueryFingerprint, Statements> statements;
+  private ITopic<Integer> invalidatedTopic;
+  private UUID invalidatedListenerId;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong generationNanos = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    statements = Caffeine.newBuilder()
+      .maximumSize(settings.getFsQueryCacheSize())
+      .expireAfterAccess(settings.getFsQueryCacheMaxIdleMs(), TimeUnit.MILLISECONDS)
+      .build();
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getReliableTopic(INVALIDATED_TOPIC_NAME);
+      invalidatedListenerId = invalidatedTopic.addMessageListener(new InvalidatedListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (invalidatedTopic != null) {
+      //needed for redeploy to remove the listener
+      invalidatedTopic.removeMessageListener(invalidatedListenerId);
+    }
+  }
+
+  /**
+   * @param fingerprint fingerprint of the query
+   * @param generator generates the statements if they are not cached
+   * @return the cached or freshly generated statements
+   */
+  public Statements get(QueryFingerprint fingerprint, Supplier<Statements> generator) {
+    Statements cached = statements.getIfPresent(fingerprint);
+    if (cached != null) {
+      hits.incrementAndGet();
+      return cached;
+    }
+    misses.incrementAndGet();
+    long start = System.nanoTime();
+    Statements generated = generator.get();
+    generationNanos.addAndGet(System.nanoTime() - start);
+    statements.put(fingerprint, generated);
+    return generated;
+  }
+
+  /**
+   * Drop the statements of all queries referencing a feature group, on this and on all other nodes. Called when
+   * the schema of the feature group changes or it is deleted.
+   *
+   * @param featuregroupId
+   */
+  public void invalidateFeaturegroup(Integer featuregroupId) {
+    invalidate(featuregroupId);
+    //Notify other nodes if invalidatedTopic is created ==> Hazelcast is enabled
+    if (invalidatedTopic != null) {
+      invalidatedTopic.publishAsync(featuregroupId);
+    }
+  }
+
+  private void invalidate(Integer featuregroupId) {
+    statements.asMap().keySet().removeIf(fingerprint -> fingerprint.getFeaturegroupIds().contains(featuregroupId));
+  }
+
+  public long getSize() {
+    return statements.estimatedSize();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public double getHitRatio() {
+    long requests = hits.get() + misses.get();
+    return requests == 0 ? 0 : (double) hits.get() / requests;
+  }
+
+  /**
+   * @return mean time spent generating the statements of a query on a cache miss, in milliseconds
+   */
+  public double getMeanGenerationMs() {
+    long generated = misses.get();
+    return generated == 0 ? 0 : generationNanos.get() / 1_000_000.0 / generated;
+  }
+
+  @Override
+  public String toString() {
+    return "FsQueryCache{" +
+      "size=" + getSize() +
+      ", hitRatio=" + getHitRatio() +
+      ", meanGenerationMs=" + getMeanGenerationMs() +
+      '}';
+  }
+
+  private class InvalidatedListener implements MessageListener<Integer> {
+    @Override
+    public void onMessage(Message<Integer> message) {
+      if (message.getPublishingMember().localMember()) {
+        return;
+      }
+      try {
+        invalidate(message.getMessageObject());
+      } catch (Exception e) {
+        LOGGER.log(Level.WARNING, "Failed to invalidate cached queries of feature group "
+          + message.getMessageObject(), e);
+      }
+    }
+  }
+
+  /**
+   * SQL statements generated for a query
+   */
+  public static final class Statements {
+    private final String offlineQuery;
+    private final String onlineQuery;
+    private final String pitQuery;
+    private final String pitQueryAsof;
+
+    public Statements(String offlineQuery, String onlineQuery, String pitQuery, String pitQueryAsof) {
+      this.offlineQuery = offlineQuery;
+      this.onlineQuery = onlineQuery;
+      this.pitQuery = pitQuery;
+      this.pitQueryAsof = pitQueryAsof;
+    }
+
+    public String getOfflineQuery() {
+      return offlineQuery;
+    }
+
+    public String getOnlineQuery() {
+      return onlineQuery;
+    }
+
+    public String getPitQuery() {
+      return pitQuery;
+    }
+
+    public String getPitQueryAsof() {
+      return pitQueryAsof;
+    }
+  }
+}
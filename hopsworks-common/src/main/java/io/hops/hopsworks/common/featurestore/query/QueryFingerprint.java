@@ -0,0 +1,213 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.query;
+
+import io.hops.hopsworks.common.featurestore.query.filter.Filter;
+import io.hops.hopsworks.common.featurestore.query.filter.FilterLogic;
+import io.hops.hopsworks.common.featurestore.query.join.Join;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Canonical fingerprint of a {@link Query} and the flags which affect the SQL generated for it. Two queries have the
+ * same fingerprint if they select the same features of the same feature group versions, at the same points in
+ * time, with the same joins, filters and ordering, so that the generated SQL is the same.
+ */
+public final class QueryFingerprint {
+
+  private final String fingerprint;
+  private final Set<Integer> featuregroupIds;
+
+  private QueryFingerprint(String fingerprint, Set<Integer> featuregroupIds) {
+    this.fingerprint = fingerprint;
+    this.featuregroupIds = featuregroupIds;
+  }
+
+  public static QueryFingerprint of(Query query, boolean pitEnabled, boolean isTrainingDataset) {
+    Builder builder = new Builder();
+    builder.append(pitEnabled).append(isTrainingDataset);
+    builder.append(query);
+    return new QueryFingerprint(builder.digest(), Collections.unmodifiableSet(builder.featuregroupIds));
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * @return ids of all feature groups referenced by the query, including joined and filtered ones
+   */
+  public Set<Integer> getFeaturegroupIds() {
+    return featuregroupIds;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return fingerprint.equals(((QueryFingerprint) o).fingerprint);
+  }
+
+  @Override
+  public int hashCode() {
+    return fingerprint.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return fingerprint;
+  }
+
+  private static final class Builder {
+    private final StringBuilder canonical = new StringBuilder();
+    private final Set<Integer> featuregroupIds = new HashSet<>();
+
+    // Strings are length prefixed, so that the concatenation is not ambiguous
+    private Builder append(String value) {
+      if (value == null) {
+        canonical.append('-');
+      } else {
+        canonical.append(value.length()).append(':').append(value);
+      }
+      return this;
+    }
+
+    private Builder append(Object value) {
+      return append(value == null ? null : value.toString());
+    }
+
+    private Builder append(Query query) {
+      if (query == null) {
+        return append((String) null);
+      }
+      canonical.append("Q(");
+      append(query.getFeatureStore()).append(query.getProject()).append(query.getAs())
+        .append(query.getHiveEngine())
+        .append(query.getLeftFeatureGroupStartTimestamp())
+        .append(query.getLeftFeatureGroupEndTimestamp())
+        .append(query.getLeftFeatureGroupEndCommitId());
+      append(query.getFeaturegroup());
+      appendFeatures(query.getFeatures());
+      appendFeatures(query.getAvailableFeatures());
+      appendFeatures(query.getOrderByFeatures());
+      append(query.getFilter());
+      if (query.getJoins() != null) {
+        canonical.append("J[");
+        for (Join join : query.getJoins()) {
+          // The left query of a join is the query itself
+          append(join.getJoinType()).append(join.getPrefix());
+          appendFeatures(join.getLeftOn());
+          appendFeatures(join.getRightOn());
+          if (join.getJoinOperator() != null) {
+            join.getJoinOperator().forEach(this::append);
+          }
+          append(join.getRightQuery());
+        }
+        canonical.append(']');
+      }
+      canonical.append(')');
+      return this;
+    }
+
+    private void append(Featuregroup featuregroup) {
+      if (featuregroup == null) {
+        append((String) null);
+        return;
+      }
+      featuregroupIds.add(featuregroup.getId());
+      canonical.append("G(");
+      append(featuregroup.getId()).append(featuregroup.getName()).append(featuregroup.getVersion())
+        .append(featuregroup.getFeaturegroupType()).append(featuregroup.getEventTime());
+      if (featuregroup.getCachedFeaturegroup() != null) {
+        append(featuregroup.getCachedFeaturegroup().getTimeTravelFormat());
+      }
+      canonical.append(')');
+    }
+
+    private void appendFeatures(List<Feature> features) {
+      if (features == null) {
+        append((String) null);
+        return;
+      }
+      canonical.append("F[");
+      for (Feature feature : features) {
+        append(feature.getName()).append(feature.getFgAlias()).append(feature.getType())
+          .append(feature.isPrimary()).append(feature.getDefaultValue()).append(feature.getPrefix())
+          .append(feature.getIdx());
+        Featuregroup featuregroup = feature.getFeatureGroup();
+        append(featuregroup == null ? null : featuregroup.getId());
+        if (featuregroup != null) {
+          featuregroupIds.add(featuregroup.getId());
+        }
+      }
+      canonical.append(']');
+    }
+
+    private void append(FilterLogic logic) {
+      if (logic == null) {
+        append((String) null);
+        return;
+      }
+      canonical.append("L(");
+      append(logic.getType());
+      append(logic.getLeftFilter());
+      append(logic.getRightFilter());
+      append(logic.getLeftLogic());
+      append(logic.getRightLogic());
+      canonical.append(')');
+    }
+
+    private void append(Filter filter) {
+      if (filter == null) {
+        append((String) null);
+        return;
+      }
+      canonical.append("C(");
+      appendFeatures(filter.getFeatures());
+      append(filter.getCondition());
+      if (filter.getValue() != null) {
+        append(filter.getValue().isFeatureValue()).append(filter.getValue().getFeatureGroupId())
+          .append(filter.getValue().getValue()).append(filter.getValue().makeSqlValue());
+      } else {
+        append((String) null);
+      }
+      canonical.append(')');
+    }
+
+    private String digest() {
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return Base64.getEncoder().encodeToString(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+      } catch (NoSuchAlgorithmException e) {
+        // Every Java platform is required to support SHA-256
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
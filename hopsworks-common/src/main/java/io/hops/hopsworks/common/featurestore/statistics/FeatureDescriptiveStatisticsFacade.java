@@ -27,8 +27,11 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -97,4 +100,58 @@ public class FeatureDescriptiveStatisticsFacade extends AbstractFacade<FeatureDe
     query.setParameter("fdsIds", fdsIds);
     return query.executeUpdate();
   }
-}
\ No newline at end of file
+  
+  /**
+   * @param pathPrefix literal prefix of the extended statistics path
+   * @return descriptive statistics whose extended statistics path starts with pathPrefix
+   */
+  public List<FeatureDescriptiveStatistics> findByExtendedStatisticsPathPrefix(String pathPrefix) {
+    return em.createNamedQuery("FeatureDescriptiveStatistics.findByExtendedStatisticsPathPrefix",
+        FeatureDescriptiveStatistics.class)
+      .setParameter("prefix", likePrefix(pathPrefix))
+      .getResultList();
+  }
+  
+  public long countByExtendedStatisticsPathPrefix(String pathPrefix) {
+    return em.createNamedQuery("FeatureDescriptiveStatistics.countByExtendedStatisticsPathPrefix", Long.class)
+      .setParameter("prefix", likePrefix(pathPrefix))
+      .getSingleResult();
+  }
+  
+  /**
+   * @return descriptive statistics whose extended statistics are still stored in one JSON file per feature
+   */
+  public List<FeatureDescriptiveStatistics> findWithJsonExtendedStatistics(int limit) {
+    return em.createNamedQuery("FeatureDescriptiveStatistics.findWithJsonExtendedStatistics",
+        FeatureDescriptiveStatistics.class)
+      .setMaxResults(limit)
+      .getResultList();
+  }
+  
+  /**
+   * Point descriptive statistics to a new extended statistics path. Rows which have been deleted or whose path has
+   * changed in the meantime are left untouched.
+   *
+   * @param updates descriptive statistics holding the current path, paired with the new path
+   * @return ids of the updated descriptive statistics
+   */
+  public Set<Integer> updateExtendedStatisticsPaths(Collection<Pair<FeatureDescriptiveStatistics, String>> updates) {
+    Set<Integer> updated = new HashSet<>();
+    for (Pair<FeatureDescriptiveStatistics, String> update : updates) {
+      int rows = em.createNamedQuery("FeatureDescriptiveStatistics.updateExtendedStatisticsPath")
+        .setParameter("id", update.getValue0().getId())
+        .setParameter("oldPath", update.getValue0().getExtendedStatisticsPath())
+        .setParameter("newPath", update.getValue1())
+        .executeUpdate();
+      if (rows > 0) {
+        updated.add(update.getValue0().getId());
+      }
+    }
+    return updated;
+  }
+  
+  private String likePrefix(String prefix) {
+    // '!' is the escape character of the named queries
+    return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.statistics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Container holding the extended statistics of all the features of one statistics computation in a single file.
+ *
+ * Layout: magic, payload of every feature, index of (feature name, offset, length) entries, footer with the offset
+ * of the index followed by the magic. A payload is the feature name followed by the gzip compressed JSON statistics.
+ * The offset and length of a payload are also stored in the extended statistics path of the feature as
+ * {@code <container path>#<offset>:<length>}, so a single feature can be read with one ranged read without going
+ * through the index. The feature name in the payload tells whether such a reference is still valid.
+ */
+public class PackedStatisticsFile {
+  
+  public static final String EXTENSION = ".stats";
+  
+  private static final byte[] MAGIC = "HWSTATS2".getBytes(StandardCharsets.US_ASCII);
+  private static final char REFERENCE_SEPARATOR = '#';
+  private static final char RANGE_SEPARATOR = ':';
+  private static final int FOOTER_LENGTH = Long.BYTES + MAGIC.length;
+  
+  private PackedStatisticsFile() {
+  }
+  
+  /**
+   * Reads length bytes starting at position of the container into buffer
+   */
+  @FunctionalInterface
+  public interface RangeReader {
+    void readFully(long position, byte[] buffer) throws IOException;
+  }
+  
+  public static Writer writer() {
+    return new Writer();
+  }
+  
+  public static class Writer {
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    
+    private Writer() {
+      buffer.write(MAGIC, 0, MAGIC.length);
+    }
+    
+    /**
+     * @param featureName
+     * @param statistics extended statistics of the feature as JSON
+     * @return location of the compressed statistics in the container
+     */
+    public Entry add(String featureName, String statistics) throws IOException {
+      if (entries.containsKey(featureName)) {
+        throw new IllegalArgumentException("Duplicate feature in statistics container: " + featureName);
+      }
+      byte[] payload = payload(featureName, statistics);
+      Entry entry = new Entry(buffer.size(), payload.length);
+      buffer.write(payload, 0, payload.length);
+      entries.put(featureName, entry);
+      return entry;
+    }
+    
+    public boolean isEmpty() {
+      return entries.isEmpty();
+    }
+    
+    public byte[] toByteArray() throws IOException {
+      long indexOffset = buffer.size();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.size() + entries.size() * 32 + FOOTER_LENGTH);
+      buffer.writeTo(out);
+      DataOutputStream data = new DataOutputStream(out);
+      data.writeInt(entries.size());
+      for (Map.Entry<String, Entry> e : entries.entrySet()) {
+        data.writeUTF(e.getKey());
+        data.writeLong(e.getValue().getOffset());
+        data.writeInt(e.getValue().getLength());
+      }
+      data.writeLong(indexOffset);
+      data.write(MAGIC);
+      data.flush();
+      return out.toByteArray();
+    }
+  }
+  
+  /**
+   * Read the index of a container
+   *
+   * @param reader ranged reader of the container
+   * @param fileLength length of the container in bytes
+   * @return feature name to payload location, in the order the features were written
+   */
+  public static Map<String, Entry> readIndex(RangeReader reader, long fileLength) throws IOException {
+    if (fileLength < MAGIC.length + Integer.BYTES + FOOTER_LENGTH) {
+      throw new IOException("Not a statistics container, file too short");
+    }
+    byte[] footer = new byte[FOOTER_LENGTH];
+    reader.readFully(fileLength - FOOTER_LENGTH, footer);
+    DataInputStream footerData = new DataInputStream(new ByteArrayInputStream(footer));
+    long indexOffset = footerData.readLong();
+    byte[] magic = new byte[MAGIC.length];
+    footerData.readFully(magic);
+    if (!Arrays.equals(MAGIC, magic) || indexOffset < MAGIC.length || indexOffset > fileLength - FOOTER_LENGTH) {
+      throw new IOException("Not a statistics container, invalid footer");
+    }
+    byte[] index = new byte[(int) (fileLength - FOOTER_LENGTH - indexOffset)];
+    reader.readFully(indexOffset, index);
+    DataInputStream indexData = new DataInputStream(new ByteArrayInputStream(index));
+    int count = indexData.readInt();
+    Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      String featureName = indexData.readUTF();
+      Entry entry = new Entry(indexData.readLong(), indexData.readInt());
+      if (entry.getOffset() < MAGIC.length || entry.getOffset() + entry.getLength() > indexOffset) {
+        throw new IOException("Corrupted statistics container, entry out of range: " + featureName);
+      }
+      entries.put(featureName, entry);
+    }
+    return Collections.unmodifiableMap(entries);
+  }
+  
+  /**
+   * Read and decompress the statistics of featureName stored at entry
+   *
+   * @return the statistics or empty if entry holds the statistics of another feature, e.g. because the container has
+   * been overwritten by a later computation since entry was taken
+   */
+  public static Optional<String> read(RangeReader reader, Entry entry, String featureName) throws IOException {
+    byte[] payload = new byte[entry.getLength()];
+    reader.readFully(entry.getOffset(), payload);
+    DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+    if (!featureName.equals(data.readUTF())) {
+      return Optional.empty();
+    }
+    return Optional.of(decompress(data));
+  }
+  
+  /**
+   * @return extended statistics path pointing at entry of the container
+   */
+  public static String reference(String containerPath, Entry entry) {
+    return referencePrefix(containerPath) + entry.getOffset() + RANGE_SEPARATOR + entry.getLength();
+  }
+  
+  /**
+   * @return common prefix of all the extended statistics paths pointing into the container
+   */
+  public static String referencePrefix(String containerPath) {
+    return containerPath + REFERENCE_SEPARATOR;
+  }
+  
+  /**
+   * Parse an extended statistics path written by {@link #reference(String, Entry)}
+   *
+   * @return the reference or empty if path points to a plain JSON file
+   */
+  public static Optional<Reference> parseReference(String path) {
+    int separator = path.lastIndexOf(REFERENCE_SEPARATOR);
+    if (separator < 0 || !path.substring(0, separator).endsWith(EXTENSION)) {
+      return Optional.empty();
+    }
+    String range = path.substring(separator + 1);
+    int rangeSeparator = range.indexOf(RANGE_SEPARATOR);
+    if (rangeSeparator < 0) {
+      return Optional.empty();
+    }
+    try {
+      long offset = Long.parseLong(range.substring(0, rangeSeparator));
+      int length = Integer.parseInt(range.substring(rangeSeparator + 1));
+      if (offset < 0 || length < 0) {
+        return Optional.empty();
+      }
+      return Optional.of(new Reference(path.substring(0, separator), new Entry(offset, length)));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+  
+  private static byte[] payload(String featureName, String statistics) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeUTF(featureName);
+    data.flush();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(statistics.getBytes(StandardCharsets.UTF_8));
+    }
+    return out.toByteArray();
+  }
+  
+  private static String decompress(InputStream payload) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPInputStream gzip = new GZIPInputStream(payload)) {
+      byte[] buffer = new byte[8 * 1024];
+      int length;
+      while ((length = gzip.read(buffer)) != -1) {
+        out.write(buffer, 0, length);
+      }
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+  
+  public static class Entry {
+    private final long offset;
+    private final int length;
+    
+    public Entry(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+    
+    public long getOffset() {
+      return offset;
+    }
+    
+    public int getLength() {
+      return length;
+    }
+  }
+  
+  public static class Reference {
+    private final String containerPath;
+    private final Entry entry;
+    
+    public Reference(String containerPath, Entry entry) {
+      this.containerPath = containerPath;
+      this.entry = entry;
+    }
+    
+    public String getContainerPath() {
+      return containerPath;
+    }
+    
+    public Entry getEntry() {
+      return entry;
+    }
+  }
+}
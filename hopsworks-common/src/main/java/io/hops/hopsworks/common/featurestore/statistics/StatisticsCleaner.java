@@ -40,7 +40,10 @@ import javax.ejb.TimerService;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -123,10 +126,11 @@ public class StatisticsCleaner {
         String fdsIds =
           fds.stream().map(FeatureDescriptiveStatistics::getId).map(Object::toString).collect(Collectors.joining(", "));
         LOG.log(Level.INFO, "Deleting orphaned statistics: " + fdsIds);
-        // delete extended stats files
-        deleteExtendedStatsFiles(fds, udfso);
+        // delete extended stats files, containers are deleted once no statistics point to them anymore
+        Set<String> containers = deleteExtendedStatsFiles(fds, udfso);
         // delete from database
         featureDescriptiveStatisticsFacade.batchDelete(fds);
+        deleteUnreferencedContainers(containers, udfso);
         // get next batch
         fds = featureDescriptiveStatisticsFacade.findOrphaned(new Pair<>(0, batchSize));
       }
@@ -138,12 +142,30 @@ public class StatisticsCleaner {
     LOG.log(Level.FINE, "DeleteOrphanStatistics end");
   }
   
-  private void deleteExtendedStatsFiles(List<FeatureDescriptiveStatistics> fds, DistributedFileSystemOps udfso)
+  private Set<String> deleteExtendedStatsFiles(List<FeatureDescriptiveStatistics> fds, DistributedFileSystemOps udfso)
       throws IOException {
+    Set<String> containers = new HashSet<>();
     for (FeatureDescriptiveStatistics stats : fds) {
       if (stats.getExtendedStatisticsPath() != null) {
-        udfso.rm(stats.getExtendedStatisticsPath(), true);
+        Optional<PackedStatisticsFile.Reference> reference =
+          PackedStatisticsFile.parseReference(stats.getExtendedStatisticsPath());
+        if (reference.isPresent()) {
+          containers.add(reference.get().getContainerPath());
+        } else {
+          udfso.rm(stats.getExtendedStatisticsPath(), true);
+        }
       }
     }
+    return containers;
   }
-}
\ No newline at end of file
+  
+  private void deleteUnreferencedContainers(Set<String> containers, DistributedFileSystemOps udfso)
+      throws IOException {
+    for (String container : containers) {
+      if (featureDescriptiveStatisticsFacade.countByExtendedStatisticsPathPrefix(
+        PackedStatisticsFile.referencePrefix(container)) == 0) {
+        udfso.rm(container, true);
+      }
+    }
+  }
+}
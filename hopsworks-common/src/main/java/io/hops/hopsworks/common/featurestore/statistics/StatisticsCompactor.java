@@ -0,0 +1,230 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.statistics;
+
+import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
+import io.hops.hopsworks.common.hdfs.DistributedFsService;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.featurestore.statistics.FeatureDescriptiveStatistics;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.javatuples.Pair;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.AccessTimeout;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Migrates extended statistics stored in one JSON file per feature, as written by previous versions, into
+ * {@link PackedStatisticsFile} containers. The files of one statistics computation share the same name up to the
+ * feature name, {@code <window>_<feature>.json}, and are packed into {@code <window>.stats} in the same directory.
+ */
+@Singleton
+@Startup
+@DependsOn("Settings")
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class StatisticsCompactor {
+  
+  private final static Logger LOG = Logger.getLogger(StatisticsCompactor.class.getName());
+  private final static String JSON_EXTENSION = ".json";
+  
+  @EJB
+  private Settings settings;
+  @EJB
+  private FeatureDescriptiveStatisticsFacade featureDescriptiveStatisticsFacade;
+  @EJB
+  private DistributedFsService dfs;
+  @EJB
+  private PayaraClusterManager payaraClusterManager;
+  @Resource
+  private TimerService timerService;
+  private Timer timer;
+  
+  @PostConstruct
+  public void init() {
+    timer = timerService.createIntervalTimer(60000L, settings.getStatisticsCompactorIntervalMs(),
+      new TimerConfig("StatisticsCompactor", false));
+  }
+  
+  @PreDestroy
+  private void destroyTimer() {
+    if (timer != null) {
+      timer.cancel();
+    }
+  }
+  
+  /**
+   * Pack the per feature files of at most statistics_compactor_batch_size descriptive statistics per run. All the
+   * files of a computation are packed together, even if only some of them are part of the batch, so that a container
+   * is written only once.
+   *
+   * @param timer
+   *   timer
+   */
+  @Lock(LockType.WRITE)
+  @AccessTimeout(value = 1000)
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  @Timeout
+  public void compact(Timer timer) {
+    if (!payaraClusterManager.amIThePrimary()) {
+      return;
+    }
+    
+    DistributedFileSystemOps udfso = null;
+    try {
+      // files are owned by the project users, pack them as superuser
+      udfso = dfs.getDfsOps();
+      List<FeatureDescriptiveStatistics> batch =
+        featureDescriptiveStatisticsFacade.findWithJsonExtendedStatistics(settings.getStatisticsCompactorBatchSize());
+      if (batch.isEmpty()) {
+        // new statistics are always written to containers, nothing is left to pack until the next restart
+        LOG.log(Level.INFO, "All extended statistics are packed, stopping the StatisticsCompactor timer");
+        timer.cancel();
+        return;
+      }
+      Set<Path> packed = new HashSet<>();
+      int files = 0;
+      for (FeatureDescriptiveStatistics fds : batch) {
+        Path container = containerPath(fds);
+        if (packed.add(container)) {
+          try {
+            files += pack(container, fds, udfso);
+          } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not pack extended statistics into " + container, e);
+          }
+        }
+      }
+      if (!packed.isEmpty()) {
+        LOG.log(Level.INFO, "Packed {0} extended statistics files into {1} containers",
+          new Object[]{files, packed.size()});
+      }
+    } catch (Exception ex) {
+      LOG.log(Level.SEVERE, "StatisticsCompactor timer error", ex);
+    } finally {
+      dfs.closeDfsClient(udfso);
+    }
+  }
+  
+  private int pack(Path container, FeatureDescriptiveStatistics first, DistributedFileSystemOps udfso)
+      throws IOException {
+    // collect all the statistics of the computation, the name prefix can also match other computations
+    Map<Integer, FeatureDescriptiveStatistics> group = new LinkedHashMap<>();
+    group.put(first.getId(), first);
+    String namePrefix = container.getName().substring(0,
+      container.getName().length() - PackedStatisticsFile.EXTENSION.length()) + "_";
+    for (FeatureDescriptiveStatistics fds : featureDescriptiveStatisticsFacade.findByExtendedStatisticsPathPrefix(
+        new Path(container.getParent(), namePrefix).toString())) {
+      if (fds.getExtendedStatisticsPath().endsWith(JSON_EXTENSION) && container.equals(containerPath(fds))) {
+        group.put(fds.getId(), fds);
+      }
+    }
+    
+    PackedStatisticsFile.Writer writer = PackedStatisticsFile.writer();
+    // several descriptive statistics can point to the same file
+    Map<String, PackedStatisticsFile.Entry> entries = new HashMap<>();
+    for (FeatureDescriptiveStatistics fds : group.values()) {
+      String path = fds.getExtendedStatisticsPath();
+      if (!entries.containsKey(path)) {
+        try {
+          entries.put(path, writer.add(fds.getFeatureName(), udfso.cat(path)));
+        } catch (FileNotFoundException e) {
+          LOG.log(Level.WARNING, "Extended statistics file not found, dropping reference: " + path);
+          entries.put(path, null);
+        }
+      }
+    }
+    
+    if (!writer.isEmpty() && udfso.exists(container)) {
+      // written by a computation registered after the upgrade, keep it untouched
+      container = new Path(container.getParent(), namePrefix + "compacted_" + System.currentTimeMillis() +
+        PackedStatisticsFile.EXTENSION);
+    }
+    if (!writer.isEmpty()) {
+      udfso.create(container, writer.toByteArray());
+      // keep the container accessible to the project members exactly like the files it replaces
+      FileStatus original = udfso.getFileStatus(new Path(entries.entrySet().stream()
+        .filter(e -> e.getValue() != null).findFirst().get().getKey()));
+      udfso.setOwner(container, original.getOwner(), original.getGroup());
+      udfso.setPermission(container, original.getPermission());
+    }
+    List<Pair<FeatureDescriptiveStatistics, String>> updates = new ArrayList<>();
+    for (FeatureDescriptiveStatistics fds : group.values()) {
+      PackedStatisticsFile.Entry entry = entries.get(fds.getExtendedStatisticsPath());
+      updates.add(new Pair<>(fds, entry == null ? null : PackedStatisticsFile.reference(container.toString(), entry)));
+    }
+    Set<Integer> updated = featureDescriptiveStatisticsFacade.updateExtendedStatisticsPaths(updates);
+    if (updated.isEmpty() && !writer.isEmpty()) {
+      // every statistics has changed since it was read, nothing points to the container
+      udfso.rm(container, false);
+      return 0;
+    }
+    
+    // a file is only deleted once all the statistics pointing to it have been moved to the container
+    Set<String> referenced = new HashSet<>();
+    for (FeatureDescriptiveStatistics fds : group.values()) {
+      if (!updated.contains(fds.getId())) {
+        referenced.add(fds.getExtendedStatisticsPath());
+      }
+    }
+    int packed = 0;
+    for (Map.Entry<String, PackedStatisticsFile.Entry> file : entries.entrySet()) {
+      if (file.getValue() != null && !referenced.contains(file.getKey())) {
+        udfso.rm(file.getKey(), false);
+        packed++;
+      }
+    }
+    return packed;
+  }
+  
+  /**
+   * @return container of the computation the per feature file of fds belongs to
+   */
+  private Path containerPath(FeatureDescriptiveStatistics fds) {
+    Path file = new Path(fds.getExtendedStatisticsPath());
+    String name = file.getName();
+    String featureSuffix = "_" + fds.getFeatureName() + JSON_EXTENSION;
+    String window = name.endsWith(featureSuffix) ?
+      name.substring(0, name.length() - featureSuffix.length()) :
+      name.substring(0, name.length() - JSON_EXTENSION.length());
+    return new Path(file.getParent(), window + PackedStatisticsFile.EXTENSION);
+  }
+}
@@ -45,6 +45,7 @@ import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.split.S
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.Path;
 import org.javatuples.Pair;
 import org.json.JSONException;
@@ -56,10 +57,12 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.IOException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -467,12 +470,67 @@ public class StatisticsController {
   
   public void appendExtendedStatistics(Project project, Users user,
     Collection<FeatureDescriptiveStatistics> descriptiveStatistics) throws FeaturestoreException {
-    // read and append extended statistics (from hdfs files) to feature descriptive statistics
+    // read and append extended statistics (from hdfs files) to feature descriptive statistics. Statistics packed in
+    // the same container are read with one ranged read per feature on a single open stream.
+    Map<String, List<Pair<FeatureDescriptiveStatistics, PackedStatisticsFile.Entry>>> packed = new HashMap<>();
+    List<FeatureDescriptiveStatistics> jsonFiles = new ArrayList<>();
     for (FeatureDescriptiveStatistics fds : descriptiveStatistics) {
-      if (fds.getExtendedStatisticsPath() != null) {
-        String stats = readExtendedStatistics(project, user, fds.getExtendedStatisticsPath());
-        fds.setExtendedStatistics(stats);
+      if (fds.getExtendedStatisticsPath() == null) {
+        continue;
+      }
+      Optional<PackedStatisticsFile.Reference> reference =
+        PackedStatisticsFile.parseReference(fds.getExtendedStatisticsPath());
+      if (reference.isPresent()) {
+        packed.computeIfAbsent(reference.get().getContainerPath(), k -> new ArrayList<>())
+          .add(new Pair<>(fds, reference.get().getEntry()));
+      } else {
+        // statistics written before containers were introduced and not yet compacted
+        jsonFiles.add(fds);
+      }
+    }
+    if (packed.isEmpty() && jsonFiles.isEmpty()) {
+      return;
+    }
+    DistributedFileSystemOps udfso = null;
+    try {
+      udfso = dfs.getDfsOps(hdfsUsersController.getHdfsUserName(project, user));
+      for (Map.Entry<String, List<Pair<FeatureDescriptiveStatistics, PackedStatisticsFile.Entry>>> container :
+        packed.entrySet()) {
+        Path containerPath = new Path(container.getKey());
+        try (FSDataInputStream in = udfso.open(containerPath)) {
+          Map<String, PackedStatisticsFile.Entry> index = null;
+          for (Pair<FeatureDescriptiveStatistics, PackedStatisticsFile.Entry> stats : container.getValue()) {
+            String featureName = stats.getValue0().getFeatureName();
+            Optional<String> extendedStatistics;
+            try {
+              extendedStatistics = PackedStatisticsFile.read(in::readFully, stats.getValue1(), featureName);
+            } catch (IOException e) {
+              extendedStatistics = Optional.empty();
+            }
+            if (!extendedStatistics.isPresent()) {
+              // the container has been overwritten by a later computation of the same window, look the feature up
+              if (index == null) {
+                index = PackedStatisticsFile.readIndex(in::readFully, udfso.getFileStatus(containerPath).getLen());
+              }
+              if (index.containsKey(featureName)) {
+                extendedStatistics = PackedStatisticsFile.read(in::readFully, index.get(featureName), featureName);
+              }
+              if (!extendedStatistics.isPresent()) {
+                throw new IOException("Feature " + featureName + " not found in " + containerPath);
+              }
+            }
+            stats.getValue0().setExtendedStatistics(extendedStatistics.get());
+          }
+        }
+      }
+      for (FeatureDescriptiveStatistics fds : jsonFiles) {
+        fds.setExtendedStatistics(udfso.cat(fds.getExtendedStatisticsPath()));
       }
+    } catch (IOException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.STATISTICS_READ_ERROR, Level.WARNING,
+        e.getMessage(), e.getMessage(), e);
+    } finally {
+      dfs.closeDfsClient(udfso);
     }
   }
   
@@ -480,42 +538,34 @@ public class StatisticsController {
     String entitySubDir, Long startCommitTime, Long endCommitTime, Boolean beforeTransformation, String splitName,
     Collection<FeatureDescriptiveStatistics> descriptiveStatistics)
     throws IOException, DatasetException, HopsSecurityException, FeaturestoreException {
+    // Persist histograms and correlations of all the features in a single container in hopsfs
+    PackedStatisticsFile.Writer writer = PackedStatisticsFile.writer();
+    List<Pair<FeatureDescriptiveStatistics, PackedStatisticsFile.Entry>> entries = new ArrayList<>();
+    for (FeatureDescriptiveStatistics fds : descriptiveStatistics) {
+      if (fds.getExtendedStatistics() != null) {
+        entries.add(new Pair<>(fds,
+          writer.add(fds.getFeatureName(), sanitizeExtendedStatistics(fds.getExtendedStatistics()))));
+      }
+    }
+    if (writer.isEmpty()) {
+      return;
+    }
     DistributedFileSystemOps udfso = null;
     try {
       udfso = dfs.getDfsOps(hdfsUsersController.getHdfsUserName(project, user));
       Path dirPath = getExtendedStatisticsDirPath(project, user, udfso, entityName, version, entitySubDir);
-      
-      for (FeatureDescriptiveStatistics fds : descriptiveStatistics) {
-        if (fds.getExtendedStatistics() != null) {
-          String path = createExtendedStatisticsFile(startCommitTime, endCommitTime, fds.getFeatureName(),
-            fds.getExtendedStatistics(), beforeTransformation, splitName, udfso, dirPath);
-          fds.setExtendedStatisticsPath(path);
-        }
+      Path containerPath = new Path(dirPath,
+        extendedStatisticsFileName(startCommitTime, endCommitTime, beforeTransformation, splitName));
+      udfso.create(containerPath, writer.toByteArray());
+      for (Pair<FeatureDescriptiveStatistics, PackedStatisticsFile.Entry> entry : entries) {
+        entry.getValue0().setExtendedStatisticsPath(
+          PackedStatisticsFile.reference(containerPath.toString(), entry.getValue1()));
       }
     } finally {
       dfs.closeDfsClient(udfso);
     }
   }
   
-  private String createExtendedStatisticsFile(Long startTime, Long endTime, String featureName,
-    String extendedStatistics, Boolean beforeTransformation, String splitName, DistributedFileSystemOps udfso,
-    Path dirPath) throws IOException, FeaturestoreException {
-    // Persist histograms and correlations on a file in hopsfs
-    Path filePath;
-    if (beforeTransformation) {
-      filePath = new Path(dirPath, transformationFnStatisticsFileName(startTime, endTime, featureName));
-    } else {
-      if (splitName != null) {
-        filePath = new Path(dirPath, splitStatisticsFileName(splitName, endTime, featureName));
-      } else {
-        filePath = new Path(dirPath, statisticsFileName(startTime, endTime, featureName));
-      }
-    }
-    extendedStatistics = sanitizeExtendedStatistics(extendedStatistics);
-    udfso.create(filePath, extendedStatistics);
-    return filePath.toString();
-  }
-  
   private Path getExtendedStatisticsDirPath(Project project, Users user, DistributedFileSystemOps udfso,
     String entityName, Integer version, String entitySubDir) throws DatasetException, HopsSecurityException,
     IOException {
@@ -651,31 +701,19 @@ public class StatisticsController {
     return statisticsJson.toString();
   }
   
-  private String splitStatisticsFileName(String splitName, Long commitTime, String featureName) {
-    return commitTime + "_" + splitName + "_" + featureName + ".json";
-  }
-  
-  private String statisticsFileName(Long startCommitTime, Long endCommitTime, String featureName) {
-    String name = startCommitTime != null ? startCommitTime + "_" : "";
-    return name + endCommitTime + "_" + featureName + ".json";
-  }
-  
-  private String transformationFnStatisticsFileName(Long startCommitTime, Long endCommitTime, String featureName) {
-    String name = "transformation_fn" + "_";
-    name += startCommitTime != null ? startCommitTime + "_" : "";
-    return name + endCommitTime + "_" + featureName + ".json";
-  }
-  
-  private String readExtendedStatistics(Project project, Users user, String path) throws FeaturestoreException {
-    DistributedFileSystemOps udfso = null;
-    try {
-      udfso = dfs.getDfsOps(hdfsUsersController.getHdfsUserName(project, user));
-      return udfso.cat(path);
-    } catch (IOException e) {
-      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.STATISTICS_READ_ERROR, Level.WARNING,
-        e.getMessage(), e.getMessage(), e);
-    } finally {
-      dfs.closeDfsClient(udfso);
+  private String extendedStatisticsFileName(Long startCommitTime, Long endCommitTime, Boolean beforeTransformation,
+    String splitName) {
+    String name;
+    if (beforeTransformation) {
+      name = "transformation_fn" + "_";
+      name += startCommitTime != null ? startCommitTime + "_" : "";
+      name += endCommitTime;
+    } else if (splitName != null) {
+      name = endCommitTime + "_" + splitName;
+    } else {
+      name = startCommitTime != null ? startCommitTime + "_" : "";
+      name += endCommitTime;
     }
+    return name + PackedStatisticsFile.EXTENSION;
   }
-}
\ No newline at end of file
+}
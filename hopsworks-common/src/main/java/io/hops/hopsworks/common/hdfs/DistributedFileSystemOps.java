@@ -49,6 +49,7 @@ import java.security.PrivilegedExceptionAction;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -76,6 +77,9 @@ public class DistributedFileSystemOps {
   private final DistributedFileSystem dfs;
   private Configuration conf;
   private final String effectiveUser;
+  // Set on the handles leased from the DistributedFsClientPool, close() then returns the lease
+  private final Runnable releaseHook;
+  private final AtomicBoolean released = new AtomicBoolean();
 
   public enum StoragePolicy {
     CLOUD("CLOUD"),
@@ -114,6 +118,20 @@ public class DistributedFileSystemOps {
     this.dfs = getDfs(ugi, conf, uri);
     this.conf = conf;
     effectiveUser = ugi.getUserName();
+    releaseHook = null;
+  }
+
+  /**
+   * Handle of a single lease on a pooled client, sharing its file system
+   * <p>
+   * @param shared pooled client
+   * @param releaseHook returns the lease, invoked at most once
+   */
+  DistributedFileSystemOps(DistributedFileSystemOps shared, Runnable releaseHook) {
+    this.dfs = shared.dfs;
+    this.conf = shared.conf;
+    this.effectiveUser = shared.effectiveUser;
+    this.releaseHook = releaseHook;
   }
 
   public DistributedFileSystemOps(UserGroupInformation ugi, Configuration conf) {
@@ -379,6 +397,18 @@ public class DistributedFileSystemOps {
     dfs.rename(source, destination, renameOption);
   }
 
+  /**
+   * Append the content of the sources to target and delete the sources. Only the file system metadata is changed,
+   * no data is copied.
+   * <p/>
+   * @param target existing file, must be in the same directory as the sources
+   * @param sources files to append, in order
+   * @throws IOException
+   */
+  public void concat(Path target, Path[] sources) throws IOException {
+    dfs.concat(target, sources);
+  }
+
   /**
    * Check if the path exists in HDFS.
    * <p/>
@@ -620,9 +650,19 @@ public class DistributedFileSystemOps {
   }
 
   /**
-   * Closes the distributed file system.
+   * Close the underlying file system or, for pooled clients, return the lease to the pool
    */
   public void close() {
+    if (releaseHook == null) {
+      closeFilesystem();
+    } else if (released.compareAndSet(false, true)) {
+      releaseHook.run();
+    } else {
+      logger.log(Level.FINE, "Pooled client of {0} was already closed", effectiveUser);
+    }
+  }
+
+  void closeFilesystem() {
     try {
       dfs.close();
     } catch (IOException ex) {
@@ -630,6 +670,10 @@ public class DistributedFileSystemOps {
     }
   }
 
+  public boolean isPooled() {
+    return releaseHook != null;
+  }
+
   public void addUser(String userName) throws IOException{
     dfs.addUser(userName);
   }
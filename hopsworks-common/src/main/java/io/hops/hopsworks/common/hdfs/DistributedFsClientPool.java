@@ -0,0 +1,178 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.hdfs;
+
+import io.hops.hopsworks.common.util.LeasePool;
+import io.hops.hopsworks.common.util.Settings;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timer;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.net.URI;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps HopsFS clients alive between requests so that the proxy user, the Hadoop configuration and, with RPC TLS
+ * enabled, the materialized certificates are set up once per (effective user, URI) instead of once per request.
+ *
+ * A pooled client is shared by all concurrent leases of its key, each lease gets its own handle on it.
+ * {@link DistributedFileSystemOps#close()} on a handle returns its lease once, the file system is only closed when the
+ * client is evicted.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class DistributedFsClientPool {
+  private static final Logger LOGGER = Logger.getLogger(DistributedFsClientPool.class.getName());
+
+  @EJB
+  private Settings settings;
+
+  private LeasePool<ClientKey, PooledClient> pool;
+
+  @PostConstruct
+  public void init() {
+    pool = new LeasePool<>("hopsfs-clients", settings.getDfsClientPoolMaxSize(),
+      settings.getDfsClientPoolMaxIdleMs(), (key, client) -> client.dispose());
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  /**
+   * Lease the client of user for uri, creating it if the pool does not hold one
+   *
+   * @param user effective user of the client
+   * @param uri file system URI, null for the default file system
+   * @param factory creates the client, may return null
+   * @param cleanup invoked with the effective user once the client is evicted from the pool
+   * @return handle of the lease on the shared client or null if factory returned null
+   */
+  public DistributedFileSystemOps lease(String user, URI uri, Supplier<DistributedFileSystemOps> factory,
+    Consumer<String> cleanup) {
+    ClientKey key = new ClientKey(user, uri);
+    PooledClient client = pool.lease(key, k -> {
+      DistributedFileSystemOps dfso = factory.get();
+      return dfso == null ? null : new PooledClient(dfso, cleanup);
+    });
+    return client == null ? null : new DistributedFileSystemOps(client.dfso, () -> pool.release(key, client));
+  }
+
+  /**
+   * Evict all clients of a user, for example after its certificates have been rotated. Clients with open leases
+   * are closed once the last lease is returned.
+   *
+   * @param user
+   */
+  public void invalidate(String user) {
+    pool.invalidate(key -> key.user.equals(user));
+  }
+
+  @Schedule(persistent = false,
+    minute = "*",
+    hour = "*",
+    info = "HopsFS client pool eviction")
+  public void evictIdle(Timer timer) {
+    try {
+      int evicted = pool.evictIdle();
+      LOGGER.log(Level.FINE, "Evicted {0} idle HopsFS clients, {1}", new Object[]{evicted, pool});
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error evicting idle HopsFS clients", e);
+    }
+  }
+
+  public int getSize() {
+    return pool.size();
+  }
+
+  public long getHits() {
+    return pool.getHits();
+  }
+
+  public long getMisses() {
+    return pool.getMisses();
+  }
+
+  public long getEvictions() {
+    return pool.getEvictions();
+  }
+
+  private static final class PooledClient {
+    private final DistributedFileSystemOps dfso;
+    private final Consumer<String> cleanup;
+
+    private PooledClient(DistributedFileSystemOps dfso, Consumer<String> cleanup) {
+      this.dfso = dfso;
+      this.cleanup = cleanup;
+    }
+
+    private void dispose() {
+      dfso.closeFilesystem();
+      if (cleanup != null) {
+        cleanup.accept(dfso.getEffectiveUser());
+      }
+    }
+  }
+
+  private static final class ClientKey {
+    private final String user;
+    private final String uri;
+
+    private ClientKey(String user, URI uri) {
+      this.user = user;
+      this.uri = uri == null ? null : uri.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ClientKey clientKey = (ClientKey) o;
+      return user.equals(clientKey.user) && Objects.equals(uri, clientKey.uri);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(user, uri);
+    }
+
+    @Override
+    public String toString() {
+      return user + (uri == null ? "" : "@" + uri);
+    }
+  }
+}
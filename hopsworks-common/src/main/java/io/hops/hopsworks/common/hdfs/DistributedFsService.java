@@ -93,6 +93,8 @@ public class DistributedFsService {
   private Settings settings;
   @EJB
   private BaseHadoopClientsService bhcs;
+  @EJB
+  private DistributedFsClientPool dfsClientPool;
 
   private Configuration conf;
   private String hadoopConfDir;
@@ -147,30 +149,21 @@ public class DistributedFsService {
   }
 
   /**
-   * creates a new distributed file system operations with the super user
+   * Leases a distributed file system operations client of the super user from the client pool.
+   * It must be returned with {@link #closeDfsClient(DistributedFileSystemOps)}
    * <p>
    * @return DistributedFileSystemOps
    */
   public DistributedFileSystemOps getDfsOps() {
-    if (settings.getHopsRpcTls()) {
-      Configuration newConf = new Configuration(conf);
-  
-      String keystorePath = bhcs.getSuperKeystorePath();
-      String keystorePass = bhcs.getSuperKeystorePassword();
-      String truststorePath = bhcs.getSuperTrustStorePath();
-      String truststorePass = bhcs.getSuperTrustStorePassword();
-  
-      HopsSSLSocketFactory.setTlsConfiguration(keystorePath, keystorePass,
-          truststorePath, truststorePass, newConf);
-      
-      return new DistributedFileSystemOps(
-          UserGroupInformation.createRemoteUser(loginUser.getUserName()), newConf);
-    }
-  
-    return new DistributedFileSystemOps(UserGroupInformation.createRemoteUser(loginUser.getUserName()), conf);
+    return getDfsOps((URI) null);
   }
   
   public DistributedFileSystemOps getDfsOps(URI uri) {
+    String superUser = loginUser.getUserName();
+    return dfsClientPool.lease(superUser, uri, () -> createSuperUserDfsOps(uri), null);
+  }
+  
+  private DistributedFileSystemOps createSuperUserDfsOps(URI uri) {
     if (settings.getHopsRpcTls()) {
       Configuration newConf = new Configuration(conf);
   
@@ -194,7 +187,9 @@ public class DistributedFsService {
   }
   
   /**
-   * Returns the user specific distributed file system operations
+   * Leases the user specific distributed file system operations from the client pool.
+   * The certificates of the user stay materialized as long as the client is pooled.
+   * It must be returned with {@link #closeDfsClient(DistributedFileSystemOps)}
    * <p>
    * @param username
    * @return
@@ -203,6 +198,11 @@ public class DistributedFsService {
     if (username == null || username.isEmpty()) {
       throw new IllegalArgumentException("username not provided.");
     }
+    return dfsClientPool.lease(username, null, () -> createUserDfsOps(username),
+      settings.getHopsRpcTls() ? bhcs::removeNonSuperUserCertificate : null);
+  }
+  
+  private DistributedFileSystemOps createUserDfsOps(String username) {
     UserGroupInformation ugi;
     try {
       ugi = UserGroupInformation.createProxyUser(username, UserGroupInformation.
@@ -231,8 +231,17 @@ public class DistributedFsService {
     return new DistributedFileSystemOps(ugi, conf);
   }
 
+  /**
+   * Returns a client to the pool. Clients which are not pooled are closed and their certificates removed.
+   * <p>
+   * @param udfso
+   */
   public void closeDfsClient(DistributedFileSystemOps udfso) {
     if (null != udfso) {
+      if (udfso.isPooled()) {
+        udfso.close();
+        return;
+      }
       if (settings.getHopsRpcTls()
           && !udfso.getEffectiveUser().equals(loginUser.getUserName())) {
         bhcs.removeNonSuperUserCertificate(udfso.getEffectiveUser());
@@ -45,6 +45,7 @@ import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
 import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
 import io.hops.hopsworks.common.hdfs.DistributedFsService;
 import io.hops.hopsworks.common.jobs.execution.HopsJob;
+import io.hops.hopsworks.common.jobs.yarn.JobArtifactStore;
 import io.hops.hopsworks.common.jobs.yarn.YarnExecutionFinalizer;
 import io.hops.hopsworks.common.jobs.yarn.YarnLogUtil;
 import io.hops.hopsworks.common.security.BaseHadoopClientsService;
@@ -89,6 +90,8 @@ public class AsynchronousJobExecutor {
   private BaseHadoopClientsService baseHadoopClientsService;
   @EJB
   private YarnLogUtil yarnLogUtil;
+  @EJB
+  private JobArtifactStore jobArtifactStore;
   
   @Asynchronous
   @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
@@ -145,4 +148,8 @@ public class AsynchronousJobExecutor {
   public YarnLogUtil getYarnLogUtil() {
     return yarnLogUtil;
   }
+
+  public JobArtifactStore getJobArtifactStore() {
+    return jobArtifactStore;
+  }
 }
@@ -17,6 +17,7 @@ package io.hops.hopsworks.common.jobs.execution;
 
 import io.hops.hopsworks.common.alert.AlertController;
 import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionStatusUpdate;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalStatus;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
 import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
@@ -25,6 +26,9 @@ import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 @Stateless
@@ -78,4 +82,27 @@ public class ExecutionUpdateController {
     }
     return execution;
   }
+
+  /**
+   * Apply the status updates of many executions at once and send the alerts of the executions whose final status
+   * changed.
+   *
+   * @param updates
+   * @return updated executions, by id
+   */
+  public Map<Integer, Execution> updateStatusAndSendAlerts(List<ExecutionStatusUpdate> updates) {
+    Map<Integer, ExecutionStatusUpdate> updatesById = new HashMap<>(updates.size() * 2);
+    for (ExecutionStatusUpdate update : updates) {
+      updatesById.put(update.getExecutionId(), update);
+    }
+    Map<Integer, Execution> updated = new HashMap<>(updates.size() * 2);
+    for (Execution execution : executionFacade.updateStatus(updates)) {
+      updated.put(execution.getId(), execution);
+      ExecutionStatusUpdate update = updatesById.get(execution.getId());
+      if (update.isFinalStatusChanged()) {
+        alertController.sendAlert(update.getFinalStatus(), execution);
+      }
+    }
+    return updated;
+  }
 }
@@ -21,7 +21,6 @@ import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.model.time.ExecutionTime;
 import com.cronutils.parser.CronParser;
 import com.google.common.base.Strings;
-import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
 import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
 import io.hops.hopsworks.common.jobs.execution.ExecutionController;
 import io.hops.hopsworks.exceptions.GenericException;
@@ -54,8 +53,8 @@ public class JobScheduleV2Controller {
   private JobScheduleV2Facade jobScheduleFacade;
   @Inject
   private ExecutionController executionController;
-  @Inject
-  private ExecutionFacade executionFacade;
+  @EJB
+  private JobScheduleV2Scheduler jobScheduler;
 
   private void executeSingle(Jobs job, Instant currentTime)
           throws JobException, ProjectException, ServiceException, GenericException {
@@ -68,40 +67,42 @@ public class JobScheduleV2Controller {
     executionController.start(job, jobConfig, job.getCreator());
   }
   
-  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
-  public void executeWithCron() throws JobException, ProjectException, ServiceException, GenericException {
-    executeWithCron(Instant.now());
-  }
-  
   /**
-   * For test purpose, so that job start time can be verified in unit test.
+   * Advance the schedule to its next execution time. Called by {@link JobScheduleV2Scheduler} right before the due
+   * execution is started.
    *
    * @param currentTime
+   * @param jobSchedule due schedule
+   * @return the updated schedule
+   */
+  public JobScheduleV2 advanceSchedule(Instant currentTime, JobScheduleV2 jobSchedule) {
+    return updateNextExecutionDateTime(currentTime, jobSchedule);
+  }
+
+  /**
+   * Start the execution of a schedule advanced with {@link #advanceSchedule(Instant, JobScheduleV2)}
+   *
+   * @param jobSchedule
    * @throws JobException
    * @throws ProjectException
    * @throws ServiceException
    * @throws GenericException
    */
-  public void executeWithCron(Instant currentTime)
+  public void executeScheduled(JobScheduleV2 jobSchedule)
           throws JobException, ProjectException, ServiceException, GenericException {
-    for (JobScheduleV2 jobSchedule : jobScheduleFacade.getActiveWithCurrentExecutionTime(currentTime)) {
-      if (executionFacade.findByJobAndNotFinished(jobSchedule.getJob()).size() > 0) {
-        // Should not do parallel executions to void issues with Hudi
-        continue;
-      }
-      updateNextExecutionDateTime(currentTime, jobSchedule);
-      executeSingle(jobSchedule.getJob(), jobSchedule.getNextExecutionDateTime());
-    }
+    executeSingle(jobSchedule.getJob(), jobSchedule.getNextExecutionDateTime());
   }
 
   public JobScheduleV2 createSchedule(JobScheduleV2 jobSchedule) {
     jobSchedule.setStartDateTime(jobSchedule.getStartDateTime());
     setNextExecutionDateTime(Instant.now(), jobSchedule);
-    return jobScheduleFacade.update(jobSchedule);
+    JobScheduleV2 created = jobScheduleFacade.update(jobSchedule);
+    jobScheduler.scheduleChanged(created.getId());
+    return created;
   }
 
   public void deleteSchedule(Integer jobId) {
-    jobScheduleFacade.removeByJobId(jobId);
+    jobScheduleFacade.removeByJobId(jobId).forEach(jobScheduler::scheduleChanged);
   }
 
   public JobScheduleV2 updateSchedule(JobScheduleV2 jobScheduleV2) throws JobException {
@@ -132,7 +133,9 @@ public class JobScheduleV2Controller {
       setNextExecutionDateTime(Instant.now(), jobSchedule);
     }
 
-    return jobScheduleFacade.update(jobSchedule);
+    JobScheduleV2 updated = jobScheduleFacade.update(jobSchedule);
+    jobScheduler.scheduleChanged(updated.getId());
+    return updated;
   }
 
   public JobScheduleV2 getScheduleByJobId(Integer jobId) throws JobException {
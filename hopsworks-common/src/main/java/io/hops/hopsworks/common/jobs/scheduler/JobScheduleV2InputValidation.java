@@ -54,18 +54,8 @@ public class JobScheduleV2InputValidation {
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException(String.format("Invalid cron expression provided '%s'.", cronExpression));
     }
-
-    enforceZeroSecondsInCronExpression(cronExpression);
   }
 
-  private void enforceZeroSecondsInCronExpression(String cronExpression) {
-    // This function assumes cronExpression is a valid cron string.
-    String secondsCron = cronExpression.split(" ")[0];
-    if (!secondsCron.equals("0")) {
-      throw new IllegalArgumentException(String.format("Invalid cron expression %s provided. Seconds field '%s'."
-          + " Seconds should be 0.", cronExpression, secondsCron));
-    }
-  }
   private void validateScheduleTimes(JobScheduleV2DTO scheduleDTO) {
     Instant currentTime = Instant.now();
     if (scheduleDTO.getCronExpression() == null) {
@@ -0,0 +1,320 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.jobs.description.Jobs;
+import io.hops.hopsworks.persistence.entity.jobs.scheduler.JobScheduleV2;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.inject.Inject;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Launches the executions of job schedules on the primary node.
+ *
+ * The enabled schedules are kept in memory ordered by their next execution time, so a tick only touches the
+ * database for the schedules which are actually due. The queue is loaded when the node becomes primary, refreshed
+ * periodically and updated when a schedule is created, updated or deleted on any node. Due schedules are checked for
+ * running executions with a single query and launched in parallel, at most
+ * {@link Settings#getJobSchedulerMaxLaunchesPerProject()} at a time per project.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class JobScheduleV2Scheduler {
+  private static final Logger LOGGER = Logger.getLogger(JobScheduleV2Scheduler.class.getName());
+  private static final String CHANGED_TOPIC_NAME = "job_schedule_changed";
+  // Resync with the database to pick up schedules removed together with their job
+  private static final long RESYNC_INTERVAL_MS = 5 * 60 * 1000L;
+  // Delay before a schedule whose job is still running is checked again
+  private static final long RUNNING_RETRY_MS = 15 * 1000L;
+  // Delay before a schedule throttled by the per-project limit is retried
+  private static final long THROTTLED_RETRY_MS = 1000L;
+
+  @EJB
+  private JobScheduleV2Facade jobScheduleFacade;
+  @EJB
+  private JobScheduleV2Controller jobScheduleController;
+  @EJB
+  private ExecutionFacade executionFacade;
+  @EJB
+  private PayaraClusterManager payaraClusterManager;
+  @EJB
+  private Settings settings;
+  @Resource(lookup = "concurrent/hopsExecutorService")
+  private ManagedExecutorService executorService;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+
+  private final ScheduleQueue queue = new ScheduleQueue();
+  // Schedules created, updated or deleted since the last tick
+  private final Set<Integer> changed = ConcurrentHashMap.newKeySet();
+  // Jobs whose launch has been submitted but has not returned yet
+  private final Set<Integer> launching = ConcurrentHashMap.newKeySet();
+  private final Map<Integer, Semaphore> projectLaunches = new ConcurrentHashMap<>();
+  private volatile boolean loaded = false;
+  private long lastResync;
+
+  private ITopic<Integer> changedTopic;
+  private UUID changedListenerId;
+
+  private final AtomicLong launches = new AtomicLong();
+  private final AtomicLong skippedRunning = new AtomicLong();
+  private final AtomicLong throttled = new AtomicLong();
+  private final AtomicLong lastLagMs = new AtomicLong();
+  private final AtomicLong maxLagMs = new AtomicLong();
+  private final AtomicLong totalLagMs = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      changedTopic = hazelcastInstance.getReliableTopic(CHANGED_TOPIC_NAME);
+      changedListenerId = changedTopic.addMessageListener(new ChangedListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (changedTopic != null) {
+      //needed for redeploy to remove the listener
+      changedTopic.removeMessageListener(changedListenerId);
+    }
+  }
+
+  /**
+   * Notify the scheduler, on this and on all other nodes, that a schedule has been created, updated or deleted
+   *
+   * @param scheduleId
+   */
+  public void scheduleChanged(Integer scheduleId) {
+    changed.add(scheduleId);
+    //Notify other nodes if changedTopic is created ==> Hazelcast is enabled
+    if (changedTopic != null) {
+      changedTopic.publishAsync(scheduleId);
+    }
+  }
+
+  /**
+   * Launch the executions of all due schedules. Called by {@link JobScheduleV2Timer} on every node, only the primary
+   * keeps the queue.
+   */
+  public void tick() {
+    if (!payaraClusterManager.amIThePrimary()) {
+      if (loaded) {
+        queue.clear();
+        loaded = false;
+      }
+      return;
+    }
+    Instant now = Instant.now();
+    if (!loaded || now.toEpochMilli() - lastResync >= RESYNC_INTERVAL_MS) {
+      reload(now);
+    } else {
+      applyChanges();
+    }
+    List<Integer> dueIds = queue.pollDue(now);
+    if (!dueIds.isEmpty()) {
+      launchDue(dueIds, now);
+    }
+  }
+
+  private void reload(Instant now) {
+    // Changes made after this point are applied on the next tick
+    changed.clear();
+    queue.clear();
+    for (JobScheduleV2 schedule : jobScheduleFacade.getActive()) {
+      enqueue(schedule);
+    }
+    lastResync = now.toEpochMilli();
+    loaded = true;
+    LOGGER.log(Level.FINE, "Loaded {0} job schedules", queue.size());
+  }
+
+  private void applyChanges() {
+    List<Integer> ids = new ArrayList<>();
+    for (Integer id : changed) {
+      changed.remove(id);
+      ids.add(id);
+    }
+    if (ids.isEmpty()) {
+      return;
+    }
+    ids.forEach(queue::remove);
+    jobScheduleFacade.getByIds(ids).forEach(this::enqueue);
+  }
+
+  private void enqueue(JobScheduleV2 schedule) {
+    if (Boolean.TRUE.equals(schedule.getEnabled()) && schedule.getNextExecutionDateTime() != null) {
+      queue.offer(schedule.getId(), schedule.getNextExecutionDateTime());
+    } else {
+      queue.remove(schedule.getId());
+    }
+  }
+
+  private void launchDue(List<Integer> dueIds, Instant now) {
+    List<JobScheduleV2> due = new ArrayList<>();
+    for (JobScheduleV2 schedule : jobScheduleFacade.getByIds(dueIds)) {
+      if (Boolean.TRUE.equals(schedule.getEnabled()) && schedule.getNextExecutionDateTime() != null
+        && !schedule.getNextExecutionDateTime().isAfter(now)) {
+        due.add(schedule);
+      } else {
+        // Changed since it was queued
+        enqueue(schedule);
+      }
+    }
+    if (due.isEmpty()) {
+      return;
+    }
+    Set<Integer> running = executionFacade.findJobIdsNotFinished(
+      due.stream().map(JobScheduleV2::getJob).collect(Collectors.toList()));
+    for (JobScheduleV2 schedule : due) {
+      Jobs job = schedule.getJob();
+      if (running.contains(job.getId()) || launching.contains(job.getId())) {
+        // Should not do parallel executions to void issues with Hudi
+        skippedRunning.incrementAndGet();
+        queue.offer(schedule.getId(), now.plusMillis(RUNNING_RETRY_MS));
+        continue;
+      }
+      Semaphore permits = projectLaunches.computeIfAbsent(job.getProject().getId(),
+        id -> new Semaphore(settings.getJobSchedulerMaxLaunchesPerProject()));
+      if (!permits.tryAcquire()) {
+        throttled.incrementAndGet();
+        queue.offer(schedule.getId(), now.plusMillis(THROTTLED_RETRY_MS));
+        continue;
+      }
+      launching.add(job.getId());
+      if (!launch(schedule, now, permits)) {
+        launching.remove(job.getId());
+        permits.release();
+        queue.offer(schedule.getId(), now.plusMillis(RUNNING_RETRY_MS));
+      }
+    }
+  }
+
+  private boolean launch(JobScheduleV2 schedule, Instant now, Semaphore permits) {
+    Instant dueTime = schedule.getNextExecutionDateTime();
+    JobScheduleV2 advanced;
+    try {
+      advanced = jobScheduleController.advanceSchedule(now, schedule);
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Could not compute the next execution of job schedule " + schedule.getId(), e);
+      return false;
+    }
+    enqueue(advanced);
+    Integer jobId = advanced.getJob().getId();
+    try {
+      executorService.submit(() -> {
+        recordLag(Instant.now().toEpochMilli() - dueTime.toEpochMilli());
+        try {
+          jobScheduleController.executeScheduled(advanced);
+        } catch (Exception e) {
+          LOGGER.log(Level.WARNING, "Could not start scheduled execution of job " + jobId, e);
+        } finally {
+          launching.remove(jobId);
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The next execution time has been advanced already, this execution is skipped like a failed start
+      LOGGER.log(Level.WARNING, "Could not submit scheduled execution of job " + jobId, e);
+      launching.remove(jobId);
+      permits.release();
+    }
+    return true;
+  }
+
+  private void recordLag(long lagMs) {
+    launches.incrementAndGet();
+    lastLagMs.set(lagMs);
+    maxLagMs.accumulateAndGet(lagMs, Math::max);
+    totalLagMs.addAndGet(lagMs);
+  }
+
+  public int getQueuedSchedules() {
+    return queue.size();
+  }
+
+  public long getLaunches() {
+    return launches.get();
+  }
+
+  public long getSkippedRunning() {
+    return skippedRunning.get();
+  }
+
+  public long getThrottled() {
+    return throttled.get();
+  }
+
+  /**
+   * @return delay between the scheduled execution time and the launch of the last execution
+   */
+  public long getLastLagMs() {
+    return lastLagMs.get();
+  }
+
+  public long getMaxLagMs() {
+    return maxLagMs.get();
+  }
+
+  public double getMeanLagMs() {
+    long count = launches.get();
+    return count == 0 ? 0 : (double) totalLagMs.get() / count;
+  }
+
+  private class ChangedListener implements MessageListener<Integer> {
+    @Override
+    public void onMessage(Message<Integer> message) {
+      if (message.getPublishingMember().localMember()) {
+        return;
+      }
+      changed.add(message.getMessageObject());
+    }
+  }
+}
@@ -16,44 +16,36 @@
 
 package io.hops.hopsworks.common.jobs.scheduler;
 
-import io.hops.hopsworks.common.util.PayaraClusterManager;
-import io.hops.hopsworks.exceptions.GenericException;
-import io.hops.hopsworks.exceptions.JobException;
-import io.hops.hopsworks.exceptions.ProjectException;
-import io.hops.hopsworks.exceptions.ServiceException;
-
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import javax.ejb.EJB;
-import javax.ejb.ScheduleExpression;
 import javax.ejb.Singleton;
 import javax.ejb.Startup;
 import javax.ejb.Timeout;
 import javax.ejb.Timer;
 import javax.ejb.TimerConfig;
 import javax.ejb.TimerService;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 @Singleton
 @Startup
 public class JobScheduleV2Timer {
   private static final Logger LOGGER = Logger.getLogger(JobScheduleV2Timer.class.getName());
-  
-  @EJB
-  private JobScheduleV2Controller jobScheduleController;
+  // Schedules support cron expressions with seconds, so tick every second
+  private static final long TICK_INTERVAL_MS = 1000L;
+
   @EJB
-  private PayaraClusterManager payaraClusterManager;
+  private JobScheduleV2Scheduler jobScheduler;
   @Resource
   private TimerService timerService;
   private Timer timer;
 
   @PostConstruct
   public void init() {
-    ScheduleExpression schedule = new ScheduleExpression();
-    schedule.hour("*");
-    schedule.minute("*");
-    timer = timerService.createCalendarTimer(schedule, new TimerConfig("Job scheduler timer", false));
+    timer = timerService.createIntervalTimer(TICK_INTERVAL_MS, TICK_INTERVAL_MS,
+      new TimerConfig("Job scheduler timer", false));
   }
 
   @PreDestroy
@@ -64,11 +56,11 @@ public class JobScheduleV2Timer {
   }
 
   @Timeout
-  public void schedule() throws JobException, ProjectException, ServiceException, GenericException {
-    if (!payaraClusterManager.amIThePrimary()) {
-      return;
+  public void schedule() {
+    try {
+      jobScheduler.tick();
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error launching scheduled jobs", e);
     }
-    LOGGER.fine("JobScheduleV2Timer schedule just triggered");
-    jobScheduleController.executeWithCron();
   }
 }
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Schedule ids ordered by their next execution time. A schedule is queued at most once, offering it again replaces
+ * its previous execution time.
+ */
+class ScheduleQueue {
+
+  private final TreeSet<Entry> queue = new TreeSet<>(Comparator.comparing((Entry e) -> e.due)
+    .thenComparing(e -> e.scheduleId));
+  private final Map<Integer, Entry> entries = new HashMap<>();
+
+  synchronized void offer(Integer scheduleId, Instant due) {
+    remove(scheduleId);
+    Entry entry = new Entry(scheduleId, due);
+    entries.put(scheduleId, entry);
+    queue.add(entry);
+  }
+
+  synchronized void remove(Integer scheduleId) {
+    Entry entry = entries.remove(scheduleId);
+    if (entry != null) {
+      queue.remove(entry);
+    }
+  }
+
+  /**
+   * Remove and return all schedules due at or before now, in order of their execution time
+   *
+   * @param now
+   * @return due schedule ids
+   */
+  synchronized List<Integer> pollDue(Instant now) {
+    List<Integer> due = new ArrayList<>();
+    while (!queue.isEmpty() && !queue.first().due.isAfter(now)) {
+      Entry entry = queue.pollFirst();
+      entries.remove(entry.scheduleId);
+      due.add(entry.scheduleId);
+    }
+    return due;
+  }
+
+  /**
+   * @param scheduleId
+   * @return queued execution time of the schedule, null if it is not queued
+   */
+  synchronized Instant getDue(Integer scheduleId) {
+    Entry entry = entries.get(scheduleId);
+    return entry == null ? null : entry.due;
+  }
+
+  synchronized void clear() {
+    queue.clear();
+    entries.clear();
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static final class Entry {
+    private final Integer scheduleId;
+    private final Instant due;
+
+    private Entry(Integer scheduleId, Instant due) {
+      this.scheduleId = scheduleId;
+      this.due = due;
+    }
+  }
+}
@@ -51,6 +51,7 @@ import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
 import io.hops.hopsworks.common.jobs.AsynchronousJobExecutor;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.JobType;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.yarn.LocalResourceDTO;
+import io.hops.hopsworks.common.jobs.yarn.JobArtifactStore;
 import io.hops.hopsworks.common.jobs.yarn.YarnRunner;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.common.util.SparkConfigurationUtil;
@@ -136,6 +137,8 @@ public class SparkYarnRunnerBuilder {
     String stagingPath = "/Projects/" + project.getName() + "/" + Settings.PROJECT_STAGING_DIR + "/.sparkjobstaging-"
       + YarnRunner.APPID_PLACEHOLDER;
     builder.localResourcesBasePath(stagingPath);
+    builder.artifactStoreDir("/Projects/" + project.getName() + "/" + Settings.PROJECT_STAGING_DIR + "/"
+      + JobArtifactStore.STORE_DIR_NAME);
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
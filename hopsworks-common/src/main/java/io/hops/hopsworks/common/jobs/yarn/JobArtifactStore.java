@@ -0,0 +1,326 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.yarn;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
+import io.hops.hopsworks.common.hdfs.DistributedFsService;
+import io.hops.hopsworks.common.hdfs.FsPermissions;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timer;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Content addressed store in HopsFS for files generated at job submission, such as the Spark distcache.conf.
+ *
+ * An artifact is stored once per store directory under the hash of its content, so executions of the same job, and
+ * of jobs of the same project with the same resources, reuse it instead of writing and stating a new file on every
+ * submission. An artifact found in HopsFS is only reused if its content matches its hash. Store directories are sticky,
+ * so members of the project can add artifacts but not replace the artifacts of other members.
+ *
+ * As artifacts never change, their FileStatus can be cached safely. Artifacts are reference counted while a submission
+ * uses them and deleted once they have not been used for {@link Settings#getJobArtifactStoreMaxIdleMs()}. Every use
+ * touches the access time of the artifact at most once per {@link #TOUCH_INTERVAL_MS}, which is what the primary
+ * Hopsworks node checks before collecting it.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class JobArtifactStore {
+  private static final Logger LOGGER = Logger.getLogger(JobArtifactStore.class.getName());
+  public static final String STORE_DIR_NAME = ".artifacts";
+  private static final long TOUCH_INTERVAL_MS = 60 * 60 * 1000L;
+  private static final long COLLECT_INTERVAL_MS = 24 * 60 * 60 * 1000L;
+  private static final int MAX_CACHED_STATUSES = 10000;
+  static final Path STORE_DIRS = new Path("/" + Settings.DIR_ROOT + "/*/" + Settings.PROJECT_STAGING_DIR + "/"
+    + STORE_DIR_NAME);
+
+  @EJB
+  private Settings settings;
+  @EJB
+  private DistributedFsService dfs;
+  @EJB
+  private PayaraClusterManager payaraClusterManager;
+  @Resource(lookup = "concurrent/hopsExecutorService")
+  private ManagedExecutorService executorService;
+
+  // Cached entries expire before an artifact can be collected, reusing one touches it again
+  private Cache<String, FileStatus> statuses;
+  private final Map<String, AtomicInteger> references = new ConcurrentHashMap<>();
+  // Not persisted, the stores are collected once after every restart
+  private volatile long lastCollected;
+  private volatile boolean accessTimeSupported = true;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong uploads = new AtomicLong();
+  private final AtomicLong collected = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    statuses = Caffeine.newBuilder()
+      .maximumSize(MAX_CACHED_STATUSES)
+      .expireAfterWrite(TOUCH_INTERVAL_MS, TimeUnit.MILLISECONDS)
+      .build();
+  }
+
+  /**
+   * Store content in storeDir, or reuse the artifact if the same content has already been stored there. The
+   * returned artifact must be released with {@link #release(FileStatus)} once the application has been submitted.
+   *
+   * @param dfso client of the user submitting the job
+   * @param storeDir store directory, shared by all jobs which can read each other's artifacts
+   * @param name name of the file, part of the artifact path
+   * @param content
+   * @return status of the stored artifact
+   * @throws IOException
+   */
+  public FileStatus acquire(DistributedFileSystemOps dfso, String storeDir, String name, byte[] content)
+    throws IOException {
+    Path artifact = new Path(storeDir, DigestUtils.sha256Hex(content) + "-" + name);
+    String key = key(artifact);
+    references.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    try {
+      // Only verified artifacts are cached. YARN rejects a resource whose modification time does not match the status,
+      // so an artifact replaced since then fails the submission instead of being used.
+      FileStatus status = statuses.getIfPresent(key);
+      if (status != null) {
+        hits.incrementAndGet();
+        return status;
+      }
+      FileSystem fs = dfso.getFilesystem();
+      status = getFileStatus(fs, artifact);
+      if (status != null && !matches(fs, status, content)) {
+        LOGGER.log(Level.WARNING, "Job artifact {0} does not match its hash, replacing it", artifact);
+        fs.delete(artifact, false);
+        status = null;
+      }
+      if (status == null) {
+        status = upload(dfso, storeDir, artifact, content);
+      } else {
+        hits.incrementAndGet();
+        touch(fs, artifact);
+      }
+      statuses.put(key, status);
+      return status;
+    } catch (IOException | RuntimeException e) {
+      release(key);
+      throw e;
+    }
+  }
+
+  public void release(FileStatus artifact) {
+    release(key(artifact.getPath()));
+  }
+
+  private static String key(Path artifact) {
+    return artifact.toUri().getPath();
+  }
+
+  private void release(String key) {
+    references.computeIfPresent(key, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+  }
+
+  private FileStatus upload(DistributedFileSystemOps dfso, String storeDir, Path artifact, byte[] content)
+    throws IOException {
+    FileSystem fs = dfso.getFilesystem();
+    Path storePath = new Path(storeDir);
+    if (!fs.exists(storePath)) {
+      dfso.mkdirs(storePath, FsPermissions.rwxrwx___T);
+      // Every member of the project adds artifacts, only their owner can delete or replace them
+      dfso.setPermission(storePath, FsPermissions.rwxrwx___T);
+    }
+    // Write to a temporary file so that concurrent submissions never see a partial artifact and the first rename wins
+    Path tmp = new Path(storeDir, "." + UUID.randomUUID());
+    dfso.create(tmp, content);
+    if (fs.rename(tmp, artifact)) {
+      uploads.incrementAndGet();
+      return fs.getFileStatus(artifact);
+    }
+    fs.delete(tmp, false);
+    FileStatus status = fs.getFileStatus(artifact);
+    if (!matches(fs, status, content)) {
+      throw new IOException("Job artifact " + artifact + " does not match its hash and cannot be replaced");
+    }
+    return status;
+  }
+
+  private boolean matches(FileSystem fs, FileStatus status, byte[] content) throws IOException {
+    if (status.getLen() != content.length) {
+      return false;
+    }
+    try (FSDataInputStream in = fs.open(status.getPath())) {
+      return DigestUtils.sha256Hex(content).equals(DigestUtils.sha256Hex(in));
+    }
+  }
+
+  private void touch(FileSystem fs, Path artifact) {
+    if (!accessTimeSupported) {
+      return;
+    }
+    try {
+      fs.setTimes(artifact, -1, System.currentTimeMillis());
+    } catch (IOException e) {
+      // Without access times there is no safe way to tell that another node still uses an artifact
+      accessTimeSupported = false;
+      LOGGER.log(Level.WARNING, "Access times are not supported, job artifacts will not be collected", e);
+    }
+  }
+
+  /**
+   * Get the status of every path, looking them up in parallel
+   *
+   * @param fs
+   * @param paths
+   * @return status of each path, in the order of paths
+   * @throws IOException if any of the paths does not exist or cannot be read
+   */
+  public List<FileStatus> getFileStatuses(FileSystem fs, List<Path> paths) throws IOException {
+    if (paths.size() <= 1) {
+      List<FileStatus> result = new ArrayList<>(paths.size());
+      for (Path path : paths) {
+        result.add(fs.getFileStatus(path));
+      }
+      return result;
+    }
+    List<CompletableFuture<FileStatus>> lookups = new ArrayList<>(paths.size());
+    for (Path path : paths) {
+      lookups.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return fs.getFileStatus(path);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }, executorService));
+    }
+    List<FileStatus> result = new ArrayList<>(paths.size());
+    try {
+      for (CompletableFuture<FileStatus> lookup : lookups) {
+        result.add(lookup.join());
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw e;
+    }
+    return result;
+  }
+
+  private FileStatus getFileStatus(FileSystem fs, Path path) throws IOException {
+    try {
+      return fs.getFileStatus(path);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+  }
+
+  @Schedule(persistent = false,
+    minute = "17",
+    hour = "*",
+    info = "Job artifact store collection")
+  public void collect(Timer timer) {
+    long now = System.currentTimeMillis();
+    if (!accessTimeSupported || now - lastCollected < COLLECT_INTERVAL_MS || !payaraClusterManager.amIThePrimary()) {
+      return;
+    }
+    DistributedFileSystemOps dfso = null;
+    try {
+      dfso = dfs.getDfsOps();
+      // The store directories are looked up in HopsFS so that stores used before a restart or on other nodes are
+      // collected as well
+      FileStatus[] storeDirs = dfso.getFilesystem().globStatus(STORE_DIRS);
+      if (storeDirs != null) {
+        for (FileStatus storeDir : storeDirs) {
+          collect(dfso, storeDir.getPath(), now - settings.getJobArtifactStoreMaxIdleMs());
+        }
+      }
+      lastCollected = now;
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error collecting job artifacts", e);
+    } finally {
+      if (dfso != null) {
+        dfs.closeDfsClient(dfso);
+      }
+    }
+  }
+
+  private void collect(DistributedFileSystemOps dfso, Path storeDir, long cutoff) throws IOException {
+    FileStatus[] artifacts;
+    try {
+      artifacts = dfso.listStatus(storeDir);
+    } catch (FileNotFoundException e) {
+      return;
+    }
+    for (FileStatus artifact : artifacts) {
+      String key = key(artifact.getPath());
+      if (Math.max(artifact.getModificationTime(), artifact.getAccessTime()) > cutoff
+        || references.containsKey(key)) {
+        continue;
+      }
+      statuses.invalidate(key);
+      if (dfso.getFilesystem().delete(artifact.getPath(), false)) {
+        collected.incrementAndGet();
+      }
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getUploads() {
+    return uploads.get();
+  }
+
+  public long getCollected() {
+    return collected.get();
+  }
+}
@@ -40,6 +40,7 @@
 package io.hops.hopsworks.common.jobs.yarn;
 
 import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionStatusUpdate;
 import io.hops.hopsworks.common.jobs.JobsMonitor;
 import io.hops.hopsworks.common.jobs.execution.ExecutionUpdateController;
 import io.hops.hopsworks.common.util.PayaraClusterManager;
@@ -50,7 +51,7 @@ import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalS
 import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
 import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
 import org.apache.hadoop.yarn.api.records.ApplicationId;
-import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
 import org.apache.hadoop.yarn.api.records.YarnApplicationState;
 import org.apache.hadoop.yarn.client.api.YarnClient;
 import org.apache.hadoop.yarn.exceptions.YarnException;
@@ -84,6 +85,9 @@ import java.util.logging.Logger;
 public class YarnJobsMonitor implements JobsMonitor {
 
   private static final Logger LOGGER = Logger.getLogger(YarnJobsMonitor.class.getName());
+  private static final long INTERVAL_MS = 5000L; // 5 sec
+  // Smaller progress changes are not written to the database
+  private static final float PROGRESS_DELTA = 0.01f;
 
   @EJB
   private Settings settings;
@@ -106,8 +110,7 @@ public class YarnJobsMonitor implements JobsMonitor {
   @PostConstruct
   public void init() {
     //number of milliseconds that must elapse between timer expiration notifications
-    long intervalDuration = 5000L; // 5 sec
-    timer = timerService.createIntervalTimer(0, intervalDuration, new TimerConfig("Yarn job monitor timer",
+    timer = timerService.createIntervalTimer(0, INTERVAL_MS, new TimerConfig("Yarn job monitor timer",
       false));
   }
 
@@ -123,74 +126,147 @@ public class YarnJobsMonitor implements JobsMonitor {
   Map<String, Integer> failures = new HashMap<>();
   private final Map<ApplicationId, Future<Execution>> copyLogsFutures = new HashMap<>();
   
+  private volatile long lastLoopDurationMs;
+  private volatile int trackedApplications;
+  private volatile int lastUpdatedExecutions;
+  
   @Timeout
   public synchronized void yarnJobMonitor(Timer timer) {
     if (!payaraClusterManager.amIThePrimary()) {
       return;
     }
+    long start = System.currentTimeMillis();
     YarnClientWrapper yarnClientWrapper = null;
     try {
       yarnClientWrapper = yarnClientService.getYarnClientSuper();
-      Map<String, Execution> executions = new HashMap<>();
+      Map<ApplicationId, Execution> executions = new HashMap<>();
       List<Execution> execs = executionFacade.findNotFinished();
       if (execs != null && !execs.isEmpty()) {
         for (Execution exec : execs) {
           if (exec.getAppId() != null) {
-            executions.put(exec.getAppId(), exec);
+            executions.put(ApplicationId.fromString(exec.getAppId()), exec);
           }
         }
         maxStatusPollRetry = settings.getMaxStatusPollRetry();
-        List<String> toRemove = new ArrayList<>();
-        for (Map.Entry<String, Execution> entry : executions.entrySet()) {
-          ApplicationId appId = ApplicationId.fromString(entry.getKey());
-          Execution exec = internalMonitor(yarnClientWrapper.getYarnClient(), appId, executions.get(entry.getKey()));
-          if (exec == null) {
-            toRemove.add(entry.getKey());
-          }
-        }
-        for (String appID : toRemove) {
-          failures.remove(appID);
-        }
+        failures.keySet().removeIf(appId -> !executions.containsKey(ApplicationId.fromString(appId)));
         // This is here to do bookkeeping. Remove from the map all the executions which have finished copying the logs
         copyLogsFutures.entrySet().removeIf(futureResult -> futureResult.getValue().isDone());
+        monitor(yarnClientWrapper.getYarnClient(), executions);
       }
+      trackedApplications = executions.size();
     } catch (Exception ex) {
       LOGGER.log(Level.SEVERE, "Error while monitoring jobs", ex);
     } finally {
       yarnClientService.closeYarnClient(yarnClientWrapper);
     }
+    lastLoopDurationMs = System.currentTimeMillis() - start;
+    if (lastLoopDurationMs > INTERVAL_MS) {
+      LOGGER.log(Level.WARNING, "Monitoring {0} applications took {1} ms, longer than the monitor interval",
+        new Object[]{trackedApplications, lastLoopDurationMs});
+    } else {
+      LOGGER.log(Level.FINE, "Monitored {0} applications in {1} ms, updated {2} executions",
+        new Object[]{trackedApplications, lastLoopDurationMs, lastUpdatedExecutions});
+    }
   }
   
-  private Execution internalMonitor(YarnClient yarnClient, ApplicationId appId, Execution exec) {
-    try {
-      YarnApplicationState appState = yarnMonitor.getApplicationState(yarnClient, appId);
-      FinalApplicationStatus finalAppStatus = yarnMonitor.getFinalApplicationStatus(yarnClient, appId);
-      float progress = yarnMonitor.getProgress(yarnClient, appId);
-      exec = updateProgress(progress, exec);
-      exec = updateState(JobState.getJobState(appState), exec);
-      exec = updateFinalStatus(JobFinalStatus.getJobFinalStatus(finalAppStatus), exec);
-      
-      if ((appState == YarnApplicationState.FAILED
+  private void monitor(YarnClient yarnClient, Map<ApplicationId, Execution> executions) {
+    Map<ApplicationId, ApplicationReport> reports = getReports(yarnClient, executions);
+    List<ExecutionStatusUpdate> updates = new ArrayList<>();
+    List<ApplicationId> toFinalize = new ArrayList<>();
+    for (Map.Entry<ApplicationId, Execution> entry : executions.entrySet()) {
+      ApplicationId appId = entry.getKey();
+      Execution exec = entry.getValue();
+      ApplicationReport report = reports.get(appId);
+      if (report == null) {
+        handlePollFailure(yarnClient, appId, exec);
+        continue;
+      }
+      failures.remove(exec.getAppId());
+      if (copyLogsFutures.containsKey(appId)) {
+        // The finalizer owns the execution until the logs are copied
+        continue;
+      }
+      YarnApplicationState appState = report.getYarnApplicationState();
+      JobState state = JobState.getJobState(appState);
+      boolean finished = appState == YarnApplicationState.FAILED
           || appState == YarnApplicationState.FINISHED
-          || appState == YarnApplicationState.KILLED)
-          && !copyLogsFutures.containsKey(appId)) {
-        
-        exec = executionFacade.updateState(exec, JobState.AGGREGATING_LOGS);
+          || appState == YarnApplicationState.KILLED;
+      if (finished) {
+        if (copyLogsFutures.size() + toFinalize.size() >= settings.getYarnJobsMonitorMaxFinalizations()) {
+          // Leave it for the next round, finalizations already in progress will make room
+          continue;
+        }
+        state = JobState.AGGREGATING_LOGS;
+        toFinalize.add(appId);
+      }
+      JobFinalStatus finalStatus = JobFinalStatus.getJobFinalStatus(report.getFinalApplicationStatus());
+      float progress = report.getProgress();
+      // Only executions whose status changed are written
+      if (state != exec.getState() || finalStatus != exec.getFinalStatus()
+          || progressChanged(exec.getProgress(), progress)) {
+        updates.add(new ExecutionStatusUpdate(exec, state, finalStatus, progress));
+      }
+    }
+    
+    Map<Integer, Execution> updated = updates.isEmpty() ? new HashMap<>()
+        : executionUpdateController.updateStatusAndSendAlerts(updates);
+    lastUpdatedExecutions = updated.size();
+    for (ApplicationId appId : toFinalize) {
+      Execution exec = updated.get(executions.get(appId).getId());
+      if (exec == null) {
+        // Nothing changed this round, e.g. an execution left in AGGREGATING_LOGS by a restart, a failover of the
+        // primary or a failed copy. It still needs a finalizer, otherwise it is never finished.
+        exec = executions.get(appId);
+      }
+      try {
         // Async call
         Future<Execution> futureResult = execFinalizer.copyLogs(exec);
         copyLogsFutures.put(appId, futureResult);
-        return null;
+      } catch (Exception ex) {
+        LOGGER.log(Level.WARNING, "Failed to start copying the logs of execution " + exec + ", retrying next round",
+          ex);
       }
+    }
+  }
+  
+  /**
+   * Get the reports of all active applications with a single call. Applications which have finished since the last
+   * round are not part of it, their reports are fetched one by one.
+   */
+  private Map<ApplicationId, ApplicationReport> getReports(YarnClient yarnClient,
+      Map<ApplicationId, Execution> executions) {
+    Map<ApplicationId, ApplicationReport> reports;
+    try {
+      reports = yarnMonitor.getActiveApplicationReports(yarnClient, executions.keySet());
     } catch (IOException | YarnException ex) {
-      Integer failure = failures.get(exec.getAppId());
-      if (failure == null) {
-        failure = 1;
-      } else {
-        failure++;
+      LOGGER.log(Level.WARNING, "Failed to list the active applications, falling back to one request per application",
+          ex);
+      reports = new HashMap<>();
+    }
+    for (Map.Entry<ApplicationId, Execution> entry : executions.entrySet()) {
+      ApplicationId appId = entry.getKey();
+      if (reports.containsKey(appId) || copyLogsFutures.containsKey(appId)) {
+        continue;
+      }
+      try {
+        reports.put(appId, yarnMonitor.getApplicationReport(yarnClient, appId));
+      } catch (IOException | YarnException ex) {
+        Execution exec = entry.getValue();
+        int failure = failures.merge(exec.getAppId(), 1, Integer::sum);
+        LOGGER.log(Level.WARNING, "Failed to get application state for execution " + exec + ". Tried " + failure
+            + " time(s).", ex);
       }
-      failures.put(exec.getAppId(), failure);
-      LOGGER.log(Level.WARNING, "Failed to get application state for execution " + exec + ". Tried " + failures
-          + " time(s).", ex);
+    }
+    return reports;
+  }
+  
+  private boolean progressChanged(float previous, float current) {
+    return Math.abs(current - previous) >= PROGRESS_DELTA || (current != previous && (current == 0 || current == 1));
+  }
+  
+  private void handlePollFailure(YarnClient yarnClient, ApplicationId appId, Execution exec) {
+    if (copyLogsFutures.containsKey(appId)) {
+      return;
     }
     if (failures.get(exec.getAppId()) != null && failures.get(exec.getAppId()) > maxStatusPollRetry) {
       try {
@@ -203,9 +279,29 @@ public class YarnJobsMonitor implements JobsMonitor {
         LOGGER.log(Level.SEVERE, "Failed to cancel execution, " + exec + " after failing to poll for status.", ex);
         execFinalizer.finalizeExecution(exec, JobState.FRAMEWORK_FAILURE);
       }
-      return null;
+      failures.remove(exec.getAppId());
     }
-    return exec;
+  }
+  
+  /**
+   * @return duration of the last monitoring round in milliseconds
+   */
+  public long getLastLoopDurationMs() {
+    return lastLoopDurationMs;
+  }
+  
+  /**
+   * @return number of applications monitored in the last round
+   */
+  public int getTrackedApplications() {
+    return trackedApplications;
+  }
+  
+  /**
+   * @return number of executions whose status changed in the last round
+   */
+  public int getLastUpdatedExecutions() {
+    return lastUpdatedExecutions;
   }
   
   @Override
@@ -43,6 +43,7 @@ import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
 import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
 import org.apache.hadoop.yarn.api.records.LogAggregationStatus;
 import org.apache.hadoop.yarn.api.records.YarnApplicationState;
@@ -58,6 +59,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -66,6 +71,9 @@ import java.util.logging.Logger;
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 public class YarnMonitor {
   private static final Logger LOGGER = Logger.getLogger(YarnMonitor.class.getName());
+  private static final EnumSet<YarnApplicationState> ACTIVE_STATES = EnumSet.of(YarnApplicationState.NEW,
+      YarnApplicationState.NEW_SAVING, YarnApplicationState.SUBMITTED, YarnApplicationState.ACCEPTED,
+      YarnApplicationState.RUNNING);
 
 
   //---------------------------------------------------------------------------        
@@ -90,6 +98,31 @@ public class YarnMonitor {
     return yarnClient.getApplicationReport(appId).getProgress();
   }
   
+  public ApplicationReport getApplicationReport(YarnClient yarnClient, ApplicationId appId)
+      throws YarnException, IOException {
+    return yarnClient.getApplicationReport(appId);
+  }
+  
+  /**
+   * Get the reports of all applications which are not finished yet with a single call to the ResourceManager
+   *
+   * @param yarnClient
+   * @param appIds applications to return the reports of
+   * @return reports of the applications in appIds which are not finished, finished applications are missing
+   * @throws YarnException
+   * @throws IOException
+   */
+  public Map<ApplicationId, ApplicationReport> getActiveApplicationReports(YarnClient yarnClient,
+      Set<ApplicationId> appIds) throws YarnException, IOException {
+    Map<ApplicationId, ApplicationReport> reports = new HashMap<>();
+    for (ApplicationReport report : yarnClient.getApplications(ACTIVE_STATES)) {
+      if (appIds.contains(report.getApplicationId())) {
+        reports.put(report.getApplicationId(), report);
+      }
+    }
+    return reports;
+  }
+  
   //---------------------------------------------------------------------------        
   //------------------------- YARNCLIENT UTILS --------------------------------
   //---------------------------------------------------------------------------
@@ -80,6 +80,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -89,6 +90,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -117,6 +119,8 @@ public class YarnRunner {
   private Map<String, LocalResourceDTO> amLocalResourcesOnHDFS;
   private Map<String, String> amEnvironment;
   private String localResourcesBasePath;
+  private String artifactStoreDir;
+  private final List<FileStatus> acquiredArtifacts = new ArrayList<>();
   private List<String> filesToBeCopied;
   private List<YarnSetupCommand> commands;
   private List<String> javaOptions;
@@ -238,38 +242,42 @@ public class YarnRunner {
       appContext.setApplicationName(appName);
       appContext.setApplicationType("Hopsworks-Yarn");
 
-      //Add local resources to AM container
-      Map<String, LocalResource> localResources = addAllToLocalResources(dfso);
+      try {
+        //Add local resources to AM container
+        Map<String, LocalResource> localResources = addAllToLocalResources(dfso);
 
-      //Copy files to HDFS that are expected to be there
-      copyAllToHDFS();
+        //Copy files to HDFS that are expected to be there
+        copyAllToHDFS();
       
-      //Set up environment
-      Map<String, String> env = new HashMap<>(amEnvironment);
-      setUpClassPath(env);
-
-      //Set up commands
-      List<String> amCommands = setUpCommands();
-      //Set up container launch context
-      ContainerLaunchContext amContainer = ContainerLaunchContext.newInstance(
-          localResources, env, amCommands, null, null, null);
-
-      //Finally set up context
-      appContext.setAMContainerSpec(amContainer); //container spec
-      appContext.setResource(Resource.newInstance(amMemory, amVCores)); //resources
-      appContext.setQueue(amQueue); //Queue
-
-      // Signify that ready to submit
-      readyToSubmit = true;
-
-      //Run any remaining commands
-      for (YarnSetupCommand c : commands) {
-        c.execute(this);
-      }
+        //Set up environment
+        Map<String, String> env = new HashMap<>(amEnvironment);
+        setUpClassPath(env);
+
+        //Set up commands
+        List<String> amCommands = setUpCommands();
+        //Set up container launch context
+        ContainerLaunchContext amContainer = ContainerLaunchContext.newInstance(
+            localResources, env, amCommands, null, null, null);
+
+        //Finally set up context
+        appContext.setAMContainerSpec(amContainer); //container spec
+        appContext.setResource(Resource.newInstance(amMemory, amVCores)); //resources
+        appContext.setQueue(amQueue); //Queue
+
+        // Signify that ready to submit
+        readyToSubmit = true;
+
+        //Run any remaining commands
+        for (YarnSetupCommand c : commands) {
+          c.execute(this);
+        }
       
-      //And submit
-      logger.log(Level.INFO, "Submitting application {0}", appId);
-      yarnClient.submitApplication(appContext);
+        //And submit
+        logger.log(Level.INFO, "Submitting application {0}", appId);
+        yarnClient.submitApplication(appContext);
+      } finally {
+        releaseArtifacts();
+      }
 
     } else if (jobType == JobType.FLINK) {
       logger.log(Level.INFO, "FLINK: YarnRunner got a Flink Job!");
@@ -396,18 +404,25 @@ public class YarnRunner {
     String basePath = hdfsPrefix + localResourcesBasePath;
     logger.log(Level.FINER, "Base path: {0}", basePath);
     //For all local resources with hdfs path: add local resource
-    for (Entry<String, LocalResourceDTO> entry : amLocalResourcesOnHDFS.
-        entrySet()) {
+    List<Entry<String, LocalResourceDTO>> entries = new ArrayList<>(amLocalResourcesOnHDFS.entrySet());
+    List<Path> srcs = new ArrayList<>(entries.size());
+    for (Entry<String, LocalResourceDTO> entry : entries) {
       logger.log(Level.FINE, "LocalResourceDTO to upload is :{0}", entry.
           toString());
-      String key = entry.getKey();
       String pathToResource = entry.getValue().getPath();
       pathToResource = pathToResource.replaceFirst("hdfs:/*Projects",
           "hdfs:///Projects");
       pathToResource = pathToResource.replaceFirst("hdfs:/*user",
           "hdfs:///user");
-      Path src = new Path(pathToResource);
-      FileStatus scFileStat = fs.getFileStatus(src);
+      srcs.add(new Path(pathToResource));
+    }
+    //Resolve all resources at once instead of one NameNode round trip after the other
+    List<FileStatus> srcStats = services.getJobArtifactStore().getFileStatuses(fs, srcs);
+    for (int i = 0; i < entries.size(); i++) {
+      Entry<String, LocalResourceDTO> entry = entries.get(i);
+      String key = entry.getKey();
+      Path src = srcs.get(i);
+      FileStatus scFileStat = srcStats.get(i);
       LocalResource scRsrc = LocalResource.newInstance(ConverterUtils.
           getYarnUrlFromPath(src),
           LocalResourceType.
@@ -428,7 +443,8 @@ public class YarnRunner {
       StringBuilder sizes = new StringBuilder();
       StringBuilder visibilities = new StringBuilder();
       StringBuilder types = new StringBuilder();
-      for (Entry<String, LocalResource> entry : localResources.entrySet()) {
+      //Sorted, so that the same resources always produce the same distcache.conf
+      for (Entry<String, LocalResource> entry : new TreeMap<>(localResources).entrySet()) {
         Path destPath = ConverterUtils.getPathFromYarnURL(entry.getValue().
             getResource());
         URI sparkUri = destPath.toUri();
@@ -453,12 +469,21 @@ public class YarnRunner {
       distCacheConf.append(Settings.SPARK_CACHE_TYPES + "\t" +
         types.substring(0, types.length() - 1) + "\n");
 
-      String distCacheConfPath = hdfsPrefix + localResourcesBasePath + "/distcache.conf";
-      Path distCacheSrc = new Path(distCacheConfPath);
-      dfs.create(new Path(distCacheConfPath),
-        distCacheConf.toString());
-
-      FileStatus distCacheFileStat = fs.getFileStatus(distCacheSrc);
+      Path distCacheSrc;
+      FileStatus distCacheFileStat;
+      if (artifactStoreDir != null) {
+        //Executions with the same resources share the same distcache.conf
+        distCacheFileStat = services.getJobArtifactStore().acquire(dfs, artifactStoreDir, "distcache.conf",
+          distCacheConf.toString().getBytes(StandardCharsets.UTF_8));
+        acquiredArtifacts.add(distCacheFileStat);
+        distCacheSrc = distCacheFileStat.getPath();
+      } else {
+        String distCacheConfPath = hdfsPrefix + localResourcesBasePath + "/distcache.conf";
+        distCacheSrc = new Path(distCacheConfPath);
+        dfs.create(new Path(distCacheConfPath),
+          distCacheConf.toString());
+        distCacheFileStat = fs.getFileStatus(distCacheSrc);
+      }
 
       LocalResource scRsrc = LocalResource.newInstance(
         ConverterUtils.getYarnUrlFromPath(distCacheSrc),
@@ -471,6 +496,13 @@ public class YarnRunner {
     return localResources;
   }
 
+  private void releaseArtifacts() {
+    for (FileStatus artifact : acquiredArtifacts) {
+      services.getJobArtifactStore().release(artifact);
+    }
+    acquiredArtifacts.clear();
+  }
+
   private void copyAllToHDFS() throws IOException {
     FileSystem fs = dfsClient.getFilesystem();
     String hdfsPrefix = conf.get("fs.defaultFS");
@@ -585,6 +617,7 @@ public class YarnRunner {
     this.amLocalResourcesOnHDFS = builder.amLocalResourcesOnHDFS;
     this.amEnvironment = builder.amEnvironment;
     this.localResourcesBasePath = builder.localResourcesBasePath;
+    this.artifactStoreDir = builder.artifactStoreDir;
     this.yarnClient = builder.yarnClient;
     this.dfsClient = builder.dfsClient;
     this.conf = builder.conf;
@@ -650,6 +683,8 @@ public class YarnRunner {
     private Map<String, String> amEnvironment = new HashMap<>();
     //Path where the application master expects its local resources to be (added to fs.getHomeDirectory)
     private String localResourcesBasePath;
+    //Directory of the content addressed store for generated files, null to write them to localResourcesBasePath
+    private String artifactStoreDir;
     //Signify whether the application master jar should be added to local resources
     private boolean shouldAddAmJarToLocalResources = true;
     //List of files to be copied to localResourcesBasePath
@@ -798,6 +833,18 @@ public class YarnRunner {
     }
     
 
+    /**
+     * Set the directory of the {@link JobArtifactStore} where generated files such as the distcache.conf are
+     * stored and shared between executions. If not set, they are written to the local resources base path.
+     *
+     * @param storeDir
+     * @return
+     */
+    public Builder artifactStoreDir(String storeDir) {
+      this.artifactStoreDir = storeDir;
+      return this;
+    }
+
     /**
      * Add a hdfs resource that should be added to the AM container.The name
  is the key as used in the LocalResources
@@ -15,25 +15,28 @@
  */
 package io.hops.hopsworks.common.jupyter;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
 import io.hops.hopsworks.common.dao.project.ProjectFacade;
 import io.hops.hopsworks.common.dao.user.UserFacade;
-import io.hops.hopsworks.common.util.DateUtils;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.user.Users;
 
+import javax.annotation.PostConstruct;
 import javax.ejb.EJB;
 import javax.ejb.Singleton;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
 import java.nio.file.Paths;
-import java.util.Collection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
@@ -42,6 +45,12 @@ import java.util.TreeSet;
 @TransactionAttribute(TransactionAttributeType.NEVER)
 public class JupyterJWTCache {
   private static final String MAP_NAME = "jupyterJWTMap";
+  private static final String EXPIRATION_ATTRIBUTE = "expiration";
+  // Tokens of different project/user pairs may expire at the same instant, they must not collapse into one entry
+  private static final Comparator<JupyterJWTDTO> EXPIRATION_ORDER = Comparator
+    .comparing(JupyterJWTDTO::getExpiration)
+    .thenComparing(JupyterJWTDTO::getProjectId)
+    .thenComparing(JupyterJWTDTO::getUserId);
   @Inject
   private HazelcastInstance hazelcastInstance;
   @EJB
@@ -49,21 +58,20 @@ public class JupyterJWTCache {
   @EJB
   private UserFacade userFacade;
   
-  private final TreeSet<JupyterJWTDTO> jupyterJWTs = new TreeSet<>((t0, t1) -> {
-    if (t0.equals(t1)) {
-      return 0;
-    } else {
-      if (t0.getExpiration().isBefore(t1.getExpiration())) {
-        return -1;
-      } else if (t0.getExpiration().isAfter(t1.getExpiration())) {
-        return 1;
-      }
-      return 0;
-    }
-  });
+  private final TreeSet<JupyterJWTDTO> jupyterJWTs = new TreeSet<>(EXPIRATION_ORDER);
   
   private final HashMap<CidAndPort, JupyterJWT> pidAndPortToJWT = new HashMap<>();
   
+  @PostConstruct
+  public void init() {
+    if (hazelcastInstance != null) {
+      // Sorted index so that the renewal query does not deserialize every token in the map. The index is added to
+      // the map itself, a map config would not apply to a map which already exists. Adding it again is a no-op.
+      IMap<CidAndPort, JupyterJWTDTO> pidAndPortToJWTMap = hazelcastInstance.getMap(MAP_NAME);
+      pidAndPortToJWTMap.addIndex(IndexType.SORTED, EXPIRATION_ATTRIBUTE);
+    }
+  }
+  
   public void add(JupyterJWT jupyterJWT) {
     if (hazelcastInstance != null) {
       IMap<CidAndPort, JupyterJWTDTO> pidAndPortToJWTMap = hazelcastInstance.getMap(MAP_NAME);
@@ -97,7 +105,9 @@ public class JupyterJWTCache {
       pidAndPortToJWTMap.remove(pidAndPort);
     } else {
       JupyterJWT jupyterJWT = pidAndPortToJWT.remove(pidAndPort);
-      jupyterJWTs.remove(new JupyterJWTDTO(jupyterJWT));
+      if (jupyterJWT != null) {
+        jupyterJWTs.remove(new JupyterJWTDTO(jupyterJWT));
+      }
     }
   }
   
@@ -109,6 +119,10 @@ public class JupyterJWTCache {
       renewedJWTs.forEach(t -> {
         //remove old token
         JupyterJWT jupyterJWT = pidAndPortToJWT.remove(t.pidAndPort);
+        if (jupyterJWT == null) {
+          // Token has been cleaned up while it was renewed
+          return;
+        }
         jupyterJWTs.remove(new JupyterJWTDTO(jupyterJWT));
         //Add the new token
         jupyterJWTs.add(new JupyterJWTDTO(t));
@@ -126,14 +140,25 @@ public class JupyterJWTCache {
     }
   }
   
-  public Iterator<JupyterJWTDTO> getMaybeExpired() {
+  /**
+   * @param instant
+   * @return the tokens which expire at or before instant, sorted by expiration date
+   */
+  public List<JupyterJWTDTO> getExpiringBefore(LocalDateTime instant) {
+    List<JupyterJWTDTO> expiring = new ArrayList<>();
     if (hazelcastInstance != null) {
       IMap<CidAndPort, JupyterJWTDTO> pidAndPortToJWTMap = hazelcastInstance.getMap(MAP_NAME);
-      Predicate<CidAndPort, JupyterJWTDTO> expirationPredicate = Predicates.lessEqual("expiration", DateUtils.getNow());
-      Collection<JupyterJWTDTO> jupyterJWTDTOS = pidAndPortToJWTMap.values(expirationPredicate);
-      return jupyterJWTDTOS.iterator();
+      Predicate<CidAndPort, JupyterJWTDTO> expirationPredicate = Predicates.lessEqual(EXPIRATION_ATTRIBUTE, instant);
+      expiring.addAll(pidAndPortToJWTMap.values(expirationPredicate));
+      expiring.sort(EXPIRATION_ORDER);
     } else {
-      return jupyterJWTs.iterator();
+      for (JupyterJWTDTO jupyterJWT : jupyterJWTs) {
+        if (jupyterJWT.getExpiration().isAfter(instant)) {
+          break;
+        }
+        expiring.add(jupyterJWT);
+      }
     }
+    return expiring;
   }
 }
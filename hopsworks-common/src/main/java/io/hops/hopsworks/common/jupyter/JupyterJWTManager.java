@@ -18,6 +18,7 @@ package io.hops.hopsworks.common.jupyter;
 
 import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.common.collect.Lists;
 import io.hops.hopsworks.api.auth.UserUtilities;
 import io.hops.hopsworks.common.dao.jupyter.MaterializedJWTFacade;
 import io.hops.hopsworks.common.dao.jupyter.JupyterSettingsFacade;
@@ -55,6 +56,7 @@ import javax.ejb.TimerConfig;
 import javax.ejb.TimerService;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -62,14 +64,18 @@ import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -83,6 +89,8 @@ import static java.util.logging.Level.WARNING;
 public class JupyterJWTManager {
   private static final Logger LOG = Logger.getLogger(JupyterJWTManager.class.getName());
   public static final String TOKEN_FILE_NAME = "token.jwt";
+  // Upper bound of tokens renewed at the same time by the monitor
+  private static final int MAX_CONCURRENT_RENEWALS = 8;
 
   @EJB
   private Settings settings;
@@ -106,6 +114,8 @@ public class JupyterJWTManager {
   private JupyterJWTTokenWriter jwtTokenWriter;
   @Resource
   private TimerService timerService;
+  @Resource(lookup = "concurrent/hopsExecutorService")
+  private ManagedExecutorService executorService;
   @EJB
   private PayaraClusterManager payaraClusterManager;
   @EJB
@@ -294,56 +304,103 @@ public class JupyterJWTManager {
     if (!payaraClusterManager.amIThePrimary()) {
       return;
     }
-    // Renew the rest of them
-    Set<JupyterJWT> renewedJWTs = new HashSet<>(jupyterJWTCache.getSize());
-    Iterator<JupyterJWTDTO> jupyterJWTs = jupyterJWTCache.getMaybeExpired();
     LocalDateTime now = DateUtils.getNow();
     try {
+      List<JupyterJWTDTO> expiredJWTs = jupyterJWTCache.getExpiringBefore(now);
+      if (expiredJWTs.isEmpty()) {
+        return;
+      }
+      Map<Integer, Project> projects = findProjects(expiredJWTs);
+      Map<Integer, Users> users = findUsers(expiredJWTs);
+      LocalDateTime newExpirationDate = now.plus(settings.getJWTLifetimeMs(), ChronoUnit.MILLIS);
 
-      while (jupyterJWTs.hasNext()) {
-        JupyterJWTDTO element = jupyterJWTs.next();
-        // Elements are sorted by their expiration date.
-        // If element N does not need to be renewed neither does N+1
-        if (element.maybeRenew(now)) {
-          LocalDateTime newExpirationDate = now.plus(settings.getJWTLifetimeMs(), ChronoUnit.MILLIS);
-          String newToken = null;
-          try {
-            newToken = jwtController.renewToken(element.getToken(), DateUtils.localDateTime2Date(newExpirationDate),
-                DateUtils.localDateTime2Date(now), false, new HashMap<>(3));
-            Project project = projectFacade.find(element.getProjectId());
-            Users user = userFacade.find(element.getUserId());
-            JupyterJWT renewedJWT = new JupyterJWT(project, user, newExpirationDate, element.getPidAndPort());
-            renewedJWT.tokenFile = Paths.get(element.getTokenFile());
-            renewedJWT.token = newToken;
-            jwtTokenWriter.writeToken(settings, renewedJWT);
-            renewedJWTs.add(renewedJWT);
-          } catch (JWTException ex) {
-            LOG.log(Level.WARNING, "Could not renew Jupyter JWT for " + element, ex);
-          } catch (IOException ex) {
-            LOG.log(Level.WARNING, "Could not write renewed Jupyter JWT to file for " + element, ex);
-            if (newToken != null) {
-              try {
-                jwtController.invalidate(newToken);
-              } catch (InvalidationException invEx) {
-                LOG.log(Level.FINE, "Could not invalidate failed token", invEx);
-              }
-            }
-          } catch (Exception ex) {
-            LOG.log(Level.SEVERE, "Generic error renewing Jupyter JWT for " + element, ex);
-          }
-        } else {
-          break;
+      Set<JupyterJWT> renewedJWTs = new HashSet<>(expiredJWTs.size());
+      Deque<Future<JupyterJWT>> renewals = new ArrayDeque<>(MAX_CONCURRENT_RENEWALS);
+      for (JupyterJWTDTO element : expiredJWTs) {
+        Project project = projects.get(element.getProjectId());
+        Users user = users.get(element.getUserId());
+        if (project == null || user == null) {
+          LOG.log(Level.WARNING, "Could not renew Jupyter JWT of project " + element.getProjectId() + " and user "
+            + element.getUserId() + " because either Project or User does not exist");
+          continue;
         }
+        if (renewals.size() >= MAX_CONCURRENT_RENEWALS) {
+          collectRenewal(renewals.poll(), renewedJWTs);
+        }
+        renewals.add(executorService.submit(() -> renewToken(element, project, user, now, newExpirationDate)));
+      }
+      while (!renewals.isEmpty()) {
+        collectRenewal(renewals.poll(), renewedJWTs);
       }
-      renewedJWTs.forEach(t -> {
-        removeToken(t.pidAndPort);
-        addToken(t);
-      });
+      jupyterJWTCache.replaceAll(renewedJWTs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.log(Level.WARNING, "Interrupted while renewing jupyter jwt tokens", e);
     } catch (Exception e) {
       LOG.log(Level.SEVERE, "Got an exception while renewing jupyter jwt token" , e);
     }
   }
 
+  private Map<Integer, Project> findProjects(List<JupyterJWTDTO> jupyterJWTs) {
+    List<Integer> ids = jupyterJWTs.stream().map(JupyterJWTDTO::getProjectId).distinct().collect(Collectors.toList());
+    Map<Integer, Project> projects = new HashMap<>(ids.size());
+    for (List<Integer> partition : Lists.partition(ids, settings.getSQLMaxSelectIn())) {
+      projectFacade.findByIds(partition).forEach(p -> projects.put(p.getId(), p));
+    }
+    return projects;
+  }
+
+  private Map<Integer, Users> findUsers(List<JupyterJWTDTO> jupyterJWTs) {
+    List<Integer> uids = jupyterJWTs.stream().map(JupyterJWTDTO::getUserId).distinct().collect(Collectors.toList());
+    Map<Integer, Users> users = new HashMap<>(uids.size());
+    for (List<Integer> partition : Lists.partition(uids, settings.getSQLMaxSelectIn())) {
+      userFacade.findByUids(partition).forEach(u -> users.put(u.getUid(), u));
+    }
+    return users;
+  }
+
+  /**
+   * @return the renewed token or null if it could not be renewed
+   */
+  private JupyterJWT renewToken(JupyterJWTDTO element, Project project, Users user, LocalDateTime now,
+    LocalDateTime newExpirationDate) {
+    String newToken = null;
+    try {
+      newToken = jwtController.renewToken(element.getToken(), DateUtils.localDateTime2Date(newExpirationDate),
+          DateUtils.localDateTime2Date(now), false, new HashMap<>(3));
+      JupyterJWT renewedJWT = new JupyterJWT(project, user, newExpirationDate, element.getPidAndPort());
+      renewedJWT.tokenFile = Paths.get(element.getTokenFile());
+      renewedJWT.token = newToken;
+      jwtTokenWriter.writeToken(settings, renewedJWT);
+      return renewedJWT;
+    } catch (JWTException ex) {
+      LOG.log(Level.WARNING, "Could not renew Jupyter JWT for " + element, ex);
+    } catch (IOException ex) {
+      LOG.log(Level.WARNING, "Could not write renewed Jupyter JWT to file for " + element, ex);
+      if (newToken != null) {
+        try {
+          jwtController.invalidate(newToken);
+        } catch (InvalidationException invEx) {
+          LOG.log(Level.FINE, "Could not invalidate failed token", invEx);
+        }
+      }
+    } catch (Exception ex) {
+      LOG.log(Level.SEVERE, "Generic error renewing Jupyter JWT for " + element, ex);
+    }
+    return null;
+  }
+
+  private void collectRenewal(Future<JupyterJWT> renewal, Set<JupyterJWT> renewedJWTs) throws InterruptedException {
+    try {
+      JupyterJWT renewedJWT = renewal.get();
+      if (renewedJWT != null) {
+        renewedJWTs.add(renewedJWT);
+      }
+    } catch (ExecutionException e) {
+      LOG.log(Level.SEVERE, "Generic error renewing Jupyter JWT", e.getCause());
+    }
+  }
+
   @Lock(LockType.WRITE)
   @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
   public void cleanJWT(String cid, Integer port) {
@@ -58,11 +58,11 @@ import io.hops.hopsworks.persistence.entity.kafka.ProjectTopics;
 import io.hops.hopsworks.persistence.entity.kafka.schemas.Subjects;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.restutils.RESTCodes;
-import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.TopicExistsException;
 
 import javax.ejb.ConcurrencyManagement;
 import javax.ejb.ConcurrencyManagementType;
@@ -74,7 +74,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -104,8 +107,22 @@ public class KafkaController {
   @EJB
   protected FeaturestoreStorageConnectorController storageConnectorController;
 
-  
-  public synchronized ProjectTopics createTopic(Project project, TopicDTO topicDto) throws KafkaException {
+  // Names of the topics which are being created on this node
+  private final Set<String> topicsInCreation = ConcurrentHashMap.newKeySet();
+  // Guards counting and creating the topics of a project, striped by project id
+  private final Object[] projectLocks = new Object[64];
+
+  public KafkaController() {
+    for (int i = 0; i < projectLocks.length; i++) {
+      projectLocks[i] = new Object();
+    }
+  }
+
+  /**
+   * Topics of different projects are created concurrently. The topics of a project are created one at a time, so
+   * that the topic limit is checked against the topics created before.
+   */
+  public ProjectTopics createTopic(Project project, TopicDTO topicDto) throws KafkaException {
     if (externalKafka(project)) {
       return null;
     }
@@ -120,14 +137,31 @@ public class KafkaController {
       throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_ALREADY_EXISTS, Level.FINE, "topic name: " + topicName);
     }
     
-    if (projectTopicsFacade.findTopicsByProject(project).size() > project.getKafkaMaxNumTopics()) {
-      throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_LIMIT_REACHED, Level.FINE,
-        "topic name: " + topicName + ", project: " + project.getName());
-    }
-
     checkReplication(topicDto);
 
-    return createTopicInProject(project, topicDto);
+    if (!topicsInCreation.add(topicName)) {
+      throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_ALREADY_EXISTS, Level.FINE, "topic name: " + topicName);
+    }
+    try {
+      synchronized (projectLock(project)) {
+        // Another request may have completed the creation since the first check
+        if (projectTopicsFacade.findTopicByName(topicName).isPresent()) {
+          throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_ALREADY_EXISTS, Level.FINE,
+              "topic name: " + topicName);
+        }
+        if (projectTopicsFacade.findTopicsByProject(project).size() > project.getKafkaMaxNumTopics()) {
+          throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_LIMIT_REACHED, Level.FINE,
+            "topic name: " + topicName + ", project: " + project.getName());
+        }
+        return createTopicInProject(project, topicDto);
+      }
+    } finally {
+      topicsInCreation.remove(topicName);
+    }
+  }
+
+  private Object projectLock(Project project) {
+    return projectLocks[Math.floorMod(Objects.hashCode(project.getId()), projectLocks.length)];
   }
 
   protected void checkReplication(TopicDTO topicDto) throws KafkaException {
@@ -260,26 +294,23 @@ public class KafkaController {
 
   private void createTopicInKafka(TopicDTO topicDTO)
       throws ExecutionException, InterruptedException, TimeoutException, KafkaException {
-    KafkaFuture<CreateTopicsResult> result = hopsKafkaAdminClient.listTopics().names().thenApply(
-      set -> {
-        if (set.contains(topicDTO.getName())) {
-          return null;
-        } else {
-          NewTopic newTopic =
-            new NewTopic(topicDTO.getName(), topicDTO.getNumOfPartitions(), topicDTO.getNumOfReplicas().shortValue());
-          try {
-            return hopsKafkaAdminClient.createTopics(Collections.singleton(newTopic));
-          } catch (Exception e) {
-            LOGGER.log(Level.WARNING, e.getMessage(), e);
-            return null;
-          }
-        }
-      });
-
-    if (result.get(6000, TimeUnit.MILLISECONDS) == null) {
+    // A cached listing may still contain a topic which was deleted on another node, confirm with a fresh listing
+    if (hopsKafkaAdminClient.listTopicNames().get(6000, TimeUnit.MILLISECONDS).contains(topicDTO.getName()) &&
+        hopsKafkaAdminClient.listTopics().names().get(6000, TimeUnit.MILLISECONDS).contains(topicDTO.getName())) {
       throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_ALREADY_EXISTS_IN_ZOOKEEPER, Level.INFO,
           "topic name: " + topicDTO.getName());
     }
+    NewTopic newTopic =
+        new NewTopic(topicDTO.getName(), topicDTO.getNumOfPartitions(), topicDTO.getNumOfReplicas().shortValue());
+    try {
+      hopsKafkaAdminClient.createTopics(Collections.singleton(newTopic)).all().get(6000, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TopicExistsException) {
+        throw new KafkaException(RESTCodes.KafkaErrorCode.TOPIC_ALREADY_EXISTS_IN_ZOOKEEPER, Level.INFO,
+            "topic name: " + topicDTO.getName());
+      }
+      throw e;
+    }
   }
 
   public List<PartitionDetailsDTO> getTopicDetails(Project project, String topicName)
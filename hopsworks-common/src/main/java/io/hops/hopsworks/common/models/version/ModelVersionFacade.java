@@ -16,17 +16,21 @@
 
 package io.hops.hopsworks.common.models.version;
 
+import com.google.common.collect.Lists;
 import io.hops.hopsworks.common.dao.AbstractFacade;
 import io.hops.hopsworks.common.dao.QueryParam;
+import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.persistence.entity.models.version.ModelVersion;
 import io.hops.hopsworks.persistence.entity.project.Project;
 
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -38,6 +42,8 @@ public class ModelVersionFacade extends AbstractFacade<ModelVersion> {
 
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager em;
+  @EJB
+  private Settings settings;
 
   public ModelVersionFacade() {
     super(ModelVersion.class);
@@ -93,6 +99,24 @@ public class ModelVersionFacade extends AbstractFacade<ModelVersion> {
     }
   }
 
+  public List<ModelVersion> findByIds(List<Integer> ids) {
+    if (ids.size() > settings.getSQLMaxSelectIn()) {
+      List<ModelVersion> result = new ArrayList<>();
+      for(List<Integer> partition : Lists.partition(ids, settings.getSQLMaxSelectIn())) {
+        TypedQuery<ModelVersion> query =
+          em.createNamedQuery("ModelVersion.findByIds", ModelVersion.class);
+        query.setParameter("ids", partition);
+        result.addAll(query.getResultList());
+      }
+      return result;
+    } else {
+      TypedQuery<ModelVersion> query =
+        em.createNamedQuery("ModelVersion.findByIds", ModelVersion.class);
+      query.setParameter("ids", ids);
+      return query.getResultList();
+    }
+  }
+
   private void setFilter(Set<? extends AbstractFacade.FilterBy> filter, Query q) {
     if (filter == null || filter.isEmpty()) {
       return;
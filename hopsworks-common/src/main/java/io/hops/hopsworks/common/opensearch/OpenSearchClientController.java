@@ -19,6 +19,7 @@ import com.lambdista.util.FailableSupplier;
 import com.lambdista.util.Try;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchAggregation;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchAggregationParser;
+import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchCursor;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchHelper;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchHits;
 import io.hops.hopsworks.exceptions.OpenSearchException;
@@ -62,7 +63,10 @@ import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.reindex.DeleteByQueryRequest;
 import org.opensearch.rest.RestStatus;
+import org.opensearch.search.Scroll;
+import org.opensearch.search.SearchHit;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
@@ -73,6 +77,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -89,6 +94,8 @@ import java.util.regex.Pattern;
  */
 public class OpenSearchClientController {
   private static final Logger LOG = Logger.getLogger(OpenSearchClientController.class.getName());
+  //page size used by search after if the request does not set one, same as the opensearch default
+  private static final int SEARCH_AFTER_DEFAULT_PAGE_SIZE = 10;
   
   @EJB
   private OpenSearchClient client;
@@ -361,6 +368,81 @@ public class OpenSearchClientController {
     return scrolling(response, handler, request);
   }
 
+  /**
+   * Streams all hits matching the request to the handler, see
+   * {@link #searchAfter(SearchRequest, OpenSearchCursor, long, OpenSearchHits.Handler)}.
+   * @param request
+   * @param handler
+   * @param <R>
+   * @param <S>
+   * @return
+   * @throws OpenSearchException
+   */
+  public <R, S> Pair<Long, Try<S>> searchAfter(SearchRequest request, OpenSearchHits.Handler<R, S> handler)
+    throws OpenSearchException {
+    Triplet<Long, Try<S>, Optional<OpenSearchCursor>> result = searchAfter(request, null, Long.MAX_VALUE, handler);
+    return Pair.with(result.getValue0(), result.getValue1());
+  }
+
+  /**
+   * Streams the hits matching the request to the handler, one page of request size hits at a time, using
+   * search_after on the sort of the request. Unlike scrolling, no search context is kept open between pages and only
+   * the handler decides what is kept in memory. The search stops early if the handler fails or maxHits hits have been
+   * consumed, the returned cursor continues the search from there.
+   * The sort of the request has to be unique per document, otherwise hits with the same sort values as the last hit
+   * of a page are skipped.
+   * @param request sorted request
+   * @param after cursor returned by a previous search with the same sort, null to start from the first hit
+   * @param maxHits maximum number of hits to consume
+   * @param handler
+   * @param <R>
+   * @param <S>
+   * @return total hits, the handler result and the cursor of the last consumed hit if there may be more hits
+   * @throws OpenSearchException
+   */
+  public <R, S> Triplet<Long, Try<S>, Optional<OpenSearchCursor>> searchAfter(SearchRequest request,
+    OpenSearchCursor after, long maxHits, OpenSearchHits.Handler<R, S> handler) throws OpenSearchException {
+    if (request.source().sorts() == null || request.source().sorts().isEmpty()) {
+      throw new OpenSearchException(RESTCodes.OpenSearchErrorCode.OPENSEARCH_QUERY_ERROR, Level.INFO,
+        "search after requires a sorted request");
+    }
+    int sortHash = OpenSearchCursor.sortHash(request.source().sorts());
+    if (after != null) {
+      if (!after.matches(sortHash)) {
+        throw new OpenSearchException(RESTCodes.OpenSearchErrorCode.OPENSEARCH_QUERY_ERROR, Level.INFO,
+          "malformed - cursor does not belong to this query");
+      }
+      request.source().searchAfter(after.getSortValues());
+    }
+    int pageSize = request.source().size() > 0 ? request.source().size() : SEARCH_AFTER_DEFAULT_PAGE_SIZE;
+    request.scroll((Scroll) null);
+    request.source().from(0);
+    long totalHits = 0;
+    long consumed = 0;
+    Try<S> result = null;
+    while (true) {
+      int size = (int) Math.min(pageSize, maxHits - consumed);
+      request.source().size(size);
+      SearchResponse response = baseSearch(request);
+      if (result == null && response.getHits().getTotalHits() != null) {
+        totalHits = response.getHits().getTotalHits().value;
+        //the total is only reported for the first page
+        request.source().trackTotalHits(false);
+      }
+      SearchHit[] hits = response.getHits().getHits();
+      result = handler.apply(hits);
+      consumed += hits.length;
+      if (result.isFailure() || hits.length == 0 || hits.length < size) {
+        return Triplet.with(totalHits, result, Optional.empty());
+      }
+      OpenSearchCursor last = OpenSearchCursor.of(sortHash, hits[hits.length - 1].getSortValues());
+      if (consumed >= maxHits) {
+        return Triplet.with(totalHits, result, Optional.of(last));
+      }
+      request.source().searchAfter(last.getSortValues());
+    }
+  }
+
   /**
   * Returns all MultiSearch results in a list matching the respective MultiSearch request -
    * these results are all built in memory, so use with care.
@@ -19,6 +19,7 @@ import com.lambdista.util.Try;
 import io.hops.hopsworks.common.provenance.core.Provenance;
 import io.hops.hopsworks.common.provenance.core.ProvParser;
 import io.hops.hopsworks.common.provenance.core.opensearch.BasicOpenSearchHit;
+import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchCursor;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchHits;
 import io.hops.hopsworks.common.opensearch.OpenSearchClientController;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchHelper;
@@ -34,6 +35,7 @@ import org.opensearch.action.search.SearchRequest;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.search.sort.SortOrder;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
@@ -43,6 +45,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.logging.Level;
 
@@ -72,11 +75,20 @@ public class ProvAppController {
         settings.getOpenSearchDefaultScrollPageSize())
         .andThen(provAppStateQB(filterBy))
         .andThen(OpenSearchHelper.sortBy(sortBy))
+        //an app has one document per state
+        .andThen(OpenSearchHelper.withTiebreaker(ProvAParser.BaseField.APP_ID, ProvAParser.BaseField.APP_STATE))
         .andThen(OpenSearchHelper.withPagination(offset, limit, settings.getOpenSearchMaxScrollPageSize()));
     SearchRequest request = srF.get();
     Pair<Long, Try<OpenSearchAppStatesObj>> searchResult;
     try {
-      searchResult = client.searchScrolling(request,  OpenSearchAppStatesObj.getHandler());
+      if (offset == null || offset == 0) {
+        //read the requested hits without keeping a scroll context open
+        Triplet<Long, Try<OpenSearchAppStatesObj>, Optional<OpenSearchCursor>> page
+          = client.searchAfter(request, null, request.source().size(), OpenSearchAppStatesObj.getHandler());
+        searchResult = Pair.with(page.getValue0(), page.getValue1());
+      } else {
+        searchResult = client.searchScrolling(request,  OpenSearchAppStatesObj.getHandler());
+      }
     } catch (OpenSearchException e) {
       String msg = "provenance - opensearch query problem";
       throw ProvHelper.fromOpenSearch(e, msg, msg + " - app state");
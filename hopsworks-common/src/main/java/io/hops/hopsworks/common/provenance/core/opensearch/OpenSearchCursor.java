@@ -0,0 +1,180 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.provenance.core.opensearch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Position in the hits of a sorted search, used to continue the search with search_after. A cursor is handed out to
+ * clients as an opaque token, the token is bound to the sort of the search it was taken from.
+ */
+public final class OpenSearchCursor {
+  private static final byte VERSION = 1;
+
+  private static final byte NULL = 0;
+  private static final byte LONG = 1;
+  private static final byte INTEGER = 2;
+  private static final byte DOUBLE = 3;
+  private static final byte FLOAT = 4;
+  private static final byte STRING = 5;
+  private static final byte BOOLEAN = 6;
+
+  private final int sortHash;
+  private final Object[] sortValues;
+
+  private OpenSearchCursor(int sortHash, Object[] sortValues) {
+    this.sortHash = sortHash;
+    this.sortValues = sortValues;
+  }
+
+  /**
+   * @param sortHash hash of the sort of the search, see {@link #sortHash(Object)}
+   * @param sortValues sort values of the last consumed hit
+   * @return cursor positioned after the hit
+   */
+  public static OpenSearchCursor of(int sortHash, Object[] sortValues) {
+    return new OpenSearchCursor(sortHash, sortValues.clone());
+  }
+
+  /**
+   * @param sort sort of the search, its string form has to describe the sort completely
+   * @return hash binding a cursor to the sort
+   */
+  public static int sortHash(Object sort) {
+    return String.valueOf(sort).hashCode();
+  }
+
+  /**
+   * @return the sort values to pass to search_after
+   */
+  public Object[] getSortValues() {
+    return sortValues.clone();
+  }
+
+  /**
+   * @param sortHash hash of the sort of the search the cursor is used with
+   * @return true if the cursor was taken from a search with the same sort
+   */
+  public boolean matches(int sortHash) {
+    return this.sortHash == sortHash;
+  }
+
+  /**
+   * @return opaque, URL safe token
+   */
+  public String encode() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeInt(sortHash);
+      out.writeInt(sortValues.length);
+      for (Object value : sortValues) {
+        writeValue(out, value);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode search cursor", e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * @param token token created by {@link #encode()}
+   * @return the cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static OpenSearchCursor decode(String token) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+      if (in.readByte() != VERSION) {
+        throw new IllegalArgumentException("Unsupported search cursor version");
+      }
+      int sortHash = in.readInt();
+      int length = in.readInt();
+      if (length < 0 || length > in.available()) {
+        throw new IllegalArgumentException("Malformed search cursor");
+      }
+      Object[] sortValues = new Object[length];
+      for (int i = 0; i < length; i++) {
+        sortValues[i] = readValue(in);
+      }
+      if (in.available() > 0) {
+        throw new IllegalArgumentException("Malformed search cursor");
+      }
+      return new OpenSearchCursor(sortHash, sortValues);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Malformed search cursor", e);
+    }
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      out.writeUTF((String) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else {
+      throw new IllegalArgumentException("Unsupported sort value type: " + value.getClass().getName());
+    }
+  }
+
+  private static Object readValue(DataInputStream in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case LONG:
+        return in.readLong();
+      case INTEGER:
+        return in.readInt();
+      case DOUBLE:
+        return in.readDouble();
+      case FLOAT:
+        return in.readFloat();
+      case STRING:
+        return in.readUTF();
+      case BOOLEAN:
+        return in.readBoolean();
+      default:
+        throw new IllegalArgumentException("Malformed search cursor");
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "OpenSearchCursor{" + Arrays.toString(sortValues) + '}';
+  }
+}
@@ -168,6 +168,19 @@ public class OpenSearchHelper {
   }
   
   
+  /**
+   * Sort ascending by fields which together identify a document, as required by search after
+   */
+  public static CheckedFunction<SearchRequest, SearchRequest, ProvenanceException> withTiebreaker(
+    ProvParser.OpenSearchField... fields) {
+    return (SearchRequest sr) -> {
+      for (ProvParser.OpenSearchField field : fields) {
+        sr.source().sort(SortBuilders.fieldSort(field.toString()).order(SortOrder.ASC));
+      }
+      return sr;
+    };
+  }
+  
   public static boolean indexNotFound(Throwable t) {
     if(t instanceof IndexNotFoundException) {
       return true;
@@ -20,10 +20,12 @@ import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupFacade;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.CachedFeaturegroupDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.stream.StreamFeatureGroupDTO;
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Node;
 import io.hops.hopsworks.exceptions.GenericException;
 import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
 import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
 import io.hops.hopsworks.persistence.entity.provenance.FeatureGroupLink;
+import io.hops.hopsworks.persistence.entity.provenance.ProvExplicitNode;
 import io.hops.hopsworks.restutils.RESTCodes;
 
 import javax.ejb.EJB;
@@ -50,6 +52,8 @@ public class FeatureGroupLinkController {
   private FeaturestoreFacade featurestoreFacade;
   @EJB
   private FeaturegroupFacade featuregroupFacade;
+  @EJB
+  private ProvExplicitGraphCache graphCache;
   
   private static final Logger LOGGER = Logger.getLogger(FeatureGroupLinkController.class.getName());
   
@@ -78,6 +82,8 @@ public class FeatureGroupLinkController {
                                                             List<FeaturegroupDTO> parentFGs)
     throws GenericException {
     List<FeatureGroupLink> links = new ArrayList<>();
+    List<Node> linked = new ArrayList<>();
+    linked.add(new Node(ProvExplicitNode.Type.FEATURE_GROUP, featureGroup.getId()));
     Map<Integer, Featurestore> featurestores = new HashMap<>();
     featurestores.put(featurestore.getId(), featurestore);
     for (FeaturegroupDTO parentFG : parentFGs) {
@@ -99,7 +105,9 @@ public class FeatureGroupLinkController {
       link.setParentFeatureGroupVersion(parentFG.getVersion());
       featureGroupLinkFacade.persist(link);
       links.add(link);
+      linked.add(new Node(ProvExplicitNode.Type.FEATURE_GROUP, parentFG.getId()));
     }
+    graphCache.invalidate(linked);
     return links;
   }
 }
@@ -15,16 +15,20 @@
  */
 package io.hops.hopsworks.common.provenance.explicit;
 
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Node;
 import io.hops.hopsworks.persistence.entity.featurestore.featureview.FeatureView;
 import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDatasetFeature;
 import io.hops.hopsworks.persistence.entity.provenance.FeatureViewLink;
+import io.hops.hopsworks.persistence.entity.provenance.ProvExplicitNode;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -36,6 +40,8 @@ import java.util.logging.Logger;
 public class FeatureViewLinkController {
   @EJB
   private FeatureViewLinkFacade featureViewLinkFacade;
+  @EJB
+  private ProvExplicitGraphCache graphCache;
   
   private static final Logger LOGGER = Logger.getLogger(FeatureViewLinkController.class.getName());
   
@@ -54,6 +60,12 @@ public class FeatureViewLinkController {
         links.put(parentFG.getFeatureGroup().getId(), link);
       }
     }
+    List<Node> linked = new ArrayList<>();
+    linked.add(new Node(ProvExplicitNode.Type.FEATURE_VIEW, featureView.getId()));
+    for (Integer parentId : links.keySet()) {
+      linked.add(new Node(ProvExplicitNode.Type.FEATURE_GROUP, parentId));
+    }
+    graphCache.invalidate(linked);
     return links.values();
   }
 }
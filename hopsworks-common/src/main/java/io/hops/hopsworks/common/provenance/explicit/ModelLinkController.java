@@ -15,14 +15,17 @@
  */
 package io.hops.hopsworks.common.provenance.explicit;
 
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Node;
 import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDataset;
 import io.hops.hopsworks.persistence.entity.models.version.ModelVersion;
 import io.hops.hopsworks.persistence.entity.provenance.ModelLink;
+import io.hops.hopsworks.persistence.entity.provenance.ProvExplicitNode;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.util.Arrays;
 
 /**
  * Class controlling the interaction with the model_link table and required business logic
@@ -32,6 +35,8 @@ import javax.ejb.TransactionAttributeType;
 public class ModelLinkController {
   @EJB
   private ModelLinkFacade modelLinkFacade;
+  @EJB
+  private ProvExplicitGraphCache graphCache;
 
   public ModelLink createParentLink(ModelVersion model, TrainingDataset trainingDataset) {
     ModelLink link = new ModelLink();
@@ -43,6 +48,8 @@ public class ModelLinkController {
     link.setParentFeatureViewVersion(trainingDataset.getFeatureView().getVersion());
     link.setParentTrainingDatasetVersion(trainingDataset.getVersion());
     modelLinkFacade.persist(link);
+    graphCache.invalidate(Arrays.asList(new Node(ProvExplicitNode.Type.MODEL, model.getId()),
+      new Node(ProvExplicitNode.Type.TRAINING_DATASET, trainingDataset.getId())));
     return link;
   }
 }
\ No newline at end of file
@@ -15,11 +15,447 @@
  */
 package io.hops.hopsworks.common.provenance.explicit;
 
+import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupFacade;
+import io.hops.hopsworks.common.featurestore.featureview.FeatureViewFacade;
+import io.hops.hopsworks.common.featurestore.trainingdatasets.TrainingDatasetFacade;
 import io.hops.hopsworks.common.integrations.CommunityStereotype;
+import io.hops.hopsworks.common.models.version.ModelVersionFacade;
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Direction;
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Edge;
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Node;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.dataset.Dataset;
+import io.hops.hopsworks.persistence.entity.dataset.DatasetSharedWith;
+import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
+import io.hops.hopsworks.persistence.entity.featurestore.featureview.FeatureView;
+import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDataset;
+import io.hops.hopsworks.persistence.entity.models.version.ModelVersion;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.provenance.FeatureGroupLink;
+import io.hops.hopsworks.persistence.entity.provenance.FeatureViewLink;
+import io.hops.hopsworks.persistence.entity.provenance.ModelLink;
+import io.hops.hopsworks.persistence.entity.provenance.ProvExplicitNode;
+
+import javax.ejb.EJB;
+import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
+/**
+ * Explicit provenance of feature groups, feature views, training datasets and models.
+ *
+ * The graph is traversed breadth first, the links of all artifacts of a level are read with one query per link
+ * type and the artifacts they point to with one query per artifact type. Links stored in the link tables are cached
+ * in {@link ProvExplicitGraphCache}. Artifacts in feature stores or model registries the project has no access to
+ * are returned but not traversed.
+ */
+@Stateless
 @CommunityStereotype
 @TransactionAttribute(TransactionAttributeType.NEVER)
 public class ProvExplicitControllerImpl implements ProvExplicitControllerIface {
-}
\ No newline at end of file
+  @EJB
+  private FeatureGroupLinkFacade featureGroupLinkFacade;
+  @EJB
+  private FeatureViewLinkFacade featureViewLinkFacade;
+  @EJB
+  private ModelLinkFacade modelLinkFacade;
+  @EJB
+  private FeaturegroupFacade featuregroupFacade;
+  @EJB
+  private FeatureViewFacade featureViewFacade;
+  @EJB
+  private TrainingDatasetFacade trainingDatasetFacade;
+  @EJB
+  private ModelVersionFacade modelVersionFacade;
+  @EJB
+  private ProvExplicitGraphCache graphCache;
+
+  @Override
+  public ProvExplicitLink<Featuregroup> featureGroupLinks(Project accessProject, Featuregroup root) {
+    return featureGroupLinks(accessProject, root, 1, 1);
+  }
+
+  @Override
+  public ProvExplicitLink<Featuregroup> featureGroupLinks(Project accessProject, Featuregroup root,
+                                                          Integer upstreamLevels, Integer downstreamLevels) {
+    return links(accessProject, new Node(ProvExplicitNode.Type.FEATURE_GROUP, root.getId()), root,
+      upstreamLevels, downstreamLevels);
+  }
+
+  @Override
+  public ProvExplicitLink<FeatureView> featureViewLinks(Project accessProject, FeatureView root) {
+    return featureViewLinks(accessProject, root, 1, 1);
+  }
+
+  @Override
+  public ProvExplicitLink<FeatureView> featureViewLinks(Project accessProject, FeatureView root,
+                                                        Integer upstreamLevels, Integer downstreamLevels) {
+    return links(accessProject, new Node(ProvExplicitNode.Type.FEATURE_VIEW, root.getId()), root,
+      upstreamLevels, downstreamLevels);
+  }
+
+  @Override
+  public ProvExplicitLink<TrainingDataset> trainingDatasetLinks(Project accessProject, TrainingDataset root) {
+    return trainingDatasetLinks(accessProject, root, 1, 1);
+  }
+
+  @Override
+  public ProvExplicitLink<TrainingDataset> trainingDatasetLinks(Project accessProject, TrainingDataset root,
+                                                                Integer upstreamLevels, Integer downstreamLevels) {
+    return links(accessProject, new Node(ProvExplicitNode.Type.TRAINING_DATASET, root.getId()), root,
+      upstreamLevels, downstreamLevels);
+  }
+
+  @Override
+  public ProvExplicitLink<ModelVersion> modelLinks(Project accessProject, ModelVersion root) {
+    return modelLinks(accessProject, root, 1, 1);
+  }
+
+  @Override
+  public ProvExplicitLink<ModelVersion> modelLinks(Project accessProject, ModelVersion root,
+                                                   Integer upstreamLevels, Integer downstreamLevels) {
+    return links(accessProject, new Node(ProvExplicitNode.Type.MODEL, root.getId()), root,
+      upstreamLevels, downstreamLevels);
+  }
+
+  private <T> ProvExplicitLink<T> links(Project accessProject, Node rootNode, T root,
+                                        Integer upstreamLevels, Integer downstreamLevels) {
+    Traversal traversal = new Traversal(accessProject);
+    traversal.entities.put(rootNode, root);
+    ProvExplicitLink<T> rootLink = (ProvExplicitLink<T>) traversal.link(rootNode, root);
+    //the caller has already checked that the project can access the root
+    rootLink.setAccessible(true);
+    rootLink.setTraversed();
+    traverse(traversal, Direction.UPSTREAM, rootNode, rootLink, levels(upstreamLevels));
+    traverse(traversal, Direction.DOWNSTREAM, rootNode, rootLink, levels(downstreamLevels));
+    return rootLink;
+  }
+
+  private int levels(Integer levels) {
+    if (levels == null) {
+      return 1;
+    }
+    return Math.max(levels, 0);
+  }
+
+  private void traverse(Traversal traversal, Direction direction, Node rootNode, ProvExplicitLink<?> root,
+                        int levels) {
+    Map<Node, ProvExplicitLink<?>> frontier = new LinkedHashMap<>();
+    frontier.put(rootNode, root);
+    Set<Node> expanded = new HashSet<>();
+    expanded.add(rootNode);
+    for (int level = 1; level <= levels && !frontier.isEmpty(); level++) {
+      Map<Node, List<Edge>> edges = edges(traversal, direction, frontier.keySet());
+      resolve(traversal, edges.values());
+      Map<Node, ProvExplicitLink<?>> next = new LinkedHashMap<>();
+      for (Map.Entry<Node, ProvExplicitLink<?>> entry : frontier.entrySet()) {
+        for (Edge edge : edges.getOrDefault(entry.getKey(), Collections.emptyList())) {
+          ProvExplicitLink<?> link;
+          if (edge.isDeleted()) {
+            link = traversal.deletedLink(edge);
+          } else {
+            Object entity = traversal.entities.get(edge.getTarget());
+            if (entity == null) {
+              //the artifact was deleted after the links were cached
+              graphCache.invalidateLocal(direction, entry.getKey());
+              continue;
+            }
+            link = next.computeIfAbsent(edge.getTarget(), node -> traversal.link(node, entity));
+          }
+          if (direction == Direction.UPSTREAM) {
+            entry.getValue().addUpstream(link);
+          } else {
+            entry.getValue().addDownstream(link);
+          }
+        }
+      }
+      frontier = new LinkedHashMap<>();
+      if (level < levels) {
+        for (Map.Entry<Node, ProvExplicitLink<?>> entry : next.entrySet()) {
+          if (entry.getValue().isAccessible() && expanded.add(entry.getKey())) {
+            entry.getValue().setTraversed();
+            frontier.put(entry.getKey(), entry.getValue());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the links of all nodes of a level, with at most one query per link type
+   */
+  private Map<Node, List<Edge>> edges(Traversal traversal, Direction direction, Collection<Node> nodes) {
+    Map<ProvExplicitNode.Type, List<Node>> byType = new EnumMap<>(ProvExplicitNode.Type.class);
+    for (Node node : nodes) {
+      byType.computeIfAbsent(node.getType(), type -> new ArrayList<>()).add(node);
+    }
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (Map.Entry<ProvExplicitNode.Type, List<Node>> entry : byType.entrySet()) {
+      List<Node> typeNodes = entry.getValue();
+      if (direction == Direction.UPSTREAM) {
+        switch (entry.getKey()) {
+          case FEATURE_GROUP:
+            edges.putAll(graphCache.getEdges(direction, typeNodes, missing -> featureGroupParents(traversal, missing)));
+            break;
+          case FEATURE_VIEW:
+            edges.putAll(graphCache.getEdges(direction, typeNodes, missing -> featureViewParents(traversal, missing)));
+            break;
+          case TRAINING_DATASET:
+            edges.putAll(trainingDatasetParents(traversal, typeNodes));
+            break;
+          case MODEL:
+            edges.putAll(graphCache.getEdges(direction, typeNodes, missing -> modelParents(traversal, missing)));
+            break;
+          default:
+            break;
+        }
+      } else {
+        switch (entry.getKey()) {
+          case FEATURE_GROUP:
+            edges.putAll(graphCache.getEdges(direction, typeNodes,
+              missing -> featureGroupChildren(traversal, missing)));
+            break;
+          case FEATURE_VIEW:
+            edges.putAll(featureViewChildren(traversal, typeNodes));
+            break;
+          case TRAINING_DATASET:
+            edges.putAll(graphCache.getEdges(direction, typeNodes,
+              missing -> trainingDatasetChildren(traversal, missing)));
+            break;
+          default:
+            break;
+        }
+      }
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> featureGroupParents(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (FeatureGroupLink link : featureGroupLinkFacade.findByChildren(traversal.entities(nodes))) {
+      Node child = new Node(ProvExplicitNode.Type.FEATURE_GROUP, link.getFeatureGroup().getId());
+      edges.computeIfAbsent(child, node -> new ArrayList<>()).add(parentEdge(traversal,
+        ProvExplicitNode.Type.FEATURE_GROUP, link, link.getParentFeatureGroup(), Featuregroup::getId));
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> featureViewParents(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (FeatureViewLink link : featureViewLinkFacade.findByChildren(traversal.entities(nodes))) {
+      Node child = new Node(ProvExplicitNode.Type.FEATURE_VIEW, link.getFeatureView().getId());
+      edges.computeIfAbsent(child, node -> new ArrayList<>()).add(parentEdge(traversal,
+        ProvExplicitNode.Type.FEATURE_GROUP, link, link.getParentFeatureGroup(), Featuregroup::getId));
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> trainingDatasetParents(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (Node node : nodes) {
+      FeatureView featureView = ((TrainingDataset) traversal.entities.get(node)).getFeatureView();
+      if (featureView != null) {
+        Edge edge = Edge.to(ProvExplicitNode.Type.FEATURE_VIEW, featureView.getId());
+        traversal.entities.put(edge.getTarget(), featureView);
+        edges.put(node, Collections.singletonList(edge));
+      }
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> modelParents(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (ModelLink link : modelLinkFacade.findByChildren(traversal.entities(nodes))) {
+      Node child = new Node(ProvExplicitNode.Type.MODEL, link.getModel().getId());
+      edges.computeIfAbsent(child, node -> new ArrayList<>()).add(parentEdge(traversal,
+        ProvExplicitNode.Type.TRAINING_DATASET, link, link.getParentTrainingDataset(), TrainingDataset::getId));
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> featureGroupChildren(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    List<Featuregroup> parents = traversal.entities(nodes);
+    for (FeatureGroupLink link : featureGroupLinkFacade.findByParents(parents)) {
+      Node parent = new Node(ProvExplicitNode.Type.FEATURE_GROUP, link.getParentFeatureGroup().getId());
+      edges.computeIfAbsent(parent, node -> new ArrayList<>()).add(childEdge(traversal,
+        ProvExplicitNode.Type.FEATURE_GROUP, link.getFeatureGroup(), Featuregroup::getId));
+    }
+    for (FeatureViewLink link : featureViewLinkFacade.findByParents(parents)) {
+      Node parent = new Node(ProvExplicitNode.Type.FEATURE_GROUP, link.getParentFeatureGroup().getId());
+      edges.computeIfAbsent(parent, node -> new ArrayList<>()).add(childEdge(traversal,
+        ProvExplicitNode.Type.FEATURE_VIEW, link.getFeatureView(), FeatureView::getId));
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> featureViewChildren(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (TrainingDataset trainingDataset : trainingDatasetFacade.findByFeatureViews(traversal.entities(nodes))) {
+      Node parent = new Node(ProvExplicitNode.Type.FEATURE_VIEW, trainingDataset.getFeatureView().getId());
+      edges.computeIfAbsent(parent, node -> new ArrayList<>()).add(childEdge(traversal,
+        ProvExplicitNode.Type.TRAINING_DATASET, trainingDataset, TrainingDataset::getId));
+    }
+    return edges;
+  }
+
+  private Map<Node, List<Edge>> trainingDatasetChildren(Traversal traversal, List<Node> nodes) {
+    Map<Node, List<Edge>> edges = new HashMap<>();
+    for (ModelLink link : modelLinkFacade.findByParents(traversal.entities(nodes))) {
+      Node parent = new Node(ProvExplicitNode.Type.TRAINING_DATASET, link.getParentTrainingDataset().getId());
+      edges.computeIfAbsent(parent, node -> new ArrayList<>()).add(childEdge(traversal,
+        ProvExplicitNode.Type.MODEL, link.getModel(), ModelVersion::getId));
+    }
+    return edges;
+  }
+
+  private <P> Edge parentEdge(Traversal traversal, ProvExplicitNode.Type type, ProvExplicitNode link, P parent,
+                              Function<P, Integer> idProvider) {
+    if (parent == null) {
+      return Edge.toDeletedParent(type, link);
+    }
+    return childEdge(traversal, type, parent, idProvider);
+  }
+
+  private <C> Edge childEdge(Traversal traversal, ProvExplicitNode.Type type, C child,
+                             Function<C, Integer> idProvider) {
+    Edge edge = Edge.to(type, idProvider.apply(child));
+    traversal.entities.put(edge.getTarget(), child);
+    return edge;
+  }
+
+  /**
+   * Load the artifacts of cached links, with one query per artifact type
+   */
+  private void resolve(Traversal traversal, Collection<List<Edge>> edges) {
+    Map<ProvExplicitNode.Type, List<Integer>> missing = new EnumMap<>(ProvExplicitNode.Type.class);
+    Set<Node> seen = new HashSet<>();
+    for (List<Edge> nodeEdges : edges) {
+      for (Edge edge : nodeEdges) {
+        Node target = edge.getTarget();
+        if (!edge.isDeleted() && !traversal.entities.containsKey(target) && seen.add(target)) {
+          missing.computeIfAbsent(target.getType(), type -> new ArrayList<>()).add(target.getId());
+        }
+      }
+    }
+    for (Map.Entry<ProvExplicitNode.Type, List<Integer>> entry : missing.entrySet()) {
+      switch (entry.getKey()) {
+        case FEATURE_GROUP:
+          featuregroupFacade.findByIds(entry.getValue())
+            .forEach(fg -> traversal.entities.put(new Node(entry.getKey(), fg.getId()), fg));
+          break;
+        case FEATURE_VIEW:
+          featureViewFacade.findByIds(entry.getValue())
+            .forEach(fv -> traversal.entities.put(new Node(entry.getKey(), fv.getId()), fv));
+          break;
+        case TRAINING_DATASET:
+          trainingDatasetFacade.findByIds(entry.getValue())
+            .forEach(td -> traversal.entities.put(new Node(entry.getKey(), td.getId()), td));
+          break;
+        case MODEL:
+          modelVersionFacade.findByIds(entry.getValue())
+            .forEach(mv -> traversal.entities.put(new Node(entry.getKey(), mv.getId()), mv));
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  /**
+   * State of a single traversal: the entities loaded so far and the feature stores and model registries the
+   * project has access to
+   */
+  private static class Traversal {
+    private final Project project;
+    private final Set<Integer> featurestores = new HashSet<>();
+    private final Set<Integer> modelRegistries = new HashSet<>();
+    private final Map<Node, Object> entities = new HashMap<>();
+
+    private Traversal(Project project) {
+      this.project = project;
+      for (Dataset dataset : project.getDatasetCollection()) {
+        addDataset(dataset);
+      }
+      for (DatasetSharedWith sharedWith : project.getDatasetSharedWithCollection()) {
+        if (sharedWith.getAccepted()) {
+          addDataset(sharedWith.getDataset());
+        }
+      }
+    }
+
+    private void addDataset(Dataset dataset) {
+      if (dataset.getFeatureStore() != null) {
+        featurestores.add(dataset.getFeatureStore().getId());
+      } else if (Settings.HOPS_MODELS_DATASET.equals(dataset.getName())) {
+        modelRegistries.add(dataset.getProject().getId());
+      }
+    }
+
+    private <T> List<T> entities(List<Node> nodes) {
+      List<T> result = new ArrayList<>(nodes.size());
+      for (Node node : nodes) {
+        result.add((T) entities.get(node));
+      }
+      return result;
+    }
+
+    private ProvExplicitLink<?> link(Node node, Object entity) {
+      switch (node.getType()) {
+        case FEATURE_GROUP:
+          Featuregroup featureGroup = (Featuregroup) entity;
+          return featurestoreLink(featureGroup, Featuregroup::getId, node.getType(), featureGroup.getFeaturestore());
+        case FEATURE_VIEW:
+          FeatureView featureView = (FeatureView) entity;
+          return featurestoreLink(featureView, FeatureView::getId, node.getType(), featureView.getFeaturestore());
+        case TRAINING_DATASET:
+          TrainingDataset trainingDataset = (TrainingDataset) entity;
+          return featurestoreLink(trainingDataset, TrainingDataset::getId, node.getType(),
+            trainingDataset.getFeaturestore());
+        case MODEL:
+          ModelVersion model = (ModelVersion) entity;
+          Project modelProject = model.getModel().getProject();
+          return link(model, ModelVersion::getId, node.getType(), modelProject,
+            modelRegistries.contains(modelProject.getId()));
+        default:
+          throw new IllegalArgumentException("Unsupported explicit provenance artifact: " + node.getType());
+      }
+    }
+
+    private <T> ProvExplicitLink<T> featurestoreLink(T node, Function<T, Integer> idProvider,
+                                                     ProvExplicitNode.Type type, Featurestore featurestore) {
+      return link(node, idProvider, type, featurestore.getProject(), featurestores.contains(featurestore.getId()));
+    }
+
+    private <T> ProvExplicitLink<T> link(T node, Function<T, Integer> idProvider, ProvExplicitNode.Type type,
+                                         Project owner, boolean accessible) {
+      ProvExplicitLink<T> link = new ProvExplicitLink<>();
+      link.setNode(node, idProvider);
+      link.setArtifactType(type);
+      link.setShared(!owner.getId().equals(project.getId()));
+      link.setAccessible(accessible);
+      return link;
+    }
+
+    private ProvExplicitLink<ProvArtifact> deletedLink(Edge edge) {
+      ProvExplicitLink<ProvArtifact> link = new ProvExplicitLink<>();
+      link.setNode(edge.getDeleted(), ProvArtifact::getId);
+      link.setArtifactType(edge.getTarget().getType());
+      link.setShared(!project.getName().equals(edge.getDeleted().getProject()));
+      link.setDeleted(true);
+      return link;
+    }
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.provenance.explicit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.provenance.ProvExplicitNode;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches the explicit provenance links of artifacts as adjacency lists, one per direction. Only links stored in the
+ * link tables are cached, the links between a feature view and its training datasets are read from the entities.
+ *
+ * An artifact is invalidated when a link is created for it, the other Hopsworks nodes are notified through
+ * Hazelcast. Deleted children are dropped from the link tables by the database, deleted parents are kept as
+ * denormalized {@link ProvArtifact}s, so cached lists only need to be refreshed for new links.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ProvExplicitGraphCache {
+  private static final Logger LOGGER = Logger.getLogger(ProvExplicitGraphCache.class.getName());
+  private static final String INVALIDATED_TOPIC_NAME = "provenance_explicit_graph_invalidated";
+
+  public enum Direction {
+    UPSTREAM,
+    DOWNSTREAM
+  }
+
+  @EJB
+  private Settings settings;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+
+  private Cache<Node, List<Edge>> upstream;
+  private Cache<Node, List<Edge>> downstream;
+  private ITopic<Node> invalidatedTopic;
+  private UUID invalidatedListenerId;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    upstream = Caffeine.newBuilder()
+      .maximumSize(settings.getProvenanceExplicitGraphCacheSize())
+      .build();
+    downstream = Caffeine.newBuilder()
+      .maximumSize(settings.getProvenanceExplicitGraphCacheSize())
+      .build();
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getReliableTopic(INVALIDATED_TOPIC_NAME);
+      invalidatedListenerId = invalidatedTopic.addMessageListener(new InvalidatedListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (invalidatedTopic != null) {
+      //needed for redeploy to remove the listener
+      invalidatedTopic.removeMessageListener(invalidatedListenerId);
+    }
+  }
+
+  /**
+   * Get the links of all nodes in one direction. The links of nodes which are not cached are read with a single
+   * call to loader.
+   *
+   * @param direction
+   * @param nodes nodes of the same type
+   * @param loader reads the links of the nodes it is given, nodes without links may be omitted from the result
+   * @return links of every node, in the order returned by the loader
+   */
+  public Map<Node, List<Edge>> getEdges(Direction direction, Collection<Node> nodes,
+    Function<List<Node>, Map<Node, List<Edge>>> loader) {
+    Cache<Node, List<Edge>> cache = cache(direction);
+    Map<Node, List<Edge>> result = new LinkedHashMap<>(cache.getAllPresent(nodes));
+    hits.addAndGet(result.size());
+    List<Node> missing = new ArrayList<>();
+    for (Node node : nodes) {
+      if (!result.containsKey(node)) {
+        missing.add(node);
+      }
+    }
+    if (!missing.isEmpty()) {
+      misses.addAndGet(missing.size());
+      Map<Node, List<Edge>> loaded = loader.apply(missing);
+      for (Node node : missing) {
+        List<Edge> edges = loaded.get(node);
+        edges = edges == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(edges));
+        cache.put(node, edges);
+        result.put(node, edges);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drop the cached links of nodes, on this and on all other nodes. Called when links of the nodes are created.
+   *
+   * @param nodes
+   */
+  public void invalidate(Collection<Node> nodes) {
+    for (Node node : nodes) {
+      invalidateLocal(node);
+      //Notify other nodes if invalidatedTopic is created ==> Hazelcast is enabled
+      if (invalidatedTopic != null) {
+        invalidatedTopic.publishAsync(node);
+      }
+    }
+  }
+
+  /**
+   * Drop the cached links of a node on this Hopsworks node only. Used when a cached link points to an artifact
+   * which no longer exists.
+   *
+   * @param direction
+   * @param node
+   */
+  public void invalidateLocal(Direction direction, Node node) {
+    cache(direction).invalidate(node);
+  }
+
+  private void invalidateLocal(Node node) {
+    upstream.invalidate(node);
+    downstream.invalidate(node);
+  }
+
+  private Cache<Node, List<Edge>> cache(Direction direction) {
+    return direction == Direction.UPSTREAM ? upstream : downstream;
+  }
+
+  public long getSize() {
+    return upstream.estimatedSize() + downstream.estimatedSize();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  @Override
+  public String toString() {
+    return "ProvExplicitGraphCache{" +
+      "size=" + getSize() +
+      ", hits=" + hits.get() +
+      ", misses=" + misses.get() +
+      '}';
+  }
+
+  private class InvalidatedListener implements MessageListener<Node> {
+    @Override
+    public void onMessage(Message<Node> message) {
+      if (message.getPublishingMember().localMember()) {
+        return;
+      }
+      try {
+        invalidateLocal(message.getMessageObject());
+      } catch (Exception e) {
+        LOGGER.log(Level.WARNING, "Failed to invalidate cached provenance links of " + message.getMessageObject(), e);
+      }
+    }
+  }
+
+  /**
+   * Artifact in the explicit provenance graph
+   */
+  public static final class Node implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ProvExplicitNode.Type type;
+    private final Integer id;
+
+    public Node(ProvExplicitNode.Type type, Integer id) {
+      this.type = type;
+      this.id = id;
+    }
+
+    public ProvExplicitNode.Type getType() {
+      return type;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Node node = (Node) o;
+      return type == node.type && Objects.equals(id, node.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+      return type + ":" + id;
+    }
+  }
+
+  /**
+   * Link to an artifact, the artifact is either an existing node or a deleted parent
+   */
+  public static final class Edge {
+    private final Node target;
+    private final ProvArtifact deleted;
+
+    private Edge(Node target, ProvArtifact deleted) {
+      this.target = target;
+      this.deleted = deleted;
+    }
+
+    public static Edge to(ProvExplicitNode.Type type, Integer id) {
+      return new Edge(new Node(type, id), null);
+    }
+
+    /**
+     * @param type type of the deleted parent
+     * @param link link whose parent has been deleted
+     * @return edge to the denormalized parent
+     */
+    public static Edge toDeletedParent(ProvExplicitNode.Type type, ProvExplicitNode link) {
+      return new Edge(new Node(type, null), ProvArtifact.fromLinkAsParent(link));
+    }
+
+    public Node getTarget() {
+      return target;
+    }
+
+    public boolean isDeleted() {
+      return deleted != null;
+    }
+
+    /**
+     * @return the denormalized artifact if the target has been deleted, null otherwise
+     */
+    public ProvArtifact getDeleted() {
+      return deleted;
+    }
+  }
+}
@@ -49,8 +49,16 @@ public class ProvStateBuilder {
       .hasXAttrs(stateParams.getFilterByHasXAttrs())
       .sortByXAttrs(stateParams.getXattrSortBy())
       .withExpansions(stateParams.getExpansions())
-      .withAppExpansionFilter(stateParams.getAppExpansionParams())
-      .paginate(pagParams.getOffset(), pagParams.getLimit());
+      .withAppExpansionFilter(stateParams.getAppExpansionParams());
+    if (stateParams.getCursor() != null) {
+      if (pagParams.getOffset() != null && pagParams.getOffset() != 0) {
+        throw new ProvenanceException(RESTCodes.ProvenanceErrorCode.BAD_REQUEST, Level.INFO,
+          "cursor and offset cannot be used together");
+      }
+      paramBuilder.paginateAfter(stateParams.getCursor(), pagParams.getLimit());
+    } else {
+      paramBuilder.paginate(pagParams.getOffset(), pagParams.getLimit());
+    }
   
     switch (stateParams.getReturnType()) {
       case LIST: return stateProvCtrl.provFileStateList(projectInode, paramBuilder);
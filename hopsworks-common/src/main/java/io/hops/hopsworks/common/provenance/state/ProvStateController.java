@@ -25,6 +25,7 @@ import io.hops.hopsworks.common.provenance.core.ProvParser;
 import io.hops.hopsworks.common.provenance.core.Provenance;
 import io.hops.hopsworks.common.provenance.core.opensearch.BasicOpenSearchHit;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchCache;
+import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchCursor;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchHelper;
 import io.hops.hopsworks.common.provenance.core.opensearch.OpenSearchHits;
 import io.hops.hopsworks.common.provenance.state.dto.ProvStateDTO;
@@ -37,6 +38,7 @@ import io.hops.hopsworks.exceptions.ProvenanceException;
 import io.hops.hopsworks.persistence.entity.hdfs.inode.Inode;
 import io.hops.hopsworks.restutils.RESTCodes;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
@@ -87,9 +89,13 @@ public class ProvStateController {
       String msg = "cannot use pagination with app state filtering";
       throw new ProvenanceException(RESTCodes.ProvenanceErrorCode.UNSUPPORTED, Level.INFO, msg);
     }
-    ProvStateDTO fileStates
-      = provFileState(projectInode, params.base, new HandlerFactory.BaseList(),
-      Provenance.getProjectIndex(projectInode));
+    ProvStateDTO fileStates;
+    if (params.base.cursor != null) {
+      fileStates = provFileStateAfter(projectInode, params.base, Provenance.getProjectIndex(projectInode));
+    } else {
+      fileStates = provFileState(projectInode, params.base, new HandlerFactory.BaseList(),
+        Provenance.getProjectIndex(projectInode));
+    }
     if (params.extensions.hasAppExpansion()) {
       //If withAppStates, update params based on appIds of items files and do a appState index query.
       //After this filter the fileStates based on the results of the appState query
@@ -134,6 +140,49 @@ public class ProvStateController {
       base.xAttrSortBy, base.pagination.getValue0(), base.pagination.getValue1(), handlerFactory);
   }
 
+  /**
+   * List the file states after the cursor of the base params, the result carries the cursor of the next page.
+   * The hits are read with search after, so deep pages cost as much as the first one.
+   */
+  private ProvStateDTO provFileStateAfter(Inode projectInode, ProvStateParamBuilder.Base base, String index)
+    throws ProvenanceException {
+    checkMapping(base, index);
+    OpenSearchCursor after = null;
+    if (!base.cursor.isEmpty()) {
+      try {
+        after = OpenSearchCursor.decode(base.cursor);
+      } catch (IllegalArgumentException e) {
+        throw new ProvenanceException(RESTCodes.ProvenanceErrorCode.BAD_REQUEST, Level.INFO,
+          "malformed cursor", "malformed cursor:" + base.cursor, e);
+      }
+    }
+    Integer limit = base.pagination == null ? null : base.pagination.getValue1();
+    int pageSize = settings.getOpenSearchDefaultScrollPageSize();
+    CheckedSupplier<SearchRequest, ProvenanceException> srF =
+      OpenSearchHelper.baseSearchRequest(
+        settings.getProvFileIndex(projectInode.getId()), pageSize)
+        .andThen(filterByStateParams(base.fileStateFilter, base.exactXAttrFilter, base.likeXAttrFilter,
+          base.hasXAttrFilter))
+        .andThen(OpenSearchHelper.withFileStateOrder(base.fileStateSortBy, base.xAttrSortBy))
+        //there is one state document per inode
+        .andThen(OpenSearchHelper.withTiebreaker(ProvParser.Fields.INODE_ID))
+        .andThen(OpenSearchHelper.withPagination(null, limit, settings.getOpenSearchMaxScrollPageSize()));
+    SearchRequest request = srF.get();
+    HandlerFactory.BaseList handlerFactory = new HandlerFactory.BaseList();
+    Triplet<Long, Try<List<ProvStateDTO>>, Optional<OpenSearchCursor>> searchResult;
+    try {
+      searchResult = client.searchAfter(request, after, limit == null ? pageSize : limit,
+        handlerFactory.getHandler());
+    } catch (OpenSearchException e) {
+      String msg = "provenance - opensearch query problem";
+      throw ProvHelper.fromOpenSearch(e, msg, msg + " - file state");
+    }
+    ProvStateDTO fileStates
+      = handlerFactory.checkedResult(Pair.with(searchResult.getValue0(), searchResult.getValue1()));
+    searchResult.getValue2().ifPresent(next -> fileStates.setCursor(next.encode()));
+    return fileStates;
+  }
+
   public ProvStateDTO provFileStateCount(Inode projectInode, ProvStateParamBuilder params)
     throws ProvenanceException {
     if (params.extensions.hasAppExpansion()) {
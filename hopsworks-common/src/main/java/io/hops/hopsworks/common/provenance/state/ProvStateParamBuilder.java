@@ -39,6 +39,7 @@ public class ProvStateParamBuilder {
     Set<String> hasXAttrFilter = new HashSet<>();
     List<SortE> xAttrSortBy = new ArrayList<>();
     Pair<Integer, Integer> pagination = null;
+    String cursor = null;
   
     public void fixSortBy(String index, Map<String, String> mapping) throws ProvenanceException {
       for(SortE s : xAttrSortBy) {
@@ -74,6 +75,19 @@ public class ProvStateParamBuilder {
     return this;
   }
   
+  /**
+   * Paginate with a cursor instead of an offset, deep pages are not more expensive than the first one.
+   *
+   * @param cursor cursor returned with the previous page, empty for the first page
+   * @param limit page size
+   * @return
+   */
+  public ProvStateParamBuilder paginateAfter(String cursor, Integer limit) {
+    base.pagination = Pair.with(null, limit);
+    base.cursor = cursor;
+    return this;
+  }
+  
   public ProvStateParamBuilder filterByFields(Set<String> params) throws ProvenanceException {
     for(String param : params) {
       Pair<ProvStateParser.Field, Object> filter = ProvStateParser.extractFilter(param);
@@ -37,6 +37,11 @@ public interface ProvStateParams {
   
   ReturnType getReturnType();
   
+  /**
+   * @return cursor returned with the previous page, empty for the first page, null to paginate with an offset
+   */
+  String getCursor();
+  
   enum ReturnType {
     LIST,
     COUNT;
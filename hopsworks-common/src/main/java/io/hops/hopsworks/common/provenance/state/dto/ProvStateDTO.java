@@ -49,6 +49,7 @@ public class ProvStateDTO extends RestDTO<ProvStateDTO> {
   private String fullPath;
   private Long partitionId;
   private Long parentInodeId;
+  private String cursor;
   
   public void setScore(Float score) {
     this.score = score;
@@ -201,4 +202,15 @@ public class ProvStateDTO extends RestDTO<ProvStateDTO> {
   public boolean isProject() {
     return Objects.equals(projectInodeId, inodeId);
   }
+  
+  /**
+   * @return token continuing a cursor paginated listing after the last item, null if there are no more items
+   */
+  public String getCursor() {
+    return cursor;
+  }
+  
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
 }
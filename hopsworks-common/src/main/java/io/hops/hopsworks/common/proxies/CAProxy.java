@@ -49,6 +49,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +67,7 @@ public class CAProxy {
   private final static String CA_BASE_PATH = "/hopsworks-ca/v2/certificate/";
   private final static String CERTIFICATE_IDENTIFIER = "certId";
   private final static String HOSTNAME = "hostname";
+  private final static int REVOKE_BATCH_SIZE = 50;
   
   private ObjectMapper objectMapper;
   private ResponseHandler<CSR> CA_SIGN_RESPONSE_HANDLER = new CASignCSRResponseHandler();
@@ -127,23 +132,53 @@ public class CAProxy {
   }
   
   public void revokeProjectX509(String certificateIdentifier) throws HopsSecurityException, GenericException {
-    revokeX509(CERTIFICATE_IDENTIFIER, certificateIdentifier, CA_PATH.PROJECT_CA_PATH.path);
+    revokeX509(CERTIFICATE_IDENTIFIER, Collections.singletonList(certificateIdentifier),
+        CA_PATH.PROJECT_CA_PATH.path);
+  }
+
+  /**
+   * Revoke many project certificates with one request per {@link #REVOKE_BATCH_SIZE} identifiers. All batches are
+   * sent even if some certificates could not be found, in which case CERTIFICATE_NOT_FOUND is thrown at the end.
+   *
+   * @param certificateIdentifiers
+   * @throws HopsSecurityException
+   * @throws GenericException
+   */
+  public void revokeProjectX509(Collection<String> certificateIdentifiers) throws HopsSecurityException,
+      GenericException {
+    List<String> identifiers = new ArrayList<>(certificateIdentifiers);
+    HopsSecurityException notFound = null;
+    for (int i = 0; i < identifiers.size(); i += REVOKE_BATCH_SIZE) {
+      List<String> batch = identifiers.subList(i, Math.min(i + REVOKE_BATCH_SIZE, identifiers.size()));
+      try {
+        revokeX509(CERTIFICATE_IDENTIFIER, batch, CA_PATH.PROJECT_CA_PATH.path);
+      } catch (HopsSecurityException ex) {
+        if (ex.getErrorCode() != RESTCodes.SecurityErrorCode.CERTIFICATE_NOT_FOUND) {
+          throw ex;
+        }
+        notFound = ex;
+      }
+    }
+    if (notFound != null) {
+      throw notFound;
+    }
   }
 
   public void revokeHostX509(String hostname) throws HopsSecurityException, GenericException {
-    revokeX509(HOSTNAME, hostname, CA_PATH.HOST_CA_PATH.path + "/all");
+    revokeX509(HOSTNAME, Collections.singletonList(hostname), CA_PATH.HOST_CA_PATH.path + "/all");
   }
   
-  private void revokeX509(String parameterName, String parameterValue, String path) throws HopsSecurityException,
-          GenericException {
-    if (Strings.isNullOrEmpty(parameterValue)) {
+  private void revokeX509(String parameterName, List<String> parameterValues, String path)
+      throws HopsSecurityException, GenericException {
+    if (parameterValues.isEmpty() || parameterValues.stream().anyMatch(Strings::isNullOrEmpty)) {
       throw new HopsSecurityException(RESTCodes.SecurityErrorCode.CERTIFICATE_NOT_FOUND, Level.SEVERE,
           null, "Certificate parameter value cannot be null or empty");
     }
+    String parameterValue = String.join(", ", parameterValues);
     try {
-      URI revokeURI = new URIBuilder(path)
-          .addParameter(parameterName, parameterValue)
-          .build();
+      URIBuilder uriBuilder = new URIBuilder(path);
+      parameterValues.forEach(v -> uriBuilder.addParameter(parameterName, v));
+      URI revokeURI = uriBuilder.build();
       HttpDelete httpRequest = new HttpDelete(revokeURI);
       client.setAuthorizationHeader(httpRequest);
       
@@ -39,12 +39,14 @@
 package io.hops.hopsworks.common.security;
 
 import io.hops.hopsworks.common.dao.certificates.CertsFacade;
+import io.hops.hopsworks.common.hdfs.DistributedFsClientPool;
 import io.hops.hopsworks.common.util.ProjectUtils;
 import io.hops.hopsworks.persistence.entity.certificates.UserCerts;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.project.team.ProjectTeam;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.common.proxies.CAProxy;
+import io.hops.hopsworks.common.serving.inference.logger.InferenceLogProducerPool;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.GenericException;
 import io.hops.hopsworks.exceptions.HopsSecurityException;
@@ -94,6 +96,7 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -125,6 +128,12 @@ public class CertificatesController {
   private CAProxy caProxy;
   @EJB
   private ProjectUtils projectUtils;
+  @EJB
+  private DistributedFsClientPool dfsClientPool;
+  @EJB
+  private ProxySSLContextCache proxySSLContextCache;
+  @EJB
+  private InferenceLogProducerPool inferenceLogProducerPool;
 
   private KeyPairGenerator keyPairGenerator = null;
   private CertificateFactory certificateFactory = null;
@@ -204,18 +213,39 @@ public class CertificatesController {
     if (owner != null) {
       users2deleteCertificates.add(owner);
     }
-    // Iterate through Project members and delete their certificates
+    // Ordering here is important
+    // *First* revoke all member certificates with one batched request and *then* clean up
+    List<String> certificateIdentifiers = users2deleteCertificates.stream()
+        .map(u -> projectName + Settings.HOPS_USERNAME_SEPARATOR + u.getUsername())
+        .collect(Collectors.toList());
+    HopsSecurityException notFound = null;
+    if (!certificateIdentifiers.isEmpty()) {
+      try {
+        caProxy.revokeProjectX509(certificateIdentifiers);
+      } catch (HopsSecurityException ex) {
+        if (ex.getErrorCode() != RESTCodes.SecurityErrorCode.CERTIFICATE_NOT_FOUND) {
+          throw ex;
+        }
+        // Certificates which were found have been revoked, clean up for every member before reporting it
+        notFound = ex;
+      }
+    }
     for (Users user2delete : users2deleteCertificates) {
       String certificateIdentifier = projectName + Settings.HOPS_USERNAME_SEPARATOR + user2delete.getUsername();
-      // Ordering here is important
-      // *First* revoke and *then* delete the certificate
-      revokeCertificate(certificateIdentifier, Endpoint.PROJECT);
+      // Pooled HopsFS clients and cached proxy contexts of the user hold the revoked certificate
+      dfsClientPool.invalidate(certificateIdentifier);
+      proxySSLContextCache.invalidate(user2delete.getUsername(), projectName);
 
       // Run custom handlers
       for (CertificateHandler certificateHandler : certificateHandlers) {
         certificateHandler.revoke(project, user2delete);
       }
     }
+    // The inference log producer of the project holds the certificates of the serving manager
+    inferenceLogProducerPool.invalidate(project);
+    if (notFound != null) {
+      throw notFound;
+    }
   }
 
   public void revokeUserSpecificCertificates(Project project, Users user)
@@ -226,6 +256,8 @@ public class CertificatesController {
     // *First* revoke and *then* delete the certificate
     certsFacade.removeUserProjectCerts(project.getName(), user.getUsername());
     revokeCertificate(certificateIdentifier, Endpoint.PROJECT);
+    dfsClientPool.invalidate(certificateIdentifier);
+    proxySSLContextCache.invalidate(user.getUsername(), project.getName());
 
     // Run custom handlers
     for (CertificateHandler certificateHandler : certificateHandlers) {
@@ -0,0 +1,222 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.exceptions.CryptoPasswordNotFoundException;
+
+import javax.annotation.PostConstruct;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.DependsOn;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * SSLContexts used by the proxy servlets to reach services which authenticate clients with X.509 certificates.
+ *
+ * Building a context of a project user requires materializing the user certificates and parsing the key stores, so
+ * contexts are cached per (user, project) and evicted after being idle. Contexts of a user are invalidated when
+ * the certificates of the user are revoked.
+ */
+@Singleton
+@DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ProxySSLContextCache {
+  private static final Logger LOGGER = Logger.getLogger(ProxySSLContextCache.class.getName());
+  private static final ContextKey SUPER_USER = new ContextKey(null, null);
+
+  @EJB
+  private Settings settings;
+  @EJB
+  private CertificateMaterializer certificateMaterializer;
+  @EJB
+  private BaseHadoopClientsService baseHadoopClientsService;
+
+  private Cache<ContextKey, SSLContext> contexts;
+
+  @PostConstruct
+  public void init() {
+    contexts = Caffeine.newBuilder()
+      .maximumSize(settings.getProxySSLContextCacheSize())
+      .expireAfterAccess(settings.getProxySSLContextCacheMaxIdleMs(), TimeUnit.MILLISECONDS)
+      .build();
+  }
+
+  /**
+   * @param username
+   * @param projectName
+   * @return context authenticating as the project user
+   * @throws IOException if the certificates of the user could not be loaded
+   */
+  public SSLContext getUserContext(String username, String projectName) throws IOException {
+    return get(new ContextKey(username, projectName));
+  }
+
+  /**
+   * @return context authenticating as the super user
+   * @throws IOException if the super user key stores could not be loaded
+   */
+  public SSLContext getSuperUserContext() throws IOException {
+    return get(SUPER_USER);
+  }
+
+  /**
+   * Drop the context of a project user, for example after its certificates have been revoked
+   *
+   * @param username
+   * @param projectName
+   */
+  public void invalidate(String username, String projectName) {
+    contexts.invalidate(new ContextKey(username, projectName));
+  }
+
+  public void invalidateAll() {
+    contexts.invalidateAll();
+  }
+
+  public long getSize() {
+    return contexts.estimatedSize();
+  }
+
+  private SSLContext get(ContextKey key) throws IOException {
+    try {
+      return contexts.get(key, this::load);
+    } catch (LoadException e) {
+      throw e.getCause();
+    }
+  }
+
+  private SSLContext load(ContextKey key) {
+    try {
+      if (key == SUPER_USER) {
+        return createContext(
+          load(new FileInputStream(baseHadoopClientsService.getSuperKeystorePath()),
+            baseHadoopClientsService.getSuperKeystorePassword()),
+          baseHadoopClientsService.getSuperKeystorePassword(),
+          load(new FileInputStream(baseHadoopClientsService.getSuperTrustStorePath()),
+            baseHadoopClientsService.getSuperTrustStorePassword()));
+      }
+      certificateMaterializer.materializeCertificatesLocal(key.username, key.projectName);
+      try {
+        CertificateMaterializer.CryptoMaterial material =
+          certificateMaterializer.getUserMaterial(key.username, key.projectName);
+        // Key store password and key password are the same
+        String password = new String(material.getPassword());
+        return createContext(load(toStream(material.getKeyStore()), password), password,
+          load(toStream(material.getTrustStore()), password));
+      } finally {
+        certificateMaterializer.removeCertificatesLocal(key.username, key.projectName);
+      }
+    } catch (IOException e) {
+      throw new LoadException(e);
+    } catch (GeneralSecurityException | CryptoPasswordNotFoundException e) {
+      LOGGER.log(Level.WARNING, "Failed to create SSLContext for " + key, e);
+      throw new LoadException(new IOException("Failed to create SSLContext for " + key + ". " + e.getMessage(), e));
+    }
+  }
+
+  private InputStream toStream(ByteBuffer buffer) {
+    // Do not move the position of the cached material
+    ByteBuffer source = buffer.duplicate();
+    source.rewind();
+    byte[] bytes = new byte[source.remaining()];
+    source.get(bytes);
+    return new ByteArrayInputStream(bytes);
+  }
+
+  private KeyStore load(InputStream in, String password) throws IOException, GeneralSecurityException {
+    try (InputStream stream = in) {
+      KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+      keyStore.load(stream, password != null ? password.toCharArray() : null);
+      return keyStore;
+    }
+  }
+
+  private SSLContext createContext(KeyStore keyStore, String keyPassword, KeyStore trustStore)
+    throws GeneralSecurityException {
+    KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    kmf.init(keyStore, keyPassword != null ? keyPassword.toCharArray() : null);
+    TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+    tmf.init(trustStore);
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+    return sslContext;
+  }
+
+  private static final class LoadException extends RuntimeException {
+    private LoadException(IOException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+
+  private static final class ContextKey {
+    private final String username;
+    private final String projectName;
+
+    private ContextKey(String username, String projectName) {
+      this.username = username;
+      this.projectName = projectName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ContextKey that = (ContextKey) o;
+      return Objects.equals(username, that.username) && Objects.equals(projectName, that.projectName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(username, projectName);
+    }
+
+    @Override
+    public String toString() {
+      return username == null ? "super user" : projectName + Settings.HOPS_USERNAME_SEPARATOR + username;
+    }
+  }
+}
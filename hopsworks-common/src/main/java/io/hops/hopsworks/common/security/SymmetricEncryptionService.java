@@ -16,30 +16,40 @@
 
 package io.hops.hopsworks.common.security;
 
-import org.apache.commons.lang3.tuple.Pair;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import javax.annotation.PostConstruct;
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
-import javax.ejb.Stateless;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
+import java.util.Arrays;
+import java.util.Base64;
 
-@Stateless
 /**
- * Stateless bean providing symmetric encryption methods
+ * Bean providing symmetric encryption methods
  * The encryption algorithm is AES in GCM mode
  * For key derivation is used PBKDF2WithHmacSHA512 and
  * encryption key is 128 bits long
+ * Envelopes are encrypted with a random data key, wrapped with a cached key derived from the password.
  */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
 public class SymmetricEncryptionService {
   
   private static final String RNG_IMPL = "NativePRNGNonBlocking";
@@ -56,8 +66,34 @@ public class SymmetricEncryptionService {
   private static final int GCM_AUTHENTICATION_TAG_SIZE = 128;
   public static final int IV_LENGTH = 12;
   
+  // Envelope constants
+  // [magic(5 bytes), version(1 byte), kek salt(16 bytes), wrap iv(12 bytes), wrapped data key(32 bytes),
+  // data iv(12 bytes), payload]. The payload is authenticated with the magic and the version only, so that the
+  // data key can be re-wrapped without touching it.
+  private static final byte[] ENVELOPE_MAGIC = {'H', 'W', 'E', 'N', 'V'};
+  private static final byte ENVELOPE_VERSION = 1;
+  private static final int KEK_SALT_LENGTH = 16;
+  private static final int KEK_DERIVATION_ITERATIONS = 100000;
+  private static final int DATA_KEY_LENGTH = KEY_SIZE / 8;
+  private static final int WRAPPED_DATA_KEY_LENGTH = DATA_KEY_LENGTH + GCM_AUTHENTICATION_TAG_SIZE / 8;
+  private static final int ENVELOPE_HEADER_LENGTH = ENVELOPE_MAGIC.length + 1 + KEK_SALT_LENGTH;
+  private static final int ENVELOPE_OVERHEAD = ENVELOPE_HEADER_LENGTH + IV_LENGTH + WRAPPED_DATA_KEY_LENGTH
+      + IV_LENGTH;
+  
+  static final int DERIVED_KEY_CACHE_SIZE = 1024;
+  // Room for the old and the new password while the password is being changed
+  private static final int KEK_CACHE_SIZE = 4;
+  private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+  
   SecureRandom rand;
   
+  // Keys derived from a password, a salt and a number of iterations
+  private Cache<DerivedKeyId, SecretKey> derivedKeys;
+  // Key encryption keys used to wrap the data keys of new envelopes, by password fingerprint
+  private Cache<String, KeyEncryptionKey> keks;
+  // Random per process key of the password fingerprints
+  private SecretKey fingerprintKey;
+  
   @PostConstruct
   public void init() {
     try {
@@ -66,6 +102,16 @@ public class SymmetricEncryptionService {
     } catch (NoSuchAlgorithmException ex) {
       throw new RuntimeException(ex);
     }
+    derivedKeys = Caffeine.newBuilder()
+        .maximumSize(DERIVED_KEY_CACHE_SIZE)
+        .build();
+    keks = Caffeine.newBuilder()
+        .maximumSize(KEK_CACHE_SIZE)
+        .build();
+    byte[] key = new byte[32];
+    generateRandom(key);
+    fingerprintKey = new SecretKeySpec(key, FINGERPRINT_ALGORITHM);
+    Arrays.fill(key, (byte) 0);
   }
   
   /**
@@ -96,13 +142,14 @@ public class SymmetricEncryptionService {
       generateRandom(iv);
     }
     
-    Pair<KeySpec, SecretKey> keyMaterial = buildSecretKey(descriptor.getPassword(), salt);
+    // Salts are random per message, there is no point in caching the key
+    SecretKey key = buildSecretKey(descriptor.getPassword(), salt, KEY_DERIVATION_ITERATIONS);
     
     Cipher cipher = getCipher();
-    cipher.init(Cipher.ENCRYPT_MODE, keyMaterial.getRight(), getGCMSpec(iv));
+    cipher.init(Cipher.ENCRYPT_MODE, key, getGCMSpec(iv));
     byte[] ciphertext = cipher.doFinal(descriptor.getInput());
     
-    clearPasswords(keyMaterial.getLeft(), descriptor);
+    descriptor.clearPassword();
     
     return new SymmetricEncryptionDescriptor.Builder()
         .setOutput(ciphertext)
@@ -113,7 +160,8 @@ public class SymmetricEncryptionService {
   
   /**
    * Decrypts data using the cryptographic primitives supplied. Salt and IV should be the same
-   * as the ones used for encryption.
+   * as the ones used for encryption. The derived key is cached, so decrypting the same message again
+   * does not run the key derivation function.
    *
    * @param descriptor Descriptor which should contain the encrypted payload, the password used
    *                   to derive the key, salt and initialization vector used during encryption
@@ -125,18 +173,145 @@ public class SymmetricEncryptionService {
     if (descriptor.getSalt() == null || descriptor.getIv() == null || descriptor.getPassword() == null) {
       throw new IllegalArgumentException("Cryptographic primitives are empty");
     }
-    Pair<KeySpec, SecretKey> keyMaterial = buildSecretKey(descriptor.getPassword(), descriptor.getSalt());
+    SecretKey key = getDerivedKey(descriptor.getPassword(), descriptor.getSalt(), KEY_DERIVATION_ITERATIONS);
     
     Cipher cipher = getCipher();
-    cipher.init(Cipher.DECRYPT_MODE, keyMaterial.getRight(), getGCMSpec(descriptor.getIv()));
+    cipher.init(Cipher.DECRYPT_MODE, key, getGCMSpec(descriptor.getIv()));
     byte[] plaintext = cipher.doFinal(descriptor.getInput());
     
-    clearPasswords(keyMaterial.getLeft(), descriptor);
+    descriptor.clearPassword();
     return new SymmetricEncryptionDescriptor.Builder()
         .setOutput(plaintext)
         .build();
   }
   
+  /**
+   * Encrypts data in an envelope. The data is encrypted with a random data key which is wrapped with
+   * the key encryption key of password.
+   *
+   * @param password Password to derive the key encryption key from
+   * @param plaintext Message to be encrypted
+   * @return The envelope
+   * @throws GeneralSecurityException
+   */
+  public byte[] encryptEnvelope(String password, byte[] plaintext) throws GeneralSecurityException {
+    KeyEncryptionKey kek = getCurrentKek(password);
+    byte[] dataKey = new byte[DATA_KEY_LENGTH];
+    generateRandom(dataKey);
+    try {
+      byte[] dataIv = new byte[IV_LENGTH];
+      generateRandom(dataIv);
+      byte[] header = envelopeHeader(kek.salt);
+      Cipher cipher = getCipher();
+      cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(dataKey, ENCRYPTION_ALGORITHM), getGCMSpec(dataIv));
+      cipher.updateAAD(header, 0, ENVELOPE_MAGIC.length + 1);
+      byte[] ciphertext = cipher.doFinal(plaintext);
+      
+      ByteBuffer envelope = ByteBuffer.allocate(ENVELOPE_OVERHEAD + ciphertext.length);
+      envelope.put(header);
+      wrapDataKey(envelope, header, kek.key, dataKey);
+      envelope.put(dataIv);
+      envelope.put(ciphertext);
+      return envelope.array();
+    } finally {
+      Arrays.fill(dataKey, (byte) 0);
+    }
+  }
+  
+  /**
+   * Decrypts data encrypted either with {@link #encryptEnvelope(String, byte[])} or with
+   * {@link #encrypt(SymmetricEncryptionDescriptor)} and merged with {@link #mergePayloadWithCryptoPrimitives}
+   *
+   * @param password Password used during encryption
+   * @param payload The envelope or the payload merged with its crypto primitives
+   * @return The plaintext message
+   * @throws GeneralSecurityException
+   */
+  public byte[] decryptPayload(String password, byte[] payload) throws GeneralSecurityException {
+    if (!isEnvelope(payload)) {
+      byte[][] split = splitPayloadFromCryptoPrimitives(payload);
+      SymmetricEncryptionDescriptor descriptor = new SymmetricEncryptionDescriptor.Builder()
+          .setPassword(password)
+          .setSalt(split[0])
+          .setIV(split[1])
+          .setInput(split[2])
+          .build();
+      return decrypt(descriptor).getOutput();
+    }
+    ByteBuffer envelope = ByteBuffer.wrap(payload);
+    byte[] header = readEnvelopeHeader(envelope);
+    byte[] dataKey = unwrapDataKey(envelope, header, password);
+    try {
+      byte[] dataIv = new byte[IV_LENGTH];
+      envelope.get(dataIv);
+      Cipher cipher = getCipher();
+      cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(dataKey, ENCRYPTION_ALGORITHM), getGCMSpec(dataIv));
+      cipher.updateAAD(header, 0, ENVELOPE_MAGIC.length + 1);
+      return cipher.doFinal(payload, envelope.position(), envelope.remaining());
+    } finally {
+      Arrays.fill(dataKey, (byte) 0);
+    }
+  }
+  
+  /**
+   * Wraps the data key of an envelope with the key encryption key of a new password. The encrypted
+   * message is left untouched.
+   *
+   * @param payload The envelope
+   * @param oldPassword Password the envelope was encrypted with
+   * @param newPassword Password to wrap the data key with
+   * @return The new envelope
+   * @throws GeneralSecurityException
+   */
+  public byte[] rewrapEnvelope(byte[] payload, String oldPassword, String newPassword)
+      throws GeneralSecurityException {
+    if (!isEnvelope(payload)) {
+      throw new IllegalArgumentException("Payload is not an envelope");
+    }
+    ByteBuffer envelope = ByteBuffer.wrap(payload);
+    byte[] oldHeader = readEnvelopeHeader(envelope);
+    byte[] dataKey = unwrapDataKey(envelope, oldHeader, oldPassword);
+    try {
+      KeyEncryptionKey kek = getCurrentKek(newPassword);
+      byte[] header = envelopeHeader(kek.salt);
+      ByteBuffer rewrapped = ByteBuffer.allocate(payload.length);
+      rewrapped.put(header);
+      wrapDataKey(rewrapped, header, kek.key, dataKey);
+      rewrapped.put(payload, envelope.position(), envelope.remaining());
+      return rewrapped.array();
+    } finally {
+      Arrays.fill(dataKey, (byte) 0);
+    }
+  }
+  
+  /**
+   * @param payload
+   * @return true if payload has been encrypted with {@link #encryptEnvelope(String, byte[])}
+   */
+  public boolean isEnvelope(byte[] payload) {
+    if (payload == null || payload.length < ENVELOPE_OVERHEAD) {
+      return false;
+    }
+    for (int i = 0; i < ENVELOPE_MAGIC.length; i++) {
+      if (payload[i] != ENVELOPE_MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+  
+  /**
+   * Drop all cached keys, for example after the password has changed
+   */
+  public void clearDerivedKeys() {
+    keks.invalidateAll();
+    derivedKeys.invalidateAll();
+  }
+  
+  long getDerivedKeysCount() {
+    return derivedKeys.estimatedSize();
+  }
+  
   /**
    * Utility method which merges Salt, IV and encrypted payload into one byte array
    * [salt(64 bytes), iv(12 bytes), payload]
@@ -176,34 +351,119 @@ public class SymmetricEncryptionService {
     return splitPayload;
   }
   
+  private byte[] envelopeHeader(byte[] kekSalt) {
+    return ByteBuffer.allocate(ENVELOPE_HEADER_LENGTH)
+        .put(ENVELOPE_MAGIC)
+        .put(ENVELOPE_VERSION)
+        .put(kekSalt)
+        .array();
+  }
+  
+  private byte[] readEnvelopeHeader(ByteBuffer envelope) {
+    byte[] header = new byte[ENVELOPE_HEADER_LENGTH];
+    envelope.get(header);
+    if (header[ENVELOPE_MAGIC.length] != ENVELOPE_VERSION) {
+      throw new IllegalArgumentException("Unsupported envelope version " + header[ENVELOPE_MAGIC.length]);
+    }
+    return header;
+  }
+  
+  private void wrapDataKey(ByteBuffer envelope, byte[] header, SecretKey kek, byte[] dataKey)
+      throws GeneralSecurityException {
+    byte[] wrapIv = new byte[IV_LENGTH];
+    generateRandom(wrapIv);
+    Cipher cipher = getCipher();
+    cipher.init(Cipher.ENCRYPT_MODE, kek, getGCMSpec(wrapIv));
+    cipher.updateAAD(header);
+    envelope.put(wrapIv);
+    envelope.put(cipher.doFinal(dataKey));
+  }
+  
+  private byte[] unwrapDataKey(ByteBuffer envelope, byte[] header, String password)
+      throws GeneralSecurityException {
+    byte[] kekSalt = Arrays.copyOfRange(header, ENVELOPE_MAGIC.length + 1, ENVELOPE_HEADER_LENGTH);
+    byte[] wrapIv = new byte[IV_LENGTH];
+    envelope.get(wrapIv);
+    SecretKey kek = getDerivedKey(password.toCharArray(), kekSalt, KEK_DERIVATION_ITERATIONS);
+    Cipher cipher = getCipher();
+    cipher.init(Cipher.DECRYPT_MODE, kek, getGCMSpec(wrapIv));
+    cipher.updateAAD(header);
+    byte[] dataKey = cipher.doFinal(envelope.array(), envelope.position(), WRAPPED_DATA_KEY_LENGTH);
+    envelope.position(envelope.position() + WRAPPED_DATA_KEY_LENGTH);
+    return dataKey;
+  }
+  
   /**
-   * Clear the password from the key specification. Call this only after you are done
-   * with the encryption/decryption
-   * @param keySpec
-   * @param descriptor
+   * Key encryption key for new envelopes. A random salt is picked the first time a password is used
+   * by this process, so the key is derived once and every envelope created by this process shares it.
    */
-  private void clearPasswords(KeySpec keySpec, SymmetricEncryptionDescriptor descriptor) {
-    if (keySpec instanceof PBEKeySpec) {
-      ((PBEKeySpec) keySpec).clearPassword();
+  private KeyEncryptionKey getCurrentKek(String password) throws GeneralSecurityException {
+    char[] passwordChars = password.toCharArray();
+    String fingerprint = fingerprint(passwordChars);
+    KeyEncryptionKey kek = keks.getIfPresent(fingerprint);
+    if (kek == null) {
+      byte[] salt = new byte[KEK_SALT_LENGTH];
+      generateRandom(salt);
+      kek = new KeyEncryptionKey(salt, getDerivedKey(passwordChars, salt, KEK_DERIVATION_ITERATIONS));
+      keks.put(fingerprint, kek);
+    } else {
+      Arrays.fill(passwordChars, '\0');
     }
-    descriptor.clearPassword();
+    return kek;
+  }
+  
+  /**
+   * Get a key derived with {@link #buildSecretKey(char[], byte[], int)} from the cache, deriving it if
+   * it is not cached. The password is cleared.
+   */
+  private SecretKey getDerivedKey(char[] password, byte[] salt, int iterations) throws GeneralSecurityException {
+    DerivedKeyId id = new DerivedKeyId(fingerprint(password), salt, iterations);
+    SecretKey key = derivedKeys.getIfPresent(id);
+    if (key == null) {
+      key = buildSecretKey(password, salt, iterations);
+      derivedKeys.put(id, key);
+    } else {
+      Arrays.fill(password, '\0');
+    }
+    return key;
   }
   
   /**
-   * Generate a secret key using @KEY_DERIVATION_ALGORITHM algorithm
+   * The caches are keyed by an HMAC of the password with a random per process key, so that neither the password
+   * nor a digest which could be attacked offline is kept in memory
+   */
+  private String fingerprint(char[] password) throws GeneralSecurityException {
+    ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+    Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+    mac.init(fingerprintKey);
+    mac.update(bytes);
+    if (bytes.hasArray()) {
+      Arrays.fill(bytes.array(), (byte) 0);
+    }
+    return Base64.getEncoder().encodeToString(mac.doFinal());
+  }
+  
+  /**
+   * Generate a secret key using @KEY_DERIVATION_ALGORITHM algorithm. The password is cleared.
    *
    * @param password Password to use
    * @param salt Salt for the key derivation function
-   * @return A pair of the key specification and the key itself
+   * @param iterations Iterations of the key derivation function
+   * @return The key
    * @throws NoSuchAlgorithmException
    * @throws InvalidKeySpecException
    */
-  private Pair<KeySpec, SecretKey> buildSecretKey(char[] password, byte[] salt) throws NoSuchAlgorithmException,
+  private SecretKey buildSecretKey(char[] password, byte[] salt, int iterations) throws NoSuchAlgorithmException,
       InvalidKeySpecException {
     SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance(KEY_DERIVATION_ALGORITHM);
-    KeySpec keySpec = new PBEKeySpec(password, salt, KEY_DERIVATION_ITERATIONS, KEY_SIZE);
-    SecretKey key = secretKeyFactory.generateSecret(keySpec);
-    return Pair.of(keySpec, new SecretKeySpec(key.getEncoded(), ENCRYPTION_ALGORITHM));
+    PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterations, KEY_SIZE);
+    try {
+      SecretKey key = secretKeyFactory.generateSecret(keySpec);
+      return new SecretKeySpec(key.getEncoded(), ENCRYPTION_ALGORITHM);
+    } finally {
+      keySpec.clearPassword();
+      Arrays.fill(password, '\0');
+    }
   }
   
   private Cipher getCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
@@ -223,4 +483,43 @@ public class SymmetricEncryptionService {
   private void generateRandom(byte[] buffer) {
     rand.nextBytes(buffer);
   }
+  
+  private static final class KeyEncryptionKey {
+    private final byte[] salt;
+    private final SecretKey key;
+    
+    private KeyEncryptionKey(byte[] salt, SecretKey key) {
+      this.salt = salt;
+      this.key = key;
+    }
+  }
+  
+  private static final class DerivedKeyId {
+    private final String fingerprint;
+    private final byte[] salt;
+    private final int iterations;
+    
+    private DerivedKeyId(String fingerprint, byte[] salt, int iterations) {
+      this.fingerprint = fingerprint;
+      this.salt = salt;
+      this.iterations = iterations;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DerivedKeyId that = (DerivedKeyId) o;
+      return iterations == that.iterations && fingerprint.equals(that.fingerprint) && Arrays.equals(salt, that.salt);
+    }
+    
+    @Override
+    public int hashCode() {
+      return 31 * (31 * fingerprint.hashCode() + Arrays.hashCode(salt)) + iterations;
+    }
+  }
 }
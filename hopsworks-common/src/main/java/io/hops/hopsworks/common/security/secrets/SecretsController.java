@@ -23,7 +23,6 @@ import io.hops.hopsworks.common.dao.user.UserFacade;
 import io.hops.hopsworks.common.dao.user.security.secrets.SecretPlaintext;
 import io.hops.hopsworks.common.dao.user.security.secrets.SecretsFacade;
 import io.hops.hopsworks.common.security.CertificatesMgmService;
-import io.hops.hopsworks.common.security.SymmetricEncryptionDescriptor;
 import io.hops.hopsworks.common.security.SymmetricEncryptionService;
 import io.hops.hopsworks.common.util.DateUtils;
 import io.hops.hopsworks.exceptions.ProjectException;
@@ -437,18 +436,8 @@ public class SecretsController {
       throws IOException, GeneralSecurityException {
     String password = certificatesMgmService.getMasterEncryptionPassword();
   
-    // [salt(64),iv(12),payload)]
-    byte[][] split = symmetricEncryptionService.splitPayloadFromCryptoPrimitives(ciphered.getSecret());
-    
-    SymmetricEncryptionDescriptor descriptor = new SymmetricEncryptionDescriptor.Builder()
-        .setPassword(password)
-        .setSalt(split[0])
-        .setIV(split[1])
-        .setInput(split[2])
-        .build();
-    descriptor = symmetricEncryptionService.decrypt(descriptor);
-    
-    byte[] plaintext = descriptor.getOutput();
+    // Either an envelope or, for Secrets stored before envelope encryption, [salt(64),iv(12),payload)]
+    byte[] plaintext = symmetricEncryptionService.decryptPayload(password, ciphered.getSecret());
 
     return SecretPlaintext.newInstance(user, ciphered.getId().getName(), bytes2string(plaintext),
         ciphered.getAddedOn(), ciphered.getVisibilityType(), ciphered.getProjectIdScope());
@@ -458,21 +447,13 @@ public class SecretsController {
    * Encrypts a Secret.
    *
    * @param secret
-   * @return Encrypted secret along with cryptographic primitives. The structure is the following:
-   * Salt(64 bytes), InitializationVector(12 bytes), EncryptedPayload
+   * @return Envelope of the secret, see {@link SymmetricEncryptionService#encryptEnvelope(String, byte[])}
    * @throws IOException
    * @throws GeneralSecurityException
    */
   public byte[] encryptSecret(String secret) throws IOException, GeneralSecurityException {
     String password = certificatesMgmService.getMasterEncryptionPassword();
-    SymmetricEncryptionDescriptor descriptor = new SymmetricEncryptionDescriptor.Builder()
-        .setInput(string2bytes(secret))
-        .setPassword(password)
-        .build();
-    descriptor = symmetricEncryptionService.encrypt(descriptor);
-    
-    return symmetricEncryptionService.mergePayloadWithCryptoPrimitives(descriptor.getSalt(), descriptor.getIv(),
-        descriptor.getOutput());
+    return symmetricEncryptionService.encryptEnvelope(password, string2bytes(secret));
   }
   
   /**
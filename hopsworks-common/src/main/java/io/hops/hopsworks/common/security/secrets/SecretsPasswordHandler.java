@@ -21,7 +21,6 @@ import io.hops.hopsworks.persistence.entity.user.security.secrets.SecretId;
 import io.hops.hopsworks.common.dao.user.security.secrets.SecretsFacade;
 import io.hops.hopsworks.common.security.MasterPasswordChangeResult;
 import io.hops.hopsworks.common.security.MasterPasswordHandler;
-import io.hops.hopsworks.common.security.SymmetricEncryptionDescriptor;
 import io.hops.hopsworks.common.security.SymmetricEncryptionService;
 import io.hops.hopsworks.exceptions.EncryptionMasterPasswordException;
 
@@ -58,8 +57,6 @@ public class SecretsPasswordHandler implements MasterPasswordHandler {
     successLog.append("Performing change of master password for Secrets\n");
     SecretId secretId;
     Secret newSecret;
-    SymmetricEncryptionDescriptor inDescriptor;
-    SymmetricEncryptionDescriptor outDescriptor;
     
     try {
       LOGGER.log(Level.INFO, "Updating Secrets with new Hopsworks master encryption password");
@@ -69,27 +66,16 @@ public class SecretsPasswordHandler implements MasterPasswordHandler {
         secretId = cipheredSecret.getId();
         secrets2Rollback.put(secretId, cipheredSecret.getSecret());
         
-        // First decrypt with the old password
-        byte[][] cryptoPrimitives = symmetricEncryptionService
-            .splitPayloadFromCryptoPrimitives(cipheredSecret.getSecret());
-        inDescriptor = new SymmetricEncryptionDescriptor.Builder()
-            .setPassword(oldPassword)
-            .setSalt(cryptoPrimitives[0])
-            .setIV(cryptoPrimitives[1])
-            .setInput(cryptoPrimitives[2])
-            .build();
-        outDescriptor = symmetricEncryptionService.decrypt(inDescriptor);
-        inDescriptor.clearPassword();
-        
-        // Then encrypt plaintext secret with the new password
-        inDescriptor = new SymmetricEncryptionDescriptor.Builder()
-            .setInput(outDescriptor.getOutput())
-            .setPassword(newPassword)
-            .build();
-        outDescriptor = symmetricEncryptionService.encrypt(inDescriptor);
-        inDescriptor.clearPassword();
-        byte[] newCipheredSecret = symmetricEncryptionService.mergePayloadWithCryptoPrimitives(outDescriptor.getSalt(),
-            outDescriptor.getIv(), outDescriptor.getOutput());
+        byte[] newCipheredSecret;
+        if (symmetricEncryptionService.isEnvelope(cipheredSecret.getSecret())) {
+          // Only the data key has to be wrapped with the new password
+          newCipheredSecret = symmetricEncryptionService.rewrapEnvelope(cipheredSecret.getSecret(), oldPassword,
+              newPassword);
+        } else {
+          // Secret stored before envelope encryption, decrypt with the old password and migrate it to an envelope
+          byte[] plaintext = symmetricEncryptionService.decryptPayload(oldPassword, cipheredSecret.getSecret());
+          newCipheredSecret = symmetricEncryptionService.encryptEnvelope(newPassword, plaintext);
+        }
         
         // Store new API key
         newSecret = new Secret(secretId, newCipheredSecret, cipheredSecret.getAddedOn());
@@ -132,5 +118,7 @@ public class SecretsPasswordHandler implements MasterPasswordHandler {
   
   @Override
   public void post() {
+    // Keys derived from the old password are not needed anymore
+    symmetricEncryptionService.clearDerivedKeys();
   }
 }
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.serving;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.serving.Serving;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the serving entities resolved on the inference path by project and name, so that an inference request does
+ * not need a database round trip. Entries are invalidated by {@link io.hops.hopsworks.common.dao.serving.ServingFacade}
+ * once a transaction which updated, started, stopped or deleted a serving on this node has committed, and expire
+ * after {@link #TTL_MS} to pick up changes made by other nodes. At most {@link #MAX_SIZE} servings are cached.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ServingDescriptorCache {
+
+  private static final long TTL_MS = TimeUnit.SECONDS.toMillis(10);
+  static final int MAX_SIZE = 1000;
+
+  private final Cache<Key, Serving> entries = Caffeine.newBuilder()
+      .maximumSize(MAX_SIZE)
+      .expireAfterWrite(TTL_MS, TimeUnit.MILLISECONDS)
+      .build();
+  // Incremented on every invalidation, a load which overlaps an invalidation is not cached
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * @param project
+   * @param name name of the serving
+   * @param loader loads the serving from the database, may return null
+   * @return the serving or null if it does not exist
+   */
+  public Serving get(Project project, String name, Supplier<Serving> loader) {
+    Key key = new Key(project.getId(), name);
+    Serving serving = entries.getIfPresent(key);
+    if (serving != null) {
+      return serving;
+    }
+    long loadGeneration = generation.get();
+    serving = loader.get();
+    if (serving != null) {
+      entries.put(key, serving);
+      if (generation.get() != loadGeneration) {
+        entries.invalidate(key);
+      }
+    }
+    return serving;
+  }
+
+  /**
+   * Drop the cached entry of a serving, renamed servings are matched by id
+   *
+   * @param servingId
+   */
+  public void invalidate(Integer servingId) {
+    generation.incrementAndGet();
+    entries.asMap().values().removeIf(serving -> Objects.equals(serving.getId(), servingId));
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    entries.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long size() {
+    entries.cleanUp();
+    return entries.estimatedSize();
+  }
+
+  private static final class Key {
+    private final Integer projectId;
+    private final String name;
+
+    private Key(Integer projectId, String name) {
+      this.projectId = projectId;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(projectId, key.projectId) && Objects.equals(name, key.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(projectId, name);
+    }
+  }
+}
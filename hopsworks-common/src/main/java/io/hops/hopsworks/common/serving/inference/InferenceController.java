@@ -18,6 +18,7 @@ package io.hops.hopsworks.common.serving.inference;
 
 import io.hops.common.Pair;
 import io.hops.hopsworks.common.dao.serving.ServingFacade;
+import io.hops.hopsworks.common.serving.ServingDescriptorCache;
 import io.hops.hopsworks.common.serving.inference.logger.InferenceLogger;
 import io.hops.hopsworks.exceptions.ApiKeyException;
 import io.hops.hopsworks.exceptions.InferenceException;
@@ -25,6 +26,8 @@ import io.hops.hopsworks.exceptions.ServingException;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.serving.Serving;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpStatus;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
@@ -33,6 +36,9 @@ import javax.ejb.TransactionAttributeType;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -49,6 +55,8 @@ public class InferenceController {
 
   @EJB
   private ServingFacade servingFacade;
+  @EJB
+  private ServingDescriptorCache servingDescriptorCache;
 
   @Inject
   private ServingInferenceController servingInferenceController;
@@ -73,7 +81,69 @@ public class InferenceController {
                       InferenceVerb verb, String inferenceRequestJson, String authHeader)
       throws InferenceException, ApiKeyException {
 
-    Serving serving = servingFacade.findByProjectAndName(project, modelName);
+    Serving serving = getServing(project, modelName, modelVersion, verb);
+
+    // ServingInferenceController is either localhost or kubernetes inference controller
+    Pair<Integer, String> inferenceResult =
+      servingInferenceController.infer(username, serving, modelVersion, verb, inferenceRequestJson, authHeader);
+
+    logInference(serving, inferenceRequestJson, inferenceResult.getL(), inferenceResult.getR());
+
+    checkResponseCode(inferenceResult.getL(), inferenceResult.getR());
+
+    return inferenceResult.getR();
+  }
+
+  /**
+   * Makes an inference request to a running serving instance, relaying the request and the response payloads as
+   * streams. The payloads are only buffered if the inference is logged or the serving returned an error.
+   *
+   * @param project the project where the serving is running
+   * @param modelName the name of the serving
+   * @param modelVersion the version of the serving
+   * @param verb the predictiont type (predict, regress, or classify)
+   * @param inferenceRequest the user-provided JSON payload for the inference request
+   * @param contentLength length of the payload, -1 if unknown
+   * @return the inference result, it must be written or closed by the caller
+   * @throws InferenceException
+   */
+  public InferenceResult inferStream(Project project, String username, String modelName, Integer modelVersion,
+                                     InferenceVerb verb, InputStream inferenceRequest, long contentLength,
+                                     String authHeader)
+      throws InferenceException, ApiKeyException {
+
+    Serving serving = getServing(project, modelName, modelVersion, verb);
+
+    if (isLogging(serving)) {
+      String inferenceRequestJson;
+      try {
+        inferenceRequestJson = IOUtils.toString(inferenceRequest, StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        throw new InferenceException(RESTCodes.InferenceErrorCode.BAD_REQUEST, Level.INFO, null, e.getMessage(), e);
+      }
+      return InferenceResult.of(HttpStatus.SC_OK,
+        infer(project, username, modelName, modelVersion, verb, inferenceRequestJson, authHeader));
+    }
+
+    InferenceResult inferenceResult = servingInferenceController.inferStream(username, serving, modelVersion, verb,
+      inferenceRequest, contentLength, authHeader);
+    if (inferenceResult.getStatusCode() >= 400) {
+      String response;
+      try {
+        response = inferenceResult.readBody();
+      } catch (IOException e) {
+        throw new InferenceException(RESTCodes.InferenceErrorCode.ERROR_READING_RESPONSE, Level.INFO,
+          "", e.getMessage(), e);
+      }
+      checkResponseCode(inferenceResult.getStatusCode(), response);
+    }
+    return inferenceResult;
+  }
+
+  private Serving getServing(Project project, String modelName, Integer modelVersion, InferenceVerb verb)
+      throws InferenceException {
+    Serving serving = servingDescriptorCache.get(project, modelName,
+      () -> servingFacade.findByProjectAndName(project, modelName));
     if (serving == null) {
       throw new InferenceException(RESTCodes.InferenceErrorCode.SERVING_NOT_FOUND, Level.FINE, "name: " + modelName);
     }
@@ -86,40 +156,44 @@ public class InferenceController {
       throw new InferenceException(RESTCodes.InferenceErrorCode.BAD_REQUEST, Level.FINE, "Model version must be " +
         "positive");
     }
+    return serving;
+  }
 
-    // ServingInferenceController is either localhost or kubernetes inference controller
-    Pair<Integer, String> inferenceResult =
-      servingInferenceController.infer(username, serving, modelVersion, verb, inferenceRequestJson, authHeader);
+  private boolean isLogging(Serving serving) {
+    for (InferenceLogger inferenceLogger : inferenceLoggers) {
+      if (inferenceLogger.isLogging(serving)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-    // Log the inference
+  private void logInference(Serving serving, String inferenceRequestJson, Integer responseCode, String response) {
     for (InferenceLogger inferenceLogger : inferenceLoggers) {
       try {
-        inferenceLogger.logInferenceRequest(serving, inferenceRequestJson,
-            inferenceResult.getL(), inferenceResult.getR());
+        inferenceLogger.logInferenceRequest(serving, inferenceRequestJson, responseCode, response);
       } catch (Exception e) {
         // We don't want to fill the logs with inference logging errors
         logger.log(Level.FINE, "Error logging inference for logger: " + inferenceLogger.getClassName(), e);
       }
     }
+  }
 
+  private void checkResponseCode(int responseCode, String response) throws InferenceException {
     // If the inference server returned something different than 200 then throw an exception to the user
-    if (inferenceResult.getL() >= 500) {
-      logger.log(Level.FINE, "Request error: " + inferenceResult.getL() + " - " + inferenceResult.getR());
-      throw new InferenceException(RESTCodes.InferenceErrorCode.SERVING_INSTANCE_INTERNAL, Level.FINE,
-          inferenceResult.getR());
-    } else if (inferenceResult.getL() >= 400) {
-      logger.log(Level.FINE, "Request error: " + inferenceResult.getL() + " - " + inferenceResult.getR());
-      if (inferenceResult.getL() == 401) {
-        throw new InferenceException(RESTCodes.InferenceErrorCode.UNAUTHORIZED, Level.FINE, inferenceResult.getR());
+    if (responseCode >= 500) {
+      logger.log(Level.FINE, "Request error: " + responseCode + " - " + response);
+      throw new InferenceException(RESTCodes.InferenceErrorCode.SERVING_INSTANCE_INTERNAL, Level.FINE, response);
+    } else if (responseCode >= 400) {
+      logger.log(Level.FINE, "Request error: " + responseCode + " - " + response);
+      if (responseCode == 401) {
+        throw new InferenceException(RESTCodes.InferenceErrorCode.UNAUTHORIZED, Level.FINE, response);
       }
-      if (inferenceResult.getL() == 403) {
-        throw new InferenceException(RESTCodes.InferenceErrorCode.FORBIDDEN, Level.FINE, inferenceResult.getR());
+      if (responseCode == 403) {
+        throw new InferenceException(RESTCodes.InferenceErrorCode.FORBIDDEN, Level.FINE, response);
       }
-      throw new InferenceException(RESTCodes.InferenceErrorCode.SERVING_INSTANCE_BAD_REQUEST, Level.FINE,
-          inferenceResult.getR());
+      throw new InferenceException(RESTCodes.InferenceErrorCode.SERVING_INSTANCE_BAD_REQUEST, Level.FINE, response);
     }
-
-    return inferenceResult.getR();
   }
   
   public List<InferenceEndpoint> getInferenceEndpoints() throws ServingException {
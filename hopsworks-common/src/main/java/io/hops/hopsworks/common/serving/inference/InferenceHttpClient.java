@@ -130,6 +130,30 @@ public class InferenceHttpClient {
     }
   }
   
+  /**
+   * Handles a HTTP response to an inference request without reading its body. The returned result holds the
+   * connection until it is closed.
+   *
+   * @param response the HTTP response to handle
+   * @return the status code and the body of the response
+   * @throws InferenceException in case the response is empty
+   */
+  public InferenceResult handleStreamingInferenceResponse(CloseableHttpResponse response) throws InferenceException {
+    if (response == null) {
+      throw new InferenceException(RESTCodes.InferenceErrorCode.EMPTY_RESPONSE, Level.INFO, "Received null response");
+    }
+    HttpEntity httpEntity = response.getEntity();
+    if (httpEntity == null) {
+      try {
+        response.close();
+      } catch (IOException ioe) {
+        logger.log(Level.FINE, "Error closing response" , ioe);
+      }
+      throw new InferenceException(RESTCodes.InferenceErrorCode.EMPTY_RESPONSE, Level.INFO, "Received null response");
+    }
+    return InferenceResult.streamed(response.getStatusLine().getStatusCode(), httpEntity, response);
+  }
+  
   /**
    * Cleanup the http client
    */
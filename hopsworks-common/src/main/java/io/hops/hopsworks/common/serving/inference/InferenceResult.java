@@ -0,0 +1,110 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.serving.inference;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Response of a model server to an inference request. The body is either held in memory or still being received
+ * from the model server, in which case it is relayed to the client with {@link #writeTo(OutputStream)} without
+ * being copied into a String first. Streamed results must be closed to return the connection to the pool.
+ */
+public class InferenceResult implements Closeable {
+
+  private static final Logger LOGGER = Logger.getLogger(InferenceResult.class.getName());
+
+  private final int statusCode;
+  private final String body;
+  private final HttpEntity entity;
+  private final Closeable response;
+
+  private InferenceResult(int statusCode, String body, HttpEntity entity, Closeable response) {
+    this.statusCode = statusCode;
+    this.body = body;
+    this.entity = entity;
+    this.response = response;
+  }
+
+  public static InferenceResult of(int statusCode, String body) {
+    return new InferenceResult(statusCode, body, null, null);
+  }
+
+  public static InferenceResult streamed(int statusCode, HttpEntity entity, Closeable response) {
+    return new InferenceResult(statusCode, null, entity, response);
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Read the whole body, closes a streamed result
+   *
+   * @return the body of the response
+   * @throws IOException
+   */
+  public String readBody() throws IOException {
+    if (entity == null) {
+      return body;
+    }
+    try {
+      return EntityUtils.toString(entity);
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Write the body to out and close the result
+   *
+   * @param out
+   * @throws IOException
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    try {
+      if (entity == null) {
+        if (body != null) {
+          out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+      } else {
+        entity.writeTo(out);
+      }
+      out.flush();
+    } finally {
+      close();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (response != null) {
+      try {
+        response.close();
+      } catch (IOException e) {
+        LOGGER.log(Level.FINE, "Error closing response", e);
+      }
+    }
+  }
+}
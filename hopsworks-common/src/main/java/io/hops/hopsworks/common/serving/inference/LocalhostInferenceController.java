@@ -33,6 +33,7 @@ import javax.ejb.EJB;
 import javax.ejb.Singleton;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.Collections;
@@ -96,6 +97,31 @@ public class LocalhostInferenceController implements ServingInferenceController
     }
   }
   
+  @Override
+  public InferenceResult inferStream(String username, Serving serving, Integer modelVersion, InferenceVerb verb,
+    InputStream inferenceRequest, long contentLength, String authHeader) throws InferenceException {
+    
+    if (serving.getCid().equals(CID_STOPPED)) {
+      throw new InferenceException(RESTCodes.InferenceErrorCode.SERVING_NOT_RUNNING, Level.FINE);
+    }
+    
+    String path = getInferencePath(serving, modelVersion, verb);
+    
+    InferenceEndpoint endpoint = getNodeInferenceEndpoint();
+    String host = endpoint.getAnyHost();
+    Integer port = serving.getLocalPort(); // use serving local port
+    
+    try {
+      HttpPost request = servingInferenceUtils.buildInferenceRequest(host, port, path, inferenceRequest,
+        contentLength);
+      HttpContext context = HttpClientContext.create();
+      CloseableHttpResponse response = inferenceHttpClient.execute(request, context);
+      return inferenceHttpClient.handleStreamingInferenceResponse(response);
+    } catch (URISyntaxException e) {
+      throw new InferenceException(RESTCodes.InferenceErrorCode.REQUEST_ERROR, Level.SEVERE, null, e.getMessage(), e);
+    }
+  }
+  
   public List<InferenceEndpoint> getInferenceEndpoints() {
     InferenceEndpoint endpoint = getNodeInferenceEndpoint();
     return Collections.singletonList(endpoint);
@@ -21,8 +21,14 @@ import io.hops.hopsworks.exceptions.ApiKeyException;
 import io.hops.hopsworks.exceptions.ServingException;
 import io.hops.hopsworks.persistence.entity.serving.Serving;
 import io.hops.hopsworks.exceptions.InferenceException;
+import io.hops.hopsworks.restutils.RESTCodes;
+import org.apache.commons.io.IOUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.logging.Level;
 
 /**
  * Interface for sending inference requests to localhost or Kubernetes serving instances. Different type of serving
@@ -31,6 +37,23 @@ import java.util.List;
 public interface ServingInferenceController {
   Pair<Integer, String> infer(String username, Serving serving, Integer modelVersion, InferenceVerb verb,
     String inferenceRequestJson, String authHeader) throws InferenceException, ApiKeyException;
+
+  /**
+   * Send an inference request whose payload is streamed to the model server. The response body is not read, the
+   * caller must write or close the returned result. Implementations which cannot stream fall back to
+   * {@link #infer(String, Serving, Integer, InferenceVerb, String, String)}.
+   */
+  default InferenceResult inferStream(String username, Serving serving, Integer modelVersion, InferenceVerb verb,
+    InputStream inferenceRequest, long contentLength, String authHeader) throws InferenceException, ApiKeyException {
+    String inferenceRequestJson;
+    try {
+      inferenceRequestJson = IOUtils.toString(inferenceRequest, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new InferenceException(RESTCodes.InferenceErrorCode.BAD_REQUEST, Level.INFO, null, e.getMessage(), e);
+    }
+    Pair<Integer, String> result = infer(username, serving, modelVersion, verb, inferenceRequestJson, authHeader);
+    return InferenceResult.of(result.getL(), result.getR());
+  }
   
   List<InferenceEndpoint> getInferenceEndpoints() throws ServingException;
 }
@@ -19,11 +19,13 @@ package io.hops.hopsworks.common.serving.inference;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
@@ -60,4 +62,33 @@ public class ServingInferenceUtils {
     
     return request;
   }
+
+  /**
+   * Build an inference request which streams the payload to the model server
+   *
+   * @param host host of the deployment where the model server is running
+   * @param port port of the deployment where the model server is listening to
+   * @param path inference path
+   * @param payload request payload
+   * @param contentLength length of the payload, -1 if unknown
+   * @return the inference request
+   * @throws URISyntaxException
+   */
+  public HttpPost buildInferenceRequest(String host, int port, String path, InputStream payload, long contentLength)
+    throws URISyntaxException {
+    URI uri = new URIBuilder()
+      .setScheme("http")
+      .setHost(host)
+      .setPort(port)
+      .setPath(path)
+      .build();
+    
+    ContentType contentType = ContentType.create(ContentType.APPLICATION_JSON.getMimeType(), StandardCharsets.UTF_8);
+    
+    HttpPost request = new HttpPost(uri);
+    request.addHeader("content-type", contentType.toString());
+    request.setEntity(new InputStreamEntity(payload, contentLength, contentType));
+    
+    return request;
+  }
 }
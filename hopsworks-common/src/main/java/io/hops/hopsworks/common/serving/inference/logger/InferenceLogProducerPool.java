@@ -0,0 +1,215 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.serving.inference.logger;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.annotations.VisibleForTesting;
+import io.hops.hopsworks.common.dao.kafka.HopsKafkaAdminClient;
+import io.hops.hopsworks.common.security.CertificateMaterializer;
+import io.hops.hopsworks.common.util.HopsUtils;
+import io.hops.hopsworks.common.util.LeasePool;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.exceptions.CryptoPasswordNotFoundException;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.DatumWriter;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timer;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the Kafka producers used to log inference requests alive between requests, one per project. Creating a
+ * producer materializes the certificates of the serving manager and opens TLS connections to the brokers, so a
+ * producer is only closed once it has been idle for {@link #MAX_PRODUCER_IDLE_MS}. Records are batched by the
+ * producer instead of being flushed one by one.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class InferenceLogProducerPool {
+  private static final Logger LOGGER = Logger.getLogger(InferenceLogProducerPool.class.getName());
+
+  private static final int MAX_PRODUCERS = 50;
+  private static final long MAX_PRODUCER_IDLE_MS = TimeUnit.MINUTES.toMillis(5);
+  private static final Duration PRODUCER_CLOSE_TIMEOUT = Duration.ofSeconds(10);
+  private static final String LINGER_MS = "50";
+  static final int MAX_CACHED_SCHEMAS = 100;
+
+  @EJB
+  private Settings settings;
+  @EJB
+  private CertificateMaterializer certificateMaterializer;
+  @EJB
+  private HopsKafkaAdminClient hopsKafkaAdminClient;
+
+  private final LeasePool<String, KafkaProducer<String, byte[]>> producers = new LeasePool<>("inference-log-producers",
+      MAX_PRODUCERS, MAX_PRODUCER_IDLE_MS, this::dispose);
+  // Parsed inference schemas and their writers, keyed by schema definition
+  private final LoadingCache<String, SchemaWriter> writers = Caffeine.newBuilder()
+      .maximumSize(MAX_CACHED_SCHEMAS)
+      .build(SchemaWriter::new);
+
+  @PreDestroy
+  public void destroy() {
+    producers.close();
+  }
+
+  /**
+   * Lease the producer of the project, every lease must be followed by {@link #release(Project, KafkaProducer)}
+   *
+   * @param project
+   * @return the shared producer or null if it could not be created
+   */
+  public KafkaProducer<String, byte[]> lease(Project project) {
+    return producers.lease(project.getName(), projectName -> {
+      try {
+        return setupProducer(projectName);
+      } catch (IOException | CryptoPasswordNotFoundException | RuntimeException e) {
+        LOGGER.log(Level.FINE, "Failed to setup the producer for the project: " + projectName, e);
+        return null;
+      }
+    });
+  }
+
+  public void release(Project project, KafkaProducer<String, byte[]> producer) {
+    producers.release(project.getName(), producer);
+  }
+
+  /**
+   * Close the producer of the project, e.g. when the project is deleted or its certificates are rotated
+   *
+   * @param project
+   */
+  public void invalidate(Project project) {
+    producers.invalidate(project.getName()::equals);
+  }
+
+  /**
+   * @param schema Avro schema definition
+   * @return the parsed schema with its writer, shared by all records of the schema
+   */
+  public SchemaWriter getWriter(String schema) {
+    return writers.get(schema);
+  }
+
+  @VisibleForTesting
+  long getCachedWriters() {
+    writers.cleanUp();
+    return writers.estimatedSize();
+  }
+
+  private KafkaProducer<String, byte[]> setupProducer(String projectName) throws IOException,
+      CryptoPasswordNotFoundException {
+    // Get default properties
+    Properties props = hopsKafkaAdminClient.getHopsworksKafkaProperties();
+
+    // Setup producer properties
+    props.put(ProducerConfig.CLIENT_ID_CONFIG, "KafkaServing");
+    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
+        StringSerializer.class.getName());
+    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+        ByteArraySerializer.class.getName());
+    props.put(ProducerConfig.LINGER_MS_CONFIG, LINGER_MS);
+
+    // Configure TLS for this producer
+    certificateMaterializer.materializeCertificatesLocal(KafkaInferenceLogger.SERVING_MANAGER_USERNAME, projectName);
+    try {
+      CertificateMaterializer.CryptoMaterial cryptoMaterial =
+          certificateMaterializer.getUserMaterial(KafkaInferenceLogger.SERVING_MANAGER_USERNAME, projectName);
+
+      props.setProperty(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG,
+          settings.getHopsworksTmpCertDir() + File.separator + HopsUtils.getProjectTruststoreName(projectName,
+              KafkaInferenceLogger.SERVING_MANAGER_USERNAME));
+      props.setProperty(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, String.valueOf(cryptoMaterial.getPassword()));
+
+      props.setProperty(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG,
+          settings.getHopsworksTmpCertDir() + File.separator + HopsUtils.getProjectKeystoreName(projectName,
+              KafkaInferenceLogger.SERVING_MANAGER_USERNAME));
+      props.setProperty(SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG, String.valueOf(cryptoMaterial.getPassword()));
+
+      props.setProperty(SslConfigs.SSL_KEY_PASSWORD_CONFIG, String.valueOf(cryptoMaterial.getPassword()));
+
+      return new KafkaProducer<>(props);
+    } catch (CryptoPasswordNotFoundException | RuntimeException e) {
+      certificateMaterializer.removeCertificatesLocal(KafkaInferenceLogger.SERVING_MANAGER_USERNAME, projectName);
+      throw e;
+    }
+  }
+
+  private void dispose(String projectName, KafkaProducer<String, byte[]> producer) {
+    try {
+      // Sends the records which are still batched
+      producer.close(PRODUCER_CLOSE_TIMEOUT);
+    } finally {
+      // De-materialize certificate
+      certificateMaterializer.removeCertificatesLocal(KafkaInferenceLogger.SERVING_MANAGER_USERNAME, projectName);
+    }
+  }
+
+  @Schedule(persistent = false,
+      minute = "*",
+      hour = "*",
+      info = "Inference log producer eviction")
+  public void evictIdle(Timer timer) {
+    try {
+      int evicted = producers.evictIdle();
+      LOGGER.log(Level.FINE, "Evicted {0} idle inference log producers, {1}", new Object[]{evicted, producers});
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error evicting idle inference log producers", e);
+    }
+  }
+
+  public static final class SchemaWriter {
+    private final Schema schema;
+    private final DatumWriter<GenericData.Record> writer;
+
+    private SchemaWriter(String schema) {
+      this.schema = new Schema.Parser().parse(schema);
+      this.writer = new GenericDatumWriter<>(this.schema);
+    }
+
+    public Schema getSchema() {
+      return schema;
+    }
+
+    public DatumWriter<GenericData.Record> getWriter() {
+      return writer;
+    }
+  }
+}
@@ -25,5 +25,13 @@ public interface InferenceLogger {
                            Integer responseHttpCode,
                            String inferenceResult) throws Exception;
 
+  /**
+   * @param serving
+   * @return whether requests to the serving are logged, inference payloads are only buffered if a logger needs them
+   */
+  default boolean isLogging(Serving serving) {
+    return true;
+  }
+
   String getClassName();
 }
@@ -21,7 +21,6 @@ import io.hops.hopsworks.persistence.entity.serving.Serving;
 import io.hops.hopsworks.common.dao.serving.ServingFacade;
 import io.hops.hopsworks.common.serving.LocalhostServingController;
 import io.hops.hopsworks.common.serving.ServingController;
-import io.hops.hopsworks.exceptions.ServingException;
 import io.hops.hopsworks.common.util.OSProcessExecutor;
 import io.hops.hopsworks.common.util.ProcessDescriptor;
 import io.hops.hopsworks.common.util.ProcessResult;
@@ -37,7 +36,13 @@ import javax.ejb.Timer;
 import javax.ejb.TimerService;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -46,7 +51,8 @@ import static io.hops.hopsworks.common.serving.LocalhostServingController.CID_FA
 
 /**
  * This singleton iterates over the running Serving instances and checks whether
- * or not they are still alive.
+ * or not they are still alive. The checks of a round run concurrently and the servings
+ * found dead are marked as failed in a single transaction.
  * <p>
  * The monitor needs to run only if the ServingController is the Localhost one
  */
@@ -56,6 +62,9 @@ public class LocalhostServingMonitor {
 
   private final static Logger LOGGER = Logger.getLogger(LocalhostServingMonitor.class.getName());
 
+  // Upper bound of alive checks running at the same time during a monitoring round
+  private static final int MAX_CONCURRENT_PROBES = 8;
+
   @Resource
   private TimerService timerService;
 
@@ -96,43 +105,83 @@ public class LocalhostServingMonitor {
     try {
       // Get the list of running Localhost Serving instances
       List<Serving> servingList = servingFacade.getLocalhostRunning();
-      for (Serving serving : servingList) {
-        try {
-          Serving dbServing = servingFacade.acquireLock(serving.getProject(), serving.getId());
-          
-          ProcessDescriptor.Builder builder = new ProcessDescriptor.Builder().addCommand("/usr/bin/sudo");
-          if (serving.getModelServer() == ModelServer.TENSORFLOW_SERVING) {
-            builder.addCommand(tfScript);
-          }
-          if (serving.getModelServer() == ModelServer.PYTHON) {
-            builder.addCommand(sklearnScript);
-          }
-          ProcessDescriptor processDescriptor = builder.addCommand("alive")
-              .addCommand(dbServing.getProject().getName().toLowerCase())
-              .addCommand(dbServing.getName())
-              .ignoreOutErrStreams(true)
-              .build();
-          LOGGER.log(Level.FINE, processDescriptor.toString());
-          try {
-            ProcessResult processResult = osProcessExecutor.execute(processDescriptor);
-            if (processResult.getExitCode() != 0) {
-              // The process is dead
-              dbServing.setCid(CID_FAILED);
-              servingFacade.updateDbObject(dbServing, dbServing.getProject());
-            }
-          } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Could not check if serving with id  '" + serving.getId() + "' is alive", e);
-          } catch (ServingException e) {
-            LOGGER.log(Level.SEVERE, "Could not update status of serving with id: " + serving.getId(), e);
-          }
-
-          servingFacade.releaseLock(serving.getProject(), serving.getId());
-        } catch (ServingException e) {
-          LOGGER.log(Level.INFO, "Error processing serving instance with id: " + serving.getId(), e);
-        }
+      if (servingList.isEmpty()) {
+        return;
+      }
+      Map<Integer, String> deadServings = probe(servingList);
+      if (!deadServings.isEmpty()) {
+        List<Integer> failed = servingFacade.updateCidIfUnchanged(deadServings, CID_FAILED);
+        LOGGER.log(Level.INFO, "Serving instances {0} are not alive anymore", failed);
       }
     } catch(Exception e) {
       LOGGER.log(Level.SEVERE, "Got an exception while monitoring servings" , e);
     }
   }
+
+  /**
+   * Check all servings with at most MAX_CONCURRENT_PROBES alive checks running at the same time. Servings are not
+   * locked while being probed, the cid returned for dead servings is used to detect lifecycle operations which
+   * happened in the meantime.
+   *
+   * @param servings the servings to check
+   * @return cid at probe time of the servings which are not alive, by serving id
+   */
+  private Map<Integer, String> probe(List<Serving> servings) throws InterruptedException {
+    Map<Integer, String> deadServings = new HashMap<>();
+    Deque<Probe> inFlight = new ArrayDeque<>(MAX_CONCURRENT_PROBES);
+    for (Serving serving : servings) {
+      if (inFlight.size() >= MAX_CONCURRENT_PROBES) {
+        collect(inFlight.poll(), deadServings);
+      }
+      try {
+        inFlight.add(new Probe(serving, osProcessExecutor.submit(aliveCommand(serving))));
+      } catch (IOException e) {
+        LOGGER.log(Level.SEVERE, "Could not check if serving with id  '" + serving.getId() + "' is alive", e);
+      }
+    }
+    while (!inFlight.isEmpty()) {
+      collect(inFlight.poll(), deadServings);
+    }
+    return deadServings;
+  }
+
+  private ProcessDescriptor aliveCommand(Serving serving) {
+    ProcessDescriptor.Builder builder = new ProcessDescriptor.Builder().addCommand("/usr/bin/sudo");
+    if (serving.getModelServer() == ModelServer.TENSORFLOW_SERVING) {
+      builder.addCommand(tfScript);
+    }
+    if (serving.getModelServer() == ModelServer.PYTHON) {
+      builder.addCommand(sklearnScript);
+    }
+    ProcessDescriptor processDescriptor = builder.addCommand("alive")
+        .addCommand(serving.getProject().getName().toLowerCase())
+        .addCommand(serving.getName())
+        .ignoreOutErrStreams(true)
+        .build();
+    LOGGER.log(Level.FINE, processDescriptor.toString());
+    return processDescriptor;
+  }
+
+  private void collect(Probe probe, Map<Integer, String> deadServings) throws InterruptedException {
+    try {
+      ProcessResult processResult = probe.result.get();
+      if (processResult.getExitCode() != 0) {
+        // The process is dead
+        deadServings.put(probe.serving.getId(), probe.serving.getCid());
+      }
+    } catch (ExecutionException e) {
+      LOGGER.log(Level.SEVERE, "Could not check if serving with id  '" + probe.serving.getId() + "' is alive",
+          e.getCause());
+    }
+  }
+
+  private static final class Probe {
+    private final Serving serving;
+    private final Future<ProcessResult> result;
+
+    private Probe(Serving serving, Future<ProcessResult> result) {
+      this.serving = serving;
+      this.result = result;
+    }
+  }
 }
@@ -16,6 +16,8 @@
 package io.hops.hopsworks.common.upload;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.IMap;
 import com.hazelcast.partition.Partition;
 import fish.payara.cluster.Clustered;
@@ -26,6 +28,7 @@ import javax.ejb.Singleton;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -45,31 +48,72 @@ public class ResumableInfoProcessor implements Serializable {
 
   public boolean addChunkAndCheckIfFinished(FlowInfo info, int rcn, long contentLength,
     HazelcastInstance hazelcastInstance, String mapName) {
-    boolean finished;
     IMap<Integer, UploadInfo> uploadInfoMap = hazelcastInstance.getMap(mapName);
-    UploadInfo uploadInfo = uploadInfoMap.get(info.hashCode());
-    if (uploadInfo == null) {
+    // Runs on the partition owner, only the chunk number and size are sent instead of the whole upload info
+    Boolean finished = uploadInfoMap.executeOnKey(info.hashCode(), new AddChunk(rcn, contentLength));
+    if (finished == null) {
       LOGGER.log(Level.WARNING, "Failed to find upload info with id: {0}, rcn: {1}, {2}",
         new Object[]{info.hashCode(), rcn, info});
       return false;
     }
-    finished = uploadInfo.addChunkAndCheckIfFinished(rcn, contentLength);
-    Partition partition = hazelcastInstance.getPartitionService().getPartition(info.hashCode());
-    LOGGER.log(Level.FINE, "Add chunk and check if finished. finished: {0}, id: {1}, rcn: {2}, uploadInfo: {3}, " +
-      "{4}, partitionId: {5}, partition owner: {6}", new Object[]{finished, info.hashCode(), rcn, uploadInfo, info,
-      partition.getPartitionId(), partition.getOwner()});
-    if (finished) {
-      uploadInfoMap.remove(info.hashCode());
-    } else {
-      uploadInfoMap.replace(info.hashCode(), uploadInfo);
+    if (LOGGER.isLoggable(Level.FINE)) {
+      Partition partition = hazelcastInstance.getPartitionService().getPartition(info.hashCode());
+      LOGGER.log(Level.FINE, "Add chunk and check if finished. finished: {0}, id: {1}, rcn: {2}, {3}, " +
+        "partitionId: {4}, partition owner: {5}", new Object[]{finished, info.hashCode(), rcn, info,
+        partition.getPartitionId(), partition.getOwner()});
     }
     return finished;
   }
 
   @Lock(LockType.READ)
   public boolean uploaded(Integer identifier, Integer rcn, HazelcastInstance hazelcastInstance, String mapName) {
-    IMap<Integer, UploadInfo> uploadInfo = hazelcastInstance.getMap(mapName);
-    UploadInfo uInfo = uploadInfo.get(identifier);
-    return uInfo != null && uInfo.getUploadedChunks().contains(rcn);
+    IMap<Integer, UploadInfo> uploadInfoMap = hazelcastInstance.getMap(mapName);
+    return Boolean.TRUE.equals(uploadInfoMap.executeOnKey(identifier, new ChunkUploaded(rcn)));
+  }
+
+  /**
+   * Marks a chunk as uploaded and removes the upload info once all chunks are uploaded.
+   * Returns null if there is no upload info for the key.
+   */
+  private static final class AddChunk implements EntryProcessor<Integer, UploadInfo, Boolean> {
+    private static final long serialVersionUID = -2461364412364870421L;
+    private final int rcn;
+    private final long contentLength;
+
+    private AddChunk(int rcn, long contentLength) {
+      this.rcn = rcn;
+      this.contentLength = contentLength;
+    }
+
+    @Override
+    public Boolean process(Map.Entry<Integer, UploadInfo> entry) {
+      UploadInfo uploadInfo = entry.getValue();
+      if (uploadInfo == null) {
+        return null;
+      }
+      boolean finished = uploadInfo.addChunkAndCheckIfFinished(rcn, contentLength);
+      entry.setValue(finished ? null : uploadInfo);
+      return finished;
+    }
+  }
+
+  private static final class ChunkUploaded implements EntryProcessor<Integer, UploadInfo, Boolean>, ReadOnly {
+    private static final long serialVersionUID = 6018006467367440467L;
+    private final int rcn;
+
+    private ChunkUploaded(int rcn) {
+      this.rcn = rcn;
+    }
+
+    @Override
+    public Boolean process(Map.Entry<Integer, UploadInfo> entry) {
+      UploadInfo uploadInfo = entry.getValue();
+      return uploadInfo != null && uploadInfo.isUploaded(rcn);
+    }
+
+    @Override
+    public EntryProcessor<Integer, UploadInfo, Boolean> getBackupProcessor() {
+      return null;
+    }
   }
 }
@@ -145,14 +145,13 @@ public class ResumableInfoStorage {
       finished = resumableInfoProcessor.addChunkAndCheckIfFinished(info, rcn, contentLength, hazelcastInstance,
         MAP_NAME);
     } else {
-      UploadInfo uploadInfo = flowInfoMap.get(info.hashCode());
-      if (uploadInfo == null) {
-        return false;
-      }
-      finished = uploadInfo.addChunkAndCheckIfFinished(rcn, contentLength);
-      if (finished) {
-        flowInfoMap.remove(info.hashCode());
-      }
+      boolean[] done = {false};
+      //chunks of the same upload arrive concurrently, update the info atomically
+      flowInfoMap.computeIfPresent(info.hashCode(), (id, uploadInfo) -> {
+        done[0] = uploadInfo.addChunkAndCheckIfFinished(rcn, contentLength);
+        return done[0] ? null : uploadInfo;
+      });
+      finished = done[0];
     }
     return finished;
   }
@@ -169,7 +168,7 @@ public class ResumableInfoStorage {
       return resumableInfoProcessor.uploaded(identifier, rcn, hazelcastInstance, MAP_NAME);
     } else {
       UploadInfo uploadInfo = flowInfoMap.get(identifier);
-      return uploadInfo != null && uploadInfo.getUploadedChunks().contains(rcn);
+      return uploadInfo != null && uploadInfo.isUploaded(rcn);
     }
   }
 }
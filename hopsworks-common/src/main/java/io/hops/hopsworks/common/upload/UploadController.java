@@ -23,6 +23,7 @@ import io.hops.hopsworks.restutils.RESTCodes;
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.AccessControlException;
 
@@ -32,6 +33,9 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +43,7 @@ import java.util.logging.Logger;
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 public class UploadController {
   private static final Logger LOGGER = Logger.getLogger(UploadController.class.getName());
+  private static final int COPY_BUFFER_SIZE = 1024 * 1024;
 
   @EJB
   private DistributedFsService dfs;
@@ -67,6 +72,11 @@ public class UploadController {
     throws DatasetException, AccessControlException {
     LOGGER.log(Level.FINE, "Uploading:- chunk: {0}, id: {1}", new Object[]{flowInfo.getChunkNumber(),
       flowInfo.getIdentifier()});
+    // chunk numbers index the uploaded chunks bitmap, an out of range one would grow it or never finish the upload
+    if (flowInfo.getChunkNumber() < 1 || flowInfo.getChunkNumber() > flowInfo.getTotalChunks()) {
+      throw new DatasetException(RESTCodes.DatasetErrorCode.UPLOAD_RESUMABLEINFO_INVALID, Level.FINE,
+        "Chunk number " + flowInfo.getChunkNumber() + " out of range. Total chunks: " + flowInfo.getTotalChunks());
+    }
     try {
       return hdfsStagingUpload(uploadedInputStream, flowInfo, hdfsPath, username);
     } catch (AccessControlException ex) {
@@ -140,26 +150,55 @@ public class UploadController {
     if (dfsOps.exists(location) && dfsOps.getFileStatus(location).isDirectory()) {
       //Here we remove ".temp" to collect files in filename
       Path collected = fromTemp(location);
-      FSDataOutputStream out = null;
-      FSDataInputStream in = null;
+      Path[] chunks = getChunks(dfsOps, location, info.getTotalChunks());
+      if (!concatChunks(dfsOps, chunks, collected)) {
+        copyChunks(dfsOps, chunks, collected);
+      }
+      dfsOps.rm(location, true);
+    }
+  }
+
+  private Path[] getChunks(DistributedFileSystemOps dfsOps, Path location, int totalChunks)
+      throws IOException, DatasetException {
+    Map<String, FileStatus> chunkStatuses = new HashMap<>();
+    for (FileStatus status : dfsOps.listStatus(location)) {
+      chunkStatuses.put(status.getPath().getName(), status);
+    }
+    Path[] chunks = new Path[totalChunks];
+    for (int i = 1; i <= totalChunks; i++) {
+      FileStatus chunk = chunkStatuses.get(String.valueOf(i));
+      if (chunk == null || !chunk.isFile()) {
+        throw new DatasetException(RESTCodes.DatasetErrorCode.UPLOAD_ERROR, Level.SEVERE,
+          "Could not find chunk: " + i);
+      }
+      chunks[i - 1] = new Path(location, String.valueOf(i));
+    }
+    return chunks;
+  }
+
+  //concat the chunks into the first one and move it in place. Concat only changes metadata, so the data is not read
+  //and written again. Returns false if the file system refused the concat, the chunks are then left untouched.
+  private boolean concatChunks(DistributedFileSystemOps dfsOps, Path[] chunks, Path collected) throws IOException {
+    if (chunks.length > 1) {
       try {
-        out = dfsOps.create(collected);
-        for (int i = 1; i <= info.getTotalChunks(); i++) {
-          try {
-            Path chunk = new Path(info.getFilePath(), String.valueOf(i));
-            if (!dfsOps.exists(chunk) || !dfsOps.getFileStatus(chunk).isFile()) {
-              throw new DatasetException(RESTCodes.DatasetErrorCode.UPLOAD_ERROR, Level.SEVERE,
-                "Could not find chunk: " + i);
-            }
-            in = dfsOps.open(chunk);
-            IOUtils.copy(in, out);
-          } finally {
-            IOUtils.closeQuietly(in);
-          }
+        dfsOps.concat(chunks[0], Arrays.copyOfRange(chunks, 1, chunks.length));
+      } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+        LOGGER.log(Level.INFO, "Failed to concat chunks of {0}, copying instead. {1}",
+          new Object[]{collected, e.getMessage()});
+        return false;
+      }
+    }
+    dfsOps.moveWithinHdfs(chunks[0], collected, true);
+    return true;
+  }
+
+  private void copyChunks(DistributedFileSystemOps dfsOps, Path[] chunks, Path collected) throws IOException {
+    try (FSDataOutputStream out = dfsOps.create(collected)) {
+      byte[] buffer = new byte[COPY_BUFFER_SIZE];
+      for (Path chunk : chunks) {
+        try (FSDataInputStream in = dfsOps.open(chunk)) {
+          IOUtils.copyLarge(in, out, buffer);
         }
-        dfsOps.rm(location, true);
-      } finally {
-        IOUtils.closeQuietly(out);
       }
     }
   }
@@ -16,16 +16,18 @@
 package io.hops.hopsworks.common.upload;
 
 import java.io.Serializable;
+import java.util.BitSet;
 import java.util.Date;
-import java.util.HashSet;
 
 public class UploadInfo implements Serializable {
-  private static final long serialVersionUID = 1313991374949049442L;
+  private static final long serialVersionUID = -5140519462375306718L;
 
   private long resumableTotalSize;
   private long uploadedContentLength;
   private Date lastWrite;
-  private HashSet<Integer> uploadedChunks = new HashSet<>();
+  // Bit rcn is set when chunk rcn has been uploaded. A set of boxed integers costs tens of bytes per chunk every
+  // time the info is serialized to the cluster, the bitmap one bit.
+  private BitSet uploadedChunks = new BitSet();
 
   public UploadInfo() {
   }
@@ -51,12 +53,12 @@ public class UploadInfo implements Serializable {
     this.uploadedContentLength = uploadedContentLength;
   }
 
-  public HashSet<Integer> getUploadedChunks() {
-    return uploadedChunks;
+  public boolean isUploaded(int rcn) {
+    return uploadedChunks != null && rcn >= 0 && uploadedChunks.get(rcn);
   }
 
-  public void setUploadedChunks(HashSet<Integer> uploadedChunks) {
-    this.uploadedChunks = uploadedChunks;
+  public int getUploadedChunksCount() {
+    return uploadedChunks == null ? 0 : uploadedChunks.cardinality();
   }
 
   public boolean checkIfUploadFinished() {
@@ -78,12 +80,12 @@ public class UploadInfo implements Serializable {
    */
   public boolean addChunkAndCheckIfFinished(int rcn, long contentLength) {
     if (uploadedChunks == null) {
-      uploadedChunks = new HashSet<>();
+      uploadedChunks = new BitSet();
     }
-    if (!uploadedChunks.contains(rcn)) {
+    if (!uploadedChunks.get(rcn)) {
       uploadedContentLength += contentLength;
     }
-    uploadedChunks.add(rcn);
+    uploadedChunks.set(rcn);
     lastWrite = new Date();
     return checkIfUploadFinished();
   }
@@ -94,7 +96,7 @@ public class UploadInfo implements Serializable {
       "serialVersionUID=" + serialVersionUID +
       ", resumableTotalSize=" + resumableTotalSize +
       ", uploadedContentLength=" + uploadedContentLength +
-      ", uploadedChunks=" + uploadedChunks +
+      ", uploadedChunks=" + getUploadedChunksCount() +
       '}';
   }
 }
\ No newline at end of file
@@ -0,0 +1,332 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keyed pool of shared, reference counted resources.
+ *
+ * A resource is created on the first lease of its key and handed out to every concurrent lease of the same key.
+ * Released resources stay in the pool until they have been idle for longer than the configured idle timeout, or
+ * until the pool holds more than maxSize resources, in which case they are disposed as soon as the last lease is
+ * returned. A resource is never disposed while a lease is open, except when the whole pool is closed.
+ *
+ * @param <K> key type, must implement equals and hashCode
+ * @param <V> resource type
+ */
+public class LeasePool<K, V> {
+  private static final Logger LOGGER = Logger.getLogger(LeasePool.class.getName());
+
+  private final String name;
+  private final int maxSize;
+  private final long maxIdleMs;
+  private final BiConsumer<K, V> disposer;
+  private final LongSupplier clock;
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  // Invalidated entries which still have open leases
+  private final Set<Entry<V>> retiring = ConcurrentHashMap.newKeySet();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  public LeasePool(String name, int maxSize, long maxIdleMs, BiConsumer<K, V> disposer) {
+    this(name, maxSize, maxIdleMs, disposer, System::currentTimeMillis);
+  }
+
+  LeasePool(String name, int maxSize, long maxIdleMs, BiConsumer<K, V> disposer, LongSupplier clock) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative");
+    }
+    this.name = name;
+    this.maxSize = maxSize;
+    this.maxIdleMs = maxIdleMs;
+    this.disposer = disposer;
+    this.clock = clock;
+  }
+
+  /**
+   * Lease the resource for key, creating it with factory if the pool does not hold one. Every successful lease must
+   * be followed by exactly one {@link #release(Object, Object)}.
+   *
+   * @param key
+   * @param factory creates the resource, may return null if the resource cannot be created
+   * @return the shared resource or null if factory returned null
+   */
+  public V lease(K key, Function<K, V> factory) {
+    while (true) {
+      Entry<V> entry = entries.get(key);
+      if (entry == null) {
+        Entry<V> created = new Entry<>();
+        created.acquire();
+        entry = entries.putIfAbsent(key, created);
+        if (entry == null) {
+          misses.incrementAndGet();
+          return create(key, created, factory);
+        }
+      }
+      if (!entry.acquire()) {
+        // Entry is being disposed, make room for a fresh one
+        entries.remove(key, entry);
+        continue;
+      }
+      V value;
+      try {
+        value = entry.value.join();
+      } catch (CompletionException | CancellationException ex) {
+        value = null;
+      }
+      if (value == null) {
+        // Creation failed for the thread which owned the entry, it has already been removed from the pool
+        entry.release(clock.getAsLong());
+        continue;
+      }
+      hits.incrementAndGet();
+      return value;
+    }
+  }
+
+  private V create(K key, Entry<V> entry, Function<K, V> factory) {
+    V value;
+    try {
+      value = factory.apply(key);
+    } catch (RuntimeException ex) {
+      entries.remove(key, entry);
+      entry.value.completeExceptionally(ex);
+      throw ex;
+    }
+    if (value == null) {
+      entries.remove(key, entry);
+    }
+    entry.value.complete(value);
+    return value;
+  }
+
+  /**
+   * Return a lease acquired with {@link #lease(Object, Function)}
+   *
+   * @param key
+   * @param value the leased resource
+   */
+  public void release(K key, V value) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null || entry.value.getNow(null) != value) {
+      entry = retiring.stream().filter(e -> e.value.getNow(null) == value).findFirst().orElse(null);
+      if (entry == null) {
+        LOGGER.log(Level.WARNING, "Released resource is not part of pool " + name + ", key: " + key);
+        return;
+      }
+    }
+    if (entry.release(clock.getAsLong()) && entries.size() > maxSize && entry.retireIfIdle(Long.MAX_VALUE)) {
+      evict(key, entry);
+    }
+  }
+
+  /**
+   * Dispose every resource which has not been leased for longer than the idle timeout
+   *
+   * @return number of disposed resources
+   */
+  public int evictIdle() {
+    long cutoff = clock.getAsLong() - maxIdleMs;
+    int evicted = 0;
+    for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+      if (e.getValue().retireIfIdle(cutoff)) {
+        evict(e.getKey(), e.getValue());
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Dispose all resources which match the predicate and are currently not leased. Leased resources are retired,
+   * they will be disposed when the last lease is returned and the next lease will create a fresh resource.
+   *
+   * @param predicate
+   */
+  public void invalidate(Predicate<K> predicate) {
+    for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+      if (predicate.test(e.getKey())) {
+        K key = e.getKey();
+        Entry<V> entry = e.getValue();
+        // Track the entry before removing it so that concurrent releases can still find it
+        retiring.add(entry);
+        boolean retired = entries.remove(key, entry) && entry.retireOnLastRelease(() -> {
+          retiring.remove(entry);
+          dispose(key, entry);
+        });
+        if (!retired) {
+          retiring.remove(entry);
+        }
+      }
+    }
+  }
+
+  /**
+   * Dispose all resources regardless of open leases
+   */
+  public void close() {
+    List<K> keys = new ArrayList<>(entries.keySet());
+    for (K key : keys) {
+      Entry<V> entry = entries.remove(key);
+      if (entry != null) {
+        entry.retire();
+        dispose(key, entry);
+      }
+    }
+    retiring.clear();
+  }
+
+  private void evict(K key, Entry<V> entry) {
+    // The caller retired the entry, so it is the only one disposing it
+    entries.remove(key, entry);
+    evictions.incrementAndGet();
+    dispose(key, entry);
+  }
+
+  private void dispose(K key, Entry<V> entry) {
+    V value = entry.value.getNow(null);
+    if (value != null) {
+      try {
+        disposer.accept(key, value);
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.WARNING, "Failed to dispose resource of pool " + name + ", key: " + key, ex);
+      }
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  @Override
+  public String toString() {
+    return "LeasePool{" +
+      "name='" + name + '\'' +
+      ", size=" + entries.size() +
+      ", maxSize=" + maxSize +
+      ", hits=" + hits.get() +
+      ", misses=" + misses.get() +
+      ", evictions=" + evictions.get() +
+      '}';
+  }
+
+  private static final class Entry<V> {
+    private final CompletableFuture<V> value = new CompletableFuture<>();
+    private int leases;
+    private long lastReleased;
+    private boolean retired;
+    private Runnable onLastRelease;
+
+    private synchronized boolean acquire() {
+      if (retired) {
+        return false;
+      }
+      leases++;
+      return true;
+    }
+
+    /**
+     * @return true if this was the last open lease
+     */
+    private boolean release(long now) {
+      Runnable action = null;
+      boolean last;
+      synchronized (this) {
+        if (leases == 0) {
+          LOGGER.log(Level.WARNING, "Resource released more times than it was leased");
+          return false;
+        }
+        leases--;
+        lastReleased = now;
+        last = leases == 0;
+        if (last && onLastRelease != null) {
+          action = onLastRelease;
+          onLastRelease = null;
+        }
+      }
+      if (action != null) {
+        action.run();
+        return false;
+      }
+      return last;
+    }
+
+    private synchronized boolean retireIfIdle(long cutoff) {
+      if (!retired && leases == 0 && lastReleased <= cutoff) {
+        retired = true;
+        return true;
+      }
+      return false;
+    }
+
+    private synchronized void retire() {
+      retired = true;
+    }
+
+    /**
+     * Retire the entry and run action once no lease is open, immediately if the entry is idle
+     *
+     * @return false if the entry was already retired
+     */
+    private boolean retireOnLastRelease(Runnable action) {
+      synchronized (this) {
+        if (retired) {
+          return false;
+        }
+        retired = true;
+        if (leases > 0) {
+          onLastRelease = action;
+          return true;
+        }
+      }
+      action.run();
+      return true;
+    }
+  }
+}
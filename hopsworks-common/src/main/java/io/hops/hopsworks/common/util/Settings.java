@@ -89,6 +89,7 @@ import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -435,7 +436,6 @@ public class Settings {
 
   private static final String VARIABLE_FEATURE_STORE_PROJECT_ID = "default_feature_store_project_id";
 
-
   private static final String VARIABLE_SKIP_NAMESPACE_CREATION =
       "kube_skip_namespace_creation";
   public enum KubeType{
@@ -469,31 +469,21 @@ public class Settings {
   }
 
   private String setStrVar(String varName, String defaultValue) {
-    Optional<Variables> variable = findById(varName);
-    if (variable.isPresent()) {
-      String value = variable.get().getValue();
-      if (!Strings.isNullOrEmpty(value)) {
-        return value;
-      }
-    }
-    return defaultValue;
+    return loading.get(varName).orElse(defaultValue);
   }
 
   private String setDirVar(String varName, String defaultValue) {
-    Optional<Variables> dirName = findById(varName);
-    if (dirName.isPresent()) {
-      String value = dirName.get().getValue();
-      if (!Strings.isNullOrEmpty(value) && new File(value).isDirectory()) {
-        return value;
-      }
+    Optional<String> value = loading.get(varName);
+    if (value.isPresent() && new File(value.get()).isDirectory()) {
+      return value.get();
     }
     return defaultValue;
   }
 
   private Boolean setBoolVar(String varName, Boolean defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       if (!Strings.isNullOrEmpty(value)) {
         return Boolean.parseBoolean(value);
       }
@@ -503,9 +493,9 @@ public class Settings {
   }
 
   private Integer setIntVar(String varName, Integer defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       try {
         if (!Strings.isNullOrEmpty(value)) {
           return Integer.parseInt(value);
@@ -519,9 +509,9 @@ public class Settings {
   }
 
   private Double setDoubleVar(String varName, Double defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       try {
         if (!Strings.isNullOrEmpty(value)) {
           return Double.parseDouble(value);
@@ -535,9 +525,9 @@ public class Settings {
   }
 
   private long setLongVar(String varName, Long defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       try {
         if (!Strings.isNullOrEmpty(value)) {
           return Long.parseLong(value);
@@ -551,9 +541,9 @@ public class Settings {
   }
 
   private RESTLogLevel setLogLevelVar(String varName, RESTLogLevel defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       if (!Strings.isNullOrEmpty(value)) {
         return RESTLogLevel.valueOf(value);
       }
@@ -562,9 +552,9 @@ public class Settings {
   }
 
   private long setMillisecondVar(String varName, Long defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       if (!Strings.isNullOrEmpty(value)) {
         long timeValue = getConfTimeValue(value);
         TimeUnit timeUnit = getConfTimeTimeUnit(value);
@@ -576,9 +566,9 @@ public class Settings {
   }
 
   private PaymentType setPaymentType(String varName, PaymentType defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<String> variable = loading.get(varName);
     if (variable.isPresent()) {
-      String value = variable.get().getValue();
+      String value = variable.get();
       if (!Strings.isNullOrEmpty(value)) {
         return PaymentType.valueOf(value);
       }
@@ -586,11 +576,6 @@ public class Settings {
     return defaultValue;
   }
 
-  private Set<String> setStringHashSetLowerCase(String varName, String defaultValue, String separator) {
-    RESERVED_PROJECT_NAMES_STR = setStrVar(varName, defaultValue);
-    return setStringHashSetLowerCase(RESERVED_PROJECT_NAMES_STR, separator, true);
-  }
-  
   private Set<String> setStringHashSetLowerCase(String values, String separator, boolean toLowerCase) {
     StringTokenizer tokenizer = new StringTokenizer(values, separator);
     HashSet<String> tokens = new HashSet<>(tokenizer.countTokens());
@@ -600,7 +585,18 @@ public class Settings {
     return tokens;
   }
 
-  private boolean cached = false;
+  /*
+   * Getters do not take any lock. Variables are loaded with a single query and a new CachedValues instance is built
+   * from them by one writer at a time, holding refreshLock. The instance is never modified once it is published
+   * through the volatile current reference, so a getter which reads current once sees the values of a single
+   * refresh. While a refresh is ongoing readers keep serving the previous instance instead of waiting for the writer.
+   */
+  private volatile CachedValues current;
+  // Set when a variable was updated on another node, the next getter reloads the values
+  private volatile boolean invalidated = false;
+  // Snapshot being applied by load, only accessed while holding refreshLock
+  private VariablesSnapshot loading = VariablesSnapshot.EMPTY;
+  private final ReentrantLock refreshLock = new ReentrantLock();
   private UUID myUUID;
   private ITopic<String> settingUpdatedTopic;
   
@@ -629,390 +625,825 @@ public class Settings {
     @Override
     public void onMessage(Message<String> message) {
       if (!message.getPublishingMember().localMember()) {
-        cached = false;
+        invalidated = true;
       }
     }
   }
 
-  private void populateCache() {
-    if (!cached) {
-      ADMIN_EMAIL = setVar(VARIABLE_ADMIN_EMAIL, ADMIN_EMAIL);
-      LOCALHOST = setBoolVar(VARIABLE_LOCALHOST, LOCALHOST);
-      CLOUD = setStrVar(VARIABLE_CLOUD, CLOUD);
-      REQUESTS_VERIFY = setBoolVar(VARIABLE_REQUESTS_VERIFY, REQUESTS_VERIFY);
-      TWOFACTOR_AUTH = setVar(VARIABLE_TWOFACTOR_AUTH, TWOFACTOR_AUTH);
-      TWOFACTOR_EXCLUDE = setVar(VARIABLE_TWOFACTOR_EXCLUD, TWOFACTOR_EXCLUDE);
-      HOPSWORKS_USER = setVar(VARIABLE_HOPSWORKS_USER, HOPSWORKS_USER);
-      JUPYTER_GROUP = setVar(VARIABLE_JUPYTER_GROUP, JUPYTER_GROUP);
-      JUPYTER_ORIGIN_SCHEME = setVar(VARIABLE_JUPYTER_ORIGIN_SCHEME, JUPYTER_ORIGIN_SCHEME);
-      JUPYTER_REMOTE_FS_DRIVER = setVar(VARIABLE_JUPYTER_REMOTE_FS_DRIVER, JUPYTER_REMOTE_FS_DRIVER);
-      APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = setBoolVar(VARIABLE_APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE,
-          APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE);
-      HOPSFSMOUNT_APPARMOR_PROFILE = setVar(VARIABLE_HOPSFSMOUNT_APPARMOR_PROFILE, HOPSFSMOUNT_APPARMOR_PROFILE);
-      HDFS_SUPERUSER = setVar(VARIABLE_HDFS_SUPERUSER, HDFS_SUPERUSER);
-      SPARK_USER = setVar(VARIABLE_SPARK_USER, SPARK_USER);
-      SPARK_DIR = setDirVar(VARIABLE_SPARK_DIR, SPARK_DIR);
-      FLINK_DIR = setDirVar(VARIABLE_FLINK_DIR, FLINK_DIR);
-      STAGING_DIR = setVar(VARIABLE_STAGING_DIR, STAGING_DIR);
-      HIVE_SUPERUSER = setStrVar(VARIABLE_HIVE_SUPERUSER, HIVE_SUPERUSER);
-      HIVE_WAREHOUSE = setStrVar(VARIABLE_HIVE_WAREHOUSE, HIVE_WAREHOUSE);
-      HIVE_SCRATCHDIR = setStrVar(VARIABLE_HIVE_SCRATCHDIR, HIVE_SCRATCHDIR);
-      HIVE_SCRATCHDIR_DELAY = setStrVar(VARIABLE_HIVE_SCRATCHDIR_DELAY, HIVE_SCRATCHDIR_DELAY);
-      HIVE_SCRATCHDIR_CLEANER_INTERVAL = setStrVar(VARIABLE_HIVE_SCRATCHDIR_CLEANER_INTERVAL,
-          HIVE_SCRATCHDIR_CLEANER_INTERVAL);
-      HIVE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_HIVE_DEFAULT_QUOTA, HIVE_DB_DEFAULT_QUOTA);
-      HADOOP_VERSION = setVar(VARIABLE_HADOOP_VERSION, HADOOP_VERSION);
-      JUPYTER_DIR = setDirVar(VARIABLE_JUPYTER_DIR, JUPYTER_DIR);
-      JUPYTER_WS_PING_INTERVAL_MS = setMillisecondVar(VARIABLE_JUPYTER_WS_PING_INTERVAL, JUPYTER_WS_PING_INTERVAL_MS);
-      HADOOP_DIR = setDirVar(VARIABLE_HADOOP_DIR, HADOOP_DIR);
-      HOPSWORKS_INSTALL_DIR = setDirVar(VARIABLE_HOPSWORKS_DIR, HOPSWORKS_INSTALL_DIR);
-      CERTS_DIR = setDirVar(VARIABLE_CERTS_DIRS, CERTS_DIR);
-      SUDOERS_DIR = setDirVar(VARIABLE_SUDOERS_DIR, SUDOERS_DIR);
-      SERVICE_DISCOVERY_DOMAIN = setStrVar(VARIABLE_SERVICE_DISCOVERY_DOMAIN, SERVICE_DISCOVERY_DOMAIN);
-      AIRFLOW_DIR = setDirVar(VARIABLE_AIRFLOW_DIR, AIRFLOW_DIR);
-      AIRFLOW_USER = setStrVar(VARIABLE_AIRFLOW_USER, AIRFLOW_USER);
-      boolean openSearchSecurityEnabled =
-          setBoolVar(VARIABLE_OPENSEARCH_SECURITY_ENABLED,
-              OpenSearchSettings.OPENSEARCH_SECURTIY_ENABLED_DEFAULT);
-      boolean openSearchHttpsEnabled = setBoolVar(VARIABLE_OPENSEARCH_HTTPS_ENABLED
-          , OpenSearchSettings.OPENSEARCH_HTTPS_ENABLED_DEFAULT);
-      String openSearchAdminUser = setStrVar(VARIABLE_OPENSEARCH_ADMIN_USER,
-          OpenSearchSettings.OPENSEARCH_ADMIN_USER_DEFAULT);
-      String openSearchServiceLogUser = setStrVar(VARIABLE_OPENSEARCH_SERVICE_LOG_USER,
-          OpenSearchSettings.OPENSEARCH_SERVICE_LOG_ROLE);
-      String openSearchAdminPassword = setStrVar(VARIABLE_OPENSEARCH_ADMIN_PASSWORD,
-          OpenSearchSettings.OPENSEARCH_ADMIN_PASSWORD_DEFAULT);
-      boolean openSearchJWTEnabled =  setBoolVar(VARIABLE_OPENSEARCH_JWT_ENABLED
-          , OpenSearchSettings.OPENSEARCH_JWT_ENABLED_DEFAULT);
-      String openSearchJWTUrlParameter = setStrVar(VARIABLE_OPENSEARCH_JWT_URL_PARAMETER,
-          OpenSearchSettings.OPENSEARCH_JWT_URL_PARAMETER_DEFAULT);
-      long openSearchJWTEXPMS = setLongVar(VARIABLE_OPENSEARCH_JWT_EXP_MS,
-          OpenSearchSettings.OPENSEARCH_JWT_EXP_MS_DEFAULT);
-
-      OPENSEARCH_SETTINGS = new OpenSearchSettings(openSearchSecurityEnabled, openSearchHttpsEnabled,
-          openSearchAdminUser, openSearchAdminPassword, openSearchJWTEnabled,
-          openSearchJWTUrlParameter, openSearchJWTEXPMS, openSearchServiceLogUser);
-      OpenSearch_LOGS_INDEX_EXPIRATION = setLongVar(VARIABLE_OPENSEARCH_LOGS_INDEX_EXPIRATION,
-        OpenSearch_LOGS_INDEX_EXPIRATION);
-      KAFKA_MAX_NUM_TOPICS = setIntVar(VARIABLE_KAFKA_MAX_NUM_TOPICS, KAFKA_MAX_NUM_TOPICS);
-      HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = setVar(VARIABLE_HOPSWORKS_SSL_MASTER_PASSWORD,
-          HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD);
-      KAFKA_USER = setVar(VARIABLE_KAFKA_USER, KAFKA_USER);
-      KAFKA_DIR = setDirVar(VARIABLE_KAFKA_DIR, KAFKA_DIR);
-      KAFKA_DEFAULT_NUM_PARTITIONS = setIntVar(VARIABLE_KAFKA_NUM_PARTITIONS, KAFKA_DEFAULT_NUM_PARTITIONS);
-      KAFKA_DEFAULT_NUM_REPLICAS = setIntVar(VARIABLE_KAFKA_NUM_REPLICAS, KAFKA_DEFAULT_NUM_REPLICAS);
-      YARN_DEFAULT_QUOTA = setIntVar(VARIABLE_YARN_DEFAULT_QUOTA, YARN_DEFAULT_QUOTA);
-      DEFAULT_PAYMENT_TYPE = setPaymentType(VARIABLE_PROJECT_PAYMENT_TYPE, DEFAULT_PAYMENT_TYPE);
-      HDFS_DEFAULT_QUOTA_MBs = setLongVar(VARIABLE_HDFS_DEFAULT_QUOTA, HDFS_DEFAULT_QUOTA_MBs);
-      HDFS_LOG_STORAGE_POLICY = setHdfsStoragePolicy(VARIABLE_HDFS_LOG_STORAGE_POLICY, HDFS_LOG_STORAGE_POLICY);
-      MAX_NUM_PROJ_PER_USER = setIntVar(VARIABLE_MAX_NUM_PROJ_PER_USER, MAX_NUM_PROJ_PER_USER);
-      FILE_PREVIEW_IMAGE_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_IMAGE_SIZE, 10000000);
-      FILE_PREVIEW_TXT_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_TXT_SIZE, 100);
-      ANACONDA_DIR = setDirVar(VARIABLE_ANACONDA_DIR, ANACONDA_DIR);
-      ANACONDA_DEFAULT_REPO = setStrVar(VARIABLE_ANACONDA_DEFAULT_REPO, ANACONDA_DEFAULT_REPO);
-      ANACONDA_ENABLED = Boolean.parseBoolean(setStrVar(
-          VARIABLE_ANACONDA_ENABLED, ANACONDA_ENABLED.toString()));
-      DOWNLOAD_ALLOWED = Boolean.parseBoolean(setStrVar(VARIABLE_DOWNLOAD_ALLOWED, DOWNLOAD_ALLOWED.toString()));
-      RESOURCE_DIRS = setStrVar(VARIABLE_RESOURCE_DIRS, RESOURCE_DIRS);
-      MAX_STATUS_POLL_RETRY = setIntVar(VARIABLE_MAX_STATUS_POLL_RETRY, MAX_STATUS_POLL_RETRY);
-      HOPS_RPC_TLS = setStrVar(VARIABLE_HOPS_RPC_TLS, HOPS_RPC_TLS);
-      CERTIFICATE_MATERIALIZER_DELAY = setStrVar(VARIABLE_CERT_MATER_DELAY,
-          CERTIFICATE_MATERIALIZER_DELAY);
-      WHITELIST_USERS_LOGIN = setStrVar(VARIABLE_WHITELIST_USERS_LOGIN,
-          WHITELIST_USERS_LOGIN);
-      FIRST_TIME_LOGIN = setStrVar(VARIABLE_FIRST_TIME_LOGIN, FIRST_TIME_LOGIN);
-      serviceKeyRotationEnabled = setBoolVar(SERVICE_KEY_ROTATION_ENABLED_KEY, serviceKeyRotationEnabled);
-      serviceKeyRotationInterval = setStrVar(SERVICE_KEY_ROTATION_INTERVAL_KEY, serviceKeyRotationInterval);
-      tensorBoardMaxLastAccessed = setIntVar(TENSORBOARD_MAX_LAST_ACCESSED, tensorBoardMaxLastAccessed);
-      sparkUILogsOffset = setIntVar(SPARK_UI_LOGS_OFFSET, sparkUILogsOffset);
-      jupyterShutdownTimerInterval = setStrVar(JUPYTER_SHUTDOWN_TIMER_INTERVAL, jupyterShutdownTimerInterval);
-      checkNodemanagersStatus = setBoolVar(VARIABLE_CHECK_NODEMANAGERS_STATUS, checkNodemanagersStatus);
-
-      populateLDAPCache();
-
-      ZOOKEEPER_VERSION = setStrVar(VARIABLE_ZOOKEEPER_VERSION, ZOOKEEPER_VERSION);
-      GRAFANA_VERSION = setStrVar(VARIABLE_GRAFANA_VERSION, GRAFANA_VERSION);
-      LOGSTASH_VERSION = setStrVar(VARIABLE_LOGSTASH_VERSION, LOGSTASH_VERSION);
-      KIBANA_VERSION = setStrVar(VARIABLE_KIBANA_VERSION, KIBANA_VERSION);
-      FILEBEAT_VERSION = setStrVar(VARIABLE_FILEBEAT_VERSION, FILEBEAT_VERSION);
-      NDB_VERSION = setStrVar(VARIABLE_NDB_VERSION, NDB_VERSION);
-      LIVY_VERSION = setStrVar(VARIABLE_LIVY_VERSION, LIVY_VERSION);
-      HIVE2_VERSION = setStrVar(VARIABLE_HIVE2_VERSION, HIVE2_VERSION);
-      TEZ_VERSION = setStrVar(VARIABLE_TEZ_VERSION, TEZ_VERSION);
-      SPARK_VERSION = setStrVar(VARIABLE_SPARK_VERSION, SPARK_VERSION);
-      FLINK_VERSION = setStrVar(VARIABLE_FLINK_VERSION, FLINK_VERSION);
-      EPIPE_VERSION = setStrVar(VARIABLE_EPIPE_VERSION, EPIPE_VERSION);
-      KAFKA_VERSION = setStrVar(VARIABLE_KAFKA_VERSION, KAFKA_VERSION);
-      OPENSEARCH_VERSION = setStrVar(VARIABLE_OPENSEARCH_VERSION, OPENSEARCH_VERSION);
-      TENSORFLOW_VERSION = setStrVar(VARIABLE_TENSORFLOW_VERSION, TENSORFLOW_VERSION);
-      KUBE_KSERVE_TENSORFLOW_VERSION = setStrVar(VARIABLE_KUBE_KSERVE_TENSORFLOW_VERSION,
-          KUBE_KSERVE_TENSORFLOW_VERSION);
-      HOPSWORKS_VERSION = setStrVar(VARIABLE_HOPSWORKS_VERSION, HOPSWORKS_VERSION);
-      HOPSWORKS_REST_LOG_LEVEL = setLogLevelVar(VARIABLE_HOPSWORKS_REST_LOG_LEVEL, HOPSWORKS_REST_LOG_LEVEL);
-      HOPSWORKS_PUBLIC_HOST = setStrVar(VARIABLE_HOPSWORKS_PUBLIC_HOST, HOPSWORKS_PUBLIC_HOST);
-
-      PYPI_REST_ENDPOINT = setStrVar(VARIABLE_PYPI_REST_ENDPOINT, PYPI_REST_ENDPOINT);
-      PYPI_SIMPLE_ENDPOINT = setStrVar(VARIABLE_PYPI_SIMPLE_ENDPOINT, PYPI_SIMPLE_ENDPOINT);
-      PYPI_INDEXER_TIMER_INTERVAL = setStrVar(VARIABLE_PYPI_INDEXER_TIMER_INTERVAL, PYPI_INDEXER_TIMER_INTERVAL);
-      PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = setStrVar(VARIABLE_PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL,
-        PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL);
-      PYPI_INDEXER_TIMER_ENABLED = setBoolVar(VARIABLE_PYPI_INDEXER_TIMER_ENABLED, PYPI_INDEXER_TIMER_ENABLED);
-
-      IMMUTABLE_PYTHON_LIBRARY_NAMES = toSetFromCsv(
-          setStrVar(VARIABLE_IMMUTABLE_PYTHON_LIBRARY_NAMES, DEFAULT_IMMUTABLE_PYTHON_LIBRARY_NAMES),
-          ",");
-
-      ENABLE_DATA_SCIENCE_PROFILE = setBoolVar(VARIABLE_ENABLE_DATA_SCIENCE_PROFILE, ENABLE_DATA_SCIENCE_PROFILE);
-
-      SERVING_MONITOR_INT = setStrVar(VARIABLE_SERVING_MONITOR_INT, SERVING_MONITOR_INT);
-      SERVING_CONNECTION_POOL_SIZE = setIntVar(VARIABLE_SERVING_CONNECTION_POOL_SIZE,
-        SERVING_CONNECTION_POOL_SIZE);
-      SERVING_MAX_ROUTE_CONNECTIONS = setIntVar(VARIABLE_SERVING_MAX_ROUTE_CONNECTIONS,
-        SERVING_MAX_ROUTE_CONNECTIONS);
-
-      TENSORBOARD_MAX_RELOAD_THREADS = setIntVar(VARIABLE_TENSORBOARD_MAX_RELOAD_THREADS,
-          TENSORBOARD_MAX_RELOAD_THREADS);
-
-      KUBE_USER = setStrVar(VARIABLE_KUBE_USER, KUBE_USER);
-      KUBE_HOPSWORKS_USER = setStrVar(VARIABLE_KUBE_HOPSWORKS_USER, KUBE_HOPSWORKS_USER);
-      KUBEMASTER_URL = setStrVar(VARIABLE_KUBEMASTER_URL, KUBEMASTER_URL);
-      KUBE_CA_CERTFILE = setStrVar(VARIABLE_KUBE_CA_CERTFILE, KUBE_CA_CERTFILE);
-      KUBE_CLIENT_KEYFILE = setStrVar(VARIABLE_KUBE_CLIENT_KEYFILE, KUBE_CLIENT_KEYFILE);
-      KUBE_CLIENT_CERTFILE = setStrVar(VARIABLE_KUBE_CLIENT_CERTFILE, KUBE_CLIENT_CERTFILE);
-      KUBE_CLIENT_KEYPASS = setStrVar(VARIABLE_KUBE_CLIENT_KEYPASS, KUBE_CLIENT_KEYPASS);
-      KUBE_TRUSTSTORE_PATH = setStrVar(VARIABLE_KUBE_TRUSTSTORE_PATH, KUBE_TRUSTSTORE_PATH);
-      KUBE_TRUSTSTORE_KEY = setStrVar(VARIABLE_KUBE_TRUSTSTORE_KEY, KUBE_TRUSTSTORE_KEY);
-      KUBE_KEYSTORE_PATH = setStrVar(VARIABLE_KUBE_KEYSTORE_PATH, KUBE_KEYSTORE_PATH);
-      KUBE_KEYSTORE_KEY = setStrVar(VARIABLE_KUBE_KEYSTORE_KEY, KUBE_KEYSTORE_KEY);
-      KUBE_PULL_POLICY = setStrVar(VARIABLE_KUBE_PULL_POLICY, KUBE_PULL_POLICY);
-      KUBE_API_MAX_ATTEMPTS = setIntVar(VARIABLE_KUBE_API_MAX_ATTEMPTS, KUBE_API_MAX_ATTEMPTS);
-      KUBE_DOCKER_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_MEMORY_ALLOCATION,
-          KUBE_DOCKER_MAX_MEMORY_ALLOCATION);
-      KUBE_DOCKER_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_DOCKER_MAX_CORES_ALLOCATION,
-          KUBE_DOCKER_MAX_CORES_ALLOCATION);
-      KUBE_DOCKER_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_GPUS_ALLOCATION,
-          KUBE_DOCKER_MAX_GPUS_ALLOCATION);
-      KUBE_INSTALLED = setBoolVar(VARIABLE_KUBE_INSTALLED, KUBE_INSTALLED);
-      KUBE_KSERVE_INSTALLED = setBoolVar(VARIABLE_KUBE_KSERVE_INSTALLED, KUBE_KSERVE_INSTALLED);
-      KUBE_SERVING_NODE_LABELS = setStrVar(VARIABLE_KUBE_SERVING_NODE_LABELS, KUBE_SERVING_NODE_LABELS);
-      KUBE_SERVING_NODE_TOLERATIONS = setStrVar(VARIABLE_KUBE_SERVING_NODE_TOLERATIONS, KUBE_SERVING_NODE_TOLERATIONS);
-      KUBE_SERVING_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_MEMORY_ALLOCATION,
-        KUBE_SERVING_MAX_MEMORY_ALLOCATION);
-      KUBE_SERVING_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_SERVING_MAX_CORES_ALLOCATION,
-        KUBE_SERVING_MAX_CORES_ALLOCATION);
-      KUBE_SERVING_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_GPUS_ALLOCATION,
-        KUBE_SERVING_MAX_GPUS_ALLOCATION);
-      KUBE_SERVING_MAX_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MAX_NUM_INSTANCES,
-        KUBE_SERVING_MAX_NUM_INSTANCES);
-      KUBE_SERVING_MIN_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MIN_NUM_INSTANCES,
-        KUBE_SERVING_MIN_NUM_INSTANCES);
-      KUBE_KNATIVE_DOMAIN_NAME = setStrVar(VARIABLE_KUBE_KNATIVE_DOMAIN_NAME, KUBE_KNATIVE_DOMAIN_NAME);
-      KUBE_TAINTED_NODES = setStrVar(VARIABLE_KUBE_TAINTED_NODES, KUBE_TAINTED_NODES);
-      KUBE_TAINTED_NODES_MONITOR_INTERVAL = setStrVar(VARIABLE_KUBE_TAINTED_NODES_MONITOR_INTERVAL,
-          KUBE_TAINTED_NODES_MONITOR_INTERVAL);
-
-      HOPSWORKS_ENTERPRISE = setBoolVar(VARIABLE_HOPSWORKS_ENTERPRISE, HOPSWORKS_ENTERPRISE);
-
-      JUPYTER_HOST = setStrVar(VARIABLE_JUPYTER_HOST, JUPYTER_HOST);
-
-      JWT_SIGNATURE_ALGORITHM = setStrVar(VARIABLE_JWT_SIGNATURE_ALGORITHM, JWT_SIGNATURE_ALGORITHM);
-      JWT_LIFETIME_MS = setLongVar(VARIABLE_JWT_LIFETIME_MS, JWT_LIFETIME_MS);
-      JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_JWT_EXP_LEEWAY_SEC, JWT_EXP_LEEWAY_SEC);
-      JWT_SIGNING_KEY_NAME = setStrVar(VARIABLE_JWT_SIGNING_KEY_NAME, JWT_SIGNING_KEY_NAME);
-      JWT_ISSUER = setStrVar(VARIABLE_JWT_ISSUER_KEY, JWT_ISSUER);
-
-      SERVICE_JWT_LIFETIME_MS = setLongVar(VARIABLE_SERVICE_JWT_LIFETIME_MS, SERVICE_JWT_LIFETIME_MS);
-      SERVICE_JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_SERVICE_JWT_EXP_LEEWAY_SEC, SERVICE_JWT_EXP_LEEWAY_SEC);
-
-      CONNECTION_KEEPALIVE_TIMEOUT = setIntVar(VARIABLE_CONNECTION_KEEPALIVE_TIMEOUT, CONNECTION_KEEPALIVE_TIMEOUT);
-
-      FEATURESTORE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_FEATURESTORE_DEFAULT_QUOTA, FEATURESTORE_DB_DEFAULT_QUOTA);
-      FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT =
-          setStrVar(VARIABLE_FEATURESTORE_DEFAULT_STORAGE_FORMAT, FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT);
-      FEATURESTORE_JDBC_URL = setStrVar(VARIABLE_FEATURESTORE_JDBC_URL, FEATURESTORE_JDBC_URL);
-      FEATURESTORE_DB_ADMIN_USER = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_USER, FEATURESTORE_DB_ADMIN_USER);
-      FEATURESTORE_DB_ADMIN_PWD = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_PWD, FEATURESTORE_DB_ADMIN_PWD);
-      ONLINE_FEATURESTORE = setBoolVar(VARIABLE_ONLINE_FEATURESTORE, ONLINE_FEATURESTORE);
-      ONLINE_FEATURESTORE_TS = setStrVar(VARIABLE_ONLINE_FEATURESTORE_TS, ONLINE_FEATURESTORE_TS);
-      ONLINEFS_THREAD_NUMBER = setIntVar(VARIABLE_ONLINEFS_THREAD_NUMBER, ONLINEFS_THREAD_NUMBER);
-
-      KIBANA_HTTPS_ENABELED = setBoolVar(VARIABLE_KIBANA_HTTPS_ENABLED,
-          KIBANA_HTTPS_ENABELED);
-  
-      KIBANA_MULTI_TENANCY_ENABELED = setBoolVar(VARIABLE_KIBANA_MULTI_TENANCY_ENABLED,
-          KIBANA_MULTI_TENANCY_ENABELED);
-  
-      RESERVED_PROJECT_NAMES =
-        setStringHashSetLowerCase(VARIABLE_RESERVED_PROJECT_NAMES, DEFAULT_RESERVED_PROJECT_NAMES, ",");
-  
-      CLOUD_EVENTS_ENDPOINT = setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT,
-          CLOUD_EVENTS_ENDPOINT);
-  
-      CLOUD_EVENTS_ENDPOINT_API_KEY =
-          setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT_API_KEY, CLOUD_EVENTS_ENDPOINT_API_KEY);
-
-      FG_PREVIEW_LIMIT = setIntVar(VARIABLE_FG_PREVIEW_LIMIT, FG_PREVIEW_LIMIT);
-      HIVE_CONF_PATH = setStrVar(VARIABLE_HIVE_CONF_PATH, HIVE_CONF_PATH);
-      FS_PY_JOB_UTIL_PATH = setStrVar(VARIABLE_FS_PY_JOB_UTIL_PATH, FS_PY_JOB_UTIL_PATH);
-      FS_JAVA_JOB_UTIL_PATH  = setStrVar(VARIABLE_FS_JAVA_JOB_UTIL_PATH, FS_JAVA_JOB_UTIL_PATH);
-      HDFS_FILE_OP_JOB_UTIL  = setStrVar(VARIABLE_HDFS_FILE_OP_JOB_UTIL, HDFS_FILE_OP_JOB_UTIL);
-      HDFS_FILE_OP_JOB_DRIVER_MEM  = setIntVar(VARIABLE_HDFS_FILE_OP_JOB_DRIVER_MEM, HDFS_FILE_OP_JOB_DRIVER_MEM);
-
-      ENABLE_REDSHIFT_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_REDSHIFT_STORAGE_CONNECTORS,
-              ENABLE_REDSHIFT_STORAGE_CONNECTORS);
-      ENABLE_ADLS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_ADLS_STORAGE_CONNECTORS,
-              ENABLE_ADLS_STORAGE_CONNECTORS);
-      ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_SNOWFLAKE_STORAGE_CONNECTORS,
-              ENABLE_SNOWFLAKE_STORAGE_CONNECTORS);
-      ENABLE_KAFKA_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_KAFKA_STORAGE_CONNECTORS,
-              ENABLE_KAFKA_STORAGE_CONNECTORS);
-      ENABLE_GCS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_GCS_STORAGE_CONNECTORS,
-              ENABLE_GCS_STORAGE_CONNECTORS);
-      ENABLE_BIGQUERY_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_BIGQUERY_STORAGE_CONNECTORS,
-              ENABLE_BIGQUERY_STORAGE_CONNECTORS);
-
-      // BYOK
-      ENABLE_BRING_YOUR_OWN_KAFKA = setBoolVar(VARIABLE_ENABLE_BRING_YOUR_OWN_KAFKA,
-          ENABLE_BRING_YOUR_OWN_KAFKA);
-  
-      // Statistics
-      STATISTICS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_STATISTICS_CLEANER_BATCH_SIZE, STATISTICS_CLEANER_BATCH_SIZE);
-      STATISTICS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_STATISTICS_CLEANER_INTERVAL_MS,
-        STATISTICS_CLEANER_INTERVAL_MS);
-      
-      // Feature monitoring
-      ENABLE_FEATURE_MONITORING = setBoolVar(VARIABLE_ENABLE_FEATURE_MONITORING,
-        ENABLE_FEATURE_MONITORING);
-      
-      TESTCONNECTOR_IMAGE_VERSION = setStrVar(VARIABLE_CONNECTOR_IMAGE_VERSION, "0.1");
-      YARN_RUNTIME = setStrVar(VARIABLE_YARN_RUNTIME, YARN_RUNTIME);
-      DOCKER_MOUNTS = setStrVar(VARIABLE_DOCKER_MOUNTS, DOCKER_MOUNTS);
-      DOCKER_JOB_MOUNTS_LIST = setStrVar(VARIABLE_DOCKER_JOB_MOUNTS_LIST, DOCKER_JOB_MOUNTS_LIST);
-      DOCKER_JOB_MOUNT_ALLOWED = setBoolVar(VARIABLE_DOCKER_JOB_MOUNT_ALLOWED, DOCKER_JOB_MOUNT_ALLOWED);
-      DOCKER_JOB_UID_STRICT = setBoolVar(VARIABLE_DOCKER_JOB_UID_STRICT, DOCKER_JOB_UID_STRICT);
-      DOCKER_BASE_IMAGE_PYTHON_NAME = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_NAME, DOCKER_BASE_IMAGE_PYTHON_NAME);
-      DOCKER_BASE_IMAGE_PYTHON_VERSION = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_VERSION,
-          DOCKER_BASE_IMAGE_PYTHON_VERSION);
-
-      // Job executions cleaner variables
-      EXECUTIONS_PER_JOB_LIMIT =  setIntVar(VARIABLE_EXECUTIONS_PER_JOB_LIMIT, EXECUTIONS_PER_JOB_LIMIT);
-      EXECUTIONS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_EXECUTIONS_CLEANER_BATCH_SIZE, EXECUTIONS_CLEANER_BATCH_SIZE);
-      EXECUTIONS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_EXECUTIONS_CLEANER_INTERVAL_MS,
-                                                 EXECUTIONS_CLEANER_INTERVAL_MS);
-
-      YARN_APP_UID = setLongVar(VARIABLE_YARN_APP_UID, YARN_APP_UID);
-      populateProvenanceCache();
-      
-      CLIENT_PATH = setStrVar(VARIABLE_CLIENT_PATH, CLIENT_PATH);
-      KUBE_TYPE = KubeType.fromString(setStrVar(VARIABLE_KUBE_TYPE, KUBE_TYPE.name));
-      DOCKER_NAMESPACE = setStrVar(VARIABLE_DOCKER_NAMESPACE, DOCKER_NAMESPACE);
-      MANAGED_DOCKER_REGISTRY = setBoolVar(VARIABLE_MANAGED_DOCKER_REGISTRY,
-          MANAGED_DOCKER_REGISTRY);
-
-      MAX_ENV_YML_BYTE_SIZE = setIntVar(VARIABLE_MAX_ENV_YML_BYTE_SIZE, MAX_ENV_YML_BYTE_SIZE);
-      SPARK_EXECUTOR_MIN_MEMORY = setIntVar(VARIABLE_SPARK_EXECUTOR_MIN_MEMORY, SPARK_EXECUTOR_MIN_MEMORY);
-      
-      LIVY_STARTUP_TIMEOUT = setIntVar(VARIABLE_LIVY_STARTUP_TIMEOUT, LIVY_STARTUP_TIMEOUT);
-  
-      USER_SEARCH_ENABLED = setBoolVar(VARIABLE_USER_SEARCH, USER_SEARCH_ENABLED);
-      REJECT_REMOTE_USER_NO_GROUP = setBoolVar(VARIABLE_REJECT_REMOTE_USER_NO_GROUP, REJECT_REMOTE_USER_NO_GROUP);
-
-      //Git
-      GIT_IMAGE_VERSION = setStrVar(VARIABLE_GIT_IMAGE_VERSION, GIT_IMAGE_VERSION);
-      GIT_MAX_COMMAND_TIMEOUT_MINUTES = setIntVar(VARIABLE_GIT_COMMAND_TIMEOUT_MINUTES_DEFAULT,
-          GIT_MAX_COMMAND_TIMEOUT_MINUTES);
-      ENABLE_GIT_READ_ONLY_REPOSITORIES = setBoolVar(VARIABLE_ENABLE_GIT_READ_ONLY_REPOSITORIES,
-              ENABLE_GIT_READ_ONLY_REPOSITORIES);
-
-      //Docker cgroups
-      DOCKER_CGROUP_ENABLED = setBoolVar(VARIABLE_DOCKER_CGROUP_ENABLED, DOCKER_CGROUP_ENABLED);
-      DOCKER_CGROUP_MEMORY_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_HARD_LIMIT_MEMORY,
-          DOCKER_CGROUP_MEMORY_LIMIT);
-      DOCKER_CGROUP_MEMORY_SOFT_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_SOFT_LIMIT_MEMORY,
-          DOCKER_CGROUP_MEMORY_SOFT_LIMIT);
-      DOCKER_CGROUP_CPU_QUOTA = setDoubleVar(VARIABLE_DOCKER_CGROUP_CPU_QUOTA, DOCKER_CGROUP_CPU_QUOTA);
-      DOCKER_CGROUP_CPU_PERIOD = setIntVar(VARIABLE_DOCKER_CGROUP_CPU_PERIOD, DOCKER_CGROUP_CPU_PERIOD);
-      DOCKER_CGROUP_MONITOR_INTERVAL = setStrVar(VARIABLE_DOCKER_CGROUP_MONITOR_INTERVAL,
-          DOCKER_CGROUP_MONITOR_INTERVAL);
-      DOCKER_CGROUP_PARENT = setStrVar(VARIABLE_DOCKER_CGROUP_PARENT, DOCKER_CGROUP_PARENT);
-
-      PROMETHEUS_PORT = setIntVar(VARIABLE_PROMETHEUS_PORT, PROMETHEUS_PORT);
-
-      SKIP_NAMESPACE_CREATION = setBoolVar(VARIABLE_SKIP_NAMESPACE_CREATION,
-          SKIP_NAMESPACE_CREATION);
-
-      QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_ENABLED_FEATUREGROUPS,
-          QUOTAS_ONLINE_ENABLED_FEATUREGROUPS);
-      QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_DISABLED_FEATUREGROUPS,
-          QUOTAS_ONLINE_DISABLED_FEATUREGROUPS);
-      QUOTAS_TRAINING_DATASETS = setLongVar(VARIABLE_QUOTAS_TRAINING_DATASETS, QUOTAS_TRAINING_DATASETS);
-      QUOTAS_RUNNING_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_RUNNING_MODEL_DEPLOYMENTS,
-          QUOTAS_RUNNING_MODEL_DEPLOYMENTS);
-      QUOTAS_TOTAL_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_TOTAL_MODEL_DEPLOYMENTS,
-          QUOTAS_TOTAL_MODEL_DEPLOYMENTS);
-      QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
-          QUOTAS_MAX_PARALLEL_EXECUTIONS);
-      QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
-          QUOTAS_MAX_PARALLEL_EXECUTIONS);
-
-      SQL_MAX_SELECT_IN = setIntVar(VARIABLE_SQL_MAX_SELECT_IN, SQL_MAX_SELECT_IN);
-
-      ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = setBoolVar(VARIABLE_ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES,
-        ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES);
-
-      ENABLE_FLYINGDUCK = setBoolVar(VARIABLE_ENABLE_FLYINGDUCK,
-        ENABLE_FLYINGDUCK);
-
-      MAX_LONG_RUNNING_HTTP_REQUESTS =
-        setIntVar(VARIABLE_MAX_LONG_RUNNING_HTTP_REQUESTS, MAX_LONG_RUNNING_HTTP_REQUESTS);
-
-      COMMAND_SEARCH_FS_HISTORY_ENABLE = setBoolVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_ENABLE,
-        COMMAND_SEARCH_FS_HISTORY_ENABLE);
-      COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD,
-        COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD);
-      COMMAND_SEARCH_FS_HISTORY_WINDOW = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_WINDOW,
-        COMMAND_SEARCH_FS_HISTORY_WINDOW);
-      COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD,
-        COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD);
-      COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = setIntVar(VARIABLE_COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL,
-        COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL);
-      SERVICE_API_KEY = setVar(VARIABLE_SERVICE_API_KEY, SERVICE_API_KEY);
-
-      OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = setStrVar(
-          VARIABLE_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME);
-      OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = setIntVar(
-          VARIABLE_NUM_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX);
-      OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT = setIntVar(
-          VARIABLE_OPENSEARCH_INDEX_MAPPING_LIMIT, OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT);
-      ENABLE_CONDA_INSTALL = setBoolVar(VARIABLE_ENABLE_CONDA_INSTALL, ENABLE_CONDA_INSTALL);
-      DEFAULT_FEATURE_STORE_PROJECT_ID = setIntVar(VARIABLE_FEATURE_STORE_PROJECT_ID, null);
-      cached = true;
+  private CachedValues load() {
+    loading = loadVariables();
+    CachedValues values = new CachedValues();
+    values.ADMIN_EMAIL = setVar(VARIABLE_ADMIN_EMAIL, values.ADMIN_EMAIL);
+    values.LOCALHOST = setBoolVar(VARIABLE_LOCALHOST, values.LOCALHOST);
+    values.CLOUD = setStrVar(VARIABLE_CLOUD, values.CLOUD);
+    values.REQUESTS_VERIFY = setBoolVar(VARIABLE_REQUESTS_VERIFY, values.REQUESTS_VERIFY);
+    values.TWOFACTOR_AUTH = setVar(VARIABLE_TWOFACTOR_AUTH, values.TWOFACTOR_AUTH);
+    values.TWOFACTOR_EXCLUDE = setVar(VARIABLE_TWOFACTOR_EXCLUD, values.TWOFACTOR_EXCLUDE);
+    values.HOPSWORKS_USER = setVar(VARIABLE_HOPSWORKS_USER, values.HOPSWORKS_USER);
+    values.JUPYTER_GROUP = setVar(VARIABLE_JUPYTER_GROUP, values.JUPYTER_GROUP);
+    values.JUPYTER_ORIGIN_SCHEME = setVar(VARIABLE_JUPYTER_ORIGIN_SCHEME, values.JUPYTER_ORIGIN_SCHEME);
+    values.JUPYTER_REMOTE_FS_DRIVER = setVar(VARIABLE_JUPYTER_REMOTE_FS_DRIVER, values.JUPYTER_REMOTE_FS_DRIVER);
+    values.APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = setBoolVar(VARIABLE_APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE,
+        values.APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE);
+    values.HOPSFSMOUNT_APPARMOR_PROFILE = setVar(VARIABLE_HOPSFSMOUNT_APPARMOR_PROFILE,
+      values.HOPSFSMOUNT_APPARMOR_PROFILE);
+    values.HDFS_SUPERUSER = setVar(VARIABLE_HDFS_SUPERUSER, values.HDFS_SUPERUSER);
+    values.SPARK_USER = setVar(VARIABLE_SPARK_USER, values.SPARK_USER);
+    values.SPARK_DIR = setDirVar(VARIABLE_SPARK_DIR, values.SPARK_DIR);
+    values.FLINK_DIR = setDirVar(VARIABLE_FLINK_DIR, values.FLINK_DIR);
+    values.STAGING_DIR = setVar(VARIABLE_STAGING_DIR, values.STAGING_DIR);
+    values.HIVE_SUPERUSER = setStrVar(VARIABLE_HIVE_SUPERUSER, values.HIVE_SUPERUSER);
+    values.HIVE_WAREHOUSE = setStrVar(VARIABLE_HIVE_WAREHOUSE, values.HIVE_WAREHOUSE);
+    values.HIVE_SCRATCHDIR = setStrVar(VARIABLE_HIVE_SCRATCHDIR, values.HIVE_SCRATCHDIR);
+    values.HIVE_SCRATCHDIR_DELAY = setStrVar(VARIABLE_HIVE_SCRATCHDIR_DELAY, values.HIVE_SCRATCHDIR_DELAY);
+    values.HIVE_SCRATCHDIR_CLEANER_INTERVAL = setStrVar(VARIABLE_HIVE_SCRATCHDIR_CLEANER_INTERVAL,
+        values.HIVE_SCRATCHDIR_CLEANER_INTERVAL);
+    values.HIVE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_HIVE_DEFAULT_QUOTA, values.HIVE_DB_DEFAULT_QUOTA);
+    values.HADOOP_VERSION = setVar(VARIABLE_HADOOP_VERSION, values.HADOOP_VERSION);
+    values.JUPYTER_DIR = setDirVar(VARIABLE_JUPYTER_DIR, values.JUPYTER_DIR);
+    values.JUPYTER_WS_PING_INTERVAL_MS = setMillisecondVar(VARIABLE_JUPYTER_WS_PING_INTERVAL,
+      values.JUPYTER_WS_PING_INTERVAL_MS);
+    values.HADOOP_DIR = setDirVar(VARIABLE_HADOOP_DIR, values.HADOOP_DIR);
+    values.HOPSWORKS_INSTALL_DIR = setDirVar(VARIABLE_HOPSWORKS_DIR, values.HOPSWORKS_INSTALL_DIR);
+    values.CERTS_DIR = setDirVar(VARIABLE_CERTS_DIRS, values.CERTS_DIR);
+    values.SUDOERS_DIR = setDirVar(VARIABLE_SUDOERS_DIR, values.SUDOERS_DIR);
+    values.SERVICE_DISCOVERY_DOMAIN = setStrVar(VARIABLE_SERVICE_DISCOVERY_DOMAIN, values.SERVICE_DISCOVERY_DOMAIN);
+    values.AIRFLOW_DIR = setDirVar(VARIABLE_AIRFLOW_DIR, values.AIRFLOW_DIR);
+    values.AIRFLOW_USER = setStrVar(VARIABLE_AIRFLOW_USER, values.AIRFLOW_USER);
+    boolean openSearchSecurityEnabled =
+        setBoolVar(VARIABLE_OPENSEARCH_SECURITY_ENABLED,
+            OpenSearchSettings.OPENSEARCH_SECURTIY_ENABLED_DEFAULT);
+    boolean openSearchHttpsEnabled = setBoolVar(VARIABLE_OPENSEARCH_HTTPS_ENABLED
+        , OpenSearchSettings.OPENSEARCH_HTTPS_ENABLED_DEFAULT);
+    String openSearchAdminUser = setStrVar(VARIABLE_OPENSEARCH_ADMIN_USER,
+        OpenSearchSettings.OPENSEARCH_ADMIN_USER_DEFAULT);
+    String openSearchServiceLogUser = setStrVar(VARIABLE_OPENSEARCH_SERVICE_LOG_USER,
+        OpenSearchSettings.OPENSEARCH_SERVICE_LOG_ROLE);
+    String openSearchAdminPassword = setStrVar(VARIABLE_OPENSEARCH_ADMIN_PASSWORD,
+        OpenSearchSettings.OPENSEARCH_ADMIN_PASSWORD_DEFAULT);
+    boolean openSearchJWTEnabled =  setBoolVar(VARIABLE_OPENSEARCH_JWT_ENABLED
+        , OpenSearchSettings.OPENSEARCH_JWT_ENABLED_DEFAULT);
+    String openSearchJWTUrlParameter = setStrVar(VARIABLE_OPENSEARCH_JWT_URL_PARAMETER,
+        OpenSearchSettings.OPENSEARCH_JWT_URL_PARAMETER_DEFAULT);
+    long openSearchJWTEXPMS = setLongVar(VARIABLE_OPENSEARCH_JWT_EXP_MS,
+        OpenSearchSettings.OPENSEARCH_JWT_EXP_MS_DEFAULT);
+
+    values.OPENSEARCH_SETTINGS = new OpenSearchSettings(openSearchSecurityEnabled, openSearchHttpsEnabled,
+        openSearchAdminUser, openSearchAdminPassword, openSearchJWTEnabled,
+        openSearchJWTUrlParameter, openSearchJWTEXPMS, openSearchServiceLogUser);
+    values.OpenSearch_LOGS_INDEX_EXPIRATION = setLongVar(VARIABLE_OPENSEARCH_LOGS_INDEX_EXPIRATION,
+      values.OpenSearch_LOGS_INDEX_EXPIRATION);
+    values.KAFKA_MAX_NUM_TOPICS = setIntVar(VARIABLE_KAFKA_MAX_NUM_TOPICS, values.KAFKA_MAX_NUM_TOPICS);
+    values.HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = setVar(VARIABLE_HOPSWORKS_SSL_MASTER_PASSWORD,
+        values.HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD);
+    values.KAFKA_USER = setVar(VARIABLE_KAFKA_USER, values.KAFKA_USER);
+    values.KAFKA_DIR = setDirVar(VARIABLE_KAFKA_DIR, values.KAFKA_DIR);
+    values.KAFKA_DEFAULT_NUM_PARTITIONS = setIntVar(VARIABLE_KAFKA_NUM_PARTITIONS, values.KAFKA_DEFAULT_NUM_PARTITIONS);
+    values.KAFKA_DEFAULT_NUM_REPLICAS = setIntVar(VARIABLE_KAFKA_NUM_REPLICAS, values.KAFKA_DEFAULT_NUM_REPLICAS);
+    values.YARN_DEFAULT_QUOTA = setIntVar(VARIABLE_YARN_DEFAULT_QUOTA, values.YARN_DEFAULT_QUOTA);
+    values.DEFAULT_PAYMENT_TYPE = setPaymentType(VARIABLE_PROJECT_PAYMENT_TYPE, values.DEFAULT_PAYMENT_TYPE);
+    values.HDFS_DEFAULT_QUOTA_MBs = setLongVar(VARIABLE_HDFS_DEFAULT_QUOTA, values.HDFS_DEFAULT_QUOTA_MBs);
+    values.HDFS_LOG_STORAGE_POLICY = setHdfsStoragePolicy(VARIABLE_HDFS_LOG_STORAGE_POLICY,
+      values.HDFS_LOG_STORAGE_POLICY);
+    values.MAX_NUM_PROJ_PER_USER = setIntVar(VARIABLE_MAX_NUM_PROJ_PER_USER, values.MAX_NUM_PROJ_PER_USER);
+    values.FILE_PREVIEW_IMAGE_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_IMAGE_SIZE, 10000000);
+    values.FILE_PREVIEW_TXT_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_TXT_SIZE, 100);
+    values.ANACONDA_DIR = setDirVar(VARIABLE_ANACONDA_DIR, values.ANACONDA_DIR);
+    values.ANACONDA_DEFAULT_REPO = setStrVar(VARIABLE_ANACONDA_DEFAULT_REPO, values.ANACONDA_DEFAULT_REPO);
+    values.ANACONDA_ENABLED = Boolean.parseBoolean(setStrVar(
+        VARIABLE_ANACONDA_ENABLED, values.ANACONDA_ENABLED.toString()));
+    values.DOWNLOAD_ALLOWED = Boolean.parseBoolean(setStrVar(VARIABLE_DOWNLOAD_ALLOWED,
+      values.DOWNLOAD_ALLOWED.toString()));
+    values.RESOURCE_DIRS = setStrVar(VARIABLE_RESOURCE_DIRS, values.RESOURCE_DIRS);
+    values.MAX_STATUS_POLL_RETRY = setIntVar(VARIABLE_MAX_STATUS_POLL_RETRY, values.MAX_STATUS_POLL_RETRY);
+    values.HOPS_RPC_TLS = setStrVar(VARIABLE_HOPS_RPC_TLS, values.HOPS_RPC_TLS);
+    values.CERTIFICATE_MATERIALIZER_DELAY = setStrVar(VARIABLE_CERT_MATER_DELAY,
+        values.CERTIFICATE_MATERIALIZER_DELAY);
+    values.WHITELIST_USERS_LOGIN = setStrVar(VARIABLE_WHITELIST_USERS_LOGIN,
+        values.WHITELIST_USERS_LOGIN);
+    values.FIRST_TIME_LOGIN = setStrVar(VARIABLE_FIRST_TIME_LOGIN, values.FIRST_TIME_LOGIN);
+    values.serviceKeyRotationEnabled = setBoolVar(SERVICE_KEY_ROTATION_ENABLED_KEY, values.serviceKeyRotationEnabled);
+    values.serviceKeyRotationInterval = setStrVar(SERVICE_KEY_ROTATION_INTERVAL_KEY, values.serviceKeyRotationInterval);
+    values.tensorBoardMaxLastAccessed = setIntVar(TENSORBOARD_MAX_LAST_ACCESSED, values.tensorBoardMaxLastAccessed);
+    values.sparkUILogsOffset = setIntVar(SPARK_UI_LOGS_OFFSET, values.sparkUILogsOffset);
+    values.jupyterShutdownTimerInterval = setStrVar(JUPYTER_SHUTDOWN_TIMER_INTERVAL,
+      values.jupyterShutdownTimerInterval);
+    values.checkNodemanagersStatus = setBoolVar(VARIABLE_CHECK_NODEMANAGERS_STATUS, values.checkNodemanagersStatus);
+
+    populateLDAPCache(values);
+
+    values.ZOOKEEPER_VERSION = setStrVar(VARIABLE_ZOOKEEPER_VERSION, values.ZOOKEEPER_VERSION);
+    values.GRAFANA_VERSION = setStrVar(VARIABLE_GRAFANA_VERSION, values.GRAFANA_VERSION);
+    values.LOGSTASH_VERSION = setStrVar(VARIABLE_LOGSTASH_VERSION, values.LOGSTASH_VERSION);
+    values.KIBANA_VERSION = setStrVar(VARIABLE_KIBANA_VERSION, values.KIBANA_VERSION);
+    values.FILEBEAT_VERSION = setStrVar(VARIABLE_FILEBEAT_VERSION, values.FILEBEAT_VERSION);
+    values.NDB_VERSION = setStrVar(VARIABLE_NDB_VERSION, values.NDB_VERSION);
+    values.LIVY_VERSION = setStrVar(VARIABLE_LIVY_VERSION, values.LIVY_VERSION);
+    values.HIVE2_VERSION = setStrVar(VARIABLE_HIVE2_VERSION, values.HIVE2_VERSION);
+    values.TEZ_VERSION = setStrVar(VARIABLE_TEZ_VERSION, values.TEZ_VERSION);
+    values.SPARK_VERSION = setStrVar(VARIABLE_SPARK_VERSION, values.SPARK_VERSION);
+    values.FLINK_VERSION = setStrVar(VARIABLE_FLINK_VERSION, values.FLINK_VERSION);
+    values.EPIPE_VERSION = setStrVar(VARIABLE_EPIPE_VERSION, values.EPIPE_VERSION);
+    values.KAFKA_VERSION = setStrVar(VARIABLE_KAFKA_VERSION, values.KAFKA_VERSION);
+    values.OPENSEARCH_VERSION = setStrVar(VARIABLE_OPENSEARCH_VERSION, values.OPENSEARCH_VERSION);
+    values.TENSORFLOW_VERSION = setStrVar(VARIABLE_TENSORFLOW_VERSION, values.TENSORFLOW_VERSION);
+    values.KUBE_KSERVE_TENSORFLOW_VERSION = setStrVar(VARIABLE_KUBE_KSERVE_TENSORFLOW_VERSION,
+        values.KUBE_KSERVE_TENSORFLOW_VERSION);
+    values.HOPSWORKS_VERSION = setStrVar(VARIABLE_HOPSWORKS_VERSION, values.HOPSWORKS_VERSION);
+    values.HOPSWORKS_REST_LOG_LEVEL = setLogLevelVar(VARIABLE_HOPSWORKS_REST_LOG_LEVEL,
+      values.HOPSWORKS_REST_LOG_LEVEL);
+    values.HOPSWORKS_PUBLIC_HOST = setStrVar(VARIABLE_HOPSWORKS_PUBLIC_HOST, values.HOPSWORKS_PUBLIC_HOST);
+
+    values.PYPI_REST_ENDPOINT = setStrVar(VARIABLE_PYPI_REST_ENDPOINT, values.PYPI_REST_ENDPOINT);
+    values.PYPI_SIMPLE_ENDPOINT = setStrVar(VARIABLE_PYPI_SIMPLE_ENDPOINT, values.PYPI_SIMPLE_ENDPOINT);
+    values.PYPI_INDEXER_TIMER_INTERVAL = setStrVar(VARIABLE_PYPI_INDEXER_TIMER_INTERVAL,
+      values.PYPI_INDEXER_TIMER_INTERVAL);
+    values.PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = setStrVar(VARIABLE_PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL,
+      values.PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL);
+    values.PYPI_INDEXER_TIMER_ENABLED = setBoolVar(VARIABLE_PYPI_INDEXER_TIMER_ENABLED,
+      values.PYPI_INDEXER_TIMER_ENABLED);
+
+    values.IMMUTABLE_PYTHON_LIBRARY_NAMES = toSetFromCsv(
+        setStrVar(VARIABLE_IMMUTABLE_PYTHON_LIBRARY_NAMES, DEFAULT_IMMUTABLE_PYTHON_LIBRARY_NAMES),
+        ",");
+
+    values.ENABLE_DATA_SCIENCE_PROFILE = setBoolVar(VARIABLE_ENABLE_DATA_SCIENCE_PROFILE,
+      values.ENABLE_DATA_SCIENCE_PROFILE);
+
+    values.SERVING_MONITOR_INT = setStrVar(VARIABLE_SERVING_MONITOR_INT, values.SERVING_MONITOR_INT);
+    values.SERVING_CONNECTION_POOL_SIZE = setIntVar(VARIABLE_SERVING_CONNECTION_POOL_SIZE,
+      values.SERVING_CONNECTION_POOL_SIZE);
+    values.SERVING_MAX_ROUTE_CONNECTIONS = setIntVar(VARIABLE_SERVING_MAX_ROUTE_CONNECTIONS,
+      values.SERVING_MAX_ROUTE_CONNECTIONS);
+
+    values.TENSORBOARD_MAX_RELOAD_THREADS = setIntVar(VARIABLE_TENSORBOARD_MAX_RELOAD_THREADS,
+        values.TENSORBOARD_MAX_RELOAD_THREADS);
+
+    values.KUBE_USER = setStrVar(VARIABLE_KUBE_USER, values.KUBE_USER);
+    values.KUBE_HOPSWORKS_USER = setStrVar(VARIABLE_KUBE_HOPSWORKS_USER, values.KUBE_HOPSWORKS_USER);
+    values.KUBEMASTER_URL = setStrVar(VARIABLE_KUBEMASTER_URL, values.KUBEMASTER_URL);
+    values.KUBE_CA_CERTFILE = setStrVar(VARIABLE_KUBE_CA_CERTFILE, values.KUBE_CA_CERTFILE);
+    values.KUBE_CLIENT_KEYFILE = setStrVar(VARIABLE_KUBE_CLIENT_KEYFILE, values.KUBE_CLIENT_KEYFILE);
+    values.KUBE_CLIENT_CERTFILE = setStrVar(VARIABLE_KUBE_CLIENT_CERTFILE, values.KUBE_CLIENT_CERTFILE);
+    values.KUBE_CLIENT_KEYPASS = setStrVar(VARIABLE_KUBE_CLIENT_KEYPASS, values.KUBE_CLIENT_KEYPASS);
+    values.KUBE_TRUSTSTORE_PATH = setStrVar(VARIABLE_KUBE_TRUSTSTORE_PATH, values.KUBE_TRUSTSTORE_PATH);
+    values.KUBE_TRUSTSTORE_KEY = setStrVar(VARIABLE_KUBE_TRUSTSTORE_KEY, values.KUBE_TRUSTSTORE_KEY);
+    values.KUBE_KEYSTORE_PATH = setStrVar(VARIABLE_KUBE_KEYSTORE_PATH, values.KUBE_KEYSTORE_PATH);
+    values.KUBE_KEYSTORE_KEY = setStrVar(VARIABLE_KUBE_KEYSTORE_KEY, values.KUBE_KEYSTORE_KEY);
+    values.KUBE_PULL_POLICY = setStrVar(VARIABLE_KUBE_PULL_POLICY, values.KUBE_PULL_POLICY);
+    values.KUBE_API_MAX_ATTEMPTS = setIntVar(VARIABLE_KUBE_API_MAX_ATTEMPTS, values.KUBE_API_MAX_ATTEMPTS);
+    values.KUBE_DOCKER_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_MEMORY_ALLOCATION,
+        values.KUBE_DOCKER_MAX_MEMORY_ALLOCATION);
+    values.KUBE_DOCKER_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_DOCKER_MAX_CORES_ALLOCATION,
+        values.KUBE_DOCKER_MAX_CORES_ALLOCATION);
+    values.KUBE_DOCKER_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_GPUS_ALLOCATION,
+        values.KUBE_DOCKER_MAX_GPUS_ALLOCATION);
+    values.KUBE_INSTALLED = setBoolVar(VARIABLE_KUBE_INSTALLED, values.KUBE_INSTALLED);
+    values.KUBE_KSERVE_INSTALLED = setBoolVar(VARIABLE_KUBE_KSERVE_INSTALLED, values.KUBE_KSERVE_INSTALLED);
+    values.KUBE_SERVING_NODE_LABELS = setStrVar(VARIABLE_KUBE_SERVING_NODE_LABELS, values.KUBE_SERVING_NODE_LABELS);
+    values.KUBE_SERVING_NODE_TOLERATIONS = setStrVar(VARIABLE_KUBE_SERVING_NODE_TOLERATIONS,
+      values.KUBE_SERVING_NODE_TOLERATIONS);
+    values.KUBE_SERVING_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_MEMORY_ALLOCATION,
+      values.KUBE_SERVING_MAX_MEMORY_ALLOCATION);
+    values.KUBE_SERVING_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_SERVING_MAX_CORES_ALLOCATION,
+      values.KUBE_SERVING_MAX_CORES_ALLOCATION);
+    values.KUBE_SERVING_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_GPUS_ALLOCATION,
+      values.KUBE_SERVING_MAX_GPUS_ALLOCATION);
+    values.KUBE_SERVING_MAX_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MAX_NUM_INSTANCES,
+      values.KUBE_SERVING_MAX_NUM_INSTANCES);
+    values.KUBE_SERVING_MIN_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MIN_NUM_INSTANCES,
+      values.KUBE_SERVING_MIN_NUM_INSTANCES);
+    values.KUBE_KNATIVE_DOMAIN_NAME = setStrVar(VARIABLE_KUBE_KNATIVE_DOMAIN_NAME, values.KUBE_KNATIVE_DOMAIN_NAME);
+    values.KUBE_TAINTED_NODES = setStrVar(VARIABLE_KUBE_TAINTED_NODES, values.KUBE_TAINTED_NODES);
+    values.KUBE_TAINTED_NODES_MONITOR_INTERVAL = setStrVar(VARIABLE_KUBE_TAINTED_NODES_MONITOR_INTERVAL,
+        values.KUBE_TAINTED_NODES_MONITOR_INTERVAL);
+
+    values.HOPSWORKS_ENTERPRISE = setBoolVar(VARIABLE_HOPSWORKS_ENTERPRISE, values.HOPSWORKS_ENTERPRISE);
+
+    values.JUPYTER_HOST = setStrVar(VARIABLE_JUPYTER_HOST, values.JUPYTER_HOST);
+
+    values.JWT_SIGNATURE_ALGORITHM = setStrVar(VARIABLE_JWT_SIGNATURE_ALGORITHM, values.JWT_SIGNATURE_ALGORITHM);
+    values.JWT_LIFETIME_MS = setLongVar(VARIABLE_JWT_LIFETIME_MS, values.JWT_LIFETIME_MS);
+    values.JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_JWT_EXP_LEEWAY_SEC, values.JWT_EXP_LEEWAY_SEC);
+    values.JWT_SIGNING_KEY_NAME = setStrVar(VARIABLE_JWT_SIGNING_KEY_NAME, values.JWT_SIGNING_KEY_NAME);
+    values.JWT_ISSUER = setStrVar(VARIABLE_JWT_ISSUER_KEY, values.JWT_ISSUER);
+
+    values.SERVICE_JWT_LIFETIME_MS = setLongVar(VARIABLE_SERVICE_JWT_LIFETIME_MS, values.SERVICE_JWT_LIFETIME_MS);
+    values.SERVICE_JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_SERVICE_JWT_EXP_LEEWAY_SEC,
+      values.SERVICE_JWT_EXP_LEEWAY_SEC);
+
+    values.CONNECTION_KEEPALIVE_TIMEOUT = setIntVar(VARIABLE_CONNECTION_KEEPALIVE_TIMEOUT,
+      values.CONNECTION_KEEPALIVE_TIMEOUT);
+
+    values.FEATURESTORE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_FEATURESTORE_DEFAULT_QUOTA,
+      values.FEATURESTORE_DB_DEFAULT_QUOTA);
+    values.FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT =
+        setStrVar(VARIABLE_FEATURESTORE_DEFAULT_STORAGE_FORMAT, values.FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT);
+    values.FEATURESTORE_JDBC_URL = setStrVar(VARIABLE_FEATURESTORE_JDBC_URL, values.FEATURESTORE_JDBC_URL);
+    values.FEATURESTORE_DB_ADMIN_USER = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_USER,
+      values.FEATURESTORE_DB_ADMIN_USER);
+    values.FEATURESTORE_DB_ADMIN_PWD = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_PWD, values.FEATURESTORE_DB_ADMIN_PWD);
+    values.ONLINE_FEATURESTORE = setBoolVar(VARIABLE_ONLINE_FEATURESTORE, values.ONLINE_FEATURESTORE);
+    values.ONLINE_FEATURESTORE_TS = setStrVar(VARIABLE_ONLINE_FEATURESTORE_TS, values.ONLINE_FEATURESTORE_TS);
+    values.ONLINEFS_THREAD_NUMBER = setIntVar(VARIABLE_ONLINEFS_THREAD_NUMBER, values.ONLINEFS_THREAD_NUMBER);
+
+    values.KIBANA_HTTPS_ENABELED = setBoolVar(VARIABLE_KIBANA_HTTPS_ENABLED,
+        values.KIBANA_HTTPS_ENABELED);
+
+    values.KIBANA_MULTI_TENANCY_ENABELED = setBoolVar(VARIABLE_KIBANA_MULTI_TENANCY_ENABLED,
+        values.KIBANA_MULTI_TENANCY_ENABELED);
+
+    values.RESERVED_PROJECT_NAMES_STR = setStrVar(VARIABLE_RESERVED_PROJECT_NAMES, DEFAULT_RESERVED_PROJECT_NAMES);
+    Set<String> reservedProjectNames = setStringHashSetLowerCase(values.RESERVED_PROJECT_NAMES_STR, ",", true);
+    reservedProjectNames.addAll(getReservedHiveNames());
+    values.RESERVED_PROJECT_NAMES = reservedProjectNames;
+
+    values.CLOUD_EVENTS_ENDPOINT = setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT,
+        values.CLOUD_EVENTS_ENDPOINT);
+
+    values.CLOUD_EVENTS_ENDPOINT_API_KEY =
+        setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT_API_KEY, values.CLOUD_EVENTS_ENDPOINT_API_KEY);
+
+    values.FG_PREVIEW_LIMIT = setIntVar(VARIABLE_FG_PREVIEW_LIMIT, values.FG_PREVIEW_LIMIT);
+    values.HIVE_CONF_PATH = setStrVar(VARIABLE_HIVE_CONF_PATH, values.HIVE_CONF_PATH);
+    values.FS_PY_JOB_UTIL_PATH = setStrVar(VARIABLE_FS_PY_JOB_UTIL_PATH, values.FS_PY_JOB_UTIL_PATH);
+    values.FS_JAVA_JOB_UTIL_PATH  = setStrVar(VARIABLE_FS_JAVA_JOB_UTIL_PATH, values.FS_JAVA_JOB_UTIL_PATH);
+    values.HDFS_FILE_OP_JOB_UTIL  = setStrVar(VARIABLE_HDFS_FILE_OP_JOB_UTIL, values.HDFS_FILE_OP_JOB_UTIL);
+    values.HDFS_FILE_OP_JOB_DRIVER_MEM  = setIntVar(VARIABLE_HDFS_FILE_OP_JOB_DRIVER_MEM,
+      values.HDFS_FILE_OP_JOB_DRIVER_MEM);
+
+    values.ENABLE_REDSHIFT_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_REDSHIFT_STORAGE_CONNECTORS,
+            values.ENABLE_REDSHIFT_STORAGE_CONNECTORS);
+    values.ENABLE_ADLS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_ADLS_STORAGE_CONNECTORS,
+            values.ENABLE_ADLS_STORAGE_CONNECTORS);
+    values.ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_SNOWFLAKE_STORAGE_CONNECTORS,
+            values.ENABLE_SNOWFLAKE_STORAGE_CONNECTORS);
+    values.ENABLE_KAFKA_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_KAFKA_STORAGE_CONNECTORS,
+            values.ENABLE_KAFKA_STORAGE_CONNECTORS);
+    values.ENABLE_GCS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_GCS_STORAGE_CONNECTORS,
+            values.ENABLE_GCS_STORAGE_CONNECTORS);
+    values.ENABLE_BIGQUERY_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_BIGQUERY_STORAGE_CONNECTORS,
+            values.ENABLE_BIGQUERY_STORAGE_CONNECTORS);
+
+    // BYOK
+    values.ENABLE_BRING_YOUR_OWN_KAFKA = setBoolVar(VARIABLE_ENABLE_BRING_YOUR_OWN_KAFKA,
+        values.ENABLE_BRING_YOUR_OWN_KAFKA);
+
+    // Statistics
+    values.STATISTICS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_STATISTICS_CLEANER_BATCH_SIZE,
+      values.STATISTICS_CLEANER_BATCH_SIZE);
+    values.STATISTICS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_STATISTICS_CLEANER_INTERVAL_MS,
+      values.STATISTICS_CLEANER_INTERVAL_MS);
+    
+    // Feature monitoring
+    values.ENABLE_FEATURE_MONITORING = setBoolVar(VARIABLE_ENABLE_FEATURE_MONITORING,
+      values.ENABLE_FEATURE_MONITORING);
+    
+    values.TESTCONNECTOR_IMAGE_VERSION = setStrVar(VARIABLE_CONNECTOR_IMAGE_VERSION, "0.1");
+    values.YARN_RUNTIME = setStrVar(VARIABLE_YARN_RUNTIME, values.YARN_RUNTIME);
+    values.DOCKER_MOUNTS = setStrVar(VARIABLE_DOCKER_MOUNTS, values.DOCKER_MOUNTS);
+    values.DOCKER_JOB_MOUNTS_LIST = setStrVar(VARIABLE_DOCKER_JOB_MOUNTS_LIST, values.DOCKER_JOB_MOUNTS_LIST);
+    values.DOCKER_JOB_MOUNT_ALLOWED = setBoolVar(VARIABLE_DOCKER_JOB_MOUNT_ALLOWED, values.DOCKER_JOB_MOUNT_ALLOWED);
+    values.DOCKER_JOB_UID_STRICT = setBoolVar(VARIABLE_DOCKER_JOB_UID_STRICT, values.DOCKER_JOB_UID_STRICT);
+    values.DOCKER_BASE_IMAGE_PYTHON_NAME = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_NAME,
+      values.DOCKER_BASE_IMAGE_PYTHON_NAME);
+    values.DOCKER_BASE_IMAGE_PYTHON_VERSION = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_VERSION,
+        values.DOCKER_BASE_IMAGE_PYTHON_VERSION);
+
+    // Job executions cleaner variables
+    values.EXECUTIONS_PER_JOB_LIMIT =  setIntVar(VARIABLE_EXECUTIONS_PER_JOB_LIMIT, values.EXECUTIONS_PER_JOB_LIMIT);
+    values.EXECUTIONS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_EXECUTIONS_CLEANER_BATCH_SIZE,
+      values.EXECUTIONS_CLEANER_BATCH_SIZE);
+    values.EXECUTIONS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_EXECUTIONS_CLEANER_INTERVAL_MS,
+                                               values.EXECUTIONS_CLEANER_INTERVAL_MS);
+
+    values.YARN_APP_UID = setLongVar(VARIABLE_YARN_APP_UID, values.YARN_APP_UID);
+    populateProvenanceCache(values);
+    
+    values.CLIENT_PATH = setStrVar(VARIABLE_CLIENT_PATH, values.CLIENT_PATH);
+    values.KUBE_TYPE = KubeType.fromString(setStrVar(VARIABLE_KUBE_TYPE, values.KUBE_TYPE.name));
+    values.DOCKER_NAMESPACE = setStrVar(VARIABLE_DOCKER_NAMESPACE, values.DOCKER_NAMESPACE);
+    values.MANAGED_DOCKER_REGISTRY = setBoolVar(VARIABLE_MANAGED_DOCKER_REGISTRY,
+        values.MANAGED_DOCKER_REGISTRY);
+
+    values.MAX_ENV_YML_BYTE_SIZE = setIntVar(VARIABLE_MAX_ENV_YML_BYTE_SIZE, values.MAX_ENV_YML_BYTE_SIZE);
+    values.SPARK_EXECUTOR_MIN_MEMORY = setIntVar(VARIABLE_SPARK_EXECUTOR_MIN_MEMORY, values.SPARK_EXECUTOR_MIN_MEMORY);
+    
+    values.LIVY_STARTUP_TIMEOUT = setIntVar(VARIABLE_LIVY_STARTUP_TIMEOUT, values.LIVY_STARTUP_TIMEOUT);
+
+    values.USER_SEARCH_ENABLED = setBoolVar(VARIABLE_USER_SEARCH, values.USER_SEARCH_ENABLED);
+    values.REJECT_REMOTE_USER_NO_GROUP = setBoolVar(VARIABLE_REJECT_REMOTE_USER_NO_GROUP,
+      values.REJECT_REMOTE_USER_NO_GROUP);
+
+    //Git
+    values.GIT_IMAGE_VERSION = setStrVar(VARIABLE_GIT_IMAGE_VERSION, values.GIT_IMAGE_VERSION);
+    values.GIT_MAX_COMMAND_TIMEOUT_MINUTES = setIntVar(VARIABLE_GIT_COMMAND_TIMEOUT_MINUTES_DEFAULT,
+        values.GIT_MAX_COMMAND_TIMEOUT_MINUTES);
+    values.ENABLE_GIT_READ_ONLY_REPOSITORIES = setBoolVar(VARIABLE_ENABLE_GIT_READ_ONLY_REPOSITORIES,
+            values.ENABLE_GIT_READ_ONLY_REPOSITORIES);
+
+    //Docker cgroups
+    values.DOCKER_CGROUP_ENABLED = setBoolVar(VARIABLE_DOCKER_CGROUP_ENABLED, values.DOCKER_CGROUP_ENABLED);
+    values.DOCKER_CGROUP_MEMORY_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_HARD_LIMIT_MEMORY,
+        values.DOCKER_CGROUP_MEMORY_LIMIT);
+    values.DOCKER_CGROUP_MEMORY_SOFT_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_SOFT_LIMIT_MEMORY,
+        values.DOCKER_CGROUP_MEMORY_SOFT_LIMIT);
+    values.DOCKER_CGROUP_CPU_QUOTA = setDoubleVar(VARIABLE_DOCKER_CGROUP_CPU_QUOTA, values.DOCKER_CGROUP_CPU_QUOTA);
+    values.DOCKER_CGROUP_CPU_PERIOD = setIntVar(VARIABLE_DOCKER_CGROUP_CPU_PERIOD, values.DOCKER_CGROUP_CPU_PERIOD);
+    values.DOCKER_CGROUP_MONITOR_INTERVAL = setStrVar(VARIABLE_DOCKER_CGROUP_MONITOR_INTERVAL,
+        values.DOCKER_CGROUP_MONITOR_INTERVAL);
+    values.DOCKER_CGROUP_PARENT = setStrVar(VARIABLE_DOCKER_CGROUP_PARENT, values.DOCKER_CGROUP_PARENT);
+
+    values.PROMETHEUS_PORT = setIntVar(VARIABLE_PROMETHEUS_PORT, values.PROMETHEUS_PORT);
+
+    values.SKIP_NAMESPACE_CREATION = setBoolVar(VARIABLE_SKIP_NAMESPACE_CREATION,
+        values.SKIP_NAMESPACE_CREATION);
+
+    values.QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_ENABLED_FEATUREGROUPS,
+        values.QUOTAS_ONLINE_ENABLED_FEATUREGROUPS);
+    values.QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_DISABLED_FEATUREGROUPS,
+        values.QUOTAS_ONLINE_DISABLED_FEATUREGROUPS);
+    values.QUOTAS_TRAINING_DATASETS = setLongVar(VARIABLE_QUOTAS_TRAINING_DATASETS, values.QUOTAS_TRAINING_DATASETS);
+    values.QUOTAS_RUNNING_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_RUNNING_MODEL_DEPLOYMENTS,
+        values.QUOTAS_RUNNING_MODEL_DEPLOYMENTS);
+    values.QUOTAS_TOTAL_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_TOTAL_MODEL_DEPLOYMENTS,
+        values.QUOTAS_TOTAL_MODEL_DEPLOYMENTS);
+    values.QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
+        values.QUOTAS_MAX_PARALLEL_EXECUTIONS);
+    values.QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
+        values.QUOTAS_MAX_PARALLEL_EXECUTIONS);
+
+    values.SQL_MAX_SELECT_IN = setIntVar(VARIABLE_SQL_MAX_SELECT_IN, values.SQL_MAX_SELECT_IN);
+
+    values.ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = setBoolVar(
+      VARIABLE_ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES, values.ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES);
+
+    values.ENABLE_FLYINGDUCK = setBoolVar(VARIABLE_ENABLE_FLYINGDUCK,
+      values.ENABLE_FLYINGDUCK);
+
+    values.MAX_LONG_RUNNING_HTTP_REQUESTS =
+      setIntVar(VARIABLE_MAX_LONG_RUNNING_HTTP_REQUESTS, values.MAX_LONG_RUNNING_HTTP_REQUESTS);
+
+    values.COMMAND_SEARCH_FS_HISTORY_ENABLE = setBoolVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_ENABLE,
+      values.COMMAND_SEARCH_FS_HISTORY_ENABLE);
+    values.COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD,
+      values.COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD);
+    values.COMMAND_SEARCH_FS_HISTORY_WINDOW = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_WINDOW,
+      values.COMMAND_SEARCH_FS_HISTORY_WINDOW);
+    values.COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD,
+      values.COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD);
+    values.COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = setIntVar(VARIABLE_COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL,
+      values.COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL);
+    values.SERVICE_API_KEY = setVar(VARIABLE_SERVICE_API_KEY, values.SERVICE_API_KEY);
+
+    values.OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = setStrVar(
+        VARIABLE_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, values.OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME);
+    values.OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = setIntVar(
+        VARIABLE_NUM_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, values.OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX);
+    values.OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT = setIntVar(
+        VARIABLE_OPENSEARCH_INDEX_MAPPING_LIMIT, values.OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT);
+    values.ENABLE_CONDA_INSTALL = setBoolVar(VARIABLE_ENABLE_CONDA_INSTALL, values.ENABLE_CONDA_INSTALL);
+    values.DEFAULT_FEATURE_STORE_PROJECT_ID = setIntVar(VARIABLE_FEATURE_STORE_PROJECT_ID, null);
+    values.DFS_CLIENT_POOL_MAX_SIZE = setIntVar(VARIABLE_DFS_CLIENT_POOL_MAX_SIZE, values.DFS_CLIENT_POOL_MAX_SIZE);
+    values.DFS_CLIENT_POOL_MAX_IDLE_MS = setMillisecondVar(VARIABLE_DFS_CLIENT_POOL_MAX_IDLE,
+      values.DFS_CLIENT_POOL_MAX_IDLE_MS);
+    values.COMMAND_SEARCH_FS_BULK_SIZE = setIntVar(VARIABLE_COMMAND_SEARCH_FS_BULK_SIZE,
+      values.COMMAND_SEARCH_FS_BULK_SIZE);
+    values.COMMAND_SEARCH_FS_BULK_MAX_DELAY = setLongVar(VARIABLE_COMMAND_SEARCH_FS_BULK_MAX_DELAY,
+      values.COMMAND_SEARCH_FS_BULK_MAX_DELAY);
+    values.PROXY_SSL_CONTEXT_CACHE_SIZE = setIntVar(VARIABLE_PROXY_SSL_CONTEXT_CACHE_SIZE,
+      values.PROXY_SSL_CONTEXT_CACHE_SIZE);
+    values.PROXY_SSL_CONTEXT_CACHE_MAX_IDLE_MS = setMillisecondVar(VARIABLE_PROXY_SSL_CONTEXT_CACHE_MAX_IDLE,
+      values.PROXY_SSL_CONTEXT_CACHE_MAX_IDLE_MS);
+    values.YARNUI_PROXY_MAX_CONNECTIONS = setIntVar(VARIABLE_YARNUI_PROXY_MAX_CONNECTIONS,
+      values.YARNUI_PROXY_MAX_CONNECTIONS);
+    values.YARNUI_PROXY_MAX_CONNECTIONS_PER_ROUTE = setIntVar(VARIABLE_YARNUI_PROXY_MAX_CONNECTIONS_PER_ROUTE,
+      values.YARNUI_PROXY_MAX_CONNECTIONS_PER_ROUTE);
+    values.ONLINEFS_CONNECTION_POOL_MAX_SIZE = setIntVar(VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_SIZE,
+      values.ONLINEFS_CONNECTION_POOL_MAX_SIZE);
+    values.ONLINEFS_CONNECTION_POOL_MAX_SIZE_PER_USER = setIntVar(VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_SIZE_PER_USER,
+      values.ONLINEFS_CONNECTION_POOL_MAX_SIZE_PER_USER);
+    values.ONLINEFS_ADMIN_CONNECTION_POOL_MAX_SIZE = setIntVar(VARIABLE_ONLINEFS_ADMIN_CONNECTION_POOL_MAX_SIZE,
+      values.ONLINEFS_ADMIN_CONNECTION_POOL_MAX_SIZE);
+    values.ONLINEFS_CONNECTION_POOL_MAX_IDLE_MS = setMillisecondVar(VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_IDLE,
+      values.ONLINEFS_CONNECTION_POOL_MAX_IDLE_MS);
+    values.ONLINEFS_CONNECTION_POOL_MAX_LIFETIME_MS = setMillisecondVar(VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_LIFETIME,
+      values.ONLINEFS_CONNECTION_POOL_MAX_LIFETIME_MS);
+    values.FS_QUERY_CACHE_SIZE = setIntVar(VARIABLE_FS_QUERY_CACHE_SIZE, values.FS_QUERY_CACHE_SIZE);
+    values.FS_QUERY_CACHE_MAX_IDLE_MS = setMillisecondVar(VARIABLE_FS_QUERY_CACHE_MAX_IDLE,
+      values.FS_QUERY_CACHE_MAX_IDLE_MS);
+    values.YARN_JOBS_MONITOR_MAX_FINALIZATIONS = setIntVar(VARIABLE_YARN_JOBS_MONITOR_MAX_FINALIZATIONS,
+      values.YARN_JOBS_MONITOR_MAX_FINALIZATIONS);
+    values.JOB_SCHEDULER_MAX_LAUNCHES_PER_PROJECT = setIntVar(VARIABLE_JOB_SCHEDULER_MAX_LAUNCHES_PER_PROJECT,
+      values.JOB_SCHEDULER_MAX_LAUNCHES_PER_PROJECT);
+    values.JOB_ARTIFACT_STORE_MAX_IDLE_MS = setMillisecondVar(VARIABLE_JOB_ARTIFACT_STORE_MAX_IDLE,
+      values.JOB_ARTIFACT_STORE_MAX_IDLE_MS);
+    values.PROVENANCE_EXPLICIT_GRAPH_CACHE_SIZE = setIntVar(VARIABLE_PROVENANCE_EXPLICIT_GRAPH_CACHE_SIZE,
+      values.PROVENANCE_EXPLICIT_GRAPH_CACHE_SIZE);
+    values.STATISTICS_COMPACTOR_BATCH_SIZE = setIntVar(VARIABLE_STATISTICS_COMPACTOR_BATCH_SIZE,
+      values.STATISTICS_COMPACTOR_BATCH_SIZE);
+    values.STATISTICS_COMPACTOR_INTERVAL_MS = setMillisecondVar(VARIABLE_STATISTICS_COMPACTOR_INTERVAL,
+      values.STATISTICS_COMPACTOR_INTERVAL_MS);
+    values.ALERT_DISPATCH_QUEUE_SIZE = setIntVar(VARIABLE_ALERT_DISPATCH_QUEUE_SIZE, values.ALERT_DISPATCH_QUEUE_SIZE);
+    values.ALERT_DISPATCH_BATCH_SIZE = setIntVar(VARIABLE_ALERT_DISPATCH_BATCH_SIZE, values.ALERT_DISPATCH_BATCH_SIZE);
+    values.ALERT_DISPATCH_DEDUP_WINDOW_MS = setMillisecondVar(VARIABLE_ALERT_DISPATCH_DEDUP_WINDOW,
+      values.ALERT_DISPATCH_DEDUP_WINDOW_MS);
+    values.ALERT_DISPATCH_MAX_BACKOFF_MS = setMillisecondVar(VARIABLE_ALERT_DISPATCH_MAX_BACKOFF,
+      values.ALERT_DISPATCH_MAX_BACKOFF_MS);
+    return values;
+  }
+
+  private VariablesSnapshot loadVariables() {
+    List<Variables> variables = em.createNamedQuery("Variables.findAll", Variables.class).getResultList();
+    return VariablesSnapshot.of(variables, loading.getVersion() + 1);
+  }
+
+  private CachedValues values() {
+    CachedValues values = current;
+    if (values == null) {
+      refreshLock.lock();
+      try {
+        if (current == null) {
+          current = load();
+        }
+        return current;
+      } finally {
+        refreshLock.unlock();
+      }
+    }
+    // Values have been loaded before, serve them if another thread is already reloading
+    if (invalidated && refreshLock.tryLock()) {
+      try {
+        if (invalidated) {
+          reload();
+        }
+        return current;
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.WARNING, "Failed to reload the variables, serving the previous values", ex);
+        return values;
+      } finally {
+        refreshLock.unlock();
+      }
     }
+    return values;
   }
 
-  private void checkCache() {
-    if (!cached) {
-      populateCache();
+  private void reload() {
+    invalidated = false;
+    try {
+      current = load();
+    } catch (RuntimeException ex) {
+      invalidated = true;
+      throw ex;
     }
   }
 
-  public synchronized void refreshCache() {
-    cached = false;
-    populateCache();
+  public void refreshCache() {
+    refreshLock.lock();
+    try {
+      reload();
+    } finally {
+      refreshLock.unlock();
+    }
     //Notify other nodes if settingUpdatedTopic is created == Hazelcast is enabled
     if (settingUpdatedTopic != null) {
       settingUpdatedTopic.publish("Settings cache invalidated.");
     }
   }
 
-  public synchronized void updateVariable(String variableName, String variableValue, VariablesVisibility visibility) {
-    updateVariableInternal(variableName, variableValue, visibility);
-    refreshCache();
+  public void updateVariable(String variableName, String variableValue, VariablesVisibility visibility) {
+    refreshLock.lock();
+    try {
+      updateVariableInternal(variableName, variableValue, visibility);
+      refreshCache();
+    } finally {
+      refreshLock.unlock();
+    }
   }
 
-  public synchronized void updateVariables(List<Variables> variablesToUpdate) {
-    variablesToUpdate.forEach(v -> updateVariableInternal(v.getId(), v.getValue(), v.getVisibility()));
-    refreshCache();
+  public void updateVariables(List<Variables> variablesToUpdate) {
+    refreshLock.lock();
+    try {
+      variablesToUpdate.forEach(v -> updateVariableInternal(v.getId(), v.getValue(), v.getVisibility()));
+      refreshCache();
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * Values read from the variables table. Fields are only assigned by load before the instance is published and
+   * keep their initial value, the default, when the variable is not set.
+   */
+  private static final class CachedValues {
+    private String TWOFACTOR_AUTH = "false";
+    private String TWOFACTOR_EXCLUDE = "AGENT;CLUSTER_AGENT";
+    private String HOPS_RPC_TLS = "false";
+    private String SPARK_DIR = "/srv/hops/spark";
+    private String STAGING_DIR = "/srv/hops/domains/domain1/staging";
+    // Remember to change this in docker-images as well
+    private String FLINK_DIR = "/srv/hops/flink";
+    private String AIRFLOW_DIR = "/srv/hops/airflow";
+    private String AIRFLOW_USER = "airflow";
+    private String HADOOP_DIR = "/srv/hops/hadoop";
+    private String HIVE_SUPERUSER = "hive";
+    private String ANACONDA_DEFAULT_REPO = "defaults";
+    private String HIVE_WAREHOUSE = "/apps/hive/warehouse";
+    private String HIVE_SCRATCHDIR = "/tmp/hive";
+    private String HIVE_SCRATCHDIR_DELAY = "7d";
+    private String HIVE_SCRATCHDIR_CLEANER_INTERVAL = "24h";
+    private long HIVE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
+    private String CERTS_DIR = "/srv/hops/certs-dir";
+    private String HOPSWORKS_INSTALL_DIR = "/srv/hops/domains/domain1";
+    private String SUDOERS_DIR = "/srv/hops/sbin";
+    private String HOPSWORKS_USER = "glassfish";
+    private String HDFS_SUPERUSER = "hdfs";
+    private String SPARK_USER = "spark";
+    private Integer YARN_DEFAULT_QUOTA = 60000;
+    private PaymentType DEFAULT_PAYMENT_TYPE = PaymentType.NOLIMIT;
+    private long HDFS_DEFAULT_QUOTA_MBs = HdfsConstants.QUOTA_DONT_SET;
+    // To not fill the SSDs with Logs files that nobody access frequently
+    // We set the StoragePolicy for the LOGS dir to be DEFAULT
+    private DistributedFileSystemOps.StoragePolicy HDFS_LOG_STORAGE_POLICY
+        = DistributedFileSystemOps.StoragePolicy.DEFAULT;
+    private Integer MAX_NUM_PROJ_PER_USER = 5;
+    private String HADOOP_VERSION = "2.8.2";
+    // Spark executor min memory
+    private int SPARK_EXECUTOR_MIN_MEMORY = 1024;
+    private Set<String> RESERVED_PROJECT_NAMES;
+    private String RESERVED_PROJECT_NAMES_STR;
+    private OpenSearchSettings OPENSEARCH_SETTINGS;
+    private long OpenSearch_LOGS_INDEX_EXPIRATION = 7 * 24 * 60 * 60 * 1000;
+    // CertificateMaterializer service. Delay for deleting crypto material from
+    // the local filesystem. The lower the value the more frequent we reach DB
+    // for materialization
+    // Suffix, defaults to minutes if omitted:
+    // ms: milliseconds
+    // s: seconds
+    // m: minutes (default)
+    // h: hours
+    // d: days
+    private String CERTIFICATE_MATERIALIZER_DELAY = "1m";
+    private String SERVICE_DISCOVERY_DOMAIN = "consul";
+    private String OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = null;
+    private Integer OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = 1;
+    private Integer OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT = 1000;
+    private String WHITELIST_USERS_LOGIN = "agent@hops.io";
+    private String JUPYTER_DIR = "/srv/hops/jupyter";
+    private String JUPYTER_GROUP = "jupyter";
+    private String JUPYTER_ORIGIN_SCHEME = "https";
+    private long JUPYTER_WS_PING_INTERVAL_MS = 10000L;
+    private String JUPYTER_REMOTE_FS_DRIVER = "hdfscontentsmanager";
+    private boolean APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = true;
+    private String HOPSFSMOUNT_APPARMOR_PROFILE = "hopsworks-hopsfsmount-docker";
+    private Integer PROMETHEUS_PORT = 9089;
+    private Integer GIT_MAX_COMMAND_TIMEOUT_MINUTES = 60;
+    private Boolean ENABLE_GIT_READ_ONLY_REPOSITORIES = false;
+    private String GIT_IMAGE_VERSION = "0.3.0";
+    private boolean DOCKER_CGROUP_ENABLED = false;
+    private String DOCKER_CGROUP_MEMORY_LIMIT = "6GB";
+    private String DOCKER_CGROUP_MEMORY_SOFT_LIMIT = "2GB";
+    private Double DOCKER_CGROUP_CPU_QUOTA = 100.0;
+    private Integer DOCKER_CGROUP_CPU_PERIOD = 100000;
+    private String DOCKER_CGROUP_MONITOR_INTERVAL = "10m";
+    private String DOCKER_CGROUP_PARENT = "docker.slice";
+    private String jupyterShutdownTimerInterval = "30m";
+    private String KAFKA_USER = "kafka";
+    private String KAFKA_DIR = "/srv/kafka";
+    private String ANACONDA_DIR = "/srv/hops/anaconda";
+    private Boolean ANACONDA_ENABLED = true;
+    private Boolean DOWNLOAD_ALLOWED = true;
+    private RESTLogLevel HOPSWORKS_REST_LOG_LEVEL = RESTLogLevel.PROD;
+    private String FIRST_TIME_LOGIN = "0";
+    private String ADMIN_EMAIL = "admin@hopsworks.ai";
+    private String HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = "adminpw";
+    private Integer KAFKA_DEFAULT_NUM_PARTITIONS = 2;
+    private Integer KAFKA_DEFAULT_NUM_REPLICAS = 1;
+    // HOPSWORKS-3158
+    private String HOPSWORKS_PUBLIC_HOST = "";
+    private int FILE_PREVIEW_IMAGE_SIZE = 10000000;
+    private int FILE_PREVIEW_TXT_SIZE = 100;
+    private String RESOURCE_DIRS = ".sparkStaging;spark-warehouse;.flinkStaging;.flinkCheckpoints";
+    private int KAFKA_MAX_NUM_TOPICS = 10;
+    private int MAX_STATUS_POLL_RETRY = 5;
+    private String PYPI_REST_ENDPOINT = "https://pypi.org/pypi/{package}/json";
+    private String PYPI_INDEXER_TIMER_INTERVAL = "1d";
+    private String PYPI_SIMPLE_ENDPOINT = "https://pypi.org/simple/";
+    private boolean PYPI_INDEXER_TIMER_ENABLED = true;
+    private String PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = "1d";
+    private String KRB_AUTH = "false";
+    private String LDAP_AUTH = "false";
+    private boolean IS_KRB_ENABLED = false;
+    private boolean IS_LDAP_ENABLED = false;
+    private String LDAP_GROUP_MAPPING = "";
+    private String LDAP_USER_ID = "uid"; //login name
+    private String LDAP_USER_GIVEN_NAME = "givenName";
+    private String LDAP_USER_SURNAME = "sn";
+    private String LDAP_USER_EMAIL = "mail";
+    private String LDAP_USER_SEARCH_FILTER = "uid=%s";
+    private String LDAP_GROUP_SEARCH_FILTER = "member=%d";
+    private String LDAP_KRB_USER_SEARCH_FILTER = "krbPrincipalName=%s";
+    private String LDAP_ATTR_BINARY = "java.naming.ldap.attributes.binary";
+    private String LDAP_GROUP_TARGET = "cn";
+    private String LDAP_DYNAMIC_GROUP_TARGET = "memberOf";
+    private String LDAP_USER_DN = LDAP_USER_DN_DEFAULT;
+    private String LDAP_GROUP_DN = LDAP_GROUP_DN_DEFAULT;
+    private String LDAP_GROUPS_TARGET = "distinguishedName";
+    private String LDAP_GROUPS_SEARCH_FILTER = "(&(objectCategory=group)(cn=%c))";
+    private String LDAP_GROUP_MEMBERS_SEARCH_FILTER = "(&(objectCategory=user)(memberOf=%d))";
+    private int LDAP_ACCOUNT_STATUS = 1;
+    private String OAUTH_ENABLED = "false";
+    private boolean IS_OAUTH_ENABLED = false;
+    private String OAUTH_GROUP_MAPPING = "";
+    private String OAUTH_REDIRECT_URI = OAUTH_REDIRECT_URI_PATH;
+    private String OAUTH_LOGOUT_REDIRECT_URI = OAUTH_LOGOUT_REDIRECT_URI_PATH;
+    private int OAUTH_ACCOUNT_STATUS = 1;
+    private long LDAP_GROUP_MAPPING_SYNC_INTERVAL = 0;
+    private boolean REMOTE_AUTH_NEED_CONSENT = true;
+    private boolean DISABLE_PASSWORD_LOGIN = false;
+    private boolean DISABLE_REGISTRATION = false;
+    private boolean VALIDATE_REMOTE_USER_EMAIL_VERIFIED = false;
+    private String MANAGED_CLOUD_REDIRECT_URI = "";
+    private String MANAGED_CLOUD_PROVIDER_NAME = "hopsworks.ai";
+    // Special flag to disable only registration UI but not the backend
+    // It is used in managed cloud when user management is MANAGED by hopsworks.ai
+    // Variable value is set during instance initialization by ec2-init
+    private boolean DISABLE_REGISTRATION_UI = false;
+    private boolean serviceKeyRotationEnabled = false;
+    private String serviceKeyRotationInterval = "3d";
+    private int tensorBoardMaxLastAccessed = 1140000;
+    private int sparkUILogsOffset = 512000;
+    // Libraries that should not be uninstallable
+    private Set<String> IMMUTABLE_PYTHON_LIBRARY_NAMES;
+    private String HOPSWORKS_VERSION;
+    private String KUBE_KSERVE_TENSORFLOW_VERSION;
+    private String TENSORFLOW_VERSION;
+    private String OPENSEARCH_VERSION;
+    private String KAFKA_VERSION;
+    private String EPIPE_VERSION;
+    private String FLINK_VERSION;
+    private String SPARK_VERSION;
+    private String TEZ_VERSION;
+    private String HIVE2_VERSION;
+    private String LIVY_VERSION;
+    private String NDB_VERSION;
+    private String FILEBEAT_VERSION;
+    private String KIBANA_VERSION;
+    private String LOGSTASH_VERSION;
+    private String GRAFANA_VERSION;
+    private String ZOOKEEPER_VERSION;
+    private String KUBE_USER = "kubernetes";
+    private String KUBE_HOPSWORKS_USER = "hopsworks";
+    private String KUBEMASTER_URL = "https://192.168.68.102:6443";
+    private String KUBE_CA_CERTFILE = "/srv/hops/certs-dir/certs/ca.cert.pem";
+    private String KUBE_CLIENT_KEYFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.key.pem";
+    private String KUBE_CLIENT_CERTFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.cert.pem";
+    private String KUBE_CLIENT_KEYPASS = "adminpw";
+    private String KUBE_TRUSTSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__tstore.jks";
+    private String KUBE_TRUSTSTORE_KEY = "adminpw";
+    private String KUBE_KEYSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__kstore.jks";
+    private String KUBE_KEYSTORE_KEY = "adminpw";
+    private String KUBE_PULL_POLICY = "Always";
+    private Integer KUBE_API_MAX_ATTEMPTS = 12;
+    private Boolean ONLINE_FEATURESTORE = false;
+    private String ONLINE_FEATURESTORE_TS = "";
+    private Integer ONLINEFS_THREAD_NUMBER = 10;
+    private Integer KUBE_DOCKER_MAX_MEMORY_ALLOCATION = 8192;
+    private Double KUBE_DOCKER_MAX_CORES_ALLOCATION = 4.0;
+    private Integer KUBE_DOCKER_MAX_GPUS_ALLOCATION = 1;
+    private Boolean KUBE_INSTALLED = false;
+    private Boolean KUBE_KSERVE_INSTALLED = false;
+    private String KUBE_SERVING_NODE_LABELS = "";
+    private String KUBE_SERVING_NODE_TOLERATIONS = "";
+    private Integer KUBE_SERVING_MAX_MEMORY_ALLOCATION = -1; // no upper limit
+    private Double KUBE_SERVING_MAX_CORES_ALLOCATION = -1.0;  // no upper limit
+    private Integer KUBE_SERVING_MAX_GPUS_ALLOCATION = -1; // no upper limit
+    // Maximum number of instances. Possible values >=-1 where -1 means no limit.
+    private Integer KUBE_SERVING_MAX_NUM_INSTANCES = -1;
+    // Minimum number of instances. Possible values: >=-1 where -1 means no limit and 0 enforces scale-to-zero
+    // capabilities when available
+    private Integer KUBE_SERVING_MIN_NUM_INSTANCES = -1;
+    private String KUBE_KNATIVE_DOMAIN_NAME = "";
+    //comma seperated list of tainted nodes
+    private String KUBE_TAINTED_NODES = "";
+    private String KUBE_TAINTED_NODES_MONITOR_INTERVAL = "30m";
+    private Boolean HOPSWORKS_ENTERPRISE = false;
+    private boolean ENABLE_DATA_SCIENCE_PROFILE = false;
+    private String SERVING_MONITOR_INT = "30s";
+    private int SERVING_CONNECTION_POOL_SIZE = 40;
+    private int SERVING_MAX_ROUTE_CONNECTIONS = 10;
+    private int TENSORBOARD_MAX_RELOAD_THREADS = 1;
+    private String JUPYTER_HOST = "localhost";
+    private boolean ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = false;
+    private boolean ENABLE_FLYINGDUCK = false;
+    private String JWT_SIGNATURE_ALGORITHM = "HS512";
+    private String JWT_SIGNING_KEY_NAME = "apiKey";
+    private String JWT_ISSUER = "hopsworks@logicalclocks.com";
+    private long JWT_LIFETIME_MS = 1800000l;
+    private int JWT_EXP_LEEWAY_SEC = 900;
+    private long SERVICE_JWT_LIFETIME_MS = 86400000l;
+    private int SERVICE_JWT_EXP_LEEWAY_SEC = 43200;
+    private String SERVICE_API_KEY = "";
+    private int CONNECTION_KEEPALIVE_TIMEOUT = 30;
+    private String HIVE_CONF_PATH = "/srv/hops/apache-hive/conf/hive-site.xml";
+    private String FS_PY_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs_util-2.1.0-SNAPSHOT.py";
+    private String FS_JAVA_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs-utils-2.1.0-SNAPSHOT.jar";
+    private String HDFS_FILE_OP_JOB_UTIL = "hdfs:///user/spark/hdfs_file_operations-0.1.0.py";
+    private int HDFS_FILE_OP_JOB_DRIVER_MEM = 2048;
+    private long FEATURESTORE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
+    private String FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT = "ORC";
+    private boolean ENABLE_REDSHIFT_STORAGE_CONNECTORS = true;
+    private boolean ENABLE_ADLS_STORAGE_CONNECTORS = false;
+    private boolean ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = true;
+    private boolean ENABLE_KAFKA_STORAGE_CONNECTORS = true;
+    private boolean ENABLE_GCS_STORAGE_CONNECTORS = false;
+    private boolean ENABLE_BIGQUERY_STORAGE_CONNECTORS = false;
+    private boolean ENABLE_BRING_YOUR_OWN_KAFKA = false;
+    private String TESTCONNECTOR_IMAGE_VERSION = "0.1";
+    private boolean ENABLE_FEATURE_MONITORING = false;
+    private Boolean LOCALHOST = false;
+    private String CLOUD = "";
+    private String FEATURESTORE_JDBC_URL = "jdbc:mysql://onlinefs.mysql.service.consul:3306/";
+    private String FEATURESTORE_DB_ADMIN_USER = "";
+    private String FEATURESTORE_DB_ADMIN_PWD = "";
+    private Boolean REQUESTS_VERIFY = false;
+    private  Boolean KIBANA_HTTPS_ENABELED = false;
+    private  Boolean KIBANA_MULTI_TENANCY_ENABELED = false;
+    private Provenance.Type PROVENANCE_TYPE = Provenance.Type.MIN;
+    private String PROVENANCE_TYPE_S = PROVENANCE_TYPE.name();
+    private Integer PROVENANCE_CLEANUP_SIZE = 5;
+    private Integer PROVENANCE_GRAPH_MAX_SIZE = 50;
+    private Long PROVENANCE_CLEANER_PERIOD = 3600L; //1h in s
+    private String CLIENT_PATH = "/srv/hops/client.tar.gz";
+    private String CLOUD_EVENTS_ENDPOINT = "";
+    private String CLOUD_EVENTS_ENDPOINT_API_KEY = "";
+    private int FG_PREVIEW_LIMIT = 100;
+    private String YARN_RUNTIME = "docker";
+    private boolean checkNodemanagersStatus = false;
+    private String DOCKER_MOUNTS =
+        "/srv/hops/hadoop/etc/hadoop,/srv/hops/spark,/srv/hops/flink";
+    private String DOCKER_BASE_IMAGE_PYTHON_NAME = "python310";
+    private String DOCKER_BASE_IMAGE_PYTHON_VERSION = "3.10";
+    private long YARN_APP_UID = 1235L;
+    private KubeType KUBE_TYPE = KubeType.Local;
+    private String DOCKER_NAMESPACE = "";
+    private Boolean MANAGED_DOCKER_REGISTRY = false;
+    private String DOCKER_JOB_MOUNTS_LIST;
+    private Boolean DOCKER_JOB_MOUNT_ALLOWED = true;
+    private Boolean DOCKER_JOB_UID_STRICT = true;
+    private int EXECUTIONS_PER_JOB_LIMIT = 10000;
+    private int EXECUTIONS_CLEANER_BATCH_SIZE = 1000;
+    private int EXECUTIONS_CLEANER_INTERVAL_MS = 600000;
+    private int STATISTICS_CLEANER_BATCH_SIZE = 1000;
+    private int STATISTICS_CLEANER_INTERVAL_MS = 900000;
+    private int MAX_ENV_YML_BYTE_SIZE = 20000;
+    private int LIVY_STARTUP_TIMEOUT = 240;
+    private boolean USER_SEARCH_ENABLED = true;
+    private boolean REJECT_REMOTE_USER_NO_GROUP = false;
+    private boolean SKIP_NAMESPACE_CREATION = false;
+    private long QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = -1L;
+    private long QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = -1L;
+    private long QUOTAS_TRAINING_DATASETS = -1L;
+    private long QUOTAS_RUNNING_MODEL_DEPLOYMENTS = -1L;
+    private long QUOTAS_TOTAL_MODEL_DEPLOYMENTS = -1L;
+    private long QUOTAS_MAX_PARALLEL_EXECUTIONS = -1L;
+    private Integer SQL_MAX_SELECT_IN = 100;
+    // The maximum number of http threads in the thread pool is set to 200 by default
+    private int MAX_LONG_RUNNING_HTTP_REQUESTS = 50;
+    //1s
+    private Long COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = 1000l;
+    //enable command search fs history
+    private boolean COMMAND_SEARCH_FS_HISTORY_ENABLE = false;
+    private Long COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = 1000l*60;
+    private Long COMMAND_SEARCH_FS_HISTORY_WINDOW = 60*60L;
+    private int COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = 5;
+    private boolean ENABLE_CONDA_INSTALL = true;
+    private Integer DEFAULT_FEATURE_STORE_PROJECT_ID = null;
+    private int DFS_CLIENT_POOL_MAX_SIZE = 256;
+    private long DFS_CLIENT_POOL_MAX_IDLE_MS = 5 * 60 * 1000L;
+    private int COMMAND_SEARCH_FS_BULK_SIZE = 500;
+    private Long COMMAND_SEARCH_FS_BULK_MAX_DELAY = 1000L;
+    private int PROXY_SSL_CONTEXT_CACHE_SIZE = 512;
+    private long PROXY_SSL_CONTEXT_CACHE_MAX_IDLE_MS = 10 * 60 * 1000L;
+    private int YARNUI_PROXY_MAX_CONNECTIONS = 200;
+    private int YARNUI_PROXY_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private int ONLINEFS_CONNECTION_POOL_MAX_SIZE = 64;
+    private int ONLINEFS_CONNECTION_POOL_MAX_SIZE_PER_USER = 4;
+    private int ONLINEFS_ADMIN_CONNECTION_POOL_MAX_SIZE = 4;
+    private long ONLINEFS_CONNECTION_POOL_MAX_IDLE_MS = 5 * 60 * 1000L;
+    private long ONLINEFS_CONNECTION_POOL_MAX_LIFETIME_MS = 30 * 60 * 1000L;
+    private int FS_QUERY_CACHE_SIZE = 5000;
+    private long FS_QUERY_CACHE_MAX_IDLE_MS = 60 * 60 * 1000L;
+    private int YARN_JOBS_MONITOR_MAX_FINALIZATIONS = 50;
+    private int JOB_SCHEDULER_MAX_LAUNCHES_PER_PROJECT = 5;
+    private long JOB_ARTIFACT_STORE_MAX_IDLE_MS = 7 * 24 * 60 * 60 * 1000L;
+    private int PROVENANCE_EXPLICIT_GRAPH_CACHE_SIZE = 50000;
+    private int STATISTICS_COMPACTOR_BATCH_SIZE = 1000;
+    private long STATISTICS_COMPACTOR_INTERVAL_MS = 60 * 60 * 1000L;
+    private int ALERT_DISPATCH_QUEUE_SIZE = 10000;
+    private int ALERT_DISPATCH_BATCH_SIZE = 500;
+    private long ALERT_DISPATCH_DEDUP_WINDOW_MS = 60 * 1000L;
+    private long ALERT_DISPATCH_MAX_BACKOFF_MS = 5 * 60 * 1000L;
   }
 
   /**
@@ -1020,21 +1451,18 @@ public class Settings {
    */
   private static final String GLASSFISH_DIR = "/srv/hops/glassfish";
 
-  public synchronized String getGlassfishDir() {
+  public String getGlassfishDir() {
     return GLASSFISH_DIR;
   }
 
-  private String TWOFACTOR_AUTH = "false";
-  private String TWOFACTOR_EXCLUDE = "AGENT;CLUSTER_AGENT";
-
-  public synchronized String getTwoFactorAuth() {
-    checkCache();
-    return TWOFACTOR_AUTH;
+  public String getTwoFactorAuth() {
+    CachedValues values = values();
+    return values.TWOFACTOR_AUTH;
   }
 
-  public synchronized String getTwoFactorExclude() {
-    checkCache();
-    return TWOFACTOR_EXCLUDE;
+  public String getTwoFactorExclude() {
+    CachedValues values = values();
+    return values.TWOFACTOR_EXCLUDE;
   }
 
   public enum TwoFactorMode {
@@ -1058,17 +1486,15 @@ public class Settings {
     }
   }
 
-  private String HOPS_RPC_TLS = "false";
-
-  public synchronized boolean getHopsRpcTls() {
-    checkCache();
-    return HOPS_RPC_TLS.toLowerCase().equals("true");
+  public boolean getHopsRpcTls() {
+    CachedValues values = values();
+    return values.HOPS_RPC_TLS.toLowerCase().equals("true");
   }
 
   //Spark executor minimum memory
-  public synchronized int getSparkExecutorMinMemory() {
-    checkCache();
-    return SPARK_EXECUTOR_MIN_MEMORY;
+  public int getSparkExecutorMinMemory() {
+    CachedValues values = values();
+    return values.SPARK_EXECUTOR_MIN_MEMORY;
   }
 
   public static final String VERIFICATION_PATH = "/validate";
@@ -1080,8 +1506,6 @@ public class Settings {
 
   public static final String TENSORBOARD_DIRS = "/tensorboard/";
 
-  private String SPARK_DIR = "/srv/hops/spark";
-
   public static final String CONVERSION_DIR = "ipython_conversions/";
 
   public static final String SPARK_NUMBER_EXECUTORS_ENV
@@ -1117,7 +1541,6 @@ public class Settings {
   public static final String SPARK_YARN_DIST_ARCHIVES = "spark.yarn.dist.archives";
   public static final String SPARK_YARN_JARS = "spark.yarn.jars";
 
-
   //Blacklisting properties
   public static final String SPARK_BLACKLIST_ENABLED = "spark.blacklist.enabled";
   public static final String SPARK_BLACKLIST_MAX_TASK_ATTEMPTS_PER_EXECUTOR =
@@ -1202,33 +1625,29 @@ public class Settings {
   public static final String NCCL_SOCKET_NTHREADS = "NCCL_SOCKET_NTHREADS";
   public static final String NCCL_NSOCKS_PERTHREAD = "NCCL_NSOCKS_PERTHREAD";
 
-  public synchronized String getSparkDir() {
-    checkCache();
-    return SPARK_DIR;
+  public String getSparkDir() {
+    CachedValues values = values();
+    return values.SPARK_DIR;
   }
 
-  public synchronized String getSparkConfDir() {
+  public String getSparkConfDir() {
     return getSparkDir() + "/conf";
   }
 
-  public synchronized String getSparkLog4j2FilePath() {
+  public String getSparkLog4j2FilePath() {
     return getSparkConfDir() + "/log4j2.properties";
   }
 
-  private String STAGING_DIR = "/srv/hops/domains/domain1/staging";
-
-  public synchronized String getStagingDir() {
-    checkCache();
-    return STAGING_DIR;
+  public String getStagingDir() {
+    CachedValues values = values();
+    return values.STAGING_DIR;
   }
 
   private final String FLINK_CONF_DIR = "conf";
-  // Remember to change this in docker-images as well
-  private String FLINK_DIR = "/srv/hops/flink";
 
-  public synchronized String getFlinkDir() {
-    checkCache();
-    return FLINK_DIR;
+  public String getFlinkDir() {
+    CachedValues values = values();
+    return values.FLINK_DIR;
   }
 
   public String getFlinkConfDir() {
@@ -1241,155 +1660,120 @@ public class Settings {
     return getFlinkDir() + File.separator + FLINK_LIB_DIR + File.separator;
   }
 
-  private String AIRFLOW_DIR = "/srv/hops/airflow";
-  public synchronized String getAirflowDir() {
-    checkCache();
-    return AIRFLOW_DIR;
+  public String getAirflowDir() {
+    CachedValues values = values();
+    return values.AIRFLOW_DIR;
   }
 
-  private String AIRFLOW_USER = "airflow";
-  public synchronized String getAirflowUser() {
-    checkCache();
-    return AIRFLOW_USER;
+  public String getAirflowUser() {
+    CachedValues values = values();
+    return values.AIRFLOW_USER;
   }
 
-  private String HADOOP_DIR = "/srv/hops/hadoop";
-
   // This returns the unversioned base installation directory for hops-hadoop
   // For example, "/srv/hops/hadoop" - it does not return "/srv/hops/hadoop-2.8.2"
-  public synchronized String getHadoopSymbolicLinkDir() {
-    checkCache();
-    return HADOOP_DIR;
+  public String getHadoopSymbolicLinkDir() {
+    CachedValues values = values();
+    return values.HADOOP_DIR;
   }
 
-  private String HIVE_SUPERUSER = "hive";
-
-  public synchronized String getHiveSuperUser() {
-    checkCache();
-    return HIVE_SUPERUSER;
+  public String getHiveSuperUser() {
+    CachedValues values = values();
+    return values.HIVE_SUPERUSER;
   }
 
-  private String ANACONDA_DEFAULT_REPO = "defaults";
-
-  public synchronized String getCondaDefaultRepo() {
-    checkCache();
-    return ANACONDA_DEFAULT_REPO;
+  public String getCondaDefaultRepo() {
+    CachedValues values = values();
+    return values.ANACONDA_DEFAULT_REPO;
   }
 
-  private String HIVE_WAREHOUSE = "/apps/hive/warehouse";
-
-  public synchronized String getHiveWarehouse() {
-    checkCache();
-    return HIVE_WAREHOUSE;
+  public String getHiveWarehouse() {
+    CachedValues values = values();
+    return values.HIVE_WAREHOUSE;
   }
 
-  private String HIVE_SCRATCHDIR = "/tmp/hive";
-
-  public synchronized String getHiveScratchdir() {
-    checkCache();
-    return HIVE_SCRATCHDIR;
+  public String getHiveScratchdir() {
+    CachedValues values = values();
+    return values.HIVE_SCRATCHDIR;
   }
 
-  private String HIVE_SCRATCHDIR_DELAY = "7d";
-
-  public synchronized String getHiveScratchdirDelay() {
-    checkCache();
-    return HIVE_SCRATCHDIR_DELAY;
+  public String getHiveScratchdirDelay() {
+    CachedValues values = values();
+    return values.HIVE_SCRATCHDIR_DELAY;
   }
 
-  private String HIVE_SCRATCHDIR_CLEANER_INTERVAL = "24h";
-
-  public synchronized String getHiveScratchdirCleanerInterval() {
-    checkCache();
-    return HIVE_SCRATCHDIR_CLEANER_INTERVAL;
+  public String getHiveScratchdirCleanerInterval() {
+    CachedValues values = values();
+    return values.HIVE_SCRATCHDIR_CLEANER_INTERVAL;
   }
 
-  private long HIVE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
-  public synchronized long getHiveDbDefaultQuota() {
-    checkCache();
-    return HIVE_DB_DEFAULT_QUOTA;
+  public long getHiveDbDefaultQuota() {
+    CachedValues values = values();
+    return values.HIVE_DB_DEFAULT_QUOTA;
   }
 
-  private String CERTS_DIR = "/srv/hops/certs-dir";
-
-  public synchronized String getCertsDir() {
-    checkCache();
-    return CERTS_DIR;
+  public String getCertsDir() {
+    CachedValues values = values();
+    return values.CERTS_DIR;
   }
 
-  public synchronized String getHopsworksMasterEncPasswordFile() {
-    checkCache();
+  public String getHopsworksMasterEncPasswordFile() {
     return getCertsDir() + File.separator + "encryption_master_password";
   }
 
-  private String HOPSWORKS_INSTALL_DIR = "/srv/hops/domains/domain1";
-
-  public synchronized String getHopsworksDomainDir() {
-    checkCache();
-    return HOPSWORKS_INSTALL_DIR;
+  public String getHopsworksDomainDir() {
+    CachedValues values = values();
+    return values.HOPSWORKS_INSTALL_DIR;
   }
 
-  private String SUDOERS_DIR = "/srv/hops/sbin";
-  public synchronized String getSudoersDir() {
-    checkCache();
-    return SUDOERS_DIR;
+  public String getSudoersDir() {
+    CachedValues values = values();
+    return values.SUDOERS_DIR;
   }
 
-  private String HOPSWORKS_USER = "glassfish";
-
-  public synchronized String getHopsworksUser() {
-    checkCache();
-    return HOPSWORKS_USER;
+  public String getHopsworksUser() {
+    CachedValues values = values();
+    return values.HOPSWORKS_USER;
   }
-  private String HDFS_SUPERUSER = "hdfs";
 
-  public synchronized String getHdfsSuperUser() {
-    checkCache();
-    return HDFS_SUPERUSER;
+  public String getHdfsSuperUser() {
+    CachedValues values = values();
+    return values.HDFS_SUPERUSER;
   }
-  private String SPARK_USER = "spark";
 
-  public synchronized String getSparkUser() {
-    checkCache();
-    return SPARK_USER;
+  public String getSparkUser() {
+    CachedValues values = values();
+    return values.SPARK_USER;
   }
 
   public String getSparkLog4JPath() {
     return "hdfs:///user/" + getSparkUser() + "/log4j2.properties";
   }
 
-  private Integer YARN_DEFAULT_QUOTA = 60000;
-  public synchronized Integer getYarnDefaultQuota() {
-    checkCache();
-    return YARN_DEFAULT_QUOTA;
+  public Integer getYarnDefaultQuota() {
+    CachedValues values = values();
+    return values.YARN_DEFAULT_QUOTA;
   }
 
-  private PaymentType DEFAULT_PAYMENT_TYPE = PaymentType.NOLIMIT;
-  public synchronized PaymentType getDefaultPaymentType() {
-    checkCache();
-    return DEFAULT_PAYMENT_TYPE;
+  public PaymentType getDefaultPaymentType() {
+    CachedValues values = values();
+    return values.DEFAULT_PAYMENT_TYPE;
   }
 
-  private long HDFS_DEFAULT_QUOTA_MBs = HdfsConstants.QUOTA_DONT_SET;
-  public synchronized long getHdfsDefaultQuotaInMBs() {
-    checkCache();
-    return HDFS_DEFAULT_QUOTA_MBs;
+  public long getHdfsDefaultQuotaInMBs() {
+    CachedValues values = values();
+    return values.HDFS_DEFAULT_QUOTA_MBs;
   }
 
-  // To not fill the SSDs with Logs files that nobody access frequently
-  // We set the StoragePolicy for the LOGS dir to be DEFAULT
-  private DistributedFileSystemOps.StoragePolicy HDFS_LOG_STORAGE_POLICY
-      = DistributedFileSystemOps.StoragePolicy.DEFAULT;
-
   private DistributedFileSystemOps.StoragePolicy setHdfsStoragePolicy(String policyName,
     DistributedFileSystemOps.StoragePolicy defaultPolicy) {
 
-    Optional<Variables> policyOptional = findById(policyName);
+    Optional<String> policyOptional = loading.get(policyName);
     if (!policyOptional.isPresent()) {
       return defaultPolicy;
     }
 
-    String existingPolicy = policyOptional.get().getValue();
+    String existingPolicy = policyOptional.get();
     if (!Strings.isNullOrEmpty(existingPolicy)) {
       try {
         return DistributedFileSystemOps.StoragePolicy.fromPolicy(existingPolicy);
@@ -1402,26 +1786,23 @@ public class Settings {
     }
   }
 
-  public synchronized DistributedFileSystemOps.StoragePolicy getHdfsLogStoragePolicy() {
-    checkCache();
-    return HDFS_LOG_STORAGE_POLICY;
+  public DistributedFileSystemOps.StoragePolicy getHdfsLogStoragePolicy() {
+    CachedValues values = values();
+    return values.HDFS_LOG_STORAGE_POLICY;
   }
 
-  private Integer MAX_NUM_PROJ_PER_USER = 5;
-  public synchronized Integer getMaxNumProjPerUser() {
-    checkCache();
-    return MAX_NUM_PROJ_PER_USER;
+  public Integer getMaxNumProjPerUser() {
+    CachedValues values = values();
+    return values.MAX_NUM_PROJ_PER_USER;
   }
 
-  private String HADOOP_VERSION = "2.8.2";
-
-  public synchronized String getHadoopVersion() {
-    checkCache();
-    return HADOOP_VERSION;
+  public String getHadoopVersion() {
+    CachedValues values = values();
+    return values.HADOOP_VERSION;
   }
 
   //Hadoop locations
-  public synchronized String getHadoopConfDir() {
+  public String getHadoopConfDir() {
     return hadoopConfDir(getHadoopSymbolicLinkDir());
   }
 
@@ -1475,8 +1856,6 @@ public class Settings {
   public static final String SPARK_BLACKLISTED_PROPS
       = "conf/spark-blacklisted-properties.txt";
   public static final String SPARK_HADOOP_FS_PERMISSIONS_UMASK_DEFAULT = "0007";
-  // Spark executor min memory
-  private int SPARK_EXECUTOR_MIN_MEMORY = 1024;
 
   //Flink constants
   public static final String FLINK_AM_MAIN = "org.apache.flink.yarn.ApplicationMaster";
@@ -1496,7 +1875,7 @@ public class Settings {
   public static final Set<String> KAFKA_SUBJECT_BLACKLIST =
     Collections.unmodifiableSet(new HashSet<>(Arrays.asList(INFERENCE_SCHEMANAME, PROJECT_COMPATIBILITY_SUBJECT)));
 
-  public synchronized String getLocalFlinkJarPath() {
+  public String getLocalFlinkJarPath() {
     return getFlinkDir() + "/flink.jar";
   }
 
@@ -1561,132 +1940,109 @@ public class Settings {
     "UNIQUEJOIN, UPDATE, USER, USING, UTC_TMESTAMP, VALUES, VARCHAR, WHEN, WHERE, WINDOW, WITH, COMMIT, ONLY, " +
     "REGEXP, RLIKE, ROLLBACK, START, CACHE, CONSTRAINT, FOREIGN, PRIMARY, REFERENCES, DAYOFWEEK, EXTRACT, FLOOR, " +
     "INTEGER, PRECISION, VIEWS, TIME, NUMERIC, SYNC";
-  
-  private Set<String> RESERVED_PROJECT_NAMES;
-  private String RESERVED_PROJECT_NAMES_STR;
-  
-  public synchronized Set<String> getReservedProjectNames() {
-    checkCache();
-    RESERVED_PROJECT_NAMES = RESERVED_PROJECT_NAMES != null ? RESERVED_PROJECT_NAMES : new HashSet<>();
-    RESERVED_PROJECT_NAMES.addAll(getReservedHiveNames());
-    return RESERVED_PROJECT_NAMES;
+
+  public Set<String> getReservedProjectNames() {
+    CachedValues values = values();
+    return values.RESERVED_PROJECT_NAMES != null ? values.RESERVED_PROJECT_NAMES : getReservedHiveNames();
   }
   
-  public synchronized Set<String> getReservedHiveNames() {
+  public Set<String> getReservedHiveNames() {
     return setStringHashSetLowerCase(DEFAULT_RESERVED_HIVE_NAMES, ",", true);
   }
   
-  public synchronized String getProjectNameReservedWords() {
-    checkCache();
-    return (RESERVED_PROJECT_NAMES_STR + ", " + DEFAULT_RESERVED_HIVE_NAMES).toLowerCase();
+  public String getProjectNameReservedWords() {
+    CachedValues values = values();
+    return (values.RESERVED_PROJECT_NAMES_STR + ", " + DEFAULT_RESERVED_HIVE_NAMES).toLowerCase();
   }
   
   //Only for unit test
-  public synchronized String getProjectNameReservedWordsTest() {
+  public String getProjectNameReservedWordsTest() {
     return (DEFAULT_RESERVED_PROJECT_NAMES + ", " + DEFAULT_RESERVED_HIVE_NAMES).toLowerCase();
   }
   
   // OpenSearch
-  OpenSearchSettings OPENSEARCH_SETTINGS;
 
-  public synchronized boolean isOpenSearchSecurityEnabled() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.isOpenSearchSecurityEnabled();
+  public boolean isOpenSearchSecurityEnabled() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.isOpenSearchSecurityEnabled();
   }
   
-  public synchronized boolean isOpenSearchHTTPSEnabled() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.isHttpsEnabled();
+  public boolean isOpenSearchHTTPSEnabled() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.isHttpsEnabled();
   }
   
-  public synchronized String getOpenSearchAdminUser() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getAdminUser();
+  public String getOpenSearchAdminUser() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getAdminUser();
   }
 
-  public synchronized String getOpenSearchServiceLogUser() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getServiceLogUser();
+  public String getOpenSearchServiceLogUser() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getServiceLogUser();
   }
   
-  public synchronized String getOpenSearchAdminPassword() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getAdminPassword();
+  public String getOpenSearchAdminPassword() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getAdminPassword();
   }
   
-  public synchronized boolean isOpenSearchJWTEnabled() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.isOpenSearchJWTEnabled();
+  public boolean isOpenSearchJWTEnabled() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.isOpenSearchJWTEnabled();
   }
   
-  public synchronized String getOpenSearchJwtUrlParameter() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter();
+  public String getOpenSearchJwtUrlParameter() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter();
   }
   
-  public synchronized long getOpenSearchJwtExpMs() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getOpenSearchJWTExpMs();
+  public long getOpenSearchJwtExpMs() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getOpenSearchJWTExpMs();
   }
   
-  public synchronized Integer getOpenSearchDefaultScrollPageSize() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getDefaultScrollPageSize();
+  public Integer getOpenSearchDefaultScrollPageSize() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getDefaultScrollPageSize();
   }
   
-  public synchronized Integer getOpenSearchMaxScrollPageSize() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getMaxScrollPageSize();
+  public Integer getOpenSearchMaxScrollPageSize() {
+    CachedValues values = values();
+    return values.OPENSEARCH_SETTINGS.getMaxScrollPageSize();
   }
 
-  private long OpenSearch_LOGS_INDEX_EXPIRATION = 7 * 24 * 60 * 60 * 1000;
-
-  public synchronized long getOpenSearchLogsIndexExpiration() {
-    checkCache();
-    return OpenSearch_LOGS_INDEX_EXPIRATION;
+  public long getOpenSearchLogsIndexExpiration() {
+    CachedValues values = values();
+    return values.OpenSearch_LOGS_INDEX_EXPIRATION;
   }
 
   public static final long JOB_LOGS_DISPLAY_SIZE = 1000000;
 
-  // CertificateMaterializer service. Delay for deleting crypto material from
-  // the local filesystem. The lower the value the more frequent we reach DB
-  // for materialization
-  // Suffix, defaults to minutes if omitted:
-  // ms: milliseconds
-  // s: seconds
-  // m: minutes (default)
-  // h: hours
-  // d: days
-  private String CERTIFICATE_MATERIALIZER_DELAY = "1m";
-
-  public synchronized String getCertificateMaterializerDelay() {
-    checkCache();
-    return CERTIFICATE_MATERIALIZER_DELAY;
+  public String getCertificateMaterializerDelay() {
+    CachedValues values = values();
+    return values.CERTIFICATE_MATERIALIZER_DELAY;
   }
 
-  private String SERVICE_DISCOVERY_DOMAIN = "consul";
-  public synchronized String getServiceDiscoveryDomain() {
-    checkCache();
-    return SERVICE_DISCOVERY_DOMAIN;
+  public String getServiceDiscoveryDomain() {
+    CachedValues values = values();
+    return values.SERVICE_DISCOVERY_DOMAIN;
   }
 
   // Opensearch vector db
-  private String OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = null;
-  public synchronized String getOpensearchDefaultEmbeddingIndexName() {
-    checkCache();
-    return OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME;
+  public String getOpensearchDefaultEmbeddingIndexName() {
+    CachedValues values = values();
+    return values.OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME;
   }
 
-  private Integer OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = 1;
-  public synchronized Integer getOpensearchNumDefaultEmbeddingIndex() {
-    checkCache();
-    return OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX;
+  public Integer getOpensearchNumDefaultEmbeddingIndex() {
+    CachedValues values = values();
+    return values.OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX;
   }
 
-  private Integer OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT = 1000;
-  public synchronized Integer getOpensearchDefaultIndexMappingLimit() {
-    checkCache();
-    return OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT;
+  public Integer getOpensearchDefaultIndexMappingLimit() {
+    CachedValues values = values();
+    return values.OPENSEARCH_DEFAULT_INDEX_MAPPING_LIMIT;
   }
 
   // Kibana
@@ -1697,7 +2053,8 @@ public class Settings {
   }
   
   public String getKibanaAppUri(String jwtToken) {
-    return  getKibanaAppUri() + OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter() + "=" + jwtToken + "&";
+    CachedValues values = values();
+    return  getKibanaAppUri() + values.OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter() + "=" + jwtToken + "&";
   }
 
   /*
@@ -1705,162 +2062,132 @@ public class Settings {
    * userlogins table for auditing.
    * kagent -> agent@hops.io
    */
-  private String WHITELIST_USERS_LOGIN = "agent@hops.io";
 
-  public synchronized String getWhitelistUsersLogin() {
-    checkCache();
-    return WHITELIST_USERS_LOGIN;
+  public String getWhitelistUsersLogin() {
+    CachedValues values = values();
+    return values.WHITELIST_USERS_LOGIN;
   }
 
   // Jupyter
-  private String JUPYTER_DIR = "/srv/hops/jupyter";
 
-  public synchronized String getJupyterDir() {
-    checkCache();
-    return JUPYTER_DIR;
+  public String getJupyterDir() {
+    CachedValues values = values();
+    return values.JUPYTER_DIR;
   }
 
-  private String JUPYTER_GROUP = "jupyter";
-
-  public synchronized String getJupyterGroup() {
-    checkCache();
-    return JUPYTER_GROUP;
+  public String getJupyterGroup() {
+    CachedValues values = values();
+    return values.JUPYTER_GROUP;
   }
 
-  private String JUPYTER_ORIGIN_SCHEME = "https";
-
-  public synchronized String getJupyterOriginScheme() {
-    checkCache();
-    return JUPYTER_ORIGIN_SCHEME;
+  public String getJupyterOriginScheme() {
+    CachedValues values = values();
+    return values.JUPYTER_ORIGIN_SCHEME;
   }
 
-  private long JUPYTER_WS_PING_INTERVAL_MS = 10000L;
-
-  public synchronized long getJupyterWSPingInterval() {
-    checkCache();
-    return JUPYTER_WS_PING_INTERVAL_MS;
+  public long getJupyterWSPingInterval() {
+    CachedValues values = values();
+    return values.JUPYTER_WS_PING_INTERVAL_MS;
   }
 
-  private String JUPYTER_REMOTE_FS_DRIVER = "hdfscontentsmanager";
-  public synchronized RemoteFSDriverType getJupyterRemoteFsManager() {
-    checkCache();
-    return RemoteFSDriverType.fromString(JUPYTER_REMOTE_FS_DRIVER);
+  public RemoteFSDriverType getJupyterRemoteFsManager() {
+    CachedValues values = values();
+    return RemoteFSDriverType.fromString(values.JUPYTER_REMOTE_FS_DRIVER);
   }
 
-  private boolean APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = true;
-  public synchronized boolean getApplyHopsfsMountApparmor() {
-    checkCache();
-    return APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE;
+  public boolean getApplyHopsfsMountApparmor() {
+    CachedValues values = values();
+    return values.APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE;
   }
 
-  private String HOPSFSMOUNT_APPARMOR_PROFILE = "hopsworks-hopsfsmount-docker";
-  public synchronized String getHopsfsMountApparmorProfile() {
-    checkCache();
-    return HOPSFSMOUNT_APPARMOR_PROFILE;
+  public String getHopsfsMountApparmorProfile() {
+    CachedValues values = values();
+    return values.HOPSFSMOUNT_APPARMOR_PROFILE;
   }
 
-  private Integer PROMETHEUS_PORT = 9089;
-  public synchronized Integer getPrometheusPort() {
-    checkCache();
-    return PROMETHEUS_PORT;
+  public Integer getPrometheusPort() {
+    CachedValues values = values();
+    return values.PROMETHEUS_PORT;
   }
 
   //Git
   private String GIT_DIR = "/srv/hops/git";
 
-  public synchronized String getGitDir() {
-    checkCache();
+  public String getGitDir() {
     return GIT_DIR;
   }
 
-  private Integer GIT_MAX_COMMAND_TIMEOUT_MINUTES = 60;
-  public synchronized long getGitJwtExpMs() {
-    checkCache();
-    return GIT_MAX_COMMAND_TIMEOUT_MINUTES * 60 * 1000;
+  public long getGitJwtExpMs() {
+    CachedValues values = values();
+    return values.GIT_MAX_COMMAND_TIMEOUT_MINUTES * 60 * 1000;
   }
 
-  private Boolean ENABLE_GIT_READ_ONLY_REPOSITORIES = false;
-  public synchronized Boolean getEnableGitReadOnlyRepositories() {
-    checkCache();
-    return ENABLE_GIT_READ_ONLY_REPOSITORIES;
+  public Boolean getEnableGitReadOnlyRepositories() {
+    CachedValues values = values();
+    return values.ENABLE_GIT_READ_ONLY_REPOSITORIES;
   }
 
-  private String GIT_IMAGE_VERSION = "0.3.0";
-  public synchronized String getGitImageName() {
-    checkCache();
-    return "git:" + GIT_IMAGE_VERSION;
+  public String getGitImageName() {
+    CachedValues values = values();
+    return "git:" + values.GIT_IMAGE_VERSION;
   }
 
-  private boolean DOCKER_CGROUP_ENABLED = false;
-  public synchronized boolean isDockerCgroupEnabled() {
-    checkCache();
-    return DOCKER_CGROUP_ENABLED;
+  public boolean isDockerCgroupEnabled() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_ENABLED;
   }
 
-  private String DOCKER_CGROUP_MEMORY_LIMIT = "6GB";
-  public synchronized String getDockerCgroupMemoryLimit() {
-    checkCache();
-    return DOCKER_CGROUP_MEMORY_LIMIT;
+  public String getDockerCgroupMemoryLimit() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_MEMORY_LIMIT;
   }
 
-  private String DOCKER_CGROUP_MEMORY_SOFT_LIMIT = "2GB";
-  public synchronized String getDockerCgroupSoftLimit() {
-    checkCache();
-    return DOCKER_CGROUP_MEMORY_SOFT_LIMIT;
+  public String getDockerCgroupSoftLimit() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_MEMORY_SOFT_LIMIT;
   }
 
-  private Double DOCKER_CGROUP_CPU_QUOTA = 100.0;
-  public synchronized Double getDockerCgroupCpuQuota() {
-    checkCache();
-    return DOCKER_CGROUP_CPU_QUOTA;
+  public Double getDockerCgroupCpuQuota() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_CPU_QUOTA;
   }
 
-  private Integer DOCKER_CGROUP_CPU_PERIOD = 100000;
-  public synchronized Integer getDockerCgroupCpuPeriod() {
-    checkCache();
-    return DOCKER_CGROUP_CPU_PERIOD;
+  public Integer getDockerCgroupCpuPeriod() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_CPU_PERIOD;
   }
 
-  private String DOCKER_CGROUP_MONITOR_INTERVAL = "10m";
-  public synchronized String getDockerCgroupIntervalMonitor() {
-    checkCache();
-    return DOCKER_CGROUP_MONITOR_INTERVAL;
+  public String getDockerCgroupIntervalMonitor() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_MONITOR_INTERVAL;
   }
 
-  private String DOCKER_CGROUP_PARENT = "docker.slice";
-  public synchronized String getDockerCgroupParent() {
-    checkCache();
-    return DOCKER_CGROUP_PARENT;
+  public String getDockerCgroupParent() {
+    CachedValues values = values();
+    return values.DOCKER_CGROUP_PARENT;
   }
 
   // Service key rotation interval
   private static final String JUPYTER_SHUTDOWN_TIMER_INTERVAL = "jupyter_shutdown_timer_interval";
-  private String jupyterShutdownTimerInterval = "30m";
 
-  public synchronized String getJupyterShutdownTimerInterval() {
-    checkCache();
-    return jupyterShutdownTimerInterval;
+  public String getJupyterShutdownTimerInterval() {
+    CachedValues values = values();
+    return values.jupyterShutdownTimerInterval;
   }
 
-  private String KAFKA_USER = "kafka";
-
-  public synchronized String getKafkaUser() {
-    checkCache();
-    return KAFKA_USER;
+  public String getKafkaUser() {
+    CachedValues values = values();
+    return values.KAFKA_USER;
   }
 
-  private String KAFKA_DIR = "/srv/kafka";
-
-  public synchronized String getKafkaDir() {
-    checkCache();
-    return KAFKA_DIR;
+  public String getKafkaDir() {
+    CachedValues values = values();
+    return values.KAFKA_DIR;
   }
 
-  private String ANACONDA_DIR = "/srv/hops/anaconda";
-
-  public synchronized String getAnacondaDir() {
-    checkCache();
-    return ANACONDA_DIR;
+  public String getAnacondaDir() {
+    CachedValues values = values();
+    return values.ANACONDA_DIR;
   }
 
   public static final String DOCKER_CUSTOM_COMMANDS_POST_BUILD_ARTIFACT_DIR_SUFFIX = "_custom_command_artifacts";
@@ -1868,7 +2195,6 @@ public class Settings {
   public static final String DOCKER_CUSTOM_COMMANDS_GENERATED_FILE_NAME = "docker_commands_generated";
   public static final String DOCKER_CUSTOM_COMMANDS_FILE_NAME = "custom_commands.sh";
 
-
   private String condaEnvName = "theenv";
   /**
    * Constructs the path to the project environment in Anaconda
@@ -1883,45 +2209,35 @@ public class Settings {
   public String getCurrentCondaEnvironment() {
     return condaEnvName;
   }
-  
-  private Boolean ANACONDA_ENABLED = true;
 
-  public synchronized Boolean isAnacondaEnabled() {
-    checkCache();
-    return ANACONDA_ENABLED;
+  public Boolean isAnacondaEnabled() {
+    CachedValues values = values();
+    return values.ANACONDA_ENABLED;
   }
 
-  private Boolean DOWNLOAD_ALLOWED = true;
-  public synchronized Boolean isDownloadAllowed() {
-    checkCache();
-    return DOWNLOAD_ALLOWED;
+  public Boolean isDownloadAllowed() {
+    CachedValues values = values();
+    return values.DOWNLOAD_ALLOWED;
   }
 
-
-  private RESTLogLevel HOPSWORKS_REST_LOG_LEVEL = RESTLogLevel.PROD;
-
-  public synchronized RESTLogLevel getHopsworksRESTLogLevel() {
-    checkCache();
-    return HOPSWORKS_REST_LOG_LEVEL;
+  public RESTLogLevel getHopsworksRESTLogLevel() {
+    CachedValues values = values();
+    return values.HOPSWORKS_REST_LOG_LEVEL;
   }
 
-  private String FIRST_TIME_LOGIN = "0";
-
-  public synchronized String getFirstTimeLogin() {
-    checkCache();
-    return FIRST_TIME_LOGIN;
+  public String getFirstTimeLogin() {
+    CachedValues values = values();
+    return values.FIRST_TIME_LOGIN;
   }
 
-
-  private String ADMIN_EMAIL = "admin@hopsworks.ai";
-
-  public synchronized String getAdminEmail() {
-    checkCache();
-    return ADMIN_EMAIL;
+  public String getAdminEmail() {
+    CachedValues values = values();
+    return values.ADMIN_EMAIL;
   }
   
-  public synchronized boolean isDefaultAdminPasswordChanged() {
-    Users user = userFacade.findByEmail(ADMIN_EMAIL);
+  public boolean isDefaultAdminPasswordChanged() {
+    CachedValues values = values();
+    Users user = userFacade.findByEmail(values.ADMIN_EMAIL);
     if (user != null) {
       String DEFAULT_ADMIN_PWD = "12fa520ec8f65d3a6feacfa97a705e622e1fea95b80b521ec016e43874dfed5a";
       return !DEFAULT_ADMIN_PWD.equals(user.getPassword());
@@ -1929,32 +2245,24 @@ public class Settings {
     return false;
   }
 
-  private String HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = "adminpw";
-
-  public synchronized String getHopsworksMasterPasswordSsl() {
-    checkCache();
-    return HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD;
+  public String getHopsworksMasterPasswordSsl() {
+    CachedValues values = values();
+    return values.HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD;
   }
 
-  private Integer KAFKA_DEFAULT_NUM_PARTITIONS = 2;
-  private Integer KAFKA_DEFAULT_NUM_REPLICAS = 1;
-
-  public synchronized Integer getKafkaDefaultNumPartitions() {
-    checkCache();
-    return KAFKA_DEFAULT_NUM_PARTITIONS;
+  public Integer getKafkaDefaultNumPartitions() {
+    CachedValues values = values();
+    return values.KAFKA_DEFAULT_NUM_PARTITIONS;
   }
 
-  public synchronized Integer getKafkaDefaultNumReplicas() {
-    checkCache();
-    return KAFKA_DEFAULT_NUM_REPLICAS;
+  public Integer getKafkaDefaultNumReplicas() {
+    CachedValues values = values();
+    return values.KAFKA_DEFAULT_NUM_REPLICAS;
   }
 
-  // HOPSWORKS-3158
-  private String HOPSWORKS_PUBLIC_HOST = "";
-  
   public String getHopsworksPublicHost() {
-    checkCache();
-    return HOPSWORKS_PUBLIC_HOST;
+    CachedValues values = values();
+    return values.HOPSWORKS_PUBLIC_HOST;
   }
 
   // Hopsworks
@@ -2031,8 +2339,6 @@ public class Settings {
   public static final String HOPSWORKS_OPENSEARCH_ENDPOINT_PROPERTY = "hopsworks.opensearch.endpoint";
   public static final String HOPSWORKS_DOMAIN_CA_TRUSTSTORE_PROPERTY = "hopsworks.domain.truststore";
 
-  private int FILE_PREVIEW_IMAGE_SIZE = 10000000;
-  private int FILE_PREVIEW_TXT_SIZE = 100;
   public static final int FILE_PREVIEW_TXT_SIZE_BYTES = 1024 * 384;
   public static final String README_TEMPLATE = "*This is an auto-generated README.md"
       + " file for your Dataset!*\n"
@@ -2091,9 +2397,9 @@ public class Settings {
    *
    * @return file size
    */
-  public synchronized int getFilePreviewImageSize() {
-    checkCache();
-    return FILE_PREVIEW_IMAGE_SIZE;
+  public int getFilePreviewImageSize() {
+    CachedValues values = values();
+    return values.FILE_PREVIEW_IMAGE_SIZE;
   }
 
   /**
@@ -2101,9 +2407,9 @@ public class Settings {
    *
    * @return file size
    */
-  public synchronized int getFilePreviewTxtSize() {
-    checkCache();
-    return FILE_PREVIEW_TXT_SIZE;
+  public int getFilePreviewTxtSize() {
+    CachedValues values = values();
+    return values.FILE_PREVIEW_TXT_SIZE;
   }
 
   //Project creation: default datasets
@@ -2158,11 +2464,10 @@ public class Settings {
   }
 
   public static final String JUPYTER_PIDS = "/tmp/jupyterNotebookServer.pids";
-  private String RESOURCE_DIRS = ".sparkStaging;spark-warehouse;.flinkStaging;.flinkCheckpoints";
 
-  public synchronized String getResourceDirs() {
-    checkCache();
-    return RESOURCE_DIRS;
+  public String getResourceDirs() {
+    CachedValues values = values();
+    return values.RESOURCE_DIRS;
   }
 
   public Settings() {
@@ -2277,18 +2582,14 @@ public class Settings {
     }
   }
 
-  private int KAFKA_MAX_NUM_TOPICS = 10;
-
-  public synchronized int getKafkaMaxNumTopics() {
-    checkCache();
-    return KAFKA_MAX_NUM_TOPICS;
+  public int getKafkaMaxNumTopics() {
+    CachedValues values = values();
+    return values.KAFKA_MAX_NUM_TOPICS;
   }
 
-  private int MAX_STATUS_POLL_RETRY = 5;
-
-  public synchronized int getMaxStatusPollRetry() {
-    checkCache();
-    return MAX_STATUS_POLL_RETRY;
+  public int getMaxStatusPollRetry() {
+    CachedValues values = values();
+    return values.MAX_STATUS_POLL_RETRY;
   }
 
   /**
@@ -2318,39 +2619,29 @@ public class Settings {
     return aggregatedLogPath;
   }
 
-  private String PYPI_REST_ENDPOINT = "https://pypi.org/pypi/{package}/json";
-
-  public synchronized String getPyPiRESTEndpoint() {
-    checkCache();
-    return PYPI_REST_ENDPOINT;
+  public String getPyPiRESTEndpoint() {
+    CachedValues values = values();
+    return values.PYPI_REST_ENDPOINT;
   }
 
-  private String PYPI_INDEXER_TIMER_INTERVAL = "1d";
-
-  public synchronized String getPyPiIndexerTimerInterval() {
-    checkCache();
-    return PYPI_INDEXER_TIMER_INTERVAL;
+  public String getPyPiIndexerTimerInterval() {
+    CachedValues values = values();
+    return values.PYPI_INDEXER_TIMER_INTERVAL;
   }
 
-  private String PYPI_SIMPLE_ENDPOINT = "https://pypi.org/simple/";
-
-  public synchronized String getPyPiSimpleEndpoint() {
-    checkCache();
-    return PYPI_SIMPLE_ENDPOINT;
+  public String getPyPiSimpleEndpoint() {
+    CachedValues values = values();
+    return values.PYPI_SIMPLE_ENDPOINT;
   }
 
-  private boolean PYPI_INDEXER_TIMER_ENABLED = true;
-
-  public synchronized boolean isPyPiIndexerTimerEnabled() {
-    checkCache();
-    return PYPI_INDEXER_TIMER_ENABLED;
+  public boolean isPyPiIndexerTimerEnabled() {
+    CachedValues values = values();
+    return values.PYPI_INDEXER_TIMER_ENABLED;
   }
 
-  private String PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = "1d";
-
-  public synchronized String getPythonLibraryUpdatesMonitorInterval() {
-    checkCache();
-    return PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL;
+  public String getPythonLibraryUpdatesMonitorInterval() {
+    CachedValues values = values();
+    return values.PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL;
   }
 
   private static final String VARIABLE_HOPSWORKS_PUBLIC_HOST = "hopsworks_public_host";
@@ -2359,8 +2650,7 @@ public class Settings {
 
   public static final String README_FILE = "README.md";
   
-  public synchronized Boolean isDelaEnabled() {
-    checkCache();
+  public Boolean isDelaEnabled() {
     return DELA_ENABLED;
   }
 
@@ -2410,214 +2700,180 @@ public class Settings {
   private static final String VARIABLE_MANAGED_CLOUD_REDIRECT_URI = "managed_cloud_redirect_uri";
   private static final String VARIABLE_MANAGED_CLOUD_PROVIDER_NAME = "managed_cloud_provider_name";
   
-  private String KRB_AUTH = "false";
-  private String LDAP_AUTH = "false";
-  private boolean IS_KRB_ENABLED = false;
-  private boolean IS_LDAP_ENABLED = false;
-  private String LDAP_GROUP_MAPPING = "";
-  private String LDAP_USER_ID = "uid"; //login name
-  private String LDAP_USER_GIVEN_NAME = "givenName";
-  private String LDAP_USER_SURNAME = "sn";
-  private String LDAP_USER_EMAIL = "mail";
-  private String LDAP_USER_SEARCH_FILTER = "uid=%s";
-  private String LDAP_GROUP_SEARCH_FILTER = "member=%d";
-  private String LDAP_KRB_USER_SEARCH_FILTER = "krbPrincipalName=%s";
-  private String LDAP_ATTR_BINARY = "java.naming.ldap.attributes.binary";
-  private String LDAP_GROUP_TARGET = "cn";
-  private String LDAP_DYNAMIC_GROUP_TARGET = "memberOf";
-  private String LDAP_USER_DN_DEFAULT = "";
-  private String LDAP_GROUP_DN_DEFAULT = "";
-  private String LDAP_USER_DN = LDAP_USER_DN_DEFAULT;
-  private String LDAP_GROUP_DN = LDAP_GROUP_DN_DEFAULT;
-  private String LDAP_GROUPS_TARGET = "distinguishedName";
-  private String LDAP_GROUPS_SEARCH_FILTER = "(&(objectCategory=group)(cn=%c))";
-  private String LDAP_GROUP_MEMBERS_SEARCH_FILTER = "(&(objectCategory=user)(memberOf=%d))";
-  private int LDAP_ACCOUNT_STATUS = 1;
-  private String OAUTH_ENABLED = "false";
-  private boolean IS_OAUTH_ENABLED = false;
-  private String OAUTH_GROUP_MAPPING = "";
-  private String OAUTH_REDIRECT_URI_PATH = "hopsworks/callback";
-  private String OAUTH_LOGOUT_REDIRECT_URI_PATH = "hopsworks/";
-  private String OAUTH_REDIRECT_URI = OAUTH_REDIRECT_URI_PATH;
-  private String OAUTH_LOGOUT_REDIRECT_URI = OAUTH_LOGOUT_REDIRECT_URI_PATH;
-  private int OAUTH_ACCOUNT_STATUS = 1;
-  private long LDAP_GROUP_MAPPING_SYNC_INTERVAL = 0;
-  
-  private boolean REMOTE_AUTH_NEED_CONSENT = true;
-  
-  private boolean DISABLE_PASSWORD_LOGIN = false;
-  private boolean DISABLE_REGISTRATION = false;
-  private boolean VALIDATE_REMOTE_USER_EMAIL_VERIFIED = false;
-
-  private String MANAGED_CLOUD_REDIRECT_URI = "";
-  private String MANAGED_CLOUD_PROVIDER_NAME = "hopsworks.ai";
-  
-  private void populateLDAPCache() {
-    KRB_AUTH = setVar(VARIABLE_KRB_AUTH, KRB_AUTH);
-    LDAP_AUTH = setVar(VARIABLE_LDAP_AUTH, LDAP_AUTH);
-    LDAP_GROUP_MAPPING = setVar(VARIABLE_LDAP_GROUP_MAPPING, LDAP_GROUP_MAPPING);
-    LDAP_USER_ID = setVar(VARIABLE_LDAP_USER_ID, LDAP_USER_ID);
-    LDAP_USER_GIVEN_NAME = setVar(VARIABLE_LDAP_USER_GIVEN_NAME, LDAP_USER_GIVEN_NAME);
-    LDAP_USER_SURNAME = setVar(VARIABLE_LDAP_USER_SURNAME, LDAP_USER_SURNAME);
-    LDAP_USER_EMAIL = setVar(VARIABLE_LDAP_USER_EMAIL, LDAP_USER_EMAIL);
-    LDAP_ACCOUNT_STATUS = setIntVar(VARIABLE_LDAP_ACCOUNT_STATUS, LDAP_ACCOUNT_STATUS);
-    LDAP_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_USER_SEARCH_FILTER, LDAP_USER_SEARCH_FILTER);
-    LDAP_GROUP_SEARCH_FILTER = setVar(VARIABLE_LDAP_GROUP_SEARCH_FILTER, LDAP_GROUP_SEARCH_FILTER);
-    LDAP_KRB_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_KRB_USER_SEARCH_FILTER, LDAP_KRB_USER_SEARCH_FILTER);
-    LDAP_ATTR_BINARY = setVar(VARIABLE_LDAP_ATTR_BINARY, LDAP_ATTR_BINARY);
-    LDAP_GROUP_TARGET = setVar(VARIABLE_LDAP_GROUP_TARGET, LDAP_GROUP_TARGET);
-    LDAP_DYNAMIC_GROUP_TARGET = setVar(VARIABLE_LDAP_DYNAMIC_GROUP_TARGET, LDAP_DYNAMIC_GROUP_TARGET);
-    LDAP_USER_DN = setStrVar(VARIABLE_LDAP_USERDN, LDAP_USER_DN_DEFAULT);
-    LDAP_GROUP_DN = setStrVar(VARIABLE_LDAP_GROUPDN, LDAP_GROUP_DN_DEFAULT);
-    LDAP_GROUPS_TARGET = setVar(VARIABLE_LDAP_GROUPS_TARGET, LDAP_GROUPS_TARGET);
-    LDAP_GROUPS_SEARCH_FILTER = setStrVar(VARIABLE_LDAP_GROUPS_SEARCH_FILTER, LDAP_GROUPS_SEARCH_FILTER);
-    LDAP_GROUP_MEMBERS_SEARCH_FILTER =
-      setStrVar(VARIABLE_LDAP_GROUP_MEMBERS_SEARCH_FILTER, LDAP_GROUP_MEMBERS_SEARCH_FILTER);
-    IS_KRB_ENABLED = setBoolVar(VARIABLE_KRB_AUTH, IS_KRB_ENABLED);
-    IS_LDAP_ENABLED = setBoolVar(VARIABLE_LDAP_AUTH, IS_LDAP_ENABLED);
-    OAUTH_ENABLED = setStrVar(VARIABLE_OAUTH_ENABLED, OAUTH_ENABLED);
-    IS_OAUTH_ENABLED = setBoolVar(VARIABLE_OAUTH_ENABLED, IS_OAUTH_ENABLED);
-    OAUTH_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_REDIRECT_URI, OAUTH_REDIRECT_URI);
-    OAUTH_LOGOUT_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_LOGOUT_REDIRECT_URI, OAUTH_LOGOUT_REDIRECT_URI);
-    OAUTH_ACCOUNT_STATUS = setIntVar(VARIABLE_OAUTH_ACCOUNT_STATUS, OAUTH_ACCOUNT_STATUS);
-    OAUTH_GROUP_MAPPING = setStrVar(VARIABLE_OAUTH_GROUP_MAPPING, OAUTH_GROUP_MAPPING);
-
-    REMOTE_AUTH_NEED_CONSENT = setBoolVar(VARIABLE_REMOTE_AUTH_NEED_CONSENT, REMOTE_AUTH_NEED_CONSENT);
+  private static final String LDAP_USER_DN_DEFAULT = "";
+  private static final String LDAP_GROUP_DN_DEFAULT = "";
+  private static final String OAUTH_REDIRECT_URI_PATH = "hopsworks/callback";
+  private static final String OAUTH_LOGOUT_REDIRECT_URI_PATH = "hopsworks/";
+
+  private void populateLDAPCache(CachedValues values) {
+    values.KRB_AUTH = setVar(VARIABLE_KRB_AUTH, values.KRB_AUTH);
+    values.LDAP_AUTH = setVar(VARIABLE_LDAP_AUTH, values.LDAP_AUTH);
+    values.LDAP_GROUP_MAPPING = setVar(VARIABLE_LDAP_GROUP_MAPPING, values.LDAP_GROUP_MAPPING);
+    values.LDAP_USER_ID = setVar(VARIABLE_LDAP_USER_ID, values.LDAP_USER_ID);
+    values.LDAP_USER_GIVEN_NAME = setVar(VARIABLE_LDAP_USER_GIVEN_NAME, values.LDAP_USER_GIVEN_NAME);
+    values.LDAP_USER_SURNAME = setVar(VARIABLE_LDAP_USER_SURNAME, values.LDAP_USER_SURNAME);
+    values.LDAP_USER_EMAIL = setVar(VARIABLE_LDAP_USER_EMAIL, values.LDAP_USER_EMAIL);
+    values.LDAP_ACCOUNT_STATUS = setIntVar(VARIABLE_LDAP_ACCOUNT_STATUS, values.LDAP_ACCOUNT_STATUS);
+    values.LDAP_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_USER_SEARCH_FILTER, values.LDAP_USER_SEARCH_FILTER);
+    values.LDAP_GROUP_SEARCH_FILTER = setVar(VARIABLE_LDAP_GROUP_SEARCH_FILTER, values.LDAP_GROUP_SEARCH_FILTER);
+    values.LDAP_KRB_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_KRB_USER_SEARCH_FILTER,
+      values.LDAP_KRB_USER_SEARCH_FILTER);
+    values.LDAP_ATTR_BINARY = setVar(VARIABLE_LDAP_ATTR_BINARY, values.LDAP_ATTR_BINARY);
+    values.LDAP_GROUP_TARGET = setVar(VARIABLE_LDAP_GROUP_TARGET, values.LDAP_GROUP_TARGET);
+    values.LDAP_DYNAMIC_GROUP_TARGET = setVar(VARIABLE_LDAP_DYNAMIC_GROUP_TARGET, values.LDAP_DYNAMIC_GROUP_TARGET);
+    values.LDAP_USER_DN = setStrVar(VARIABLE_LDAP_USERDN, LDAP_USER_DN_DEFAULT);
+    values.LDAP_GROUP_DN = setStrVar(VARIABLE_LDAP_GROUPDN, LDAP_GROUP_DN_DEFAULT);
+    values.LDAP_GROUPS_TARGET = setVar(VARIABLE_LDAP_GROUPS_TARGET, values.LDAP_GROUPS_TARGET);
+    values.LDAP_GROUPS_SEARCH_FILTER = setStrVar(VARIABLE_LDAP_GROUPS_SEARCH_FILTER, values.LDAP_GROUPS_SEARCH_FILTER);
+    values.LDAP_GROUP_MEMBERS_SEARCH_FILTER =
+      setStrVar(VARIABLE_LDAP_GROUP_MEMBERS_SEARCH_FILTER, values.LDAP_GROUP_MEMBERS_SEARCH_FILTER);
+    values.IS_KRB_ENABLED = setBoolVar(VARIABLE_KRB_AUTH, values.IS_KRB_ENABLED);
+    values.IS_LDAP_ENABLED = setBoolVar(VARIABLE_LDAP_AUTH, values.IS_LDAP_ENABLED);
+    values.OAUTH_ENABLED = setStrVar(VARIABLE_OAUTH_ENABLED, values.OAUTH_ENABLED);
+    values.IS_OAUTH_ENABLED = setBoolVar(VARIABLE_OAUTH_ENABLED, values.IS_OAUTH_ENABLED);
+    values.OAUTH_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_REDIRECT_URI, values.OAUTH_REDIRECT_URI);
+    values.OAUTH_LOGOUT_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_LOGOUT_REDIRECT_URI, values.OAUTH_LOGOUT_REDIRECT_URI);
+    values.OAUTH_ACCOUNT_STATUS = setIntVar(VARIABLE_OAUTH_ACCOUNT_STATUS, values.OAUTH_ACCOUNT_STATUS);
+    values.OAUTH_GROUP_MAPPING = setStrVar(VARIABLE_OAUTH_GROUP_MAPPING, values.OAUTH_GROUP_MAPPING);
+
+    values.REMOTE_AUTH_NEED_CONSENT = setBoolVar(VARIABLE_REMOTE_AUTH_NEED_CONSENT, values.REMOTE_AUTH_NEED_CONSENT);
     
-    DISABLE_PASSWORD_LOGIN = setBoolVar(VARIABLE_DISABLE_PASSWORD_LOGIN, DISABLE_PASSWORD_LOGIN);
-    DISABLE_REGISTRATION = setBoolVar(VARIABLE_DISABLE_REGISTRATION, DISABLE_REGISTRATION);
-    DISABLE_REGISTRATION_UI = setBoolVar(VARIABLE_DISABLE_REGISTRATION_UI, DISABLE_REGISTRATION_UI);
+    values.DISABLE_PASSWORD_LOGIN = setBoolVar(VARIABLE_DISABLE_PASSWORD_LOGIN, values.DISABLE_PASSWORD_LOGIN);
+    values.DISABLE_REGISTRATION = setBoolVar(VARIABLE_DISABLE_REGISTRATION, values.DISABLE_REGISTRATION);
+    values.DISABLE_REGISTRATION_UI = setBoolVar(VARIABLE_DISABLE_REGISTRATION_UI, values.DISABLE_REGISTRATION_UI);
   
-    LDAP_GROUP_MAPPING_SYNC_INTERVAL = setLongVar(VARIABLE_LDAP_GROUP_MAPPING_SYNC_INTERVAL,
-      LDAP_GROUP_MAPPING_SYNC_INTERVAL);
+    values.LDAP_GROUP_MAPPING_SYNC_INTERVAL = setLongVar(VARIABLE_LDAP_GROUP_MAPPING_SYNC_INTERVAL,
+      values.LDAP_GROUP_MAPPING_SYNC_INTERVAL);
 
-    VALIDATE_REMOTE_USER_EMAIL_VERIFIED =
-      setBoolVar(VARIABLE_VALIDATE_REMOTE_USER_EMAIL_VERIFIED, VALIDATE_REMOTE_USER_EMAIL_VERIFIED);
+    values.VALIDATE_REMOTE_USER_EMAIL_VERIFIED =
+      setBoolVar(VARIABLE_VALIDATE_REMOTE_USER_EMAIL_VERIFIED, values.VALIDATE_REMOTE_USER_EMAIL_VERIFIED);
     
-    MANAGED_CLOUD_REDIRECT_URI = setStrVar(VARIABLE_MANAGED_CLOUD_REDIRECT_URI, MANAGED_CLOUD_REDIRECT_URI);
-    MANAGED_CLOUD_PROVIDER_NAME = setStrVar(VARIABLE_MANAGED_CLOUD_PROVIDER_NAME, MANAGED_CLOUD_PROVIDER_NAME);
+    values.MANAGED_CLOUD_REDIRECT_URI = setStrVar(VARIABLE_MANAGED_CLOUD_REDIRECT_URI,
+      values.MANAGED_CLOUD_REDIRECT_URI);
+    values.MANAGED_CLOUD_PROVIDER_NAME = setStrVar(VARIABLE_MANAGED_CLOUD_PROVIDER_NAME,
+      values.MANAGED_CLOUD_PROVIDER_NAME);
   }
 
-  public synchronized String getKRBAuthStatus() {
-    checkCache();
-    return KRB_AUTH;
+  public String getKRBAuthStatus() {
+    CachedValues values = values();
+    return values.KRB_AUTH;
   }
 
-  public synchronized String getLDAPAuthStatus() {
-    checkCache();
-    return LDAP_AUTH;
+  public String getLDAPAuthStatus() {
+    CachedValues values = values();
+    return values.LDAP_AUTH;
   }
 
-  public synchronized  boolean isKrbEnabled() {
-    checkCache();
-    return IS_KRB_ENABLED;
+  public  boolean isKrbEnabled() {
+    CachedValues values = values();
+    return values.IS_KRB_ENABLED;
   }
 
-  public synchronized  boolean isLdapEnabled() {
-    checkCache();
-    return IS_LDAP_ENABLED;
+  public  boolean isLdapEnabled() {
+    CachedValues values = values();
+    return values.IS_LDAP_ENABLED;
   }
 
-  public synchronized String getLdapGroupMapping() {
-    checkCache();
-    return LDAP_GROUP_MAPPING;
+  public String getLdapGroupMapping() {
+    CachedValues values = values();
+    return values.LDAP_GROUP_MAPPING;
   }
 
-  public synchronized String getLdapUserId() {
-    checkCache();
-    return LDAP_USER_ID;
+  public String getLdapUserId() {
+    CachedValues values = values();
+    return values.LDAP_USER_ID;
   }
 
-  public synchronized String getLdapUserGivenName() {
-    checkCache();
-    return LDAP_USER_GIVEN_NAME;
+  public String getLdapUserGivenName() {
+    CachedValues values = values();
+    return values.LDAP_USER_GIVEN_NAME;
   }
 
-  public synchronized String getLdapUserSurname() {
-    checkCache();
-    return LDAP_USER_SURNAME;
+  public String getLdapUserSurname() {
+    CachedValues values = values();
+    return values.LDAP_USER_SURNAME;
   }
 
-  public synchronized String getLdapUserMail() {
-    checkCache();
-    return LDAP_USER_EMAIL;
+  public String getLdapUserMail() {
+    CachedValues values = values();
+    return values.LDAP_USER_EMAIL;
   }
 
-  public synchronized String getLdapUserSearchFilter() {
-    checkCache();
-    return LDAP_USER_SEARCH_FILTER;
+  public String getLdapUserSearchFilter() {
+    CachedValues values = values();
+    return values.LDAP_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getLdapGroupSearchFilter() {
-    checkCache();
-    return LDAP_GROUP_SEARCH_FILTER;
+  public String getLdapGroupSearchFilter() {
+    CachedValues values = values();
+    return values.LDAP_GROUP_SEARCH_FILTER;
   }
 
-  public synchronized String getKrbUserSearchFilter() {
-    checkCache();
-    return LDAP_KRB_USER_SEARCH_FILTER;
+  public String getKrbUserSearchFilter() {
+    CachedValues values = values();
+    return values.LDAP_KRB_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getLdapAttrBinary() {
-    checkCache();
-    return LDAP_ATTR_BINARY;
+  public String getLdapAttrBinary() {
+    CachedValues values = values();
+    return values.LDAP_ATTR_BINARY;
   }
 
-  public synchronized String getLdapGroupTarget() {
-    checkCache();
-    return LDAP_GROUP_TARGET;
+  public String getLdapGroupTarget() {
+    CachedValues values = values();
+    return values.LDAP_GROUP_TARGET;
   }
 
-  public synchronized String getLdapDynGroupTarget() {
-    checkCache();
-    return LDAP_DYNAMIC_GROUP_TARGET;
+  public String getLdapDynGroupTarget() {
+    CachedValues values = values();
+    return values.LDAP_DYNAMIC_GROUP_TARGET;
   }
 
-  public synchronized String getLdapUserDN() {
-    checkCache();
-    return LDAP_USER_DN;
+  public String getLdapUserDN() {
+    CachedValues values = values();
+    return values.LDAP_USER_DN;
   }
 
-  public synchronized String getLdapGroupDN() {
-    checkCache();
-    return LDAP_GROUP_DN;
+  public String getLdapGroupDN() {
+    CachedValues values = values();
+    return values.LDAP_GROUP_DN;
   }
 
-  public synchronized int getLdapAccountStatus() {
-    checkCache();
-    return LDAP_ACCOUNT_STATUS;
+  public int getLdapAccountStatus() {
+    CachedValues values = values();
+    return values.LDAP_ACCOUNT_STATUS;
   }
   
-  public synchronized String getLdapGroupsTarget() {
-    checkCache();
-    return LDAP_GROUPS_TARGET;
+  public String getLdapGroupsTarget() {
+    CachedValues values = values();
+    return values.LDAP_GROUPS_TARGET;
   }
   
-  public synchronized String getLdapGroupsSearchFilter() {
-    checkCache();
-    return LDAP_GROUPS_SEARCH_FILTER;
+  public String getLdapGroupsSearchFilter() {
+    CachedValues values = values();
+    return values.LDAP_GROUPS_SEARCH_FILTER;
   }
   
-  public synchronized String getLdapGroupMembersFilter() {
-    checkCache();
-    return LDAP_GROUP_MEMBERS_SEARCH_FILTER;
+  public String getLdapGroupMembersFilter() {
+    CachedValues values = values();
+    return values.LDAP_GROUP_MEMBERS_SEARCH_FILTER;
   }
 
-  public synchronized  boolean isOAuthEnabled() {
-    checkCache();
-    return IS_OAUTH_ENABLED;
+  public  boolean isOAuthEnabled() {
+    CachedValues values = values();
+    return values.IS_OAUTH_ENABLED;
   }
 
-  public synchronized String getOAuthGroupMapping() {
-    checkCache();
-    return OAUTH_GROUP_MAPPING;
+  public String getOAuthGroupMapping() {
+    CachedValues values = values();
+    return values.OAUTH_GROUP_MAPPING;
   }
 
   public void updateOAuthGroupMapping(String mapping) {
     updateVariableInternal(VARIABLE_OAUTH_GROUP_MAPPING, mapping, VariablesVisibility.ADMIN);
   }
   
-  public synchronized String getOauthRedirectUri(String providerName) {
+  public String getOauthRedirectUri(String providerName) {
     return getOauthRedirectUri(providerName, false);
   }
   
@@ -2625,23 +2881,23 @@ public class Settings {
    * when using oauth for hopsworks.ai we need to first redirect to hopsworks.ai
    * which then redirect to hopsworks.
    */
-  public synchronized String getOauthRedirectUri(String providerName, boolean skipManagedCloud) {
-    checkCache();
-    if (MANAGED_CLOUD_REDIRECT_URI.isEmpty() || skipManagedCloud || !Objects.equals(MANAGED_CLOUD_PROVIDER_NAME,
-      providerName)) {
-      return OAUTH_REDIRECT_URI;
+  public String getOauthRedirectUri(String providerName, boolean skipManagedCloud) {
+    CachedValues values = values();
+    if (values.MANAGED_CLOUD_REDIRECT_URI.isEmpty() || skipManagedCloud
+      || !Objects.equals(values.MANAGED_CLOUD_PROVIDER_NAME, providerName)) {
+      return values.OAUTH_REDIRECT_URI;
     }
-    return MANAGED_CLOUD_REDIRECT_URI;
+    return values.MANAGED_CLOUD_REDIRECT_URI;
   }
   
-  public synchronized String getManagedCloudRedirectUri() {
-    checkCache();
-    return MANAGED_CLOUD_REDIRECT_URI;
+  public String getManagedCloudRedirectUri() {
+    CachedValues values = values();
+    return values.MANAGED_CLOUD_REDIRECT_URI;
   }
   
-  public synchronized String getManagedCloudProviderName() {
-    checkCache();
-    return MANAGED_CLOUD_PROVIDER_NAME;
+  public String getManagedCloudProviderName() {
+    CachedValues values = values();
+    return values.MANAGED_CLOUD_PROVIDER_NAME;
   }
   
   public void updateOauthRedirectUri(String uri) {
@@ -2649,9 +2905,9 @@ public class Settings {
             VariablesVisibility.ADMIN);
   }
   
-  public synchronized String getOauthLogoutRedirectUri() {
-    checkCache();
-    return OAUTH_LOGOUT_REDIRECT_URI;
+  public String getOauthLogoutRedirectUri() {
+    CachedValues values = values();
+    return values.OAUTH_LOGOUT_REDIRECT_URI;
   }
   
   public void addPathAndupdateOauthLogoutRedirectUri(String uri) {
@@ -2667,150 +2923,141 @@ public class Settings {
     updateVariableInternal(VARIABLE_MANAGED_CLOUD_REDIRECT_URI, uri , VariablesVisibility.ADMIN);
   }
   
-  public synchronized int getOAuthAccountStatus() {
-    checkCache();
-    return OAUTH_ACCOUNT_STATUS;
+  public int getOAuthAccountStatus() {
+    CachedValues values = values();
+    return values.OAUTH_ACCOUNT_STATUS;
   }
   
   public void updateOAuthAccountStatus(Integer val) {
     updateVariableInternal(VARIABLE_OAUTH_ACCOUNT_STATUS, val.toString(), VariablesVisibility.ADMIN);
   }
   
-  public synchronized  boolean shouldValidateEmailVerified() {
-    checkCache();
-    return VALIDATE_REMOTE_USER_EMAIL_VERIFIED;
+  public  boolean shouldValidateEmailVerified() {
+    CachedValues values = values();
+    return values.VALIDATE_REMOTE_USER_EMAIL_VERIFIED;
   }
   
-  public synchronized  boolean remoteAuthNeedConsent() {
-    checkCache();
-    return REMOTE_AUTH_NEED_CONSENT;
+  public  boolean remoteAuthNeedConsent() {
+    CachedValues values = values();
+    return values.REMOTE_AUTH_NEED_CONSENT;
   }
   
   public void updateRemoteAuthNeedConsent(boolean needConsent) {
     updateVariableInternal(VARIABLE_REMOTE_AUTH_NEED_CONSENT, Boolean.toString(needConsent), VariablesVisibility.ADMIN);
   }
 
-  public synchronized String getVarLdapAccountStatus() {
+  public String getVarLdapAccountStatus() {
     return VARIABLE_LDAP_ACCOUNT_STATUS;
   }
 
-  public synchronized String getVarLdapGroupMapping() {
+  public String getVarLdapGroupMapping() {
     return VARIABLE_LDAP_GROUP_MAPPING;
   }
 
-  public synchronized String getVarLdapUserId() {
+  public String getVarLdapUserId() {
     return VARIABLE_LDAP_USER_ID;
   }
 
-  public synchronized String getVarLdapUserGivenName() {
+  public String getVarLdapUserGivenName() {
     return VARIABLE_LDAP_USER_GIVEN_NAME;
   }
 
-  public synchronized String getVarLdapUserSurname() {
+  public String getVarLdapUserSurname() {
     return VARIABLE_LDAP_USER_SURNAME;
   }
 
-  public synchronized String getVarLdapUserMail() {
+  public String getVarLdapUserMail() {
     return VARIABLE_LDAP_USER_EMAIL;
   }
 
-  public synchronized String getVarLdapUserSearchFilter() {
+  public String getVarLdapUserSearchFilter() {
     return VARIABLE_LDAP_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getVarLdapGroupSearchFilter() {
+  public String getVarLdapGroupSearchFilter() {
     return VARIABLE_LDAP_GROUP_SEARCH_FILTER;
   }
 
-  public synchronized String getVarKrbUserSearchFilter() {
+  public String getVarKrbUserSearchFilter() {
     return VARIABLE_LDAP_KRB_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getVarLdapAttrBinary() {
+  public String getVarLdapAttrBinary() {
     return VARIABLE_LDAP_ATTR_BINARY;
   }
 
-  public synchronized String getVarLdapGroupTarget() {
+  public String getVarLdapGroupTarget() {
     return VARIABLE_LDAP_GROUP_TARGET;
   }
 
-  public synchronized String getVarLdapDynGroupTarget() {
+  public String getVarLdapDynGroupTarget() {
     return VARIABLE_LDAP_DYNAMIC_GROUP_TARGET;
   }
 
-  public synchronized String getVarLdapUserDN() {
+  public String getVarLdapUserDN() {
     return VARIABLE_LDAP_USERDN;
   }
 
-  public synchronized String getVarLdapGroupDN() {
+  public String getVarLdapGroupDN() {
     return VARIABLE_LDAP_GROUPDN;
   }
   
-  public synchronized  boolean isPasswordLoginDisabled() {
-    checkCache();
-    return DISABLE_PASSWORD_LOGIN;
+  public  boolean isPasswordLoginDisabled() {
+    CachedValues values = values();
+    return values.DISABLE_PASSWORD_LOGIN;
   }
   
-  public synchronized  boolean isRegistrationDisabled() {
-    checkCache();
-    return DISABLE_REGISTRATION;
+  public  boolean isRegistrationDisabled() {
+    CachedValues values = values();
+    return values.DISABLE_REGISTRATION;
   }
   
   public void updateRegistrationDisabled(boolean disable) {
     updateVariableInternal(VARIABLE_DISABLE_REGISTRATION, Boolean.toString(disable), VariablesVisibility.ADMIN);
   }
 
-  // Special flag to disable only registration UI but not the backend
-  // It is used in managed cloud when user management is MANAGED by hopsworks.ai
-  // Variable value is set during instance initialization by ec2-init
-  private boolean DISABLE_REGISTRATION_UI = false;
-  public synchronized boolean isRegistrationUIDisabled() {
-    checkCache();
-    return isRegistrationDisabled() || DISABLE_REGISTRATION_UI;
+  public boolean isRegistrationUIDisabled() {
+    CachedValues values = values();
+    return isRegistrationDisabled() || values.DISABLE_REGISTRATION_UI;
   }
 
-  public synchronized long ldapGroupMappingSyncInterval() {
-    checkCache();
-    return LDAP_GROUP_MAPPING_SYNC_INTERVAL;
+  public long ldapGroupMappingSyncInterval() {
+    CachedValues values = values();
+    return values.LDAP_GROUP_MAPPING_SYNC_INTERVAL;
   }
-  
-  
+
   //----------------------------END remote user------------------------------------
 
   // Service key rotation enabled
   private static final String SERVICE_KEY_ROTATION_ENABLED_KEY = "service_key_rotation_enabled";
-  private boolean serviceKeyRotationEnabled = false;
 
-  public synchronized boolean isServiceKeyRotationEnabled() {
-    checkCache();
-    return serviceKeyRotationEnabled;
+  public boolean isServiceKeyRotationEnabled() {
+    CachedValues values = values();
+    return values.serviceKeyRotationEnabled;
   }
 
   // Service key rotation interval
   private static final String SERVICE_KEY_ROTATION_INTERVAL_KEY = "service_key_rotation_interval";
-  private String serviceKeyRotationInterval = "3d";
 
-  public synchronized String getServiceKeyRotationInterval() {
-    checkCache();
-    return serviceKeyRotationInterval;
+  public String getServiceKeyRotationInterval() {
+    CachedValues values = values();
+    return values.serviceKeyRotationInterval;
   }
 
  // TensorBoard kill rotation interval in milliseconds (should be lower than the TensorBoardKillTimer)
   private static final String TENSORBOARD_MAX_LAST_ACCESSED = "tensorboard_max_last_accessed";
-  private int tensorBoardMaxLastAccessed = 1140000;
 
-  public synchronized int getTensorBoardMaxLastAccessed() {
-    checkCache();
-    return tensorBoardMaxLastAccessed;
+  public int getTensorBoardMaxLastAccessed() {
+    CachedValues values = values();
+    return values.tensorBoardMaxLastAccessed;
   }
 
   // TensorBoard kill rotation interval in milliseconds
   private static final String SPARK_UI_LOGS_OFFSET = "spark_ui_logs_offset";
-  private int sparkUILogsOffset = 512000;
 
-  public synchronized int getSparkUILogsOffset() {
-    checkCache();
-    return sparkUILogsOffset;
+  public int getSparkUILogsOffset() {
+    CachedValues values = values();
+    return values.sparkUILogsOffset;
   }
 
   public Long getConfTimeValue(String configurationTime) {
@@ -2837,398 +3084,303 @@ public class Settings {
     return new HashSet<>(Splitter.on(separator).trimResults().splitToList(csv));
   }
 
-  // Libraries that should not be uninstallable
-  private Set<String> IMMUTABLE_PYTHON_LIBRARY_NAMES;
   private static final String VARIABLE_IMMUTABLE_PYTHON_LIBRARY_NAMES = "preinstalled_python_lib_names";
   private static final String DEFAULT_IMMUTABLE_PYTHON_LIBRARY_NAMES = "pydoop, pyspark, jupyterlab, sparkmagic, " +
       "hdfscontents, pyjks, hops-apache-beam, pyopenssl";
 
-  public synchronized Set<String> getImmutablePythonLibraryNames() {
-    checkCache();
-    return IMMUTABLE_PYTHON_LIBRARY_NAMES;
+  public Set<String> getImmutablePythonLibraryNames() {
+    CachedValues values = values();
+    return values.IMMUTABLE_PYTHON_LIBRARY_NAMES;
   }
 
-  private String HOPSWORKS_VERSION;
-
-  public synchronized String getHopsworksVersion() {
-    checkCache();
-    return HOPSWORKS_VERSION;
+  public String getHopsworksVersion() {
+    CachedValues values = values();
+    return values.HOPSWORKS_VERSION;
   }
 
-  private String KUBE_KSERVE_TENSORFLOW_VERSION;
-
-  public synchronized String getKServeTensorflowVersion() {
-    checkCache();
-    return KUBE_KSERVE_TENSORFLOW_VERSION;
+  public String getKServeTensorflowVersion() {
+    CachedValues values = values();
+    return values.KUBE_KSERVE_TENSORFLOW_VERSION;
   }
 
-  private String TENSORFLOW_VERSION;
-
-  public synchronized String getTensorflowVersion() {
-    checkCache();
-    return TENSORFLOW_VERSION;
+  public String getTensorflowVersion() {
+    CachedValues values = values();
+    return values.TENSORFLOW_VERSION;
   }
 
-  private String OPENSEARCH_VERSION;
-
-  public synchronized String getOpenSearchVersion() {
-    checkCache();
-    return OPENSEARCH_VERSION;
+  public String getOpenSearchVersion() {
+    CachedValues values = values();
+    return values.OPENSEARCH_VERSION;
   }
 
-  private String KAFKA_VERSION;
-
-  public synchronized String getKafkaVersion() {
-    checkCache();
-    return KAFKA_VERSION;
+  public String getKafkaVersion() {
+    CachedValues values = values();
+    return values.KAFKA_VERSION;
   }
 
-  private String EPIPE_VERSION;
-
-  public synchronized String getEpipeVersion() {
-    checkCache();
-    return EPIPE_VERSION;
+  public String getEpipeVersion() {
+    CachedValues values = values();
+    return values.EPIPE_VERSION;
   }
 
-  private String FLINK_VERSION;
-
-  public synchronized String getFlinkVersion() {
-    checkCache();
-    return FLINK_VERSION;
+  public String getFlinkVersion() {
+    CachedValues values = values();
+    return values.FLINK_VERSION;
   }
 
-  private String SPARK_VERSION;
-
-  public synchronized String getSparkVersion() {
-    checkCache();
-    return SPARK_VERSION;
+  public String getSparkVersion() {
+    CachedValues values = values();
+    return values.SPARK_VERSION;
   }
 
-  private String TEZ_VERSION;
-
-  public synchronized String getTezVersion() {
-    checkCache();
-    return TEZ_VERSION;
+  public String getTezVersion() {
+    CachedValues values = values();
+    return values.TEZ_VERSION;
   }
 
-  private String HIVE2_VERSION;
-
-  public synchronized String getHive2Version() {
-    checkCache();
-    return HIVE2_VERSION;
+  public String getHive2Version() {
+    CachedValues values = values();
+    return values.HIVE2_VERSION;
   }
 
-  private String LIVY_VERSION;
-
-  public synchronized String getLivyVersion() {
-    checkCache();
-    return LIVY_VERSION;
+  public String getLivyVersion() {
+    CachedValues values = values();
+    return values.LIVY_VERSION;
   }
 
-  private String NDB_VERSION;
-
-  public synchronized String getNdbVersion() {
-    checkCache();
-    return NDB_VERSION;
+  public String getNdbVersion() {
+    CachedValues values = values();
+    return values.NDB_VERSION;
   }
 
-  private String FILEBEAT_VERSION;
-
-  public synchronized String getFilebeatVersion() {
-    checkCache();
-    return FILEBEAT_VERSION;
+  public String getFilebeatVersion() {
+    CachedValues values = values();
+    return values.FILEBEAT_VERSION;
   }
 
-  private String KIBANA_VERSION;
-
-  public synchronized String getKibanaVersion() {
-    checkCache();
-    return KIBANA_VERSION;
+  public String getKibanaVersion() {
+    CachedValues values = values();
+    return values.KIBANA_VERSION;
   }
 
-  private String LOGSTASH_VERSION;
-
-  public synchronized String getLogstashVersion() {
-    checkCache();
-    return LOGSTASH_VERSION;
+  public String getLogstashVersion() {
+    CachedValues values = values();
+    return values.LOGSTASH_VERSION;
   }
 
-  private String GRAFANA_VERSION;
-
-  public synchronized String getGrafanaVersion() {
-    checkCache();
-    return GRAFANA_VERSION;
+  public String getGrafanaVersion() {
+    CachedValues values = values();
+    return values.GRAFANA_VERSION;
   }
 
-  private String ZOOKEEPER_VERSION;
-
-  public synchronized String getZookeeperVersion() {
-    checkCache();
-    return ZOOKEEPER_VERSION;
+  public String getZookeeperVersion() {
+    CachedValues values = values();
+    return values.ZOOKEEPER_VERSION;
   }
 
   // -------------------------------- Kubernetes ----------------------------------------------//
-  private String KUBE_USER = "kubernetes";
 
-  public synchronized String getKubeUser() {
-    checkCache();
-    return KUBE_USER;
-  }
-  
-  private String KUBE_HOPSWORKS_USER = "hopsworks";
-  
-  public synchronized String getKubeHopsworksUser() {
-    checkCache();
-    return KUBE_HOPSWORKS_USER;
+  public String getKubeUser() {
+    CachedValues values = values();
+    return values.KUBE_USER;
   }
 
-  private String KUBEMASTER_URL = "https://192.168.68.102:6443";
-
-  public synchronized String getKubeMasterUrl() {
-    checkCache();
-    return KUBEMASTER_URL;
+  public String getKubeHopsworksUser() {
+    CachedValues values = values();
+    return values.KUBE_HOPSWORKS_USER;
   }
 
-  private String KUBE_CA_CERTFILE = "/srv/hops/certs-dir/certs/ca.cert.pem";
-
-  public synchronized String getKubeCaCertfile() {
-    checkCache();
-    return KUBE_CA_CERTFILE;
+  public String getKubeMasterUrl() {
+    CachedValues values = values();
+    return values.KUBEMASTER_URL;
   }
 
-  private String KUBE_CLIENT_KEYFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.key.pem";
-
-  public synchronized String getKubeClientKeyfile() {
-    checkCache();
-    return KUBE_CLIENT_KEYFILE;
+  public String getKubeCaCertfile() {
+    CachedValues values = values();
+    return values.KUBE_CA_CERTFILE;
   }
 
-  private String KUBE_CLIENT_CERTFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.cert.pem";
-
-  public synchronized String getKubeClientCertfile() {
-    checkCache();
-    return KUBE_CLIENT_CERTFILE;
+  public String getKubeClientKeyfile() {
+    CachedValues values = values();
+    return values.KUBE_CLIENT_KEYFILE;
   }
 
-  private String KUBE_CLIENT_KEYPASS = "adminpw";
-
-  public synchronized String getKubeClientKeypass() {
-    checkCache();
-    return KUBE_CLIENT_KEYPASS;
+  public String getKubeClientCertfile() {
+    CachedValues values = values();
+    return values.KUBE_CLIENT_CERTFILE;
   }
 
-  private String KUBE_TRUSTSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__tstore.jks";
-
-  public synchronized String getKubeTruststorePath() {
-    checkCache();
-    return KUBE_TRUSTSTORE_PATH;
+  public String getKubeClientKeypass() {
+    CachedValues values = values();
+    return values.KUBE_CLIENT_KEYPASS;
   }
 
-  private String KUBE_TRUSTSTORE_KEY = "adminpw";
-
-  public synchronized String getKubeTruststoreKey() {
-    checkCache();
-    return KUBE_TRUSTSTORE_KEY;
+  public String getKubeTruststorePath() {
+    CachedValues values = values();
+    return values.KUBE_TRUSTSTORE_PATH;
   }
 
-  private String KUBE_KEYSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__kstore.jks";
-
-  public synchronized String getKubeKeystorePath() {
-    checkCache();
-    return KUBE_KEYSTORE_PATH;
+  public String getKubeTruststoreKey() {
+    CachedValues values = values();
+    return values.KUBE_TRUSTSTORE_KEY;
   }
 
-  private String KUBE_KEYSTORE_KEY = "adminpw";
+  public String getKubeKeystorePath() {
+    CachedValues values = values();
+    return values.KUBE_KEYSTORE_PATH;
+  }
 
-  public synchronized String getKubeKeystoreKey() {
-    checkCache();
-    return KUBE_KEYSTORE_KEY;
+  public String getKubeKeystoreKey() {
+    CachedValues values = values();
+    return values.KUBE_KEYSTORE_KEY;
   }
 
-  private String KUBE_PULL_POLICY = "Always";
-  public synchronized String getKubeImagePullPolicy() {
-    checkCache();
-    return KUBE_PULL_POLICY;
+  public String getKubeImagePullPolicy() {
+    CachedValues values = values();
+    return values.KUBE_PULL_POLICY;
   }
 
-  private Integer KUBE_API_MAX_ATTEMPTS = 12;
-  public synchronized Integer getKubeAPIMaxAttempts() {
-    checkCache();
-    return KUBE_API_MAX_ATTEMPTS;
+  public Integer getKubeAPIMaxAttempts() {
+    CachedValues values = values();
+    return values.KUBE_API_MAX_ATTEMPTS;
   }
-  
-  private Boolean ONLINE_FEATURESTORE = false;
-  
-  public synchronized Boolean isOnlineFeaturestore() {
-    checkCache();
-    return ONLINE_FEATURESTORE;
+
+  public Boolean isOnlineFeaturestore() {
+    CachedValues values = values();
+    return values.ONLINE_FEATURESTORE;
   }
 
-  private String ONLINE_FEATURESTORE_TS = "";
-  public synchronized String getOnlineFeatureStoreTableSpace() {
-    checkCache();
-    return ONLINE_FEATURESTORE_TS;
+  public String getOnlineFeatureStoreTableSpace() {
+    CachedValues values = values();
+    return values.ONLINE_FEATURESTORE_TS;
   }
 
-  private Integer ONLINEFS_THREAD_NUMBER = 10;
-  public synchronized  Integer getOnlineFsThreadNumber() {
-    checkCache();
-    return ONLINEFS_THREAD_NUMBER;
+  public  Integer getOnlineFsThreadNumber() {
+    CachedValues values = values();
+    return values.ONLINEFS_THREAD_NUMBER;
   }
 
-  private Integer KUBE_DOCKER_MAX_MEMORY_ALLOCATION = 8192;
-  public synchronized Integer getKubeDockerMaxMemoryAllocation() {
-    checkCache();
-    return KUBE_DOCKER_MAX_MEMORY_ALLOCATION;
+  public Integer getKubeDockerMaxMemoryAllocation() {
+    CachedValues values = values();
+    return values.KUBE_DOCKER_MAX_MEMORY_ALLOCATION;
   }
 
-  private Double KUBE_DOCKER_MAX_CORES_ALLOCATION = 4.0;
-  public synchronized Double getKubeDockerMaxCoresAllocation() {
-    checkCache();
-    return KUBE_DOCKER_MAX_CORES_ALLOCATION;
+  public Double getKubeDockerMaxCoresAllocation() {
+    CachedValues values = values();
+    return values.KUBE_DOCKER_MAX_CORES_ALLOCATION;
   }
 
-  private Integer KUBE_DOCKER_MAX_GPUS_ALLOCATION = 1;
-  public synchronized Integer getKubeDockerMaxGpusAllocation() {
-    checkCache();
-    return KUBE_DOCKER_MAX_GPUS_ALLOCATION;
+  public Integer getKubeDockerMaxGpusAllocation() {
+    CachedValues values = values();
+    return values.KUBE_DOCKER_MAX_GPUS_ALLOCATION;
   }
   
-  private Boolean KUBE_INSTALLED = false;
-  public synchronized Boolean getKubeInstalled() {
-    checkCache();
-    return KUBE_INSTALLED;
+  public Boolean getKubeInstalled() {
+    CachedValues values = values();
+    return values.KUBE_INSTALLED;
   }
   
-  private Boolean KUBE_KSERVE_INSTALLED = false;
-  public synchronized Boolean getKubeKServeInstalled() {
-    checkCache();
-    return KUBE_KSERVE_INSTALLED;
+  public Boolean getKubeKServeInstalled() {
+    CachedValues values = values();
+    return values.KUBE_KSERVE_INSTALLED;
   }
   
-  private String KUBE_SERVING_NODE_LABELS = "";
-  public synchronized String getKubeServingNodeLabels() {
-    checkCache();
-    return KUBE_SERVING_NODE_LABELS;
+  public String getKubeServingNodeLabels() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_NODE_LABELS;
   }
   
-  private String KUBE_SERVING_NODE_TOLERATIONS = "";
-  public synchronized String getKubeServingNodeTolerations() {
-    checkCache();
-    return KUBE_SERVING_NODE_TOLERATIONS;
+  public String getKubeServingNodeTolerations() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_NODE_TOLERATIONS;
   }
   
-  private Integer KUBE_SERVING_MAX_MEMORY_ALLOCATION = -1; // no upper limit
-  public synchronized Integer getKubeServingMaxMemoryAllocation() {
-    checkCache();
-    return KUBE_SERVING_MAX_MEMORY_ALLOCATION;
+  public Integer getKubeServingMaxMemoryAllocation() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_MAX_MEMORY_ALLOCATION;
   }
   
-  private Double KUBE_SERVING_MAX_CORES_ALLOCATION = -1.0;  // no upper limit
-  public synchronized Double getKubeServingMaxCoresAllocation() {
-    checkCache();
-    return KUBE_SERVING_MAX_CORES_ALLOCATION;
+  public Double getKubeServingMaxCoresAllocation() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_MAX_CORES_ALLOCATION;
   }
   
-  private Integer KUBE_SERVING_MAX_GPUS_ALLOCATION = -1; // no upper limit
-  public synchronized Integer getKubeServingMaxGpusAllocation() {
-    checkCache();
-    return KUBE_SERVING_MAX_GPUS_ALLOCATION;
+  public Integer getKubeServingMaxGpusAllocation() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_MAX_GPUS_ALLOCATION;
   }
   
-  // Maximum number of instances. Possible values >=-1 where -1 means no limit.
-  private Integer KUBE_SERVING_MAX_NUM_INSTANCES = -1;
-  public synchronized Integer getKubeServingMaxNumInstances() {
-    checkCache();
-    return KUBE_SERVING_MAX_NUM_INSTANCES;
+  public Integer getKubeServingMaxNumInstances() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_MAX_NUM_INSTANCES;
   }
   
-  // Minimum number of instances. Possible values: >=-1 where -1 means no limit and 0 enforces scale-to-zero
-  // capabilities when available
-  private Integer KUBE_SERVING_MIN_NUM_INSTANCES = -1;
-  public synchronized Integer getKubeServingMinNumInstances() {
-    checkCache();
-    return KUBE_SERVING_MIN_NUM_INSTANCES;
+  public Integer getKubeServingMinNumInstances() {
+    CachedValues values = values();
+    return values.KUBE_SERVING_MIN_NUM_INSTANCES;
   }
   
-  private String KUBE_KNATIVE_DOMAIN_NAME = "";
-  public synchronized String getKubeKnativeDomainName() {
-    checkCache();
-    return KUBE_KNATIVE_DOMAIN_NAME;
+  public String getKubeKnativeDomainName() {
+    CachedValues values = values();
+    return values.KUBE_KNATIVE_DOMAIN_NAME;
   }
 
-  //comma seperated list of tainted nodes
-  private String KUBE_TAINTED_NODES = "";
-  public synchronized String getKubeTaintedNodes() {
-    checkCache();
-    return KUBE_TAINTED_NODES;
+  public String getKubeTaintedNodes() {
+    CachedValues values = values();
+    return values.KUBE_TAINTED_NODES;
   }
 
-  private String KUBE_TAINTED_NODES_MONITOR_INTERVAL = "30m";
-  public synchronized String getKubeTaintedMonitorInterval() {
-    checkCache();
-    return KUBE_TAINTED_NODES_MONITOR_INTERVAL;
+  public String getKubeTaintedMonitorInterval() {
+    CachedValues values = values();
+    return values.KUBE_TAINTED_NODES_MONITOR_INTERVAL;
   }
 
-  private Boolean HOPSWORKS_ENTERPRISE = false;
-  public synchronized Boolean getHopsworksEnterprise() {
-    checkCache();
-    return HOPSWORKS_ENTERPRISE;
+  public Boolean getHopsworksEnterprise() {
+    CachedValues values = values();
+    return values.HOPSWORKS_ENTERPRISE;
   }
 
-  private boolean ENABLE_DATA_SCIENCE_PROFILE = false;
-  public synchronized boolean getEnableDataScienceProfile() {
-    checkCache();
-    return ENABLE_DATA_SCIENCE_PROFILE;
+  public boolean getEnableDataScienceProfile() {
+    CachedValues values = values();
+    return values.ENABLE_DATA_SCIENCE_PROFILE;
   }
 
-  private String SERVING_MONITOR_INT = "30s";
-
-  public synchronized String getServingMonitorInt() {
-    checkCache();
-    return SERVING_MONITOR_INT;
+  public String getServingMonitorInt() {
+    CachedValues values = values();
+    return values.SERVING_MONITOR_INT;
   }
 
-  private int SERVING_CONNECTION_POOL_SIZE = 40;
-  public synchronized int getServingConnectionPoolSize() {
-    checkCache();
-    return SERVING_CONNECTION_POOL_SIZE;
+  public int getServingConnectionPoolSize() {
+    CachedValues values = values();
+    return values.SERVING_CONNECTION_POOL_SIZE;
   }
 
-  private int SERVING_MAX_ROUTE_CONNECTIONS = 10;
-  public synchronized int getServingMaxRouteConnections() {
-    checkCache();
-    return SERVING_MAX_ROUTE_CONNECTIONS;
+  public int getServingMaxRouteConnections() {
+    CachedValues values = values();
+    return values.SERVING_MAX_ROUTE_CONNECTIONS;
   }
 
-  private int TENSORBOARD_MAX_RELOAD_THREADS = 1;
-  public synchronized int getTensorBoardMaxReloadThreads() {
-    checkCache();
-    return TENSORBOARD_MAX_RELOAD_THREADS;
+  public int getTensorBoardMaxReloadThreads() {
+    CachedValues values = values();
+    return values.TENSORBOARD_MAX_RELOAD_THREADS;
   }
 
-  private String JUPYTER_HOST = "localhost";
-
-  public synchronized String getJupyterHost() {
-    checkCache();
-    return JUPYTER_HOST;
+  public String getJupyterHost() {
+    CachedValues values = values();
+    return values.JUPYTER_HOST;
   }
 
-  private boolean ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = false;
-
-  public synchronized boolean isPythonKernelEnabled() {
-    checkCache();
+  public boolean isPythonKernelEnabled() {
+    CachedValues values = values();
     if(getKubeInstalled()) {
       return true;
     }
-    return ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES;
+    return values.ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES;
   }
 
-  private boolean ENABLE_FLYINGDUCK = false;
-
-  public synchronized boolean isFlyingduckEnabled() {
-    checkCache();
-    return ENABLE_FLYINGDUCK;
+  public boolean isFlyingduckEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_FLYINGDUCK;
   }
 
   //These dependencies were collected by installing jupyterlab in a new environment
@@ -3242,166 +3394,137 @@ public class Settings {
       "packaging", "webencodings", "bleach", "testpath", "nbformat", "nest-asyncio", "async-generator",
       "nbclient", "nbconvert", "notebook", "json5", "jupyterlab-server", "jupyterlab", "sparkmagic"));
 
-  private String JWT_SIGNATURE_ALGORITHM = "HS512";
-  private String JWT_SIGNING_KEY_NAME = "apiKey";
-  private String JWT_ISSUER = "hopsworks@logicalclocks.com";
-
-  private long JWT_LIFETIME_MS = 1800000l;
-  private int JWT_EXP_LEEWAY_SEC = 900;
-
-  private long SERVICE_JWT_LIFETIME_MS = 86400000l;
-  private int SERVICE_JWT_EXP_LEEWAY_SEC = 43200;
-
-  public synchronized String getJWTSignatureAlg() {
-    checkCache();
-    return JWT_SIGNATURE_ALGORITHM;
+  public String getJWTSignatureAlg() {
+    CachedValues values = values();
+    return values.JWT_SIGNATURE_ALGORITHM;
   }
 
-  public synchronized long getJWTLifetimeMs() {
-    checkCache();
-    return JWT_LIFETIME_MS;
+  public long getJWTLifetimeMs() {
+    CachedValues values = values();
+    return values.JWT_LIFETIME_MS;
   }
 
-  public synchronized int getJWTExpLeewaySec() {
-    checkCache();
-    return JWT_EXP_LEEWAY_SEC;
+  public int getJWTExpLeewaySec() {
+    CachedValues values = values();
+    return values.JWT_EXP_LEEWAY_SEC;
   }
 
-  public synchronized long getJWTLifetimeMsPlusLeeway() {
-    checkCache();
-    return JWT_LIFETIME_MS + (JWT_EXP_LEEWAY_SEC * 1000L);
+  public long getJWTLifetimeMsPlusLeeway() {
+    CachedValues values = values();
+    return values.JWT_LIFETIME_MS + (values.JWT_EXP_LEEWAY_SEC * 1000L);
   }
 
-  public synchronized long getServiceJWTLifetimeMS() {
-    checkCache();
-    return SERVICE_JWT_LIFETIME_MS;
+  public long getServiceJWTLifetimeMS() {
+    CachedValues values = values();
+    return values.SERVICE_JWT_LIFETIME_MS;
   }
 
-  public synchronized int getServiceJWTExpLeewaySec() {
-    checkCache();
-    return SERVICE_JWT_EXP_LEEWAY_SEC;
+  public int getServiceJWTExpLeewaySec() {
+    CachedValues values = values();
+    return values.SERVICE_JWT_EXP_LEEWAY_SEC;
   }
 
-  public synchronized String getJWTSigningKeyName() {
-    checkCache();
-    return JWT_SIGNING_KEY_NAME;
+  public String getJWTSigningKeyName() {
+    CachedValues values = values();
+    return values.JWT_SIGNING_KEY_NAME;
   }
 
-  public synchronized String getJWTIssuer() {
-    checkCache();
-    return JWT_ISSUER;
+  public String getJWTIssuer() {
+    CachedValues values = values();
+    return values.JWT_ISSUER;
   }
 
-  private String SERVICE_API_KEY = "";
-  public synchronized String getServiceApiKey() {
-    checkCache();
-    return SERVICE_API_KEY;
+  public String getServiceApiKey() {
+    CachedValues values = values();
+    return values.SERVICE_API_KEY;
   }
 
-  private int CONNECTION_KEEPALIVE_TIMEOUT = 30;
-  public synchronized int getConnectionKeepAliveTimeout() {
-    checkCache();
-    return CONNECTION_KEEPALIVE_TIMEOUT;
+  public int getConnectionKeepAliveTimeout() {
+    CachedValues values = values();
+    return values.CONNECTION_KEEPALIVE_TIMEOUT;
   }
 
   private int MAGGY_CLEANUP_INTERVAL = 24 * 60 * 1000;
-  public synchronized int getMaggyCleanupInterval() {
-    checkCache();
+  public int getMaggyCleanupInterval() {
     return MAGGY_CLEANUP_INTERVAL;
   }
 
-  private String HIVE_CONF_PATH = "/srv/hops/apache-hive/conf/hive-site.xml";
-  public synchronized String getHiveConfPath() {
-    checkCache();
-    return HIVE_CONF_PATH;
+  public String getHiveConfPath() {
+    CachedValues values = values();
+    return values.HIVE_CONF_PATH;
   }
 
-  private String FS_PY_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs_util-2.1.0-SNAPSHOT.py";
-  public synchronized String getFSPyJobUtilPath() {
-    checkCache();
-    return FS_PY_JOB_UTIL_PATH;
+  public String getFSPyJobUtilPath() {
+    CachedValues values = values();
+    return values.FS_PY_JOB_UTIL_PATH;
   }
 
-  private String FS_JAVA_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs-utils-2.1.0-SNAPSHOT.jar";
-  public synchronized String getFSJavaJobUtilPath() {
-    checkCache();
-    return FS_JAVA_JOB_UTIL_PATH;
+  public String getFSJavaJobUtilPath() {
+    CachedValues values = values();
+    return values.FS_JAVA_JOB_UTIL_PATH;
   }
   
-  private String HDFS_FILE_OP_JOB_UTIL = "hdfs:///user/spark/hdfs_file_operations-0.1.0.py";
-  public synchronized String getHdfsFileOpJobUtil() {
-    checkCache();
-    return HDFS_FILE_OP_JOB_UTIL;
+  public String getHdfsFileOpJobUtil() {
+    CachedValues values = values();
+    return values.HDFS_FILE_OP_JOB_UTIL;
   }
 
-  private int HDFS_FILE_OP_JOB_DRIVER_MEM = 2048;
-  public synchronized int getHdfsFileOpJobDriverMemory() {
-    checkCache();
-    return HDFS_FILE_OP_JOB_DRIVER_MEM;
+  public int getHdfsFileOpJobDriverMemory() {
+    CachedValues values = values();
+    return values.HDFS_FILE_OP_JOB_DRIVER_MEM;
   }
-  private long FEATURESTORE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
-  public synchronized long getFeaturestoreDbDefaultQuota() {
-    checkCache();
-    return FEATURESTORE_DB_DEFAULT_QUOTA;
+  public long getFeaturestoreDbDefaultQuota() {
+    CachedValues values = values();
+    return values.FEATURESTORE_DB_DEFAULT_QUOTA;
   }
 
-  private String FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT = "ORC";
-
-  public synchronized String getFeaturestoreDbDefaultStorageFormat() {
-    checkCache();
-    return FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT;
+  public String getFeaturestoreDbDefaultStorageFormat() {
+    CachedValues values = values();
+    return values.FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT;
   }
 
   // Storage connectors
 
-  private boolean ENABLE_REDSHIFT_STORAGE_CONNECTORS = true;
-  public synchronized boolean isRedshiftStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_REDSHIFT_STORAGE_CONNECTORS;
+  public boolean isRedshiftStorageConnectorsEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_REDSHIFT_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_ADLS_STORAGE_CONNECTORS = false;
-  public synchronized boolean isAdlsStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_ADLS_STORAGE_CONNECTORS;
+  public boolean isAdlsStorageConnectorsEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_ADLS_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = true;
-  public synchronized boolean isSnowflakeStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_SNOWFLAKE_STORAGE_CONNECTORS;
+  public boolean isSnowflakeStorageConnectorsEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_SNOWFLAKE_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_KAFKA_STORAGE_CONNECTORS = true;
-  public synchronized boolean isKafkaStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_KAFKA_STORAGE_CONNECTORS;
+  public boolean isKafkaStorageConnectorsEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_KAFKA_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_GCS_STORAGE_CONNECTORS = false;
-  public synchronized boolean isGcsStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_GCS_STORAGE_CONNECTORS;
+  public boolean isGcsStorageConnectorsEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_GCS_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_BIGQUERY_STORAGE_CONNECTORS = false;
-  public synchronized boolean isBigqueryStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_BIGQUERY_STORAGE_CONNECTORS;
+  public boolean isBigqueryStorageConnectorsEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_BIGQUERY_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_BRING_YOUR_OWN_KAFKA = false;
-  public synchronized boolean isBringYourOwnKafkaEnabled() {
-    checkCache();
-    return ENABLE_BRING_YOUR_OWN_KAFKA;
+  public boolean isBringYourOwnKafkaEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_BRING_YOUR_OWN_KAFKA;
   }
 
   // test connectors docker
-  private String TESTCONNECTOR_IMAGE_VERSION = "0.1";
   
   public String getTestConnectorImage() {
-    checkCache();
-    return "testconnector:" + TESTCONNECTOR_IMAGE_VERSION;
+    CachedValues values = values();
+    return "testconnector:" + values.TESTCONNECTOR_IMAGE_VERSION;
   }
   
   // launch script for test connectors
@@ -3412,36 +3535,31 @@ public class Settings {
   }
   // End - Storage connectors
   
-  private boolean ENABLE_FEATURE_MONITORING = false;
-  public synchronized boolean isFeatureMonitoringEnabled() {
-    checkCache();
-    return ENABLE_FEATURE_MONITORING;
+  public boolean isFeatureMonitoringEnabled() {
+    CachedValues values = values();
+    return values.ENABLE_FEATURE_MONITORING;
   }
-  
-  private Boolean LOCALHOST = false;
 
-  public synchronized Boolean isLocalHost() {
-    checkCache();
-    return LOCALHOST;
+  public Boolean isLocalHost() {
+    CachedValues values = values();
+    return values.LOCALHOST;
   }
 
-  private String CLOUD = "";
-
-  public synchronized String getCloudProvider() {
-    checkCache();
-    return CLOUD;
+  public String getCloudProvider() {
+    CachedValues values = values();
+    return values.CLOUD;
   }
 
   public Boolean isCloud() {
     return !getCloudProvider().isEmpty();
   }
 
-  public synchronized CLOUD_TYPES getCloudType() {
-    checkCache();
-    if (CLOUD.isEmpty()) {
+  public CLOUD_TYPES getCloudType() {
+    CachedValues values = values();
+    if (values.CLOUD.isEmpty()) {
       return CLOUD_TYPES.NONE;
     }
-    return CLOUD_TYPES.fromString(CLOUD);
+    return CLOUD_TYPES.fromString(values.CLOUD);
   }
   
   public static enum CLOUD_TYPES {
@@ -3459,45 +3577,38 @@ public class Settings {
     return isCloud() || isLocalHost();
   }
   
-  private String FEATURESTORE_JDBC_URL = "jdbc:mysql://onlinefs.mysql.service.consul:3306/";
-  public synchronized String getFeaturestoreJdbcUrl() {
-    checkCache();
-    return FEATURESTORE_JDBC_URL;
+  public String getFeaturestoreJdbcUrl() {
+    CachedValues values = values();
+    return values.FEATURESTORE_JDBC_URL;
   }
 
-  private String FEATURESTORE_DB_ADMIN_USER = "";
-  public synchronized String getVariableFeaturestoreDbAdminUser() {
-    checkCache();
-    return FEATURESTORE_DB_ADMIN_USER;
+  public String getVariableFeaturestoreDbAdminUser() {
+    CachedValues values = values();
+    return values.FEATURESTORE_DB_ADMIN_USER;
   }
 
-  private String FEATURESTORE_DB_ADMIN_PWD = "";
-  public synchronized String getVariableFeaturestoreDbAdminPwd() {
-    checkCache();
-    return FEATURESTORE_DB_ADMIN_PWD;
+  public String getVariableFeaturestoreDbAdminPwd() {
+    CachedValues values = values();
+    return values.FEATURESTORE_DB_ADMIN_PWD;
   }
 
-  private Boolean REQUESTS_VERIFY = false;
-  
   /**
    * Whether to verify HTTP requests in hops-util-py. Accepted values are "true", "false"
    *
    */
-  public synchronized Boolean getRequestsVerify() {
-    checkCache();
-    return REQUESTS_VERIFY;
+  public Boolean getRequestsVerify() {
+    CachedValues values = values();
+    return values.REQUESTS_VERIFY;
   }
   
-  private  Boolean KIBANA_HTTPS_ENABELED = false;
-  public synchronized Boolean isKibanaHTTPSEnabled() {
-    checkCache();
-    return KIBANA_HTTPS_ENABELED;
+  public Boolean isKibanaHTTPSEnabled() {
+    CachedValues values = values();
+    return values.KIBANA_HTTPS_ENABELED;
   }
   
-  private  Boolean KIBANA_MULTI_TENANCY_ENABELED = false;
-  public synchronized Boolean isKibanaMultiTenancyEnabled() {
-    checkCache();
-    return KIBANA_MULTI_TENANCY_ENABELED;
+  public Boolean isKibanaMultiTenancyEnabled() {
+    CachedValues values = values();
+    return values.KIBANA_MULTI_TENANCY_ENABELED;
   }
   
   public static final int OPENSEARCH_KIBANA_NO_CONNECTIONS = 30;
@@ -3509,228 +3620,194 @@ public class Settings {
   private static final String VARIABLE_PROVENANCE_CLEANER_PERIOD = "provenance_cleaner_period";
   
   public static final String PROV_FILE_INDEX_SUFFIX = "__file_prov";
-  private Provenance.Type PROVENANCE_TYPE = Provenance.Type.MIN;
-  private String PROVENANCE_TYPE_S = PROVENANCE_TYPE.name();
-  private Integer PROVENANCE_CLEANUP_SIZE = 5;
-  private Integer PROVENANCE_GRAPH_MAX_SIZE = 50;
-  private Long PROVENANCE_CLEANER_PERIOD = 3600L; //1h in s
   public static final Integer PROVENANCE_OPENSEARCH_PAGE_DEFAULT_SIZE = 1000;
   
   public String getProvFileIndex(Long projectIId) {
     return projectIId.toString() + Settings.PROV_FILE_INDEX_SUFFIX;
   }
   
-  private void populateProvenanceCache() {
-    PROVENANCE_TYPE_S = setStrVar(VARIABLE_PROVENANCE_TYPE, PROVENANCE_TYPE_S);
+  private void populateProvenanceCache(CachedValues values) {
+    values.PROVENANCE_TYPE_S = setStrVar(VARIABLE_PROVENANCE_TYPE, values.PROVENANCE_TYPE_S);
     try {
-      PROVENANCE_TYPE = ProvTypeDTO.provTypeFromString(PROVENANCE_TYPE_S);
+      values.PROVENANCE_TYPE = ProvTypeDTO.provTypeFromString(values.PROVENANCE_TYPE_S);
     } catch(ProvenanceException e) {
-      LOGGER.log(Level.WARNING, "unknown prov type:" + PROVENANCE_TYPE_S + ", using default");
-      PROVENANCE_TYPE = Provenance.Type.MIN;
-      PROVENANCE_TYPE_S = PROVENANCE_TYPE.name();
+      LOGGER.log(Level.WARNING, "unknown prov type:" + values.PROVENANCE_TYPE_S + ", using default");
+      values.PROVENANCE_TYPE = Provenance.Type.MIN;
+      values.PROVENANCE_TYPE_S = values.PROVENANCE_TYPE.name();
     }
-    PROVENANCE_GRAPH_MAX_SIZE = setIntVar(VARIABLE_PROVENANCE_GRAPH_MAX_SIZE, PROVENANCE_GRAPH_MAX_SIZE);
-    PROVENANCE_CLEANUP_SIZE = setIntVar(VARIABLE_PROVENANCE_CLEANUP_SIZE, PROVENANCE_CLEANUP_SIZE);
-    PROVENANCE_CLEANER_PERIOD = setLongVar(VARIABLE_PROVENANCE_CLEANER_PERIOD, PROVENANCE_CLEANER_PERIOD);
+    values.PROVENANCE_GRAPH_MAX_SIZE = setIntVar(VARIABLE_PROVENANCE_GRAPH_MAX_SIZE, values.PROVENANCE_GRAPH_MAX_SIZE);
+    values.PROVENANCE_CLEANUP_SIZE = setIntVar(VARIABLE_PROVENANCE_CLEANUP_SIZE, values.PROVENANCE_CLEANUP_SIZE);
+    values.PROVENANCE_CLEANER_PERIOD = setLongVar(VARIABLE_PROVENANCE_CLEANER_PERIOD, values.PROVENANCE_CLEANER_PERIOD);
   }
   
-  public synchronized Provenance.Type getProvType() {
-    checkCache();
-    return PROVENANCE_TYPE;
+  public Provenance.Type getProvType() {
+    CachedValues values = values();
+    return values.PROVENANCE_TYPE;
   }
 
-  public synchronized Integer getProvenanceGraphMaxSize() {
-    checkCache();
-    return PROVENANCE_GRAPH_MAX_SIZE;
+  public Integer getProvenanceGraphMaxSize() {
+    CachedValues values = values();
+    return values.PROVENANCE_GRAPH_MAX_SIZE;
   }
 
-  public synchronized Integer getProvCleanupSize() {
-    checkCache();
-    return PROVENANCE_CLEANUP_SIZE;
+  public Integer getProvCleanupSize() {
+    CachedValues values = values();
+    return values.PROVENANCE_CLEANUP_SIZE;
   }
 
-  public synchronized Long getProvCleanerPeriod() {
-    checkCache();
-    return PROVENANCE_CLEANER_PERIOD;
+  public Long getProvCleanerPeriod() {
+    CachedValues values = values();
+    return values.PROVENANCE_CLEANER_PERIOD;
   }
 
   //------------------------------ END PROVENANCE --------------------------------------------//
   
-  private String CLIENT_PATH = "/srv/hops/client.tar.gz";
-  public synchronized String getClientPath() {
-    checkCache();
-    return CLIENT_PATH;
+  public String getClientPath() {
+    CachedValues values = values();
+    return values.CLIENT_PATH;
   }
   
   // CLOUD
-  private String CLOUD_EVENTS_ENDPOINT = "";
   
-  public synchronized String getCloudEventsEndPoint() {
-    checkCache();
-    return CLOUD_EVENTS_ENDPOINT;
+  public String getCloudEventsEndPoint() {
+    CachedValues values = values();
+    return values.CLOUD_EVENTS_ENDPOINT;
   }
-  
-  private String CLOUD_EVENTS_ENDPOINT_API_KEY = "";
-  
-  public synchronized String getCloudEventsEndPointAPIKey() {
-    checkCache();
-    return CLOUD_EVENTS_ENDPOINT_API_KEY;
+
+  public String getCloudEventsEndPointAPIKey() {
+    CachedValues values = values();
+    return values.CLOUD_EVENTS_ENDPOINT_API_KEY;
   }
 
-  private int FG_PREVIEW_LIMIT = 100;
-  public synchronized int getFGPreviewLimit() {
-    checkCache();
-    return FG_PREVIEW_LIMIT;
+  public int getFGPreviewLimit() {
+    CachedValues values = values();
+    return values.FG_PREVIEW_LIMIT;
   }
 
   public static final String FEATURESTORE_INDEX = "featurestore";
   public static final String FEATURESTORE_PROJECT_ID_FIELD = "project_id";
 
   //-----------------------------YARN DOCKER-------------------------------------------------//
-  private static String YARN_RUNTIME = "docker";
   
-  public synchronized String getYarnRuntime(){
-    checkCache();
-    return YARN_RUNTIME;
+  public String getYarnRuntime(){
+    CachedValues values = values();
+    return values.YARN_RUNTIME;
   }
 
   //----------------------------YARN NODEMANAGER--------------------------------------------//
-  private boolean checkNodemanagersStatus = false;
-  public synchronized boolean isCheckingForNodemanagerStatusEnabled() {
-    checkCache();
-    return checkNodemanagersStatus;
+  public boolean isCheckingForNodemanagerStatusEnabled() {
+    CachedValues values = values();
+    return values.checkNodemanagersStatus;
   }
 
-  private static String DOCKER_MOUNTS =
-      "/srv/hops/hadoop/etc/hadoop,/srv/hops/spark,/srv/hops/flink";
-  
-  public synchronized String getDockerMounts() {
-    checkCache();
+  public String getDockerMounts() {
+    CachedValues values = values();
     StringBuilder result = new StringBuilder();
-    for(String mountPoint: DOCKER_MOUNTS.split(",")){
+    for(String mountPoint: values.DOCKER_MOUNTS.split(",")){
       result.append(mountPoint).append(":").append(mountPoint).append(":ro,");
     }
     return result.substring(0, result.length() - 1);
   }
 
-  private String DOCKER_BASE_IMAGE_PYTHON_NAME = "python310";
-
-  public synchronized String getBaseDockerImagePythonName() {
-    checkCache();
+  public String getBaseDockerImagePythonName() {
+    CachedValues values = values();
     if(isManagedDockerRegistry()){
-      return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + DOCKER_BASE_IMAGE_PYTHON_NAME +
-          "_" + HOPSWORKS_VERSION;
+      return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + values.DOCKER_BASE_IMAGE_PYTHON_NAME +
+          "_" + values.HOPSWORKS_VERSION;
     }else{
-      return DOCKER_BASE_IMAGE_PYTHON_NAME + ":" + HOPSWORKS_VERSION;
+      return values.DOCKER_BASE_IMAGE_PYTHON_NAME + ":" + values.HOPSWORKS_VERSION;
     }
   }
 
-  private String DOCKER_BASE_IMAGE_PYTHON_VERSION = "3.10";
-
-  public synchronized String getDockerBaseImagePythonVersion() {
-    checkCache();
-    return DOCKER_BASE_IMAGE_PYTHON_VERSION;
+  public String getDockerBaseImagePythonVersion() {
+    CachedValues values = values();
+    return values.DOCKER_BASE_IMAGE_PYTHON_VERSION;
   }
 
   private final static String DOCKER_BASE_NON_PYTHON_IMAGE = "base";
-  public synchronized String getBaseNonPythonDockerImage() {
-    return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + HOPSWORKS_VERSION;
+  public String getBaseNonPythonDockerImage() {
+    CachedValues values = values();
+    return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + values.HOPSWORKS_VERSION;
   }
 
-  private long YARN_APP_UID = 1235L;
   public long getYarnAppUID() {
-    checkCache();
-    return YARN_APP_UID;
+    CachedValues values = values();
+    return values.YARN_APP_UID;
   }
   //-----------------------------END YARN DOCKER-------------------------------------------------//
   
-  private KubeType KUBE_TYPE = KubeType.Local;
-  public synchronized KubeType getKubeType() {
-    checkCache();
-    return KUBE_TYPE;
+  public KubeType getKubeType() {
+    CachedValues values = values();
+    return values.KUBE_TYPE;
   }
   
-  private String DOCKER_NAMESPACE = "";
-  public synchronized String getDockerNamespace(){
-    checkCache();
-    return DOCKER_NAMESPACE;
+  public String getDockerNamespace(){
+    CachedValues values = values();
+    return values.DOCKER_NAMESPACE;
   }
   
-  private Boolean MANAGED_DOCKER_REGISTRY = false;
-  public synchronized Boolean isManagedDockerRegistry(){
-    checkCache();
-    return MANAGED_DOCKER_REGISTRY && isCloud();
+  public Boolean isManagedDockerRegistry(){
+    CachedValues values = values();
+    return values.MANAGED_DOCKER_REGISTRY && isCloud();
   }
 
-  public synchronized String getBaseNonPythonDockerImageWithNoTag(){
-    checkCache();
+  public String getBaseNonPythonDockerImageWithNoTag(){
     return DOCKER_BASE_NON_PYTHON_IMAGE;
   }
 
-  private String DOCKER_JOB_MOUNTS_LIST;
-  public synchronized List<String> getDockerMountsList(){
-    checkCache();
-    return Arrays.asList(DOCKER_JOB_MOUNTS_LIST.split(","));
+  public List<String> getDockerMountsList(){
+    CachedValues values = values();
+    return Arrays.asList(values.DOCKER_JOB_MOUNTS_LIST.split(","));
   }
 
-  private Boolean DOCKER_JOB_MOUNT_ALLOWED = true;
-  public synchronized Boolean isDockerJobMountAllowed(){
-    checkCache();
-    return DOCKER_JOB_MOUNT_ALLOWED;
+  public Boolean isDockerJobMountAllowed(){
+    CachedValues values = values();
+    return values.DOCKER_JOB_MOUNT_ALLOWED;
   }
 
-  private Boolean DOCKER_JOB_UID_STRICT = true;
-  public synchronized Boolean isDockerJobUidStrict(){
-    checkCache();
-    return DOCKER_JOB_UID_STRICT;
+  public Boolean isDockerJobUidStrict(){
+    CachedValues values = values();
+    return values.DOCKER_JOB_UID_STRICT;
   }
 
-  private int EXECUTIONS_PER_JOB_LIMIT = 10000;
-  public synchronized int getExecutionsPerJobLimit(){
-    checkCache();
-    return EXECUTIONS_PER_JOB_LIMIT;
+  public int getExecutionsPerJobLimit(){
+    CachedValues values = values();
+    return values.EXECUTIONS_PER_JOB_LIMIT;
   }
 
-  private int EXECUTIONS_CLEANER_BATCH_SIZE = 1000;
-  public synchronized int getExecutionsCleanerBatchSize(){
-    checkCache();
-    return EXECUTIONS_CLEANER_BATCH_SIZE;
+  public int getExecutionsCleanerBatchSize(){
+    CachedValues values = values();
+    return values.EXECUTIONS_CLEANER_BATCH_SIZE;
   }
 
-  private int EXECUTIONS_CLEANER_INTERVAL_MS = 600000;
-  public synchronized int getExecutionsCleanerInterval(){
-    checkCache();
-    return EXECUTIONS_CLEANER_INTERVAL_MS;
+  public int getExecutionsCleanerInterval(){
+    CachedValues values = values();
+    return values.EXECUTIONS_CLEANER_INTERVAL_MS;
   }
   
-  private int STATISTICS_CLEANER_BATCH_SIZE = 1000;
-  public synchronized int getStatisticsCleanerBatchSize(){
-    checkCache();
-    return STATISTICS_CLEANER_BATCH_SIZE;
+  public int getStatisticsCleanerBatchSize(){
+    CachedValues values = values();
+    return values.STATISTICS_CLEANER_BATCH_SIZE;
   }
   
-  private int STATISTICS_CLEANER_INTERVAL_MS = 900000;
-  public synchronized int getStatisticsCleanerInterval(){
-    checkCache();
-    return STATISTICS_CLEANER_INTERVAL_MS;
+  public int getStatisticsCleanerInterval(){
+    CachedValues values = values();
+    return values.STATISTICS_CLEANER_INTERVAL_MS;
   }
 
-  private int MAX_ENV_YML_BYTE_SIZE = 20000;
-  public synchronized int getMaxEnvYmlByteSize() {
-    checkCache();
-    return MAX_ENV_YML_BYTE_SIZE;
+  public int getMaxEnvYmlByteSize() {
+    CachedValues values = values();
+    return values.MAX_ENV_YML_BYTE_SIZE;
   }
   
-  private int LIVY_STARTUP_TIMEOUT = 240;
-  public synchronized int getLivyStartupTimeout() {
-    checkCache();
-    return LIVY_STARTUP_TIMEOUT;
+  public int getLivyStartupTimeout() {
+    CachedValues values = values();
+    return values.LIVY_STARTUP_TIMEOUT;
   }
   
-  private boolean USER_SEARCH_ENABLED = true;
-  public synchronized boolean isUserSearchEnabled() {
-    checkCache();
-    return USER_SEARCH_ENABLED;
+  public boolean isUserSearchEnabled() {
+    CachedValues values = values();
+    return values.USER_SEARCH_ENABLED;
   }
   
   /*
@@ -3738,138 +3815,306 @@ public class Settings {
    * do not create the user if it does not bellong to any group.
    * This is to avoid having users that belong to no group poluting the users table
    */
-  private boolean REJECT_REMOTE_USER_NO_GROUP = false;
-  public synchronized boolean getRejectRemoteNoGroup() {
-    checkCache();
-    return REJECT_REMOTE_USER_NO_GROUP;
+  public boolean getRejectRemoteNoGroup() {
+    CachedValues values = values();
+    return values.REJECT_REMOTE_USER_NO_GROUP;
   }
   
   public void updateRejectRemoteNoGroup(boolean reject) {
     updateVariableInternal(VARIABLE_REJECT_REMOTE_USER_NO_GROUP, Boolean.toString(reject), VariablesVisibility.ADMIN);
   }
   
-  private boolean SKIP_NAMESPACE_CREATION = false;
-  public synchronized boolean shouldSkipNamespaceCreation() {
-    checkCache();
-    return SKIP_NAMESPACE_CREATION;
+  public boolean shouldSkipNamespaceCreation() {
+    CachedValues values = values();
+    return values.SKIP_NAMESPACE_CREATION;
   }
 
-  private long QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = -1L;
-  public synchronized long getQuotasOnlineEnabledFeaturegroups() {
-    checkCache();
-    return QUOTAS_ONLINE_ENABLED_FEATUREGROUPS;
+  public long getQuotasOnlineEnabledFeaturegroups() {
+    CachedValues values = values();
+    return values.QUOTAS_ONLINE_ENABLED_FEATUREGROUPS;
   }
 
-  private long QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = -1L;
-  public synchronized long getQuotasOnlineDisabledFeaturegroups() {
-    checkCache();
-    return QUOTAS_ONLINE_DISABLED_FEATUREGROUPS;
+  public long getQuotasOnlineDisabledFeaturegroups() {
+    CachedValues values = values();
+    return values.QUOTAS_ONLINE_DISABLED_FEATUREGROUPS;
   }
 
-  private long QUOTAS_TRAINING_DATASETS = -1L;
-  public synchronized long getQuotasTrainingDatasets() {
-    checkCache();
-    return QUOTAS_TRAINING_DATASETS;
+  public long getQuotasTrainingDatasets() {
+    CachedValues values = values();
+    return values.QUOTAS_TRAINING_DATASETS;
   }
 
-  private long QUOTAS_RUNNING_MODEL_DEPLOYMENTS = -1L;
-  public synchronized long getQuotasRunningModelDeployments() {
-    checkCache();
-    return QUOTAS_RUNNING_MODEL_DEPLOYMENTS;
+  public long getQuotasRunningModelDeployments() {
+    CachedValues values = values();
+    return values.QUOTAS_RUNNING_MODEL_DEPLOYMENTS;
   }
 
-  private long QUOTAS_TOTAL_MODEL_DEPLOYMENTS = -1L;
-  public synchronized long getQuotasTotalModelDeployments() {
-    checkCache();
-    return QUOTAS_TOTAL_MODEL_DEPLOYMENTS;
+  public long getQuotasTotalModelDeployments() {
+    CachedValues values = values();
+    return values.QUOTAS_TOTAL_MODEL_DEPLOYMENTS;
   }
 
-  private long QUOTAS_MAX_PARALLEL_EXECUTIONS = -1L;
-  public synchronized long getQuotasMaxParallelExecutions() {
-    checkCache();
-    return QUOTAS_MAX_PARALLEL_EXECUTIONS;
+  public long getQuotasMaxParallelExecutions() {
+    CachedValues values = values();
+    return values.QUOTAS_MAX_PARALLEL_EXECUTIONS;
   }
 
   private static final String VARIABLE_SQL_MAX_SELECT_IN = "sql_max_select_in";
-  private Integer SQL_MAX_SELECT_IN = 100;
   /**
    * For performance reasons SELECT ... WHERE col_name IN (.. , ..) queries should not have an unbounded in array.
    */
-  public synchronized Integer getSQLMaxSelectIn() {
-    checkCache();
-    return SQL_MAX_SELECT_IN;
+  public Integer getSQLMaxSelectIn() {
+    CachedValues values = values();
+    return values.SQL_MAX_SELECT_IN;
   }
 
-  // The maximum number of http threads in the thread pool is set to 200 by default
-  private int MAX_LONG_RUNNING_HTTP_REQUESTS = 50;
-
-  public synchronized int getMaxLongRunningHttpRequests() {
-    checkCache();
-    return MAX_LONG_RUNNING_HTTP_REQUESTS;
+  public int getMaxLongRunningHttpRequests() {
+    CachedValues values = values();
+    return values.MAX_LONG_RUNNING_HTTP_REQUESTS;
   }
   
   /**
    * Search commands
    */
   private final Integer MAX_ONGOING_OPENSEARCH_DOC_WRITE = 100;
-  public synchronized int getMaxOngoingOpensearchDocIndexOps() {
-    checkCache();
+  public int getMaxOngoingOpensearchDocIndexOps() {
     return MAX_ONGOING_OPENSEARCH_DOC_WRITE;
   }
   
-  //1s
-  private Long COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = 1000l;
   private final static String VARIABLE_COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD =
     "command_search_fs_process_timer_period_as_ms";
   public Long commandSearchFSProcessTimerPeriod() {
-    checkCache();
-    return COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD;
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD;
   }
   
-  //enable command search fs history
-  private boolean COMMAND_SEARCH_FS_HISTORY_ENABLE = false;
   private final static String VARIABLE_COMMAND_SEARCH_FS_HISTORY_ENABLE =
     "command_search_fs_history_enable";
   public boolean commandSearchFSHistoryEnabled() {
-    checkCache();
-    return COMMAND_SEARCH_FS_HISTORY_ENABLE;
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_HISTORY_ENABLE;
   }
   
   //1h as ms
   private final static String VARIABLE_COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD =
     "command_search_fs_history_clean_period_as_ms";
-  private Long COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = 1000l*60;
   public Long commandSearchFSHistoryCleanPeriod() {
-    checkCache();
-    return COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD;
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD;
   }
   
   //1h as s
   private final static String VARIABLE_COMMAND_SEARCH_FS_HISTORY_WINDOW
     = "command_search_fs_history_window_as_s";
-  private Long COMMAND_SEARCH_FS_HISTORY_WINDOW = 60*60L;
   public Long commandSearchFSHistoryWindow() {
-    checkCache();
-    return COMMAND_SEARCH_FS_HISTORY_WINDOW;
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_HISTORY_WINDOW;
   }
   
   private final static String VARIABLE_COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL =
     "command_search_fs_retry_per_clean_interval";
-  private int COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = 5;
   public Integer commandRetryPerCleanInterval() {
-    checkCache();
-    return COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL;
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL;
+  }
+  
+  public boolean getEnableCondaInstall() {
+    CachedValues values = values();
+    return values.ENABLE_CONDA_INSTALL;
+  }
+
+  public Integer getDefaultFeatureStoreProjectId() {
+    CachedValues values = values();
+    return values.DEFAULT_FEATURE_STORE_PROJECT_ID;
+  }
+
+  /**
+   * HopsFS client pool
+   */
+  private final static String VARIABLE_DFS_CLIENT_POOL_MAX_SIZE = "dfs_client_pool_max_size";
+  public int getDfsClientPoolMaxSize() {
+    CachedValues values = values();
+    return values.DFS_CLIENT_POOL_MAX_SIZE;
+  }
+
+  private final static String VARIABLE_DFS_CLIENT_POOL_MAX_IDLE = "dfs_client_pool_max_idle";
+  public long getDfsClientPoolMaxIdleMs() {
+    CachedValues values = values();
+    return values.DFS_CLIENT_POOL_MAX_IDLE_MS;
   }
   
-  private boolean ENABLE_CONDA_INSTALL = true;
-  public synchronized boolean getEnableCondaInstall() {
-    checkCache();
-    return ENABLE_CONDA_INSTALL;
+  private final static String VARIABLE_COMMAND_SEARCH_FS_BULK_SIZE = "command_search_fs_bulk_size";
+  public int commandSearchFSBulkSize() {
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_BULK_SIZE;
+  }
+  
+  //1s
+  private final static String VARIABLE_COMMAND_SEARCH_FS_BULK_MAX_DELAY = "command_search_fs_bulk_max_delay_as_ms";
+  public Long commandSearchFSBulkMaxDelay() {
+    CachedValues values = values();
+    return values.COMMAND_SEARCH_FS_BULK_MAX_DELAY;
+  }
+
+  /**
+   * Proxy servlets
+   */
+  private final static String VARIABLE_PROXY_SSL_CONTEXT_CACHE_SIZE = "proxy_ssl_context_cache_size";
+  public int getProxySSLContextCacheSize() {
+    CachedValues values = values();
+    return values.PROXY_SSL_CONTEXT_CACHE_SIZE;
+  }
+
+  private final static String VARIABLE_PROXY_SSL_CONTEXT_CACHE_MAX_IDLE = "proxy_ssl_context_cache_max_idle";
+  public long getProxySSLContextCacheMaxIdleMs() {
+    CachedValues values = values();
+    return values.PROXY_SSL_CONTEXT_CACHE_MAX_IDLE_MS;
+  }
+
+  private final static String VARIABLE_YARNUI_PROXY_MAX_CONNECTIONS = "yarnui_proxy_max_connections";
+  public int getYarnUIProxyMaxConnections() {
+    CachedValues values = values();
+    return values.YARNUI_PROXY_MAX_CONNECTIONS;
+  }
+
+  private final static String VARIABLE_YARNUI_PROXY_MAX_CONNECTIONS_PER_ROUTE = "yarnui_proxy_max_connections_per_route";
+  public int getYarnUIProxyMaxConnectionsPerRoute() {
+    CachedValues values = values();
+    return values.YARNUI_PROXY_MAX_CONNECTIONS_PER_ROUTE;
+  }
+
+  /**
+   * Online feature store JDBC connection pools
+   */
+  private final static String VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_SIZE = "onlinefs_connection_pool_max_size";
+  public int getOnlineFsConnectionPoolMaxSize() {
+    CachedValues values = values();
+    return values.ONLINEFS_CONNECTION_POOL_MAX_SIZE;
+  }
+
+  private final static String VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_SIZE_PER_USER =
+    "onlinefs_connection_pool_max_size_per_user";
+  public int getOnlineFsConnectionPoolMaxSizePerUser() {
+    CachedValues values = values();
+    return values.ONLINEFS_CONNECTION_POOL_MAX_SIZE_PER_USER;
+  }
+
+  private final static String VARIABLE_ONLINEFS_ADMIN_CONNECTION_POOL_MAX_SIZE =
+    "onlinefs_admin_connection_pool_max_size";
+  public int getOnlineFsAdminConnectionPoolMaxSize() {
+    CachedValues values = values();
+    return values.ONLINEFS_ADMIN_CONNECTION_POOL_MAX_SIZE;
+  }
+
+  private final static String VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_IDLE = "onlinefs_connection_pool_max_idle";
+  public long getOnlineFsConnectionPoolMaxIdleMs() {
+    CachedValues values = values();
+    return values.ONLINEFS_CONNECTION_POOL_MAX_IDLE_MS;
+  }
+
+  private final static String VARIABLE_ONLINEFS_CONNECTION_POOL_MAX_LIFETIME = "onlinefs_connection_pool_max_lifetime";
+  public long getOnlineFsConnectionPoolMaxLifetimeMs() {
+    CachedValues values = values();
+    return values.ONLINEFS_CONNECTION_POOL_MAX_LIFETIME_MS;
+  }
+
+  /**
+   * Cache of the SQL statements generated for feature store queries
+   */
+  private final static String VARIABLE_FS_QUERY_CACHE_SIZE = "fs_query_cache_size";
+  public int getFsQueryCacheSize() {
+    CachedValues values = values();
+    return values.FS_QUERY_CACHE_SIZE;
+  }
+
+  private final static String VARIABLE_FS_QUERY_CACHE_MAX_IDLE = "fs_query_cache_max_idle";
+  public long getFsQueryCacheMaxIdleMs() {
+    CachedValues values = values();
+    return values.FS_QUERY_CACHE_MAX_IDLE_MS;
+  }
+
+  private final static String VARIABLE_YARN_JOBS_MONITOR_MAX_FINALIZATIONS = "yarn_jobs_monitor_max_finalizations";
+  /**
+   * @return maximum number of finished executions whose logs are copied concurrently
+   */
+  public int getYarnJobsMonitorMaxFinalizations() {
+    CachedValues values = values();
+    return values.YARN_JOBS_MONITOR_MAX_FINALIZATIONS;
+  }
+
+  private final static String VARIABLE_JOB_SCHEDULER_MAX_LAUNCHES_PER_PROJECT =
+    "job_scheduler_max_launches_per_project";
+  /**
+   * @return maximum number of scheduled executions of a project which are started concurrently
+   */
+  public int getJobSchedulerMaxLaunchesPerProject() {
+    CachedValues values = values();
+    return values.JOB_SCHEDULER_MAX_LAUNCHES_PER_PROJECT;
+  }
+
+  private final static String VARIABLE_JOB_ARTIFACT_STORE_MAX_IDLE = "job_artifact_store_max_idle";
+  /**
+   * @return time after which a job artifact which has not been used by any execution is deleted
+   */
+  public long getJobArtifactStoreMaxIdleMs() {
+    CachedValues values = values();
+    return values.JOB_ARTIFACT_STORE_MAX_IDLE_MS;
+  }
+
+  private final static String VARIABLE_PROVENANCE_EXPLICIT_GRAPH_CACHE_SIZE = "provenance_explicit_graph_cache_size";
+  /**
+   * @return maximum number of explicit provenance artifacts whose links are cached, per direction
+   */
+  public int getProvenanceExplicitGraphCacheSize() {
+    CachedValues values = values();
+    return values.PROVENANCE_EXPLICIT_GRAPH_CACHE_SIZE;
+  }
+
+  private final static String VARIABLE_STATISTICS_COMPACTOR_BATCH_SIZE = "statistics_compactor_batch_size";
+  /**
+   * @return maximum number of per feature extended statistics files packed into containers per compactor run
+   */
+  public int getStatisticsCompactorBatchSize() {
+    CachedValues values = values();
+    return values.STATISTICS_COMPACTOR_BATCH_SIZE;
+  }
+
+  private final static String VARIABLE_STATISTICS_COMPACTOR_INTERVAL = "statistics_compactor_interval";
+  /**
+   * @return interval between two runs of the statistics compactor
+   */
+  public long getStatisticsCompactorIntervalMs() {
+    CachedValues values = values();
+    return values.STATISTICS_COMPACTOR_INTERVAL_MS;
+  }
+
+  private final static String VARIABLE_ALERT_DISPATCH_QUEUE_SIZE = "alert_dispatch_queue_size";
+  /**
+   * @return maximum number of alerts waiting to be posted to Alertmanager, further alerts are dropped
+   */
+  public int getAlertDispatchQueueSize() {
+    CachedValues values = values();
+    return values.ALERT_DISPATCH_QUEUE_SIZE;
+  }
+
+  private final static String VARIABLE_ALERT_DISPATCH_BATCH_SIZE = "alert_dispatch_batch_size";
+  public int getAlertDispatchBatchSize() {
+    CachedValues values = values();
+    return values.ALERT_DISPATCH_BATCH_SIZE;
+  }
+
+  private final static String VARIABLE_ALERT_DISPATCH_DEDUP_WINDOW = "alert_dispatch_dedup_window";
+  /**
+   * @return time during which an alert with the same labels as an alert already posted is not posted again
+   */
+  public long getAlertDispatchDedupWindowMs() {
+    CachedValues values = values();
+    return values.ALERT_DISPATCH_DEDUP_WINDOW_MS;
   }
 
-  private Integer DEFAULT_FEATURE_STORE_PROJECT_ID = null;
-  public synchronized Integer getDefaultFeatureStoreProjectId() {
-    checkCache();
-    return DEFAULT_FEATURE_STORE_PROJECT_ID;
+  private final static String VARIABLE_ALERT_DISPATCH_MAX_BACKOFF = "alert_dispatch_max_backoff";
+  public long getAlertDispatchMaxBackoffMs() {
+    CachedValues values = values();
+    return values.ALERT_DISPATCH_MAX_BACKOFF_MS;
   }
-}
\ No newline at end of file
+}
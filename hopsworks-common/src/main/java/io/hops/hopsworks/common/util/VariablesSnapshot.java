@@ -0,0 +1,74 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.util;
+
+import com.google.common.base.Strings;
+import io.hops.hopsworks.persistence.entity.util.Variables;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the variables table at the time it was loaded. Settings loads all variables with a single query
+ * into a new snapshot and swaps it in when the cache is refreshed, so a snapshot is never modified once published.
+ */
+final class VariablesSnapshot {
+
+  static final VariablesSnapshot EMPTY = new VariablesSnapshot(Collections.emptyMap(), 0L);
+
+  private final Map<String, String> values;
+  private final long version;
+
+  private VariablesSnapshot(Map<String, String> values, long version) {
+    this.values = values;
+    this.version = version;
+  }
+
+  static VariablesSnapshot of(Collection<Variables> variables, long version) {
+    Map<String, String> values = new HashMap<>(variables.size() * 2);
+    for (Variables variable : variables) {
+      values.put(variable.getId(), variable.getValue());
+    }
+    return new VariablesSnapshot(Collections.unmodifiableMap(values), version);
+  }
+
+  /**
+   * @param name variable name
+   * @return the value of the variable, empty if the variable does not exist or its value is null or empty
+   */
+  Optional<String> get(String name) {
+    String value = values.get(name);
+    return Strings.isNullOrEmpty(value) ? Optional.empty() : Optional.of(value);
+  }
+
+  boolean contains(String name) {
+    return values.containsKey(name);
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  /**
+   * @return monotonically increasing number of the refresh which produced this snapshot
+   */
+  long getVersion() {
+    return version;
+  }
+}
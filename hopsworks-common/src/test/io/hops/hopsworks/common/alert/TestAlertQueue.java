@@ -0,0 +1,96 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.alert;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestAlertQueue {
+
+  private AlertQueue<String> queue;
+
+  @Before
+  public void setup() {
+    // alerts are keyed by their first character, the rest stands for the annotations
+    queue = new AlertQueue<>(3, 1000, 100, 400, alert -> alert.charAt(0));
+  }
+
+  @Test
+  public void testBatching() {
+    queue.offer("a", 0);
+    queue.offer("b", 0);
+    queue.offer("c", 0);
+    Assert.assertEquals(Arrays.asList("a", "b"), queue.poll(2, 0));
+    Assert.assertEquals(Collections.singletonList("c"), queue.poll(2, 0));
+    Assert.assertTrue(queue.poll(2, 0).isEmpty());
+  }
+
+  @Test
+  public void testDeduplication() {
+    Assert.assertEquals(AlertQueue.Offer.QUEUED, queue.offer("a1", 0));
+    Assert.assertEquals(AlertQueue.Offer.QUEUED, queue.offer("b1", 0));
+    Assert.assertEquals(AlertQueue.Offer.REPLACED, queue.offer("a2", 0));
+    List<String> batch = queue.poll(10, 0);
+    Assert.assertEquals(Arrays.asList("a2", "b1"), batch);
+    queue.sent(batch, 0);
+    Assert.assertEquals(AlertQueue.Offer.DUPLICATE, queue.offer("a3", 999));
+    Assert.assertEquals(AlertQueue.Offer.QUEUED, queue.offer("a4", 1000));
+    Assert.assertEquals(2, queue.getDuplicates());
+    Assert.assertEquals(2, queue.getSent());
+  }
+
+  @Test
+  public void testCapacity() {
+    queue.offer("a", 0);
+    queue.offer("b", 0);
+    queue.offer("c", 0);
+    Assert.assertEquals(AlertQueue.Offer.DROPPED, queue.offer("d", 0));
+    Assert.assertEquals(1, queue.getDropped());
+    Assert.assertEquals(3, queue.size());
+  }
+
+  @Test
+  public void testBackoff() {
+    queue.offer("a", 0);
+    queue.offer("b", 0);
+    List<String> batch = queue.poll(1, 0);
+    queue.offer("c", 0);
+    queue.offer("d", 0);
+    queue.failed(batch, 0);
+    // the failed batch goes back in front, the newest alert does not fit anymore
+    Assert.assertEquals(1, queue.getDropped());
+    Assert.assertEquals(100, queue.getBackoffMs());
+    Assert.assertTrue(queue.poll(10, 99).isEmpty());
+    batch = queue.poll(1, 100);
+    Assert.assertEquals(Collections.singletonList("a"), batch);
+    queue.failed(batch, 100);
+    Assert.assertEquals(200, queue.getBackoffMs());
+    queue.failed(queue.poll(1, 300), 300);
+    queue.failed(queue.poll(1, 700), 700);
+    Assert.assertEquals(400, queue.getBackoffMs());
+    batch = queue.poll(10, 1100);
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), batch);
+    queue.sent(batch, 1100);
+    Assert.assertEquals(0, queue.getBackoffMs());
+    Assert.assertEquals(3, queue.getMaxBatchSize());
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.dao.serving;
+
+import io.hops.hopsworks.common.serving.ServingDescriptorCache;
+import io.hops.hopsworks.persistence.entity.serving.Serving;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+public class TestServingFacade {
+
+  @Mock
+  private EntityManager em;
+  @Mock
+  private ServingDescriptorCache servingDescriptorCache;
+  @Mock
+  private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+  @InjectMocks
+  private ServingFacade servingFacade = new ServingFacade();
+
+  private Serving serving;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    serving = new Serving();
+    serving.setId(10);
+    Mockito.when(em.merge(serving)).thenReturn(serving);
+    Mockito.when(transactionSynchronizationRegistry.getTransactionKey()).thenReturn(new Object());
+  }
+
+  private Synchronization registeredSynchronization() {
+    ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+    Mockito.verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronization.capture());
+    return synchronization.getValue();
+  }
+
+  @Test
+  public void testInvalidateAfterCommit() {
+    servingFacade.merge(serving);
+    Mockito.verify(servingDescriptorCache, Mockito.never()).invalidate(Mockito.any());
+
+    registeredSynchronization().afterCompletion(Status.STATUS_COMMITTED);
+    Mockito.verify(servingDescriptorCache).invalidate(10);
+  }
+
+  @Test
+  public void testNoInvalidateAfterRollback() {
+    servingFacade.merge(serving);
+
+    registeredSynchronization().afterCompletion(Status.STATUS_ROLLEDBACK);
+    Mockito.verify(servingDescriptorCache, Mockito.never()).invalidate(Mockito.any());
+  }
+
+  @Test
+  public void testInvalidateWithoutTransaction() {
+    Mockito.when(transactionSynchronizationRegistry.getTransactionKey()).thenReturn(null);
+
+    servingFacade.merge(serving);
+    Mockito.verify(servingDescriptorCache).invalidate(10);
+    Mockito.verify(transactionSynchronizationRegistry, Mockito.never())
+        .registerInterposedSynchronization(Mockito.any());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.dao.user;
+
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+public class TestUserFacade {
+
+  @Mock
+  private EntityManager em;
+  @Mock
+  private Settings settings;
+  @Mock
+  private TypedQuery<Users> query;
+  @InjectMocks
+  private UserFacade userFacade = new UserFacade();
+
+  // Sizes of the IN-lists sent to the database
+  private final List<Integer> queried = new ArrayList<>();
+  private Collection<String> parameter;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    when(settings.getSQLMaxSelectIn()).thenReturn(100);
+    when(em.createNamedQuery(eq("Users.findByUsernames"), eq(Users.class))).thenReturn(query);
+    when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+      parameter = invocation.getArgument(1);
+      queried.add(parameter.size());
+      return query;
+    });
+    when(query.getResultList()).thenAnswer(invocation -> {
+      List<Users> users = new ArrayList<>();
+      for (String username : parameter) {
+        Users user = new Users();
+        user.setUsername(username);
+        users.add(user);
+      }
+      return users;
+    });
+  }
+
+  private static Set<String> usernames(int count) {
+    Set<String> usernames = new TreeSet<>();
+    for (int i = 0; i < count; i++) {
+      usernames.add("user" + i);
+    }
+    return usernames;
+  }
+
+  @Test
+  public void testFindByUsernamesSingleQuery() {
+    List<Users> users = userFacade.findByUsernames(usernames(100));
+
+    Assert.assertEquals(100, users.size());
+    Assert.assertEquals(1, queried.size());
+  }
+
+  @Test
+  public void testFindByUsernamesPartitioned() {
+    List<Users> users = userFacade.findByUsernames(usernames(250));
+
+    Assert.assertEquals(250, users.size());
+    Assert.assertEquals(3, queried.size());
+    Assert.assertTrue(queried.stream().allMatch(size -> size <= 100));
+    Mockito.verify(em, Mockito.times(3)).createNamedQuery("Users.findByUsernames", Users.class);
+  }
+}
@@ -22,6 +22,7 @@ import io.hops.hopsworks.common.upload.FlowInfo;
 import io.hops.hopsworks.common.upload.ResumableInfoStorage;
 import io.hops.hopsworks.common.upload.UploadController;
 import io.hops.hopsworks.exceptions.DatasetException;
+import io.hops.hopsworks.restutils.RESTCodes;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -48,6 +49,8 @@ import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -201,6 +204,22 @@ public class TestUpload {
     }
   }
 
+  @Test
+  public void testUploadChunkNumberOutOfRange() throws IOException {
+    File file = getFileFromResources(srcFilePath);
+    int totalChunks = getTotalChunks(file.length());
+    for (int chunkNumber : new int[]{0, -1, totalChunks + 1}) {
+      try (InputStream is = readChunk(file, 1)) {
+        FlowInfo flowInfo = getFlowInfo(file, 1, is.available());
+        flowInfo.setChunkNumber(chunkNumber);
+        DatasetException exception = assertThrows(DatasetException.class, () -> uploadController.upload(is,
+          flowInfo, destPath.toString(), HDFS_USERNAME));
+        Assert.assertEquals(RESTCodes.DatasetErrorCode.UPLOAD_RESUMABLEINFO_INVALID, exception.getErrorCode());
+      }
+    }
+    Assert.assertFalse(dfs.getDfsOps(HDFS_USERNAME).exists(stagingDir));
+  }
+
   @Test
   public void testUploadChunkNotFile() throws IOException {
     DistributedFileSystemOps udfso = dfs.getDfsOps(HDFS_USERNAME);
@@ -237,6 +256,28 @@ public class TestUpload {
     Assert.assertFalse(udfso.exists(stagingDir));
   }
 
+  @Test
+  public void testUploadConcatNotSupported() throws IOException, DatasetException {
+    Mockito.doThrow(new UnsupportedOperationException("Not supported for test.")).when(distributedFileSystemOps)
+      .concat(Mockito.any(), Mockito.any());
+
+    DistributedFileSystemOps udfso = dfs.getDfsOps(HDFS_USERNAME);
+    File file = getFileFromResources(srcFilePath);
+    long totalChunks = getTotalChunks(file.length());
+
+    for (int i = 1; i <= totalChunks; i++) {
+      try (InputStream is = readChunk(file, i)) {
+        FlowInfo flowInfo = getFlowInfo(file, i, is.available());
+        uploadController.upload(is, flowInfo, destPath.toString(), HDFS_USERNAME);
+      }
+    }
+    File dest = getFileFromResources(new Path(destPath, file.getName()));
+    String srcContent = readFile(file.getPath(), Charset.defaultCharset());
+    String destContent = readFile(dest.getPath(), Charset.defaultCharset());
+    Assert.assertEquals(srcContent, destContent);
+    Assert.assertFalse(udfso.exists(stagingDir));
+  }
+
   private int getTotalChunks(long length) {
     return (int) Math.ceil((double) length / CHUNK_SIZE);
   }
@@ -324,6 +365,26 @@ public class TestUpload {
       return f.delete();
     }).when(distributedFileSystemOps).rm((Path) Mockito.any(), eq(false));
 
+    Mockito.doAnswer((Answer<Void>) invocation -> {
+      Object[] args = invocation.getArguments();
+      LOGGER.log(LEVEL, "Concat to file: {0}.", args[0]);
+      java.nio.file.Path target = getFileFromResources((Path) args[0]).toPath();
+      for (Path src : (Path[]) args[1]) {
+        File f = getFileFromResources(src);
+        Files.write(target, Files.readAllBytes(f.toPath()), StandardOpenOption.APPEND);
+        Files.delete(f.toPath());
+      }
+      return null;
+    }).when(distributedFileSystemOps).concat(Mockito.any(), Mockito.any());
+
+    Mockito.doAnswer((Answer<Void>) invocation -> {
+      Object[] args = invocation.getArguments();
+      LOGGER.log(LEVEL, "Move file: {0} to {1}.", args);
+      Files.move(getFileFromResources((Path) args[0]).toPath(), getFileFromResources((Path) args[1]).toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+      return null;
+    }).when(distributedFileSystemOps).moveWithinHdfs(Mockito.any(), Mockito.any(), eq(true));
+
     Mockito.doAnswer((Answer<FileStatus>) invocation -> {
       Object[] args = invocation.getArguments();
       LOGGER.log(LEVEL, "Get FileStatus: {0}.", args[0]);
@@ -0,0 +1,189 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.online;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestKeyedConnectionPool {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<FakeConnection> created = new ArrayList<>();
+  private KeyedConnectionPool<String> pool;
+
+  @Before
+  public void setup() {
+    clock.set(0);
+    created.clear();
+    pool = new KeyedConnectionPool<>("test", 3, 2, 1000, 10000, 100, null, clock::get);
+  }
+
+  private Connection create(String key) {
+    FakeConnection fake = new FakeConnection();
+    created.add(fake);
+    return fake.proxy();
+  }
+
+  @Test
+  public void testConnectionIsReused() throws SQLException {
+    Connection first = pool.borrow("a", this::create);
+    first.close();
+    Assert.assertTrue(first.isClosed());
+    Assert.assertEquals(1, pool.getIdle());
+    Connection second = pool.borrow("a", this::create);
+    Assert.assertEquals(1, created.size());
+    Assert.assertEquals(1, pool.getHits());
+    Assert.assertFalse(created.get(0).closed);
+    second.close();
+  }
+
+  @Test
+  public void testConcurrentBorrowsGetOwnConnections() throws SQLException {
+    Connection first = pool.borrow("a", this::create);
+    Connection second = pool.borrow("a", this::create);
+    Assert.assertEquals(2, created.size());
+    Assert.assertEquals(2, pool.getLeased());
+    first.close();
+    second.close();
+    Assert.assertEquals(2, pool.getIdle());
+  }
+
+  @Test
+  public void testDoubleCloseReturnsOnce() throws SQLException {
+    Connection connection = pool.borrow("a", this::create);
+    connection.close();
+    connection.close();
+    Assert.assertEquals(1, pool.getIdle());
+  }
+
+  @Test(expected = SQLException.class)
+  public void testClosedLeaseIsNotUsable() throws SQLException {
+    Connection connection = pool.borrow("a", this::create);
+    connection.close();
+    connection.createStatement();
+  }
+
+  @Test
+  public void testPerKeyLimit() throws SQLException {
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      connections.add(pool.borrow("a", this::create));
+    }
+    for (Connection connection : connections) {
+      connection.close();
+    }
+    Assert.assertEquals(2, pool.getIdle());
+    Assert.assertTrue(created.get(2).closed);
+  }
+
+  @Test
+  public void testInvalidConnectionIsReplaced() throws SQLException {
+    pool.borrow("a", this::create).close();
+    created.get(0).valid = false;
+    clock.set(50);
+    // Not validated within the validation interval
+    Connection connection = pool.borrow("a", this::create);
+    Assert.assertEquals(1, created.size());
+    connection.close();
+    clock.set(500);
+    pool.borrow("a", this::create).close();
+    Assert.assertEquals(2, created.size());
+    Assert.assertTrue(created.get(0).closed);
+  }
+
+  @Test
+  public void testIdleEviction() throws SQLException {
+    pool.borrow("a", this::create).close();
+    clock.set(900);
+    Assert.assertEquals(0, pool.evictIdle());
+    clock.set(1500);
+    Assert.assertEquals(1, pool.evictIdle());
+    Assert.assertTrue(created.get(0).closed);
+    Assert.assertEquals(0, pool.getIdle());
+  }
+
+  @Test
+  public void testExpiredConnectionIsNotReused() throws SQLException {
+    Connection connection = pool.borrow("a", this::create);
+    clock.set(20000);
+    connection.close();
+    Assert.assertEquals(0, pool.getIdle());
+    Assert.assertTrue(created.get(0).closed);
+  }
+
+  @Test
+  public void testInvalidateClosesLeasedOnReturn() throws SQLException {
+    Connection leased = pool.borrow("a", this::create);
+    pool.borrow("a", this::create).close();
+    pool.borrow("b", this::create).close();
+    pool.invalidate(key -> key.equals("a"));
+    Assert.assertEquals(1, pool.getIdle());
+    Assert.assertFalse(created.get(0).closed);
+    leased.close();
+    Assert.assertTrue(created.get(0).closed);
+    Assert.assertEquals(1, pool.getIdle());
+  }
+
+  @Test
+  public void testTransactionIsRolledBackOnReturn() throws SQLException {
+    Connection connection = pool.borrow("a", this::create);
+    connection.setAutoCommit(false);
+    connection.close();
+    Assert.assertTrue(created.get(0).rolledBack);
+    Assert.assertTrue(created.get(0).autoCommit);
+  }
+
+  private static final class FakeConnection {
+    private boolean closed;
+    private boolean valid = true;
+    private boolean autoCommit = true;
+    private boolean rolledBack;
+
+    private Connection proxy() {
+      return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "close":
+              closed = true;
+              return null;
+            case "isClosed":
+              return closed;
+            case "isValid":
+              return valid;
+            case "getAutoCommit":
+              return autoCommit;
+            case "setAutoCommit":
+              autoCommit = (Boolean) args[0];
+              return null;
+            case "rollback":
+              rolledBack = true;
+              return null;
+            default:
+              return null;
+          }
+        });
+    }
+  }
+}
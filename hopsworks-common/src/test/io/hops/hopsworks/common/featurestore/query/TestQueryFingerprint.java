@@ -0,0 +1,112 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.query;
+
+import io.hops.hopsworks.common.featurestore.query.filter.Filter;
+import io.hops.hopsworks.common.featurestore.query.filter.FilterLogic;
+import io.hops.hopsworks.common.featurestore.query.join.Join;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.cached.CachedFeaturegroup;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.cached.TimeTravelFormat;
+import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.SqlCondition;
+import org.apache.calcite.sql.JoinType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestQueryFingerprint {
+
+  private Featuregroup fg1;
+  private Featuregroup fg2;
+
+  @Before
+  public void setup() {
+    CachedFeaturegroup cachedFeaturegroup = new CachedFeaturegroup();
+    cachedFeaturegroup.setTimeTravelFormat(TimeTravelFormat.HUDI);
+    fg1 = new Featuregroup(1);
+    fg1.setName("fg1");
+    fg1.setVersion(1);
+    fg1.setCachedFeaturegroup(cachedFeaturegroup);
+    fg2 = new Featuregroup(2);
+    fg2.setName("fg2");
+    fg2.setVersion(1);
+    fg2.setCachedFeaturegroup(cachedFeaturegroup);
+  }
+
+  private Query makeQuery(Long endTimestamp, String filterValue) {
+    List<Feature> leftFeatures = new ArrayList<>();
+    leftFeatures.add(new Feature("pr", "fg0", fg1, true));
+    leftFeatures.add(new Feature("ft1", "fg0", fg1, "string"));
+    List<Feature> rightFeatures = new ArrayList<>();
+    rightFeatures.add(new Feature("pr", "fg1", fg2, true));
+    rightFeatures.add(new Feature("ft2", "fg1", fg2, "double"));
+
+    Query left = new Query("fs", "project", fg1, "fg0", leftFeatures, leftFeatures);
+    left.setLeftFeatureGroupEndTimestamp(endTimestamp);
+    Query right = new Query("fs", "project", fg2, "fg1", rightFeatures, rightFeatures);
+    right.setFilter(new FilterLogic(new Filter(rightFeatures.get(1), SqlCondition.GREATER_THAN, filterValue)));
+    left.setJoins(Collections.singletonList(new Join(left, right, leftFeatures.subList(0, 1),
+      rightFeatures.subList(0, 1), JoinType.INNER, "right_", Arrays.asList(SqlCondition.EQUALS))));
+    return left;
+  }
+
+  @Test
+  public void testSameQuerySameFingerprint() {
+    Assert.assertEquals(QueryFingerprint.of(makeQuery(10L, "1"), true, false),
+      QueryFingerprint.of(makeQuery(10L, "1"), true, false));
+  }
+
+  @Test
+  public void testFlagsChangeFingerprint() {
+    Assert.assertNotEquals(QueryFingerprint.of(makeQuery(10L, "1"), true, false),
+      QueryFingerprint.of(makeQuery(10L, "1"), false, false));
+    Assert.assertNotEquals(QueryFingerprint.of(makeQuery(10L, "1"), true, false),
+      QueryFingerprint.of(makeQuery(10L, "1"), true, true));
+  }
+
+  @Test
+  public void testPointInTimeChangesFingerprint() {
+    Assert.assertNotEquals(QueryFingerprint.of(makeQuery(10L, "1"), true, false),
+      QueryFingerprint.of(makeQuery(11L, "1"), true, false));
+    Assert.assertNotEquals(QueryFingerprint.of(makeQuery(10L, "1"), true, false),
+      QueryFingerprint.of(makeQuery(null, "1"), true, false));
+  }
+
+  @Test
+  public void testFilterChangesFingerprint() {
+    Assert.assertNotEquals(QueryFingerprint.of(makeQuery(10L, "1"), true, false),
+      QueryFingerprint.of(makeQuery(10L, "2"), true, false));
+  }
+
+  @Test
+  public void testFeaturegroupVersionChangesFingerprint() {
+    QueryFingerprint before = QueryFingerprint.of(makeQuery(10L, "1"), true, false);
+    fg2.setVersion(2);
+    Assert.assertNotEquals(before, QueryFingerprint.of(makeQuery(10L, "1"), true, false));
+  }
+
+  @Test
+  public void testReferencedFeaturegroups() {
+    Assert.assertEquals(2, QueryFingerprint.of(makeQuery(10L, "1"), true, false).getFeaturegroupIds().size());
+    Assert.assertTrue(QueryFingerprint.of(makeQuery(10L, "1"), true, false).getFeaturegroupIds().contains(2));
+  }
+}
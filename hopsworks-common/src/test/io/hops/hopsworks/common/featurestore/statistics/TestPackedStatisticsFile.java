@@ -0,0 +1,100 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.statistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+public class TestPackedStatisticsFile {
+  
+  private PackedStatisticsFile.RangeReader reader(byte[] file) {
+    return (position, buffer) -> {
+      if (position < 0 || position + buffer.length > file.length) {
+        throw new IOException("Out of range read");
+      }
+      System.arraycopy(file, (int) position, buffer, 0, buffer.length);
+    };
+  }
+  
+  @Test
+  public void testRoundTrip() throws Exception {
+    PackedStatisticsFile.Writer writer = PackedStatisticsFile.writer();
+    PackedStatisticsFile.Entry a = writer.add("a", "{\"histogram\":[1,2,3]}");
+    PackedStatisticsFile.Entry b = writer.add("b", "{\"kll\":\"\u00e5\u00e4\u00f6\"}");
+    byte[] file = writer.toByteArray();
+    
+    Map<String, PackedStatisticsFile.Entry> index = PackedStatisticsFile.readIndex(reader(file), file.length);
+    Assert.assertEquals(Arrays.asList("a", "b"), new ArrayList<>(index.keySet()));
+    Assert.assertEquals(a.getOffset(), index.get("a").getOffset());
+    Assert.assertEquals(b.getLength(), index.get("b").getLength());
+    Assert.assertEquals(Optional.of("{\"histogram\":[1,2,3]}"), PackedStatisticsFile.read(reader(file), a, "a"));
+    Assert.assertEquals(Optional.of("{\"kll\":\"\u00e5\u00e4\u00f6\"}"),
+      PackedStatisticsFile.read(reader(file), index.get("b"), "b"));
+  }
+  
+  @Test
+  public void testStaleReference() throws Exception {
+    PackedStatisticsFile.Writer first = PackedStatisticsFile.writer();
+    PackedStatisticsFile.Entry a = first.add("a", "{\"histogram\":[1]}");
+    first.add("b", "{\"histogram\":[2]}");
+    
+    // the container is overwritten by a computation which packed the features in another order
+    PackedStatisticsFile.Writer second = PackedStatisticsFile.writer();
+    second.add("b", "{\"histogram\":[3]}");
+    second.add("a", "{\"histogram\":[4]}");
+    byte[] file = second.toByteArray();
+    
+    Assert.assertFalse(PackedStatisticsFile.read(reader(file), a, "a").isPresent());
+    Map<String, PackedStatisticsFile.Entry> index = PackedStatisticsFile.readIndex(reader(file), file.length);
+    Assert.assertEquals(Optional.of("{\"histogram\":[4]}"),
+      PackedStatisticsFile.read(reader(file), index.get("a"), "a"));
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateFeature() throws Exception {
+    PackedStatisticsFile.Writer writer = PackedStatisticsFile.writer();
+    writer.add("a", "{}");
+    writer.add("a", "{}");
+  }
+  
+  @Test(expected = IOException.class)
+  public void testNotAContainer() throws Exception {
+    byte[] file = "{\"histogram\":[1,2,3],\"correlations\":[]}".getBytes();
+    PackedStatisticsFile.readIndex(reader(file), file.length);
+  }
+  
+  @Test
+  public void testReference() {
+    String path = "hopsfs://namenode:8020/Projects/p/Statistics/FeatureGroups/fg_1/1_2.stats";
+    String reference = PackedStatisticsFile.reference(path, new PackedStatisticsFile.Entry(8, 120));
+    Optional<PackedStatisticsFile.Reference> parsed = PackedStatisticsFile.parseReference(reference);
+    Assert.assertTrue(parsed.isPresent());
+    Assert.assertEquals(path, parsed.get().getContainerPath());
+    Assert.assertEquals(8, parsed.get().getEntry().getOffset());
+    Assert.assertEquals(120, parsed.get().getEntry().getLength());
+    
+    Assert.assertFalse(PackedStatisticsFile.parseReference("/Projects/p/Statistics/1_2_feature.json").isPresent());
+    Assert.assertFalse(PackedStatisticsFile.parseReference("/Projects/p/Statistics/1_2_a#b.json").isPresent());
+    Assert.assertFalse(PackedStatisticsFile.parseReference(path + "#x:1").isPresent());
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.featurestore.statistics;
+
+import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
+import io.hops.hopsworks.common.hdfs.DistributedFsService;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.featurestore.statistics.FeatureDescriptiveStatistics;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import javax.ejb.Timer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+public class TestStatisticsCompactor {
+  private static final Path CONTAINER = new Path("/Projects/project/Statistics/20240101.stats");
+
+  @Mock
+  private Settings settings;
+  @Mock
+  private FeatureDescriptiveStatisticsFacade featureDescriptiveStatisticsFacade;
+  @Mock
+  private DistributedFsService dfs;
+  @Mock
+  private PayaraClusterManager payaraClusterManager;
+  @Mock
+  private DistributedFileSystemOps udfso;
+  @InjectMocks
+  private StatisticsCompactor compactor = new StatisticsCompactor();
+
+  private FeatureDescriptiveStatistics first;
+  private FeatureDescriptiveStatistics second;
+
+  @Before
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(true);
+    Mockito.when(settings.getStatisticsCompactorBatchSize()).thenReturn(10);
+    Mockito.when(dfs.getDfsOps()).thenReturn(udfso);
+
+    first = statistics(1, "a");
+    second = statistics(2, "b");
+    Mockito.when(featureDescriptiveStatisticsFacade.findWithJsonExtendedStatistics(10))
+      .thenReturn(Collections.singletonList(first));
+    Mockito.when(featureDescriptiveStatisticsFacade.findByExtendedStatisticsPathPrefix(
+      "/Projects/project/Statistics/20240101_")).thenReturn(Arrays.asList(first, second));
+    Mockito.when(udfso.cat(any(String.class))).thenReturn("{}");
+    Mockito.when(udfso.getFileStatus(any(Path.class))).thenReturn(new FileStatus(2, false, 1, 0, 0, 0,
+      FsPermission.getFileDefault(), "owner", "group", new Path(first.getExtendedStatisticsPath())));
+  }
+
+  @Test
+  public void testDeleteFilesOfUpdatedStatistics() throws Exception {
+    Mockito.when(featureDescriptiveStatisticsFacade.updateExtendedStatisticsPaths(anyCollection()))
+      .thenReturn(new HashSet<>(Arrays.asList(1, 2)));
+
+    compactor.compact(Mockito.mock(Timer.class));
+
+    Mockito.verify(udfso).create(Mockito.eq(CONTAINER), any(byte[].class));
+    Mockito.verify(udfso).rm(first.getExtendedStatisticsPath(), false);
+    Mockito.verify(udfso).rm(second.getExtendedStatisticsPath(), false);
+    Mockito.verify(udfso, Mockito.never()).rm(any(Path.class), anyBoolean());
+  }
+
+  @Test
+  public void testKeepFilesOfChangedStatistics() throws Exception {
+    // second has been changed since it was read and still points to its file
+    Mockito.when(featureDescriptiveStatisticsFacade.updateExtendedStatisticsPaths(anyCollection()))
+      .thenReturn(Collections.singleton(1));
+
+    compactor.compact(Mockito.mock(Timer.class));
+
+    Mockito.verify(udfso).rm(first.getExtendedStatisticsPath(), false);
+    Mockito.verify(udfso, Mockito.never()).rm(second.getExtendedStatisticsPath(), false);
+    Mockito.verify(udfso, Mockito.never()).rm(any(Path.class), anyBoolean());
+  }
+
+  @Test
+  public void testRemoveUnreferencedContainer() throws Exception {
+    Mockito.when(featureDescriptiveStatisticsFacade.updateExtendedStatisticsPaths(anyCollection()))
+      .thenReturn(Collections.emptySet());
+
+    compactor.compact(Mockito.mock(Timer.class));
+
+    Mockito.verify(udfso).rm(CONTAINER, false);
+    Mockito.verify(udfso, Mockito.never()).rm(any(String.class), anyBoolean());
+  }
+
+  private FeatureDescriptiveStatistics statistics(Integer id, String featureName) {
+    FeatureDescriptiveStatistics fds = new FeatureDescriptiveStatistics();
+    fds.setId(id);
+    fds.setFeatureName(featureName);
+    fds.setExtendedStatisticsPath("/Projects/project/Statistics/20240101_" + featureName + ".json");
+    return fds;
+  }
+}
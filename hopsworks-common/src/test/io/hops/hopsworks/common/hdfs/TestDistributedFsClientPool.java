@@ -0,0 +1,94 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.hdfs;
+
+import io.hops.hopsworks.common.util.Settings;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class TestDistributedFsClientPool {
+
+  @Mock
+  private Settings settings;
+  @InjectMocks
+  private DistributedFsClientPool dfsClientPool = new DistributedFsClientPool();
+
+  private DistributedFileSystemOps client;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    Mockito.when(settings.getDfsClientPoolMaxSize()).thenReturn(10);
+    Mockito.when(settings.getDfsClientPoolMaxIdleMs()).thenReturn(60000L);
+    dfsClientPool.init();
+    client = Mockito.mock(DistributedFileSystemOps.class);
+  }
+
+  @After
+  public void tearDown() {
+    dfsClientPool.destroy();
+  }
+
+  private DistributedFileSystemOps lease() {
+    return dfsClientPool.lease("user", null, () -> client, null);
+  }
+
+  @Test
+  public void testLeasesShareClient() {
+    DistributedFileSystemOps first = lease();
+    DistributedFileSystemOps second = lease();
+    Assert.assertNotSame(first, second);
+    Assert.assertTrue(first.isPooled());
+    Assert.assertEquals(1, dfsClientPool.getSize());
+    Assert.assertEquals(1, dfsClientPool.getMisses());
+    Assert.assertEquals(1, dfsClientPool.getHits());
+  }
+
+  @Test
+  public void testDoubleCloseKeepsOtherLease() {
+    DistributedFileSystemOps first = lease();
+    DistributedFileSystemOps second = lease();
+
+    first.close();
+    first.close();
+    // The second lease is still open, the client must outlive the invalidation
+    dfsClientPool.invalidate("user");
+    Mockito.verify(client, Mockito.never()).closeFilesystem();
+
+    second.close();
+    Mockito.verify(client, Mockito.times(1)).closeFilesystem();
+    second.close();
+    Mockito.verify(client, Mockito.times(1)).closeFilesystem();
+  }
+
+  @Test
+  public void testInvalidateIdleClient() {
+    lease().close();
+    dfsClientPool.invalidate("user");
+    Mockito.verify(client, Mockito.times(1)).closeFilesystem();
+    Assert.assertEquals(0, dfsClientPool.getSize());
+
+    lease().close();
+    Assert.assertEquals(2, dfsClientPool.getMisses());
+  }
+}
@@ -16,11 +16,11 @@
 
 package io.hops.hopsworks.common.jobs;
 
-import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
 import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
 import io.hops.hopsworks.common.jobs.execution.ExecutionController;
 import io.hops.hopsworks.common.jobs.scheduler.JobScheduleV2Controller;
 import io.hops.hopsworks.common.jobs.scheduler.JobScheduleV2DTO;
+import io.hops.hopsworks.common.jobs.scheduler.JobScheduleV2Scheduler;
 import io.hops.hopsworks.exceptions.GenericException;
 import io.hops.hopsworks.exceptions.JobException;
 import io.hops.hopsworks.exceptions.ProjectException;
@@ -28,7 +28,6 @@ import io.hops.hopsworks.exceptions.ServiceException;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.JobConfiguration;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.spark.SparkJobConfiguration;
 import io.hops.hopsworks.persistence.entity.jobs.description.Jobs;
-import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
 import io.hops.hopsworks.persistence.entity.jobs.scheduler.JobScheduleV2;
 import org.junit.Assert;
 import org.junit.Before;
@@ -40,10 +39,8 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 
@@ -58,14 +55,14 @@ public class TestJobSchedulerV2Controller {
   @Mock
   private JobScheduleV2Facade jobScheduleV2Facade;
 
-  @Mock
-  private ExecutionFacade executionFacade;
-
   // This is used within the tests and it needs to be mocked
   // otherwise a NullPointerException will be thrown.
   @Mock
   private ExecutionController executionController;
 
+  @Mock
+  private JobScheduleV2Scheduler jobScheduler;
+
   @Before
   public void before() throws Exception {
     MockitoAnnotations.openMocks(this);
@@ -147,9 +144,10 @@ public class TestJobSchedulerV2Controller {
     Assert.assertNull(nextExecutionDate);
   }
 
-  // Check that on execution the nextExecutionDateTime is updated 
+  // Check that on execution the nextExecutionDateTime is updated
   @Test
-  public void testExecuteWithCron() throws JobException, ProjectException, ServiceException, GenericException {
+  public void testAdvanceAndExecuteSchedule()
+          throws JobException, ProjectException, ServiceException, GenericException {
     Calendar calendar = Calendar.getInstance();
     calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
     Instant currentTime = Instant.now();
@@ -171,47 +169,17 @@ public class TestJobSchedulerV2Controller {
     JobConfiguration jobConfig = new SparkJobConfiguration();
     the_job.setJobConfig(jobConfig);
 
-    ArrayList<JobScheduleV2> schedulers = new ArrayList<>();
-    schedulers.add(scheduler);
-
-    Mockito.when(executionFacade.findByJobAndNotFinished(any(Jobs.class))).thenReturn(new ArrayList<>());
-    Mockito.when(jobScheduleV2Facade.getActiveWithCurrentExecutionTime(any())).thenReturn(schedulers);
     Mockito.when(jobScheduleV2Facade.update(any(JobScheduleV2.class))).thenReturn(scheduler);
     ArgumentCaptor<JobScheduleV2> argumentCaptor = ArgumentCaptor.forClass(JobScheduleV2.class);
-    
-    target.executeWithCron(currentTime);
+
+    JobScheduleV2 advanced = target.advanceSchedule(currentTime, scheduler);
     verify(jobScheduleV2Facade, times(1)).update(argumentCaptor.capture());
 
     JobScheduleV2 updatedSchedule = argumentCaptor.getValue();
     Assert.assertEquals(expected, updatedSchedule.getNextExecutionDateTime());
-  }
-
-  // test that the scheduler doesn't launch multiple executions for the same job
-  @Test
-  public void testExecuteWithCronNoParallel()
-          throws JobException, ProjectException, ServiceException, GenericException {
-    Instant currentTime = Instant.now();
-
-    JobScheduleV2 scheduler = new JobScheduleV2();
-    scheduler.setCronExpression("0 0 0 1 1 ? *");
-    scheduler.setStartDateTime(currentTime);
-    Jobs the_job = new Jobs();
-    scheduler.setJob(the_job);
-    JobConfiguration jobConfig = new SparkJobConfiguration();
-    the_job.setJobConfig(jobConfig);
-
-    ArrayList<JobScheduleV2> schedulers = new ArrayList<>();
-    schedulers.add(scheduler);
-
-    List<Execution> existingExecutions = new ArrayList<>();
-    existingExecutions.add(new Execution());
-    Mockito.when(executionFacade.findByJobAndNotFinished(any(Jobs.class))).thenReturn(existingExecutions);
-
-    Mockito.when(jobScheduleV2Facade.getActiveWithCurrentExecutionTime(any())).thenReturn(schedulers);
-    // Exception should not be thrown as the method should not be invoked.
-    Mockito.when(jobScheduleV2Facade.update(any(JobScheduleV2.class))).thenThrow(new IllegalArgumentException());
 
-    target.executeWithCron(currentTime);
+    target.executeScheduled(advanced);
+    verify(executionController, times(1)).start(the_job, "-start_time " + expected, the_job.getCreator());
   }
 
   @Test
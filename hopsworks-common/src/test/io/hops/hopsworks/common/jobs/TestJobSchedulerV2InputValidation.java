@@ -32,8 +32,6 @@ import java.time.Instant;
 import java.util.Calendar;
 import java.util.TimeZone;
 
-import static org.junit.Assert.assertThrows;
-
 
 public class TestJobSchedulerV2InputValidation {
   @InjectMocks
@@ -60,14 +58,16 @@ public class TestJobSchedulerV2InputValidation {
   }
 
   @Test
-  public void testCronValidationNoSeconds() {
+  public void testCronValidationSeconds() {
     JobScheduleV2DTO dto = new JobScheduleV2DTO();
+    dto.setStartDateTime(Instant.now());
+
+    // Every 30 seconds
+    dto.setCronExpression("*/30 * * ? * * *");
+    validator.validateJobScheduleDTO(dto);
 
     dto.setCronExpression("1 */10 0 1 * ? *");
-    assertThrows(
-      IllegalArgumentException.class,
-      () -> validator.validateJobScheduleDTO(dto)
-    );
+    validator.validateJobScheduleDTO(dto);
   }
 
   @Test
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.jobs.description.Jobs;
+import io.hops.hopsworks.persistence.entity.jobs.scheduler.JobScheduleV2;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+public class TestJobScheduleV2Scheduler {
+
+  @Mock
+  private JobScheduleV2Facade jobScheduleFacade;
+  @Mock
+  private JobScheduleV2Controller jobScheduleController;
+  @Mock
+  private ExecutionFacade executionFacade;
+  @Mock
+  private PayaraClusterManager payaraClusterManager;
+  @Mock
+  private Settings settings;
+  @Mock
+  private ManagedExecutorService executorService;
+  @InjectMocks
+  private JobScheduleV2Scheduler scheduler = new JobScheduleV2Scheduler();
+
+  private JobScheduleV2 schedule;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(true);
+    Mockito.when(settings.getJobSchedulerMaxLaunchesPerProject()).thenReturn(2);
+    Mockito.doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(executorService).submit(any(Runnable.class));
+
+    Project project = new Project();
+    project.setId(1);
+    Jobs job = new Jobs();
+    job.setId(10);
+    job.setProject(project);
+    schedule = new JobScheduleV2();
+    schedule.setId(100);
+    schedule.setJob(job);
+    schedule.setEnabled(true);
+    schedule.setCronExpression("0 0 0 1 1 ? *");
+    schedule.setNextExecutionDateTime(Instant.now().minusSeconds(1));
+
+    List<JobScheduleV2> schedules = Collections.singletonList(schedule);
+    Mockito.when(jobScheduleFacade.getActive()).thenReturn(schedules);
+    Mockito.when(jobScheduleFacade.getByIds(anyCollection())).thenReturn(schedules);
+  }
+
+  @Test
+  public void testLaunchDueSchedule() throws Exception {
+    JobScheduleV2 advanced = new JobScheduleV2();
+    advanced.setId(schedule.getId());
+    advanced.setJob(schedule.getJob());
+    advanced.setEnabled(true);
+    advanced.setNextExecutionDateTime(Instant.now().plusSeconds(3600));
+    Mockito.when(executionFacade.findJobIdsNotFinished(anyCollection())).thenReturn(Collections.emptySet());
+    Mockito.when(jobScheduleController.advanceSchedule(any(Instant.class), Mockito.eq(schedule)))
+      .thenReturn(advanced);
+
+    scheduler.tick();
+
+    Mockito.verify(jobScheduleController, Mockito.times(1)).executeScheduled(advanced);
+    Assert.assertEquals(1, scheduler.getLaunches());
+    // The advanced schedule is queued for its next execution
+    Assert.assertEquals(1, scheduler.getQueuedSchedules());
+  }
+
+  // test that the scheduler doesn't launch multiple executions for the same job
+  @Test
+  public void testNoParallelExecutions() throws Exception {
+    Mockito.when(executionFacade.findJobIdsNotFinished(anyCollection()))
+      .thenReturn(Collections.singleton(schedule.getJob().getId()));
+
+    scheduler.tick();
+
+    Mockito.verify(jobScheduleController, Mockito.never()).advanceSchedule(any(), any());
+    Mockito.verify(jobScheduleController, Mockito.never()).executeScheduled(any());
+    Assert.assertEquals(1, scheduler.getSkippedRunning());
+    // Checked again once the running execution may have finished
+    Assert.assertEquals(1, scheduler.getQueuedSchedules());
+  }
+
+  @Test
+  public void testSecondaryDoesNotLaunch() throws Exception {
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(false);
+
+    scheduler.tick();
+
+    Mockito.verify(jobScheduleFacade, Mockito.never()).getActive();
+    Mockito.verify(jobScheduleController, Mockito.never()).executeScheduled(any());
+  }
+}
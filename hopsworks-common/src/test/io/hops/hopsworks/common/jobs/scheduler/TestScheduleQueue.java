@@ -0,0 +1,63 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestScheduleQueue {
+
+  private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Test
+  public void testPollDueInOrder() {
+    ScheduleQueue queue = new ScheduleQueue();
+    queue.offer(1, now.plusSeconds(10));
+    queue.offer(2, now.minusSeconds(5));
+    queue.offer(3, now);
+    queue.offer(4, now.minusSeconds(5));
+    Assert.assertEquals(Arrays.asList(2, 4, 3), queue.pollDue(now));
+    Assert.assertEquals(1, queue.size());
+    Assert.assertTrue(queue.pollDue(now).isEmpty());
+    Assert.assertEquals(Collections.singletonList(1), queue.pollDue(now.plusSeconds(10)));
+  }
+
+  @Test
+  public void testOfferReplaces() {
+    ScheduleQueue queue = new ScheduleQueue();
+    queue.offer(1, now.minusSeconds(1));
+    queue.offer(1, now.plusSeconds(1));
+    Assert.assertEquals(1, queue.size());
+    Assert.assertEquals(now.plusSeconds(1), queue.getDue(1));
+    Assert.assertTrue(queue.pollDue(now).isEmpty());
+  }
+
+  @Test
+  public void testRemove() {
+    ScheduleQueue queue = new ScheduleQueue();
+    queue.offer(1, now);
+    queue.offer(2, now);
+    queue.remove(1);
+    queue.remove(3);
+    Assert.assertNull(queue.getDue(1));
+    Assert.assertEquals(Collections.singletonList(2), queue.pollDue(now));
+  }
+}
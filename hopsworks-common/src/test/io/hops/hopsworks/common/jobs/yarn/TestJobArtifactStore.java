@@ -0,0 +1,241 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.yarn;
+
+import io.hops.hopsworks.common.dataset.util.SeekableByteArrayInputStream;
+import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
+import io.hops.hopsworks.common.hdfs.DistributedFsService;
+import io.hops.hopsworks.common.hdfs.FsPermissions;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.hdfs.DistributedFileSystem;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.FileNotFoundException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+public class TestJobArtifactStore {
+  private static final String STORE_DIR = "/Projects/project/Resources/.artifacts";
+  private static final byte[] CONTENT = "spark.yarn.cache.filenames\tfile.jar\n".getBytes(StandardCharsets.UTF_8);
+
+  @Mock
+  private Settings settings;
+  @Mock
+  private DistributedFsService dfs;
+  @Mock
+  private PayaraClusterManager payaraClusterManager;
+  @InjectMocks
+  private JobArtifactStore store = new JobArtifactStore();
+
+  // In memory HopsFS, keyed by path
+  private final Set<String> dirs = new HashSet<>();
+  private final Map<String, byte[]> files = new HashMap<>();
+  private final Map<String, Long> modificationTimes = new HashMap<>();
+  private final Map<String, Long> accessTimes = new HashMap<>();
+  private DistributedFileSystemOps dfso;
+
+  @Before
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    store.init();
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(true);
+    Mockito.when(settings.getJobArtifactStoreMaxIdleMs()).thenReturn(60 * 1000L);
+
+    DistributedFileSystem fs = Mockito.mock(DistributedFileSystem.class);
+    dfso = Mockito.mock(DistributedFileSystemOps.class);
+    Mockito.when(dfso.getFilesystem()).thenReturn(fs);
+    Mockito.when(dfs.getDfsOps()).thenReturn(dfso);
+
+    Mockito.when(fs.exists(any(Path.class))).thenAnswer(invocation -> {
+      String path = path(invocation.getArgument(0));
+      return dirs.contains(path) || files.containsKey(path);
+    });
+    Mockito.when(fs.getFileStatus(any(Path.class))).thenAnswer(invocation -> status(invocation.getArgument(0)));
+    Mockito.when(fs.open(any(Path.class))).thenAnswer(invocation ->
+      new FSDataInputStream(new SeekableByteArrayInputStream(files.get(path(invocation.getArgument(0))))));
+    Mockito.when(fs.rename(any(Path.class), any(Path.class))).thenAnswer(invocation -> {
+      String src = path(invocation.getArgument(0));
+      String dst = path(invocation.getArgument(1));
+      if (files.containsKey(dst)) {
+        return false;
+      }
+      files.put(dst, files.remove(src));
+      modificationTimes.put(dst, modificationTimes.remove(src));
+      accessTimes.put(dst, accessTimes.remove(src));
+      return true;
+    });
+    Mockito.when(fs.delete(any(Path.class), anyBoolean()))
+      .thenAnswer(invocation -> files.remove(path(invocation.getArgument(0))) != null);
+    Mockito.doAnswer(invocation -> {
+      accessTimes.put(path(invocation.getArgument(0)), invocation.getArgument(2));
+      return null;
+    }).when(fs).setTimes(any(Path.class), anyLong(), anyLong());
+    Mockito.when(fs.globStatus(JobArtifactStore.STORE_DIRS)).thenAnswer(invocation -> dirs.stream()
+      .map(dir -> new FileStatus(0, true, 1, 0, 0, 0, FsPermissions.rwxrwx___T, "owner", "group", new Path(dir)))
+      .toArray(FileStatus[]::new));
+
+    Mockito.when(dfso.mkdirs(any(Path.class), any(FsPermission.class)))
+      .thenAnswer(invocation -> dirs.add(path(invocation.getArgument(0))));
+    Mockito.doAnswer(invocation -> {
+      write(path(invocation.getArgument(0)), invocation.getArgument(1), System.currentTimeMillis());
+      return null;
+    }).when(dfso).create(any(Path.class), any(byte[].class));
+    Mockito.when(dfso.listStatus(any(Path.class))).thenAnswer(invocation -> {
+      String dir = path(invocation.getArgument(0));
+      return files.keySet().stream()
+        .filter(file -> new Path(file).getParent().toUri().getPath().equals(dir))
+        .map(file -> status(new Path(file)))
+        .toArray(FileStatus[]::new);
+    });
+  }
+
+  @Test
+  public void testReuse() throws Exception {
+    FileStatus first = store.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    store.release(first);
+    FileStatus second = store.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    store.release(second);
+
+    Assert.assertEquals(first.getPath(), second.getPath());
+    Assert.assertEquals(1, store.getUploads());
+    Assert.assertEquals(1, store.getHits());
+    Mockito.verify(dfso, Mockito.times(1)).create(any(Path.class), any(byte[].class));
+    Mockito.verify(dfso).setPermission(new Path(STORE_DIR), FsPermissions.rwxrwx___T);
+
+    // Without a cached status, e.g. after a restart, the artifact in HopsFS is verified and reused
+    JobArtifactStore restarted = restartedStore();
+    FileStatus third = restarted.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    Assert.assertEquals(first.getPath(), third.getPath());
+    Assert.assertEquals(0, restarted.getUploads());
+    Assert.assertEquals(1, restarted.getHits());
+  }
+
+  @Test
+  public void testTamperedArtifactIsReplaced() throws Exception {
+    FileStatus artifact = store.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    store.release(artifact);
+    // Same length, different content
+    byte[] tampered = CONTENT.clone();
+    tampered[0] = 'x';
+    write(path(artifact.getPath()), tampered, System.currentTimeMillis());
+
+    JobArtifactStore restarted = restartedStore();
+    FileStatus replaced = restarted.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    Assert.assertEquals(artifact.getPath(), replaced.getPath());
+    Assert.assertArrayEquals(CONTENT, files.get(path(replaced.getPath())));
+    Assert.assertEquals(1, restarted.getUploads());
+    Assert.assertEquals(0, restarted.getHits());
+  }
+
+  @Test
+  public void testCollectStoresAfterRestart() throws Exception {
+    long old = System.currentTimeMillis() - 2 * 60 * 1000L;
+    FileStatus idle = store.acquire(dfso, STORE_DIR, "idle.conf", CONTENT);
+    store.release(idle);
+    modificationTimes.put(path(idle.getPath()), old);
+    accessTimes.put(path(idle.getPath()), old);
+    FileStatus used = store.acquire(dfso, STORE_DIR, "used.conf", CONTENT);
+    store.release(used);
+
+    // The restarted store has not used any of the artifacts
+    JobArtifactStore restarted = restartedStore();
+    restarted.collect(null);
+
+    Assert.assertFalse(files.containsKey(path(idle.getPath())));
+    Assert.assertTrue(files.containsKey(path(used.getPath())));
+    Assert.assertEquals(1, restarted.getCollected());
+  }
+
+  @Test
+  public void testReferencedArtifactIsNotCollected() throws Exception {
+    FileStatus artifact = store.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    long old = System.currentTimeMillis() - 2 * 60 * 1000L;
+    modificationTimes.put(path(artifact.getPath()), old);
+    accessTimes.put(path(artifact.getPath()), old);
+
+    store.collect(null);
+    Assert.assertTrue(files.containsKey(path(artifact.getPath())));
+    Assert.assertEquals(0, store.getCollected());
+  }
+
+  @Test
+  public void testSecondaryDoesNotCollect() throws Exception {
+    FileStatus artifact = store.acquire(dfso, STORE_DIR, "distcache.conf", CONTENT);
+    store.release(artifact);
+    long old = System.currentTimeMillis() - 2 * 60 * 1000L;
+    modificationTimes.put(path(artifact.getPath()), old);
+    accessTimes.put(path(artifact.getPath()), old);
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(false);
+
+    store.collect(null);
+    Assert.assertTrue(files.containsKey(path(artifact.getPath())));
+  }
+
+  private JobArtifactStore restartedStore() throws ReflectiveOperationException {
+    JobArtifactStore restarted = new JobArtifactStore();
+    inject(restarted, "settings", settings);
+    inject(restarted, "dfs", dfs);
+    inject(restarted, "payaraClusterManager", payaraClusterManager);
+    restarted.init();
+    return restarted;
+  }
+
+  private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+  private void write(String path, byte[] content, long time) {
+    files.put(path, content);
+    modificationTimes.put(path, time);
+    accessTimes.put(path, time);
+  }
+
+  private FileStatus status(Path path) throws FileNotFoundException {
+    String key = path(path);
+    byte[] content = files.get(key);
+    if (content == null) {
+      throw new FileNotFoundException(key);
+    }
+    return new FileStatus(content.length, false, 1, 0, modificationTimes.get(key), accessTimes.get(key),
+      FsPermission.getFileDefault(), "owner", "group", path);
+  }
+
+  private static String path(Path path) {
+    return path.toUri().getPath();
+  }
+}
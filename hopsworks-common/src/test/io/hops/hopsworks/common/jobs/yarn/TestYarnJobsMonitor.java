@@ -0,0 +1,126 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jobs.yarn;
+
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.jobs.execution.ExecutionUpdateController;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.common.yarn.YarnClientService;
+import io.hops.hopsworks.common.yarn.YarnClientWrapper;
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalStatus;
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
+import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
+import org.apache.hadoop.yarn.api.records.YarnApplicationState;
+import org.apache.hadoop.yarn.client.api.YarnClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TestYarnJobsMonitor {
+  private static final String APP_ID = "application_1700000000000_0001";
+
+  @InjectMocks
+  private YarnJobsMonitor target = new YarnJobsMonitor();
+
+  @Mock
+  private Settings settings;
+  @Mock
+  private ExecutionFacade executionFacade;
+  @Mock
+  private ExecutionUpdateController executionUpdateController;
+  @Mock
+  private YarnExecutionFinalizer execFinalizer;
+  @Mock
+  private YarnMonitor yarnMonitor;
+  @Mock
+  private PayaraClusterManager payaraClusterManager;
+  @Mock
+  private YarnClientService yarnClientService;
+
+  private Execution execution;
+
+  @Before
+  public void before() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(true);
+    Mockito.when(settings.getMaxStatusPollRetry()).thenReturn(5);
+    Mockito.when(settings.getYarnJobsMonitorMaxFinalizations()).thenReturn(10);
+    YarnClientWrapper yarnClientWrapper = Mockito.mock(YarnClientWrapper.class);
+    Mockito.when(yarnClientWrapper.getYarnClient()).thenReturn(Mockito.mock(YarnClient.class));
+    Mockito.when(yarnClientService.getYarnClientSuper()).thenReturn(yarnClientWrapper);
+
+    // State left behind by a previous primary: logs are being aggregated but no finalizer is running
+    execution = new Execution();
+    execution.setId(1);
+    execution.setAppId(APP_ID);
+    execution.setState(JobState.AGGREGATING_LOGS);
+    execution.setFinalStatus(JobFinalStatus.SUCCEEDED);
+    execution.setProgress(1);
+    Mockito.when(executionFacade.findNotFinished()).thenReturn(Collections.singletonList(execution));
+
+    ApplicationReport report = Mockito.mock(ApplicationReport.class);
+    Mockito.when(report.getYarnApplicationState()).thenReturn(YarnApplicationState.FINISHED);
+    Mockito.when(report.getFinalApplicationStatus()).thenReturn(FinalApplicationStatus.SUCCEEDED);
+    Mockito.when(report.getProgress()).thenReturn(1f);
+    Mockito.when(yarnMonitor.getActiveApplicationReports(any(), any())).thenReturn(new HashMap<>());
+    Mockito.when(yarnMonitor.getApplicationReport(any(), Mockito.eq(ApplicationId.fromString(APP_ID))))
+      .thenReturn(report);
+  }
+
+  @Test
+  public void testAggregatingLogsWithoutFinalizerIsFinalized() {
+    Mockito.when(execFinalizer.copyLogs(execution)).thenReturn(new CompletableFuture<>());
+
+    target.yarnJobMonitor(null);
+
+    // Nothing changed, so nothing is written, but the logs are copied
+    verify(executionUpdateController, never()).updateStatusAndSendAlerts(any());
+    verify(execFinalizer, times(1)).copyLogs(execution);
+
+    // The running finalizer owns the execution in the following rounds
+    target.yarnJobMonitor(null);
+    verify(execFinalizer, times(1)).copyLogs(execution);
+  }
+
+  @Test
+  public void testFailedFinalizerIsRetried() {
+    CompletableFuture<Execution> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("copy failed"));
+    Mockito.when(execFinalizer.copyLogs(execution)).thenReturn(failed);
+
+    target.yarnJobMonitor(null);
+    target.yarnJobMonitor(null);
+
+    verify(execFinalizer, times(2)).copyLogs(execution);
+  }
+}
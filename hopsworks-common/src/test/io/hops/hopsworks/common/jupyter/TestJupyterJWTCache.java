@@ -0,0 +1,105 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.jupyter;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class TestJupyterJWTCache {
+
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private IMap<CidAndPort, JupyterJWTDTO> jupyterJWTMap;
+  @InjectMocks
+  private JupyterJWTCache jupyterJWTCache = new JupyterJWTCache();
+
+  private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    Mockito.doReturn(jupyterJWTMap).when(hazelcastInstance).getMap("jupyterJWTMap");
+  }
+
+  private JupyterJWT jwt(int id, LocalDateTime expiration) {
+    Project project = new Project();
+    project.setId(id);
+    Users user = new Users();
+    user.setUid(id);
+    return new JupyterJWT(project, user, expiration, new CidAndPort("cid" + id, 8000 + id), "token" + id,
+      Paths.get("/tmp/token" + id));
+  }
+
+  @Test
+  public void testInitIndexesExistingMap() {
+    jupyterJWTCache.init();
+
+    Mockito.verify(jupyterJWTMap).addIndex(IndexType.SORTED, "expiration");
+    Mockito.verify(hazelcastInstance, Mockito.never()).getConfig();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExpiringBeforeSorted() {
+    List<JupyterJWTDTO> expiring = Arrays.asList(new JupyterJWTDTO(jwt(1, now.plusMinutes(5))),
+      new JupyterJWTDTO(jwt(2, now.minusMinutes(5))), new JupyterJWTDTO(jwt(3, now)));
+    Mockito.doReturn(expiring).when(jupyterJWTMap).values(any(Predicate.class));
+
+    List<JupyterJWTDTO> result = jupyterJWTCache.getExpiringBefore(now.plusMinutes(5));
+
+    Assert.assertEquals(Arrays.asList(2, 3, 1), projectIds(result));
+  }
+
+  @Test
+  public void testExpiringBeforeWithoutHazelcast() {
+    JupyterJWTCache localCache = new JupyterJWTCache();
+    localCache.add(jwt(1, now.plusMinutes(10)));
+    localCache.add(jwt(2, now));
+    // Tokens of different project/user pairs expiring at the same instant are all kept
+    localCache.add(jwt(3, now));
+    localCache.add(jwt(4, now.minusMinutes(10)));
+
+    List<JupyterJWTDTO> result = localCache.getExpiringBefore(now);
+
+    Assert.assertEquals(4, localCache.getSize());
+    Assert.assertEquals(Arrays.asList(4, 2, 3), projectIds(result));
+  }
+
+  private static List<Integer> projectIds(List<JupyterJWTDTO> jupyterJWTs) {
+    return jupyterJWTs.stream().map(JupyterJWTDTO::getProjectId).collect(Collectors.toList());
+  }
+}
@@ -23,6 +23,11 @@ import io.hops.hopsworks.common.featurestore.storageconnectors.FeaturestoreStora
 import io.hops.hopsworks.exceptions.KafkaException;
 import io.hops.hopsworks.persistence.entity.kafka.ProjectTopics;
 import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.restutils.RESTCodes;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -31,6 +36,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TestKafkaController {
 
@@ -165,6 +173,98 @@ public class TestKafkaController {
     Mockito.verify(kafkaController.projectTopicsFacade, Mockito.times(1)).save(Mockito.any());
   }
 
+  @Test
+  public void testCreateTopicLimitConcurrent() throws Exception {
+    // Arrange
+    List<String> brokers = Collections.nCopies(10, "endpoint");
+    Mockito.doReturn(brokers).when(kafkaController.kafkaBrokers).getBrokerEndpoints(Mockito.any());
+    Mockito.doReturn(false).when(kafkaController).externalKafka(Mockito.any());
+    Project project = Mockito.mock(Project.class);
+    Mockito.doReturn(0).when(project).getKafkaMaxNumTopics();
+    Mockito.doReturn(KafkaFuture.completedFuture(Collections.emptySet())).when(kafkaController.hopsKafkaAdminClient)
+        .listTopicNames();
+    // The creation of the first topic blocks in Kafka until it is released
+    CountDownLatch creating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CreateTopicsResult createTopicsResult = Mockito.mock(CreateTopicsResult.class);
+    Mockito.doReturn(KafkaFuture.completedFuture(null)).when(createTopicsResult).all();
+    Mockito.doAnswer(invocation -> {
+      creating.countDown();
+      Assert.assertTrue(release.await(10, TimeUnit.SECONDS));
+      return createTopicsResult;
+    }).when(kafkaController.hopsKafkaAdminClient).createTopics(Mockito.any());
+    List<ProjectTopics> saved = Collections.synchronizedList(new ArrayList<>());
+    Mockito.doAnswer(invocation -> saved.add(invocation.getArgument(0))).when(kafkaController.projectTopicsFacade)
+        .save(Mockito.any());
+    Mockito.doAnswer(invocation -> new ArrayList<>(saved)).when(kafkaController.projectTopicsFacade)
+        .findTopicsByProject(project);
+
+    // Act
+    AtomicReference<Exception> firstError = new AtomicReference<>();
+    Thread first = new Thread(() -> {
+      try {
+        kafkaController.createTopic(project, new TopicDTO("topic1", 1, 1));
+      } catch (Exception e) {
+        firstError.set(e);
+      }
+    });
+    first.start();
+    Assert.assertTrue(creating.await(10, TimeUnit.SECONDS));
+    AtomicReference<Exception> secondError = new AtomicReference<>();
+    Thread second = new Thread(() -> {
+      try {
+        kafkaController.createTopic(project, new TopicDTO("topic2", 1, 1));
+      } catch (Exception e) {
+        secondError.set(e);
+      }
+    });
+    second.start();
+    // The second topic is counted only after the first one is created
+    long deadline = System.currentTimeMillis() + 10 * 1000L;
+    while (second.getState() != Thread.State.BLOCKED) {
+      Assert.assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+    release.countDown();
+    first.join(10 * 1000L);
+    second.join(10 * 1000L);
+
+    // Assert
+    Assert.assertNull(firstError.get());
+    Assert.assertTrue(secondError.get() instanceof KafkaException);
+    Assert.assertEquals(RESTCodes.KafkaErrorCode.TOPIC_LIMIT_REACHED,
+        ((KafkaException) secondError.get()).getErrorCode());
+    Mockito.verify(kafkaController.projectTopicsFacade, Mockito.times(1)).save(Mockito.any());
+    Mockito.verify(kafkaController.hopsKafkaAdminClient, Mockito.times(1)).createTopics(Mockito.any());
+    Mockito.verify(kafkaController.hopsKafkaAdminClient, Mockito.times(0)).deleteTopics(Mockito.any());
+  }
+
+  @Test
+  public void testCreateTopicStaleCachedName() throws KafkaException {
+    // Arrange
+    List<String> brokers = Collections.nCopies(10, "endpoint");
+    Mockito.doReturn(brokers).when(kafkaController.kafkaBrokers).getBrokerEndpoints(Mockito.any());
+    Mockito.doReturn(false).when(kafkaController).externalKafka(Mockito.any());
+    Project project = Mockito.mock(Project.class);
+    Mockito.doReturn(1).when(project).getKafkaMaxNumTopics();
+    // The cached listing still contains a topic which was deleted on another node
+    Mockito.doReturn(KafkaFuture.completedFuture(Collections.singleton("topic")))
+        .when(kafkaController.hopsKafkaAdminClient).listTopicNames();
+    ListTopicsResult listTopicsResult = Mockito.mock(ListTopicsResult.class);
+    Mockito.doReturn(KafkaFuture.completedFuture(Collections.emptySet())).when(listTopicsResult).names();
+    Mockito.doReturn(listTopicsResult).when(kafkaController.hopsKafkaAdminClient).listTopics();
+    CreateTopicsResult createTopicsResult = Mockito.mock(CreateTopicsResult.class);
+    Mockito.doReturn(KafkaFuture.completedFuture(null)).when(createTopicsResult).all();
+    Mockito.doReturn(createTopicsResult).when(kafkaController.hopsKafkaAdminClient).createTopics(Mockito.any());
+
+    // Act
+    kafkaController.createTopic(project, new TopicDTO("topic", 1, 1));
+
+    // Assert
+    Mockito.verify(kafkaController.hopsKafkaAdminClient, Mockito.times(1)).listTopics();
+    Mockito.verify(kafkaController.projectTopicsFacade, Mockito.times(1)).save(Mockito.any());
+  }
+
   @Test
   public void testCreateTopicExternalKafka() throws KafkaException {
     // Arrange
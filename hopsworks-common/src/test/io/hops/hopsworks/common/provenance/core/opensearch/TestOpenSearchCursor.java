@@ -0,0 +1,66 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.provenance.core.opensearch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TestOpenSearchCursor {
+
+  @Test
+  public void testRoundTrip() {
+    Object[] sortValues = new Object[]{1640765430000L, 10041, 0.5d, 1.5f, "raw_fg1_1", true, null};
+    OpenSearchCursor cursor = OpenSearchCursor.of(42, sortValues);
+    String token = cursor.encode();
+    Assert.assertFalse(token.contains("/"));
+    Assert.assertFalse(token.contains("+"));
+    Assert.assertFalse(token.contains("="));
+    OpenSearchCursor decoded = OpenSearchCursor.decode(token);
+    Assert.assertEquals(Arrays.asList(sortValues), Arrays.asList(decoded.getSortValues()));
+    Assert.assertTrue(decoded.matches(42));
+    Assert.assertFalse(decoded.matches(43));
+  }
+
+  @Test
+  public void testSortValuesAreCopied() {
+    Object[] sortValues = new Object[]{1L};
+    OpenSearchCursor cursor = OpenSearchCursor.of(0, sortValues);
+    sortValues[0] = 2L;
+    Assert.assertEquals(1L, cursor.getSortValues()[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedSortValue() {
+    OpenSearchCursor.of(0, new Object[]{new Object()}).encode();
+  }
+
+  @Test
+  public void testMalformedToken() {
+    String token = OpenSearchCursor.of(0, new Object[]{1L, "a"}).encode();
+    String[] malformed = new String[]{"", "not a token", token.substring(0, token.length() - 2), token + "AA"};
+    for (String t : malformed) {
+      try {
+        OpenSearchCursor.decode(t);
+        Assert.fail("decoded malformed token " + t);
+      } catch (IllegalArgumentException e) {
+        //expected
+      }
+    }
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.provenance.explicit;
+
+import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupFacade;
+import io.hops.hopsworks.common.featurestore.featureview.FeatureViewFacade;
+import io.hops.hopsworks.common.featurestore.trainingdatasets.TrainingDatasetFacade;
+import io.hops.hopsworks.common.models.version.ModelVersionFacade;
+import io.hops.hopsworks.common.provenance.explicit.ProvExplicitGraphCache.Node;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.dataset.Dataset;
+import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.provenance.FeatureGroupLink;
+import io.hops.hopsworks.persistence.entity.provenance.ProvExplicitNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyList;
+
+public class TestProvExplicitControllerImpl {
+
+  @Mock
+  private FeatureGroupLinkFacade featureGroupLinkFacade;
+  @Mock
+  private FeatureViewLinkFacade featureViewLinkFacade;
+  @Mock
+  private ModelLinkFacade modelLinkFacade;
+  @Mock
+  private FeaturegroupFacade featuregroupFacade;
+  @Mock
+  private FeatureViewFacade featureViewFacade;
+  @Mock
+  private TrainingDatasetFacade trainingDatasetFacade;
+  @Mock
+  private ModelVersionFacade modelVersionFacade;
+  @Mock
+  private Settings settings;
+  @InjectMocks
+  private ProvExplicitControllerImpl controller = new ProvExplicitControllerImpl();
+
+  private ProvExplicitGraphCache graphCache;
+  private Project project;
+  private Featurestore featurestore;
+  private Featurestore otherFeaturestore;
+  // Feature group links, child derived from parent
+  private final List<FeatureGroupLink> links = new ArrayList<>();
+  // Feature groups which still exist
+  private final List<Featuregroup> featureGroups = new ArrayList<>();
+
+  @Before
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    Mockito.when(settings.getProvenanceExplicitGraphCacheSize()).thenReturn(100);
+    graphCache = new ProvExplicitGraphCache();
+    inject(graphCache, "settings", settings);
+    graphCache.init();
+    inject(controller, "graphCache", graphCache);
+
+    project = new Project(1, "project");
+    featurestore = featurestore(1, project);
+    Dataset dataset = new Dataset(1, "project_featurestore.db");
+    dataset.setProject(project);
+    dataset.setFeatureStore(featurestore);
+    project.setDatasetCollection(Collections.singletonList(dataset));
+    project.setDatasetSharedWithCollection(Collections.emptyList());
+    // Feature store of another project, not shared with project
+    otherFeaturestore = featurestore(2, new Project(2, "other"));
+
+    Mockito.when(featureGroupLinkFacade.findByChildren(anyList())).thenAnswer(invocation -> {
+      Set<Integer> children = ids(invocation.getArgument(0));
+      return links.stream()
+        .filter(link -> children.contains(link.getFeatureGroup().getId()))
+        .collect(Collectors.toList());
+    });
+    Mockito.when(featureGroupLinkFacade.findByParents(anyList())).thenAnswer(invocation -> {
+      Set<Integer> parents = ids(invocation.getArgument(0));
+      return links.stream()
+        .filter(link -> parents.contains(link.getParentFeatureGroup().getId()))
+        .collect(Collectors.toList());
+    });
+    Mockito.when(featuregroupFacade.findByIds(anyList())).thenAnswer(invocation -> {
+      List<Integer> ids = invocation.getArgument(0);
+      return featureGroups.stream()
+        .filter(featureGroup -> ids.contains(featureGroup.getId()))
+        .collect(Collectors.toList());
+    });
+  }
+
+  @Test
+  public void testUpstreamLevels() {
+    Featuregroup fg1 = featureGroup(1, featurestore);
+    Featuregroup fg2 = featureGroup(2, featurestore);
+    Featuregroup fg3 = featureGroup(3, featurestore);
+    Featuregroup fg4 = featureGroup(4, featurestore);
+    link(fg1, fg2);
+    link(fg2, fg3);
+    link(fg3, fg4);
+
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg4, 2, 0);
+
+    ProvExplicitLink<?> level1 = single(root.getUpstream());
+    Assert.assertEquals(fg3.getId(), level1.getNodeId());
+    Assert.assertTrue(level1.isTraversed());
+    ProvExplicitLink<?> level2 = single(level1.getUpstream());
+    Assert.assertEquals(fg2.getId(), level2.getNodeId());
+    // Returned but not traversed, fg1 is beyond the requested levels
+    Assert.assertFalse(level2.isTraversed());
+    Assert.assertTrue(level2.getUpstream().isEmpty());
+    Assert.assertTrue(root.getDownstream().isEmpty());
+    // One query per level
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(2)).findByChildren(anyList());
+    Mockito.verify(featureGroupLinkFacade, Mockito.never()).findByParents(anyList());
+  }
+
+  @Test
+  public void testDownstreamLevels() {
+    Featuregroup fg1 = featureGroup(1, featurestore);
+    Featuregroup fg2 = featureGroup(2, featurestore);
+    Featuregroup fg3 = featureGroup(3, featurestore);
+    link(fg1, fg2);
+    link(fg1, fg3);
+    link(fg2, fg3);
+
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg1, 0, 1);
+
+    Assert.assertTrue(root.getUpstream().isEmpty());
+    Assert.assertEquals(2, root.getDownstream().size());
+    for (ProvExplicitLink<?> child : root.getDownstream()) {
+      Assert.assertFalse(child.isTraversed());
+      Assert.assertTrue(child.getDownstream().isEmpty());
+    }
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(1)).findByParents(anyList());
+  }
+
+  @Test
+  public void testCycle() {
+    Featuregroup fg1 = featureGroup(1, featurestore);
+    Featuregroup fg2 = featureGroup(2, featurestore);
+    link(fg1, fg2);
+    link(fg2, fg1);
+
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg1, 10, 0);
+
+    ProvExplicitLink<?> parent = single(root.getUpstream());
+    Assert.assertEquals(fg2.getId(), parent.getNodeId());
+    Assert.assertTrue(parent.isTraversed());
+    // The root is returned again as parent of fg2 but not expanded a second time
+    ProvExplicitLink<?> again = single(parent.getUpstream());
+    Assert.assertEquals(fg1.getId(), again.getNodeId());
+    Assert.assertFalse(again.isTraversed());
+    Assert.assertTrue(again.getUpstream().isEmpty());
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(2)).findByChildren(anyList());
+  }
+
+  @Test
+  public void testInaccessibleArtifactNotTraversed() {
+    Featuregroup fg1 = featureGroup(1, otherFeaturestore);
+    Featuregroup fg2 = featureGroup(2, otherFeaturestore);
+    Featuregroup fg3 = featureGroup(3, featurestore);
+    link(fg1, fg2);
+    link(fg2, fg3);
+
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg3, 3, 0);
+
+    ProvExplicitLink<?> parent = single(root.getUpstream());
+    Assert.assertEquals(fg2.getId(), parent.getNodeId());
+    Assert.assertFalse(parent.isAccessible());
+    Assert.assertTrue(parent.isShared());
+    Assert.assertFalse(parent.isTraversed());
+    Assert.assertTrue(parent.getUpstream().isEmpty());
+    // The links of fg2 are never read
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(1)).findByChildren(anyList());
+  }
+
+  @Test
+  public void testCachedLinks() {
+    Featuregroup fg1 = featureGroup(1, featurestore);
+    Featuregroup fg2 = featureGroup(2, featurestore);
+    link(fg1, fg2);
+
+    controller.featureGroupLinks(project, fg2, 1, 0);
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg2, 1, 0);
+
+    Assert.assertEquals(fg1.getId(), single(root.getUpstream()).getNodeId());
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(1)).findByChildren(anyList());
+    // The parent of the cached link is loaded by id
+    Mockito.verify(featuregroupFacade, Mockito.times(1)).findByIds(Collections.singletonList(fg1.getId()));
+    Assert.assertEquals(1, graphCache.getHits());
+  }
+
+  @Test
+  public void testInvalidatedLinks() {
+    Featuregroup fg1 = featureGroup(1, featurestore);
+    Featuregroup fg2 = featureGroup(2, featurestore);
+    Featuregroup fg3 = featureGroup(3, featurestore);
+    link(fg1, fg3);
+    controller.featureGroupLinks(project, fg3, 1, 0);
+
+    // Creating a link invalidates both ends
+    link(fg2, fg3);
+    graphCache.invalidate(Arrays.asList(node(fg2), node(fg3)));
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg3, 1, 0);
+
+    Assert.assertEquals(2, root.getUpstream().size());
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(2)).findByChildren(anyList());
+  }
+
+  @Test
+  public void testCachedLinkToDeletedArtifact() {
+    Featuregroup fg1 = featureGroup(1, featurestore);
+    Featuregroup fg2 = featureGroup(2, featurestore);
+    link(fg1, fg2);
+    controller.featureGroupLinks(project, fg2, 1, 0);
+
+    // The database drops the link with the child, fg2 still has the cached link to fg1
+    featureGroups.remove(fg1);
+    links.clear();
+    ProvExplicitLink<Featuregroup> root = controller.featureGroupLinks(project, fg2, 1, 0);
+    Assert.assertTrue(root.getUpstream().isEmpty());
+
+    // The cached link has been dropped, the links are read again
+    controller.featureGroupLinks(project, fg2, 1, 0);
+    Mockito.verify(featureGroupLinkFacade, Mockito.times(2)).findByChildren(anyList());
+  }
+
+  private Featurestore featurestore(Integer id, Project owner) {
+    Featurestore featurestore = new Featurestore();
+    featurestore.setId(id);
+    featurestore.setProject(owner);
+    return featurestore;
+  }
+
+  private Featuregroup featureGroup(Integer id, Featurestore featurestore) {
+    Featuregroup featureGroup = new Featuregroup(id);
+    featureGroup.setFeaturestore(featurestore);
+    featureGroups.add(featureGroup);
+    return featureGroup;
+  }
+
+  private void link(Featuregroup parent, Featuregroup child) {
+    FeatureGroupLink link = new FeatureGroupLink();
+    link.setId(links.size() + 1);
+    link.setParentFeatureGroup(parent);
+    link.setFeatureGroup(child);
+    links.add(link);
+  }
+
+  private static Node node(Featuregroup featureGroup) {
+    return new Node(ProvExplicitNode.Type.FEATURE_GROUP, featureGroup.getId());
+  }
+
+  private static Set<Integer> ids(List<Featuregroup> featureGroups) {
+    return featureGroups.stream().map(Featuregroup::getId).collect(Collectors.toSet());
+  }
+
+  private static ProvExplicitLink<?> single(List<ProvExplicitLink> links) {
+    Assert.assertEquals(1, links.size());
+    return links.get(0);
+  }
+
+  private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+}
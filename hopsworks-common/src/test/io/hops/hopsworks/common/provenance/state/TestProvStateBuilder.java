@@ -0,0 +1,116 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.provenance.state;
+
+import io.hops.hopsworks.common.hdfs.inode.InodeController;
+import io.hops.hopsworks.common.provenance.core.PaginationParams;
+import io.hops.hopsworks.common.provenance.state.dto.ProvStateDTO;
+import io.hops.hopsworks.exceptions.ProvenanceException;
+import io.hops.hopsworks.persistence.entity.hdfs.inode.Inode;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestProvStateBuilder {
+
+  @Mock
+  private ProvStateController stateProvCtrl;
+  @Mock
+  private InodeController inodeController;
+  @InjectMocks
+  private ProvStateBuilder target = new ProvStateBuilder();
+
+  private Project project;
+  private Inode projectInode;
+  private ProvStateParams stateParams;
+  private PaginationParams pagParams;
+
+  @Before
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    project = new Project("test_project");
+    projectInode = mock(Inode.class);
+    when(projectInode.getId()).thenReturn(1L);
+    when(inodeController.getProjectRoot("test_project")).thenReturn(projectInode);
+    when(stateProvCtrl.provFileStateList(eq(projectInode), any(ProvStateParamBuilder.class)))
+      .thenReturn(new ProvStateDTO());
+
+    stateParams = mock(ProvStateParams.class);
+    when(stateParams.getReturnType()).thenReturn(ProvStateParams.ReturnType.LIST);
+    pagParams = mock(PaginationParams.class);
+    when(pagParams.getLimit()).thenReturn(10);
+  }
+
+  @Test
+  public void testOffsetPagination() throws Exception {
+    when(pagParams.getOffset()).thenReturn(20);
+
+    target.build(project, stateParams, pagParams);
+
+    ArgumentCaptor<ProvStateParamBuilder> params = ArgumentCaptor.forClass(ProvStateParamBuilder.class);
+    verify(stateProvCtrl).provFileStateList(eq(projectInode), params.capture());
+    Assert.assertNull(params.getValue().base.cursor);
+    Assert.assertEquals(Integer.valueOf(20), params.getValue().base.pagination.getValue0());
+    Assert.assertEquals(Integer.valueOf(10), params.getValue().base.pagination.getValue1());
+  }
+
+  @Test
+  public void testCursorPagination() throws Exception {
+    when(stateParams.getCursor()).thenReturn("c29tZS1jdXJzb3I=");
+
+    target.build(project, stateParams, pagParams);
+
+    ArgumentCaptor<ProvStateParamBuilder> params = ArgumentCaptor.forClass(ProvStateParamBuilder.class);
+    verify(stateProvCtrl).provFileStateList(eq(projectInode), params.capture());
+    Assert.assertEquals("c29tZS1jdXJzb3I=", params.getValue().base.cursor);
+    Assert.assertNull(params.getValue().base.pagination.getValue0());
+    Assert.assertEquals(Integer.valueOf(10), params.getValue().base.pagination.getValue1());
+  }
+
+  @Test
+  public void testFirstCursorPage() throws Exception {
+    when(stateParams.getCursor()).thenReturn("");
+    when(pagParams.getOffset()).thenReturn(0);
+
+    target.build(project, stateParams, pagParams);
+
+    ArgumentCaptor<ProvStateParamBuilder> params = ArgumentCaptor.forClass(ProvStateParamBuilder.class);
+    verify(stateProvCtrl).provFileStateList(eq(projectInode), params.capture());
+    Assert.assertEquals("", params.getValue().base.cursor);
+  }
+
+  @Test
+  public void testCursorWithOffset() throws Exception {
+    when(stateParams.getCursor()).thenReturn("c29tZS1jdXJzb3I=");
+    when(pagParams.getOffset()).thenReturn(20);
+
+    Assert.assertThrows(ProvenanceException.class, () -> target.build(project, stateParams, pagParams));
+    verify(stateProvCtrl, never()).provFileStateList(any(), any());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.security;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.crypto.AEADBadTagException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+public class TestSymmetricEncryptionService {
+
+  private static final String PASSWORD = "master_password";
+  private static final byte[] MESSAGE = "secret message".getBytes(StandardCharsets.UTF_8);
+
+  private SymmetricEncryptionService service;
+
+  @Before
+  public void setup() {
+    service = new SymmetricEncryptionService();
+    service.init();
+    service.rand = new SecureRandom();
+  }
+
+  private byte[] encryptLegacy(String password, byte[] message) throws GeneralSecurityException {
+    SymmetricEncryptionDescriptor descriptor = service.encrypt(new SymmetricEncryptionDescriptor.Builder()
+      .setPassword(password)
+      .setInput(message)
+      .build());
+    return service.mergePayloadWithCryptoPrimitives(descriptor.getSalt(), descriptor.getIv(),
+      descriptor.getOutput());
+  }
+
+  @Test
+  public void testEnvelopeRoundTrip() throws Exception {
+    byte[] envelope = service.encryptEnvelope(PASSWORD, MESSAGE);
+    Assert.assertTrue(service.isEnvelope(envelope));
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload(PASSWORD, envelope));
+  }
+
+  @Test
+  public void testEnvelopesShareKeyEncryptionKey() throws Exception {
+    byte[] first = service.encryptEnvelope(PASSWORD, MESSAGE);
+    byte[] second = service.encryptEnvelope(PASSWORD, MESSAGE);
+    Assert.assertFalse(Arrays.equals(first, second));
+    Assert.assertEquals(1, service.getDerivedKeysCount());
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload(PASSWORD, second));
+    Assert.assertEquals(1, service.getDerivedKeysCount());
+  }
+
+  @Test
+  public void testLegacyPayloadIsDecrypted() throws Exception {
+    byte[] legacy = encryptLegacy(PASSWORD, MESSAGE);
+    Assert.assertFalse(service.isEnvelope(legacy));
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload(PASSWORD, legacy));
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload(PASSWORD, legacy));
+    Assert.assertEquals(1, service.getDerivedKeysCount());
+  }
+
+  @Test
+  public void testRewrapKeepsPayload() throws Exception {
+    byte[] envelope = service.encryptEnvelope(PASSWORD, MESSAGE);
+    byte[] rewrapped = service.rewrapEnvelope(envelope, PASSWORD, "new_password");
+    Assert.assertEquals(envelope.length, rewrapped.length);
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload("new_password", rewrapped));
+    try {
+      service.decryptPayload(PASSWORD, rewrapped);
+      Assert.fail("Envelope should not be decrypted with the old password");
+    } catch (AEADBadTagException ex) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testKeyEncryptionKeysCachedDuringPasswordChange() throws Exception {
+    byte[] envelope = service.encryptEnvelope(PASSWORD, MESSAGE);
+    service.rewrapEnvelope(envelope, PASSWORD, "new_password");
+    Assert.assertEquals(2, service.getDerivedKeysCount());
+    // Switching between the old and the new password must not derive the keys again
+    byte[] old = service.encryptEnvelope(PASSWORD, MESSAGE);
+    byte[] rewrapped = service.rewrapEnvelope(old, PASSWORD, "new_password");
+    Assert.assertEquals(2, service.getDerivedKeysCount());
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload("new_password", rewrapped));
+  }
+
+  @Test(expected = AEADBadTagException.class)
+  public void testTamperedEnvelope() throws Exception {
+    byte[] envelope = service.encryptEnvelope(PASSWORD, MESSAGE);
+    envelope[envelope.length - 1] ^= 1;
+    service.decryptPayload(PASSWORD, envelope);
+  }
+
+  @Test
+  public void testClearDerivedKeys() throws Exception {
+    byte[] envelope = service.encryptEnvelope(PASSWORD, MESSAGE);
+    service.clearDerivedKeys();
+    Assert.assertEquals(0, service.getDerivedKeysCount());
+    Assert.assertArrayEquals(MESSAGE, service.decryptPayload(PASSWORD, envelope));
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.serving;
+
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.serving.Serving;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestServingDescriptorCache {
+
+  private ServingDescriptorCache cache;
+  private Project project;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Before
+  public void setup() {
+    cache = new ServingDescriptorCache();
+    project = new Project();
+    project.setId(1);
+    loads.set(0);
+  }
+
+  private Serving load(Integer id) {
+    loads.incrementAndGet();
+    Serving serving = new Serving();
+    serving.setId(id);
+    return serving;
+  }
+
+  @Test
+  public void testServingIsCached() {
+    Serving first = cache.get(project, "model", () -> load(10));
+    Serving second = cache.get(project, "model", () -> load(10));
+    Assert.assertSame(first, second);
+    Assert.assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testMissingServingIsNotCached() {
+    Assert.assertNull(cache.get(project, "model", () -> null));
+    Assert.assertNotNull(cache.get(project, "model", () -> load(10)));
+  }
+
+  @Test
+  public void testInvalidateById() {
+    Serving first = cache.get(project, "model", () -> load(10));
+    cache.get(project, "other", () -> load(11));
+    cache.invalidate(10);
+    Serving second = cache.get(project, "model", () -> load(10));
+    cache.get(project, "other", () -> load(11));
+    Assert.assertNotSame(first, second);
+    Assert.assertEquals(3, loads.get());
+  }
+
+  @Test
+  public void testLoadOverlappingInvalidationIsNotCached() {
+    cache.get(project, "model", () -> {
+      cache.invalidate(10);
+      return load(10);
+    });
+    cache.get(project, "model", () -> load(10));
+    Assert.assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testProjectsAreSeparated() {
+    Project other = new Project();
+    other.setId(2);
+    cache.get(project, "model", () -> load(10));
+    cache.get(other, "model", () -> load(20));
+    Assert.assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    for (int i = 0; i < 2 * ServingDescriptorCache.MAX_SIZE; i++) {
+      int id = i;
+      Assert.assertEquals(Integer.valueOf(id), cache.get(project, "model" + i, () -> load(id)).getId());
+    }
+    Assert.assertTrue(cache.size() <= ServingDescriptorCache.MAX_SIZE);
+    // Evicted servings are loaded again
+    Assert.assertNotNull(cache.get(project, "model0", () -> load(0)));
+  }
+}
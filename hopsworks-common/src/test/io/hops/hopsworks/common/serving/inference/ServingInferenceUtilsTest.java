@@ -18,9 +18,11 @@ package io.hops.hopsworks.common.serving.inference;
 
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
 import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 
 public class ServingInferenceUtilsTest {
@@ -39,4 +41,18 @@ public class ServingInferenceUtilsTest {
     String entityContentType = request.getEntity().getContentType().getValue();
     Assert.assertEquals(entityContentType, contentType.toString());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testBuildStreamingInferenceRequest() throws Exception {
+    byte[] payload = "{\"instances\": [[1.0, 2.0]]}".getBytes(StandardCharsets.UTF_8);
+
+    HttpPost request = servingInferenceUtils.buildInferenceRequest(
+      "localhost", 1234, "/v1/models/test:predict", new ByteArrayInputStream(payload), payload.length);
+
+    ContentType contentType = ContentType.create(ContentType.APPLICATION_JSON.getMimeType(), StandardCharsets.UTF_8);
+    Assert.assertEquals(contentType.toString(), request.getEntity().getContentType().getValue());
+    Assert.assertEquals(payload.length, request.getEntity().getContentLength());
+    Assert.assertFalse(request.getEntity().isRepeatable());
+    Assert.assertEquals(new String(payload, StandardCharsets.UTF_8), EntityUtils.toString(request.getEntity()));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.serving.inference.logger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestInferenceLogProducerPool {
+
+  private InferenceLogProducerPool pool;
+
+  @Before
+  public void setup() {
+    pool = new InferenceLogProducerPool();
+  }
+
+  private static String schema(int i) {
+    return "{\"type\":\"record\",\"name\":\"inference" + i + "\"," +
+      "\"fields\":[{\"name\":\"request\",\"type\":\"string\"}]}";
+  }
+
+  @Test
+  public void testWriterIsReused() {
+    InferenceLogProducerPool.SchemaWriter first = pool.getWriter(schema(0));
+    InferenceLogProducerPool.SchemaWriter second = pool.getWriter(schema(0));
+    Assert.assertSame(first, second);
+    Assert.assertNotSame(first, pool.getWriter(schema(1)));
+    Assert.assertEquals("inference0", first.getSchema().getName());
+  }
+
+  @Test
+  public void testWritersAreEvicted() {
+    for (int i = 0; i < 3 * InferenceLogProducerPool.MAX_CACHED_SCHEMAS; i++) {
+      Assert.assertEquals("inference" + i, pool.getWriter(schema(i)).getSchema().getName());
+    }
+    Assert.assertTrue(pool.getCachedWriters() <= InferenceLogProducerPool.MAX_CACHED_SCHEMAS);
+    // Evicted writers are created again
+    Assert.assertEquals("inference0", pool.getWriter(schema(0)).getSchema().getName());
+  }
+}
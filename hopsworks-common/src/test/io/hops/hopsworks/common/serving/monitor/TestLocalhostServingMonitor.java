@@ -0,0 +1,156 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.serving.monitor;
+
+import io.hops.hopsworks.common.dao.serving.ServingFacade;
+import io.hops.hopsworks.common.util.OSProcessExecutor;
+import io.hops.hopsworks.common.util.ProcessDescriptor;
+import io.hops.hopsworks.common.util.ProcessResult;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.serving.ModelServer;
+import io.hops.hopsworks.persistence.entity.serving.Serving;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hops.hopsworks.common.serving.LocalhostServingController.CID_FAILED;
+import static org.mockito.ArgumentMatchers.any;
+
+public class TestLocalhostServingMonitor {
+
+  @Mock
+  private ServingFacade servingFacade;
+  @Mock
+  private OSProcessExecutor osProcessExecutor;
+  @InjectMocks
+  private LocalhostServingMonitor monitor = new LocalhostServingMonitor();
+
+  private final List<Serving> servings = new ArrayList<>();
+  // Names of the servings whose alive check fails, and of those which can not be checked
+  private final Set<String> dead = new HashSet<>();
+  private final Set<String> unknown = new HashSet<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @Before
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    Project project = new Project();
+    project.setName("Project1");
+    for (int i = 0; i < 20; i++) {
+      Serving serving = new Serving();
+      serving.setId(i);
+      serving.setName("serving" + i);
+      serving.setCid("cid" + i);
+      serving.setModelServer(i % 2 == 0 ? ModelServer.TENSORFLOW_SERVING : ModelServer.PYTHON);
+      serving.setProject(project);
+      servings.add(serving);
+    }
+    Mockito.when(servingFacade.getLocalhostRunning()).thenReturn(servings);
+    Mockito.when(osProcessExecutor.submit(any())).thenAnswer(invocation -> {
+      ProcessDescriptor processDescriptor = invocation.getArgument(0);
+      List<String> command = processDescriptor.getSubcommands();
+      String name = command.get(command.size() - 1);
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      return new ProbeFuture(name);
+    });
+  }
+
+  @Test
+  public void testDeadServingsMarkedFailed() {
+    dead.add("serving3");
+    dead.add("serving12");
+    unknown.add("serving5");
+
+    monitor.monitor(null);
+
+    Map<Integer, String> expected = new HashMap<>();
+    expected.put(3, "cid3");
+    expected.put(12, "cid12");
+    // All dead servings are marked failed with a single call, with the cid they had when they were probed
+    Mockito.verify(servingFacade, Mockito.times(1)).updateCidIfUnchanged(expected, CID_FAILED);
+  }
+
+  @Test
+  public void testAliveServingsNotUpdated() throws Exception {
+    monitor.monitor(null);
+
+    Mockito.verify(osProcessExecutor, Mockito.times(servings.size())).submit(any());
+    Mockito.verify(servingFacade, Mockito.never()).updateCidIfUnchanged(any(), any());
+  }
+
+  @Test
+  public void testProbesAreBounded() {
+    monitor.monitor(null);
+
+    Assert.assertEquals(0, inFlight.get());
+    Assert.assertTrue(maxInFlight.get() > 1);
+    Assert.assertTrue(maxInFlight.get() <= 8);
+  }
+
+  private final class ProbeFuture implements Future<ProcessResult> {
+    private final String name;
+
+    private ProbeFuture(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public ProcessResult get() throws ExecutionException {
+      inFlight.decrementAndGet();
+      if (unknown.contains(name)) {
+        throw new ExecutionException(new RuntimeException("Failed to run the alive check"));
+      }
+      return new ProcessResult(dead.contains(name) ? 1 : 0, true);
+    }
+
+    @Override
+    public ProcessResult get(long timeout, TimeUnit unit) throws ExecutionException {
+      return get();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public boolean isDone() {
+      return true;
+    }
+  }
+}
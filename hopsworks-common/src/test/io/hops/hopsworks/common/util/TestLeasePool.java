@@ -0,0 +1,113 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestLeasePool {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger created = new AtomicInteger();
+  private final List<String> disposed = new ArrayList<>();
+  private LeasePool<String, String> pool;
+
+  @Before
+  public void setup() {
+    clock.set(0);
+    created.set(0);
+    disposed.clear();
+    pool = new LeasePool<>("test", 2, 1000, (key, value) -> disposed.add(value), clock::get);
+  }
+
+  private String create(String key) {
+    return key + "-" + created.incrementAndGet();
+  }
+
+  @Test
+  public void testLeaseIsShared() {
+    String first = pool.lease("a", this::create);
+    String second = pool.lease("a", this::create);
+    Assert.assertSame(first, second);
+    Assert.assertEquals(1, created.get());
+    Assert.assertEquals(1, pool.getMisses());
+    Assert.assertEquals(1, pool.getHits());
+  }
+
+  @Test
+  public void testIdleEviction() {
+    String value = pool.lease("a", this::create);
+    clock.set(500);
+    pool.release("a", value);
+    clock.set(1200);
+    Assert.assertEquals(0, pool.evictIdle());
+    clock.set(1600);
+    Assert.assertEquals(1, pool.evictIdle());
+    Assert.assertEquals(1, disposed.size());
+    Assert.assertEquals(0, pool.size());
+    Assert.assertNotSame(value, pool.lease("a", this::create));
+  }
+
+  @Test
+  public void testLeasedIsNotEvicted() {
+    String value = pool.lease("a", this::create);
+    pool.lease("a", this::create);
+    pool.release("a", value);
+    clock.set(5000);
+    Assert.assertEquals(0, pool.evictIdle());
+    Assert.assertTrue(disposed.isEmpty());
+  }
+
+  @Test
+  public void testOverCapacityIsDisposedOnRelease() {
+    String a = pool.lease("a", this::create);
+    String b = pool.lease("b", this::create);
+    String c = pool.lease("c", this::create);
+    Assert.assertEquals(3, pool.size());
+    pool.release("c", c);
+    Assert.assertEquals(2, pool.size());
+    Assert.assertEquals(1, pool.getEvictions());
+    pool.release("a", a);
+    pool.release("b", b);
+    Assert.assertEquals(2, pool.size());
+  }
+
+  @Test
+  public void testInvalidateWaitsForLastRelease() {
+    String value = pool.lease("a", this::create);
+    pool.invalidate(key -> key.equals("a"));
+    Assert.assertTrue(disposed.isEmpty());
+    Assert.assertEquals(0, pool.size());
+    String fresh = pool.lease("a", this::create);
+    Assert.assertNotSame(value, fresh);
+    pool.release("a", value);
+    Assert.assertEquals(1, disposed.size());
+    Assert.assertEquals(value, disposed.get(0));
+  }
+
+  @Test
+  public void testFailedCreationIsNotPooled() {
+    Assert.assertNull(pool.lease("a", key -> null));
+    Assert.assertEquals(0, pool.size());
+    Assert.assertNotNull(pool.lease("a", this::create));
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.common.util;
+
+import io.hops.hopsworks.persistence.entity.util.Variables;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestSettings {
+
+  @Mock
+  private EntityManager em;
+  @Mock
+  private TypedQuery<Variables> query;
+  @InjectMocks
+  private Settings settings = new Settings();
+
+  private List<Variables> variables;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    variables = new ArrayList<>(Arrays.asList(
+      new Variables("admin_email", "first@hopsworks.ai"),
+      new Variables("max_num_proj_per_user", "10")));
+    when(em.createNamedQuery(eq("Variables.findAll"), eq(Variables.class))).thenReturn(query);
+    when(query.getResultList()).thenAnswer(invocation -> new ArrayList<>(variables));
+  }
+
+  @Test
+  public void testValuesAreLoadedOnce() {
+    Assert.assertEquals("first@hopsworks.ai", settings.getAdminEmail());
+    Assert.assertEquals(Integer.valueOf(10), settings.getMaxNumProjPerUser());
+    verify(query, times(1)).getResultList();
+  }
+
+  @Test
+  public void testRefreshPublishesNewValues() {
+    Assert.assertEquals("first@hopsworks.ai", settings.getAdminEmail());
+
+    variables.clear();
+    variables.add(new Variables("admin_email", "second@hopsworks.ai"));
+    settings.refreshCache();
+
+    Assert.assertEquals("second@hopsworks.ai", settings.getAdminEmail());
+    // A variable which is no longer set falls back to its default instead of keeping the previous value
+    Assert.assertEquals(Integer.valueOf(5), settings.getMaxNumProjPerUser());
+    verify(query, times(2)).getResultList();
+  }
+
+  @Test
+  public void testFailedRefreshKeepsPreviousValues() {
+    Assert.assertEquals("first@hopsworks.ai", settings.getAdminEmail());
+
+    variables.clear();
+    variables.add(new Variables("admin_email", "second@hopsworks.ai"));
+    when(em.createNamedQuery(eq("Variables.findAll"), eq(Variables.class)))
+      .thenThrow(new IllegalStateException("database unavailable"));
+    try {
+      settings.refreshCache();
+      Assert.fail("refresh should have failed");
+    } catch (IllegalStateException ex) {
+      // expected
+    }
+
+    Assert.assertEquals("first@hopsworks.ai", settings.getAdminEmail());
+    Assert.assertEquals(Integer.valueOf(10), settings.getMaxNumProjPerUser());
+  }
+}
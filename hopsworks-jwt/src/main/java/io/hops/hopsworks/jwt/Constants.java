@@ -31,6 +31,9 @@ public class Constants {
   public static final String ONE_TIME_JWT_SIGNING_KEY_NAME = "oneTimeKey";
   public static final String OLD_ONE_TIME_JWT_SIGNING_KEY_NAME = ONE_TIME_JWT_SIGNING_KEY_NAME + "_old";
   public static final long ONE_TIME_JWT_LIFETIME_MS = 60000l;
+
+  public static final String INVALIDATED_JWT_TOPIC_NAME = "jwt_invalidated";
+  public static final String REMOVED_SIGNING_KEY_TOPIC_NAME = "jwt_signing_key_removed";
   
   public final static String ELK_SIGNING_KEY_NAME = "elk_jwt_signing_key";
   public final static String ELK_VALID_PROJECT_NAME = "pn";
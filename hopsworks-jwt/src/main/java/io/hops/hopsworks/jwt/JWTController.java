@@ -66,6 +66,8 @@ public class JWTController {
   private AlgorithmFactory algorithmFactory;
   @EJB
   private JwtSigningKeyFacade jwtSigningKeyFacade;
+  @EJB
+  private JWTVerificationCache verificationCache;
 
   /**
    * Create a jwt.
@@ -264,7 +266,7 @@ public class JWTController {
     DecodedJWT jwt = JWT.decode(token);
     issuer = issuer == null || issuer.isEmpty() ? jwt.getIssuer() : issuer;
     int expLeeway = getExpLeewayClaim(jwt);
-    jwt = verifyToken(token, issuer, expLeeway, algorithmFactory.getAlgorithm(jwt));
+    jwt = verifyToken(token, jwt, issuer, expLeeway);
 
     if (isTokenInvalidated(jwt)) {
       throw new VerificationException("Invalidated token.");
@@ -301,9 +303,10 @@ public class JWTController {
    */
   public DecodedJWT verifyToken(String token, String issuer, Set<String> audiences, Set<String> roles) throws
     SigningKeyNotFoundException, VerificationException, AccessException {
-    JsonWebToken jwt = new JsonWebToken(JWT.decode(token));
+    DecodedJWT decoded = JWT.decode(token);
+    JsonWebToken jwt = new JsonWebToken(decoded);
     issuer = issuer == null || issuer.isEmpty() ? jwt.getIssuer() : issuer;
-    DecodedJWT djwt = verifyToken(token, issuer, jwt.getExpLeeway(), algorithmFactory.getAlgorithm(jwt));
+    DecodedJWT djwt = verifyToken(token, decoded, issuer, jwt.getExpLeeway());
 
     if (isTokenInvalidated(djwt)) {
       throw new VerificationException("Invalidated token.");
@@ -325,18 +328,40 @@ public class JWTController {
     return djwt;
   }
   
-  private DecodedJWT verifyToken(String token, String issuer, int expLeeway, Algorithm algorithm) throws
-      VerificationException {
-    DecodedJWT jwt = null;
-    try {
-      JWTVerifier verifier = JWT.require(algorithm)
-          .withIssuer(issuer)
-          .acceptExpiresAt(expLeeway)
-          .build();
-      jwt = verifier.verify(token);
-    } catch (Exception e) {
-      throw new VerificationException(e.getMessage());
+  /**
+   * Verify the signature, issuer and expiration of a token. Does not check if the token has been invalidated.
+   * Tokens verified before are served from memory until they expire.
+   *
+   * @param token
+   * @param issuer
+   * @param expLeeway expiration leeway in seconds
+   * @return
+   * @throws SigningKeyNotFoundException
+   * @throws VerificationException
+   */
+  public DecodedJWT verifySignature(String token, String issuer, int expLeeway) throws SigningKeyNotFoundException,
+    VerificationException {
+    return verifyToken(token, JWT.decode(token), issuer, expLeeway);
+  }
+
+  private DecodedJWT verifyToken(String token, DecodedJWT decoded, String issuer, int expLeeway) throws
+      SigningKeyNotFoundException, VerificationException {
+    long start = System.nanoTime();
+    DecodedJWT jwt = verificationCache.getVerified(token, issuer, expLeeway);
+    if (jwt == null) {
+      Algorithm algorithm = algorithmFactory.getAlgorithm(decoded);
+      try {
+        JWTVerifier verifier = JWT.require(algorithm)
+            .withIssuer(issuer)
+            .acceptExpiresAt(expLeeway)
+            .build();
+        jwt = verifier.verify(token);
+      } catch (Exception e) {
+        throw new VerificationException(e.getMessage());
+      }
+      verificationCache.putVerified(token, jwt);
     }
+    verificationCache.recordVerification(System.nanoTime() - start);
     return jwt;
   }
 
@@ -361,8 +386,7 @@ public class JWTController {
   }
 
   private boolean isTokenInvalidated(String id) {
-    InvalidJwt invalidJwt = invalidJwtFacade.find(id);
-    return invalidJwt != null;
+    return verificationCache.isInvalidated(id);
   }
 
   /**
@@ -491,6 +515,7 @@ public class JWTController {
     } catch (Exception e) {
       throw new InvalidationException("Could not persist token.", e.getCause());
     }
+    verificationCache.invalidated(id);
   }
 
   /**
@@ -524,12 +549,10 @@ public class JWTController {
   public String generateJti() {
     UUID uuid = UUID.randomUUID();
     String randomUUIDString = uuid.toString();
-    InvalidJwt invalidJwt = invalidJwtFacade.find(randomUUIDString);
     //Wikipedia: the probability to find a duplicate within 103 trillion version 4 UUIDs is one in a billion.
-    while (invalidJwt != null) {
+    while (isTokenInvalidated(randomUUIDString)) {
       uuid = UUID.randomUUID();
       randomUUIDString = uuid.toString();
-      invalidJwt = invalidJwtFacade.find(randomUUIDString);
     }
     return randomUUIDString;
   }
@@ -566,7 +589,11 @@ public class JWTController {
    * @param keyName a unique name given to signing key when created.
    */
   public void deleteSigningKey(String keyName) {
-    jwtSigningKeyFacade.remove(keyName);
+    JwtSigningKey jwtSigningKey = jwtSigningKeyFacade.findByName(keyName);
+    if (jwtSigningKey != null) {
+      jwtSigningKeyFacade.remove(jwtSigningKey);
+      verificationCache.signingKeyRemoved(jwtSigningKey.getId());
+    }
   }
 
   public JwtSigningKey findSigningKeyById(Integer id) {
@@ -588,9 +615,19 @@ public class JWTController {
         count++;
       }
     }
+    if (count > 0) {
+      // Drop the removed ids from the revocation filter
+      verificationCache.reloadRevokedTokens();
+    }
     return count;
   }
   
+  /**
+   * Renames the one-time signing key if it is older than the rotation period and creates a new one. Tokens are
+   * verified by key id, so the cached secret of the renamed key stays valid until the key is removed.
+   *
+   * @return true if the key was rotated
+   */
   public boolean markOldSigningKeys() {
     JwtSigningKey jwtSigningKey = jwtSigningKeyFacade.findByName(Constants.ONE_TIME_JWT_SIGNING_KEY_NAME);
     final Calendar cal = Calendar.getInstance();
@@ -612,6 +649,7 @@ public class JWTController {
     JwtSigningKey jwtSigningKey = jwtSigningKeyFacade.findByName(Constants.OLD_ONE_TIME_JWT_SIGNING_KEY_NAME);
     if (jwtSigningKey != null) {
       jwtSigningKeyFacade.remove(jwtSigningKey);
+      verificationCache.signingKeyRemoved(jwtSigningKey.getId());
     }
   }
   
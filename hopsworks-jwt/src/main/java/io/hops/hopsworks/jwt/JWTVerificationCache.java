@@ -0,0 +1,425 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.jwt.dao.InvalidJwtFacade;
+import io.hops.hopsworks.jwt.dao.JwtSigningKeyFacade;
+import io.hops.hopsworks.jwt.exception.SigningKeyNotFoundException;
+import io.hops.hopsworks.persistence.entity.jwt.InvalidJwt;
+import io.hops.hopsworks.persistence.entity.jwt.JwtSigningKey;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timer;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static io.hops.hopsworks.jwt.Constants.INVALIDATED_JWT_TOPIC_NAME;
+import static io.hops.hopsworks.jwt.Constants.REMOVED_SIGNING_KEY_TOPIC_NAME;
+
+/**
+ * In-memory state used by {@link JWTController} to verify tokens without going to the database on every request.
+ *
+ * <ul>
+ *   <li>Verified tokens, keyed by the SHA-256 of the token and valid until the token expires.</li>
+ *   <li>Decoded signing key secrets, keyed by the key id. Keys are immutable once created, an entry is only dropped
+ *   when the key is removed.</li>
+ *   <li>The ids of invalidated tokens, as a Bloom filter and an exact set. Only tokens which hit the Bloom filter but
+ *   are not in the exact set are looked up in the database.</li>
+ * </ul>
+ *
+ * Invalidated tokens and removed signing keys are published to the other nodes through Hazelcast. The state is also
+ * reloaded from the database every minute, which bounds how stale a node can be when Hazelcast is disabled.
+ */
+@Startup
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class JWTVerificationCache {
+  private static final Logger LOGGER = Logger.getLogger(JWTVerificationCache.class.getName());
+
+  private static final int VERIFIED_TOKENS_MAX_SIZE = 100000;
+  // Upper bound for tokens without an expiration date and for tokens verified with a long leeway
+  private static final long VERIFIED_TOKENS_MAX_AGE_MIN = 30;
+  private static final int REVOKED_MIN_EXPECTED_INSERTIONS = 10000;
+  private static final double REVOKED_FALSE_POSITIVE_PROBABILITY = 0.001;
+
+  @EJB
+  private InvalidJwtFacade invalidJwtFacade;
+  @EJB
+  private JwtSigningKeyFacade jwtSigningKeyFacade;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+
+  private final Cache<String, VerifiedToken> verifiedTokens = CacheBuilder.newBuilder()
+    .maximumSize(VERIFIED_TOKENS_MAX_SIZE)
+    .expireAfterWrite(VERIFIED_TOKENS_MAX_AGE_MIN, TimeUnit.MINUTES)
+    .build();
+  private final Map<Integer, byte[]> signingKeys = new ConcurrentHashMap<>();
+  private volatile RevokedTokens revokedTokens = new RevokedTokens(0);
+  // Guards the replacement of revokedTokens, reads are lock free
+  private final Object revokedTokensLock = new Object();
+
+  private ITopic<String> invalidatedTopic;
+  private ITopic<String> removedKeyTopic;
+  private UUID invalidatedListenerId;
+  private UUID removedKeyListenerId;
+
+  private final AtomicLong verifiedHits = new AtomicLong();
+  private final AtomicLong verifiedMisses = new AtomicLong();
+  private final AtomicLong verifications = new AtomicLong();
+  private final AtomicLong verificationNanos = new AtomicLong();
+  private final AtomicLong signingKeyMisses = new AtomicLong();
+  private final AtomicLong revocationChecks = new AtomicLong();
+  private final AtomicLong revocationLookups = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    reloadRevokedTokens();
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getReliableTopic(INVALIDATED_JWT_TOPIC_NAME);
+      invalidatedListenerId = invalidatedTopic.addMessageListener(new InvalidatedListener());
+      removedKeyTopic = hazelcastInstance.getReliableTopic(REMOVED_SIGNING_KEY_TOPIC_NAME);
+      removedKeyListenerId = removedKeyTopic.addMessageListener(new RemovedKeyListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    //needed for redeploy to remove the listeners
+    if (invalidatedTopic != null) {
+      invalidatedTopic.removeMessageListener(invalidatedListenerId);
+    }
+    if (removedKeyTopic != null) {
+      removedKeyTopic.removeMessageListener(removedKeyListenerId);
+    }
+  }
+
+  /**
+   * @param token the encoded token
+   * @param issuer the expected issuer
+   * @param expLeeway expiration leeway in seconds
+   * @return the decoded token if it was verified before and has not expired, null otherwise. The caller still has to
+   * check if the token has been invalidated.
+   */
+  public DecodedJWT getVerified(String token, String issuer, int expLeeway) {
+    String key = hash(token);
+    VerifiedToken verified = verifiedTokens.getIfPresent(key);
+    if (verified == null) {
+      verifiedMisses.incrementAndGet();
+      return null;
+    }
+    if (System.currentTimeMillis() > verified.expiresAt + expLeeway * 1000L) {
+      verifiedTokens.invalidate(key);
+      verifiedMisses.incrementAndGet();
+      return null;
+    }
+    if (issuer != null && !issuer.equals(verified.jwt.getIssuer())) {
+      verifiedMisses.incrementAndGet();
+      return null;
+    }
+    verifiedHits.incrementAndGet();
+    return verified.jwt;
+  }
+
+  /**
+   * Remember a token whose signature, issuer and expiration have been verified
+   *
+   * @param token the encoded token
+   * @param jwt the verified token
+   */
+  public void putVerified(String token, DecodedJWT jwt) {
+    Date expiresAt = jwt.getExpiresAt();
+    verifiedTokens.put(hash(token), new VerifiedToken(jwt, expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime()));
+  }
+
+  public void recordVerification(long nanos) {
+    verifications.incrementAndGet();
+    verificationNanos.addAndGet(nanos);
+  }
+
+  /**
+   * @param keyId signing key id
+   * @return the decoded secret of the key
+   * @throws SigningKeyNotFoundException
+   */
+  public byte[] getSigningKey(Integer keyId) throws SigningKeyNotFoundException {
+    byte[] secret = signingKeys.get(keyId);
+    if (secret != null) {
+      return secret;
+    }
+    signingKeyMisses.incrementAndGet();
+    JwtSigningKey signingKey = jwtSigningKeyFacade.find(keyId);
+    if (signingKey == null) {
+      throw new SigningKeyNotFoundException("Signing key not found.");
+    }
+    secret = Base64.getDecoder().decode(signingKey.getSecret());
+    signingKeys.put(keyId, secret);
+    return secret;
+  }
+
+  /**
+   * Forget a removed signing key and all tokens verified with it, on this and on all other nodes
+   *
+   * @param keyId
+   */
+  public void signingKeyRemoved(Integer keyId) {
+    if (keyId == null) {
+      return;
+    }
+    evictSigningKey(keyId);
+    //Notify other nodes if removedKeyTopic is created ==> Hazelcast is enabled
+    if (removedKeyTopic != null) {
+      removedKeyTopic.publishAsync(keyId.toString());
+    }
+  }
+
+  private void evictSigningKey(Integer keyId) {
+    signingKeys.remove(keyId);
+    String kid = keyId.toString();
+    verifiedTokens.asMap().values().removeIf(verified -> kid.equals(verified.jwt.getKeyId()));
+  }
+
+  /**
+   * Record an invalidated token on this and on all other nodes
+   *
+   * @param jti
+   */
+  public void invalidated(String jti) {
+    addRevoked(jti);
+    //Notify other nodes if invalidatedTopic is created ==> Hazelcast is enabled
+    if (invalidatedTopic != null) {
+      invalidatedTopic.publishAsync(jti);
+    }
+  }
+
+  private void addRevoked(String jti) {
+    synchronized (revokedTokensLock) {
+      revokedTokens.add(jti);
+    }
+  }
+
+  /**
+   * @param jti
+   * @return true if the token is in the invalid tokens table
+   */
+  public boolean isInvalidated(String jti) {
+    revocationChecks.incrementAndGet();
+    RevokedTokens revoked = revokedTokens;
+    if (!revoked.filter.mightContain(jti)) {
+      return false;
+    }
+    if (revoked.ids.contains(jti)) {
+      return true;
+    }
+    // Bloom filter false positive or an id removed by the cleanup
+    revocationLookups.incrementAndGet();
+    InvalidJwt invalidJwt = invalidJwtFacade.find(jti);
+    if (invalidJwt != null) {
+      addRevoked(jti);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Rebuild the Bloom filter and the exact set of invalidated tokens from the database. A new filter is created so
+   * that the ids removed by the cleanup no longer produce hits.
+   */
+  public void reloadRevokedTokens() {
+    synchronized (revokedTokensLock) {
+      List<String> ids = invalidJwtFacade.findAllJti();
+      RevokedTokens reloaded = new RevokedTokens(ids.size());
+      for (String id : ids) {
+        reloaded.add(id);
+      }
+      revokedTokens = reloaded;
+    }
+  }
+
+  private void reloadSigningKeys() {
+    if (signingKeys.isEmpty()) {
+      return;
+    }
+    Set<Integer> existing = new HashSet<>();
+    for (JwtSigningKey signingKey : jwtSigningKeyFacade.findAll()) {
+      existing.add(signingKey.getId());
+    }
+    for (Integer keyId : signingKeys.keySet()) {
+      if (!existing.contains(keyId)) {
+        evictSigningKey(keyId);
+      }
+    }
+  }
+
+  @Schedule(persistent = false,
+    minute = "*",
+    hour = "*",
+    info = "JWT verification cache refresh")
+  public void refresh(Timer timer) {
+    try {
+      reloadRevokedTokens();
+      reloadSigningKeys();
+      LOGGER.log(Level.FINE, "Refreshed {0}", this);
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Error refreshing JWT verification cache", e);
+    }
+  }
+
+  private static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public long getVerifiedHits() {
+    return verifiedHits.get();
+  }
+
+  public long getVerifiedMisses() {
+    return verifiedMisses.get();
+  }
+
+  public double getVerifiedHitRate() {
+    long hits = verifiedHits.get();
+    long total = hits + verifiedMisses.get();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * @return mean time of a token verification in microseconds, including cache hits
+   */
+  public double getMeanVerificationMicros() {
+    long count = verifications.get();
+    return count == 0 ? 0 : verificationNanos.get() / 1000.0 / count;
+  }
+
+  public long getSigningKeyMisses() {
+    return signingKeyMisses.get();
+  }
+
+  public long getRevocationChecks() {
+    return revocationChecks.get();
+  }
+
+  public long getRevocationLookups() {
+    return revocationLookups.get();
+  }
+
+  public long getRevokedTokens() {
+    return revokedTokens.ids.size();
+  }
+
+  @Override
+  public String toString() {
+    return "JWTVerificationCache{" +
+      "verifiedTokens=" + verifiedTokens.size() +
+      ", verifiedHitRate=" + String.format("%.3f", getVerifiedHitRate()) +
+      ", meanVerificationMicros=" + String.format("%.1f", getMeanVerificationMicros()) +
+      ", signingKeys=" + signingKeys.size() +
+      ", signingKeyMisses=" + signingKeyMisses.get() +
+      ", revokedTokens=" + revokedTokens.ids.size() +
+      ", revocationChecks=" + revocationChecks.get() +
+      ", revocationLookups=" + revocationLookups.get() +
+      '}';
+  }
+
+  private static final class VerifiedToken {
+    private final DecodedJWT jwt;
+    private final long expiresAt;
+
+    private VerifiedToken(DecodedJWT jwt, long expiresAt) {
+      this.jwt = jwt;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private static final class RevokedTokens {
+    private final BloomFilter<CharSequence> filter;
+    private final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    private RevokedTokens(int size) {
+      // Leave room for the tokens invalidated until the next reload
+      filter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+        Math.max(REVOKED_MIN_EXPECTED_INSERTIONS, size * 2L), REVOKED_FALSE_POSITIVE_PROBABILITY);
+    }
+
+    private void add(String jti) {
+      // Add to the exact set first, a Bloom hit must find the id without going to the database
+      ids.add(jti);
+      filter.put(jti);
+    }
+  }
+
+  private class InvalidatedListener implements MessageListener<String> {
+    @Override
+    public void onMessage(Message<String> message) {
+      if (!message.getPublishingMember().localMember()) {
+        addRevoked(message.getMessageObject());
+      }
+    }
+  }
+
+  private class RemovedKeyListener implements MessageListener<String> {
+    @Override
+    public void onMessage(Message<String> message) {
+      if (!message.getPublishingMember().localMember()) {
+        try {
+          evictSigningKey(Integer.valueOf(message.getMessageObject()));
+        } catch (NumberFormatException e) {
+          LOGGER.log(Level.WARNING, "Invalid signing key id in notification: {0}", message.getMessageObject());
+        }
+      }
+    }
+  }
+}
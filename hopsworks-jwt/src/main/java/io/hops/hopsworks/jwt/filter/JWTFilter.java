@@ -79,12 +79,8 @@ public abstract class JWTFilter implements ContainerRequestFilter {
     String issuer = getIssuer();
     int expLeeway = expLeewayClaim.asInt();
     try {
-      Algorithm algorithm = getAlgorithm(jwt);
-      JWTVerifier verifier = JWT.require(algorithm)
-          .withIssuer(issuer == null || issuer.isEmpty() ? jwt.getIssuer() : issuer)
-          .acceptExpiresAt(expLeeway == 0 ? DEFAULT_EXPIRY_LEEWAY : expLeeway)
-          .build();
-      jwt = verifier.verify(token);
+      jwt = verifyToken(token, jwt, issuer == null || issuer.isEmpty() ? jwt.getIssuer() : issuer,
+          expLeeway == 0 ? DEFAULT_EXPIRY_LEEWAY : expLeeway);
     } catch (Exception exception) {
       LOGGER.log(Level.FINE, "JWT Verification Exception: {0}", exception.getMessage());
       responseEntity = responseEntity(Response.Status.UNAUTHORIZED, exception.getMessage());
@@ -131,6 +127,25 @@ public abstract class JWTFilter implements ContainerRequestFilter {
     postJWTFilter(requestContext, jwt);
   }
 
+  /**
+   * Verify the signature, issuer and expiration of the token. Override to reuse verifications across requests.
+   *
+   * @param token the encoded token
+   * @param jwt the decoded, not yet verified, token
+   * @param issuer expected issuer
+   * @param expLeeway expiration leeway in seconds
+   * @return the verified token
+   * @throws Exception if the token is not valid
+   */
+  public DecodedJWT verifyToken(String token, DecodedJWT jwt, String issuer, int expLeeway) throws Exception {
+    Algorithm algorithm = getAlgorithm(jwt);
+    JWTVerifier verifier = JWT.require(algorithm)
+        .withIssuer(issuer)
+        .acceptExpiresAt(expLeeway)
+        .build();
+    return verifier.verify(token);
+  }
+
   private boolean intersect(Collection list1, Collection list2) {
     if (list1 == null || list1.isEmpty() || list2 == null || list2.isEmpty()) {
       return false;
@@ -0,0 +1,220 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.jwt.dao.InvalidJwtFacade;
+import io.hops.hopsworks.jwt.dao.JwtSigningKeyFacade;
+import io.hops.hopsworks.jwt.exception.SigningKeyNotFoundException;
+import io.hops.hopsworks.jwt.exception.VerificationException;
+import io.hops.hopsworks.persistence.entity.jwt.InvalidJwt;
+import io.hops.hopsworks.persistence.entity.jwt.JwtSigningKey;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+
+import static io.hops.hopsworks.jwt.Constants.INVALIDATED_JWT_TOPIC_NAME;
+import static io.hops.hopsworks.jwt.Constants.REMOVED_SIGNING_KEY_TOPIC_NAME;
+
+public class TestJWTVerificationCache {
+
+  private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+  private static final String ISSUER = "hopsworks@logicalclocks.com";
+  private static final String JTI = "c5e5ae03-5f3d-4f6c-9b2b-0e2f0c3c4a11";
+
+  @Mock
+  private InvalidJwtFacade invalidJwtFacade;
+  @Mock
+  private JwtSigningKeyFacade jwtSigningKeyFacade;
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private ITopic<String> invalidatedTopic;
+  @Mock
+  private ITopic<String> removedKeyTopic;
+  @InjectMocks
+  private JWTVerificationCache verificationCache = new JWTVerificationCache();
+
+  private JWTController jwtController;
+  private MessageListener<String> invalidatedListener;
+  private MessageListener<String> removedKeyListener;
+  private String token;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    JwtSigningKey signingKey = new JwtSigningKey(Base64.getEncoder().encodeToString(SECRET), "test");
+    signingKey.setId(1);
+    Mockito.when(jwtSigningKeyFacade.find(1)).thenReturn(signingKey);
+    Mockito.when(jwtSigningKeyFacade.findAll()).thenReturn(Collections.singletonList(signingKey));
+    Mockito.when(invalidJwtFacade.findAllJti()).thenReturn(Collections.emptyList());
+    Mockito.doReturn(invalidatedTopic).when(hazelcastInstance).getReliableTopic(INVALIDATED_JWT_TOPIC_NAME);
+    Mockito.doReturn(removedKeyTopic).when(hazelcastInstance).getReliableTopic(REMOVED_SIGNING_KEY_TOPIC_NAME);
+    verificationCache.init();
+
+    ArgumentCaptor<MessageListener<String>> listener = ArgumentCaptor.forClass(MessageListener.class);
+    Mockito.verify(invalidatedTopic).addMessageListener(listener.capture());
+    invalidatedListener = listener.getValue();
+    listener = ArgumentCaptor.forClass(MessageListener.class);
+    Mockito.verify(removedKeyTopic).addMessageListener(listener.capture());
+    removedKeyListener = listener.getValue();
+
+    AlgorithmFactory algorithmFactory = new AlgorithmFactory();
+    inject(algorithmFactory, "verificationCache", verificationCache);
+    jwtController = new JWTController();
+    inject(jwtController, "invalidJwtFacade", invalidJwtFacade);
+    inject(jwtController, "jwtSigningKeyFacade", jwtSigningKeyFacade);
+    inject(jwtController, "algorithmFactory", algorithmFactory);
+    inject(jwtController, "verificationCache", verificationCache);
+
+    token = JWT.create()
+      .withKeyId("1")
+      .withIssuer(ISSUER)
+      .withJWTId(JTI)
+      .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+      .sign(Algorithm.HMAC256(SECRET));
+  }
+
+  private static void inject(Object target, String name, Object value) throws Exception {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Message<String> remoteMessage(String payload) {
+    Member member = Mockito.mock(Member.class);
+    Mockito.when(member.localMember()).thenReturn(false);
+    Message<String> message = Mockito.mock(Message.class);
+    Mockito.when(message.getPublishingMember()).thenReturn(member);
+    Mockito.when(message.getMessageObject()).thenReturn(payload);
+    return message;
+  }
+
+  private void assertRejected() throws SigningKeyNotFoundException {
+    try {
+      jwtController.verifyToken(token, ISSUER);
+      Assert.fail("Expected the token to be rejected");
+    } catch (VerificationException e) {
+      Assert.assertEquals("Invalidated token.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testVerifiedTokenIsCached() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+    jwtController.verifyToken(token, ISSUER);
+
+    Assert.assertEquals(1, verificationCache.getVerifiedMisses());
+    Assert.assertEquals(1, verificationCache.getVerifiedHits());
+    Mockito.verify(jwtSigningKeyFacade, Mockito.times(1)).find(1);
+  }
+
+  @Test
+  public void testCachedTokenRejectedAfterInvalidation() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+
+    jwtController.invalidate(token);
+
+    Mockito.verify(invalidJwtFacade).persist(Mockito.any(InvalidJwt.class));
+    Mockito.verify(invalidatedTopic).publishAsync(JTI);
+    assertRejected();
+    // Answered by the exact set, the database is not queried
+    Mockito.verify(invalidJwtFacade, Mockito.never()).find(JTI);
+  }
+
+  @Test
+  public void testCachedTokenRejectedAfterRemoteInvalidation() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+
+    invalidatedListener.onMessage(remoteMessage(JTI));
+
+    assertRejected();
+  }
+
+  @Test
+  public void testReloadRevokedTokens() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+
+    // Invalidated on a node which could not publish it
+    Mockito.when(invalidJwtFacade.findAllJti()).thenReturn(Collections.singletonList(JTI));
+    verificationCache.refresh(null);
+    assertRejected();
+    Assert.assertEquals(1, verificationCache.getRevokedTokens());
+
+    // Removed by the cleanup, the new filter no longer holds it
+    Mockito.when(invalidJwtFacade.findAllJti()).thenReturn(Collections.emptyList());
+    verificationCache.refresh(null);
+    jwtController.verifyToken(token, ISSUER);
+    Assert.assertEquals(0, verificationCache.getRevokedTokens());
+  }
+
+  @Test
+  public void testSigningKeyRemovedInvalidatesTokens() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+    Mockito.when(jwtSigningKeyFacade.find(1)).thenReturn(null);
+
+    verificationCache.signingKeyRemoved(1);
+
+    Mockito.verify(removedKeyTopic).publishAsync("1");
+    Assert.assertNull(verificationCache.getVerified(token, ISSUER, 0));
+    try {
+      jwtController.verifyToken(token, ISSUER);
+      Assert.fail("Expected the signing key to be gone");
+    } catch (SigningKeyNotFoundException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testSigningKeyRemovedOnOtherNode() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+    Mockito.when(jwtSigningKeyFacade.find(1)).thenReturn(null);
+
+    removedKeyListener.onMessage(remoteMessage("1"));
+
+    Assert.assertNull(verificationCache.getVerified(token, ISSUER, 0));
+  }
+
+  @Test
+  public void testSigningKeyRemovedFoundOnRefresh() throws Exception {
+    jwtController.verifyToken(token, ISSUER);
+    Mockito.when(jwtSigningKeyFacade.findAll()).thenReturn(Collections.emptyList());
+
+    verificationCache.refresh(null);
+
+    Assert.assertNull(verificationCache.getVerified(token, ISSUER, 0));
+  }
+}
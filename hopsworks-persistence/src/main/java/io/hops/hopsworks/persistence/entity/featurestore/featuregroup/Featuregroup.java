@@ -69,6 +69,10 @@ import java.util.Objects;
         + " AND (fg.onDemandFeaturegroup IS NOT null "
         + "OR fg.cachedFeaturegroup IS NOT null "
         + "OR fg.streamFeatureGroup IS NOT null)"),
+    @NamedQuery(name = "Featuregroup.findByIds", query = "SELECT fg FROM Featuregroup fg WHERE fg.id IN :ids"
+        + " AND (fg.onDemandFeaturegroup IS NOT null "
+        + "OR fg.cachedFeaturegroup IS NOT null "
+        + "OR fg.streamFeatureGroup IS NOT null)"),
     @NamedQuery(name = "Featuregroup.findByFeaturestoreAndId", query = "SELECT fg FROM Featuregroup fg " +
         "WHERE fg.featurestore = :featurestore AND fg.id = :id"),
     @NamedQuery(name = "Featuregroup.findByFeaturestoreAndNameVersion", query = "SELECT fg FROM Featuregroup fg " +
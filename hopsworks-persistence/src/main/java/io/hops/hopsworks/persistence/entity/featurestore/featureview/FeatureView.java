@@ -51,6 +51,7 @@ import java.util.Objects;
 @XmlRootElement
 @NamedQueries({
     @NamedQuery(name = "FeatureView.findAll", query = "SELECT fv FROM FeatureView fv"),
+    @NamedQuery(name = "FeatureView.findByIds", query = "SELECT fv FROM FeatureView fv WHERE fv.id IN :ids"),
     @NamedQuery(name = "FeatureView.findByIdAndFeaturestore", query = "SELECT fv FROM FeatureView fv " +
         "WHERE fv.featurestore = :featurestore AND fv.id = :id"),
     @NamedQuery(name = "FeatureView.findByNameVersionAndFeaturestore", query = "SELECT fv FROM FeatureView fv " +
@@ -38,7 +38,19 @@ import java.util.Objects;
 @NamedQueries({@NamedQuery(name = "FeatureDescriptiveStatistics.findById",
   query = "SELECT fds FROM FeatureDescriptiveStatistics fds WHERE fds.id = :id"),
   @NamedQuery(name = "FeatureDescriptiveStatistics.deleteBatch",
-    query = "DELETE FROM FeatureDescriptiveStatistics fds WHERE fds.id IN :fdsIds")})
+    query = "DELETE FROM FeatureDescriptiveStatistics fds WHERE fds.id IN :fdsIds"),
+  @NamedQuery(name = "FeatureDescriptiveStatistics.findByExtendedStatisticsPathPrefix",
+    query = "SELECT fds FROM FeatureDescriptiveStatistics fds " +
+      "WHERE fds.extendedStatisticsPath LIKE :prefix ESCAPE '!'"),
+  @NamedQuery(name = "FeatureDescriptiveStatistics.countByExtendedStatisticsPathPrefix",
+    query = "SELECT COUNT(fds.id) FROM FeatureDescriptiveStatistics fds " +
+      "WHERE fds.extendedStatisticsPath LIKE :prefix ESCAPE '!'"),
+  @NamedQuery(name = "FeatureDescriptiveStatistics.findWithJsonExtendedStatistics",
+    query = "SELECT fds FROM FeatureDescriptiveStatistics fds WHERE fds.extendedStatisticsPath LIKE '%.json' " +
+      "ORDER BY fds.id"),
+  @NamedQuery(name = "FeatureDescriptiveStatistics.updateExtendedStatisticsPath",
+    query = "UPDATE FeatureDescriptiveStatistics fds SET fds.extendedStatisticsPath = :newPath " +
+      "WHERE fds.id = :id AND fds.extendedStatisticsPath = :oldPath")})
 
 @XmlRootElement
 public class FeatureDescriptiveStatistics implements Serializable {
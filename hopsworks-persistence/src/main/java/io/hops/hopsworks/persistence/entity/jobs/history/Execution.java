@@ -102,6 +102,9 @@ import java.util.List;
   @NamedQuery(name = "Execution.findByJobAndStates",
           query
           = "SELECT e FROM Execution e WHERE e.job = :job AND e.state in :states ORDER BY e.submissionTime DESC"),
+  @NamedQuery(name = "Execution.findJobIdsByJobsAndStates",
+          query
+          = "SELECT DISTINCT e.job.id FROM Execution e WHERE e.job IN :jobs AND e.state in :states"),
   @NamedQuery(name = "Execution.findByStdoutPath",
           query
           = "SELECT e FROM Execution e WHERE e.stdoutPath = :stdoutPath"),
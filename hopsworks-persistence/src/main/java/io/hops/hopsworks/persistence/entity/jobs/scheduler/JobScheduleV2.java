@@ -48,6 +48,10 @@ import java.util.Objects;
         query = "SELECT j FROM JobScheduleV2 j WHERE j.job.id = :jobId"),
     @NamedQuery(name = "JobSchedule.getById",
         query = "SELECT j FROM JobScheduleV2 j WHERE j.id = :id"),
+    @NamedQuery(name = "JobSchedule.getByIds",
+        query = "SELECT j FROM JobScheduleV2 j WHERE j.id IN :ids"),
+    @NamedQuery(name = "JobSchedule.getActive",
+        query = "SELECT j FROM JobScheduleV2 j WHERE j.enabled = true AND j.nextExecutionDateTime IS NOT NULL"),
     @NamedQuery(name = "JobSchedule.getActiveWithCurrentExecutionTime",
         query = "SELECT j FROM JobScheduleV2 j WHERE j.enabled = true "
             + "AND j.nextExecutionDateTime <= :currentDateTime"),
@@ -50,6 +50,8 @@ import java.util.Objects;
 @NamedQueries({
   @NamedQuery(name = "ModelVersion.findAll",
     query = "SELECT mv FROM ModelVersion mv"),
+  @NamedQuery(name = "ModelVersion.findByIds",
+    query = "SELECT mv FROM ModelVersion mv WHERE mv.id IN :ids"),
   @NamedQuery(name = "ModelVersion.findByProjectAndMlId",
     query
       = "SELECT mv FROM ModelVersion mv WHERE mv.version = :version" +
@@ -94,6 +94,8 @@ import java.util.Map;
   @NamedQuery(name = "Project.findAllOrderByCreated", query = "SELECT t FROM Project t ORDER BY t.created"),
   @NamedQuery(name = "Project.findById",
       query = "SELECT t FROM Project t WHERE t.id = :id"),
+  @NamedQuery(name = "Project.findByIds",
+      query = "SELECT t FROM Project t WHERE t.id IN :ids"),
   @NamedQuery(name = "Project.findByName",
       query = "SELECT t FROM Project t WHERE t.name = :name"),
   @NamedQuery(name = "Project.findByOwner",
@@ -59,7 +59,9 @@ import java.util.Date;
     @NamedQuery(name = "Serving.findByProjectAndId", query = "SELECT t FROM Serving t " +
       "WHERE t.project = :project AND t.id = :id"),
     @NamedQuery(name = "Serving.findByCreated", query = "SELECT t FROM Serving t WHERE t.created = :created"),
-    @NamedQuery(name = "Serving.findLocalhostRunning", query = "SELECT t FROM Serving t WHERE t.cid != \"stopped\""),
+    @NamedQuery(name = "Serving.findByIds", query = "SELECT t FROM Serving t WHERE t.id IN :ids"),
+    @NamedQuery(name = "Serving.findLocalhostRunning", query = "SELECT t FROM Serving t " +
+      "WHERE t.cid != \"stopped\" AND t.cid != \"failed\""),
     @NamedQuery(name = "Serving.expiredLocks", query = "SELECT t FROM Serving t " +
         "WHERE t.lockTimestamp is not NULL AND t.lockTimestamp < :lockts"),
     @NamedQuery(name = "Serving.findByProjectAndName", query = "SELECT t FROM Serving t " +
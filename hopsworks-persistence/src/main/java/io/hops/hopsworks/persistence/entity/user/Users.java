@@ -85,9 +85,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
   @NamedQuery(name = "Users.findByUid",
       query = "SELECT u FROM Users u WHERE u.uid = :uid")
   ,
+  @NamedQuery(name = "Users.findByUids",
+      query = "SELECT u FROM Users u WHERE u.uid IN :uids")
+  ,
   @NamedQuery(name = "Users.findByUsername",
       query = "SELECT u FROM Users u WHERE u.username = :username")
   ,
+  @NamedQuery(name = "Users.findByUsernames",
+      query = "SELECT u FROM Users u WHERE u.username IN :usernames")
+  ,
   @NamedQuery(name = "Users.findByPassword",
       query = "SELECT u FROM Users u WHERE u.password = :password")
   ,
@@ -0,0 +1,580 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Vector database which keeps all documents in memory and answers nearest neighbour queries with an exact scan.
+ *
+ * Vectors of a knn_vector field are stored row after row in one primitive float array, so a query is a linear pass
+ * over contiguous memory. Results are exact, which makes this implementation usable as a local stand-in for
+ * OpenSearch and as the ground truth when measuring the recall of the approximate OpenSearch k-NN index. Scores
+ * follow the OpenSearch k-NN scoring of the space type declared in the mapping, l2 if none is declared.
+ *
+ * The search filter is applied before ranking, so k documents are returned whenever k documents match the filter,
+ * as {@link OpensearchVectorDatabase} does up to its candidate limit. deleteByQuery only supports "field:*" and
+ * "field:value" queries.
+ */
+public class InMemoryVectorDatabase implements VectorDatabase {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, MemoryIndex> indices = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<Index> getIndex(String name) {
+    return indices.containsKey(name) ? Optional.of(new Index(name)) : Optional.empty();
+  }
+
+  @Override
+  public Set<Index> getAllIndices() {
+    return indices.keySet().stream().map(Index::new).collect(Collectors.toSet());
+  }
+
+  @Override
+  public void createIndex(Index index, String mapping, Boolean skipIfExist) throws VectorDatabaseException {
+    Map<String, Object> body = parse(mapping);
+    Object mappings = body.getOrDefault("mappings", Collections.emptyMap());
+    MemoryIndex memoryIndex = new MemoryIndex();
+    memoryIndex.addFields(properties(mappings));
+    if (indices.putIfAbsent(index.getName(), memoryIndex) != null && !skipIfExist) {
+      throw new VectorDatabaseException("Index already exists: " + index.getName());
+    }
+  }
+
+  @Override
+  public void deleteIndex(Index index) {
+    indices.remove(index.getName());
+  }
+
+  @Override
+  public void addFields(Index index, String mapping) throws VectorDatabaseException {
+    getMemoryIndex(index).addFields(properties(parse(mapping)));
+  }
+
+  @Override
+  public List<Field> getSchema(Index index) throws VectorDatabaseException {
+    return getMemoryIndex(index).getSchema();
+  }
+
+  @Override
+  public void writeMap(Index index, Map<String, Object> data) throws VectorDatabaseException {
+    writeMap(index, data, null);
+  }
+
+  @Override
+  public void writeMap(Index index, Map<String, Object> data, String docId) throws VectorDatabaseException {
+    batchWriteMap(index, Collections.singletonMap(docId == null ? newDocId() : docId, data));
+  }
+
+  @Override
+  public void batchWriteMap(Index index, List<Map<String, Object>> data) throws VectorDatabaseException {
+    Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+    for (Map<String, Object> doc : data) {
+      docs.put(newDocId(), doc);
+    }
+    batchWriteMap(index, docs);
+  }
+
+  @Override
+  public void batchWriteMap(Index index, Map<String, Map<String, Object>> data) throws VectorDatabaseException {
+    getMemoryIndex(index).write(data);
+  }
+
+  @Override
+  public void write(Index index, String data) throws VectorDatabaseException {
+    write(index, data, null);
+  }
+
+  @Override
+  public void write(Index index, String data, String docId) throws VectorDatabaseException {
+    writeMap(index, parse(data), docId);
+  }
+
+  @Override
+  public void batchWrite(Index index, List<String> data) throws VectorDatabaseException {
+    List<Map<String, Object>> docs = Lists.newArrayListWithCapacity(data.size());
+    for (String doc : data) {
+      docs.add(parse(doc));
+    }
+    batchWriteMap(index, docs);
+  }
+
+  @Override
+  public void batchWrite(Index index, Map<String, String> data) throws VectorDatabaseException {
+    Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+    for (Map.Entry<String, String> entry : data.entrySet()) {
+      docs.put(entry.getKey(), parse(entry.getValue()));
+    }
+    batchWriteMap(index, docs);
+  }
+
+  @Override
+  public void deleteByQuery(Index index, String query) throws VectorDatabaseException {
+    int separator = query == null ? -1 : query.indexOf(':');
+    if (separator <= 0) {
+      throw new VectorDatabaseException("Unsupported query: " + query);
+    }
+    String field = query.substring(0, separator).trim();
+    String value = query.substring(separator + 1).trim();
+    getMemoryIndex(index).delete(field, "*".equals(value) ? null : value);
+  }
+
+  @Override
+  public List<Map<String, Object>> preview(Index index, Set<Field> fields, int n) throws VectorDatabaseException {
+    if (fields.isEmpty()) {
+      return Lists.newArrayList();
+    }
+    return getMemoryIndex(index).preview(fields.stream().map(Field::getName).collect(Collectors.toSet()), n);
+  }
+
+  @Override
+  public List<ScoredDocument> search(Index index, String vectorField, float[] vector, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    return getMemoryIndex(index).search(vectorField, vector, k, filter);
+  }
+
+  @Override
+  public List<List<ScoredDocument>> batchSearch(Index index, String vectorField, List<float[]> vectors, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = getMemoryIndex(index);
+    List<List<ScoredDocument>> results = Lists.newArrayListWithCapacity(vectors.size());
+    for (float[] vector : vectors) {
+      results.add(memoryIndex.search(vectorField, vector, k, filter));
+    }
+    return results;
+  }
+
+  @Override
+  public void close() {
+    indices.clear();
+  }
+
+  private MemoryIndex getMemoryIndex(Index index) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = indices.get(index.getName());
+    if (memoryIndex == null) {
+      throw new VectorDatabaseException("Index does not exist: " + index.getName());
+    }
+    return memoryIndex;
+  }
+
+  private Map<String, Object> parse(String json) throws VectorDatabaseException {
+    try {
+      return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+    } catch (IOException e) {
+      throw new VectorDatabaseException("Failed to parse json: " + e.getMessage());
+    }
+  }
+
+  private static Map<String, Object> properties(Object mapping) {
+    if (mapping instanceof Map) {
+      Object properties = ((Map<?, ?>) mapping).get("properties");
+      if (properties instanceof Map) {
+        return (Map<String, Object>) properties;
+      }
+    }
+    return Collections.emptyMap();
+  }
+
+  private static String newDocId() {
+    return UUID.randomUUID().toString();
+  }
+
+  private static boolean matches(Map<String, Object> doc, Map<String, Object> filter) {
+    if (filter == null) {
+      return true;
+    }
+    for (Map.Entry<String, Object> entry : filter.entrySet()) {
+      Object value = doc.get(entry.getKey());
+      if (entry.getValue() instanceof Collection) {
+        if (!((Collection<?>) entry.getValue()).stream().anyMatch(v -> valueEquals(value, v))) {
+          return false;
+        }
+      } else if (!valueEquals(value, entry.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Documents parsed from json hold Integer, Long or Double, compare numbers by value like a term query does
+  private static boolean valueEquals(Object docValue, Object filterValue) {
+    if (docValue instanceof Number && filterValue instanceof Number) {
+      return ((Number) docValue).doubleValue() == ((Number) filterValue).doubleValue();
+    }
+    if (docValue != null && filterValue != null) {
+      return docValue.toString().equals(filterValue.toString());
+    }
+    return Objects.equals(docValue, filterValue);
+  }
+
+  private static final class MemoryIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Object> schema = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+    private final Map<String, VectorColumn> columns = new HashMap<>();
+
+    private void addFields(Map<String, Object> properties) {
+      lock.writeLock().lock();
+      try {
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+          schema.put(property.getKey(), property.getValue());
+          if (!(property.getValue() instanceof Map)) {
+            continue;
+          }
+          Map<?, ?> definition = (Map<?, ?>) property.getValue();
+          if ("knn_vector".equals(definition.get("type"))) {
+            Object method = definition.get("method");
+            Object spaceType = method instanceof Map ? ((Map<?, ?>) method).get("space_type") : null;
+            columns.putIfAbsent(property.getKey(), new VectorColumn(
+                ((Number) definition.get("dimension")).intValue(),
+                SpaceType.of(spaceType == null ? null : spaceType.toString())));
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private List<Field> getSchema() {
+      lock.readLock().lock();
+      try {
+        return schema.entrySet().stream().map(e -> new Field(e.getKey(), e.getValue())).collect(Collectors.toList());
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private void write(Map<String, Map<String, Object>> data) throws VectorDatabaseException {
+      lock.writeLock().lock();
+      try {
+        // Convert all vectors before changing anything so that a bad document does not leave a partial write
+        Map<String, Map<String, float[]>> vectors = new HashMap<>();
+        for (Map.Entry<String, Map<String, Object>> doc : data.entrySet()) {
+          Map<String, float[]> docVectors = new HashMap<>();
+          for (Map.Entry<String, VectorColumn> column : columns.entrySet()) {
+            Object value = doc.getValue().get(column.getKey());
+            if (value != null) {
+              docVectors.put(column.getKey(), column.getValue().toVector(column.getKey(), value));
+            }
+          }
+          vectors.put(doc.getKey(), docVectors);
+        }
+        for (Map.Entry<String, Map<String, Object>> doc : data.entrySet()) {
+          for (Map.Entry<String, VectorColumn> column : columns.entrySet()) {
+            float[] vector = vectors.get(doc.getKey()).get(column.getKey());
+            if (vector == null) {
+              column.getValue().remove(doc.getKey());
+            } else {
+              column.getValue().put(doc.getKey(), vector);
+            }
+          }
+          docs.put(doc.getKey(), new LinkedHashMap<>(doc.getValue()));
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private void delete(String field, String value) {
+      lock.writeLock().lock();
+      try {
+        Iterator<Map.Entry<String, Map<String, Object>>> iterator = docs.entrySet().iterator();
+        while (iterator.hasNext()) {
+          Map.Entry<String, Map<String, Object>> doc = iterator.next();
+          Object docValue = doc.getValue().get(field);
+          if (docValue != null && (value == null || valueEquals(docValue, value))) {
+            iterator.remove();
+            for (VectorColumn column : columns.values()) {
+              column.remove(doc.getKey());
+            }
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private List<Map<String, Object>> preview(Set<String> fields, int n) {
+      lock.readLock().lock();
+      try {
+        List<Map<String, Object>> results = Lists.newArrayList();
+        for (Map<String, Object> doc : docs.values()) {
+          if (results.size() >= n) {
+            break;
+          }
+          if (doc.keySet().containsAll(fields)) {
+            results.add(new LinkedHashMap<>(doc));
+          }
+        }
+        return results;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private List<ScoredDocument> search(String vectorField, float[] vector, int k, Map<String, Object> filter)
+        throws VectorDatabaseException {
+      lock.readLock().lock();
+      try {
+        VectorColumn column = columns.get(vectorField);
+        if (column == null) {
+          throw new VectorDatabaseException("Field is not a knn_vector field: " + vectorField);
+        }
+        if (vector.length != column.dimension) {
+          throw new VectorDatabaseException(String.format("Query vector has dimension %d, field %s has dimension %d",
+              vector.length, vectorField, column.dimension));
+        }
+        boolean filtered = filter != null && !filter.isEmpty();
+        TopK topK = new TopK(k);
+        for (int row = 0; row < column.size; row++) {
+          if (filtered && !matches(docs.get(column.ids[row]), filter)) {
+            continue;
+          }
+          topK.offer(row, column.score(row, vector));
+        }
+        int[] rows = topK.sortedRows();
+        List<ScoredDocument> results = Lists.newArrayListWithCapacity(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+          String id = column.ids[rows[i]];
+          results.add(new ScoredDocument(id, topK.scores[i], new LinkedHashMap<>(docs.get(id))));
+        }
+        return results;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * All vectors of one field, row major in a single array. Removing a document moves the last row into its slot.
+   */
+  private static final class VectorColumn {
+    private final int dimension;
+    private final SpaceType spaceType;
+    private final Map<String, Integer> rows = new HashMap<>();
+    private float[] data;
+    private String[] ids;
+    private int size;
+
+    private VectorColumn(int dimension, SpaceType spaceType) {
+      this.dimension = dimension;
+      this.spaceType = spaceType;
+      this.data = new float[dimension * 16];
+      this.ids = new String[16];
+    }
+
+    private float[] toVector(String field, Object value) throws VectorDatabaseException {
+      if (!(value instanceof List) || ((List<?>) value).size() != dimension) {
+        throw new VectorDatabaseException(
+            String.format("Field %s must be a list of %d numbers, got: %s", field, dimension, value));
+      }
+      List<?> values = (List<?>) value;
+      float[] vector = new float[dimension];
+      for (int i = 0; i < dimension; i++) {
+        if (!(values.get(i) instanceof Number)) {
+          throw new VectorDatabaseException(String.format("Field %s must only contain numbers", field));
+        }
+        vector[i] = ((Number) values.get(i)).floatValue();
+      }
+      return vector;
+    }
+
+    private void put(String id, float[] vector) {
+      Integer row = rows.get(id);
+      if (row == null) {
+        if (size == ids.length) {
+          ids = Arrays.copyOf(ids, size * 2);
+          data = Arrays.copyOf(data, size * 2 * dimension);
+        }
+        row = size++;
+        rows.put(id, row);
+        ids[row] = id;
+      }
+      System.arraycopy(vector, 0, data, row * dimension, dimension);
+    }
+
+    private void remove(String id) {
+      Integer row = rows.remove(id);
+      if (row == null) {
+        return;
+      }
+      int last = --size;
+      if (row != last) {
+        System.arraycopy(data, last * dimension, data, row * dimension, dimension);
+        ids[row] = ids[last];
+        rows.put(ids[row], row);
+      }
+      ids[last] = null;
+    }
+
+    private float score(int row, float[] vector) {
+      int offset = row * dimension;
+      switch (spaceType) {
+        case L1: {
+          float sum = 0;
+          for (int i = 0; i < dimension; i++) {
+            sum += Math.abs(data[offset + i] - vector[i]);
+          }
+          return 1 / (1 + sum);
+        }
+        case LINF: {
+          float max = 0;
+          for (int i = 0; i < dimension; i++) {
+            max = Math.max(max, Math.abs(data[offset + i] - vector[i]));
+          }
+          return 1 / (1 + max);
+        }
+        case COSINESIMIL: {
+          float dot = 0;
+          float normA = 0;
+          float normB = 0;
+          for (int i = 0; i < dimension; i++) {
+            dot += data[offset + i] * vector[i];
+            normA += data[offset + i] * data[offset + i];
+            normB += vector[i] * vector[i];
+          }
+          float cosine = normA == 0 || normB == 0 ? 0 : (float) (dot / Math.sqrt((double) normA * normB));
+          return 1 / (2 - cosine);
+        }
+        case INNERPRODUCT: {
+          float dot = 0;
+          for (int i = 0; i < dimension; i++) {
+            dot += data[offset + i] * vector[i];
+          }
+          return dot > 0 ? dot + 1 : 1 / (1 - dot);
+        }
+        default: {
+          float sum = 0;
+          for (int i = 0; i < dimension; i++) {
+            float diff = data[offset + i] - vector[i];
+            sum += diff * diff;
+          }
+          return 1 / (1 + sum);
+        }
+      }
+    }
+  }
+
+  private enum SpaceType {
+    L2, L1, LINF, COSINESIMIL, INNERPRODUCT;
+
+    private static SpaceType of(String name) {
+      return name == null ? L2 : SpaceType.valueOf(name.toUpperCase());
+    }
+  }
+
+  /**
+   * Bounded min-heap of (row, score) on primitive arrays, the root is the worst of the best k rows seen so far.
+   */
+  private static final class TopK {
+    private final int[] rows;
+    private final float[] scores;
+    private int size;
+
+    private TopK(int k) {
+      this.rows = new int[Math.max(k, 0)];
+      this.scores = new float[Math.max(k, 0)];
+    }
+
+    private void offer(int row, float score) {
+      if (size < rows.length) {
+        rows[size] = row;
+        scores[size] = score;
+        siftUp(size++);
+      } else if (size > 0 && score > scores[0]) {
+        rows[0] = row;
+        scores[0] = score;
+        siftDown(0, size);
+      }
+    }
+
+    /**
+     * Empty the heap into rows and scores ordered best first
+     *
+     * @return the rows, scores holds the matching scores
+     */
+    private int[] sortedRows() {
+      int n = size;
+      for (int end = n - 1; end > 0; end--) {
+        swap(0, end);
+        siftDown(0, end);
+      }
+      size = 0;
+      return Arrays.copyOf(rows, n);
+    }
+
+    private void siftUp(int i) {
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (scores[parent] <= scores[i]) {
+          return;
+        }
+        swap(i, parent);
+        i = parent;
+      }
+    }
+
+    private void siftDown(int i, int end) {
+      while (true) {
+        int smallest = i;
+        int left = 2 * i + 1;
+        int right = left + 1;
+        if (left < end && scores[left] < scores[smallest]) {
+          smallest = left;
+        }
+        if (right < end && scores[right] < scores[smallest]) {
+          smallest = right;
+        }
+        if (smallest == i) {
+          return;
+        }
+        swap(i, smallest);
+        i = smallest;
+      }
+    }
+
+    private void swap(int a, int b) {
+      int row = rows[a];
+      rows[a] = rows[b];
+      rows[b] = row;
+      float score = scores[a];
+      scores[a] = scores[b];
+      scores[b] = score;
+    }
+  }
+}
@@ -30,6 +30,8 @@ import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.master.AcknowledgedResponse;
@@ -53,6 +55,8 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,6 +64,7 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 public class OpensearchVectorDatabase implements VectorDatabase {
@@ -72,6 +77,9 @@ public class OpensearchVectorDatabase implements VectorDatabase {
   private Integer requestTimeout = 60000;
   private Integer socketTimeout = 61000;
   private final Integer maxRetry = 3;
+  // The embedding indices use the nmslib engine which cannot filter during the k-NN search, see batchSearch
+  private static final int FILTER_OVERSAMPLING = 4;
+  private static final int MAX_KNN_CANDIDATES = 10000;
 
   private static final Map<String, String> dataTypeMap = ImmutableMap.<String, String>builder()
       .put("BOOLEAN", "byte")
@@ -310,6 +318,100 @@ public class OpensearchVectorDatabase implements VectorDatabase {
     return result.orElseGet(() -> results);
   }
 
+  @Override
+  public List<ScoredDocument> search(Index index, String vectorField, float[] vector, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    return batchSearch(index, vectorField, Collections.singletonList(vector), k, filter).get(0);
+  }
+
+  /**
+   * The filter can only be applied to the candidates returned by the k-NN query. To return the k closest matching
+   * documents, like {@link InMemoryVectorDatabase}, the number of candidates is oversampled when a filter is set and
+   * widened again for the vectors which got fewer than k matches, up to MAX_KNN_CANDIDATES.
+   */
+  @Override
+  public List<List<ScoredDocument>> batchSearch(Index index, String vectorField, List<float[]> vectors, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    if (vectors.isEmpty()) {
+      return Lists.newArrayList();
+    }
+    if (filter == null || filter.isEmpty()) {
+      return knnSearch(index, vectorField, vectors, k, k, null);
+    }
+    List<List<ScoredDocument>> results = Lists.newArrayList(Collections.nCopies(vectors.size(), null));
+    List<Integer> pending = IntStream.range(0, vectors.size()).boxed().collect(Collectors.toList());
+    int candidates = (int) Math.max(k, Math.min((long) k * FILTER_OVERSAMPLING, MAX_KNN_CANDIDATES));
+    while (!pending.isEmpty()) {
+      List<List<ScoredDocument>> hits = knnSearch(index, vectorField,
+          pending.stream().map(vectors::get).collect(Collectors.toList()), k, candidates, filter);
+      List<Integer> incomplete = Lists.newArrayList();
+      for (int i = 0; i < pending.size(); i++) {
+        results.set(pending.get(i), hits.get(i));
+        if (hits.get(i).size() < k) {
+          incomplete.add(pending.get(i));
+        }
+      }
+      if (candidates >= MAX_KNN_CANDIDATES) {
+        break;
+      }
+      pending = incomplete;
+      candidates = (int) Math.min((long) candidates * FILTER_OVERSAMPLING, MAX_KNN_CANDIDATES);
+    }
+    return results;
+  }
+
+  private List<List<ScoredDocument>> knnSearch(Index index, String vectorField, List<float[]> vectors, int k,
+      int candidates, Map<String, Object> filter) throws VectorDatabaseException {
+    MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+    for (float[] vector : vectors) {
+      multiSearchRequest.add(makeKnnSearchRequest(index.getName(), vectorField, vector, k, candidates, filter));
+    }
+    Optional<List<List<ScoredDocument>>> result = retry(() -> {
+      MultiSearchResponse response = getClient().msearch(multiSearchRequest, getRequestOptions());
+      List<List<ScoredDocument>> results = Lists.newArrayListWithCapacity(vectors.size());
+      for (MultiSearchResponse.Item item : response.getResponses()) {
+        if (item.isFailure()) {
+          throw new VectorDatabaseException(
+              String.format("Failed to search index %s: %s", index.getName(), item.getFailureMessage()));
+        }
+        List<ScoredDocument> hits = Lists.newArrayList();
+        for (SearchHit hit : item.getResponse().getHits().getHits()) {
+          hits.add(new ScoredDocument(hit.getId(), hit.getScore(), hit.getSourceAsMap()));
+        }
+        results.add(hits);
+      }
+      return new OperationResult<>(true, results);
+    }, "search", Sets.newHashSet(RestStatus.OK));
+    return result.orElseThrow(() -> new VectorDatabaseException("Failed to search index: " + index.getName()));
+  }
+
+  // The high level client 1.3 has no k-NN query builder, the query is passed as raw json. The k-NN query returns the
+  // candidates closest documents and the filter is applied to them, the k best matches are returned.
+  private SearchRequest makeKnnSearchRequest(String indexName, String vectorField, float[] vector, int k,
+      int candidates, Map<String, Object> filter) throws VectorDatabaseException {
+    String knnQuery;
+    try {
+      knnQuery = objectMapper.writeValueAsString(ImmutableMap.of("knn",
+          ImmutableMap.of(vectorField, ImmutableMap.of("vector", vector, "k", candidates))));
+    } catch (IOException e) {
+      throw new VectorDatabaseException("Failed to create k-NN query: " + e.getMessage());
+    }
+    BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery().must(QueryBuilders.wrapperQuery(knnQuery));
+    if (filter != null) {
+      for (Map.Entry<String, Object> entry : filter.entrySet()) {
+        if (entry.getValue() instanceof Collection) {
+          boolQueryBuilder.filter(QueryBuilders.termsQuery(entry.getKey(), (Collection<?>) entry.getValue()));
+        } else {
+          boolQueryBuilder.filter(QueryBuilders.termQuery(entry.getKey(), entry.getValue()));
+        }
+      }
+    }
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+    sourceBuilder.query(boolQueryBuilder);
+    sourceBuilder.size(k);
+    return new SearchRequest(indexName).source(sourceBuilder);
+  }
+
   private void bulkRequest(BulkRequest bulkRequest) throws VectorDatabaseException {
     try {
       BulkResponse response = getClient().bulk(bulkRequest, RequestOptions.DEFAULT);
@@ -0,0 +1,45 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * A document returned by a nearest neighbour search. The score follows the OpenSearch k-NN scoring of the space type
+ * of the searched field, higher is closer.
+ */
+@AllArgsConstructor
+public class ScoredDocument {
+
+  @Getter
+  private String id;
+  @Getter
+  private float score;
+  @Getter
+  private Map<String, Object> source;
+
+  @Override
+  public String toString() {
+    return "ScoredDocument{" +
+        "id='" + id + '\'' +
+        ", score=" + score +
+        '}';
+  }
+}
@@ -38,5 +38,29 @@ public interface VectorDatabase {
   void batchWrite(Index index, Map<String, String> data) throws VectorDatabaseException;
   void deleteByQuery(Index index, String query) throws VectorDatabaseException;
   List<Map<String, Object>> preview(Index index, Set<Field> fields, int n) throws VectorDatabaseException;
+
+  /**
+   * Find the k documents whose vectorField is closest to vector.
+   *
+   * @param index
+   * @param vectorField name of a knn_vector field of the index
+   * @param vector query vector, must have the dimension of vectorField
+   * @param k number of neighbours to return
+   * @param filter field name to value, documents must match all entries. A collection value matches any of its
+   *     elements. May be null or empty.
+   * @return at most k documents, closest first
+   * @throws VectorDatabaseException
+   */
+  List<ScoredDocument> search(Index index, String vectorField, float[] vector, int k, Map<String, Object> filter)
+      throws VectorDatabaseException;
+
+  /**
+   * Run {@link #search(Index, String, float[], int, Map)} for several query vectors in one round trip.
+   *
+   * @return one result list per query vector, in the order of vectors
+   * @throws VectorDatabaseException
+   */
+  List<List<ScoredDocument>> batchSearch(Index index, String vectorField, List<float[]> vectors, int k,
+      Map<String, Object> filter) throws VectorDatabaseException;
   void close();
 }
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class TestInMemoryVectorDatabase {
+
+  private static final String MAPPING = "{\"settings\": {\"index\": {\"knn\": \"true\"}}, \"mappings\": {" +
+      "\"properties\": {" +
+      "\"embedding\": {\"type\": \"knn_vector\", \"dimension\": 2, \"method\": {\"space_type\": \"l2\"}}," +
+      "\"group\": {\"type\": \"integer\"}}}}";
+
+  private final Index index = new Index("test");
+  private InMemoryVectorDatabase vectorDatabase;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    vectorDatabase = new InMemoryVectorDatabase();
+    vectorDatabase.createIndex(index, MAPPING, false);
+    Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+    for (int i = 0; i < 10; i++) {
+      docs.put("doc" + i, ImmutableMap.of("embedding", Arrays.asList((double) i, 0.0), "group", i % 2));
+    }
+    vectorDatabase.batchWriteMap(index, docs);
+  }
+
+  @Test
+  public void testSearchReturnsClosestFirst() throws Exception {
+    List<ScoredDocument> results = vectorDatabase.search(index, "embedding", new float[]{3.2f, 0f}, 3, null);
+    Assertions.assertEquals(Arrays.asList("doc3", "doc4", "doc2"),
+        results.stream().map(ScoredDocument::getId).collect(Collectors.toList()));
+    // l2 score is 1 / (1 + squared distance)
+    Assertions.assertEquals(1 / (1 + 0.04), results.get(0).getScore(), 1e-5);
+    Assertions.assertEquals(1, ((Number) results.get(0).getSource().get("group")).intValue());
+  }
+
+  @Test
+  public void testFilterIsAppliedBeforeRanking() throws Exception {
+    List<ScoredDocument> results = vectorDatabase.search(index, "embedding", new float[]{3.2f, 0f}, 3,
+        Collections.singletonMap("group", 0));
+    Assertions.assertEquals(Arrays.asList("doc4", "doc2", "doc6"),
+        results.stream().map(ScoredDocument::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testOverwriteAndDelete() throws Exception {
+    vectorDatabase.writeMap(index, ImmutableMap.of("embedding", Arrays.asList(100.0, 0.0), "group", 3), "doc3");
+    vectorDatabase.deleteByQuery(index, "group:1");
+    List<ScoredDocument> results = vectorDatabase.search(index, "embedding", new float[]{3.2f, 0f}, 20, null);
+    Assertions.assertEquals(Arrays.asList("doc4", "doc2", "doc6", "doc0", "doc8", "doc3"),
+        results.stream().map(ScoredDocument::getId).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testBatchSearchMatchesBruteForce() throws Exception {
+    Random random = new Random(42);
+    Index large = new Index("large");
+    vectorDatabase.createIndex(large, "{\"mappings\": {\"properties\": {\"embedding\": " +
+        "{\"type\": \"knn_vector\", \"dimension\": 8, \"method\": {\"space_type\": \"cosinesimil\"}}}}}", false);
+    List<float[]> vectors = Lists.newArrayList();
+    Map<String, Map<String, Object>> docs = new LinkedHashMap<>();
+    for (int i = 0; i < 500; i++) {
+      float[] vector = randomVector(random, 8);
+      vectors.add(vector);
+      List<Double> values = Lists.newArrayList();
+      for (float v : vector) {
+        values.add((double) v);
+      }
+      docs.put(String.valueOf(i), Collections.singletonMap("embedding", values));
+    }
+    vectorDatabase.batchWriteMap(large, docs);
+
+    List<float[]> queries = Arrays.asList(randomVector(random, 8), randomVector(random, 8));
+    List<List<ScoredDocument>> results = vectorDatabase.batchSearch(large, "embedding", queries, 5, null);
+    Assertions.assertEquals(2, results.size());
+    for (int q = 0; q < queries.size(); q++) {
+      float[] query = queries.get(q);
+      List<String> expected = docs.keySet().stream()
+          .sorted((a, b) -> Double.compare(cosine(vectors.get(Integer.parseInt(b)), query),
+              cosine(vectors.get(Integer.parseInt(a)), query)))
+          .limit(5)
+          .collect(Collectors.toList());
+      Assertions.assertEquals(expected,
+          results.get(q).stream().map(ScoredDocument::getId).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testWrongDimensionIsRejected() {
+    Assertions.assertThrows(VectorDatabaseException.class,
+        () -> vectorDatabase.search(index, "embedding", new float[]{1f, 2f, 3f}, 3, null));
+    Assertions.assertThrows(VectorDatabaseException.class,
+        () -> vectorDatabase.writeMap(index, ImmutableMap.of("embedding", Arrays.asList(1.0, 2.0, 3.0))));
+  }
+
+  private static float[] randomVector(Random random, int dimension) {
+    float[] vector = new float[dimension];
+    for (int i = 0; i < dimension; i++) {
+      vector[i] = random.nextFloat() * 2 - 1;
+    }
+    return vector;
+  }
+
+  private static double cosine(float[] a, float[] b) {
+    double dot = 0;
+    double normA = 0;
+    double normB = 0;
+    for (int i = 0; i < a.length; i++) {
+      dot += a[i] * b[i];
+      normA += a[i] * a[i];
+      normB += b[i] * b[i];
+    }
+    return dot / Math.sqrt(normA * normB);
+  }
+}